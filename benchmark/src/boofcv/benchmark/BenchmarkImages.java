@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark;
+
+import boofcv.alg.filter.blur.GBlurImageOps;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageDataType;
+import boofcv.struct.image.ImageGray;
+
+import java.util.Random;
+
+/**
+ * Functions for creating the input data used by benchmarks.  Benchmark parameters are passed in as strings
+ * by JMH, e.g. image type "U8" and size "640x480", and are converted here.
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkImages {
+
+	/**
+	 * Converts the name of an image data type, e.g. "U8" or "F32", into the single band image class.
+	 */
+	public static <T extends ImageGray<T>> Class<T> grayType( String name ) {
+		return ImageDataType.typeToSingleClass(ImageDataType.valueOf(name));
+	}
+
+	/**
+	 * Parses an image shape in the form "width x height", e.g. "640x480"
+	 *
+	 * @return array with {width, height}
+	 */
+	public static int[] parseSize( String size ) {
+		String[] words = size.toLowerCase().split("x");
+		if( words.length != 2 )
+			throw new IllegalArgumentException("Expected size in the format 'WIDTHxHEIGHT' not "+size);
+		return new int[]{Integer.parseInt(words[0].trim()),Integer.parseInt(words[1].trim())};
+	}
+
+	/**
+	 * Creates an image filled with smoothed random noise.  The noise is blurred so that there is some texture
+	 * and structure for feature detectors to find, while still being fast to create and reproducible.
+	 *
+	 * @param imageType Type of image
+	 * @param size Shape of the image, e.g. "640x480"
+	 * @param seed Seed for the random number generator
+	 * @return The new image
+	 */
+	public static <T extends ImageGray<T>> T createGray( Class<T> imageType , String size , long seed ) {
+		int shape[] = parseSize(size);
+		T image = GeneralizedImageOps.createSingleBand(imageType,shape[0],shape[1]);
+		T blurred = image.createSameShape();
+
+		GImageMiscOps.fillUniform(image, new Random(seed), 0, 255);
+		GBlurImageOps.gaussian(image, blurred, -1, 2, null);
+
+		return blurred;
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.feature;
+
+import boofcv.abst.feature.associate.AssociateDescription;
+import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.factory.feature.associate.FactoryAssociation;
+import boofcv.struct.feature.TupleDesc_F64;
+import org.ddogleg.struct.FastQueue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for associating two sets of feature descriptors.  The destination set is a noisy copy of the
+ * source set, so that most features have a true match.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class BenchmarkAssociate {
+
+	@Param({"500","2000"})
+	public int numFeatures;
+
+	@Param({"64"})
+	public int dof;
+
+	@Param({"greedy","greedyBackwards","kdtree","kdRandomForest","kMeansTree"})
+	public String algorithm;
+
+	FastQueue<TupleDesc_F64> listSrc;
+	FastQueue<TupleDesc_F64> listDst;
+
+	AssociateDescription<TupleDesc_F64> alg;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+
+		listSrc = new FastQueue<>(numFeatures, TupleDesc_F64.class, false);
+		listDst = new FastQueue<>(numFeatures, TupleDesc_F64.class, false);
+
+		for (int i = 0; i < numFeatures; i++) {
+			TupleDesc_F64 a = new TupleDesc_F64(dof);
+			TupleDesc_F64 b = new TupleDesc_F64(dof);
+			for (int j = 0; j < dof; j++) {
+				a.value[j] = rand.nextDouble();
+				b.value[j] = a.value[j] + rand.nextGaussian()*0.01;
+			}
+			listSrc.add(a);
+			listDst.add(b);
+		}
+
+		ScoreAssociation<TupleDesc_F64> score = FactoryAssociation.scoreEuclidean(TupleDesc_F64.class, true);
+		switch( algorithm ) {
+			case "greedy": alg = FactoryAssociation.greedy(score, Double.MAX_VALUE, false); break;
+			case "greedyBackwards": alg = FactoryAssociation.greedy(score, Double.MAX_VALUE, true); break;
+			case "kdtree": alg = FactoryAssociation.kdtree(dof, 500); break;
+			case "kdRandomForest": alg = FactoryAssociation.kdRandomForest(dof, 500, 15, 5, 1233445565); break;
+			case "kMeansTree": alg = FactoryAssociation.kMeansTree(dof, 32, 7, 500, 1233445565); break;
+			default: throw new IllegalArgumentException("Unknown algorithm "+algorithm);
+		}
+	}
+
+	@Benchmark
+	public int associate() {
+		alg.setSource(listSrc);
+		alg.setDestination(listDst);
+		alg.associate();
+		return alg.getMatches().size;
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.feature;
+
+import boofcv.abst.feature.associate.AssociateDescription;
+import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.factory.feature.associate.FactoryAssociation;
+import boofcv.struct.feature.TupleDesc_B;
+import org.ddogleg.struct.FastQueue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for associating binary descriptors, e.g. BRIEF, using Hamming distance.  The destination set is
+ * a copy of the source set with a fraction of the bits flipped.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class BenchmarkAssociateBinary {
+
+	@Param({"2000","20000"})
+	public int numFeatures;
+
+	@Param({"256","512"})
+	public int numBits;
+
+	@Param({"greedy","multiIndexHashing"})
+	public String algorithm;
+
+	FastQueue<TupleDesc_B> listSrc;
+	FastQueue<TupleDesc_B> listDst;
+
+	AssociateDescription<TupleDesc_B> alg;
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+
+		listSrc = new FastQueue<>(numFeatures, TupleDesc_B.class, false);
+		listDst = new FastQueue<>(numFeatures, TupleDesc_B.class, false);
+
+		for (int i = 0; i < numFeatures; i++) {
+			TupleDesc_B a = new TupleDesc_B(numBits);
+			for (int j = 0; j < a.data.length; j++) {
+				a.data[j] = rand.nextInt();
+			}
+			// flip about 5% of the bits
+			TupleDesc_B b = a.copy();
+			for (int j = 0; j < numBits; j++) {
+				if( rand.nextDouble() < 0.05 )
+					b.data[j/32] ^= 1 << (j%32);
+			}
+			listSrc.add(a);
+			listDst.add(b);
+		}
+
+		ScoreAssociation<TupleDesc_B> score = FactoryAssociation.defaultScore(TupleDesc_B.class);
+		switch( algorithm ) {
+			case "greedy": alg = FactoryAssociation.greedy(score, Double.MAX_VALUE, false); break;
+			case "multiIndexHashing": alg = FactoryAssociation.multiIndexHashing(numBits, 0, -1); break;
+			default: throw new IllegalArgumentException("Unknown algorithm "+algorithm);
+		}
+	}
+
+	@Benchmark
+	public int associate() {
+		alg.setSource(listSrc);
+		alg.setDestination(listDst);
+		alg.associate();
+		return alg.getMatches().size;
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.feature;
+
+import boofcv.abst.feature.detdesc.ConfigCompleteSift;
+import boofcv.abst.feature.detdesc.DetectDescribePoint;
+import boofcv.benchmark.BenchmarkImages;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.detdesc.FactoryDetectDescribe;
+import boofcv.struct.feature.BrightFeature;
+import boofcv.struct.image.ImageGray;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for combined feature detection and description.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class BenchmarkDetectDescribe<T extends ImageGray<T>> {
+
+	@Param({"U8","F32"})
+	public String imageType;
+
+	@Param({"640x480","1920x1080"})
+	public String size;
+
+	@Param({"surfFast","surfStable","sift"})
+	public String algorithm;
+
+	@Param({"false","true"})
+	public boolean concurrent;
+
+	T input;
+	DetectDescribePoint<T,BrightFeature> alg;
+
+	@Setup
+	public void setup() {
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+
+		Class<T> type = BenchmarkImages.grayType(imageType);
+
+		input = BenchmarkImages.createGray(type, size, 234);
+
+		switch( algorithm ) {
+			case "surfFast": alg = FactoryDetectDescribe.surfFast(null, null, null, type); break;
+			case "surfStable": alg = FactoryDetectDescribe.surfStable(null, null, null, type); break;
+			case "sift": alg = FactoryDetectDescribe.sift(new ConfigCompleteSift()); break;
+			default: throw new IllegalArgumentException("Unknown algorithm "+algorithm);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	@Benchmark
+	public int detect() {
+		alg.detect(input);
+		return alg.getNumberOfFeatures();
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.feature;
+
+import boofcv.abst.feature.detect.interest.ConfigFast;
+import boofcv.abst.feature.detect.interest.ConfigFastHessian;
+import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
+import boofcv.abst.feature.detect.interest.InterestPointDetector;
+import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.benchmark.BenchmarkImages;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.detect.interest.FactoryDetectPoint;
+import boofcv.factory.feature.detect.interest.FactoryInterestPoint;
+import boofcv.struct.image.ImageGray;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for point and blob detectors.  Includes the time to compute image derivatives.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class BenchmarkDetectPoint<T extends ImageGray<T>, D extends ImageGray<D>> {
+
+	@Param({"U8","F32"})
+	public String imageType;
+
+	@Param({"640x480","1920x1080"})
+	public String size;
+
+	@Param({"harris","shiTomasi","fast","fastHessian"})
+	public String detector;
+
+	@Param({"false","true"})
+	public boolean concurrent;
+
+	T input;
+	InterestPointDetector<T> alg;
+
+	@Setup
+	public void setup() {
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+
+		Class<T> type = BenchmarkImages.grayType(imageType);
+		Class<D> derivType = GImageDerivativeOps.getDerivativeType(type);
+
+		input = BenchmarkImages.createGray(type, size, 234);
+
+		ConfigGeneralDetector configGeneral = new ConfigGeneralDetector(-1, 2, 1f);
+		switch( detector ) {
+			case "harris":
+				alg = FactoryInterestPoint.wrapPoint(
+						FactoryDetectPoint.<T,D>createHarris(configGeneral, false, derivType), 1, type, derivType);
+				break;
+
+			case "shiTomasi":
+				alg = FactoryInterestPoint.wrapPoint(
+						FactoryDetectPoint.<T,D>createShiTomasi(configGeneral, false, derivType), 1, type, derivType);
+				break;
+
+			case "fast":
+				alg = FactoryInterestPoint.wrapPoint(
+						FactoryDetectPoint.<T,D>createFast(new ConfigFast(20, 9), configGeneral, type), 1, type, derivType);
+				break;
+
+			case "fastHessian":
+				alg = FactoryInterestPoint.fastHessian(new ConfigFastHessian());
+				break;
+
+			default:
+				throw new IllegalArgumentException("Unknown detector "+detector);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	@Benchmark
+	public int detect() {
+		alg.detect(input);
+		return alg.getNumberOfFeatures();
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.feature;
+
+import boofcv.abst.feature.detect.intensity.GeneralFeatureIntensity;
+import boofcv.abst.feature.detect.intensity.WrapperFastCornerIntensity;
+import boofcv.abst.feature.detect.intensity.WrapperFastCornerIntensity_MT;
+import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.benchmark.BenchmarkImages;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkerPool;
+import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
+import boofcv.struct.image.ImageGray;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the FAST corner intensity.  Compares the row based early reject test against applying the
+ * decision tree to every pixel, with and without concurrency.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class BenchmarkFastCorner<T extends ImageGray<T>, D extends ImageGray<D>> {
+
+	@Param({"U8","F32"})
+	public String imageType;
+
+	@Param({"640x480","1920x1080"})
+	public String size;
+
+	@Param({"9","12"})
+	public int minContinuous;
+
+	@Param({"false","true"})
+	public boolean earlyReject;
+
+	@Param({"false","true"})
+	public boolean concurrent;
+
+	T input;
+	GeneralFeatureIntensity<T,D> alg;
+
+	@Setup
+	public void setup() {
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+
+		final Class<T> type = BenchmarkImages.grayType(imageType);
+		input = BenchmarkImages.createGray(type, size, 234);
+
+		WorkerPool<FastCornerIntensity<T>> pool = new WorkerPool<FastCornerIntensity<T>>() {
+			@Override
+			protected FastCornerIntensity<T> createWorker() {
+				FastCornerIntensity<T> fast = FactoryIntensityPointAlg.fast(20, minContinuous, type);
+				fast.setEarlyReject(earlyReject);
+				return fast;
+			}
+		};
+
+		if( concurrent )
+			alg = new WrapperFastCornerIntensity_MT<>(pool);
+		else
+			alg = new WrapperFastCornerIntensity<>(pool.acquire());
+	}
+
+	@TearDown
+	public void tearDown() {
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	@Benchmark
+	public int intensity() {
+		alg.process(input, null, null, null, null, null);
+		return alg.getCandidatesMax().size;
+	}
+}
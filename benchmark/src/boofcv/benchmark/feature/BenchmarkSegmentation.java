@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.feature;
+
+import boofcv.alg.segmentation.fh04.SegmentFelzenszwalbHuttenlocher04;
+import boofcv.alg.segmentation.ms.SegmentMeanShift;
+import boofcv.alg.segmentation.slic.SegmentSlic;
+import boofcv.benchmark.BenchmarkImages;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.segmentation.ConfigFh04;
+import boofcv.factory.segmentation.ConfigSegmentMeanShift;
+import boofcv.factory.segmentation.ConfigSlic;
+import boofcv.factory.segmentation.FactorySegmentationAlg;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.image.ImageType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for image segmentation algorithms, with and without concurrency.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class BenchmarkSegmentation<T extends ImageGray<T>> {
+
+	@Param({"U8","F32"})
+	public String imageType;
+
+	@Param({"640x480","1920x1080"})
+	public String size;
+
+	@Param({"false","true"})
+	public boolean concurrent;
+
+	T input;
+	GrayS32 output;
+
+	SegmentFelzenszwalbHuttenlocher04<T> fh04;
+	SegmentFelzenszwalbHuttenlocher04<T> fh04Approx;
+	SegmentSlic<T> slic;
+	SegmentMeanShift<T> meanShift;
+
+	@Setup
+	public void setup() {
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+
+		Class<T> type = BenchmarkImages.grayType(imageType);
+		input = BenchmarkImages.createGray(type, size, 234);
+		output = new GrayS32(input.width, input.height);
+
+		ConfigFh04 config = new ConfigFh04();
+		fh04 = FactorySegmentationAlg.fh04(config, ImageType.single(type));
+		config.approximateSortBins = 2000;
+		fh04Approx = FactorySegmentationAlg.fh04(config, ImageType.single(type));
+
+		slic = FactorySegmentationAlg.slic(new ConfigSlic(800), ImageType.single(type));
+		meanShift = FactorySegmentationAlg.meanShift(new ConfigSegmentMeanShift(), ImageType.single(type));
+	}
+
+	@TearDown
+	public void tearDown() {
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	@Benchmark
+	public GrayS32 fh04() {
+		fh04.process(input, output);
+		return output;
+	}
+
+	@Benchmark
+	public GrayS32 fh04Approximate() {
+		fh04Approx.process(input, output);
+		return output;
+	}
+
+	@Benchmark
+	public GrayS32 slic() {
+		slic.process(input, output);
+		return output;
+	}
+
+	@Benchmark
+	public GrayS32 meanShift() {
+		meanShift.process(input, output);
+		return output;
+	}
+}
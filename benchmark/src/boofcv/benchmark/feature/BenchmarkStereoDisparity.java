@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.feature;
+
+import boofcv.abst.feature.disparity.StereoDisparity;
+import boofcv.benchmark.BenchmarkImages;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.disparity.ConfigDisparitySGM;
+import boofcv.factory.feature.disparity.DisparityAlgorithms;
+import boofcv.factory.feature.disparity.FactoryStereoDisparity;
+import boofcv.struct.image.ImageGray;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for dense stereo disparity algorithms. The right image is a shifted copy of the left image.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class BenchmarkStereoDisparity<T extends ImageGray<T>> {
+
+	@Param({"U8","F32"})
+	public String imageType;
+
+	@Param({"640x480"})
+	public String size;
+
+	@Param({"rect","rectFive","sgm"})
+	public String algorithm;
+
+	@Param({"false","true"})
+	public boolean concurrent;
+
+	T left,right;
+	StereoDisparity<T,?> alg;
+
+	@Setup
+	public void setup() {
+		// the factory selects the concurrent implementation at creation time
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+
+		Class<T> type = BenchmarkImages.grayType(imageType);
+
+		left = BenchmarkImages.createGray(type, size, 234);
+		right = left.createSameShape();
+		right.subimage(0, 0, left.width-10, left.height).setTo(left.subimage(10, 0, left.width, left.height));
+
+		switch( algorithm ) {
+			case "rect":
+				alg = FactoryStereoDisparity.regionWta(DisparityAlgorithms.RECT,
+						0, 60, 3, 3, 30, 1, 0.15, type);
+				break;
+
+			case "rectFive":
+				alg = FactoryStereoDisparity.regionWta(DisparityAlgorithms.RECT_FIVE,
+						0, 60, 3, 3, 30, 1, 0.15, type);
+				break;
+
+			case "sgm":
+				alg = FactoryStereoDisparity.sgm(new ConfigDisparitySGM(0,60), type);
+				break;
+
+			default:
+				throw new IllegalArgumentException("Unknown algorithm "+algorithm);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	@Benchmark
+	public Object process() {
+		alg.process(left, right);
+		return alg.getDisparity();
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.feature;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.tracker.klt.KltConfig;
+import boofcv.alg.tracker.klt.PyramidKltBatchTracker;
+import boofcv.alg.tracker.klt.PyramidKltFeature;
+import boofcv.alg.tracker.klt.PyramidKltTracker;
+import boofcv.alg.transform.pyramid.PyramidOps;
+import boofcv.benchmark.BenchmarkImages;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.factory.tracker.FactoryTrackerAlg;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares tracking features one at a time with {@link PyramidKltTracker} against tracking them all at once
+ * with {@link PyramidKltBatchTracker}.  Each feature is displaced from its true location before tracking.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class BenchmarkTrackerKlt {
+
+	@Param({"640x480"})
+	public String size;
+
+	@Param({"500","2000"})
+	public int numFeatures;
+
+	@Param({"false","true"})
+	public boolean concurrent;
+
+	int radius = 3;
+
+	PyramidKltTracker<GrayF32,GrayF32> single;
+	PyramidKltBatchTracker<GrayF32,GrayF32> batch;
+
+	PyramidKltFeature[] features;
+	float[] startX,startY;
+
+	@Setup
+	public void setup() {
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+
+		GrayF32 input = BenchmarkImages.createGray(GrayF32.class, size, 234);
+		PyramidDiscrete<GrayF32> pyramid = FactoryPyramid.discreteGaussian(new int[]{1,2,4,8},-1,2,true,
+				ImageType.single(GrayF32.class));
+		pyramid.process(input);
+		GrayF32[] derivX = PyramidOps.declareOutput(pyramid,GrayF32.class);
+		GrayF32[] derivY = PyramidOps.declareOutput(pyramid,GrayF32.class);
+		ImageGradient<GrayF32,GrayF32> gradient = FactoryDerivative.sobel(GrayF32.class,GrayF32.class);
+		PyramidOps.gradient(pyramid,gradient,derivX,derivY);
+
+		KltConfig config = new KltConfig();
+		single = FactoryTrackerAlg.kltPyramid(config,GrayF32.class,GrayF32.class);
+		batch = FactoryTrackerAlg.kltPyramidBatch(config,radius,GrayF32.class,GrayF32.class);
+		single.setImage(pyramid,derivX,derivY);
+		batch.setImage(pyramid,derivX,derivY);
+
+		Random rand = new Random(234);
+		features = new PyramidKltFeature[numFeatures];
+		startX = new float[numFeatures];
+		startY = new float[numFeatures];
+		for( int i = 0; i < numFeatures; i++ ) {
+			float x = 20 + rand.nextFloat()*(input.width-40);
+			float y = 20 + rand.nextFloat()*(input.height-40);
+			features[i] = new PyramidKltFeature(pyramid.getNumLayers(),radius);
+			features[i].setPosition(x,y);
+			single.setDescription(features[i]);
+			batch.addFeature(x,y);
+
+			startX[i] = x + (float)rand.nextGaussian()*2;
+			startY[i] = y + (float)rand.nextGaussian()*2;
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	@Benchmark
+	public PyramidKltFeature[] single() {
+		for( int i = 0; i < features.length; i++ ) {
+			features[i].setPosition(startX[i],startY[i]);
+			single.track(features[i]);
+		}
+		return features;
+	}
+
+	@Benchmark
+	public PyramidKltBatchTracker batch() {
+		for( int i = 0; i < batch.getNumSlots(); i++ ) {
+			if( batch.isActive(i) )
+				batch.setPosition(i,startX[i],startY[i]);
+		}
+		batch.trackAll();
+		return batch;
+	}
+}
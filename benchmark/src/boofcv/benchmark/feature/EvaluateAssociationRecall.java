@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.feature;
+
+import boofcv.abst.feature.associate.AssociateDescription;
+import boofcv.abst.feature.associate.ScoreAssociation;
+import boofcv.factory.feature.associate.FactoryAssociation;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.TupleDesc_F32;
+import boofcv.struct.feature.TupleDesc_F64;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.Random;
+
+/**
+ * <p>
+ * Evaluates the recall and speed of approximate nearest neighbor association against brute force
+ * association with {@link boofcv.alg.feature.associate.AssociateGreedy}.  Recall is the fraction of
+ * destination features which are associated to the same source feature as the brute force solution.
+ * </p>
+ *
+ * <p>
+ * Descriptors are randomly drawn from a set of clusters, which is more realistic than uniformly
+ * distributed descriptors, and destination descriptors are noisy copies of the source descriptors.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class EvaluateAssociationRecall {
+
+	int numFeatures;
+	int dof;
+
+	FastQueue<TupleDesc_F64> src64 = new FastQueue<>(TupleDesc_F64.class, false);
+	FastQueue<TupleDesc_F64> dst64 = new FastQueue<>(TupleDesc_F64.class, false);
+	FastQueue<TupleDesc_F32> src32 = new FastQueue<>(TupleDesc_F32.class, false);
+	FastQueue<TupleDesc_F32> dst32 = new FastQueue<>(TupleDesc_F32.class, false);
+
+	// for each destination feature the index of the source feature found by brute force
+	int[] truth;
+
+	public EvaluateAssociationRecall( int numFeatures , int dof , long seed ) {
+		this.numFeatures = numFeatures;
+		this.dof = dof;
+
+		Random rand = new Random(seed);
+		int numClusters = 50;
+		double[][] clusters = new double[numClusters][dof];
+		for( int i = 0; i < numClusters; i++ ) {
+			for( int j = 0; j < dof; j++ ) {
+				clusters[i][j] = rand.nextDouble();
+			}
+		}
+
+		for( int i = 0; i < numFeatures; i++ ) {
+			double[] c = clusters[rand.nextInt(numClusters)];
+			TupleDesc_F64 a = new TupleDesc_F64(dof);
+			TupleDesc_F64 b = new TupleDesc_F64(dof);
+			for( int j = 0; j < dof; j++ ) {
+				a.value[j] = c[j] + rand.nextGaussian()*0.1;
+				b.value[j] = a.value[j] + rand.nextGaussian()*0.1;
+			}
+			src64.add(a);
+			dst64.add(b);
+			src32.add(convert(a));
+			dst32.add(convert(b));
+		}
+	}
+
+	private static TupleDesc_F32 convert( TupleDesc_F64 a ) {
+		TupleDesc_F32 b = new TupleDesc_F32(a.size());
+		for( int i = 0; i < a.size(); i++ ) {
+			b.value[i] = (float)a.value[i];
+		}
+		return b;
+	}
+
+	/**
+	 * Computes the ground truth using brute force association
+	 *
+	 * @return time in milliseconds
+	 */
+	public double computeTruth() {
+		ScoreAssociation<TupleDesc_F64> score = FactoryAssociation.scoreEuclidean(TupleDesc_F64.class, true);
+		AssociateDescription<TupleDesc_F64> greedy = FactoryAssociation.greedy(score, Double.MAX_VALUE, false);
+
+		long before = System.nanoTime();
+		greedy.setSource(src64);
+		greedy.setDestination(dst64);
+		greedy.associate();
+		long after = System.nanoTime();
+
+		truth = new int[numFeatures];
+		for( int i = 0; i < numFeatures; i++ )
+			truth[i] = -1;
+		FastQueue<AssociatedIndex> matches = greedy.getMatches();
+		for( int i = 0; i < matches.size; i++ ) {
+			AssociatedIndex m = matches.get(i);
+			truth[m.dst] = m.src;
+		}
+
+		return (after-before)*1e-6;
+	}
+
+	/**
+	 * Associates the features and prints the recall and speed
+	 */
+	public <D> void evaluate( String name , AssociateDescription<D> alg ,
+							  FastQueue<D> src , FastQueue<D> dst , double timeTruth ) {
+		// run once to warm up the JVM
+		alg.setSource(src);
+		alg.setDestination(dst);
+		alg.associate();
+
+		long before = System.nanoTime();
+		alg.setSource(src);
+		alg.setDestination(dst);
+		alg.associate();
+		long after = System.nanoTime();
+
+		int correct = 0;
+		FastQueue<AssociatedIndex> matches = alg.getMatches();
+		for( int i = 0; i < matches.size; i++ ) {
+			AssociatedIndex m = matches.get(i);
+			if( truth[m.dst] == m.src )
+				correct++;
+		}
+
+		double time = (after-before)*1e-6;
+		System.out.printf("%-28s recall %6.3f  time %8.2f ms  speed up %6.1f%n",
+				name, correct/(double)numFeatures, time, timeTruth/time);
+	}
+
+	public void evaluateAll() {
+		// warm up brute force
+		computeTruth();
+		double timeTruth = computeTruth();
+
+		System.out.println("features "+numFeatures+" dof "+dof+"  greedy time "+String.format("%.2f ms",timeTruth));
+
+		evaluate("kdtree 500", FactoryAssociation.kdtree(dof, 500), src64, dst64, timeTruth);
+		evaluate("kdRandomForest 500", FactoryAssociation.kdRandomForest(dof, 500, 15, 5, 234), src64, dst64, timeTruth);
+
+		for( int checks : new int[]{16, 64, 128, 256, 512, 1024} ) {
+			evaluate("kMeansTree F64 "+checks,
+					FactoryAssociation.<TupleDesc_F64>kMeansTree(dof, 32, 7, checks, 234), src64, dst64, timeTruth);
+		}
+		evaluate("kMeansTree F32 256",
+				FactoryAssociation.<TupleDesc_F32>kMeansTree(dof, 32, 7, 256, 234), src32, dst32, timeTruth);
+	}
+
+	public static void main( String[] args ) {
+		new EvaluateAssociationRecall(5000, 64, 234).evaluateAll();
+		new EvaluateAssociationRecall(5000, 128, 234).evaluateAll();
+	}
+}
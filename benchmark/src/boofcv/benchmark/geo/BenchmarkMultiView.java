@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.geo;
+
+import boofcv.abst.geo.Estimate1ofEpipolar;
+import boofcv.abst.geo.Estimate1ofPnP;
+import boofcv.abst.geo.TriangulateTwoViewsCalibrated;
+import boofcv.factory.geo.EnumEssential;
+import boofcv.factory.geo.EnumFundamental;
+import boofcv.factory.geo.FactoryMultiView;
+import boofcv.struct.geo.AssociatedPair;
+import boofcv.struct.geo.Point2D3D;
+import georegression.geometry.ConvertRotation3D_F64;
+import georegression.struct.EulerType;
+import georegression.struct.point.Point3D_F64;
+import georegression.struct.se.Se3_F64;
+import georegression.transform.se.SePointOps_F64;
+import org.ejml.data.DMatrixRMaj;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for estimating multi-view geometry from a synthetic stereo scene with noise free observations
+ * in normalized image coordinates.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class BenchmarkMultiView {
+
+	@Param({"20","500"})
+	public int numPoints;
+
+	Se3_F64 motion;
+	List<AssociatedPair> pairs;
+	List<AssociatedPair> pairsPlanar;
+	List<AssociatedPair> pairsMinimal5;
+	List<Point2D3D> observations;
+
+	Estimate1ofEpipolar homography = FactoryMultiView.computeHomography(true);
+	Estimate1ofEpipolar fundamental8 = FactoryMultiView.computeFundamental_1(EnumFundamental.LINEAR_8, 0);
+	Estimate1ofEpipolar essential5 = FactoryMultiView.computeEssential_1(EnumEssential.NISTER_5, 1);
+	Estimate1ofPnP epnp = FactoryMultiView.computePnPwithEPnP(10, 0.1);
+	TriangulateTwoViewsCalibrated triangulate = FactoryMultiView.triangulateTwoGeometric();
+
+	DMatrixRMaj foundE = new DMatrixRMaj(3,3);
+	Se3_F64 foundPose = new Se3_F64();
+	Point3D_F64 foundPoint = new Point3D_F64();
+
+	@Setup
+	public void setup() {
+		Random rand = new Random(234);
+
+		motion = new Se3_F64();
+		ConvertRotation3D_F64.eulerToMatrix(EulerType.XYZ, 0.5, -0.2, 0.15, motion.getR());
+		motion.getT().set(0.1, -0.2, 0.01);
+
+		pairs = new ArrayList<>();
+		pairsPlanar = new ArrayList<>();
+		observations = new ArrayList<>();
+
+		for (int i = 0; i < numPoints; i++) {
+			double x = (rand.nextDouble()-0.5)*2;
+			double y = (rand.nextDouble()-0.5)*2;
+
+			Point3D_F64 X = new Point3D_F64(x, y, 2 + rand.nextDouble());
+			pairs.add(observe(X));
+			observations.add(new Point2D3D(pairs.get(i).p2, X));
+
+			pairsPlanar.add(observe(new Point3D_F64(x, y, 3)));
+		}
+
+		pairsMinimal5 = new ArrayList<>(pairs.subList(0, 6));
+	}
+
+	private AssociatedPair observe( Point3D_F64 X ) {
+		Point3D_F64 X2 = SePointOps_F64.transform(motion, X, null);
+		return new AssociatedPair(X.x/X.z, X.y/X.z, X2.x/X2.z, X2.y/X2.z);
+	}
+
+	@Benchmark
+	public DMatrixRMaj homography() {
+		homography.process(pairsPlanar, foundE);
+		return foundE;
+	}
+
+	@Benchmark
+	public DMatrixRMaj fundamentalLinear8() {
+		fundamental8.process(pairs, foundE);
+		return foundE;
+	}
+
+	@Benchmark
+	public DMatrixRMaj essentialNister5() {
+		essential5.process(pairsMinimal5, foundE);
+		return foundE;
+	}
+
+	@Benchmark
+	public Se3_F64 pnpEPnP() {
+		epnp.process(observations, foundPose);
+		return foundPose;
+	}
+
+	@Benchmark
+	public double triangulateTwoGeometric() {
+		double total = 0;
+		for (int i = 0; i < pairs.size(); i++) {
+			AssociatedPair p = pairs.get(i);
+			triangulate.triangulate(p.p1, p.p2, motion, foundPoint);
+			total += foundPoint.z;
+		}
+		return total;
+	}
+}
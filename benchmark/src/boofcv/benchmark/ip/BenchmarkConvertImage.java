@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.ip;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.benchmark.BenchmarkImages;
+import boofcv.core.image.ConvertImage;
+import boofcv.struct.image.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for converting between image types using {@link ConvertImage}
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class BenchmarkConvertImage {
+
+	@Param({"640x480","1920x1080"})
+	public String size;
+
+	GrayU8 imageU8;
+	GrayS16 imageS16;
+	GrayF32 imageF32;
+	Planar<GrayF32> planarF32;
+	InterleavedU8 interleavedU8;
+
+	@Setup
+	public void setup() {
+		imageU8 = BenchmarkImages.createGray(GrayU8.class, size, 234);
+		imageS16 = ConvertImage.convert(imageU8, (GrayS16)null);
+		imageF32 = ConvertImage.convert(imageU8, (GrayF32)null);
+
+		int width = imageU8.width, height = imageU8.height;
+		Random rand = new Random(234);
+		planarF32 = new Planar<>(GrayF32.class, width, height, 3);
+		interleavedU8 = new InterleavedU8(width, height, 3);
+		GImageMiscOps.fillUniform(planarF32, rand, 0, 255);
+		GImageMiscOps.fillUniform(interleavedU8, rand, 0, 255);
+	}
+
+	@Benchmark
+	public GrayU8 F32_to_U8() {
+		return ConvertImage.convert(imageF32, imageU8);
+	}
+
+	@Benchmark
+	public GrayF32 U8_to_F32() {
+		return ConvertImage.convert(imageU8, imageF32);
+	}
+
+	@Benchmark
+	public GrayF32 S16_to_F32() {
+		return ConvertImage.convert(imageS16, imageF32);
+	}
+
+	@Benchmark
+	public GrayU8 S16_to_U8() {
+		return ConvertImage.convert(imageS16, imageU8);
+	}
+
+	@Benchmark
+	public GrayF32 PlanarF32_average() {
+		return ConvertImage.average(planarF32, imageF32);
+	}
+
+	@Benchmark
+	public GrayU8 InterleavedU8_average() {
+		return ConvertImage.average(interleavedU8, imageU8);
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.ip;
+
+import boofcv.alg.filter.blur.GBlurImageOps;
+import boofcv.alg.filter.derivative.DerivativeType;
+import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.benchmark.BenchmarkImages;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.struct.image.ImageGray;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for image blur and derivative operations, which are built on top of convolution.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class BenchmarkConvolve<T extends ImageGray<T>, D extends ImageGray<D>> {
+
+	@Param({"U8","F32"})
+	public String imageType;
+
+	@Param({"640x480","1920x1080"})
+	public String size;
+
+	@Param({"2","6"})
+	public int radius;
+
+	@Param({"false","true"})
+	public boolean concurrent;
+
+	T input,output,storage;
+	D derivX,derivY;
+
+	@Setup
+	public void setup() {
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+
+		Class<T> type = BenchmarkImages.grayType(imageType);
+		Class<D> derivType = GImageDerivativeOps.getDerivativeType(type);
+
+		input = BenchmarkImages.createGray(type, size, 234);
+		output = input.createSameShape();
+		storage = input.createSameShape();
+		derivX = GeneralizedImageOps.createSingleBand(derivType, input.width, input.height);
+		derivY = derivX.createSameShape();
+	}
+
+	@TearDown
+	public void tearDown() {
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	@Benchmark
+	public T gaussian() {
+		return GBlurImageOps.gaussian(input, output, -1, radius, storage);
+	}
+
+	@Benchmark
+	public T mean() {
+		return GBlurImageOps.mean(input, output, radius, storage);
+	}
+
+	@Benchmark
+	public T median() {
+		return GBlurImageOps.median(input, output, radius);
+	}
+
+	@Benchmark
+	public D gradientSobel() {
+		GImageDerivativeOps.gradient(DerivativeType.SOBEL, input, derivX, derivY, BorderType.EXTENDED);
+		return derivY;
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.ip;
+
+import boofcv.alg.distort.ImageDistort;
+import boofcv.alg.distort.PixelTransformHomography_F32;
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.benchmark.BenchmarkImages;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.distort.FactoryDistort;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.image.ImageGray;
+import georegression.struct.homography.Homography2D_F32;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for applying a homography to an image using {@link ImageDistort}, with and without a cached
+ * distortion map.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class BenchmarkImageDistort<T extends ImageGray<T>> {
+
+	@Param({"U8","F32"})
+	public String imageType;
+
+	@Param({"640x480","1920x1080"})
+	public String size;
+
+	T input,output;
+
+	ImageDistort<T,T> homography;
+	ImageDistort<T,T> homographyCached;
+
+	@Setup
+	public void setup() {
+		Class<T> type = BenchmarkImages.grayType(imageType);
+
+		input = BenchmarkImages.createGray(type, size, 234);
+		output = input.createSameShape();
+
+		// rotate and scale the image around its center with a bit of perspective distortion
+		float c = (float)Math.cos(0.2), s = (float)Math.sin(0.2);
+		float cx = input.width/2, cy = input.height/2;
+		Homography2D_F32 H = new Homography2D_F32(
+				1.1f*c, -1.1f*s, cx - 1.1f*(c*cx - s*cy),
+				1.1f*s,  1.1f*c, cy - 1.1f*(s*cx + c*cy),
+				1e-5f, -2e-5f, 1);
+
+		homography = create(type, false, H);
+		homographyCached = create(type, true, H);
+
+		// the cache is filled in the first time it's called
+		homographyCached.apply(input, output);
+	}
+
+	private ImageDistort<T,T> create( Class<T> type , boolean cached , Homography2D_F32 H ) {
+		InterpolatePixelS<T> interp = FactoryInterpolation.bilinearPixelS(type, BorderType.EXTENDED);
+		ImageDistort<T,T> alg = FactoryDistort.distortSB(cached, interp, type);
+		alg.setModel(new PixelTransformHomography_F32(H));
+		return alg;
+	}
+
+	@Benchmark
+	public T homographyBilinear() {
+		homography.apply(input, output);
+		return output;
+	}
+
+	@Benchmark
+	public T homographyBilinearCrop() {
+		homography.apply(input, output, output.width/4, output.height/4, 3*output.width/4, 3*output.height/4);
+		return output;
+	}
+
+	@Benchmark
+	public T homographyBilinearCached() {
+		homographyCached.apply(input, output);
+		return output;
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.ip;
+
+import boofcv.alg.transform.ii.IntegralImageOps;
+import boofcv.benchmark.BenchmarkImages;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for computing integral images and the sum of blocks inside of them.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class BenchmarkIntegralImage {
+
+	@Param({"640x480","1920x1080"})
+	public String size;
+
+	@Param({"false","true"})
+	public boolean concurrent;
+
+	// number of blocks which are summed
+	int numBlocks = 20000;
+
+	GrayU8 inputU8;
+	GrayF32 inputF32;
+	GrayS32 integralS32;
+	GrayF32 integralF32;
+
+	int[] blocks;
+	float[] sums;
+
+	@Setup
+	public void setup() {
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+
+		inputU8 = BenchmarkImages.createGray(GrayU8.class, size, 234);
+		inputF32 = BenchmarkImages.createGray(GrayF32.class, size, 234);
+		integralS32 = new GrayS32(inputU8.width, inputU8.height);
+		integralF32 = new GrayF32(inputU8.width, inputU8.height);
+		IntegralImageOps.transform(inputF32, integralF32);
+
+		Random rand = new Random(234);
+		blocks = new int[numBlocks*4];
+		sums = new float[numBlocks];
+		for (int i = 0; i < numBlocks; i++) {
+			int x0 = rand.nextInt(inputU8.width-20);
+			int y0 = rand.nextInt(inputU8.height-20);
+			blocks[i*4  ] = x0;
+			blocks[i*4+1] = y0;
+			blocks[i*4+2] = x0 + 1 + rand.nextInt(19);
+			blocks[i*4+3] = y0 + 1 + rand.nextInt(19);
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	@Benchmark
+	public GrayS32 transform_U8() {
+		return IntegralImageOps.transform(inputU8, integralS32);
+	}
+
+	@Benchmark
+	public GrayF32 transform_F32() {
+		return IntegralImageOps.transform(inputF32, integralF32);
+	}
+
+	@Benchmark
+	public float[] block_single() {
+		for (int i = 0, j = 0; i < numBlocks; i++, j += 4) {
+			sums[i] = IntegralImageOps.block_unsafe(integralF32, blocks[j], blocks[j+1], blocks[j+2], blocks[j+3]);
+		}
+		return sums;
+	}
+
+	@Benchmark
+	public float[] block_batch() {
+		IntegralImageOps.block_unsafe(integralF32, blocks, numBlocks, sums);
+		return sums;
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.ip;
+
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.benchmark.BenchmarkImages;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.image.ImageGray;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for interpolating on a per-pixel basis.  Each operation samples a grid of points which
+ * are offset from the pixel centers.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class BenchmarkInterpolatePixel<T extends ImageGray<T>> {
+
+	@Param({"U8","F32"})
+	public String imageType;
+
+	@Param({"bilinear","nearest","bicubic","polynomial"})
+	public String interpolation;
+
+	// defines the region which is interpolated
+	static final float start = 10.1f;
+	static final float end = 310.1f;
+	static final float step = 1f;
+
+	InterpolatePixelS<T> alg;
+
+	@Setup
+	public void setup() {
+		Class<T> type = BenchmarkImages.grayType(imageType);
+
+		T image = BenchmarkImages.createGray(type, "640x480", 234);
+
+		switch( interpolation ) {
+			case "bilinear": alg = FactoryInterpolation.bilinearPixelS(type, BorderType.EXTENDED); break;
+			case "nearest": alg = FactoryInterpolation.nearestNeighborPixelS(type); break;
+			case "bicubic": alg = FactoryInterpolation.bicubicS(-0.5f, 0, 255, type); break;
+			case "polynomial": alg = FactoryInterpolation.polynomialS(5, 0, 255, type); break;
+			default: throw new IllegalArgumentException("Unknown interpolation "+interpolation);
+		}
+		alg.setImage(image);
+	}
+
+	@Benchmark
+	public float safe() {
+		float total = 0;
+		for (float y = start; y <= end; y += step)
+			for (float x = start; x <= end; x += step)
+				total += alg.get(x, y);
+		return total;
+	}
+
+	@Benchmark
+	public float unsafe() {
+		float total = 0;
+		for (float y = start; y <= end; y += step)
+			for (float x = start; x <= end; x += step)
+				total += alg.get_fast(x, y);
+		return total;
+	}
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.benchmark.ip;
+
+import boofcv.alg.transform.pyramid.PyramidDiscreteAverage;
+import boofcv.alg.transform.pyramid.PyramidOps;
+import boofcv.benchmark.BenchmarkImages;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.transform.pyramid.FactoryPyramid;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.pyramid.ImagePyramid;
+import boofcv.struct.pyramid.PyramidDiscrete;
+import boofcv.struct.pyramid.PyramidFloat;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for constructing image pyramids, including updating a pyramid for each camera in a multi-camera
+ * system.
+ *
+ * @author Peter Abeles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class BenchmarkPyramid {
+
+	@Param({"640x480","1920x1080"})
+	public String size;
+
+	@Param({"false","true"})
+	public boolean concurrent;
+
+	// number of cameras when processing multiple images
+	@Param({"4"})
+	public int numCameras;
+
+	GrayF32 input;
+
+	PyramidDiscrete<GrayF32> discreteGaussian;
+	PyramidDiscrete<GrayF32> discreteAverage;
+	PyramidFloat<GrayF32> floatGaussian;
+
+	List<GrayF32> cameraImages = new ArrayList<>();
+	List<ImagePyramid<GrayF32>> cameraPyramids = new ArrayList<>();
+
+	@Setup
+	public void setup() {
+		BoofConcurrency.USE_CONCURRENT = concurrent;
+
+		input = BenchmarkImages.createGray(GrayF32.class, size, 234);
+
+		int[] scales = new int[]{1,2,4,8};
+		discreteGaussian = FactoryPyramid.discreteGaussian(scales,-1,2,true, ImageType.single(GrayF32.class));
+		discreteAverage = new PyramidDiscreteAverage<>(ImageType.single(GrayF32.class),true,scales);
+		floatGaussian = FactoryPyramid.scaleSpacePyramid(new double[]{1,1.5,2,3,4,6,8},GrayF32.class);
+
+		cameraImages.clear();
+		cameraPyramids.clear();
+		for( int i = 0; i < numCameras; i++ ) {
+			cameraImages.add(BenchmarkImages.createGray(GrayF32.class, size, 234+i));
+			cameraPyramids.add(FactoryPyramid.discreteGaussian(scales,-1,2,true, ImageType.single(GrayF32.class)));
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	@Benchmark
+	public PyramidDiscrete<GrayF32> discreteGaussian() {
+		discreteGaussian.process(input);
+		return discreteGaussian;
+	}
+
+	@Benchmark
+	public PyramidDiscrete<GrayF32> discreteAverage() {
+		discreteAverage.process(input);
+		return discreteAverage;
+	}
+
+	@Benchmark
+	public PyramidFloat<GrayF32> floatGaussian() {
+		floatGaussian.process(input);
+		return floatGaussian;
+	}
+
+	@Benchmark
+	public List<ImagePyramid<GrayF32>> multiCamera() {
+		PyramidOps.process(cameraImages, cameraPyramids);
+		return cameraPyramids;
+	}
+}
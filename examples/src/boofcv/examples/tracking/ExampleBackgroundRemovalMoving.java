@@ -26,6 +26,7 @@ import boofcv.alg.distort.PointTransformHomography_F32;
 import boofcv.core.image.GConvertImage;
 import boofcv.factory.background.ConfigBackgroundBasic;
 import boofcv.factory.background.ConfigBackgroundGaussian;
+import boofcv.factory.background.ConfigBackgroundGmm;
 import boofcv.factory.background.FactoryBackgroundModel;
 import boofcv.factory.feature.tracker.FactoryPointTracker;
 import boofcv.factory.sfm.FactoryMotion2D;
@@ -89,10 +90,16 @@ public class ExampleBackgroundRemovalMoving {
 		configGaussian.initialVariance = 64;
 		configGaussian.minimumDifference = 5;
 
+		// Configuration for a mixture of Gaussians model.  Can handle backgrounds with multiple appearances
+		ConfigBackgroundGmm configGmm = new ConfigBackgroundGmm();
+		configGmm.initialVariance = 64;
+		configGmm.minimumDifference = 5;
+
 		// Comment/Uncomment to switch background mode
 		BackgroundModelMoving background =
 				FactoryBackgroundModel.movingBasic(configBasic, new PointTransformHomography_F32(), imageType);
 //				FactoryBackgroundModel.movingGaussian(configGaussian, new PointTransformHomography_F32(), imageType);
+//				FactoryBackgroundModel.movingGmm(configGmm, new PointTransformHomography_F32(), imageType);
 
 
 		MediaManager media = DefaultMediaManager.INSTANCE;
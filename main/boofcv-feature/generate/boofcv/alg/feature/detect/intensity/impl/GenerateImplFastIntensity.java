@@ -103,6 +103,10 @@ public class GenerateImplFastIntensity extends CodeGeneratorBase {
 				"\t */\n" +
 				"\tpublic "+className+"(FastHelper<T> helper) {\n" +
 				"\t\tsuper(helper);\n" +
+				"\t}\n\n" +
+				"\t@Override\n" +
+				"\tpublic int getMinContinuous() {\n" +
+				"\t\treturn "+minContinuous+";\n" +
 				"\t}\n\n");
 	}
 
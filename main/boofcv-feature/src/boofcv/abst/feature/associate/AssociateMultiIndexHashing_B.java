@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.associate;
+
+import boofcv.alg.feature.associate.FindUnassociated;
+import boofcv.alg.feature.associate.MultiIndexHashing_B;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.TupleDesc_B;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_I32;
+
+/**
+ * Associates binary descriptors using an exact nearest-neighbor search in Hamming space with
+ * {@link MultiIndexHashing_B}.  Source features are added to the index and destination features are
+ * looked up one at a time.  The results are identical to a brute force search with
+ * {@link ScoreAssociateHamming_B}, except how ties are broken, but typically much faster when there are
+ * many source features.  Source features can also be added incrementally with {@link #addSource}, e.g. when
+ * building up a map, without rebuilding the index.  Multiple matches for source features are possible while
+ * there will only be a unique match for each destination feature.
+ *
+ * @author Peter Abeles
+ */
+public class AssociateMultiIndexHashing_B implements AssociateDescription<TupleDesc_B> {
+
+	// index of source features
+	private MultiIndexHashing_B index;
+
+	// list of features in destination set that are to be searched for in the source list
+	private FastQueue<TupleDesc_B> listDst;
+
+	// storage for the search results
+	private GrowQueue_I32 resultIndexes = new GrowQueue_I32();
+	private GrowQueue_I32 resultDistances = new GrowQueue_I32();
+
+	// List of final associated points
+	private FastQueue<AssociatedIndex> matches = new FastQueue<>(100, AssociatedIndex.class, true);
+
+	// creates a list of unassociated features from the list of matches
+	private FindUnassociated unassociated = new FindUnassociated();
+
+	// maximum Hamming distance between two features.  -1 for no limit
+	private int maxDistance = -1;
+
+	public AssociateMultiIndexHashing_B(MultiIndexHashing_B index) {
+		this.index = index;
+	}
+
+	/**
+	 * Removes all the old source features and adds the new ones.
+	 */
+	@Override
+	public void setSource(FastQueue<TupleDesc_B> listSrc) {
+		index.reset();
+		for( int i = 0; i < listSrc.size; i++ ) {
+			index.add(listSrc.data[i]);
+		}
+	}
+
+	/**
+	 * Adds a single source feature without modifying any of the previously added source features.  It will
+	 * have an index equal to the number of source features before it was added.
+	 *
+	 * @param desc The source feature.  A copy is saved internally.
+	 * @return index of the source feature
+	 */
+	public int addSource( TupleDesc_B desc ) {
+		return index.add(desc);
+	}
+
+	@Override
+	public void setDestination(FastQueue<TupleDesc_B> listDst) {
+		this.listDst = listDst;
+	}
+
+	@Override
+	public void associate() {
+		matches.reset();
+		for( int i = 0; i < listDst.size; i++ ) {
+			index.searchNearest(listDst.data[i],maxDistance,1,resultIndexes,resultDistances);
+			if( resultIndexes.size == 0 )
+				continue;
+			matches.grow().setAssociation(resultIndexes.get(0),i,resultDistances.get(0));
+		}
+	}
+
+	@Override
+	public FastQueue<AssociatedIndex> getMatches() {
+		return matches;
+	}
+
+	@Override
+	public GrowQueue_I32 getUnassociatedSource() {
+		return unassociated.checkSource(matches,index.size());
+	}
+
+	@Override
+	public GrowQueue_I32 getUnassociatedDestination() {
+		return unassociated.checkDestination(matches,listDst.size());
+	}
+
+	/**
+	 * Maximum Hamming distance between two associated features, inclusive.  Fractional values are rounded down.
+	 * If negative or larger than the number of bits then there is no limit.
+	 */
+	@Override
+	public void setThreshold(double score) {
+		if( score < 0 || score >= index.getNumBits() )
+			maxDistance = -1;
+		else
+			maxDistance = (int)score;
+	}
+
+	@Override
+	public MatchScoreType getScoreType() {
+		return MatchScoreType.NORM_ERROR;
+	}
+
+	@Override
+	public boolean uniqueSource() {
+		return false;
+	}
+
+	@Override
+	public boolean uniqueDestination() {
+		return true;
+	}
+
+	public MultiIndexHashing_B getIndex() {
+		return index;
+	}
+}
@@ -21,6 +21,7 @@ package boofcv.abst.feature.associate;
 import boofcv.alg.feature.associate.FindUnassociated;
 import boofcv.struct.feature.AssociatedIndex;
 import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.TupleDesc;
 import boofcv.struct.feature.TupleDesc_F64;
 import org.ddogleg.nn.NearestNeighbor;
 import org.ddogleg.nn.NnData;
@@ -38,9 +39,14 @@ import java.util.List;
  * destination features is fast.  Multiple matches for source features are possible while there will only
  * be a unique match for each destination feature.
  *
+ * <p>
+ * Descriptors other than {@link TupleDesc_F64}, e.g. {@link boofcv.struct.feature.TupleDesc_F32}, are converted into
+ * arrays of doubles.  The arrays are recycled so no memory is declared after the first call.
+ * </p>
+ *
  * @author Peter Abeles
  */
-public class AssociateNearestNeighbor<D extends TupleDesc_F64>
+public class AssociateNearestNeighbor<D extends TupleDesc>
 		implements AssociateDescription<D>
 {
 	// Nearest Neighbor algorithm and storage for the results
@@ -56,6 +62,10 @@ public class AssociateNearestNeighbor<D extends TupleDesc_F64>
 	// storage for source points
 	private List<double[]> src = new ArrayList<>();
 
+	// storage for descriptors which had to be converted into double[]
+	private List<double[]> convertedSrc = new ArrayList<>();
+	private double[] convertedDst = new double[0];
+
 	// List of final associated points
 	private FastQueue<AssociatedIndex> matches = new FastQueue<>(100, AssociatedIndex.class, true);
 
@@ -88,7 +98,14 @@ public class AssociateNearestNeighbor<D extends TupleDesc_F64>
 		// put all the arrays into a list
 		src.clear();
 		for( int i = 0; i < listSrc.size; i++ ) {
-			src.add(listSrc.data[i].value);
+			D desc = listSrc.data[i];
+			if( desc instanceof TupleDesc_F64 ) {
+				src.add(((TupleDesc_F64)desc).value);
+			} else {
+				if( convertedSrc.size() <= i )
+					convertedSrc.add(new double[desc.size()]);
+				src.add(convert(desc, convertedSrc.get(i)));
+			}
 		}
 
 		alg.setPoints(src,indexes.toList());
@@ -104,7 +121,7 @@ public class AssociateNearestNeighbor<D extends TupleDesc_F64>
 
 		matches.reset();
 		for( int i = 0; i < listDst.size; i++ ) {
-			if( !alg.findNearest(listDst.data[i].value, maxDistanceSq,result) )
+			if( !alg.findNearest(toArray(listDst.data[i]), maxDistanceSq,result) )
 				continue;
 			// get the index of the source feature
 			int indexSrc = result.data;
@@ -113,6 +130,27 @@ public class AssociateNearestNeighbor<D extends TupleDesc_F64>
 
 	}
 
+	/**
+	 * Returns the descriptor as an array of doubles, converting it if needed.
+	 */
+	private double[] toArray( D desc ) {
+		if( desc instanceof TupleDesc_F64 )
+			return ((TupleDesc_F64)desc).value;
+
+		if( convertedDst.length != desc.size() )
+			convertedDst = new double[desc.size()];
+		return convert(desc, convertedDst);
+	}
+
+	private static double[] convert( TupleDesc desc , double[] storage ) {
+		if( storage.length != desc.size() )
+			throw new IllegalArgumentException("All descriptors must have the same size");
+		for( int i = 0; i < storage.length; i++ ) {
+			storage[i] = desc.getDouble(i);
+		}
+		return storage;
+	}
+
 	@Override
 	public FastQueue<AssociatedIndex> getMatches() {
 		return matches;
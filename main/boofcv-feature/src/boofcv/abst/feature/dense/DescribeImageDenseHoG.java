@@ -25,6 +25,7 @@ import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
 import georegression.struct.point.Point2D_I32;
 import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F32;
 
 import java.util.List;
 
@@ -64,6 +65,24 @@ public class DescribeImageDenseHoG<T extends ImageBase<T>> implements DescribeIm
 		return hog.getDescriptions().toList();
 	}
 
+	/**
+	 * Descriptions when {@link #isOutputArray()} is true.  See {@link BaseDenseHog#getDescriptionsArray()}
+	 */
+	public GrowQueue_F32 getDescriptionsArray() {
+		return hog.getDescriptionsArray();
+	}
+
+	/**
+	 * See {@link BaseDenseHog#setOutputArray(boolean)}
+	 */
+	public void setOutputArray(boolean outputArray) {
+		hog.setOutputArray(outputArray);
+	}
+
+	public boolean isOutputArray() {
+		return hog.isOutputArray();
+	}
+
 	@Override
 	public List<Point2D_I32> getLocations() {
 		return hog.getLocations().toList();
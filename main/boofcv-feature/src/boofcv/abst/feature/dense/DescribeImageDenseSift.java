@@ -26,6 +26,7 @@ import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
 import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.GrowQueue_F32;
 
 import java.util.List;
 
@@ -94,6 +95,24 @@ public class DescribeImageDenseSift<T extends ImageGray<T>, D extends ImageGray<
 		return alg.getDescriptors().toList();
 	}
 
+	/**
+	 * Descriptions when {@link #isOutputArray()} is true.  See {@link DescribeDenseSiftAlg#getDescriptorsArray()}
+	 */
+	public GrowQueue_F32 getDescriptionsArray() {
+		return alg.getDescriptorsArray();
+	}
+
+	/**
+	 * See {@link DescribeDenseSiftAlg#setOutputArray(boolean)}
+	 */
+	public void setOutputArray(boolean outputArray) {
+		alg.setOutputArray(outputArray);
+	}
+
+	public boolean isOutputArray() {
+		return alg.isOutputArray();
+	}
+
 	@Override
 	public List<Point2D_I32> getLocations() {
 		return alg.getLocations().toList();
@@ -24,11 +24,14 @@ import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
 import georegression.struct.point.Point2D_I32;
 import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F32;
 
 import java.util.List;
 
 /**
  * Dense feature computation which uses {@link boofcv.abst.feature.describe.DescribeRegionPoint} internally.
+ * When writing to an array each description is computed in a work space and its elements are then copied
+ * into the array using {@link TupleDesc#getDouble(int)}.
  *
  * @author Peter Abeles
  */
@@ -51,6 +54,11 @@ public class GenericDenseDescribeImageDense<T extends ImageBase<T>, Desc extends
 	FastQueue<Desc> descriptions;
 	FastQueue<Point2D_I32> locations = new FastQueue<>(Point2D_I32.class, true);
 
+	// storage for descriptions when written to an array
+	boolean outputArray = false;
+	GrowQueue_F32 descriptionsArray = new GrowQueue_F32();
+	Desc workDesc;
+
 	/**
 	 * Configures dense description.
 	 * @param alg Sparse feature sampler.
@@ -89,6 +97,7 @@ public class GenericDenseDescribeImageDense<T extends ImageBase<T>, Desc extends
 				return alg.createDescription();
 			}
 		};
+		workDesc = alg.createDescription();
 	}
 
 	@Override
@@ -104,16 +113,23 @@ public class GenericDenseDescribeImageDense<T extends ImageBase<T>, Desc extends
 		int y1 = input.getHeight()-featureWidth/2;
 
 		descriptions.reset();
+		descriptionsArray.reset();
 		locations.reset();
 
 		for (int y = y0; y < y1; y += periodY ) {
 			for (int x = x0; x < x1; x += periodX ) {
-				Desc d = descriptions.grow();
+				Desc d = outputArray ? workDesc : descriptions.grow();
 
 				if( !alg.process(x,y,0,radius,d) ) {
-					descriptions.removeTail();
+					if( !outputArray )
+						descriptions.removeTail();
 				} else {
 					locations.grow().set(x,y);
+					if( outputArray ) {
+						for (int i = 0; i < d.size(); i++) {
+							descriptionsArray.add((float)d.getDouble(i));
+						}
+					}
 				}
 			}
 		}
@@ -124,6 +140,27 @@ public class GenericDenseDescribeImageDense<T extends ImageBase<T>, Desc extends
 		return descriptions.toList();
 	}
 
+	/**
+	 * Returns all the computed descriptions in a single contiguous array.  The description at index 'i' starts
+	 * at element i*N, where N is the number of elements in a description.  Only filled in if
+	 * {@link #isOutputArray()} is true.  The array is modified the next time {@link #process} is called.
+	 */
+	public GrowQueue_F32 getDescriptionsArray() {
+		return descriptionsArray;
+	}
+
+	/**
+	 * Specifies if descriptions should be written into a single contiguous array, {@link #getDescriptionsArray()},
+	 * instead of into a list of description objects, {@link #getDescriptions()}.
+	 */
+	public void setOutputArray(boolean outputArray) {
+		this.outputArray = outputArray;
+	}
+
+	public boolean isOutputArray() {
+		return outputArray;
+	}
+
 	@Override
 	public List<Point2D_I32> getLocations() {
 		return locations.toList();
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.describe;
+
+import boofcv.struct.feature.TupleDesc;
+import boofcv.struct.image.ImageBase;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_F64;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Describes a set of points all at once using {@link DescribeRegionPoint}.  For every point a description is
+ * added to the output list, even if a description could not be computed, so that the index of a point and its
+ * description are the same.  Use the success flags to see which descriptions are valid.
+ * </p>
+ *
+ * <p>
+ * This implementation processes the points sequentially.  See {@link DescribeRegionPointBatch_MT} for a concurrent
+ * implementation.
+ * </p>
+ *
+ * @see boofcv.factory.feature.describe.FactoryDescribeRegionPoint#batch
+ *
+ * @author Peter Abeles
+ */
+public class DescribeRegionPointBatch<T extends ImageBase<T>, Desc extends TupleDesc>
+		implements DescriptorInfo<Desc>
+{
+	// describes a single point
+	protected DescribeRegionPoint<T,Desc> alg;
+
+	/**
+	 * Specifies the descriptor
+	 *
+	 * @param alg Describes a single point
+	 */
+	public DescribeRegionPointBatch(DescribeRegionPoint<T, Desc> alg) {
+		this.alg = alg;
+	}
+
+	/**
+	 * Specified the image which is to be processed.
+	 *
+	 * @param image The image which contains the features.
+	 */
+	public void setImage( T image ) {
+		alg.setImage(image);
+	}
+
+	/**
+	 * Computes a description for each point.  See {@link DescribeRegionPoint#process}.
+	 *
+	 * @param locations Location of each point
+	 * @param orientations Orientation of each point.  If null then 0 is used.
+	 * @param radii Radius of each point.  If null then 1 is used.
+	 * @param output (Output) Storage for the descriptions.  Reset then one description is added for each point.
+	 * @param success (Output) Reset then true is added if a description was computed and false if not.
+	 */
+	public void describe( List<Point2D_F64> locations , GrowQueue_F64 orientations , GrowQueue_F64 radii ,
+						  FastQueue<Desc> output , GrowQueue_B success )
+	{
+		declareOutput(locations, orientations, radii, output, success);
+
+		for (int i = 0; i < locations.size(); i++) {
+			success.data[i] = describe(alg, i, locations, orientations, radii, output);
+		}
+	}
+
+	/**
+	 * Checks the input and declares storage for each point
+	 */
+	protected void declareOutput( List<Point2D_F64> locations , GrowQueue_F64 orientations , GrowQueue_F64 radii ,
+								  FastQueue<Desc> output , GrowQueue_B success ) {
+		int N = locations.size();
+		if( orientations != null && orientations.size != N )
+			throw new IllegalArgumentException("Number of orientations and locations don't match");
+		if( radii != null && radii.size != N )
+			throw new IllegalArgumentException("Number of radii and locations don't match");
+
+		output.reset();
+		for (int i = 0; i < N; i++) {
+			output.grow();
+		}
+		success.resize(N);
+	}
+
+	/**
+	 * Describes a single point using the provided descriptor
+	 */
+	protected static <T extends ImageBase<T>, Desc extends TupleDesc>
+	boolean describe( DescribeRegionPoint<T,Desc> alg , int index ,
+					  List<Point2D_F64> locations , GrowQueue_F64 orientations , GrowQueue_F64 radii ,
+					  FastQueue<Desc> output ) {
+		Point2D_F64 p = locations.get(index);
+		double orientation = orientations == null ? 0 : orientations.data[index];
+		double radius = radii == null ? 1 : radii.data[index];
+		return alg.process(p.x, p.y, orientation, radius, output.data[index]);
+	}
+
+	@Override
+	public Desc createDescription() {
+		return alg.createDescription();
+	}
+
+	@Override
+	public Class<Desc> getDescriptionType() {
+		return alg.getDescriptionType();
+	}
+
+	/**
+	 * Returns the algorithm used to describe each point
+	 */
+	public DescribeRegionPoint<T, Desc> getDescribe() {
+		return alg;
+	}
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.describe;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.concurrency.WorkerPool;
+import boofcv.struct.feature.TupleDesc;
+import boofcv.struct.image.ImageBase;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_F64;
+
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link DescribeRegionPointBatch}.  The points are split into blocks which are
+ * described in parallel.  Implementations of {@link DescribeRegionPoint} have internal work space, so each
+ * thread uses its own descriptor which is created by a {@link WorkerPool}.  The descriptions are identical to
+ * the single threaded implementation.
+ * </p>
+ *
+ * <p>
+ * Each descriptor is only given the image the first time it's used after {@link #setImage} has been called.
+ * Descriptors which preprocess the image, e.g. SURF computes an integral image, will do so once for each thread.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DescribeRegionPointBatch_MT<T extends ImageBase<T>, Desc extends TupleDesc>
+		extends DescribeRegionPointBatch<T,Desc>
+{
+	// smallest number of points which will be described by a thread
+	int minBlock = 20;
+
+	// descriptors for each thread
+	WorkerPool<Worker> workers;
+
+	// image being processed and the number of times the image has been changed
+	T image;
+	int imageVersion;
+
+	// input and output for the points currently being described
+	List<Point2D_F64> locations;
+	GrowQueue_F64 orientations, radii;
+	FastQueue<Desc> output;
+	GrowQueue_B success;
+
+	private final IntRangeConsumer describeBlock = new IntRangeConsumer() {
+		@Override
+		public void accept(int minInclusive, int maxExclusive) {
+			Worker worker = workers.acquire();
+			try {
+				if( worker.imageVersion != imageVersion ) {
+					worker.alg.setImage(image);
+					worker.imageVersion = imageVersion;
+				}
+				for (int i = minInclusive; i < maxExclusive; i++) {
+					success.data[i] = describe(worker.alg, i, locations, orientations, radii, output);
+				}
+			} finally {
+				workers.release(worker);
+			}
+		}
+	};
+
+	/**
+	 * Specifies the descriptor
+	 *
+	 * @param descriptors Creates a new instance of the descriptor for each thread.  All instances must
+	 *                    have the same configuration.
+	 */
+	public DescribeRegionPointBatch_MT( WorkerPool<DescribeRegionPoint<T,Desc>> descriptors ) {
+		this(descriptors, descriptors.acquire());
+	}
+
+	private DescribeRegionPointBatch_MT( final WorkerPool<DescribeRegionPoint<T,Desc>> descriptors ,
+										 DescribeRegionPoint<T,Desc> prototype ) {
+		super(prototype);
+		descriptors.release(prototype);
+
+		workers = new WorkerPool<Worker>() {
+			@Override
+			protected Worker createWorker() {
+				return new Worker(descriptors.acquire());
+			}
+		};
+	}
+
+	@Override
+	public void setImage(T image) {
+		this.image = image;
+		this.imageVersion++;
+	}
+
+	@Override
+	public void describe(List<Point2D_F64> locations, GrowQueue_F64 orientations, GrowQueue_F64 radii,
+						 FastQueue<Desc> output, GrowQueue_B success) {
+		if( image == null )
+			throw new IllegalArgumentException("Must call setImage() first");
+
+		declareOutput(locations, orientations, radii, output, success);
+
+		this.locations = locations;
+		this.orientations = orientations;
+		this.radii = radii;
+		this.output = output;
+		this.success = success;
+
+		try {
+			BoofConcurrency.loopBlocks(0, locations.size(), minBlock, describeBlock);
+		} finally {
+			this.locations = null;
+			this.orientations = null;
+			this.radii = null;
+			this.output = null;
+			this.success = null;
+		}
+	}
+
+	public int getMinBlock() {
+		return minBlock;
+	}
+
+	/**
+	 * Specifies the smallest number of points which will be described by a single thread
+	 */
+	public void setMinBlock(int minBlock) {
+		if( minBlock <= 0 )
+			throw new IllegalArgumentException("Must be greater than zero");
+		this.minBlock = minBlock;
+	}
+
+	/**
+	 * Descriptor and the version of the image it was last given
+	 */
+	class Worker {
+		DescribeRegionPoint<T,Desc> alg;
+		int imageVersion = -1;
+
+		Worker(DescribeRegionPoint<T, Desc> alg) {
+			this.alg = alg;
+		}
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.detect.extract;
+
+import boofcv.alg.feature.detect.extract.NonMaxCandidate;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntConsumer;
+import boofcv.concurrency.WorkerPool;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.GrayF32;
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link WrapperNonMaxCandidate}.  The list of candidates is split up into
+ * blocks and each block is examined in its own thread, with its own {@link NonMaxCandidate} and storage for
+ * the found features.  Features from each block are then added to the output in order, so results are identical
+ * to the single threaded version.
+ * </p>
+ *
+ * <p>
+ * Each thread's {@link NonMaxCandidate} is configured to match the one returned by {@link #getExtractor()} before
+ * it's used.  If {@link BoofConcurrency#isActive()} is false then candidates are examined in a single thread.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class WrapperNonMaxCandidate_MT extends WrapperNonMaxCandidate {
+
+	// minimum number of candidates in a block
+	int minBlock = 200;
+
+	// provides a NonMaxCandidate for each thread
+	WorkerPool<NonMaxCandidate> pool;
+
+	// features found inside each block
+	FastQueue<QueueCorner> blockFound = new FastQueue<>(QueueCorner.class,true);
+
+	// references to input for the current image
+	GrayF32 intensity;
+	QueueCorner candidates;
+	boolean minimum;
+
+	// examines a block of candidates
+	IntConsumer processBlock = new IntConsumer() {
+		@Override
+		public void accept(int index) {
+			int numBlocks = blockFound.size;
+			int start = candidates.size*index/numBlocks;
+			int end = candidates.size*(index+1)/numBlocks;
+
+			QueueCorner found = blockFound.get(index);
+			found.reset();
+
+			NonMaxCandidate worker = pool.acquire();
+			try {
+				worker.setConfiguration(extractor);
+				if( minimum )
+					worker.processMinimum(intensity, candidates, start, end, found);
+				else
+					worker.processMaximum(intensity, candidates, start, end, found);
+			} finally {
+				pool.release(worker);
+			}
+		}
+	};
+
+	public WrapperNonMaxCandidate_MT( WorkerPool<NonMaxCandidate> pool , boolean minimums, boolean maximums ) {
+		this(pool, pool.acquire(), minimums, maximums);
+	}
+
+	private WrapperNonMaxCandidate_MT( WorkerPool<NonMaxCandidate> pool , NonMaxCandidate prototype,
+									   boolean minimums, boolean maximums ) {
+		super(prototype, minimums, maximums);
+		this.pool = pool;
+		pool.release(prototype);
+	}
+
+	@Override
+	public void process(GrayF32 intensity,
+						QueueCorner candidateMin, QueueCorner candidateMax,
+						QueueCorner foundMin, QueueCorner foundMax) {
+		if( !BoofConcurrency.isActive() ) {
+			super.process(intensity, candidateMin, candidateMax, foundMin, foundMax);
+			return;
+		}
+
+		this.intensity = intensity;
+		if( candidateMin != null )
+			process(candidateMin, true, foundMin);
+		if( candidateMax != null )
+			process(candidateMax, false, foundMax);
+		this.intensity = null;
+		this.candidates = null;
+	}
+
+	private void process( QueueCorner candidates , boolean minimum , QueueCorner found ) {
+		int numBlocks = Math.min(BoofConcurrency.getMaxThreads(), candidates.size/minBlock);
+
+		if( numBlocks <= 1 ) {
+			if( minimum )
+				extractor.processMinimum(intensity, candidates, 0, candidates.size, found);
+			else
+				extractor.processMaximum(intensity, candidates, 0, candidates.size, found);
+			return;
+		}
+
+		this.candidates = candidates;
+		this.minimum = minimum;
+		blockFound.resize(numBlocks);
+
+		BoofConcurrency.loopFor(0, numBlocks, processBlock);
+
+		// add the results in the same order as the single threaded version
+		for (int i = 0; i < numBlocks; i++) {
+			WrapperNonMaximumBlock_MT.addAll(blockFound.get(i), found);
+		}
+	}
+
+	public NonMaxCandidate getExtractor() {
+		return extractor;
+	}
+
+	public int getMinBlock() {
+		return minBlock;
+	}
+
+	/**
+	 * Specifies the minimum number of candidates examined by a single thread
+	 */
+	public void setMinBlock(int minBlock) {
+		if( minBlock <= 0 )
+			throw new IllegalArgumentException("Must be greater than zero");
+		this.minBlock = minBlock;
+	}
+}
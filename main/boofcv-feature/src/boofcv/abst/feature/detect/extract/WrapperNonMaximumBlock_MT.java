@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.detect.extract;
+
+import boofcv.alg.feature.detect.extract.NonMaxBlock;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntConsumer;
+import boofcv.concurrency.WorkerPool;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.GrayF32;
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link WrapperNonMaximumBlock}.  The image is split up into bands of block rows
+ * and each band is processed in its own thread, with its own {@link NonMaxBlock} and storage for the found
+ * features.  Features from each band are then added to the output in order, so results are identical to the
+ * single threaded version.
+ * </p>
+ *
+ * <p>
+ * Each thread's {@link NonMaxBlock} is configured to match the one returned by {@link #getAlg()} before it's
+ * used.  If {@link BoofConcurrency#isActive()} is false then the image is processed in a single thread.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class WrapperNonMaximumBlock_MT extends WrapperNonMaximumBlock {
+
+	// provides a NonMaxBlock for each thread
+	WorkerPool<NonMaxBlock> pool;
+
+	// features found inside each band
+	FastQueue<QueueCorner> bandMin = new FastQueue<>(QueueCorner.class,true);
+	FastQueue<QueueCorner> bandMax = new FastQueue<>(QueueCorner.class,true);
+
+	// references to input and output for the current image
+	GrayF32 intensity;
+	QueueCorner foundMin, foundMax;
+	int blockRows;
+
+	// searches a band for local minimums and maximums
+	IntConsumer processBand = new IntConsumer() {
+		@Override
+		public void accept(int index) {
+			int numBands = bandMax.size;
+			int row0 = blockRows*index/numBands;
+			int row1 = blockRows*(index+1)/numBands;
+
+			QueueCorner min = foundMin == null ? null : bandMin.get(index);
+			QueueCorner max = foundMax == null ? null : bandMax.get(index);
+			if( min != null ) min.reset();
+			if( max != null ) max.reset();
+
+			NonMaxBlock worker = pool.acquire();
+			try {
+				worker.setConfiguration(alg);
+				worker.process(intensity, min, max, row0, row1);
+			} finally {
+				pool.release(worker);
+			}
+		}
+	};
+
+	public WrapperNonMaximumBlock_MT( WorkerPool<NonMaxBlock> pool ) {
+		this(pool, pool.acquire());
+	}
+
+	private WrapperNonMaximumBlock_MT( WorkerPool<NonMaxBlock> pool , NonMaxBlock prototype ) {
+		super(prototype);
+		this.pool = pool;
+		pool.release(prototype);
+	}
+
+	@Override
+	public void process(GrayF32 intensity,
+						QueueCorner candidateMin, QueueCorner candidateMax,
+						QueueCorner foundMin, QueueCorner foundMax) {
+		blockRows = alg.getBlockRows(intensity);
+		int numBands = Math.min(blockRows, BoofConcurrency.getMaxThreads());
+
+		if( !BoofConcurrency.isActive() || numBands <= 1 ) {
+			super.process(intensity, candidateMin, candidateMax, foundMin, foundMax);
+			return;
+		}
+
+		this.intensity = intensity;
+		this.foundMin = foundMin;
+		this.foundMax = foundMax;
+
+		bandMin.resize(numBands);
+		bandMax.resize(numBands);
+
+		BoofConcurrency.loopFor(0, numBands, processBand);
+
+		// add the results in the same order as the single threaded version
+		for (int i = 0; i < numBands; i++) {
+			if( foundMin != null )
+				addAll(bandMin.get(i), foundMin);
+			if( foundMax != null )
+				addAll(bandMax.get(i), foundMax);
+		}
+
+		this.intensity = null;
+	}
+
+	static void addAll( QueueCorner src , QueueCorner dst ) {
+		for (int i = 0; i < src.size; i++) {
+			dst.add(src.get(i));
+		}
+	}
+
+	public NonMaxBlock getAlg() {
+		return alg;
+	}
+}
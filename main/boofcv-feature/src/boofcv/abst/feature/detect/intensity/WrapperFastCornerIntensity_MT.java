@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.detect.intensity;
+
+import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntConsumer;
+import boofcv.concurrency.WorkerPool;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.ImageGray;
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link WrapperFastCornerIntensity}.  The image is split up into bands of rows
+ * and each band is processed in its own thread, with its own {@link FastCornerIntensity}.  All threads write
+ * into the same intensity image and corners from each band are added to the candidate list in order, so results
+ * are identical to the single threaded version.
+ * </p>
+ *
+ * <p>
+ * If {@link BoofConcurrency#isActive()} is false then the image is processed in a single thread.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class WrapperFastCornerIntensity_MT<I extends ImageGray<I>, D extends ImageGray<D>>
+		extends WrapperFastCornerIntensity<I,D>
+{
+	/**
+	 * Minimum number of rows in a band
+	 */
+	int minBandHeight = 20;
+
+	// provides a FastCornerIntensity for each thread
+	WorkerPool<FastCornerIntensity<I>> pool;
+
+	// corners found inside each band
+	FastQueue<QueueCorner> bandCandidates = new FastQueue<>(QueueCorner.class,true);
+	// corners found inside the entire image
+	QueueCorner candidates = new QueueCorner(10);
+	// true if the last image was processed concurrently
+	boolean concurrent;
+
+	// reference to the input image
+	I input;
+
+	// computes the intensity inside a band
+	IntConsumer processBand = new IntConsumer() {
+		@Override
+		public void accept(int index) {
+			int numBands = bandCandidates.size;
+			int y0 = input.height*index/numBands;
+			int y1 = input.height*(index+1)/numBands;
+
+			FastCornerIntensity<I> worker = pool.acquire();
+			try {
+				worker.setEarlyReject(alg.isEarlyReject());
+				worker.process(input, intensity, y0, y1);
+				QueueCorner found = bandCandidates.get(index);
+				found.reset();
+				addAll(worker.getCandidates(), found);
+			} finally {
+				pool.release(worker);
+			}
+		}
+	};
+
+	public WrapperFastCornerIntensity_MT( WorkerPool<FastCornerIntensity<I>> pool ) {
+		this(pool, pool.acquire());
+	}
+
+	private WrapperFastCornerIntensity_MT( WorkerPool<FastCornerIntensity<I>> pool ,
+										   FastCornerIntensity<I> prototype ) {
+		super(prototype);
+		this.pool = pool;
+		pool.release(prototype);
+	}
+
+	@Override
+	public void process(I input, D derivX , D derivY , D derivXX , D derivYY , D derivXY ) {
+		int numBands = Math.min(BoofConcurrency.getMaxThreads(), input.height/minBandHeight);
+
+		concurrent = BoofConcurrency.isActive() && numBands > 1;
+		if( !concurrent ) {
+			super.process(input, derivX, derivY, derivXX, derivYY, derivXY);
+			return;
+		}
+
+		init(input.width,input.height);
+		this.input = input;
+
+		bandCandidates.resize(numBands);
+		BoofConcurrency.loopFor(0, numBands, processBand);
+
+		// add the corners in the same order as the single threaded version
+		candidates.reset();
+		for (int i = 0; i < numBands; i++) {
+			addAll(bandCandidates.get(i), candidates);
+		}
+
+		this.input = null;
+	}
+
+	static void addAll( QueueCorner src , QueueCorner dst ) {
+		for (int i = 0; i < src.size; i++) {
+			dst.add(src.get(i));
+		}
+	}
+
+	@Override
+	public QueueCorner getCandidatesMax() {
+		return concurrent ? candidates : super.getCandidatesMax();
+	}
+
+	public FastCornerIntensity<I> getAlg() {
+		return alg;
+	}
+
+	public int getMinBandHeight() {
+		return minBandHeight;
+	}
+
+	/**
+	 * Specifies the minimum number of rows in the band processed by a single thread
+	 */
+	public void setMinBandHeight(int minBandHeight) {
+		if( minBandHeight <= 0 )
+			throw new IllegalArgumentException("Must be greater than zero");
+		this.minBandHeight = minBandHeight;
+	}
+}
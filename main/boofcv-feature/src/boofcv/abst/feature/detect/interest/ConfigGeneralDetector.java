@@ -33,6 +33,15 @@ public class ConfigGeneralDetector extends ConfigExtract {
 	 */
 	public int maxFeatures = -1;
 
+	/**
+	 * If true and {@link boofcv.concurrency.BoofConcurrency#USE_CONCURRENT} is true then a concurrent detector is
+	 * created.  Feature intensity and non-maximum suppression are computed in row bands and the most intense
+	 * features are selected using multiple threads.  Default is true.  When 'maxFeatures' prunes the list
+	 * the same set of features is selected, but they can be in a different order than the single threaded
+	 * detector returns them.
+	 */
+	public boolean concurrent = true;
+
 	public ConfigGeneralDetector(int maxFeatures ,
 								 int radius, float threshold, int ignoreBorder, boolean useStrictRule,
 								 boolean detectMinimums, boolean detectMaximums) {
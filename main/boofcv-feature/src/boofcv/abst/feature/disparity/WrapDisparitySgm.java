@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.disparity;
+
+import boofcv.alg.feature.disparity.sgm.SgmStereoDisparity;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * Wrapper around {@link SgmStereoDisparity} for {@link StereoDisparity}.  If the disparity image is
+ * {@link GrayF32} then disparity is computed to sub-pixel accuracy.
+ *
+ * @author Peter Abeles
+ */
+public class WrapDisparitySgm<T extends ImageGray<T>, D extends ImageGray<D>>
+		implements StereoDisparity<T,D>
+{
+	SgmStereoDisparity<T> alg;
+	D disparity;
+	Class<D> disparityType;
+
+	public WrapDisparitySgm(SgmStereoDisparity<T> alg, Class<D> disparityType ) {
+		if( disparityType != GrayU8.class && disparityType != GrayF32.class )
+			throw new IllegalArgumentException("Disparity must be GrayU8 or GrayF32");
+		this.alg = alg;
+		this.disparityType = disparityType;
+	}
+
+	@Override
+	public void process(T imageLeft, T imageRight) {
+		if( disparity == null || disparity.width != imageLeft.width || disparity.height != imageLeft.height )  {
+			disparity = GeneralizedImageOps.createSingleBand(disparityType,imageLeft.width,imageLeft.height);
+		}
+
+		alg.process(imageLeft,imageRight);
+
+		if( disparity instanceof GrayU8 )
+			alg.select((GrayU8)disparity);
+		else
+			alg.selectSubpixel((GrayF32)disparity);
+	}
+
+	@Override
+	public D getDisparity() {
+		return disparity;
+	}
+
+	@Override
+	public int getBorderX() {
+		return 0;
+	}
+
+	@Override
+	public int getBorderY() {
+		return 0;
+	}
+
+	@Override
+	public int getMinDisparity() {
+		return alg.getMinDisparity();
+	}
+
+	@Override
+	public int getMaxDisparity() {
+		return alg.getMaxDisparity();
+	}
+
+	@Override
+	public Class<T> getInputType() {
+		return alg.getInputType();
+	}
+
+	@Override
+	public Class<D> getDisparityType() {
+		return disparityType;
+	}
+
+	public SgmStereoDisparity<T> getAlg() {
+		return alg;
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background;
+
+/**
+ * <p>
+ * Background model in which each pixel is modeled as a mixture of Gaussians (GMM), as described in [1] and [2].
+ * Unlike {@link BackgroundAlgorithmGaussian} a pixel can have several background values, e.g. swaying trees or a
+ * flickering light, and the number of Gaussians used by each pixel is selected online.  Each Gaussian has an
+ * isotropic covariance, i.e. the same variance is used for every band.
+ * </p>
+ *
+ * <p>
+ * Every pixel has storage for up to N Gaussians, which are packed one after the other into an
+ * interleaved array.  Each Gaussian is stored as [weight, variance, mean[0], ... , mean[bands-1]] and
+ * they are kept sorted by weight, largest first.  Unused Gaussians have a weight of zero.  When a pixel is
+ * observed the first Gaussian which matches it is updated and the weights of all the other Gaussians decay.
+ * If none match then the Gaussian with the smallest weight is replaced.
+ * </p>
+ *
+ * <p>Tuning Parameters:</p>
+ * <ul>
+ * <li><b>learningPeriod:</b> Specifies how fast it will adapt. The learning rate is 1/learningPeriod.  Try 1000</li>
+ * <li><b>decay:</b> Weight decay applied to every Gaussian each time a pixel is observed.  Gaussians which
+ * are rarely observed will be discarded.  Try 0.05</li>
+ * <li><b>maxDistance:</b> Pixel's with a Mahalanobis distance squared &le; maxDistance are assumed to belong
+ * to a Gaussian.  Try 9.</li>
+ * <li><b>significantWeight:</b> Gaussians with a weight &ge; this value are part of the background. Try 0.1</li>
+ * <li><b>initialVariance:</b> The variance assigned to a new Gaussian.  Try 100</li>
+ * <li><b>minimumDifference:</b> Minimum Euclidean distance from the mean for a pixel to be considered moving.</li>
+ * </ul>
+ *
+ * <p>
+ * [1] Zivkovic, Zoran. "Improved adaptive Gaussian mixture model for background subtraction." ICPR 2004.<br>
+ * [2] Zivkovic, Zoran, and Ferdinand Van Der Heijden. "Efficient adaptive density estimation per image pixel
+ * for the task of background subtraction." Pattern recognition letters 27.7 (2006): 773-780.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface BackgroundAlgorithmGmm {
+
+	/**
+	 * Returns the learning period.
+	 * @return learning period
+	 */
+	float getLearningPeriod();
+
+	/**
+	 * Specifies the learning period.  The learning rate is 1/learningPeriod
+	 * @param learningPeriod number of frames, &ge; 1
+	 */
+	void setLearningPeriod(float learningPeriod);
+
+	float getDecay();
+
+	void setDecay(float decay);
+
+	float getMaxDistance();
+
+	void setMaxDistance(float maxDistance);
+
+	float getSignificantWeight();
+
+	void setSignificantWeight(float significantWeight);
+
+	/**
+	 * Returns the initial variance assigned to a new Gaussian
+	 * @return initial variance
+	 */
+	float getInitialVariance();
+
+	/**
+	 * Sets the initial variance assigned to a new Gaussian
+	 * @param initialVariance initial variance
+	 */
+	void setInitialVariance(float initialVariance);
+
+	float getMinimumDifference();
+
+	void setMinimumDifference(float minimumDifference);
+
+	/**
+	 * Maximum number of Gaussians a pixel can have
+	 */
+	int getMaxGaussians();
+}
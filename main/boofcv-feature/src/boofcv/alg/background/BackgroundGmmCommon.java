@@ -0,0 +1,362 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background;
+
+/**
+ * Per-pixel update and classification for {@link BackgroundAlgorithmGmm}.  All the Gaussians for a pixel are
+ * stored in a single block of a float array, see {@link BackgroundAlgorithmGmm} for the layout.  Functions
+ * only read the tuning parameters and modify the pixel being processed, so different pixels can be
+ * processed by different threads at the same time.
+ *
+ * @author Peter Abeles
+ */
+public class BackgroundGmmCommon {
+
+	// learning rate = 1/learningPeriod
+	float learningRate;
+	float learningPeriod;
+	// weight decay applied to every Gaussian which is observed
+	float decay;
+
+	// maximum Mahalanobis distance squared for a pixel to belong to a Gaussian
+	float maxDistance = 9;
+	// Gaussians with a weight at least this large are part of the background
+	float significantWeight = 0.1f;
+	// variance assigned to new Gaussians
+	float initialVariance = 100;
+	// minimum Euclidean distance from the mean for a pixel to be moving
+	float minimumDifference = 0;
+
+	// maximum number of Gaussians for each pixel
+	final int maxGaussians;
+	// number of bands in the input image
+	final int numBands;
+	// number of elements used to describe a single Gaussian
+	final int gaussianStride;
+	// number of elements used to describe all the Gaussians in a pixel
+	final int modelStride;
+
+	/**
+	 * Configures the model
+	 *
+	 * @param learningPeriod Specifies how quickly the background is updated. &ge; 1
+	 * @param decay Weight decay applied to Gaussians each time they are observed. 0 &le; decay &lt; 1
+	 * @param maxGaussians Maximum number of Gaussians for each pixel. &ge; 1
+	 * @param numBands Number of bands in the input image
+	 */
+	public BackgroundGmmCommon(float learningPeriod, float decay, int maxGaussians, int numBands) {
+		if( maxGaussians < 1 )
+			throw new IllegalArgumentException("Must have at least one Gaussian");
+
+		setLearningPeriod(learningPeriod);
+		setDecay(decay);
+
+		this.maxGaussians = maxGaussians;
+		this.numBands = numBands;
+		this.gaussianStride = 2 + numBands;
+		this.modelStride = maxGaussians*gaussianStride;
+	}
+
+	/**
+	 * Updates the mixture for a single band pixel.
+	 *
+	 * @param pixelValue Observed value of the pixel
+	 * @param data Array containing the model
+	 * @param index Index of the first element of the pixel's model
+	 */
+	public void updateMixture( float pixelValue , float[] data , int index ) {
+		final int end = index + modelStride;
+
+		// the Gaussian with the largest weight which the pixel belongs to
+		int match = -1;
+		for (int i = index; i < end; i += gaussianStride) {
+			if( data[i] <= 0 )
+				break;
+			float diff = pixelValue - data[i+2];
+			if( diff*diff <= maxDistance*data[i+1] ) {
+				match = i;
+				break;
+			}
+		}
+
+		int selected = decayWeights(data, index, match);
+
+		if( match >= 0 ) {
+			float weight = data[match];
+			float rho = Math.min(1.0f, learningRate/weight);
+
+			float diff = pixelValue - data[match+2];
+			data[match+1] += rho*(diff*diff - data[match+1]);
+			data[match+2] += rho*diff;
+		} else {
+			data[selected+1] = initialVariance;
+			data[selected+2] = pixelValue;
+		}
+
+		normalizeAndSort(data, index, selected);
+	}
+
+	/**
+	 * Updates the mixture for a multi-band pixel.
+	 *
+	 * @param pixelValue Observed value of each band in the pixel
+	 * @param data Array containing the model
+	 * @param index Index of the first element of the pixel's model
+	 */
+	public void updateMixture( float[] pixelValue , float[] data , int index ) {
+		final int end = index + modelStride;
+
+		// the Gaussian with the largest weight which the pixel belongs to
+		int match = -1;
+		for (int i = index; i < end; i += gaussianStride) {
+			if( data[i] <= 0 )
+				break;
+			if( distanceSq(pixelValue, data, i) <= maxDistance*data[i+1] ) {
+				match = i;
+				break;
+			}
+		}
+
+		int selected = decayWeights(data, index, match);
+
+		if( match >= 0 ) {
+			float weight = data[match];
+			float rho = Math.min(1.0f, learningRate/weight);
+
+			float distanceSq = 0;
+			for (int band = 0; band < numBands; band++) {
+				float diff = pixelValue[band] - data[match+2+band];
+				distanceSq += diff*diff;
+				data[match+2+band] += rho*diff;
+			}
+			data[match+1] += rho*(distanceSq/numBands - data[match+1]);
+		} else {
+			data[selected+1] = initialVariance;
+			for (int band = 0; band < numBands; band++) {
+				data[selected+2+band] = pixelValue[band];
+			}
+		}
+
+		normalizeAndSort(data, index, selected);
+	}
+
+	/**
+	 * Decays the weight of every Gaussian and discards those which drop to zero. If there was no match then
+	 * the first unused Gaussian, or the one with the smallest weight, is assigned the weight of a new Gaussian.
+	 *
+	 * @return Index of the Gaussian which was matched or created
+	 */
+	int decayWeights( float[] data , int index , int match ) {
+		final int end = index + modelStride;
+		final float minusLearn = 1.0f - learningRate;
+		final float decayRate = learningRate*decay;
+
+		int unused = -1;
+		for (int i = index; i < end; i += gaussianStride) {
+			float weight = data[i];
+			if( weight <= 0 ) {
+				if( unused == -1 )
+					unused = i;
+				break;
+			}
+			if( i == match ) {
+				data[i] = minusLearn*weight + learningRate - decayRate;
+			} else {
+				weight = minusLearn*weight - decayRate;
+				if( weight <= 0 ) {
+					data[i] = 0;
+					if( unused == -1 )
+						unused = i;
+				} else {
+					data[i] = weight;
+				}
+			}
+		}
+
+		if( match >= 0 )
+			return match;
+
+		// replace the Gaussian with the smallest weight if they are all in use
+		int selected = unused >= 0 ? unused : end - gaussianStride;
+		data[selected] = learningRate;
+		return selected;
+	}
+
+	/**
+	 * Moves the Gaussian which was modified to maintain the sort order and normalizes the weights so that
+	 * they sum up to one.  All the other Gaussians decayed at the same rate so they are still in order.
+	 */
+	void normalizeAndSort( float[] data , int index , int selected ) {
+		final int end = index + modelStride;
+
+		while( selected > index && data[selected-gaussianStride] < data[selected] ) {
+			int previous = selected-gaussianStride;
+			for (int i = 0; i < gaussianStride; i++) {
+				float tmp = data[previous+i];
+				data[previous+i] = data[selected+i];
+				data[selected+i] = tmp;
+			}
+			selected = previous;
+		}
+
+		float totalWeight = 0;
+		int last = index;
+		for (; last < end && data[last] > 0; last += gaussianStride) {
+			totalWeight += data[last];
+		}
+		for (int i = index; i < last; i += gaussianStride) {
+			data[i] /= totalWeight;
+		}
+	}
+
+	/**
+	 * Checks to see if a single band pixel belongs to the background.
+	 *
+	 * @param pixelValue Observed value of the pixel
+	 * @param data Array containing the model
+	 * @param index Index of the first element of the pixel's model
+	 * @return 0 = background and 1 = moving
+	 */
+	public int checkBackground( float pixelValue , float[] data , int index ) {
+		final int end = index + modelStride;
+
+		for (int i = index; i < end; i += gaussianStride) {
+			float weight = data[i];
+			// Gaussians are sorted so none of the remaining ones are significant
+			if( weight <= 0 || weight < significantWeight )
+				break;
+
+			float diff = pixelValue - data[i+2];
+			if( diff*diff <= maxDistance*data[i+1] )
+				return 0;
+			if( minimumDifference > 0 && Math.abs(diff) < minimumDifference )
+				return 0;
+		}
+		return 1;
+	}
+
+	/**
+	 * Checks to see if a multi-band pixel belongs to the background.
+	 *
+	 * @param pixelValue Observed value of each band in the pixel
+	 * @param data Array containing the model
+	 * @param index Index of the first element of the pixel's model
+	 * @return 0 = background and 1 = moving
+	 */
+	public int checkBackground( float[] pixelValue , float[] data , int index ) {
+		final int end = index + modelStride;
+		final float adjustedMinimumDifference = minimumDifference*numBands;
+
+		for (int i = index; i < end; i += gaussianStride) {
+			float weight = data[i];
+			// Gaussians are sorted so none of the remaining ones are significant
+			if( weight <= 0 || weight < significantWeight )
+				break;
+
+			if( distanceSq(pixelValue, data, i) <= maxDistance*data[i+1] )
+				return 0;
+			if( minimumDifference > 0 ) {
+				float sumAbsDiff = 0;
+				for (int band = 0; band < numBands; band++) {
+					sumAbsDiff += Math.abs(pixelValue[band] - data[i+2+band]);
+				}
+				if( sumAbsDiff < adjustedMinimumDifference )
+					return 0;
+			}
+		}
+		return 1;
+	}
+
+	/**
+	 * Euclidean distance squared between the pixel and the mean of the Gaussian
+	 */
+	float distanceSq( float[] pixelValue , float[] data , int indexGaussian ) {
+		float total = 0;
+		for (int band = 0; band < numBands; band++) {
+			float diff = pixelValue[band] - data[indexGaussian+2+band];
+			total += diff*diff;
+		}
+		return total;
+	}
+
+	public float getLearningPeriod() {
+		return learningPeriod;
+	}
+
+	public void setLearningPeriod(float learningPeriod) {
+		if( learningPeriod < 1 )
+			throw new IllegalArgumentException("Learning period must be >= 1");
+		this.learningPeriod = learningPeriod;
+		this.learningRate = 1.0f/learningPeriod;
+	}
+
+	public float getDecay() {
+		return decay;
+	}
+
+	public void setDecay(float decay) {
+		if( decay < 0 || decay >= 1 )
+			throw new IllegalArgumentException("Decay must be 0 <= decay < 1");
+		this.decay = decay;
+	}
+
+	public float getMaxDistance() {
+		return maxDistance;
+	}
+
+	public void setMaxDistance(float maxDistance) {
+		this.maxDistance = maxDistance;
+	}
+
+	public float getSignificantWeight() {
+		return significantWeight;
+	}
+
+	public void setSignificantWeight(float significantWeight) {
+		this.significantWeight = significantWeight;
+	}
+
+	public float getInitialVariance() {
+		return initialVariance;
+	}
+
+	public void setInitialVariance(float initialVariance) {
+		this.initialVariance = initialVariance;
+	}
+
+	public float getMinimumDifference() {
+		return minimumDifference;
+	}
+
+	public void setMinimumDifference(float minimumDifference) {
+		this.minimumDifference = minimumDifference;
+	}
+
+	public int getMaxGaussians() {
+		return maxGaussians;
+	}
+
+	public int getNumBands() {
+		return numBands;
+	}
+
+	public int getModelStride() {
+		return modelStride;
+	}
+}
@@ -21,6 +21,9 @@ package boofcv.alg.background.moving;
 import boofcv.alg.interpolate.InterpolatePixelMB;
 import boofcv.alg.interpolate.InterpolationType;
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.concurrency.WorkerPool;
 import boofcv.core.image.FactoryGImageMultiBand;
 import boofcv.core.image.GImageMultiBand;
 import boofcv.core.image.border.BorderType;
@@ -28,9 +31,12 @@ import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.struct.distort.Point2Transform2Model_F32;
 import boofcv.struct.image.*;
 import georegression.struct.InvertibleTransform;
+import georegression.struct.point.Point2D_F32;
 
 /**
- * Implementation of {@link BackgroundMovingGaussian} for {@link Planar}.
+ * Implementation of {@link BackgroundMovingGaussian} for {@link Planar}.  The input image is sampled directly
+ * at the location of each background pixel while it is updated.  If concurrency is active then blocks of rows are
+ * processed in parallel, each with its own interpolation.  The point transform is shared by all threads.
  *
  * @author Peter Abeles
  */
@@ -38,20 +44,53 @@ public class BackgroundMovingGaussian_PL<T extends ImageGray<T>, Motion extends
 		extends BackgroundMovingGaussian<Planar<T>,Motion>
 {
 
-	// interpolates the input image
-	protected InterpolatePixelMB<Planar<T>> interpolateInput;
-	// interpolates the background image
-	protected InterpolatePixelMB<Planar<GrayF32>> interpolationBG;
+	// type of interpolation used on the background image
+	private InterpolationType interpType;
 
 	// wrappers which provide abstraction across image types
 	protected GImageMultiBand inputWrapper;
-	// storage for multi-band pixel values
-	protected float[] pixelBG;
-	protected float[] pixelInput;
 
 	// background is composed of bands*2 channels.  even = mean, odd = variance
 	Planar<GrayF32> background;
 
+	// images being processed.  Saved so that blocks of rows can be processed without declaring new objects
+	private Planar<T> frame;
+	private GrayU8 segmented;
+	// columns in the background which are being updated
+	private int updateX0, updateX1;
+
+	// storage for each thread
+	private WorkerPool<Worker> workers = new WorkerPool<Worker>() {
+		@Override
+		protected Worker createWorker() {
+			return new Worker();
+		}
+	};
+
+	private IntRangeConsumer updateRows = new IntRangeConsumer() {
+		@Override
+		public void accept(int y0, int y1) {
+			Worker worker = workers.acquire();
+			try {
+				worker.updateBackground(updateX0, y0, updateX1, y1);
+			} finally {
+				workers.release(worker);
+			}
+		}
+	};
+
+	private IntRangeConsumer segmentRows = new IntRangeConsumer() {
+		@Override
+		public void accept(int y0, int y1) {
+			Worker worker = workers.acquire();
+			try {
+				worker.segment(y0, y1);
+			} finally {
+				workers.release(worker);
+			}
+		}
+	};
+
 	/**
 	 * Configurations background removal.
 	 *
@@ -71,17 +110,9 @@ public class BackgroundMovingGaussian_PL<T extends ImageGray<T>, Motion extends
 
 		int numBands = imageType.getNumBands();
 
-		this.interpolateInput = FactoryInterpolation.createPixelMB(0, 255,
-				InterpolationType.BILINEAR, BorderType.EXTENDED, imageType);
-
+		this.interpType = interpType;
 		background = new Planar<>(GrayF32.class,1,1,2*numBands);
-		this.interpolationBG = FactoryInterpolation.createPixelMB(
-				0, 255, interpType, BorderType.EXTENDED, background.getImageType());
-		this.interpolationBG.setImage(background);
 		inputWrapper = FactoryGImageMultiBand.create(imageType);
-
-		pixelBG = new float[2*numBands];
-		pixelInput = new float[numBands];
 	}
 
 	@Override
@@ -110,96 +141,145 @@ public class BackgroundMovingGaussian_PL<T extends ImageGray<T>, Motion extends
 	@Override
 	protected void updateBackground(int x0, int y0, int x1, int y1, Planar<T> frame) {
 		transform.setModel(worldToCurrent);
-		interpolateInput.setImage(frame);
+		this.frame = frame;
+
+		if( BoofConcurrency.isActive() ) {
+			updateX0 = x0;
+			updateX1 = x1;
+			BoofConcurrency.loopBlocks(y0, y1, updateRows);
+		} else {
+			Worker worker = workers.acquire();
+			worker.updateBackground(x0, y0, x1, y1);
+			workers.release(worker);
+		}
+		this.frame = null;
+	}
 
-		float minusLearn = 1.0f - learnRate;
+	@Override
+	protected void _segment(Motion currentToWorld, Planar<T> frame, GrayU8 segmented) {
+		transform.setModel(currentToWorld);
+		inputWrapper.wrap(frame);
+		this.frame = frame;
+		this.segmented = segmented;
+
+		if( BoofConcurrency.isActive() ) {
+			BoofConcurrency.loopBlocks(0, frame.height, segmentRows);
+		} else {
+			Worker worker = workers.acquire();
+			worker.segment(0, frame.height);
+			workers.release(worker);
+		}
+		this.frame = null;
+		this.segmented = null;
+	}
 
-		final int numBands = background.getNumBands()/2;
+	/**
+	 * Processes a block of rows.  Contains everything which can't be shared between threads.
+	 */
+	private class Worker {
+		// interpolates the input image
+		InterpolatePixelMB<Planar<T>> interpolateInput = FactoryInterpolation.createPixelMB(0, 255,
+				InterpolationType.BILINEAR, BorderType.EXTENDED, imageType);
+		// interpolates the background image
+		InterpolatePixelMB<Planar<GrayF32>> interpolationBG = FactoryInterpolation.createPixelMB(
+				0, 255, interpType, BorderType.EXTENDED, background.getImageType());
 
-		for (int y = y0; y < y1; y++) {
-			int indexBG = background.startIndex + y*background.stride + x0;
-			for (int x = x0; x < x1; x++, indexBG++ ) {
-				transform.compute(x,y,work);
+		// storage for multi-band pixel values
+		float[] pixelBG = new float[background.getNumBands()];
+		float[] pixelInput = new float[background.getNumBands()/2];
+		// storage for transformed coordinate
+		Point2D_F32 work = new Point2D_F32();
 
-				if( work.x >= 0 && work.x < frame.width && work.y >= 0 && work.y < frame.height) {
-					interpolateInput.get(work.x,work.y,pixelInput);
+		void updateBackground(int x0, int y0, int x1, int y1) {
+			interpolateInput.setImage(frame);
 
-					for (int band = 0; band < numBands; band++) {
-						GrayF32 backgroundMean = background.getBand(band*2);
-						GrayF32 backgroundVar = background.getBand(band*2+1);
+			float minusLearn = 1.0f - learnRate;
 
-						float inputValue = pixelInput[band];
-						float meanBG = backgroundMean.data[indexBG];
-						float varianceBG = backgroundVar.data[indexBG];
+			final int numBands = background.getNumBands()/2;
 
-						if( varianceBG < 0) {
-							backgroundMean.data[indexBG] = inputValue;
-							backgroundVar.data[indexBG] = initialVariance;
-						} else {
-							float diff = meanBG-inputValue;
-							backgroundMean.data[indexBG] = minusLearn*meanBG + learnRate*inputValue;
-							backgroundVar.data[indexBG] = minusLearn*varianceBG + learnRate*diff*diff;
+			for (int y = y0; y < y1; y++) {
+				int indexBG = background.startIndex + y*background.stride + x0;
+				for (int x = x0; x < x1; x++, indexBG++ ) {
+					transform.compute(x,y,work);
+
+					if( work.x >= 0 && work.x < frame.width && work.y >= 0 && work.y < frame.height) {
+						interpolateInput.get(work.x,work.y,pixelInput);
+
+						for (int band = 0; band < numBands; band++) {
+							GrayF32 backgroundMean = background.getBand(band*2);
+							GrayF32 backgroundVar = background.getBand(band*2+1);
+
+							float inputValue = pixelInput[band];
+							float meanBG = backgroundMean.data[indexBG];
+							float varianceBG = backgroundVar.data[indexBG];
+
+							if( varianceBG < 0) {
+								backgroundMean.data[indexBG] = inputValue;
+								backgroundVar.data[indexBG] = initialVariance;
+							} else {
+								float diff = meanBG-inputValue;
+								backgroundMean.data[indexBG] = minusLearn*meanBG + learnRate*inputValue;
+								backgroundVar.data[indexBG] = minusLearn*varianceBG + learnRate*diff*diff;
+							}
 						}
 					}
 				}
 			}
 		}
-	}
 
-	@Override
-	protected void _segment(Motion currentToWorld, Planar<T> frame, GrayU8 segmented) {
-		transform.setModel(currentToWorld);
-		inputWrapper.wrap(frame);
+		void segment(int y0, int y1) {
+			interpolationBG.setImage(background);
 
-		final int numBands = background.getNumBands()/2;
-		float adjustedMinimumDifference = minimumDifference*numBands;
+			final int numBands = background.getNumBands()/2;
+			float adjustedMinimumDifference = minimumDifference*numBands;
 
-		for (int y = 0; y < frame.height; y++) {
-			int indexFrame = frame.startIndex + y*frame.stride;
-			int indexSegmented = segmented.startIndex + y*segmented.stride;
+			for (int y = y0; y < y1; y++) {
+				int indexFrame = frame.startIndex + y*frame.stride;
+				int indexSegmented = segmented.startIndex + y*segmented.stride;
 
-			for (int x = 0; x < frame.width; x++, indexFrame++ , indexSegmented++ ) {
-				transform.compute(x,y,work);
+				for (int x = 0; x < frame.width; x++, indexFrame++ , indexSegmented++ ) {
+					transform.compute(x,y,work);
 
-				escapeIf:if( work.x >= 0 && work.x < background.width && work.y >= 0 && work.y < background.height) {
-					interpolationBG.get(work.x,work.y,pixelBG);
-					inputWrapper.getF(indexFrame,pixelInput);
+					escapeIf:if( work.x >= 0 && work.x < background.width && work.y >= 0 && work.y < background.height) {
+						interpolationBG.get(work.x,work.y,pixelBG);
+						inputWrapper.getF(indexFrame,pixelInput);
 
-					float mahalanobis = 0;
+						float mahalanobis = 0;
 
-					for (int band = 0; band < numBands; band++) {
-						float meanBG = pixelBG[band*2];
-						float varBG = pixelBG[band*2+1];
+						for (int band = 0; band < numBands; band++) {
+							float meanBG = pixelBG[band*2];
+							float varBG = pixelBG[band*2+1];
 
-						if (varBG < 0) {
-							segmented.data[indexSegmented] = unknownValue;
-							break escapeIf;
-						} else {
-							float diff = meanBG - pixelInput[band];
-							mahalanobis += diff * diff / varBG;
+							if (varBG < 0) {
+								segmented.data[indexSegmented] = unknownValue;
+								break escapeIf;
+							} else {
+								float diff = meanBG - pixelInput[band];
+								mahalanobis += diff * diff / varBG;
+							}
 						}
-					}
 
-					if (mahalanobis <= threshold) {
-						segmented.data[indexSegmented] = 0;
-					} else {
-						if( minimumDifference > 0 ) {
-							float sumAbsDiff = 0;
-							for (int band = 0; band < numBands; band++) {
-								sumAbsDiff += Math.abs(pixelBG[band * 2] - pixelInput[band]);
-							}
-							if (sumAbsDiff >= adjustedMinimumDifference) {
-								segmented.data[indexSegmented] = 1;
+						if (mahalanobis <= threshold) {
+							segmented.data[indexSegmented] = 0;
+						} else {
+							if( minimumDifference > 0 ) {
+								float sumAbsDiff = 0;
+								for (int band = 0; band < numBands; band++) {
+									sumAbsDiff += Math.abs(pixelBG[band * 2] - pixelInput[band]);
+								}
+								if (sumAbsDiff >= adjustedMinimumDifference) {
+									segmented.data[indexSegmented] = 1;
+								} else {
+									segmented.data[indexSegmented] = 0;
+								}
 							} else {
-								segmented.data[indexSegmented] = 0;
+								segmented.data[indexSegmented] = 1;
 							}
-						} else {
-							segmented.data[indexSegmented] = 1;
 						}
+					} else {
+						// there is no background here.  Just mark it as not moving to avoid false positives
+						segmented.data[indexSegmented] = unknownValue;
 					}
-				} else {
-					// there is no background here.  Just mark it as not moving to avoid false positives
-					segmented.data[indexSegmented] = unknownValue;
 				}
 			}
 		}
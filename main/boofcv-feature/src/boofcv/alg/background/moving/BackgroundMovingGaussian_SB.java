@@ -22,6 +22,9 @@ import boofcv.alg.interpolate.InterpolatePixelMB;
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.interpolate.InterpolationType;
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.concurrency.WorkerPool;
 import boofcv.core.image.FactoryGImageGray;
 import boofcv.core.image.GImageGray;
 import boofcv.core.image.border.BorderType;
@@ -29,29 +32,65 @@ import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.struct.distort.Point2Transform2Model_F32;
 import boofcv.struct.image.*;
 import georegression.struct.InvertibleTransform;
+import georegression.struct.point.Point2D_F32;
 
 /**
- * Implementation of {@link BackgroundMovingGaussian} for {@link ImageGray}.
+ * Implementation of {@link BackgroundMovingGaussian} for {@link ImageGray}.  The input image is sampled directly
+ * at the location of each background pixel while it is updated.  If concurrency is active then blocks of rows are
+ * processed in parallel, each with its own interpolation.  The point transform is shared by all threads.
  *
  * @author Peter Abeles
  */
 public class BackgroundMovingGaussian_SB <T extends ImageGray<T>, Motion extends InvertibleTransform<Motion>>
 		extends BackgroundMovingGaussian<T,Motion>
 {
-
-	// interpolates the input image
-	protected InterpolatePixelS<T> interpolateInput;
-	// interpolates the background image
-	protected InterpolatePixelMB<Planar<GrayF32>> interpolationBG;
+	// type of interpolation used on the background image
+	private InterpolationType interpType;
 
 	// wrappers which provide abstraction across image types
 	protected GImageGray inputWrapper;
-	// storage for multi-band pixel values
-	protected float[] pixelBG = new float[2];
 
 	// background is composed of two channels.  0 = mean, 1 = variance
 	Planar<GrayF32> background = new Planar<>(GrayF32.class,1,1,2);
 
+	// images being processed.  Saved so that blocks of rows can be processed without declaring new objects
+	private T frame;
+	private GrayU8 segmented;
+	// columns in the background which are being updated
+	private int updateX0, updateX1;
+
+	// storage for each thread
+	private WorkerPool<Worker> workers = new WorkerPool<Worker>() {
+		@Override
+		protected Worker createWorker() {
+			return new Worker();
+		}
+	};
+
+	private IntRangeConsumer updateRows = new IntRangeConsumer() {
+		@Override
+		public void accept(int y0, int y1) {
+			Worker worker = workers.acquire();
+			try {
+				worker.updateBackground(updateX0, y0, updateX1, y1);
+			} finally {
+				workers.release(worker);
+			}
+		}
+	};
+
+	private IntRangeConsumer segmentRows = new IntRangeConsumer() {
+		@Override
+		public void accept(int y0, int y1) {
+			Worker worker = workers.acquire();
+			try {
+				worker.segment(y0, y1);
+			} finally {
+				workers.release(worker);
+			}
+		}
+	};
+
 	/**
 	 * Configurations background removal.
 	 *
@@ -68,11 +107,7 @@ public class BackgroundMovingGaussian_SB <T extends ImageGray<T>, Motion extends
 	{
 		super(learnRate, threshold, transform, ImageType.single(imageType));
 
-		this.interpolateInput = FactoryInterpolation.bilinearPixelS(imageType, BorderType.EXTENDED);
-
-		this.interpolationBG = FactoryInterpolation.createPixelMB(
-				0, 255, interpType, BorderType.EXTENDED, ImageType.pl(2, GrayF32.class));
-		this.interpolationBG.setImage(background);
+		this.interpType = interpType;
 		inputWrapper = FactoryGImageGray.create(imageType);
 	}
 
@@ -98,73 +133,121 @@ public class BackgroundMovingGaussian_SB <T extends ImageGray<T>, Motion extends
 	@Override
 	protected void updateBackground(int x0, int y0, int x1, int y1, T frame) {
 		transform.setModel(worldToCurrent);
-		interpolateInput.setImage(frame);
+		this.frame = frame;
+
+		if( BoofConcurrency.isActive() ) {
+			updateX0 = x0;
+			updateX1 = x1;
+			BoofConcurrency.loopBlocks(y0, y1, updateRows);
+		} else {
+			Worker worker = workers.acquire();
+			worker.updateBackground(x0, y0, x1, y1);
+			workers.release(worker);
+		}
+		this.frame = null;
+	}
+
+	@Override
+	protected void _segment(Motion currentToWorld, T frame, GrayU8 segmented) {
+		transform.setModel(currentToWorld);
+		inputWrapper.wrap(frame);
+		this.frame = frame;
+		this.segmented = segmented;
+
+		if( BoofConcurrency.isActive() ) {
+			BoofConcurrency.loopBlocks(0, frame.height, segmentRows);
+		} else {
+			Worker worker = workers.acquire();
+			worker.segment(0, frame.height);
+			workers.release(worker);
+		}
+		this.frame = null;
+		this.segmented = null;
+	}
+
+	/**
+	 * Processes a block of rows.  Contains everything which can't be shared between threads.
+	 */
+	private class Worker {
+		// interpolates the input image
+		InterpolatePixelS<T> interpolateInput =
+				FactoryInterpolation.bilinearPixelS(imageType.getImageClass(), BorderType.EXTENDED);
+		// interpolates the background image
+		InterpolatePixelMB<Planar<GrayF32>> interpolationBG = FactoryInterpolation.createPixelMB(
+				0, 255, interpType, BorderType.EXTENDED, ImageType.pl(2, GrayF32.class));
 
-		float minusLearn = 1.0f - learnRate;
+		// storage for multi-band pixel values
+		float[] pixelBG = new float[2];
+		// storage for transformed coordinate
+		Point2D_F32 work = new Point2D_F32();
 
-		GrayF32 backgroundMean = background.getBand(0);
-		GrayF32 backgroundVar = background.getBand(1);
+		void updateBackground(int x0, int y0, int x1, int y1) {
+			interpolateInput.setImage(frame);
 
-		for (int y = y0; y < y1; y++) {
-			int indexBG = background.startIndex + y*background.stride + x0;
-			for (int x = x0; x < x1; x++, indexBG++ ) {
-				transform.compute(x,y,work);
+			float minusLearn = 1.0f - learnRate;
 
-				if( work.x >= 0 && work.x < frame.width && work.y >= 0 && work.y < frame.height) {
-					float inputValue = interpolateInput.get(work.x,work.y);
-					float meanBG = backgroundMean.data[indexBG];
-					float varianceBG = backgroundVar.data[indexBG];
+			GrayF32 backgroundMean = background.getBand(0);
+			GrayF32 backgroundVar = background.getBand(1);
 
-					if( varianceBG < 0) {
-						backgroundMean.data[indexBG] = inputValue;
-						backgroundVar.data[indexBG] = initialVariance;
-					} else {
-						float diff = meanBG-inputValue;
-						backgroundMean.data[indexBG] = minusLearn*meanBG + learnRate*inputValue;
-						backgroundVar.data[indexBG] = minusLearn*varianceBG + learnRate*diff*diff;
+			for (int y = y0; y < y1; y++) {
+				int indexBG = background.startIndex + y*background.stride + x0;
+				for (int x = x0; x < x1; x++, indexBG++ ) {
+					transform.compute(x,y,work);
+
+					if( work.x >= 0 && work.x < frame.width && work.y >= 0 && work.y < frame.height) {
+						float inputValue = interpolateInput.get(work.x,work.y);
+						float meanBG = backgroundMean.data[indexBG];
+						float varianceBG = backgroundVar.data[indexBG];
+
+						if( varianceBG < 0) {
+							backgroundMean.data[indexBG] = inputValue;
+							backgroundVar.data[indexBG] = initialVariance;
+						} else {
+							float diff = meanBG-inputValue;
+							backgroundMean.data[indexBG] = minusLearn*meanBG + learnRate*inputValue;
+							backgroundVar.data[indexBG] = minusLearn*varianceBG + learnRate*diff*diff;
+						}
 					}
 				}
 			}
 		}
-	}
 
-	@Override
-	protected void _segment(Motion currentToWorld, T frame, GrayU8 segmented) {
-		transform.setModel(currentToWorld);
-		inputWrapper.wrap(frame);
+		void segment(int y0, int y1) {
+			interpolationBG.setImage(background);
 
-		for (int y = 0; y < frame.height; y++) {
-			int indexFrame = frame.startIndex + y*frame.stride;
-			int indexSegmented = segmented.startIndex + y*segmented.stride;
+			for (int y = y0; y < y1; y++) {
+				int indexFrame = frame.startIndex + y*frame.stride;
+				int indexSegmented = segmented.startIndex + y*segmented.stride;
 
-			for (int x = 0; x < frame.width; x++, indexFrame++ , indexSegmented++ ) {
-				transform.compute(x,y,work);
+				for (int x = 0; x < frame.width; x++, indexFrame++ , indexSegmented++ ) {
+					transform.compute(x,y,work);
 
-				if( work.x >= 0 && work.x < background.width && work.y >= 0 && work.y < background.height) {
-					interpolationBG.get(work.x,work.y,pixelBG);
-					float pixelFrame = inputWrapper.getF(indexFrame);
+					if( work.x >= 0 && work.x < background.width && work.y >= 0 && work.y < background.height) {
+						interpolationBG.get(work.x,work.y,pixelBG);
+						float pixelFrame = inputWrapper.getF(indexFrame);
 
-					float meanBG = pixelBG[0];
-					float varBG = pixelBG[1];
+						float meanBG = pixelBG[0];
+						float varBG = pixelBG[1];
 
-					if( varBG < 0) {
-						segmented.data[indexSegmented] = unknownValue;
-					} else {
-						float diff = meanBG - pixelFrame;
-						float chisq = diff*diff/varBG;
-
-						if (chisq <= threshold) {
-							segmented.data[indexSegmented] = 0;
+						if( varBG < 0) {
+							segmented.data[indexSegmented] = unknownValue;
 						} else {
-							if( diff > minimumDifference || -diff > minimumDifference )
-								segmented.data[indexSegmented] = 1;
-							else
+							float diff = meanBG - pixelFrame;
+							float chisq = diff*diff/varBG;
+
+							if (chisq <= threshold) {
 								segmented.data[indexSegmented] = 0;
+							} else {
+								if( diff > minimumDifference || -diff > minimumDifference )
+									segmented.data[indexSegmented] = 1;
+								else
+									segmented.data[indexSegmented] = 0;
+							}
 						}
+					} else {
+						// there is no background here.  Just mark it as not moving to avoid false positives
+						segmented.data[indexSegmented] = unknownValue;
 					}
-				} else {
-					// there is no background here.  Just mark it as not moving to avoid false positives
-					segmented.data[indexSegmented] = unknownValue;
 				}
 			}
 		}
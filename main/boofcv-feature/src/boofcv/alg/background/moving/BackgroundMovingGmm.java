@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background.moving;
+
+import boofcv.alg.background.BackgroundAlgorithmGmm;
+import boofcv.alg.background.BackgroundGmmCommon;
+import boofcv.alg.background.BackgroundModelMoving;
+import boofcv.struct.distort.Point2Transform2Model_F32;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.InterleavedF32;
+import georegression.struct.InvertibleTransform;
+
+/**
+ * <p>Implementation of {@link BackgroundAlgorithmGmm} for moving images.</p>
+ *
+ * @see BackgroundAlgorithmGmm
+ * @see BackgroundModelMoving
+ *
+ * @author Peter Abeles
+ */
+public abstract class BackgroundMovingGmm<T extends ImageBase<T>, Motion extends InvertibleTransform<Motion>>
+		extends BackgroundModelMoving<T,Motion> implements BackgroundAlgorithmGmm
+{
+	// per-pixel model update and classification
+	protected BackgroundGmmCommon common;
+
+	// Mixture for every pixel.  See BackgroundAlgorithmGmm for how the Gaussians are packed into the bands
+	protected InterleavedF32 model;
+
+	/**
+	 * See class documentation for parameters definitions.
+	 * @param learningPeriod Specifies how quickly the background is updated.  Try 1000
+	 * @param decay Weight decay applied to Gaussians.  Try 0.05
+	 * @param maxGaussians Maximum number of Gaussians for each pixel.  Try 5
+	 * @param transform Used to convert pixel coordinates
+	 * @param imageType Type of input image
+	 */
+	public BackgroundMovingGmm(float learningPeriod, float decay, int maxGaussians,
+							  Point2Transform2Model_F32<Motion> transform, ImageType<T> imageType) {
+		super(transform, imageType);
+
+		common = new BackgroundGmmCommon(learningPeriod,decay,maxGaussians,imageType.getNumBands());
+		model = new InterleavedF32(0,0,common.getModelStride());
+	}
+
+	@Override
+	public float getLearningPeriod() {
+		return common.getLearningPeriod();
+	}
+
+	@Override
+	public void setLearningPeriod(float learningPeriod) {
+		common.setLearningPeriod(learningPeriod);
+	}
+
+	@Override
+	public float getDecay() {
+		return common.getDecay();
+	}
+
+	@Override
+	public void setDecay(float decay) {
+		common.setDecay(decay);
+	}
+
+	@Override
+	public float getMaxDistance() {
+		return common.getMaxDistance();
+	}
+
+	@Override
+	public void setMaxDistance(float maxDistance) {
+		common.setMaxDistance(maxDistance);
+	}
+
+	@Override
+	public float getSignificantWeight() {
+		return common.getSignificantWeight();
+	}
+
+	@Override
+	public void setSignificantWeight(float significantWeight) {
+		common.setSignificantWeight(significantWeight);
+	}
+
+	@Override
+	public float getInitialVariance() {
+		return common.getInitialVariance();
+	}
+
+	@Override
+	public void setInitialVariance(float initialVariance) {
+		common.setInitialVariance(initialVariance);
+	}
+
+	@Override
+	public float getMinimumDifference() {
+		return common.getMinimumDifference();
+	}
+
+	@Override
+	public void setMinimumDifference(float minimumDifference) {
+		common.setMinimumDifference(minimumDifference);
+	}
+
+	@Override
+	public int getMaxGaussians() {
+		return common.getMaxGaussians();
+	}
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background.moving;
+
+import boofcv.alg.interpolate.InterpolatePixelMB;
+import boofcv.alg.interpolate.InterpolationType;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.concurrency.WorkerPool;
+import boofcv.core.image.FactoryGImageMultiBand;
+import boofcv.core.image.GImageMultiBand;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.distort.Point2Transform2Model_F32;
+import boofcv.struct.image.*;
+import georegression.struct.InvertibleTransform;
+import georegression.struct.point.Point2D_F32;
+
+/**
+ * Implementation of {@link BackgroundMovingGmm} for {@link Planar} and {@link ImageInterleaved}.  The input image is sampled directly
+ * at the location of each background pixel while it is updated.  A mixture can't be interpolated, so when
+ * segmenting the nearest background pixel is used.  If concurrency is active then blocks of rows are processed
+ * in parallel, each with its own interpolation.  The point transform is shared by all threads.
+ *
+ * @author Peter Abeles
+ */
+public class BackgroundMovingGmm_MB<T extends ImageMultiBand<T>, Motion extends InvertibleTransform<Motion>>
+		extends BackgroundMovingGmm<T,Motion>
+{
+	// type of interpolation used on the input image
+	private InterpolationType interpType;
+
+	// wrappers which provide abstraction across image types
+	protected GImageMultiBand inputWrapper;
+
+	// number of elements between pixels in the input image's data array
+	private int inputPixelStride;
+
+	// images being processed.  Saved so that blocks of rows can be processed without declaring new objects
+	private T frame;
+	private GrayU8 segmented;
+	// columns in the background which are being updated
+	private int updateX0, updateX1;
+
+	// storage for each thread
+	private WorkerPool<Worker> workers = new WorkerPool<Worker>() {
+		@Override
+		protected Worker createWorker() {
+			return new Worker();
+		}
+	};
+
+	private IntRangeConsumer updateRows = new IntRangeConsumer() {
+		@Override
+		public void accept(int y0, int y1) {
+			Worker worker = workers.acquire();
+			try {
+				worker.updateBackground(updateX0, y0, updateX1, y1);
+			} finally {
+				workers.release(worker);
+			}
+		}
+	};
+
+	private IntRangeConsumer segmentRows = new IntRangeConsumer() {
+		@Override
+		public void accept(int y0, int y1) {
+			Worker worker = workers.acquire();
+			try {
+				worker.segment(y0, y1);
+			} finally {
+				workers.release(worker);
+			}
+		}
+	};
+
+	/**
+	 * Configurations background removal.
+	 *
+	 * @param learningPeriod Specifies how quickly the background is updated.  Try 1000
+	 * @param decay Weight decay applied to Gaussians.  Try 0.05
+	 * @param maxGaussians Maximum number of Gaussians for each pixel.  Try 5
+	 * @param transform Used to apply motion model
+	 * @param interpType Type of interpolation.  BILINEAR recommended for accuracy. NEAREST_NEIGHBOR for speed.
+	 * @param imageType Type of input image.
+	 */
+	public BackgroundMovingGmm_MB(float learningPeriod, float decay, int maxGaussians,
+								  Point2Transform2Model_F32<Motion> transform,
+								  InterpolationType interpType,
+								  ImageType<T> imageType)
+	{
+		super(learningPeriod, decay, maxGaussians, transform, imageType);
+
+		this.interpType = interpType;
+		inputWrapper = FactoryGImageMultiBand.create(imageType);
+		inputPixelStride = imageType.getFamily() == ImageType.Family.INTERLEAVED ? imageType.getNumBands() : 1;
+	}
+
+	@Override
+	public void initialize(int backgroundWidth, int backgroundHeight, Motion homeToWorld) {
+		model.reshape(backgroundWidth,backgroundHeight);
+		ImageMiscOps.fill(model,0);
+
+		this.homeToWorld.set(homeToWorld);
+		this.homeToWorld.invert(worldToHome);
+
+		this.backgroundWidth = backgroundWidth;
+		this.backgroundHeight = backgroundHeight;
+	}
+
+	@Override
+	public void reset() {
+		ImageMiscOps.fill(model,0);
+	}
+
+	@Override
+	protected void updateBackground(int x0, int y0, int x1, int y1, T frame) {
+		transform.setModel(worldToCurrent);
+		this.frame = frame;
+
+		if( BoofConcurrency.isActive() ) {
+			updateX0 = x0;
+			updateX1 = x1;
+			BoofConcurrency.loopBlocks(y0, y1, updateRows);
+		} else {
+			Worker worker = workers.acquire();
+			worker.updateBackground(x0, y0, x1, y1);
+			workers.release(worker);
+		}
+		this.frame = null;
+	}
+
+	@Override
+	protected void _segment(Motion currentToWorld, T frame, GrayU8 segmented) {
+		transform.setModel(currentToWorld);
+		inputWrapper.wrap(frame);
+		this.frame = frame;
+		this.segmented = segmented;
+
+		if( BoofConcurrency.isActive() ) {
+			BoofConcurrency.loopBlocks(0, frame.height, segmentRows);
+		} else {
+			Worker worker = workers.acquire();
+			worker.segment(0, frame.height);
+			workers.release(worker);
+		}
+		this.frame = null;
+		this.segmented = null;
+	}
+
+	/**
+	 * Processes a block of rows.  Contains everything which can't be shared between threads.
+	 */
+	private class Worker {
+		// interpolates the input image
+		InterpolatePixelMB<T> interpolateInput = FactoryInterpolation.createPixelMB(0, 255,
+				interpType, BorderType.EXTENDED, imageType);
+
+		// storage for multi-band pixel values
+		float[] pixelInput = new float[imageType.getNumBands()];
+
+		// storage for transformed coordinate
+		Point2D_F32 work = new Point2D_F32();
+
+		void updateBackground(int x0, int y0, int x1, int y1) {
+			interpolateInput.setImage(frame);
+
+			final float[] data = model.data;
+
+			for (int y = y0; y < y1; y++) {
+				int indexModel = model.startIndex + y*model.stride + x0*model.numBands;
+				for (int x = x0; x < x1; x++, indexModel += model.numBands ) {
+					transform.compute(x,y,work);
+
+					if( work.x >= 0 && work.x < frame.width && work.y >= 0 && work.y < frame.height) {
+						interpolateInput.get(work.x,work.y,pixelInput);
+						common.updateMixture(pixelInput, data, indexModel);
+					}
+				}
+			}
+		}
+
+		void segment(int y0, int y1) {
+			final float[] data = model.data;
+
+			for (int y = y0; y < y1; y++) {
+				int indexFrame = frame.startIndex + y*frame.stride;
+				int indexSegmented = segmented.startIndex + y*segmented.stride;
+
+				for (int x = 0; x < frame.width; x++, indexFrame += inputPixelStride , indexSegmented++ ) {
+					transform.compute(x,y,work);
+
+					if( work.x >= 0 && work.x < model.width && work.y >= 0 && work.y < model.height) {
+						int indexModel = model.startIndex + ((int)work.y)*model.stride + ((int)work.x)*model.numBands;
+
+						if( data[indexModel] <= 0 ) {
+							// this background pixel has not been observed yet
+							segmented.data[indexSegmented] = unknownValue;
+						} else {
+							inputWrapper.getF(indexFrame,pixelInput);
+							segmented.data[indexSegmented] = (byte)common.checkBackground(pixelInput, data, indexModel);
+						}
+					} else {
+						// there is no background here.  Just mark it as not moving to avoid false positives
+						segmented.data[indexSegmented] = unknownValue;
+					}
+				}
+			}
+		}
+	}
+}
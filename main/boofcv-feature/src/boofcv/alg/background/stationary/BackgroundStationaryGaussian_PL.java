@@ -21,13 +21,17 @@ package boofcv.alg.background.stationary;
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.concurrency.WorkerPool;
 import boofcv.core.image.FactoryGImageMultiBand;
 import boofcv.core.image.GConvertImage;
 import boofcv.core.image.GImageMultiBand;
 import boofcv.struct.image.*;
 
 /**
- * Implementation of {@link BackgroundStationaryGaussian} for {@link Planar}.
+ * Implementation of {@link BackgroundStationaryGaussian} for {@link Planar}.  If concurrency is active
+ * then blocks of rows are processed in parallel.
  *
  * @author Peter Abeles
  */
@@ -45,6 +49,42 @@ public class BackgroundStationaryGaussian_PL<T extends ImageGray<T>>
 	// background is composed of bands*2 channels.  even = mean, odd = variance
 	Planar<GrayF32> background;
 
+	// images being processed.  Saved so that blocks of rows can be processed without declaring new objects
+	private Planar<T> frame;
+	private GrayU8 segmented;
+
+	// storage for pixel values in each thread
+	private WorkerPool<float[]> pixelPool = new WorkerPool<float[]>() {
+		@Override
+		protected float[] createWorker() {
+			return new float[inputPixel.length];
+		}
+	};
+
+	private IntRangeConsumer updateRows = new IntRangeConsumer() {
+		@Override
+		public void accept(int y0, int y1) {
+			float[] pixel = pixelPool.acquire();
+			try {
+				updateBackground(y0, y1, pixel);
+			} finally {
+				pixelPool.release(pixel);
+			}
+		}
+	};
+
+	private IntRangeConsumer segmentRows = new IntRangeConsumer() {
+		@Override
+		public void accept(int y0, int y1) {
+			float[] pixel = pixelPool.acquire();
+			try {
+				segment(y0, y1, pixel);
+			} finally {
+				pixelPool.release(pixel);
+			}
+		}
+	};
+
 	/**
 	 * Configurations background removal.
 	 *
@@ -89,13 +129,25 @@ public class BackgroundStationaryGaussian_PL<T extends ImageGray<T>>
 		}
 
 		inputWrapper.wrap(frame);
+		this.frame = frame;
+
+		if( BoofConcurrency.isActive() ) {
+			BoofConcurrency.loopBlocks(0, frame.height, updateRows);
+		} else {
+			updateBackground(0, frame.height, inputPixel);
+		}
+		this.frame = null;
+	}
 
+	/**
+	 * Updates the background inside the block of rows
+	 */
+	private void updateBackground( int y0 , int y1 , float[] inputPixel ) {
 		int numBands = background.getNumBands()/2;
 		float minusLearn = 1.0f - learnRate;
 
-
-		int indexBG = 0;
-		for (int y = 0; y < background.height; y++) {
+		for (int y = y0; y < y1; y++) {
+			int indexBG = y*background.width;
 			int indexInput = frame.startIndex + y*frame.stride;
 			int end = indexInput + frame.width;
 			while( indexInput < end ) {
@@ -127,13 +179,28 @@ public class BackgroundStationaryGaussian_PL<T extends ImageGray<T>>
 			return;
 		}
 		inputWrapper.wrap(frame);
+		this.frame = frame;
+		this.segmented = segmented;
+
+		if( BoofConcurrency.isActive() ) {
+			BoofConcurrency.loopBlocks(0, frame.height, segmentRows);
+		} else {
+			segment(0, frame.height, inputPixel);
+		}
+		this.frame = null;
+		this.segmented = null;
+	}
 
+	/**
+	 * Segments the block of rows
+	 */
+	private void segment( int y0 , int y1 , float[] inputPixel ) {
 		final int numBands = background.getNumBands()/2;
 
 		float adjustedMinimumDifference = minimumDifference*numBands;
 
-		int indexBG = 0;
-		for (int y = 0; y < frame.height; y++) {
+		for (int y = y0; y < y1; y++) {
+			int indexBG = y*background.width;
 			int indexInput = frame.startIndex + y*frame.stride;
 			int indexSegmented = segmented.startIndex + y*segmented.stride;
 
@@ -22,13 +22,16 @@ import boofcv.alg.InputSanityCheck;
 import boofcv.alg.background.moving.BackgroundMovingGaussian;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
 import boofcv.core.image.FactoryGImageGray;
 import boofcv.core.image.GConvertImage;
 import boofcv.core.image.GImageGray;
 import boofcv.struct.image.*;
 
 /**
- * Implementation of {@link BackgroundMovingGaussian} for {@link ImageGray}.
+ * Implementation of {@link BackgroundMovingGaussian} for {@link ImageGray}.  If concurrency is active then
+ * blocks of rows are processed in parallel.
  *
  * @author Peter Abeles
  */
@@ -41,6 +44,24 @@ public class BackgroundStationaryGaussian_SB<T extends ImageGray<T>>
 	// background is composed of two channels.  0 = mean, 1 = variance
 	Planar<GrayF32> background = new Planar<>(GrayF32.class,1,1,2);
 
+	// images being processed.  Saved so that blocks of rows can be processed without declaring new objects
+	private T frame;
+	private GrayU8 segmented;
+
+	private IntRangeConsumer updateRows = new IntRangeConsumer() {
+		@Override
+		public void accept(int y0, int y1) {
+			updateBackground(y0, y1);
+		}
+	};
+
+	private IntRangeConsumer segmentRows = new IntRangeConsumer() {
+		@Override
+		public void accept(int y0, int y1) {
+			segment(y0, y1);
+		}
+	};
+
 	/**
 	 * Configurations background removal.
 	 *
@@ -72,14 +93,27 @@ public class BackgroundStationaryGaussian_SB<T extends ImageGray<T>>
 		}
 
 		inputWrapper.wrap(frame);
+		this.frame = frame;
+
+		if( BoofConcurrency.isActive() ) {
+			BoofConcurrency.loopBlocks(0, frame.height, updateRows);
+		} else {
+			updateBackground(0, frame.height);
+		}
+		this.frame = null;
+	}
 
+	/**
+	 * Updates the background inside the block of rows
+	 */
+	private void updateBackground( int y0 , int y1 ) {
 		float minusLearn = 1.0f - learnRate;
 
 		GrayF32 backgroundMean = background.getBand(0);
 		GrayF32 backgroundVar = background.getBand(1);
 
-		int indexBG = 0;
-		for (int y = 0; y < background.height; y++) {
+		for (int y = y0; y < y1; y++) {
+			int indexBG = y*background.width;
 			int indexInput = frame.startIndex + y*frame.stride;
 
 			int end = indexInput + frame.width;
@@ -106,12 +140,27 @@ public class BackgroundStationaryGaussian_SB<T extends ImageGray<T>>
 		}
 		InputSanityCheck.checkSameShape(background,frame,segmented);
 		inputWrapper.wrap(frame);
+		this.frame = frame;
+		this.segmented = segmented;
+
+		if( BoofConcurrency.isActive() ) {
+			BoofConcurrency.loopBlocks(0, frame.height, segmentRows);
+		} else {
+			segment(0, frame.height);
+		}
+		this.frame = null;
+		this.segmented = null;
+	}
 
+	/**
+	 * Segments the block of rows
+	 */
+	private void segment( int y0 , int y1 ) {
 		GrayF32 backgroundMean = background.getBand(0);
 		GrayF32 backgroundVar = background.getBand(1);
 
-		int indexBG = 0;
-		for (int y = 0; y < frame.height; y++) {
+		for (int y = y0; y < y1; y++) {
+			int indexBG = y*background.width;
 			int indexInput = frame.startIndex + y*frame.stride;
 			int indexSegmented = segmented.startIndex + y*segmented.stride;
 
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background.stationary;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.concurrency.WorkerPool;
+import boofcv.core.image.FactoryGImageMultiBand;
+import boofcv.core.image.GImageMultiBand;
+import boofcv.struct.image.*;
+
+/**
+ * Implementation of {@link BackgroundStationaryGmm} for {@link Planar} and {@link ImageInterleaved}.  If
+ * concurrency is active then blocks of rows are processed in parallel.
+ *
+ * @author Peter Abeles
+ */
+public class BackgroundStationaryGmm_MB<T extends ImageMultiBand<T>>
+		extends BackgroundStationaryGmm<T>
+{
+	// wrappers which provide abstraction across image types
+	protected GImageMultiBand inputWrapper;
+
+	// storage for multi-band pixel values
+	protected float[] inputPixel;
+
+	// number of elements between pixels in the input image's data array
+	private int inputPixelStride;
+
+	// images being processed.  Saved so that blocks of rows can be processed without declaring new objects
+	private T frame;
+	private GrayU8 segmented;
+
+	// storage for pixel values in each thread
+	private WorkerPool<float[]> pixelPool = new WorkerPool<float[]>() {
+		@Override
+		protected float[] createWorker() {
+			return new float[inputPixel.length];
+		}
+	};
+
+	private IntRangeConsumer updateRows = new IntRangeConsumer() {
+		@Override
+		public void accept(int y0, int y1) {
+			float[] pixel = pixelPool.acquire();
+			try {
+				updateBackground(y0, y1, pixel);
+			} finally {
+				pixelPool.release(pixel);
+			}
+		}
+	};
+
+	private IntRangeConsumer segmentRows = new IntRangeConsumer() {
+		@Override
+		public void accept(int y0, int y1) {
+			float[] pixel = pixelPool.acquire();
+			try {
+				segment(y0, y1, pixel);
+			} finally {
+				pixelPool.release(pixel);
+			}
+		}
+	};
+
+	/**
+	 * Configurations background removal.
+	 *
+	 * @param learningPeriod Specifies how quickly the background is updated.  Try 1000
+	 * @param decay Weight decay applied to Gaussians.  Try 0.05
+	 * @param maxGaussians Maximum number of Gaussians for each pixel.  Try 5
+	 * @param imageType Type of input image.
+	 */
+	public BackgroundStationaryGmm_MB(float learningPeriod, float decay, int maxGaussians, ImageType<T> imageType)
+	{
+		super(learningPeriod, decay, maxGaussians, imageType);
+
+		inputWrapper = FactoryGImageMultiBand.create(imageType);
+		inputPixel = new float[imageType.getNumBands()];
+		inputPixelStride = imageType.getFamily() == ImageType.Family.INTERLEAVED ? imageType.getNumBands() : 1;
+	}
+
+	@Override
+	public void reset() {
+		model.reshape(0,0);
+	}
+
+	@Override
+	public void updateBackground( T frame) {
+		if( model.width == 0 ) {
+			model.reshape(frame.width, frame.height);
+			ImageMiscOps.fill(model,0);
+		} else {
+			InputSanityCheck.checkSameShape(model, frame);
+		}
+
+		inputWrapper.wrap(frame);
+		this.frame = frame;
+
+		if( BoofConcurrency.isActive() ) {
+			BoofConcurrency.loopBlocks(0, frame.height, updateRows);
+		} else {
+			updateBackground(0, frame.height, inputPixel);
+		}
+		this.frame = null;
+	}
+
+	/**
+	 * Updates the background inside the block of rows
+	 */
+	private void updateBackground( int y0 , int y1 , float[] inputPixel ) {
+		final float[] data = model.data;
+
+		for (int y = y0; y < y1; y++) {
+			int indexModel = y*model.stride;
+			int indexInput = frame.startIndex + y*frame.stride;
+
+			int end = indexInput + frame.width*inputPixelStride;
+			while( indexInput < end ) {
+				inputWrapper.getF(indexInput, inputPixel);
+				common.updateMixture(inputPixel, data, indexModel);
+
+				indexModel += model.numBands;
+				indexInput += inputPixelStride;
+			}
+		}
+	}
+
+	@Override
+	public void segment( T frame, GrayU8 segmented) {
+		if( model.width == 0 ) {
+			ImageMiscOps.fill(segmented, unknownValue);
+			return;
+		}
+		InputSanityCheck.checkSameShape(model,frame,segmented);
+		inputWrapper.wrap(frame);
+		this.frame = frame;
+		this.segmented = segmented;
+
+		if( BoofConcurrency.isActive() ) {
+			BoofConcurrency.loopBlocks(0, frame.height, segmentRows);
+		} else {
+			segment(0, frame.height, inputPixel);
+		}
+		this.frame = null;
+		this.segmented = null;
+	}
+
+	/**
+	 * Segments the block of rows
+	 */
+	private void segment( int y0 , int y1 , float[] inputPixel ) {
+		final float[] data = model.data;
+
+		for (int y = y0; y < y1; y++) {
+			int indexModel = y*model.stride;
+			int indexInput = frame.startIndex + y*frame.stride;
+			int indexSegmented = segmented.startIndex + y*segmented.stride;
+
+			int end = indexInput + frame.width*inputPixelStride;
+			while( indexInput < end ) {
+				inputWrapper.getF(indexInput, inputPixel);
+
+				segmented.data[indexSegmented] = (byte)common.checkBackground(inputPixel, data, indexModel);
+
+				indexModel += model.numBands;
+				indexInput += inputPixelStride;
+				indexSegmented++;
+			}
+		}
+	}
+}
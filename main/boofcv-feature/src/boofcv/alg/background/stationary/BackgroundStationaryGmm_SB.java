@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background.stationary;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.core.image.FactoryGImageGray;
+import boofcv.core.image.GImageGray;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.image.ImageType;
+
+/**
+ * Implementation of {@link BackgroundStationaryGmm} for {@link ImageGray}.  If concurrency is active then
+ * blocks of rows are processed in parallel.
+ *
+ * @author Peter Abeles
+ */
+public class BackgroundStationaryGmm_SB<T extends ImageGray<T>>
+		extends BackgroundStationaryGmm<T>
+{
+	// wrappers which provide abstraction across image types
+	protected GImageGray inputWrapper;
+
+	// images being processed.  Saved so that blocks of rows can be processed without declaring new objects
+	private T frame;
+	private GrayU8 segmented;
+
+	private IntRangeConsumer updateRows = new IntRangeConsumer() {
+		@Override
+		public void accept(int y0, int y1) {
+			updateBackground(y0, y1);
+		}
+	};
+
+	private IntRangeConsumer segmentRows = new IntRangeConsumer() {
+		@Override
+		public void accept(int y0, int y1) {
+			segment(y0, y1);
+		}
+	};
+
+	/**
+	 * Configurations background removal.
+	 *
+	 * @param learningPeriod Specifies how quickly the background is updated.  Try 1000
+	 * @param decay Weight decay applied to Gaussians.  Try 0.05
+	 * @param maxGaussians Maximum number of Gaussians for each pixel.  Try 5
+	 * @param imageType Type of input image.
+	 */
+	public BackgroundStationaryGmm_SB(float learningPeriod, float decay, int maxGaussians, Class<T> imageType)
+	{
+		super(learningPeriod, decay, maxGaussians, ImageType.single(imageType));
+
+		inputWrapper = FactoryGImageGray.create(imageType);
+	}
+
+	@Override
+	public void reset() {
+		model.reshape(0,0);
+	}
+
+	@Override
+	public void updateBackground( T frame) {
+		if( model.width == 0 ) {
+			model.reshape(frame.width, frame.height);
+			ImageMiscOps.fill(model,0);
+		} else {
+			InputSanityCheck.checkSameShape(model, frame);
+		}
+
+		inputWrapper.wrap(frame);
+		this.frame = frame;
+
+		if( BoofConcurrency.isActive() ) {
+			BoofConcurrency.loopBlocks(0, frame.height, updateRows);
+		} else {
+			updateBackground(0, frame.height);
+		}
+		this.frame = null;
+	}
+
+	/**
+	 * Updates the background inside the block of rows
+	 */
+	private void updateBackground( int y0 , int y1 ) {
+		final float[] data = model.data;
+
+		for (int y = y0; y < y1; y++) {
+			int indexModel = y*model.stride;
+			int indexInput = frame.startIndex + y*frame.stride;
+
+			int end = indexInput + frame.width;
+			while( indexInput < end ) {
+				common.updateMixture(inputWrapper.getF(indexInput), data, indexModel);
+
+				indexModel += model.numBands;
+				indexInput++;
+			}
+		}
+	}
+
+	@Override
+	public void segment( T frame, GrayU8 segmented) {
+		if( model.width == 0 ) {
+			ImageMiscOps.fill(segmented, unknownValue);
+			return;
+		}
+		InputSanityCheck.checkSameShape(model,frame,segmented);
+		inputWrapper.wrap(frame);
+		this.frame = frame;
+		this.segmented = segmented;
+
+		if( BoofConcurrency.isActive() ) {
+			BoofConcurrency.loopBlocks(0, frame.height, segmentRows);
+		} else {
+			segment(0, frame.height);
+		}
+		this.frame = null;
+		this.segmented = null;
+	}
+
+	/**
+	 * Segments the block of rows
+	 */
+	private void segment( int y0 , int y1 ) {
+		final float[] data = model.data;
+
+		for (int y = y0; y < y1; y++) {
+			int indexModel = y*model.stride;
+			int indexInput = frame.startIndex + y*frame.stride;
+			int indexSegmented = segmented.startIndex + y*segmented.stride;
+
+			int end = indexInput + frame.width;
+			while( indexInput < end ) {
+				float pixelFrame = inputWrapper.getF(indexInput);
+
+				segmented.data[indexSegmented] = (byte)common.checkBackground(pixelFrame, data, indexModel);
+
+				indexModel += model.numBands;
+				indexInput++;
+				indexSegmented++;
+			}
+		}
+	}
+}
@@ -0,0 +1,513 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import org.ddogleg.nn.NearestNeighbor;
+import org.ddogleg.nn.NnData;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <p>
+ * Approximate nearest neighbor search using a hierarchical k-means tree, as described in [1] and used in FLANN.
+ * The tree is constructed by clustering the points into K clusters using k-means, then recursively clustering
+ * the points in each cluster until a cluster has K or fewer points.  Searches descend the tree by going to the
+ * child with the closest center, while all the other children are saved in a priority queue ordered by
+ * their distance.  Once a leaf has been reached the next closest branch is explored.  This is repeated until
+ * the maximum number of points has been checked, which is how recall is traded for speed.
+ * </p>
+ *
+ * <p>
+ * For high dimensional descriptors, such as SURF and SIFT, this tends to have better recall than
+ * a K-D tree for the same number of points checked.  All the memory used by the tree is recycled when
+ * new points are set, so after the first call very little memory is declared.  Distance is Euclidean
+ * distance squared.
+ * </p>
+ *
+ * <p>
+ * [1] Muja, Marius, and David G. Lowe. "Fast approximate nearest neighbors with automatic algorithm
+ * configuration." VISAPP (1) 2.331-340 (2009): 2.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class KMeansTreeNearestNeighbor<D> implements NearestNeighbor<D> {
+
+	// number of children each node has
+	int branchFactor;
+	// maximum number of k-means iterations when splitting a node
+	int maxIterations;
+	// number of points that are checked before the search stops
+	int maxPointsChecked;
+
+	Random rand;
+
+	// dimension of each point
+	int N;
+
+	// the points and their associated data
+	List<double[]> points;
+	List<D> data;
+
+	// indexes of points. Points in each node are stored in a contiguous block
+	int[] indexes = new int[0];
+	// work space for sorting indexes by cluster
+	int[] workIndexes = new int[0];
+	int[] assignment = new int[0];
+
+	// storage for nodes
+	List<Node> nodes = new ArrayList<>();
+	int numNodes;
+	Node root;
+
+	// k-means work space
+	int[] clusterCounts = new int[0];
+	int[] clusterOffsets = new int[0];
+	double[][] sums = new double[0][];
+
+	// priority queue of unexplored branches
+	BranchQueue queue = new BranchQueue();
+
+	// storage for the best N results
+	int[] bestIndexes = new int[0];
+	double[] bestDistances = new double[0];
+	int numBest;
+
+	/**
+	 * Configures the tree
+	 *
+	 * @param branchFactor Number of children for each node. Try 32
+	 * @param maxIterations Maximum number of k-means iterations when splitting a node. Try 7
+	 * @param maxPointsChecked Number of points checked before the search stops.  Larger values increase
+	 *                         recall but are slower.  Try 250
+	 * @param randomSeed Seed for random number generator used to initialize k-means
+	 */
+	public KMeansTreeNearestNeighbor( int branchFactor , int maxIterations , int maxPointsChecked ,
+									  long randomSeed ) {
+		if( branchFactor < 2 )
+			throw new IllegalArgumentException("Branch factor must be at least 2");
+		if( maxIterations < 1 )
+			throw new IllegalArgumentException("Must have at least one k-means iteration");
+		this.branchFactor = branchFactor;
+		this.maxIterations = maxIterations;
+		this.maxPointsChecked = maxPointsChecked;
+		this.rand = new Random(randomSeed);
+	}
+
+	@Override
+	public void init(int pointDimension) {
+		this.N = pointDimension;
+	}
+
+	@Override
+	public void setPoints(List<double[]> points, List<D> data) {
+		this.points = points;
+		this.data = data;
+
+		int size = points.size();
+		if( indexes.length < size ) {
+			indexes = new int[size];
+			workIndexes = new int[size];
+			assignment = new int[size];
+		}
+		for( int i = 0; i < size; i++ ) {
+			indexes[i] = i;
+		}
+
+		if( clusterCounts.length != branchFactor || (sums.length > 0 && sums[0].length != N) ) {
+			clusterCounts = new int[branchFactor];
+			clusterOffsets = new int[branchFactor];
+			sums = new double[branchFactor][N];
+		}
+
+		numNodes = 0;
+		root = null;
+		if( size > 0 )
+			root = createNode(0, size, null);
+	}
+
+	/**
+	 * Creates a node which contains the points from start to end in the index list and recursively
+	 * creates its children
+	 */
+	private Node createNode( int start , int end , double[] center ) {
+		Node node = requestNode();
+		node.start = start;
+		node.end = end;
+		if( center != null )
+			System.arraycopy(center, 0, node.center, 0, N);
+
+		if( end - start <= branchFactor )
+			return node;
+
+		int numClusters = kmeans(start, end);
+
+		// all the points are identical, so this can't be split
+		if( numClusters <= 1 )
+			return node;
+
+		// the cluster centers get overwritten when the children are split. Make a copy
+		double[][] centers = new double[numClusters][];
+		int[] bounds = new int[numClusters+1];
+		for( int i = 0, j = 0; i < branchFactor; i++ ) {
+			if( clusterCounts[i] == 0 )
+				continue;
+			centers[j] = sums[i].clone();
+			bounds[j+1] = bounds[j] + clusterCounts[i];
+			j++;
+		}
+
+		for( int i = 0; i < numClusters; i++ ) {
+			node.children.add(createNode(start+bounds[i], start+bounds[i+1], centers[i]));
+		}
+		return node;
+	}
+
+	/**
+	 * Clusters the points using k-means and sorts the index list so that points in the same cluster are
+	 * next to each other.  Upon exit clusterCounts contains the number of points in each cluster and sums
+	 * the cluster centers.
+	 *
+	 * @return Number of clusters which are not empty
+	 */
+	private int kmeans( int start , int end ) {
+		int length = end-start;
+
+		// randomly select the initial centers from the points
+		for( int i = 0; i < branchFactor; i++ ) {
+			int selected = start + i + rand.nextInt(length - i);
+			int tmp = indexes[start+i];
+			indexes[start+i] = indexes[selected];
+			indexes[selected] = tmp;
+			System.arraycopy(points.get(indexes[start+i]), 0, sums[i], 0, N);
+		}
+
+		for( int i = start; i < end; i++ ) {
+			assignment[i] = -1;
+		}
+
+		for( int iteration = 0; iteration < maxIterations; iteration++ ) {
+			// assign points to the closest center
+			boolean changed = false;
+			for( int i = start; i < end; i++ ) {
+				double[] p = points.get(indexes[i]);
+				int best = -1;
+				double bestDistance = Double.MAX_VALUE;
+				for( int j = 0; j < branchFactor; j++ ) {
+					// empty clusters are marked with NaN and skipped
+					if( Double.isNaN(sums[j][0]) )
+						continue;
+					double d = distanceSq(p, sums[j], bestDistance);
+					if( d < bestDistance ) {
+						bestDistance = d;
+						best = j;
+					}
+				}
+				if( assignment[i] != best ) {
+					assignment[i] = best;
+					changed = true;
+				}
+			}
+
+			if( !changed )
+				break;
+
+			// update the centers to be the mean of the assigned points
+			computeMeans(start, end);
+		}
+
+		// count how many non-empty clusters there are
+		for( int j = 0; j < branchFactor; j++ ) {
+			clusterCounts[j] = 0;
+		}
+		for( int i = start; i < end; i++ ) {
+			clusterCounts[assignment[i]]++;
+		}
+		int numClusters = 0;
+		for( int j = 0; j < branchFactor; j++ ) {
+			if( clusterCounts[j] > 0 )
+				numClusters++;
+		}
+
+		// sort the indexes by cluster
+		clusterOffsets[0] = 0;
+		for( int j = 1; j < branchFactor; j++ ) {
+			clusterOffsets[j] = clusterOffsets[j-1] + clusterCounts[j-1];
+		}
+		for( int i = start; i < end; i++ ) {
+			workIndexes[start + clusterOffsets[assignment[i]]++] = indexes[i];
+		}
+		System.arraycopy(workIndexes, start, indexes, start, length);
+
+		return numClusters;
+	}
+
+	private void computeMeans( int start , int end ) {
+		for( int j = 0; j < branchFactor; j++ ) {
+			clusterCounts[j] = 0;
+			double[] s = sums[j];
+			for( int k = 0; k < N; k++ )
+				s[k] = 0;
+		}
+
+		for( int i = start; i < end; i++ ) {
+			int cluster = assignment[i];
+			double[] p = points.get(indexes[i]);
+			double[] s = sums[cluster];
+			clusterCounts[cluster]++;
+			for( int k = 0; k < N; k++ ) {
+				s[k] += p[k];
+			}
+		}
+
+		for( int j = 0; j < branchFactor; j++ ) {
+			double[] s = sums[j];
+			if( clusterCounts[j] == 0 ) {
+				s[0] = Double.NaN;
+			} else {
+				for( int k = 0; k < N; k++ ) {
+					s[k] /= clusterCounts[j];
+				}
+			}
+		}
+	}
+
+	private Node requestNode() {
+		Node node;
+		if( numNodes < nodes.size() ) {
+			node = nodes.get(numNodes);
+			node.children.clear();
+			if( node.center.length != N )
+				node.center = new double[N];
+		} else {
+			node = new Node();
+			node.center = new double[N];
+			nodes.add(node);
+		}
+		numNodes++;
+		return node;
+	}
+
+	@Override
+	public boolean findNearest(double[] point, double maxDistance, NnData<D> result) {
+		search(point, maxDistance, 1);
+
+		if( numBest == 0 )
+			return false;
+
+		int index = bestIndexes[0];
+		result.point = points.get(index);
+		result.data = data.get(index);
+		result.distance = bestDistances[0];
+		return true;
+	}
+
+	@Override
+	public void findNearest(double[] point, double maxDistance, int numNeighbors, FastQueue<NnData<D>> results) {
+		results.reset();
+		search(point, maxDistance, numNeighbors);
+
+		for( int i = 0; i < numBest; i++ ) {
+			int index = bestIndexes[i];
+			NnData<D> r = results.grow();
+			r.point = points.get(index);
+			r.data = data.get(index);
+			r.distance = bestDistances[i];
+		}
+	}
+
+	/**
+	 * Searches the tree for the numNeighbors closest points.  Results are saved in bestIndexes and bestDistances
+	 * sorted from closest to farthest.
+	 */
+	private void search( double[] point , double maxDistance , int numNeighbors ) {
+		if( bestIndexes.length < numNeighbors ) {
+			bestIndexes = new int[numNeighbors];
+			bestDistances = new double[numNeighbors];
+		}
+		numBest = 0;
+		if( root == null )
+			return;
+
+		double limit = maxDistance < 0 ? Double.MAX_VALUE : maxDistance;
+
+		queue.reset();
+		int checked = exploreBranch(root, point, numNeighbors, limit);
+
+		while( checked < maxPointsChecked && queue.size > 0 ) {
+			Node node = queue.popMin();
+			checked += exploreBranch(node, point, numNeighbors, limit);
+		}
+	}
+
+	/**
+	 * Descends to a leaf by following the closest child, adding the other children to the queue,
+	 * then checks all the points in the leaf.
+	 *
+	 * @return number of points checked
+	 */
+	private int exploreBranch( Node node , double[] point , int numNeighbors , double limit ) {
+		while( node.children.size() > 0 ) {
+			Node closest = null;
+			double closestDistance = Double.MAX_VALUE;
+			for( int i = 0; i < node.children.size(); i++ ) {
+				Node c = node.children.get(i);
+				double d = distanceSq(point, c.center, Double.MAX_VALUE);
+				if( d < closestDistance ) {
+					if( closest != null )
+						queue.add(closest, closestDistance);
+					closest = c;
+					closestDistance = d;
+				} else {
+					queue.add(c, d);
+				}
+			}
+			node = closest;
+		}
+
+		for( int i = node.start; i < node.end; i++ ) {
+			int index = indexes[i];
+			double worst = numBest < numNeighbors ? limit : Math.min(limit, bestDistances[numBest-1]);
+			double d = distanceSq(point, points.get(index), worst);
+			if( d <= worst ) {
+				addResult(index, d, numNeighbors);
+			}
+		}
+
+		return node.end - node.start;
+	}
+
+	/**
+	 * Inserts the result into the sorted list of best results
+	 */
+	private void addResult( int index , double distance , int numNeighbors ) {
+		int i = numBest < numNeighbors ? numBest++ : numBest-1;
+		while( i > 0 && bestDistances[i-1] > distance ) {
+			bestDistances[i] = bestDistances[i-1];
+			bestIndexes[i] = bestIndexes[i-1];
+			i--;
+		}
+		bestDistances[i] = distance;
+		bestIndexes[i] = index;
+	}
+
+	/**
+	 * Euclidean distance squared. Stops early if the distance exceeds the threshold.
+	 */
+	private double distanceSq( double[] a , double[] b , double threshold ) {
+		double total = 0;
+		for( int i = 0; i < N; i++ ) {
+			double d = a[i]-b[i];
+			total += d*d;
+			if( total > threshold )
+				return total;
+		}
+		return total;
+	}
+
+	public int getMaxPointsChecked() {
+		return maxPointsChecked;
+	}
+
+	/**
+	 * Number of points checked before the search stops.  Larger values increase recall but are slower.
+	 */
+	public void setMaxPointsChecked(int maxPointsChecked) {
+		this.maxPointsChecked = maxPointsChecked;
+	}
+
+	/**
+	 * Node in the k-means tree.  Leaves have no children.
+	 */
+	static class Node {
+		// center of the cluster
+		double[] center;
+		// range of points in the index list which belong to this node
+		int start, end;
+		List<Node> children = new ArrayList<>();
+	}
+
+	/**
+	 * Priority queue of branches ordered by distance using a binary heap
+	 */
+	static class BranchQueue {
+		Node[] nodes = new Node[16];
+		double[] distances = new double[16];
+		int size;
+
+		void reset() {
+			size = 0;
+		}
+
+		void add( Node node , double distance ) {
+			if( size == nodes.length ) {
+				Node[] n = new Node[size*2];
+				double[] d = new double[size*2];
+				System.arraycopy(nodes, 0, n, 0, size);
+				System.arraycopy(distances, 0, d, 0, size);
+				nodes = n;
+				distances = d;
+			}
+
+			// sift up
+			int i = size++;
+			while( i > 0 ) {
+				int parent = (i-1)/2;
+				if( distances[parent] <= distance )
+					break;
+				nodes[i] = nodes[parent];
+				distances[i] = distances[parent];
+				i = parent;
+			}
+			nodes[i] = node;
+			distances[i] = distance;
+		}
+
+		Node popMin() {
+			Node ret = nodes[0];
+			size--;
+			Node last = nodes[size];
+			double lastDistance = distances[size];
+			nodes[size] = null;
+
+			// sift down
+			int i = 0;
+			while( true ) {
+				int child = 2*i+1;
+				if( child >= size )
+					break;
+				if( child+1 < size && distances[child+1] < distances[child] )
+					child++;
+				if( distances[child] >= lastDistance )
+					break;
+				nodes[i] = nodes[child];
+				distances[i] = distances[child];
+				i = child;
+			}
+			if( size > 0 ) {
+				nodes[i] = last;
+				distances[i] = lastDistance;
+			}
+			return ret;
+		}
+	}
+}
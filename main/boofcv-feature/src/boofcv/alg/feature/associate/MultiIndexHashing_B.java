@@ -0,0 +1,369 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.struct.feature.TupleDesc_B;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Exact k-nearest-neighbor search for binary descriptors using Hamming distance and multi-index hashing [1].
+ * Each descriptor is split into m disjoint substrings and each substring is used as the key into its own
+ * hash table.  If two descriptors are within a Hamming distance of d of each other then at least one of their
+ * substrings must be within a distance of floor(d/m).  A query probes all the table entries within a distance
+ * of s = 0,1,2,... of its substrings and stops once the pigeonhole bound guarantees that the k best candidates
+ * have been found.  Unlike a linear search, only a small fraction of the descriptors is typically examined.
+ * </p>
+ *
+ * <p>
+ * Substrings are at most {@link #MAX_SUBSTRING_BITS} bits so each table can be directly addressed.  Descriptors
+ * are stored in a single array of ints and each table is a linked list stored in primitive arrays, so no
+ * memory is declared when a descriptor is added unless the internal arrays need to grow.  Descriptors can
+ * be added incrementally at any time.  If the next search radius would probe more table entries than there
+ * are descriptors then it switches to a linear search, which is faster at that point.
+ * </p>
+ *
+ * <p>
+ * [1] Norouzi, Mohammad, Ali Punjani, and David J. Fleet. "Fast search in hamming space with multi-index hashing."
+ * CVPR 2012
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class MultiIndexHashing_B {
+
+	/**
+	 * Maximum number of bits in a substring.  Each table has 2^bits entries.
+	 */
+	public static final int MAX_SUBSTRING_BITS = 16;
+
+	// number of bits in each descriptor
+	private int numBits;
+	// number of ints used to store a descriptor
+	private int numWords;
+
+	// number of hash tables
+	private int numTables;
+	// first bit and number of bits in the substring for each table
+	private int[] tableBit0;
+	private int[] tableBits;
+
+	// index of the first descriptor in each table entry.  -1 if empty
+	private int[][] head;
+	// index of the next descriptor in the same table entry.  index = descriptor*numTables + table
+	private int[] next = new int[0];
+
+	// all the descriptors stored sequentially
+	private int[] codes = new int[0];
+	// number of descriptors in the index
+	private int size;
+
+	// used to avoid checking the same descriptor multiple times in a single search
+	private int[] visited = new int[0];
+	private int visitedStamp;
+
+	// substrings of the query descriptor
+	private int[] querySub;
+
+	// k-best results sorted from best to worst
+	private int[] bestIndex = new int[0];
+	private int[] bestDistance = new int[0];
+	private int numBest;
+
+	/**
+	 * Configures the index
+	 *
+	 * @param numBits Number of bits in each descriptor
+	 * @param numTables Number of hash tables.  Each substring is ceil(numBits/numTables) bits long, which must
+	 *                  be &le; {@link #MAX_SUBSTRING_BITS}.  Try numBits/16.
+	 */
+	public MultiIndexHashing_B(int numBits, int numTables) {
+		if( numBits <= 0 )
+			throw new IllegalArgumentException("numBits must be more than zero");
+		if( numTables <= 0 || numTables > numBits )
+			throw new IllegalArgumentException("numTables must be from 1 to numBits");
+
+		int substringBits = (numBits + numTables - 1)/numTables;
+		if( substringBits > MAX_SUBSTRING_BITS )
+			throw new IllegalArgumentException("Too few tables.  Substrings must be at most "+
+					MAX_SUBSTRING_BITS+" bits. Try "+((numBits+MAX_SUBSTRING_BITS-1)/MAX_SUBSTRING_BITS)+" tables");
+
+		this.numBits = numBits;
+		this.numWords = (numBits+31)/32;
+		this.numTables = numTables;
+
+		// spread the bits across the tables as evenly as possible
+		tableBit0 = new int[numTables];
+		tableBits = new int[numTables];
+		head = new int[numTables][];
+		querySub = new int[numTables];
+		int bit0 = 0;
+		for( int i = 0; i < numTables; i++ ) {
+			int bits = numBits/numTables + (i < numBits%numTables ? 1 : 0);
+			tableBit0[i] = bit0;
+			tableBits[i] = bits;
+			head[i] = new int[1 << bits];
+			Arrays.fill(head[i],-1);
+			bit0 += bits;
+		}
+	}
+
+	/**
+	 * Removes all descriptors from the index
+	 */
+	public void reset() {
+		for( int i = 0; i < numTables; i++ ) {
+			Arrays.fill(head[i],-1);
+		}
+		size = 0;
+	}
+
+	/**
+	 * Adds a descriptor to the index.  A copy of the descriptor is saved internally.
+	 *
+	 * @param desc The descriptor
+	 * @return index of the descriptor
+	 */
+	public int add( TupleDesc_B desc ) {
+		if( desc.numBits != numBits )
+			throw new IllegalArgumentException("Expected a descriptor with "+numBits+" bits not "+desc.numBits);
+
+		int index = size;
+		growStorage(size+1);
+
+		System.arraycopy(desc.data,0,codes,index*numWords,numWords);
+		for( int table = 0; table < numTables; table++ ) {
+			int key = substring(desc.data,table);
+			next[index*numTables + table] = head[table][key];
+			head[table][key] = index;
+		}
+		visited[index] = 0;
+		size++;
+		return index;
+	}
+
+	private void growStorage( int desired ) {
+		if( desired <= visited.length )
+			return;
+		int length = Math.max(desired,visited.length*2);
+		codes = Arrays.copyOf(codes,length*numWords);
+		next = Arrays.copyOf(next,length*numTables);
+		visited = Arrays.copyOf(visited,length);
+	}
+
+	/**
+	 * Finds the k nearest neighbors to the query descriptor.  Results are sorted by distance, best first.
+	 * Ties are broken arbitrarily.
+	 *
+	 * @param query The descriptor being searched for
+	 * @param maxDistance Maximum Hamming distance of a neighbor, inclusive.  If &lt; 0 then there's no limit
+	 * @param k Number of neighbors which are searched for
+	 * @param indexes (Output) index of each neighbor that was found
+	 * @param distances (Output) Hamming distance of each neighbor that was found
+	 */
+	public void searchNearest( TupleDesc_B query , int maxDistance , int k ,
+							   GrowQueue_I32 indexes , GrowQueue_I32 distances ) {
+		if( query.numBits != numBits )
+			throw new IllegalArgumentException("Expected a descriptor with "+numBits+" bits not "+query.numBits);
+		if( k <= 0 )
+			throw new IllegalArgumentException("k must be more than zero");
+
+		indexes.reset();
+		distances.reset();
+
+		if( maxDistance < 0 || maxDistance > numBits )
+			maxDistance = numBits;
+
+		if( bestIndex.length < k ) {
+			bestIndex = new int[k];
+			bestDistance = new int[k];
+		}
+		numBest = 0;
+
+		if( size > 0 ) {
+			nextVisitedStamp();
+			search(query.data,maxDistance,k);
+		}
+
+		for( int i = 0; i < numBest; i++ ) {
+			indexes.add(bestIndex[i]);
+			distances.add(bestDistance[i]);
+		}
+	}
+
+	private void search( int[] query , int maxDistance , int k ) {
+		for( int table = 0; table < numTables; table++ ) {
+			querySub[table] = substring(query,table);
+		}
+
+		// largest distance a candidate can be and still be accepted
+		int threshold = maxDistance;
+
+		for( int radius = 0; ; radius++ ) {
+			// if probing the tables is more expensive than checking everything, check everything
+			if( countProbes(radius) >= size ) {
+				for( int i = 0; i < size; i++ ) {
+					threshold = checkCandidate(query,i,threshold,k);
+				}
+				return;
+			}
+
+			for( int table = 0; table < numTables; table++ ) {
+				int bits = tableBits[table];
+				if( radius > bits )
+					continue;
+
+				int[] tableHead = head[table];
+				int key = querySub[table];
+				int limit = 1 << bits;
+
+				// enumerate all masks with 'radius' bits set using Gosper's hack
+				int mask = (1 << radius) - 1;
+				while( mask < limit ) {
+					int candidate = tableHead[key ^ mask];
+					while( candidate >= 0 ) {
+						threshold = checkCandidate(query,candidate,threshold,k);
+						candidate = next[candidate*numTables + table];
+					}
+					if( mask == 0 )
+						break;
+					int c = mask & -mask;
+					int r = mask + c;
+					mask = (((r ^ mask) >>> 2) / c) | r;
+				}
+			}
+
+			// Every descriptor with a distance < numTables*(radius+1) has been found.  Stop if nothing better
+			// can be found
+			int guaranteed = numTables*(radius+1) - 1;
+			if( guaranteed >= threshold || radius >= MAX_SUBSTRING_BITS )
+				return;
+		}
+	}
+
+	/**
+	 * Number of table entries that will be probed at the specified radius
+	 */
+	private int countProbes( int radius ) {
+		long total = 0;
+		for( int table = 0; table < numTables; table++ ) {
+			total += combinations(tableBits[table],radius);
+		}
+		return (int)Math.min(Integer.MAX_VALUE,total);
+	}
+
+	private static long combinations( int n , int k ) {
+		if( k > n )
+			return 0;
+		long result = 1;
+		for( int i = 1; i <= k; i++ ) {
+			result = result*(n-k+i)/i;
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the distance to the candidate and adds it to the list of best matches if appropriate.
+	 *
+	 * @return The new threshold
+	 */
+	private int checkCandidate( int[] query , int candidate , int threshold , int k ) {
+		if( visited[candidate] == visitedStamp )
+			return threshold;
+		visited[candidate] = visitedStamp;
+
+		int distance = 0;
+		int offset = candidate*numWords;
+		for( int i = 0; i < numWords; i++ ) {
+			distance += Integer.bitCount(query[i] ^ codes[offset+i]);
+		}
+
+		if( distance > threshold )
+			return threshold;
+
+		// insertion sort into the list of best
+		int location = numBest < k ? numBest++ : k-1;
+		while( location > 0 && bestDistance[location-1] > distance ) {
+			bestDistance[location] = bestDistance[location-1];
+			bestIndex[location] = bestIndex[location-1];
+			location--;
+		}
+		bestDistance[location] = distance;
+		bestIndex[location] = candidate;
+
+		// once the list is full only better solutions are of interest
+		if( numBest == k )
+			return Math.min(threshold, bestDistance[k-1]-1);
+		return threshold;
+	}
+
+	private void nextVisitedStamp() {
+		visitedStamp++;
+		if( visitedStamp == Integer.MAX_VALUE ) {
+			Arrays.fill(visited,0);
+			visitedStamp = 1;
+		}
+	}
+
+	/**
+	 * Extracts the substring used as a key in the specified table.  Bit 'i' is stored in the word i/32
+	 * at bit i%32, which is the same as {@link TupleDesc_B#isBitTrue(int)}.
+	 */
+	private int substring( int[] data , int table ) {
+		int bit0 = tableBit0[table];
+		int bits = tableBits[table];
+		int word = bit0 >> 5;
+		int shift = bit0 & 0x1F;
+
+		long value = data[word] & 0xFFFFFFFFL;
+		if( shift + bits > 32 )
+			value |= (data[word+1] & 0xFFFFFFFFL) << 32;
+		return (int)((value >>> shift) & ((1L << bits) - 1));
+	}
+
+	/**
+	 * Returns the descriptor's value at the specified index.
+	 *
+	 * @param index Index of the descriptor
+	 * @param output (Output) storage for the descriptor.
+	 */
+	public void getDescriptor( int index , TupleDesc_B output ) {
+		if( index < 0 || index >= size )
+			throw new IllegalArgumentException("Index out of bounds");
+		output.numBits = numBits;
+		System.arraycopy(codes,index*numWords,output.data,0,numWords);
+	}
+
+	/**
+	 * Number of descriptors in the index
+	 */
+	public int size() {
+		return size;
+	}
+
+	public int getNumBits() {
+		return numBits;
+	}
+
+	public int getNumTables() {
+		return numTables;
+	}
+}
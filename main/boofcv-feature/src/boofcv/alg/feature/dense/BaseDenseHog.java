@@ -21,11 +21,13 @@ package boofcv.alg.feature.dense;
 import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.alg.filter.derivative.DerivativeReduceType;
 import boofcv.alg.filter.derivative.DerivativeType;
+import boofcv.concurrency.WorkerPool;
 import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.struct.image.*;
 import georegression.struct.point.Point2D_I32;
 import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F32;
 
 /**
  * Base calss for dense HOG implementations.
@@ -43,6 +45,22 @@ public abstract class BaseDenseHog<I extends ImageBase<I>> {
 	// Storage for descriptors
 	FastQueue<TupleDesc_F64> descriptions;
 
+	// If true descriptors are written into a single contiguous array instead of into descriptions
+	boolean outputArray = false;
+	// Storage for descriptors when written into an array.  Descriptor 'i' starts at index i*descriptorLength
+	GrowQueue_F32 descriptionsArray = new GrowQueue_F32();
+	// number of elements in a descriptor
+	int descriptorLength;
+	// work space used to compute a descriptor before it's copied into the array
+	TupleDesc_F64 workDesc;
+	// work space for each thread when computed concurrently
+	WorkerPool<TupleDesc_F64> workDescs = new WorkerPool<TupleDesc_F64>() {
+		@Override
+		protected TupleDesc_F64 createWorker() {
+			return new TupleDesc_F64(descriptorLength);
+		}
+	};
+
 	// Location of each descriptor in the image, top-left corner (lower extents)
 	FastQueue<Point2D_I32> locations = new FastQueue<>(Point2D_I32.class, true);
 
@@ -82,7 +100,8 @@ public abstract class BaseDenseHog<I extends ImageBase<I>> {
 		this.cellsPerBlockY = cellsPerBlockY;
 		this.stepBlock = stepBlock;
 
-		final int descriptorLength = orientationBins*cellsPerBlockX*cellsPerBlockY;
+		descriptorLength = orientationBins*cellsPerBlockX*cellsPerBlockY;
+		workDesc = new TupleDesc_F64(descriptorLength);
 
 		descriptions = new FastQueue<TupleDesc_F64>(TupleDesc_F64.class,true) {
 			@Override
@@ -92,6 +111,44 @@ public abstract class BaseDenseHog<I extends ImageBase<I>> {
 		};
 	}
 
+	/**
+	 * Resizes storage for locations and descriptors so that they can be written to by index, which allows
+	 * blocks to be computed out of order.
+	 *
+	 * @param total Number of descriptors which will be computed
+	 */
+	protected void declareOutput( int total ) {
+		locations.resize(total);
+		if( outputArray ) {
+			descriptions.reset();
+			descriptionsArray.resize(total*descriptorLength);
+		} else {
+			descriptions.resize(total);
+			descriptionsArray.reset();
+		}
+	}
+
+	/**
+	 * Returns storage for the descriptor at the specified index.  If the output is an array then the work
+	 * space is returned and the results should be saved using {@link #saveDescription}
+	 */
+	protected TupleDesc_F64 lookupDescription( int index , TupleDesc_F64 work ) {
+		return outputArray ? work : descriptions.get(index);
+	}
+
+	/**
+	 * If the output is an array, copy the descriptor into it
+	 */
+	protected void saveDescription( int index , TupleDesc_F64 desc ) {
+		if( !outputArray )
+			return;
+		float[] data = descriptionsArray.data;
+		int offset = index*descriptorLength;
+		for (int i = 0; i < descriptorLength; i++) {
+			data[offset+i] = (float)desc.value[i];
+		}
+	}
+
 	/**
 	 * Given different types input images it creates the correct algorithm for computing the image gradient.  The
 	 * actualy calulcation is always done using {@link DerivativeType#THREE}
@@ -140,12 +197,41 @@ public abstract class BaseDenseHog<I extends ImageBase<I>> {
 	}
 
 	/**
-	 * List of descriptors
+	 * List of descriptors.  Empty if the output is an array.
 	 */
 	public FastQueue<TupleDesc_F64> getDescriptions() {
 		return descriptions;
 	}
 
+	/**
+	 * Descriptors stored in a single contiguous array.  The descriptor at index 'i' starts at element
+	 * i*{@link #getDescriptorLength()}. Empty unless the output is an array.
+	 */
+	public GrowQueue_F32 getDescriptionsArray() {
+		return descriptionsArray;
+	}
+
+	/**
+	 * Specifies if descriptors are written into a single contiguous array, see {@link #getDescriptionsArray()},
+	 * or into {@link #getDescriptions()}. Writing into an array avoids a separate object for each descriptor.
+	 *
+	 * @param outputArray true to write into an array.  false by default.
+	 */
+	public void setOutputArray( boolean outputArray ) {
+		this.outputArray = outputArray;
+	}
+
+	public boolean isOutputArray() {
+		return outputArray;
+	}
+
+	/**
+	 * Number of elements in a descriptor
+	 */
+	public int getDescriptorLength() {
+		return descriptorLength;
+	}
+
 	public GrayF32 _getDerivX() {
 		return derivX;
 	}
@@ -191,6 +277,6 @@ public abstract class BaseDenseHog<I extends ImageBase<I>> {
 	}
 
 	public TupleDesc_F64 createDescription() {
-		return new TupleDesc_F64(orientationBins* cellsPerBlockX * cellsPerBlockY);
+		return new TupleDesc_F64(descriptorLength);
 	}
 }
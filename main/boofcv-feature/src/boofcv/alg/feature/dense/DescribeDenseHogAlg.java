@@ -19,6 +19,8 @@
 package boofcv.alg.feature.dense;
 
 import boofcv.alg.feature.describe.DescribeSiftCommon;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
 import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayF64;
@@ -78,6 +80,10 @@ import java.util.Arrays;
  * The gradient is computed for each band individually.  The band with the largest magnitude at that specific
  * pixel is used as the gradient for the pixel.
  *
+ * <h3>Concurrency</h3>
+ * When {@link BoofConcurrency#isActive()} pixel orientation and magnitude are computed in bands of image rows
+ * and descriptors in bands of block rows.  Results are identical to the single threaded computation.
+ *
  * <p>[1] Dalal, Navneet, and Bill Triggs. "Histograms of oriented gradients for human detection." Computer
  * Vision and Pattern Recognition, 2005. CVPR 2005.</p>
  *
@@ -89,13 +95,41 @@ public class DescribeDenseHogAlg<Input extends ImageBase<Input>> extends BaseDen
 	protected GrayF32 orientation = new GrayF32(1,1);
 	protected GrayF64 magnitude = new GrayF64(1,1); // stored as F64 instead of F32 for speed
 
-	// the active histogram being worked on
+	// the active histogram being worked on when the histogram isn't explicitly specified
 	double histogram[];
 
 	// spatial weights applied to each in a block
 	// stored in a row major order
 	double weights[];
 
+	// number of block rows and columns in the image
+	int blockRows,blockCols;
+
+	// computes orientation and magnitude for a band of pixel rows
+	IntRangeConsumer computePixels = new IntRangeConsumer() {
+		@Override
+		public void accept(int minInclusive, int maxExclusive) {
+			computePixelFeatures(minInclusive, maxExclusive);
+		}
+	};
+
+	// computes descriptors for a band of block rows
+	IntRangeConsumer computeBlocks = new IntRangeConsumer() {
+		@Override
+		public void accept(int minInclusive, int maxExclusive) {
+			if( !outputArray ) {
+				computeDescriptors(minInclusive, maxExclusive, null);
+				return;
+			}
+			TupleDesc_F64 work = workDescs.acquire();
+			try {
+				computeDescriptors(minInclusive, maxExclusive, work);
+			} finally {
+				workDescs.release(work);
+			}
+		}
+	};
+
 	/**
 	 * Configures HOG descriptor computation
 	 *
@@ -170,14 +204,18 @@ public class DescribeDenseHogAlg<Input extends ImageBase<Input>> extends BaseDen
 		orientation.reshape(input.width,input.height);
 		magnitude.reshape(input.width,input.height);
 
-		computePixelFeatures();
+		if( BoofConcurrency.isActive() ) {
+			BoofConcurrency.loopBlocks(0, derivX.height, computePixels);
+		} else {
+			computePixelFeatures(0, derivX.height);
+		}
 	}
 
 	/**
-	 * Computes the orientation and magnitude of each pixel
+	 * Computes the orientation and magnitude of each pixel inside the specified range of rows
 	 */
-	private void computePixelFeatures() {
-		for (int y = 0; y < derivX.height; y++) {
+	private void computePixelFeatures( int y0 , int y1 ) {
+		for (int y = y0; y < y1; y++) {
 			int pixelIndex = y*derivX.width;
 			int endIndex = pixelIndex+derivX.width;
 			for (; pixelIndex < endIndex; pixelIndex++ ) {
@@ -197,32 +235,54 @@ public class DescribeDenseHogAlg<Input extends ImageBase<Input>> extends BaseDen
 	 */
 	@Override
 	public void process() {
-		locations.reset();
-		descriptions.reset();
-
-		int stepBlockPixelsX = pixelsPerCell *stepBlock;
-		int stepBlockPixelsY = pixelsPerCell *stepBlock;
+		int stepBlockPixels = pixelsPerCell *stepBlock;
 
 		int maxY = derivX.height - pixelsPerCell * cellsPerBlockY + 1;
 		int maxX = derivX.width - pixelsPerCell * cellsPerBlockX + 1;
 
-		for (int y = 0; y < maxY; y += stepBlockPixelsY ) {
-			for (int x = 0; x < maxX; x += stepBlockPixelsX ) {
-				TupleDesc_F64 d = descriptions.grow();
+		blockRows = maxY > 0 ? (maxY + stepBlockPixels - 1)/stepBlockPixels : 0;
+		blockCols = maxX > 0 ? (maxX + stepBlockPixels - 1)/stepBlockPixels : 0;
+
+		declareOutput(blockRows*blockCols);
+
+		if( BoofConcurrency.isActive() ) {
+			BoofConcurrency.loopBlocks(0, blockRows, computeBlocks);
+		} else {
+			computeDescriptors(0, blockRows, workDesc);
+		}
+	}
+
+	/**
+	 * Computes the descriptors for blocks inside the specified range of block rows
+	 *
+	 * @param blockRow0 First block row, inclusive
+	 * @param blockRow1 Last block row, exclusive
+	 * @param work Work space for when the output is an array
+	 */
+	void computeDescriptors( int blockRow0 , int blockRow1 , TupleDesc_F64 work ) {
+		int stepBlockPixels = pixelsPerCell *stepBlock;
+
+		for (int blockRow = blockRow0; blockRow < blockRow1; blockRow++) {
+			int y = blockRow*stepBlockPixels;
+			int index = blockRow*blockCols;
+			for (int blockCol = 0; blockCol < blockCols; blockCol++, index++ ) {
+				int x = blockCol*stepBlockPixels;
+
+				TupleDesc_F64 d = lookupDescription(index, work);
 				Arrays.fill(d.value,0);
-				histogram = d.value;
 
 				for (int cellRow = 0; cellRow < cellsPerBlockY; cellRow++) {
 					int blockPixelRow = cellRow* pixelsPerCell;
 					for (int cellCol = 0; cellCol < cellsPerBlockX; cellCol++) {
 						int blockPixelCol = cellCol* pixelsPerCell;
 
-						computeCellHistogram(x+blockPixelCol, y+blockPixelRow, cellCol, cellRow);
+						computeCellHistogram(x+blockPixelCol, y+blockPixelRow, cellCol, cellRow, d.value);
 					}
 				}
 
 				DescribeSiftCommon.normalizeDescriptor(d,0.2);
-				locations.grow().set(x,y);
+				saveDescription(index, d);
+				locations.get(index).set(x,y);
 			}
 		}
 	}
@@ -236,6 +296,19 @@ public class DescribeDenseHogAlg<Input extends ImageBase<Input>> extends BaseDen
 	 */
 	void computeCellHistogram(int pixelX0 , int pixelY0 ,
 							  int cellX , int cellY ) {
+		computeCellHistogram(pixelX0, pixelY0, cellX, cellY, histogram);
+	}
+
+	/**
+	 * Computes the histogram for the block with the specified lower extent
+	 * @param pixelX0 cell's lower extent x-axis in the image
+	 * @param pixelY0 cell's lower extent y-axis in the image
+	 * @param cellX Location of the cell in the block x-axis
+	 * @param cellY Location of the cell in the block y-axis
+	 * @param histogram The block's histogram which is being computed
+	 */
+	void computeCellHistogram(int pixelX0 , int pixelY0 ,
+							  int cellX , int cellY , double histogram[] ) {
 
 		float angleBinSize = GrlConstants.F_PI/orientationBins;
 
@@ -289,32 +362,32 @@ public class DescribeDenseHogAlg<Input extends ImageBase<Input>> extends BaseDen
 
 				// spatial bilinear interpolation + orientation linear interpolation
 				// + gaussian weighting (previously applied)
-				addToHistogram( cellX-1, cellY-1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX0*spatialWeightY0);
-				addToHistogram( cellX-1, cellY-1 , index1, oriWeight1*magnitude*spatialWeightX0*spatialWeightY0);
+				addToHistogram( histogram, cellX-1, cellY-1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX0*spatialWeightY0);
+				addToHistogram( histogram, cellX-1, cellY-1 , index1, oriWeight1*magnitude*spatialWeightX0*spatialWeightY0);
 
-				addToHistogram( cellX, cellY-1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX1*spatialWeightY0);
-				addToHistogram( cellX, cellY-1 , index1, oriWeight1*magnitude*spatialWeightX1*spatialWeightY0);
+				addToHistogram( histogram, cellX, cellY-1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX1*spatialWeightY0);
+				addToHistogram( histogram, cellX, cellY-1 , index1, oriWeight1*magnitude*spatialWeightX1*spatialWeightY0);
 
-				addToHistogram( cellX+1, cellY-1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX2*spatialWeightY0);
-				addToHistogram( cellX+1, cellY-1 , index1, oriWeight1*magnitude*spatialWeightX2*spatialWeightY0);
+				addToHistogram( histogram, cellX+1, cellY-1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX2*spatialWeightY0);
+				addToHistogram( histogram, cellX+1, cellY-1 , index1, oriWeight1*magnitude*spatialWeightX2*spatialWeightY0);
 
-				addToHistogram( cellX-1, cellY , index0, (1.0-oriWeight1)*magnitude*spatialWeightX0*spatialWeightY1);
-				addToHistogram( cellX-1, cellY , index1, oriWeight1*magnitude*spatialWeightX0*spatialWeightY1);
+				addToHistogram( histogram, cellX-1, cellY , index0, (1.0-oriWeight1)*magnitude*spatialWeightX0*spatialWeightY1);
+				addToHistogram( histogram, cellX-1, cellY , index1, oriWeight1*magnitude*spatialWeightX0*spatialWeightY1);
 
-				addToHistogram( cellX, cellY , index0, (1.0-oriWeight1)*magnitude*spatialWeightX1*spatialWeightY1);
-				addToHistogram( cellX, cellY , index1, oriWeight1*magnitude*spatialWeightX1*spatialWeightY1);
+				addToHistogram( histogram, cellX, cellY , index0, (1.0-oriWeight1)*magnitude*spatialWeightX1*spatialWeightY1);
+				addToHistogram( histogram, cellX, cellY , index1, oriWeight1*magnitude*spatialWeightX1*spatialWeightY1);
 
-				addToHistogram( cellX+1, cellY , index0, (1.0-oriWeight1)*magnitude*spatialWeightX2*spatialWeightY1);
-				addToHistogram( cellX+1, cellY , index1, oriWeight1*magnitude*spatialWeightX2*spatialWeightY1);
+				addToHistogram( histogram, cellX+1, cellY , index0, (1.0-oriWeight1)*magnitude*spatialWeightX2*spatialWeightY1);
+				addToHistogram( histogram, cellX+1, cellY , index1, oriWeight1*magnitude*spatialWeightX2*spatialWeightY1);
 
-				addToHistogram( cellX-1, cellY+1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX0*spatialWeightY2);
-				addToHistogram( cellX-1, cellY+1 , index1, oriWeight1*magnitude*spatialWeightX0*spatialWeightY2);
+				addToHistogram( histogram, cellX-1, cellY+1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX0*spatialWeightY2);
+				addToHistogram( histogram, cellX-1, cellY+1 , index1, oriWeight1*magnitude*spatialWeightX0*spatialWeightY2);
 
-				addToHistogram( cellX, cellY+1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX1*spatialWeightY2);
-				addToHistogram( cellX, cellY+1 , index1, oriWeight1*magnitude*spatialWeightX1*spatialWeightY2);
+				addToHistogram( histogram, cellX, cellY+1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX1*spatialWeightY2);
+				addToHistogram( histogram, cellX, cellY+1 , index1, oriWeight1*magnitude*spatialWeightX1*spatialWeightY2);
 
-				addToHistogram( cellX+1, cellY+1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX2*spatialWeightY2);
-				addToHistogram( cellX+1, cellY+1 , index1, oriWeight1*magnitude*spatialWeightX2*spatialWeightY2);
+				addToHistogram( histogram, cellX+1, cellY+1 , index0, (1.0-oriWeight1)*magnitude*spatialWeightX2*spatialWeightY2);
+				addToHistogram( histogram, cellX+1, cellY+1 , index1, oriWeight1*magnitude*spatialWeightX2*spatialWeightY2);
 
 			}
 		}
@@ -328,6 +401,18 @@ public class DescribeDenseHogAlg<Input extends ImageBase<Input>> extends BaseDen
 	 * @param magnitude edge magnitude
 	 */
 	void addToHistogram(int cellX, int cellY, int orientationIndex, double magnitude) {
+		addToHistogram(histogram, cellX, cellY, orientationIndex, magnitude);
+	}
+
+	/**
+	 * Adds the magnitude to the histogram at the specified cell and orientation
+	 * @param histogram The block's histogram
+	 * @param cellX cell coordinate
+	 * @param cellY cell coordinate
+	 * @param orientationIndex orientation coordinate
+	 * @param magnitude edge magnitude
+	 */
+	void addToHistogram(double histogram[], int cellX, int cellY, int orientationIndex, double magnitude) {
 		// see if it's being applied to a valid cell in the histogram
 		if( cellX < 0 || cellX >= cellsPerBlockX)
 			return;
@@ -20,6 +20,8 @@ package boofcv.alg.feature.dense;
 
 import boofcv.abst.feature.dense.DescribeImageDenseHoG;
 import boofcv.alg.feature.describe.DescribeSiftCommon;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
 import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
@@ -42,6 +44,9 @@ import java.util.List;
  *     <li>No bilinear interpolation between cell centers</li>
  * </ul>
  *
+ * <p>Concurrency: When {@link BoofConcurrency#isActive()} cell histograms are computed in bands of cell rows
+ * and descriptors in bands of block rows.  Results are identical to the single threaded computation.</p>
+ *
  * <p>[1] Dalal, Navneet, and Bill Triggs. "Histograms of oriented gradients for human detection." Computer
  * Vision and Pattern Recognition, 2005. CVPR 2005.</p>
  *
@@ -54,6 +59,33 @@ public class DescribeDenseHogFastAlg<Input extends ImageBase<Input>> extends Bas
 	Cell cells[] = new Cell[0];
 	// number of cell rows and columns in the image
 	int cellRows,cellCols;
+	// number of block rows and columns in the image
+	int blockRows,blockCols;
+
+	// computes histograms for a band of cell rows
+	IntRangeConsumer computeCells = new IntRangeConsumer() {
+		@Override
+		public void accept(int minInclusive, int maxExclusive) {
+			computeCellHistograms(minInclusive, maxExclusive);
+		}
+	};
+
+	// computes descriptors for a band of block rows
+	IntRangeConsumer computeBlocks = new IntRangeConsumer() {
+		@Override
+		public void accept(int minInclusive, int maxExclusive) {
+			if( !outputArray ) {
+				computeDescriptors(minInclusive, maxExclusive, null);
+				return;
+			}
+			TupleDesc_F64 work = workDescs.acquire();
+			try {
+				computeDescriptors(minInclusive, maxExclusive, work);
+			} finally {
+				workDescs.release(work);
+			}
+		}
+	};
 
 	/**
 	 * Configures HOG descriptor computation
@@ -76,23 +108,48 @@ public class DescribeDenseHogFastAlg<Input extends ImageBase<Input>> extends Bas
 	 */
 	@Override
 	public void process() {
-		locations.reset();
-		descriptions.reset();
-
 		// see if the cell array needs to grow for this image.  Recycle data when growing
 		growCellArray(derivX.width, derivX.height);
 
-		computeCellHistograms();
-
 		int cellRowMax = (cellRows - (cellsPerBlockY -1));
 		int cellColMax = (cellCols - (cellsPerBlockX -1));
 
-		for (int i = 0; i < cellRowMax; i += stepBlock) {
-			for (int j = 0; j < cellColMax; j += stepBlock) {
-				computeDescriptor(i,j);
-			}
+		blockRows = cellRowMax > 0 ? (cellRowMax + stepBlock - 1)/stepBlock : 0;
+		blockCols = cellColMax > 0 ? (cellColMax + stepBlock - 1)/stepBlock : 0;
+
+		declareOutput(blockRows*blockCols);
+
+		if( BoofConcurrency.isActive() ) {
+			BoofConcurrency.loopBlocks(0, cellRows, computeCells);
+			BoofConcurrency.loopBlocks(0, blockRows, computeBlocks);
+		} else {
+			computeCellHistograms(0, cellRows);
+			computeDescriptors(0, blockRows, workDesc);
 		}
+	}
 
+	/**
+	 * Computes the descriptors for blocks inside the specified range of block rows
+	 *
+	 * @param blockRow0 First block row, inclusive
+	 * @param blockRow1 Last block row, exclusive
+	 * @param work Work space for when the output is an array
+	 */
+	void computeDescriptors( int blockRow0 , int blockRow1 , TupleDesc_F64 work ) {
+		for (int blockRow = blockRow0; blockRow < blockRow1; blockRow++) {
+			int row = blockRow*stepBlock;
+			int index = blockRow*blockCols;
+			for (int blockCol = 0; blockCol < blockCols; blockCol++, index++ ) {
+				int col = blockCol*stepBlock;
+
+				// set location to top-left pixel
+				locations.get(index).set(col* pixelsPerCell,row* pixelsPerCell);
+
+				TupleDesc_F64 d = lookupDescription(index, work);
+				computeDescriptor(row, col, d);
+				saveDescription(index, d);
+			}
+		}
 	}
 
 	/**
@@ -149,8 +206,16 @@ public class DescribeDenseHogFastAlg<Input extends ImageBase<Input>> extends Bas
 		// set location to top-left pixel
 		locations.grow().set(col* pixelsPerCell,row* pixelsPerCell);
 
-		TupleDesc_F64 d = descriptions.grow();
+		computeDescriptor(row, col, descriptions.grow());
+	}
 
+	/**
+	 * Compute the descriptor from the specified cells.  (row,col) to (row+w,col+w)
+	 * @param row Lower extent of cell rows
+	 * @param col Lower extent of cell columns
+	 * @param d Storage for the descriptor
+	 */
+	void computeDescriptor(int row, int col, TupleDesc_F64 d) {
 		int indexDesc = 0;
 		for (int i = 0; i < cellsPerBlockY; i++) {
 			for (int j = 0; j < cellsPerBlockX; j++) {
@@ -171,14 +236,24 @@ public class DescribeDenseHogFastAlg<Input extends ImageBase<Input>> extends Bas
 
 	 */
 	void computeCellHistograms() {
+		computeCellHistograms(0, cellRows);
+	}
+
+	/**
+	 * Compute histograms for cells inside the specified range of cell rows using precomputed derivative.
+	 *
+	 * @param cellRow0 First cell row, inclusive
+	 * @param cellRow1 Last cell row, exclusive
+	 */
+	void computeCellHistograms( int cellRow0 , int cellRow1 ) {
 
 		int width = cellCols* pixelsPerCell;
-		int height = cellRows* pixelsPerCell;
+		int height = cellRow1* pixelsPerCell;
 
 		float angleBinSize = GrlConstants.F_PI/orientationBins;
 
-		int indexCell = 0;
-		for (int i = 0; i < height; i += pixelsPerCell) {
+		int indexCell = cellRow0*cellCols;
+		for (int i = cellRow0*pixelsPerCell; i < height; i += pixelsPerCell) {
 			for (int j = 0; j < width; j += pixelsPerCell, indexCell++ ) {
 				Cell c = cells[indexCell];
 				c.reset();
@@ -21,6 +21,9 @@ package boofcv.alg.feature.dense;
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.feature.describe.DescribePointSift;
 import boofcv.alg.feature.describe.DescribeSiftCommon;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.concurrency.WorkerPool;
 import boofcv.core.image.FactoryGImageGray;
 import boofcv.core.image.GImageGray;
 import boofcv.struct.feature.TupleDesc_F64;
@@ -30,6 +33,7 @@ import boofcv.struct.image.ImageGray;
 import georegression.metric.UtilAngle;
 import georegression.struct.point.Point2D_I32;
 import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F32;
 
 /**
  * <p>Computes {@link DescribePointSift SIFT} features in a regular grid across an entire image at a single
@@ -42,6 +46,13 @@ import org.ddogleg.struct.FastQueue;
  * the sampling period be adjusted.  Multiple descriptors can overlap the same area, so pixel orientation and
  * magnitude is just computed once and saved.</p>
  *
+ * <p>Descriptors can be written into individual {@link TupleDesc_F64} or into a single contiguous array,
+ * see {@link #setOutputArray(boolean)}.</p>
+ *
+ * <p>Concurrency: When {@link BoofConcurrency#isActive()} pixel orientation and magnitude are computed in bands of
+ * image rows and descriptors in bands of sample rows.  Results are identical to the single threaded
+ * computation.</p>
+ *
  * @author Peter Abeles
  */
 public class DescribeDenseSiftAlg<D extends ImageGray<D>> extends DescribeSiftCommon {
@@ -60,9 +71,46 @@ public class DescribeDenseSiftAlg<D extends ImageGray<D>> extends DescribeSiftCo
 	GrayF64 savedAngle = new GrayF64(1,1);
 	GrayF32 savedMagnitude = new GrayF32(1,1);
 
+	// If true descriptors are written into a single contiguous array instead of into descriptors
+	boolean outputArray = false;
+	// Storage for descriptors when written into an array.  Descriptor 'i' starts at index i*getDescriptorLength()
+	GrowQueue_F32 descriptorsArray = new GrowQueue_F32();
+	// work space used to compute a descriptor before it's copied into the array
+	TupleDesc_F64 workDesc;
+	// work space for each thread when computed concurrently
+	WorkerPool<TupleDesc_F64> workDescs;
+
 	// saved location of where in the image it sampled
 	FastQueue<Point2D_I32> sampleLocations = new FastQueue<>(Point2D_I32.class, true);
 
+	// describes the sampling grid
+	int X0,X1,Y0,Y1,numX,numY;
+
+	// precomputes angles for a band of pixel rows
+	IntRangeConsumer computeAngles = new IntRangeConsumer() {
+		@Override
+		public void accept(int minInclusive, int maxExclusive) {
+			precomputeAngles(minInclusive, maxExclusive);
+		}
+	};
+
+	// computes descriptors for a band of sample rows
+	IntRangeConsumer computeSamples = new IntRangeConsumer() {
+		@Override
+		public void accept(int minInclusive, int maxExclusive) {
+			if( !outputArray ) {
+				computeDescriptors(minInclusive, maxExclusive, null);
+				return;
+			}
+			TupleDesc_F64 work = workDescs.acquire();
+			try {
+				computeDescriptors(minInclusive, maxExclusive, work);
+			} finally {
+				workDescs.release(work);
+			}
+		}
+	};
+
 	/**
 	 * Specifies SIFT descriptor structure and sampling frequency.
 	 * @param widthSubregion Width of sub-region in samples.  Try 4
@@ -92,6 +140,13 @@ public class DescribeDenseSiftAlg<D extends ImageGray<D>> extends DescribeSiftCo
 				return new TupleDesc_F64(DOF);
 			}
 		};
+		workDesc = new TupleDesc_F64(DOF);
+		workDescs = new WorkerPool<TupleDesc_F64>() {
+			@Override
+			protected TupleDesc_F64 createWorker() {
+				return new TupleDesc_F64(DOF);
+			}
+		};
 	}
 
 	/**
@@ -111,7 +166,11 @@ public class DescribeDenseSiftAlg<D extends ImageGray<D>> extends DescribeSiftCo
 		imageDerivX.wrap(derivX);
 		imageDerivY.wrap(derivY);
 
-		precomputeAngles(derivX);
+		if( BoofConcurrency.isActive() ) {
+			BoofConcurrency.loopBlocks(0, derivX.height, computeAngles);
+		} else {
+			precomputeAngles(0, derivX.height);
+		}
 	}
 
 	/**
@@ -122,36 +181,71 @@ public class DescribeDenseSiftAlg<D extends ImageGray<D>> extends DescribeSiftCo
 		int width = widthSubregion*widthGrid;
 		int radius = width/2;
 
-		int X0 = radius,X1 = savedAngle.width-radius;
-		int Y0 = radius,Y1 = savedAngle.height-radius;
+		X0 = radius;X1 = savedAngle.width-radius;
+		Y0 = radius;Y1 = savedAngle.height-radius;
 
-		int numX = (int)((X1-X0)/periodColumns);
-		int numY = (int)((Y1-Y0)/periodRows);
+		numX = (int)((X1-X0)/periodColumns);
+		numY = (int)((Y1-Y0)/periodRows);
+
+		int total = numX*numY;
+		sampleLocations.resize(total);
+		if( outputArray ) {
+			descriptors.reset();
+			descriptorsArray.resize(total*getDescriptorLength());
+		} else {
+			descriptors.resize(total);
+			descriptorsArray.reset();
+		}
+
+		if( BoofConcurrency.isActive() ) {
+			BoofConcurrency.loopBlocks(0, numY, computeSamples);
+		} else {
+			computeDescriptors(0, numY, workDesc);
+		}
+	}
 
-		descriptors.reset();
-		sampleLocations.reset();
+	/**
+	 * Computes the descriptors for samples inside the specified range of sample rows
+	 *
+	 * @param row0 First sample row, inclusive
+	 * @param row1 Last sample row, exclusive
+	 * @param work Work space for when the output is an array
+	 */
+	void computeDescriptors( int row0 , int row1 , TupleDesc_F64 work ) {
+		int DOF = getDescriptorLength();
 
-		for (int i = 0; i < numY; i++) {
+		for (int i = row0; i < row1; i++) {
 			int y = (Y1-Y0)*i/(numY-1) + Y0;
+			int index = i*numX;
 
-			for (int j = 0; j < numX; j++) {
+			for (int j = 0; j < numX; j++, index++ ) {
 				int x = (X1-X0)*j/(numX-1) + X0;
 
-				TupleDesc_F64 desc = descriptors.grow();
+				TupleDesc_F64 desc = outputArray ? work : descriptors.get(index);
 
 				computeDescriptor(x,y,desc);
-				sampleLocations.grow().set(x,y);
+				sampleLocations.get(index).set(x,y);
+
+				if( outputArray ) {
+					float[] data = descriptorsArray.data;
+					int offset = index*DOF;
+					for (int k = 0; k < DOF; k++) {
+						data[offset+k] = (float)desc.value[k];
+					}
+				}
 			}
 		}
 	}
 
 	/**
-	 * Computes the angle of each pixel and its gradient magnitude
+	 * Computes the angle of each pixel and its gradient magnitude inside the specified range of rows
 	 */
-	void precomputeAngles(D image) {
-		int savecIndex = 0;
-		for (int y = 0; y < image.height; y++) {
+	void precomputeAngles( int y0 , int y1 ) {
+		ImageGray image = imageDerivX.getImage();
+
+		for (int y = y0; y < y1; y++) {
 			int pixelIndex = y*image.stride + image.startIndex;
+			int savecIndex = y*image.width;
 
 			for (int x = 0; x < image.width; x++, pixelIndex++, savecIndex++ ) {
 				float spacialDX = imageDerivX.getF(pixelIndex);
@@ -213,10 +307,35 @@ public class DescribeDenseSiftAlg<D extends ImageGray<D>> extends DescribeSiftCo
 		this.periodColumns = periodColumns;
 	}
 
+	/**
+	 * List of descriptors.  Empty if the output is an array.
+	 */
 	public FastQueue<TupleDesc_F64> getDescriptors() {
 		return descriptors;
 	}
 
+	/**
+	 * Descriptors stored in a single contiguous array.  The descriptor at index 'i' starts at element
+	 * i*{@link #getDescriptorLength()}. Empty unless the output is an array.
+	 */
+	public GrowQueue_F32 getDescriptorsArray() {
+		return descriptorsArray;
+	}
+
+	/**
+	 * Specifies if descriptors are written into a single contiguous array, see {@link #getDescriptorsArray()},
+	 * or into {@link #getDescriptors()}. Writing into an array avoids a separate object for each descriptor.
+	 *
+	 * @param outputArray true to write into an array.  false by default.
+	 */
+	public void setOutputArray( boolean outputArray ) {
+		this.outputArray = outputArray;
+	}
+
+	public boolean isOutputArray() {
+		return outputArray;
+	}
+
 	/**
 	 * Returns where in the image it sampled the features
 	 */
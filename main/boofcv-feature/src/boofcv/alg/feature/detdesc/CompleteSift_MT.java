@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detdesc;
+
+import boofcv.abst.feature.detect.extract.NonMaxLimiter;
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.feature.describe.DescribePointSift;
+import boofcv.alg.feature.detect.interest.SiftDetector_MT;
+import boofcv.alg.feature.detect.interest.SiftScaleSpace;
+import boofcv.alg.feature.orientation.OrientationHistogramSift;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntConsumer;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.concurrency.WorkerPool;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.struct.feature.BrightFeature;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.GrayF32;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F64;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link CompleteSift}.  Each octave is processed in the following steps:
+ * </p>
+ * <ol>
+ * <li>Features are detected in each DoG image in parallel using {@link SiftDetector_MT}.</li>
+ * <li>The image gradient of each scale is computed in parallel and kept until the octave is finished.</li>
+ * <li>Orientations of all the detections in the octave are estimated in parallel batches.</li>
+ * <li>A description is computed for every (detection, orientation) pair in parallel batches.</li>
+ * </ol>
+ * <p>
+ * Every thread has its own orientation estimator, descriptor and gradient operator.  Output storage is declared
+ * in the same order as the single threaded algorithm before descriptions are computed, so the results are
+ * identical.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class CompleteSift_MT extends CompleteSift {
+
+	// detects features in each scale in parallel
+	SiftDetector_MT detector;
+
+	// work space for each thread
+	WorkerPool<Worker> workers;
+
+	// gradient of each scale image in the current octave
+	List<GrayF32> scaleDerivX = new ArrayList<>();
+	List<GrayF32> scaleDerivY = new ArrayList<>();
+
+	// index of the first detection in the current octave
+	int octaveFirst;
+	// scale which each detection in the current octave was found at
+	GrowQueue_I32 detectionScale = new GrowQueue_I32();
+	// orientations for each detection in the current octave
+	FastQueue<GrowQueue_F64> detectionAngles = new FastQueue<>(GrowQueue_F64.class, true);
+	// index of the first feature for each detection in the current octave
+	GrowQueue_I32 detectionFeature = new GrowQueue_I32();
+
+	/**
+	 * Configures SIFT.  See {@link CompleteSift#CompleteSift} for a description of parameters.
+	 *
+	 * @param extractors Creates a new spatial feature detector for each thread.
+	 * @param orientations Creates a new orientation estimator for each thread.
+	 * @param describers Creates a new descriptor for each thread.
+	 */
+	public CompleteSift_MT(SiftScaleSpace scaleSpace, double edgeR,
+						   WorkerPool<NonMaxLimiter> extractors,
+						   WorkerPool<OrientationHistogramSift<GrayF32>> orientations,
+						   WorkerPool<DescribePointSift<GrayF32>> describers ) {
+		this(scaleSpace, edgeR, extractors, orientations, describers,
+				extractors.acquire(), orientations.acquire(), describers.acquire());
+	}
+
+	private CompleteSift_MT(SiftScaleSpace scaleSpace, double edgeR,
+							WorkerPool<NonMaxLimiter> extractors,
+							final WorkerPool<OrientationHistogramSift<GrayF32>> orientations,
+							final WorkerPool<DescribePointSift<GrayF32>> describers ,
+							NonMaxLimiter prototypeExtractor ,
+							OrientationHistogramSift<GrayF32> prototypeOrientation ,
+							DescribePointSift<GrayF32> prototypeDescribe ) {
+		super(scaleSpace, edgeR, prototypeExtractor, prototypeOrientation, prototypeDescribe);
+		extractors.release(prototypeExtractor);
+		orientations.release(prototypeOrientation);
+		describers.release(prototypeDescribe);
+
+		detector = new SiftDetector_MT(scaleSpace, edgeR, extractors);
+
+		workers = new WorkerPool<Worker>() {
+			@Override
+			protected Worker createWorker() {
+				return new Worker(orientations.acquire(), describers.acquire());
+			}
+		};
+
+		for (int i = 0; i < scaleSpace.getNumScales(); i++) {
+			scaleDerivX.add(new GrayF32(1,1));
+			scaleDerivY.add(new GrayF32(1,1));
+		}
+	}
+
+	@Override
+	protected void detectOctave() {
+		// find the features and compute the gradient in each scale
+		detector.detectScales();
+		BoofConcurrency.loopFor(1, scaleSpace.getNumScales()+1, computeGradient);
+
+		// save detections in the same order as the single threaded algorithm
+		octaveFirst = detections.size;
+		detectionScale.reset();
+		for (int j = 1; j < scaleSpace.getNumScales()+1; j++) {
+			FastQueue<ScalePoint> found = detector.getScaleDetections(j);
+			for (int i = 0; i < found.size; i++) {
+				detections.grow().set(found.get(i));
+				detectionScale.add(j);
+			}
+		}
+		int numDetections = detections.size - octaveFirst;
+
+		// find the orientations of every detection
+		detectionAngles.reset();
+		for (int i = 0; i < numDetections; i++) {
+			detectionAngles.grow();
+		}
+		BoofConcurrency.loopBlocks(0, numDetections, computeOrientations);
+
+		// declare storage for each description
+		detectionFeature.reset();
+		for (int i = 0; i < numDetections; i++) {
+			ScalePoint p = detections.get(octaveFirst+i);
+			GrowQueue_F64 angles = detectionAngles.get(i);
+			detectionFeature.add(features.size);
+			for (int k = 0; k < angles.size; k++) {
+				features.grow().white = p.white;
+				orientations.add(angles.get(k));
+				locations.add(p);
+			}
+		}
+
+		// describe each feature
+		BoofConcurrency.loopBlocks(0, numDetections, computeDescriptions);
+	}
+
+	// computes the gradient of a single scale image
+	private final IntConsumer computeGradient = new IntConsumer() {
+		@Override
+		public void accept(int scaleIndex) {
+			GrayF32 input = scaleSpace.getImageScale(scaleIndex);
+			GrayF32 derivX = scaleDerivX.get(scaleIndex-1);
+			GrayF32 derivY = scaleDerivY.get(scaleIndex-1);
+			derivX.reshape(input.width,input.height);
+			derivY.reshape(input.width,input.height);
+
+			Worker worker = workers.acquire();
+			try {
+				worker.gradient.process(input,derivX,derivY);
+			} finally {
+				workers.release(worker);
+			}
+		}
+	};
+
+	// estimates the orientation of a batch of detections
+	private final IntRangeConsumer computeOrientations = new IntRangeConsumer() {
+		@Override
+		public void accept(int minInclusive, int maxExclusive) {
+			Worker worker = workers.acquire();
+			try {
+				double pixelScaleToInput = scaleSpace.pixelScaleCurrentToInput();
+				int currentScale = -1;
+				for (int i = minInclusive; i < maxExclusive; i++) {
+					int scale = detectionScale.get(i);
+					if( scale != currentScale ) {
+						worker.setScale(scale);
+						currentScale = scale;
+					}
+					ScalePoint p = detections.get(octaveFirst+i);
+
+					// adjust the image for the down sampling in each octave
+					double localX = p.x / pixelScaleToInput;
+					double localY = p.y / pixelScaleToInput;
+					double localSigma = p.scale / pixelScaleToInput;
+
+					worker.orientation.process(localX,localY,localSigma);
+					detectionAngles.get(i).setTo(worker.orientation.getOrientations());
+				}
+			} finally {
+				workers.release(worker);
+			}
+		}
+	};
+
+	// describes every orientation of a batch of detections
+	private final IntRangeConsumer computeDescriptions = new IntRangeConsumer() {
+		@Override
+		public void accept(int minInclusive, int maxExclusive) {
+			Worker worker = workers.acquire();
+			try {
+				double pixelScaleToInput = scaleSpace.pixelScaleCurrentToInput();
+				int currentScale = -1;
+				for (int i = minInclusive; i < maxExclusive; i++) {
+					int scale = detectionScale.get(i);
+					if( scale != currentScale ) {
+						worker.setScale(scale);
+						currentScale = scale;
+					}
+					ScalePoint p = detections.get(octaveFirst+i);
+
+					double localX = p.x / pixelScaleToInput;
+					double localY = p.y / pixelScaleToInput;
+					double localSigma = p.scale / pixelScaleToInput;
+
+					GrowQueue_F64 angles = detectionAngles.get(i);
+					int first = detectionFeature.get(i);
+					for (int k = 0; k < angles.size; k++) {
+						BrightFeature feature = features.get(first+k);
+						worker.describe.process(localX,localY,localSigma,angles.get(k),feature);
+					}
+				}
+			} finally {
+				workers.release(worker);
+			}
+		}
+	};
+
+	/**
+	 * Work space which can't be shared between threads
+	 */
+	class Worker {
+		OrientationHistogramSift<GrayF32> orientation;
+		DescribePointSift<GrayF32> describe;
+		ImageGradient<GrayF32,GrayF32> gradient = FactoryDerivative.three(GrayF32.class,null);
+
+		Worker(OrientationHistogramSift<GrayF32> orientation, DescribePointSift<GrayF32> describe) {
+			this.orientation = orientation;
+			this.describe = describe;
+		}
+
+		/**
+		 * Uses the gradient from the specified scale in the current octave
+		 */
+		void setScale( int scaleIndex ) {
+			GrayF32 derivX = scaleDerivX.get(scaleIndex-1);
+			GrayF32 derivY = scaleDerivY.get(scaleIndex-1);
+			orientation.setImageGradient(derivX,derivY);
+			describe.setImageGradient(derivX,derivY);
+		}
+	}
+}
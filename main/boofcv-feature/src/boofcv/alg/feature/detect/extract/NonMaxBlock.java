@@ -80,6 +80,22 @@ public abstract class NonMaxBlock {
 	 * @param localMax (Output) storage for found local maximums.
 	 */
 	public void process(GrayF32 intensityImage, QueueCorner localMin, QueueCorner localMax) {
+		process(intensityImage, localMin, localMax, 0, getBlockRows(intensityImage));
+	}
+
+	/**
+	 * Detects local minimums and/or maximums inside a band of block rows.  Detections are identical to the ones
+	 * found inside the same rows by {@link #process(GrayF32, QueueCorner, QueueCorner)}, which allows the
+	 * image to be split up and processed in parallel.
+	 *
+	 * @param intensityImage (Input) Feature intensity image.
+	 * @param localMin (Output) storage for found local minimums.
+	 * @param localMax (Output) storage for found local maximums.
+	 * @param blockRow0 First row of blocks, inclusive
+	 * @param blockRow1 Last row of blocks, exclusive.  See {@link #getBlockRows(GrayF32)}
+	 */
+	public void process(GrayF32 intensityImage, QueueCorner localMin, QueueCorner localMax,
+						int blockRow0 , int blockRow1 ) {
 
 		this.localMin = localMin;
 		this.localMax = localMax;
@@ -89,7 +105,8 @@ public abstract class NonMaxBlock {
 
 		int step = radius+1;
 
-		for( int y = border; y < endY; y += step ) {
+		int yEnd = Math.min(endY, border + blockRow1*step);
+		for( int y = border + blockRow0*step; y < yEnd; y += step ) {
 			int y1 = y + step;
 			if( y1 > endY ) y1 = endY;
 
@@ -101,6 +118,27 @@ public abstract class NonMaxBlock {
 		}
 	}
 
+	/**
+	 * Number of rows of blocks that the image is broken up into
+	 */
+	public int getBlockRows( GrayF32 intensityImage ) {
+		int step = radius+1;
+		int length = intensityImage.height - 2*border;
+		return length <= 0 ? 0 : (length + step - 1)/step;
+	}
+
+	/**
+	 * Copies the search radius, thresholds, and border from 'src'
+	 */
+	public void setConfiguration( NonMaxBlock src ) {
+		// children might declare storage which depends on the radius
+		if( this.radius != src.radius )
+			setSearchRadius(src.radius);
+		this.thresholdMin = src.thresholdMin;
+		this.thresholdMax = src.thresholdMax;
+		this.border = src.border;
+	}
+
 	protected abstract void searchBlock( int x0 , int y0 , int x1 , int y1 , GrayF32 img );
 
 	public void setSearchRadius(int radius) {
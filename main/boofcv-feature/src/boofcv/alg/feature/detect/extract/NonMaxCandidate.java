@@ -57,11 +57,7 @@ public abstract class NonMaxCandidate {
 						QueueCorner candidatesMin, QueueCorner candidatesMax,
 						QueueCorner foundMin , QueueCorner foundMax ) {
 
-		this.input = intensityImage;
-
-		// pixels indexes larger than these should not be examined
-		endBorderX = intensityImage.width-ignoreBorder;
-		endBorderY = intensityImage.height-ignoreBorder;
+		setImage(intensityImage);
 
 		if( candidatesMin != null )
 			examineMinimum(intensityImage,candidatesMin,foundMin);
@@ -70,11 +66,64 @@ public abstract class NonMaxCandidate {
 
 	}
 
+	/**
+	 * Checks to see if candidates inside the specified range are local minimums.  Allows the candidate list
+	 * to be split up and processed in parallel.
+	 *
+	 * @param intensityImage (Input) Feature intensity image
+	 * @param candidates (Input) Candidate local minimums
+	 * @param start First candidate, inclusive
+	 * @param end Last candidate, exclusive
+	 * @param found (Output) Storage for found minimums
+	 */
+	public void processMinimum(GrayF32 intensityImage, QueueCorner candidates, int start, int end, QueueCorner found) {
+		setImage(intensityImage);
+		examineMinimum(intensityImage,candidates,start,end,found);
+	}
+
+	/**
+	 * Checks to see if candidates inside the specified range are local maximums.  Allows the candidate list
+	 * to be split up and processed in parallel.
+	 *
+	 * @param intensityImage (Input) Feature intensity image
+	 * @param candidates (Input) Candidate local maximums
+	 * @param start First candidate, inclusive
+	 * @param end Last candidate, exclusive
+	 * @param found (Output) Storage for found maximums
+	 */
+	public void processMaximum(GrayF32 intensityImage, QueueCorner candidates, int start, int end, QueueCorner found) {
+		setImage(intensityImage);
+		examineMaximum(intensityImage,candidates,start,end,found);
+	}
+
+	private void setImage( GrayF32 intensityImage ) {
+		this.input = intensityImage;
+
+		// pixels indexes larger than these should not be examined
+		endBorderX = intensityImage.width-ignoreBorder;
+		endBorderY = intensityImage.height-ignoreBorder;
+	}
+
+	/**
+	 * Copies the search radius, thresholds, and border from 'src'
+	 */
+	public void setConfiguration( NonMaxCandidate src ) {
+		this.radius = src.radius;
+		this.thresholdMin = src.thresholdMin;
+		this.thresholdMax = src.thresholdMax;
+		this.ignoreBorder = src.ignoreBorder;
+	}
+
 	protected void examineMinimum(GrayF32 intensityImage , QueueCorner candidates , QueueCorner found ) {
+		examineMinimum(intensityImage, candidates, 0, candidates.size, found);
+	}
+
+	protected void examineMinimum(GrayF32 intensityImage , QueueCorner candidates , int start , int end ,
+								  QueueCorner found ) {
 		final int stride = intensityImage.stride;
 		final float inten[] = intensityImage.data;
 
-		for (int iter = 0; iter < candidates.size; iter++) {
+		for (int iter = start; iter < end; iter++) {
 			Point2D_I16 pt = candidates.data[iter];
 
 			if( pt.x < ignoreBorder || pt.y < ignoreBorder || pt.x >= endBorderX || pt.y >= endBorderY)
@@ -96,10 +145,15 @@ public abstract class NonMaxCandidate {
 	}
 
 	protected void examineMaximum(GrayF32 intensityImage , QueueCorner candidates , QueueCorner found ) {
+		examineMaximum(intensityImage, candidates, 0, candidates.size, found);
+	}
+
+	protected void examineMaximum(GrayF32 intensityImage , QueueCorner candidates , int start , int end ,
+								  QueueCorner found ) {
 		final int stride = intensityImage.stride;
 		final float inten[] = intensityImage.data;
 
-		for (int iter = 0; iter < candidates.size; iter++) {
+		for (int iter = start; iter < end; iter++) {
 			Point2D_I16 pt = candidates.data[iter];
 
 			if( pt.x < ignoreBorder || pt.y < ignoreBorder || pt.x >= endBorderX || pt.y >= endBorderY)
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.extract;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntConsumer;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.GrayF32;
+import georegression.struct.point.Point2D_I16;
+import org.ddogleg.sorting.QuickSelect;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F32;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link SelectNBestFeatures} which uses a parallel partial sort.  The list of
+ * features is split up into blocks and the N best in each block are selected in their own thread.  The N best
+ * are then selected from the combined set of survivors.
+ * </p>
+ *
+ * <p>
+ * The same features are selected as in the single threaded version, unless several features have the same
+ * intensity as the N-th best.  Only the set of features is the same.  The single threaded version returns
+ * them in the order found by {@link QuickSelect}, while this class always returns them in the same order as they
+ * appear in the input list.  If {@link BoofConcurrency#isActive()} is false or the list is small then the
+ * single threaded algorithm is used and its output sorted, so the order doesn't depend on which path is taken.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SelectNBestFeatures_MT extends SelectNBestFeatures {
+
+	// minimum number of features in a block
+	int minBlock = 2000;
+
+	// storage for each block
+	FastQueue<Block> blocks = new FastQueue<Block>(Block.class,true) {
+		@Override
+		protected Block createInstance() {
+			return new Block();
+		}
+	};
+
+	// index of features which survived the selection inside each block
+	GrowQueue_I32 survivors = new GrowQueue_I32();
+	GrowQueue_I32 selected = new GrowQueue_I32();
+
+	// input for the current image
+	GrayF32 intensityImage;
+	QueueCorner origCorners;
+	boolean positive;
+
+	// selects the best features inside a block
+	IntConsumer selectBlock = new IntConsumer() {
+		@Override
+		public void accept(int index) {
+			int start = origCorners.size*index/blocks.size;
+			int end = origCorners.size*(index+1)/blocks.size;
+			blocks.get(index).select(start, end);
+		}
+	};
+
+	public SelectNBestFeatures_MT(int N) {
+		super(N);
+	}
+
+	@Override
+	public void process(GrayF32 intensityImage, QueueCorner origCorners, boolean positive) {
+		int numBlocks = Math.min(BoofConcurrency.getMaxThreads(), origCorners.size/minBlock);
+
+		if( !BoofConcurrency.isActive() || numBlocks <= 1 || origCorners.size <= target ) {
+			super.process(intensityImage, origCorners, positive);
+			if( origCorners.size > target ) {
+				// put the features selected by the single threaded algorithm into input order too
+				Arrays.sort(indexes,0,target);
+				bestCorners.reset();
+				for (int i = 0; i < target; i++) {
+					Point2D_I16 pt = origCorners.data[indexes[i]];
+					bestCorners.add(pt.x, pt.y);
+				}
+			}
+			return;
+		}
+
+		this.intensityImage = intensityImage;
+		this.origCorners = origCorners;
+		this.positive = positive;
+
+		blocks.resize(numBlocks);
+		BoofConcurrency.loopFor(0, numBlocks, selectBlock);
+
+		// combine the survivors from each block
+		survivors.reset();
+		for (int i = 0; i < numBlocks; i++) {
+			survivors.addAll(blocks.get(i).selected);
+		}
+
+		if( survivors.size > inten.length ) {
+			indexes = new int[survivors.size];
+			inten = new float[survivors.size];
+		}
+		for (int i = 0; i < survivors.size; i++) {
+			inten[i] = intensity(origCorners.data[survivors.data[i]]);
+		}
+
+		// select the best features from the survivors
+		QuickSelect.selectIndex(inten,target,survivors.size,indexes);
+
+		// sort by index in the input list so that the order doesn't depend on the number of threads
+		selected.resize(target);
+		for (int i = 0; i < target; i++) {
+			selected.data[i] = survivors.data[indexes[i]];
+		}
+		Arrays.sort(selected.data,0,target);
+
+		bestCorners.reset();
+		for (int i = 0; i < target; i++) {
+			Point2D_I16 pt = origCorners.data[selected.data[i]];
+			bestCorners.add(pt.x, pt.y);
+		}
+
+		this.intensityImage = null;
+		this.origCorners = null;
+	}
+
+	/**
+	 * Returns the intensity used for sorting.  QuickSelect selects the k smallest so the negative is used
+	 * when selecting the k biggest
+	 */
+	private float intensity( Point2D_I16 pt ) {
+		float value = intensityImage.unsafe_get(pt.x, pt.y);
+		return positive ? -value : value;
+	}
+
+	public int getMinBlock() {
+		return minBlock;
+	}
+
+	/**
+	 * Specifies the minimum number of features examined by a single thread
+	 */
+	public void setMinBlock(int minBlock) {
+		if( minBlock <= 0 )
+			throw new IllegalArgumentException("Must be greater than zero");
+		this.minBlock = minBlock;
+	}
+
+	/**
+	 * Storage for selecting the best features inside a block
+	 */
+	class Block {
+		GrowQueue_F32 inten = new GrowQueue_F32();
+		GrowQueue_I32 indexes = new GrowQueue_I32();
+		// index of selected features in the input list
+		GrowQueue_I32 selected = new GrowQueue_I32();
+
+		void select( int start , int end ) {
+			int N = end-start;
+			selected.reset();
+
+			if( N <= target ) {
+				for (int i = start; i < end; i++) {
+					selected.add(i);
+				}
+				return;
+			}
+
+			inten.resize(N);
+			indexes.resize(N);
+			for (int i = 0; i < N; i++) {
+				inten.data[i] = intensity(origCorners.data[start+i]);
+			}
+
+			QuickSelect.selectIndex(inten.data,target,N,indexes.data);
+
+			for (int i = 0; i < target; i++) {
+				selected.add(start+indexes.data[i]);
+			}
+		}
+	}
+}
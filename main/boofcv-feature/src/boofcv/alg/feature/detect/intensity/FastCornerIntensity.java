@@ -24,6 +24,8 @@ import boofcv.struct.QueueCorner;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.ImageGray;
 
+import java.util.Arrays;
+
 /**
  * <p>
  * Generic interface for fast corner detection algorithms. The general idea is that at the points in a circle around
@@ -39,6 +41,14 @@ import boofcv.struct.image.ImageGray;
  * </p>
  *
  * <p>
+ * By default, before the decision tree is applied to a pixel an early reject test is performed on an entire row.
+ * Only the four pixels at 0, 90, 180, and 270 degrees in the circle are examined and a corner needs at least
+ * N/4 of them to be all above or all below the center pixel.  That test is done without branches inside a tight
+ * loop and most pixels in natural images are rejected by it, so few pixels need to go through the decision tree
+ * with its hard to predict branches.  The output is identical with or without the early reject test.
+ * </p>
+ *
+ * <p>
  * After a pixel is flagged as a corner then the the intensity the difference between the average
  * exterior pixel value which is part of the corner and the center pixel value.  See code for details.
  * </p>
@@ -83,6 +93,11 @@ public abstract class FastCornerIntensity<T extends ImageGray<T>> implements Fea
 	// Used to sample the image and compute the score
 	protected FastHelper<T> helper;
 
+	// if true rows are first processed by the quick early reject test
+	private boolean earlyReject = true;
+	// storage for pixels in a row which passed the early reject test
+	private int rowCandidates[] = new int[0];
+
 	/**
 	 * Constructor
 	 *
@@ -107,6 +122,19 @@ public abstract class FastCornerIntensity<T extends ImageGray<T>> implements Fea
 	}
 
 	public void process( T image , GrayF32 intensity ) {
+		process(image, intensity, 0, image.height);
+	}
+
+	/**
+	 * Computes the intensity inside a band of rows.  Pixels inside of the band which are inside the image's border
+	 * are not modified.  Candidates are reset and will only contain corners inside the band.
+	 *
+	 * @param image (Input) Image
+	 * @param intensity (Output) Feature intensity
+	 * @param y0 First row in the band, inclusive
+	 * @param y1 Last row in the band, exclusive
+	 */
+	public void process( T image , GrayF32 intensity , int y0 , int y1 ) {
 		candidates.reset();
 		this.image = image;
 
@@ -116,26 +144,79 @@ public abstract class FastCornerIntensity<T extends ImageGray<T>> implements Fea
 		}
 		helper.setImage(image,offsets);
 
-		for (int y = radius; y < image.height-radius; y++) {
-			int indexIntensity = intensity.startIndex + y*intensity.stride + radius;
-			int index = image.startIndex + y*image.stride + radius;
-			for (int x = radius; x < image.width-radius; x++, index++,indexIntensity++) {
-
-				helper.setThresholds(index);
-
-				if( checkLower(index) ) {
-					intensity.data[indexIntensity] = helper.scoreLower(index);
-					candidates.add(x,y);
-				} else if( checkUpper(index)) {
-					intensity.data[indexIntensity] = helper.scoreUpper(index);
-					candidates.add(x,y);
-				} else {
-					intensity.data[indexIntensity] = 0;
+		y0 = Math.max(radius, y0);
+		y1 = Math.min(image.height-radius, y1);
+
+		if( earlyReject ) {
+			int length = image.width-2*radius;
+			if( length <= 0 )
+				return;
+			if( rowCandidates.length < length )
+				rowCandidates = new int[length];
+
+			// each pixel along the continuous arc covers every 4th pixel in the circle
+			int minCount = getMinContinuous()/4;
+
+			for (int y = y0; y < y1; y++) {
+				int indexIntensity = intensity.startIndex + y*intensity.stride + radius;
+				int index = image.startIndex + y*image.stride + radius;
+				Arrays.fill(intensity.data, indexIntensity, indexIntensity+length, 0);
+
+				int total = helper.selectCandidates(index, length, minCount, rowCandidates);
+				for (int i = 0; i < total; i++) {
+					int offset = rowCandidates[i];
+					checkPixel(index+offset, indexIntensity+offset, intensity, radius+offset, y);
+				}
+			}
+		} else {
+			for (int y = y0; y < y1; y++) {
+				int indexIntensity = intensity.startIndex + y*intensity.stride + radius;
+				int index = image.startIndex + y*image.stride + radius;
+				for (int x = radius; x < image.width-radius; x++, index++,indexIntensity++) {
+					if( !checkPixel(index, indexIntensity, intensity, x, y) )
+						intensity.data[indexIntensity] = 0;
 				}
 			}
 		}
 	}
 
+	/**
+	 * Applies the full corner test to a pixel.  If it's a corner its score is saved and it's added to the
+	 * candidate list.
+	 *
+	 * @return true if it's a corner
+	 */
+	private boolean checkPixel( int index , int indexIntensity , GrayF32 intensity , int x , int y ) {
+		helper.setThresholds(index);
+
+		if( checkLower(index) ) {
+			intensity.data[indexIntensity] = helper.scoreLower(index);
+			candidates.add(x,y);
+		} else if( checkUpper(index)) {
+			intensity.data[indexIntensity] = helper.scoreUpper(index);
+			candidates.add(x,y);
+		} else {
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Minimum number of continuous pixels in the circle for it to be a corner
+	 */
+	public abstract int getMinContinuous();
+
+	/**
+	 * If true then the quick early reject test is applied to each row before the full test
+	 */
+	public boolean isEarlyReject() {
+		return earlyReject;
+	}
+
+	public void setEarlyReject(boolean earlyReject) {
+		this.earlyReject = earlyReject;
+	}
+
 	/**
 	 * Checks to see if the specified pixel qualifies as a corner with lower values
 	 */
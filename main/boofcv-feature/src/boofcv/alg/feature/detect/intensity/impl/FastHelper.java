@@ -51,4 +51,18 @@ public interface FastHelper<T extends ImageGray<T>> {
 	 * Checks to see if the specified pixel is above the upper threshold
 	 */
 	boolean checkPixelUpper( int index );
+
+	/**
+	 * Quickly rejects pixels in a row which can't be corners by only examining the four pixels in the circle at
+	 * 0, 90, 180, and 270 degrees, i.e. offsets 0, 4, 8, and 12.  A corner with N continuous pixels must have
+	 * at least N/4 of these pixels all below the lower threshold or all above the upper threshold.  The entire
+	 * row is processed in a single loop without branches to keep the CPU's pipeline full.
+	 *
+	 * @param index0 Index of the first pixel in the row
+	 * @param length Number of pixels in the row which are examined
+	 * @param minCount Minimum number of the four pixels which need to be above or below the threshold
+	 * @param candidates (Output) Pixels which passed the test, as an offset from index0.  Must be at least length long.
+	 * @return Number of pixels which passed the test
+	 */
+	int selectCandidates( int index0 , int length , int minCount , int candidates[] );
 }
@@ -101,4 +101,33 @@ public class ImplFastHelper_F32 implements FastHelper<GrayF32> {
 	{
 		return (image.data[index] ) > upper;
 	}
+
+	@Override
+	public int selectCandidates( int index0 , int length , int minCount , int candidates[] ) {
+		final float[] data = image.data;
+		final int o0 = offsets[0], o4 = offsets[4], o8 = offsets[8], o12 = offsets[12];
+		final float tol = pixelTol;
+		// a count is >= minCount if (minCount - 1 - count) is negative, which sets the sign bit
+		final int minus = minCount-1;
+
+		int total = 0;
+		for( int i = 0, index = index0; i < length; i++, index++ ) {
+			float center = data[index];
+			float lower = center - tol;
+			float upper = center + tol;
+
+			float a = data[index+o0];
+			float b = data[index+o4];
+			float c = data[index+o8];
+			float d = data[index+o12];
+
+			int countLower = (a < lower ? 1 : 0) + (b < lower ? 1 : 0) + (c < lower ? 1 : 0) + (d < lower ? 1 : 0);
+			int countUpper = (a > upper ? 1 : 0) + (b > upper ? 1 : 0) + (c > upper ? 1 : 0) + (d > upper ? 1 : 0);
+
+			// always write the offset, but only advance if it passed
+			candidates[total] = i;
+			total += ((minus-countLower)>>>31) | ((minus-countUpper)>>>31);
+		}
+		return total;
+	}
 }
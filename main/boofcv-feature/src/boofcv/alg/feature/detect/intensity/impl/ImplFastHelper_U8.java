@@ -101,4 +101,33 @@ public class ImplFastHelper_U8 implements FastHelper<GrayU8> {
 	{
 		return (image.data[index] & 0xFF) > upper;
 	}
+
+	@Override
+	public int selectCandidates( int index0 , int length , int minCount , int candidates[] ) {
+		final byte[] data = image.data;
+		final int o0 = offsets[0], o4 = offsets[4], o8 = offsets[8], o12 = offsets[12];
+		final int tol = pixelTol;
+		// a count is >= minCount if (minCount - 1 - count) is negative, which sets the sign bit
+		final int minus = minCount-1;
+
+		int total = 0;
+		for( int i = 0, index = index0; i < length; i++, index++ ) {
+			int center = data[index] & 0xFF;
+			int lower = center - tol;
+			int upper = center + tol;
+
+			int a = data[index+o0] & 0xFF;
+			int b = data[index+o4] & 0xFF;
+			int c = data[index+o8] & 0xFF;
+			int d = data[index+o12] & 0xFF;
+
+			int countLower = ((a-lower)>>>31) + ((b-lower)>>>31) + ((c-lower)>>>31) + ((d-lower)>>>31);
+			int countUpper = ((upper-a)>>>31) + ((upper-b)>>>31) + ((upper-c)>>>31) + ((upper-d)>>>31);
+
+			// always write the offset, but only advance if it passed
+			candidates[total] = i;
+			total += ((minus-countLower)>>>31) | ((minus-countUpper)>>>31);
+		}
+		return total;
+	}
 }
@@ -43,6 +43,11 @@ public class ImplFastIntensity11<T extends ImageGray<T>> extends FastCornerInten
 		super(helper);
 	}
 
+	@Override
+	public int getMinContinuous() {
+		return 11;
+	}
+
 	@Override
 	protected boolean checkLower( int index )
 	{
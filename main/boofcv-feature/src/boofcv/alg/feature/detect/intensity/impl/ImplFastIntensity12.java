@@ -43,6 +43,11 @@ public class ImplFastIntensity12<T extends ImageGray<T>> extends FastCornerInten
 		super(helper);
 	}
 
+	@Override
+	public int getMinContinuous() {
+		return 12;
+	}
+
 	@Override
 	protected boolean checkLower( int index )
 	{
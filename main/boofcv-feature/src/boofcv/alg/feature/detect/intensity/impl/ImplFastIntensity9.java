@@ -43,6 +43,11 @@ public class ImplFastIntensity9<T extends ImageGray<T>> extends FastCornerIntens
 		super(helper);
 	}
 
+	@Override
+	public int getMinContinuous() {
+		return 9;
+	}
+
 	@Override
 	protected boolean checkLower( int index )
 	{
@@ -85,11 +85,11 @@ import java.util.List;
 public class FastHessianFeatureDetector<II extends ImageGray<II>> {
 
 	// finds features from 2D intensity image
-	private NonMaxSuppression extractor;
+	protected NonMaxSuppression extractor;
 	// sorts feature by their intensity
-	private SelectNBestFeatures sortBest;
+	protected SelectNBestFeatures sortBest;
 	// the maximum number of returned feature per scale
-	private int maxFeaturesPerScale;
+	protected int maxFeaturesPerScale;
 
 	// local sub-space
 	private GrayF32 intensity[];
@@ -97,21 +97,21 @@ public class FastHessianFeatureDetector<II extends ImageGray<II>> {
 	private QueueCorner foundFeatures = new QueueCorner(100);
 
 	// List of found feature points
-	private FastQueue<ScalePoint> foundPoints = new FastQueue<>(10, ScalePoint.class, true);
+	protected FastQueue<ScalePoint> foundPoints = new FastQueue<>(10, ScalePoint.class, true);
 
 	// size of detected feature at the smallest scale
-	private int initialSize;
+	protected int initialSize;
 	// increment between kernel sizes as it goes up in scale
-	private int scaleStepSize;
+	protected int scaleStepSize;
 	// the number of octaves it examines
-	private int numberOfOctaves;
+	protected int numberOfOctaves;
 
 	// local variables that are predeclared
-	private int sizes[];
+	protected int sizes[];
 
 	// how often the image is sampled in the first octave
 	// a value of 1 would mean every pixel is sampled
-	private int initialSampleRate;
+	protected int initialSampleRate;
 
 	/**
 	 * <p>
@@ -232,22 +232,46 @@ public class FastHessianFeatureDetector<II extends ImageGray<II>> {
 		int index1 = (spaceIndex + 1) % 3;
 		int index2 = (spaceIndex + 2) % 3;
 
-		ImageBorder_F32 inten0 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity[index0], 0);
-		GrayF32 inten1 = intensity[index1];
-		ImageBorder_F32 inten2 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity[index2], 0);
+		findLocalScaleSpaceMax(intensity[index0],intensity[index1],intensity[index2],
+				size[level],size[level]-size[level-1],skip,
+				extractor,sortBest,foundFeatures,foundPoints);
+	}
+
+	/**
+	 * Looks for features which are local maximums in the middle intensity image and in scale-space. All
+	 * work space is passed in so that different levels can be processed at the same time.
+	 *
+	 * @param intensity0 Intensity of the level below
+	 * @param intensity1 Intensity of the level features are detected in
+	 * @param intensity2 Intensity of the level above
+	 * @param levelSize Size of the feature in the middle level
+	 * @param sizeStep Difference in feature size between the middle level and the level below
+	 * @param skip How many pixels are skipped over.
+	 * @param extractor Finds local maximums in the middle level
+	 * @param sortBest If not null, selects the features with the highest intensity
+	 * @param foundFeatures Storage for local maximums in the middle level
+	 * @param foundPoints (Output) Found features are appended to this list
+	 */
+	protected void findLocalScaleSpaceMax( GrayF32 intensity0 , GrayF32 intensity1 , GrayF32 intensity2 ,
+										   int levelSize , int sizeStep , int skip ,
+										   NonMaxSuppression extractor , SelectNBestFeatures sortBest ,
+										   QueueCorner foundFeatures , FastQueue<ScalePoint> foundPoints ) {
+		ImageBorder_F32 inten0 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity0, 0);
+		GrayF32 inten1 = intensity1;
+		ImageBorder_F32 inten2 = (ImageBorder_F32)FactoryImageBorderAlgs.value(intensity2, 0);
 
 		// find local maximums in image 2D space.  Borders need to be ignored since
 		// false positives are found around them as an artifact of pixels outside being
 		// treated as being zero.
 		foundFeatures.reset();
-		extractor.setIgnoreBorder(size[level] / (2 * skip));
-		extractor.process(intensity[index1],null,null,null,foundFeatures);
+		extractor.setIgnoreBorder(levelSize / (2 * skip));
+		extractor.process(intensity1,null,null,null,foundFeatures);
 
 		// Can't consider feature which are right up against the border since they might not be a true local
 		// maximum when you consider the features on the other side of the ignore border
 		int ignoreRadius = extractor.getIgnoreBorder() + extractor.getSearchRadius();
-		int ignoreWidth = intensity[index1].width-ignoreRadius;
-		int ignoreHeight = intensity[index1].height-ignoreRadius;
+		int ignoreWidth = intensity1.width-ignoreRadius;
+		int ignoreHeight = intensity1.height-ignoreRadius;
 
 		// number of features which can be added
 		int numberRemaining;
@@ -255,7 +279,7 @@ public class FastHessianFeatureDetector<II extends ImageGray<II>> {
 		// if configured to do so, only select the features with the highest intensity
 		QueueCorner features;
 		if( sortBest != null ) {
-			sortBest.process(intensity[index1],foundFeatures,true);
+			sortBest.process(intensity1,foundFeatures,true);
 			features = sortBest.getBestCorners();
 			numberRemaining = maxFeaturesPerScale;
 		} else {
@@ -263,9 +287,6 @@ public class FastHessianFeatureDetector<II extends ImageGray<II>> {
 			numberRemaining = Integer.MAX_VALUE;
 		}
 
-		int levelSize = size[level];
-		int sizeStep = levelSize-size[level-1];
-
 		// see if these local maximums are also a maximum in scale-space
 		for( int i = 0; i < features.size && numberRemaining > 0; i++ ) {
 			Point2D_I16 f = features.get(i);
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.alg.feature.detect.extract.SelectNBestFeatures;
+import boofcv.alg.feature.detect.intensity.GIntegralImageFeatureIntensity;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntConsumer;
+import boofcv.concurrency.WorkerPool;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageGray;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link FastHessianFeatureDetector}.  Instead of sliding a window of three
+ * intensity images through each octave, the intensity of every (octave, scale) layer is computed into its
+ * own image.  The layers only depend on the shared integral image, so each one is an independent task.
+ * Then the local maximums in each layer which has a layer above and below it are found, again with each
+ * layer being its own task.  Layers in the first octave are much more expensive than those in higher
+ * octaves, so tasks are handed out to threads one at a time to balance the load.
+ * </p>
+ *
+ * <p>
+ * Each layer's features are saved in their own list and combined in the same order as the single threaded
+ * algorithm, so the output is identical.  Memory usage is higher since all the layers are kept in memory.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class FastHessianFeatureDetector_MT<II extends ImageGray<II>> extends FastHessianFeatureDetector<II> {
+
+	// non-maximum suppression and storage for each thread
+	WorkerPool<Worker> workers;
+
+	// intensity of each (octave, scale) layer. octave major
+	List<GrayF32> layers = new ArrayList<>();
+	// features found in each middle layer
+	List<FastQueue<ScalePoint>> layerPoints = new ArrayList<>();
+
+	// pixel skip for each octave
+	int octaveSkip[];
+	// feature size for each (octave, scale) layer
+	int layerSize[];
+	// number of octaves which are processed in the current image
+	int numOctaves;
+
+	/**
+	 * Configures the detector.  See {@link FastHessianFeatureDetector} for a description of the parameters.
+	 *
+	 * @param extractors Creates a new instance of the non-maximum suppression algorithm for each thread.
+	 */
+	public FastHessianFeatureDetector_MT( WorkerPool<NonMaxSuppression> extractors , int maxFeaturesPerScale,
+										  int initialSampleRate, int initialSize,
+										  int numberScalesPerOctave,
+										  int numberOfOctaves, int scaleStepSize) {
+		this(extractors,extractors.acquire(),maxFeaturesPerScale,initialSampleRate,initialSize,
+				numberScalesPerOctave,numberOfOctaves,scaleStepSize);
+	}
+
+	private FastHessianFeatureDetector_MT( final WorkerPool<NonMaxSuppression> extractors ,
+										   NonMaxSuppression prototype , int maxFeaturesPerScale,
+										   int initialSampleRate, int initialSize,
+										   int numberScalesPerOctave,
+										   int numberOfOctaves, int scaleStepSize) {
+		super(prototype, maxFeaturesPerScale, initialSampleRate, initialSize, numberScalesPerOctave,
+				numberOfOctaves, scaleStepSize);
+		extractors.release(prototype);
+
+		workers = new WorkerPool<Worker>() {
+			@Override
+			protected Worker createWorker() {
+				return new Worker(extractors.acquire());
+			}
+		};
+
+		octaveSkip = new int[numberOfOctaves];
+		layerSize = new int[numberOfOctaves*numberScalesPerOctave];
+	}
+
+	@Override
+	public void detect( final II integral ) {
+		foundPoints.reset();
+
+		final int numScales = sizes.length;
+
+		// Determine which octaves are processed and the size of each layer. Same as the single threaded code
+		int skip = initialSampleRate;
+		int sizeStep = scaleStepSize;
+		int octaveSize = initialSize;
+		numOctaves = 0;
+		for( int octave = 0; octave < numberOfOctaves; octave++ ) {
+			int maxSize = octaveSize + (numScales-1)*sizeStep;
+			if( maxSize > integral.width || maxSize > integral.height )
+				break;
+			octaveSkip[octave] = skip;
+			for( int i = 0; i < numScales; i++ ) {
+				layerSize[octave*numScales+i] = octaveSize + i*sizeStep;
+			}
+			numOctaves++;
+			skip += skip;
+			octaveSize += sizeStep;
+			sizeStep += sizeStep;
+		}
+
+		// declare storage for each layer
+		while( layers.size() < numOctaves*numScales ) {
+			layers.add(new GrayF32(1,1));
+		}
+		while( layerPoints.size() < numOctaves*(numScales-2) ) {
+			layerPoints.add(new FastQueue<>(10, ScalePoint.class, true));
+		}
+
+		// compute the intensity of every layer
+		BoofConcurrency.loopFor(0, numOctaves*numScales, new IntConsumer() {
+			@Override
+			public void accept(int index) {
+				int skip = octaveSkip[index/numScales];
+				GrayF32 intensity = layers.get(index);
+				intensity.reshape(integral.width/skip,integral.height/skip);
+				GIntegralImageFeatureIntensity.hessian(integral,skip,layerSize[index],intensity);
+			}
+		});
+
+		// find features in all the layers which have a layer above and below them
+		final int numMiddle = numScales-2;
+		BoofConcurrency.loopFor(0, numOctaves*numMiddle, new IntConsumer() {
+			@Override
+			public void accept(int index) {
+				int octave = index/numMiddle;
+				int level = octave*numScales + index%numMiddle + 1;
+
+				FastQueue<ScalePoint> found = layerPoints.get(index);
+				found.reset();
+
+				Worker worker = workers.acquire();
+				try {
+					findLocalScaleSpaceMax(layers.get(level - 1), layers.get(level), layers.get(level + 1),
+							layerSize[level], layerSize[level] - layerSize[level - 1], octaveSkip[octave],
+							worker.extractor, worker.sortBest, worker.foundFeatures, found);
+				} finally {
+					workers.release(worker);
+				}
+			}
+		});
+
+		// combine the results in the same order as the single threaded algorithm
+		for( int i = 0; i < numOctaves*numMiddle; i++ ) {
+			FastQueue<ScalePoint> found = layerPoints.get(i);
+			for( int j = 0; j < found.size; j++ ) {
+				foundPoints.grow().set(found.get(j));
+			}
+		}
+	}
+
+	/**
+	 * Work space which can't be shared between threads
+	 */
+	class Worker {
+		NonMaxSuppression extractor;
+		SelectNBestFeatures sortBest;
+		QueueCorner foundFeatures = new QueueCorner(100);
+
+		Worker( NonMaxSuppression extractor ) {
+			this.extractor = extractor;
+			if( maxFeaturesPerScale > 0 )
+				sortBest = new SelectNBestFeatures(maxFeaturesPerScale);
+		}
+	}
+}
@@ -105,8 +105,8 @@ public class GeneralFeatureDetector<I extends ImageGray<I>, D extends ImageGray<
 	 * @param derivYY Second derivative.  Only needed if {@link #getRequiresHessian()} ()} is true.
 	 */
 	public void process(I image, D derivX, D derivY, D derivXX, D derivYY, D derivXY) {
-		intensity.process(image, derivX, derivY, derivXX, derivYY, derivXY);
-		GrayF32 intensityImage = intensity.getIntensity();
+		computeIntensity(image, derivX, derivY, derivXX, derivYY, derivXY);
+		GrayF32 intensityImage = getIntensity();
 
 		int numSelectMin = -1;
 		int numSelectMax = -1;
@@ -138,7 +138,7 @@ public class GeneralFeatureDetector<I extends ImageGray<I>, D extends ImageGray<
 		foundMinimum.reset();
 		foundMaximum.reset();
 		if (intensity.hasCandidates()) {
-			extractor.process(intensityImage, intensity.getCandidatesMin(), intensity.getCandidatesMax(),foundMinimum, foundMaximum);
+			extractor.process(intensityImage, getCandidatesMin(), getCandidatesMax(),foundMinimum, foundMaximum);
 		} else {
 			extractor.process(intensityImage, null, null,foundMinimum, foundMaximum);
 		}
@@ -148,6 +148,27 @@ public class GeneralFeatureDetector<I extends ImageGray<I>, D extends ImageGray<
 		selectBest(intensityImage, foundMaximum, numSelectMax, true);
 	}
 
+	/**
+	 * Computes the feature intensity image and, if used, the candidate features
+	 */
+	protected void computeIntensity(I image, D derivX, D derivY, D derivXX, D derivYY, D derivXY) {
+		intensity.process(image, derivX, derivY, derivXX, derivYY, derivXY);
+	}
+
+	/**
+	 * Candidate local minimums found when computing the intensity
+	 */
+	protected QueueCorner getCandidatesMin() {
+		return intensity.getCandidatesMin();
+	}
+
+	/**
+	 * Candidate local maximums found when computing the intensity
+	 */
+	protected QueueCorner getCandidatesMax() {
+		return intensity.getCandidatesMax();
+	}
+
 	private void selectBest(GrayF32 intensityImage, QueueCorner found , int numSelect, boolean positive) {
 		if (numSelect > 0) {
 			selectBest.setN(numSelect);
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.abst.feature.detect.intensity.GeneralFeatureIntensity;
+import boofcv.alg.feature.detect.extract.SelectNBestFeatures_MT;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntConsumer;
+import boofcv.concurrency.WorkerPool;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageGray;
+import georegression.struct.point.Point2D_I16;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link GeneralFeatureDetector}.  The feature intensity is computed in bands of
+ * image rows, where each band is processed in its own thread by its own {@link GeneralFeatureIntensity}.
+ * Bands are expanded by the intensity's radius so that the intensity inside the band is the same as if the
+ * entire image had been processed at once.  Candidate features found in each band are merged in order.
+ * </p>
+ *
+ * <p>
+ * To process the intensity image in parallel pass in a concurrent {@link NonMaxSuppression}, e.g.
+ * {@link boofcv.abst.feature.detect.extract.WrapperNonMaximumBlock_MT}.  The N best features are selected using
+ * {@link SelectNBestFeatures_MT}.
+ * </p>
+ *
+ * <p>
+ * Intensity algorithms which compute floating point sums with a sliding window, e.g. Harris and Shi-Tomasi
+ * for {@link GrayF32}, can have small round off differences at the start of each band.  All other intensities
+ * are identical.  If {@link BoofConcurrency#isActive()} is false then the single threaded algorithm is used.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class GeneralFeatureDetector_MT<I extends ImageGray<I>, D extends ImageGray<D>>
+		extends GeneralFeatureDetector<I,D>
+{
+	// minimum number of rows in a band
+	int minBandHeight = 20;
+
+	// provides an intensity algorithm for each thread
+	WorkerPool<GeneralFeatureIntensity<I,D>> intensityPool;
+	// number of pixels a band is expanded by
+	int intensityRadius;
+
+	// feature intensity and candidates across the whole image
+	GrayF32 intensityImage = new GrayF32(1,1);
+	QueueCorner candidatesMin = new QueueCorner(10);
+	QueueCorner candidatesMax = new QueueCorner(10);
+
+	// true if the intensity was computed by this class and not the intensity algorithm
+	boolean concurrent = false;
+
+	// storage for each band
+	FastQueue<Band> bands = new FastQueue<Band>((Class)Band.class,true) {
+		@Override
+		protected Band createInstance() {
+			return new Band();
+		}
+	};
+
+	// input images
+	I image;
+	D derivX,derivY,derivXX,derivYY,derivXY;
+
+	// computes the intensity inside a band
+	IntConsumer computeBand = new IntConsumer() {
+		@Override
+		public void accept(int index) {
+			bands.get(index).process(index);
+		}
+	};
+
+	/**
+	 * Configures the detector
+	 *
+	 * @param intensityPool Creates the intensity algorithm used by each thread
+	 * @param intensityRadius How many pixels away a pixel can be and still influence another pixel's intensity.
+	 *                        If less than the intensity's ignore border then the ignore border is used.
+	 * @param extractor Extracts the corners from intensity image
+	 */
+	public GeneralFeatureDetector_MT(WorkerPool<GeneralFeatureIntensity<I,D>> intensityPool,
+									 int intensityRadius,
+									 NonMaxSuppression extractor) {
+		this(intensityPool, intensityPool.acquire(), intensityRadius, extractor);
+	}
+
+	private GeneralFeatureDetector_MT(WorkerPool<GeneralFeatureIntensity<I,D>> intensityPool,
+									  GeneralFeatureIntensity<I,D> prototype,
+									  int intensityRadius,
+									  NonMaxSuppression extractor) {
+		super(prototype, extractor);
+		this.intensityPool = intensityPool;
+		this.intensityRadius = Math.max(intensityRadius, prototype.getIgnoreBorder());
+		this.selectBest = new SelectNBestFeatures_MT(10);
+		intensityPool.release(prototype);
+	}
+
+	@Override
+	protected void computeIntensity(I image, D derivX, D derivY, D derivXX, D derivYY, D derivXY) {
+		int width,height;
+		if( image != null ) {
+			width = image.width; height = image.height;
+		} else if( derivX != null ) {
+			width = derivX.width; height = derivX.height;
+		} else {
+			width = derivXX.width; height = derivXX.height;
+		}
+
+		int numBands = Math.min(BoofConcurrency.getMaxThreads(), height/minBandHeight);
+
+		concurrent = BoofConcurrency.isActive() && numBands > 1;
+		if( !concurrent ) {
+			super.computeIntensity(image, derivX, derivY, derivXX, derivYY, derivXY);
+			return;
+		}
+
+		this.image = image;
+		this.derivX = derivX; this.derivY = derivY;
+		this.derivXX = derivXX; this.derivYY = derivYY; this.derivXY = derivXY;
+
+		intensityImage.reshape(width, height);
+		bands.resize(numBands);
+
+		BoofConcurrency.loopFor(0, numBands, computeBand);
+
+		// merge candidates in the same order as the single threaded version
+		candidatesMin.reset();
+		candidatesMax.reset();
+		if( intensity.hasCandidates() ) {
+			for (int i = 0; i < numBands; i++) {
+				Band b = bands.get(i);
+				for (int j = 0; j < b.candidatesMin.size; j++) {
+					candidatesMin.add(b.candidatesMin.get(j));
+				}
+				for (int j = 0; j < b.candidatesMax.size; j++) {
+					candidatesMax.add(b.candidatesMax.get(j));
+				}
+			}
+		}
+
+		this.image = null;
+		this.derivX = this.derivY = this.derivXX = this.derivYY = this.derivXY = null;
+	}
+
+	@Override
+	protected QueueCorner getCandidatesMin() {
+		return concurrent ? candidatesMin : super.getCandidatesMin();
+	}
+
+	@Override
+	protected QueueCorner getCandidatesMax() {
+		return concurrent ? candidatesMax : super.getCandidatesMax();
+	}
+
+	@Override
+	public GrayF32 getIntensity() {
+		return concurrent ? intensityImage : super.getIntensity();
+	}
+
+	public int getMinBandHeight() {
+		return minBandHeight;
+	}
+
+	/**
+	 * Specifies the minimum number of rows in the band processed by a single thread
+	 */
+	public void setMinBandHeight(int minBandHeight) {
+		if( minBandHeight <= 0 )
+			throw new IllegalArgumentException("Must be greater than zero");
+		this.minBandHeight = minBandHeight;
+	}
+
+	/**
+	 * Creates a sub-image which contains the specified rows.  Returns null if the input is null.
+	 */
+	static <T extends ImageGray<T>> T rows( T input , int y0 , int y1 , T storage ) {
+		if( input == null )
+			return null;
+		return input.subimage(0, y0, input.width, y1, storage);
+	}
+
+	/**
+	 * Computes the intensity and candidates inside a band of rows
+	 */
+	class Band {
+		// sub-images of the input images, expanded by the intensity radius
+		I image;
+		D derivX,derivY,derivXX,derivYY,derivXY;
+
+		// candidates found inside the band
+		QueueCorner candidatesMin = new QueueCorner(10);
+		QueueCorner candidatesMax = new QueueCorner(10);
+
+		void process( int index ) {
+			int width = intensityImage.width;
+			int height = intensityImage.height;
+			int numBands = bands.size;
+
+			// rows which this band is responsible for
+			int y0 = height*index/numBands;
+			int y1 = height*(index+1)/numBands;
+
+			// rows which are processed
+			int subY0 = Math.max(0, y0 - intensityRadius);
+			int subY1 = Math.min(height, y1 + intensityRadius);
+
+			image = rows(GeneralFeatureDetector_MT.this.image, subY0, subY1, image);
+			derivX = rows(GeneralFeatureDetector_MT.this.derivX, subY0, subY1, derivX);
+			derivY = rows(GeneralFeatureDetector_MT.this.derivY, subY0, subY1, derivY);
+			derivXX = rows(GeneralFeatureDetector_MT.this.derivXX, subY0, subY1, derivXX);
+			derivYY = rows(GeneralFeatureDetector_MT.this.derivYY, subY0, subY1, derivYY);
+			derivXY = rows(GeneralFeatureDetector_MT.this.derivXY, subY0, subY1, derivXY);
+
+			candidatesMin.reset();
+			candidatesMax.reset();
+
+			GeneralFeatureIntensity<I,D> worker = intensityPool.acquire();
+			try {
+				worker.process(image, derivX, derivY, derivXX, derivYY, derivXY);
+
+				// copy the intensity for rows inside the band. Border rows are always zero.
+				GrayF32 found = worker.getIntensity();
+				int border = worker.getIgnoreBorder();
+				for (int y = y0; y < y1; y++) {
+					int indexDst = intensityImage.startIndex + y*intensityImage.stride;
+					if( y < border || y >= height-border ) {
+						Arrays.fill(intensityImage.data, indexDst, indexDst+width, 0);
+					} else {
+						int indexSrc = found.startIndex + (y-subY0)*found.stride;
+						System.arraycopy(found.data, indexSrc, intensityImage.data, indexDst, width);
+					}
+				}
+
+				if( worker.hasCandidates() ) {
+					addCandidates(worker.getCandidatesMin(), subY0, y0, y1, candidatesMin);
+					addCandidates(worker.getCandidatesMax(), subY0, y0, y1, candidatesMax);
+				}
+			} finally {
+				intensityPool.release(worker);
+			}
+		}
+
+		/**
+		 * Adds candidates which are inside the band after converting them into image coordinates
+		 */
+		void addCandidates( QueueCorner found , int offsetY , int y0 , int y1 , QueueCorner output ) {
+			if( found == null )
+				return;
+			for (int i = 0; i < found.size; i++) {
+				Point2D_I16 p = found.get(i);
+				int y = p.y + offsetY;
+				if( y >= y0 && y < y1 )
+					output.add(p.x, y);
+			}
+		}
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.extract.NonMaxLimiter;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntConsumer;
+import boofcv.concurrency.WorkerPool;
+import boofcv.struct.feature.ScalePoint;
+import org.ddogleg.struct.FastQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link SiftDetector}.  Features are detected in each DoG image of an octave
+ * in parallel.  Each DoG image is processed by its own single threaded detector, which has its own
+ * {@link NonMaxLimiter} and sparse derivatives, and saves its detections into a list for that scale.  The lists
+ * are then combined in the same order as the single threaded algorithm, producing identical results.
+ * The scale-space itself is computed by {@link SiftScaleSpace}, which also makes use of multiple threads.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SiftDetector_MT extends SiftDetector {
+
+	// detectors for each thread.  They all share the same scale-space
+	WorkerPool<SiftDetector> workers;
+
+	// detections in each DoG image of the current octave
+	List<FastQueue<ScalePoint>> scaleDetections = new ArrayList<>();
+
+	// detects features inside a single DoG image
+	private final IntConsumer detectScale = new IntConsumer() {
+		@Override
+		public void accept(int scaleIndex) {
+			FastQueue<ScalePoint> found = scaleDetections.get(scaleIndex-1);
+			found.reset();
+
+			SiftDetector worker = workers.acquire();
+			try {
+				worker.pixelScaleToInput = scaleSpace.pixelScaleCurrentToInput();
+				worker.detections.reset();
+				worker.setScale(scaleIndex);
+				worker.detectFeatures(scaleIndex);
+
+				for (int i = 0; i < worker.detections.size; i++) {
+					found.grow().set(worker.detections.get(i));
+				}
+			} finally {
+				workers.release(worker);
+			}
+		}
+	};
+
+	/**
+	 * Configures SIFT detector.  See {@link SiftDetector#SiftDetector(SiftScaleSpace, double, NonMaxLimiter)}
+	 *
+	 * @param extractors Creates a new instance of the spatial feature detector for each thread.
+	 */
+	public SiftDetector_MT(SiftScaleSpace scaleSpace, double edgeR, WorkerPool<NonMaxLimiter> extractors) {
+		this(scaleSpace, edgeR, extractors, extractors.acquire());
+	}
+
+	private SiftDetector_MT(final SiftScaleSpace scaleSpace, final double edgeR,
+							final WorkerPool<NonMaxLimiter> extractors, NonMaxLimiter prototype ) {
+		super(scaleSpace, edgeR, prototype);
+		extractors.release(prototype);
+
+		workers = new WorkerPool<SiftDetector>() {
+			@Override
+			protected SiftDetector createWorker() {
+				return new SiftDetector(scaleSpace, edgeR, extractors.acquire());
+			}
+		};
+
+		for (int i = 0; i < scaleSpace.getNumScales(); i++) {
+			scaleDetections.add(new FastQueue<>(ScalePoint.class, true));
+		}
+	}
+
+	@Override
+	protected void detectOctave() {
+		detectScales();
+
+		// add the detections in the same order as the single threaded algorithm
+		for (int j = 1; j < scaleSpace.getNumScales()+1; j++) {
+			FastQueue<ScalePoint> found = getScaleDetections(j);
+			for (int i = 0; i < found.size; i++) {
+				ScalePoint p = detections.grow();
+				p.set(found.get(i));
+				handleDetection(p);
+			}
+		}
+	}
+
+	/**
+	 * Detects features in every DoG image of the current octave in parallel. The results for each DoG image
+	 * can be retrieved using {@link #getScaleDetections(int)}.
+	 */
+	public void detectScales() {
+		BoofConcurrency.loopFor(1, scaleSpace.getNumScales()+1, detectScale);
+	}
+
+	/**
+	 * Returns the features found in the specified DoG image of the current octave
+	 *
+	 * @param scaleIndex Index of the DoG image. 1 to number of scales, inclusive.
+	 */
+	public FastQueue<ScalePoint> getScaleDetections( int scaleIndex ) {
+		return scaleDetections.get(scaleIndex-1);
+	}
+}
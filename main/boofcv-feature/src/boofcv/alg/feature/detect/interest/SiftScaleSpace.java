@@ -22,6 +22,8 @@ import boofcv.alg.filter.convolve.GConvolveImageOps;
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.misc.PixelMath;
 import boofcv.alg.transform.pyramid.PyramidOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntConsumer;
 import boofcv.core.image.border.BorderType;
 import boofcv.factory.filter.kernel.FactoryKernel;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
@@ -42,6 +44,11 @@ import boofcv.struct.image.GrayF32;
  * </ul>
  *
  * <p>
+ * Concurrency: If {@link BoofConcurrency#USE_CONCURRENT} is true then the Gaussian blur is applied using
+ * multiple threads and the DoG images in an octave are computed in parallel.
+ * </p>
+ *
+ * <p>
  * [1] Lowe, D. "Distinctive image features from scale-invariant keypoints".  International Journal of
  * Computer Vision, 60, 2 (2004), pp.91--110.
  * </p>
@@ -91,6 +98,14 @@ public class SiftScaleSpace {
 	InterpolatePixelS<GrayF32> interp =
 			FactoryInterpolation.bilinearPixelS(GrayF32.class, BorderType.EXTENDED);
 
+	// computes the DoG image between scale images i and i-1
+	private final IntConsumer computeDoG = new IntConsumer() {
+		@Override
+		public void accept(int i) {
+			PixelMath.subtract(octaveImages[i],octaveImages[i - 1],differenceOfGaussian[i-1]);
+		}
+	};
+
 	/**
 	 * Configures the scale-space
 	 *
@@ -223,7 +238,14 @@ public class SiftScaleSpace {
 
 		for (int i = 1; i < numScales+3; i++) {
 			differenceOfGaussian[i-1].reshape(tempImage0.width, tempImage0.height);
-			PixelMath.subtract(octaveImages[i],octaveImages[i - 1],differenceOfGaussian[i-1]);
+		}
+
+		if( BoofConcurrency.isActive() ) {
+			BoofConcurrency.loopFor(1, numScales + 3, computeDoG);
+		} else {
+			for (int i = 1; i < numScales+3; i++) {
+				computeDoG.accept(i);
+			}
 		}
 	}
 
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.concurrency.WorkerPool;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link DisparityScoreRowFormat}.  The disparity image is split into bands of rows
+ * which are processed in parallel.  Each band is expanded by the vertical border so that the sub-images contain
+ * all the rows needed to score the band's rows.  Every band is processed by its own single threaded algorithm,
+ * which has its own score buffers and {@link DisparitySelect}, and writes directly into its rows of the
+ * disparity image.
+ * </p>
+ *
+ * <p>
+ * For integer images the output is identical to the single threaded algorithm.  For floating point images the
+ * vertical running sum starts at the top of each band, so the scores can differ by round off error.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class DisparityScoreRowFormat_MT<Input extends ImageGray<Input>, Disparity extends ImageGray<Disparity>>
+		extends DisparityScoreRowFormat<Input,Disparity>
+{
+	// creates the single threaded algorithm used to process each band
+	WorkerPool<DisparityScoreRowFormat<Input,Disparity>> workers;
+
+	// image border of the single threaded algorithm
+	int borderX,borderY;
+	Class<Input> inputType;
+	Class<Disparity> disparityType;
+
+	/**
+	 * Specifies the single threaded algorithm
+	 *
+	 * @param workers Creates new instances of the single threaded algorithm.  Each instance must have its own
+	 *                {@link DisparitySelect}.
+	 */
+	public DisparityScoreRowFormat_MT( WorkerPool<DisparityScoreRowFormat<Input,Disparity>> workers ) {
+		this(workers,workers.acquire());
+	}
+
+	private DisparityScoreRowFormat_MT( WorkerPool<DisparityScoreRowFormat<Input,Disparity>> workers ,
+										DisparityScoreRowFormat<Input,Disparity> prototype ) {
+		super(prototype.minDisparity,prototype.maxDisparity,prototype.radiusX,prototype.radiusY);
+		this.workers = workers;
+		this.borderX = prototype.getBorderX();
+		this.borderY = prototype.getBorderY();
+		this.inputType = prototype.getInputType();
+		this.disparityType = prototype.getDisparityType();
+		workers.release(prototype);
+	}
+
+	@Override
+	public void _process( final Input left , final Input right , final Disparity disparity ) {
+		// a band needs at least as many rows as the border it adds to limit redundant computations
+		BoofConcurrency.loopBlocks(borderY, left.height - borderY, Math.max(1, 2*borderY), new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				Input subLeft = left.subimage(0, y0 - borderY, left.width, y1 + borderY);
+				Input subRight = right.subimage(0, y0 - borderY, right.width, y1 + borderY);
+				Disparity subDisparity = disparity.subimage(0, y0 - borderY, disparity.width, y1 + borderY);
+
+				DisparityScoreRowFormat<Input,Disparity> alg = workers.acquire();
+				try {
+					alg.process(subLeft, subRight, subDisparity);
+				} finally {
+					workers.release(alg);
+				}
+			}
+		});
+	}
+
+	@Override
+	public Class<Input> getInputType() {
+		return inputType;
+	}
+
+	@Override
+	public Class<Disparity> getDisparityType() {
+		return disparityType;
+	}
+
+	@Override
+	public int getBorderX() {
+		return borderX;
+	}
+
+	@Override
+	public int getBorderY() {
+		return borderY;
+	}
+}
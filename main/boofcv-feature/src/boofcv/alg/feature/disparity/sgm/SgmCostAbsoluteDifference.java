@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * Computes the cost as the absolute difference between the two pixels.  The difference is scaled
+ * by 8 so that the range of pixel intensity values of 0 to 255 is mapped to nearly the full range of costs.
+ * Floating point images are assumed to have the same intensity range as 8-bit images.
+ *
+ * @author Peter Abeles
+ */
+public abstract class SgmCostAbsoluteDifference<T extends ImageGray<T>> extends SgmCostBase<T> {
+
+	/**
+	 * Amount the absolute difference is multiplied by
+	 */
+	public static final int SCALE = 8;
+
+	@Override
+	protected void initialize() {}
+
+	public static class U8 extends SgmCostAbsoluteDifference<GrayU8> {
+		@Override
+		protected void computeCosts(int x, int y, int localRange, int index) {
+			int indexLeft = left.startIndex + y*left.stride + x;
+			int indexRight = right.startIndex + y*right.stride + x - minDisparity;
+
+			int valueLeft = left.data[indexLeft] & 0xFF;
+			for( int d = 0; d < localRange; d++ ) {
+				int diff = valueLeft - (right.data[indexRight - d] & 0xFF);
+				costYXD[index + d] = (short)(SCALE*(diff < 0 ? -diff : diff));
+			}
+		}
+
+		@Override
+		public Class<GrayU8> getInputType() {
+			return GrayU8.class;
+		}
+	}
+
+	public static class F32 extends SgmCostAbsoluteDifference<GrayF32> {
+		@Override
+		protected void computeCosts(int x, int y, int localRange, int index) {
+			int indexLeft = left.startIndex + y*left.stride + x;
+			int indexRight = right.startIndex + y*right.stride + x - minDisparity;
+
+			float valueLeft = left.data[indexLeft];
+			for( int d = 0; d < localRange; d++ ) {
+				int cost = (int)(SCALE*Math.abs(valueLeft - right.data[indexRight - d]));
+				costYXD[index + d] = (short)Math.min(MAX_COST, cost);
+			}
+		}
+
+		@Override
+		public Class<GrayF32> getInputType() {
+			return GrayF32.class;
+		}
+	}
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.concurrency.WorkerPool;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Aggregates the matching cost along multiple 1D paths which pass through each pixel, as described
+ * in [1].  The cost along path r at pixel p and disparity d is:<br>
+ * L<sub>r</sub>(p,d) = C(p,d) + min( L<sub>r</sub>(p-r,d), L<sub>r</sub>(p-r,d&plusmn;1) + P1,
+ * min<sub>i</sub> L<sub>r</sub>(p-r,i) + P2 ) - min<sub>k</sub> L<sub>r</sub>(p-r,k)<br>
+ * where P1 is the penalty for small changes in disparity and P2 is the penalty for large changes.
+ * The aggregated cost is the sum of all the paths. Each path cost is at most {@link SgmDisparityCost#MAX_COST}+P2,
+ * this allows the sum to be stored in an unsigned 16-bit value.
+ * </p>
+ *
+ * <p>
+ * Paths are followed in one direction at a time.  Only the costs of the previous pixel on the path need to be saved
+ * so each path is streamed through the cost volume.  All the paths for a single direction are independent of each
+ * other and never touch the same pixel, so when {@link BoofConcurrency} is active they are processed in parallel
+ * and the output is identical to the single threaded output.
+ * </p>
+ *
+ * <p>
+ * [1] Hirschmuller, Heiko. "Stereo processing by semiglobal matching and mutual information."
+ * IEEE Transactions on pattern analysis and machine intelligence 30.2 (2007): 328-341.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SgmCostAggregation {
+
+	// all the directions that can be considered, in the order they are added
+	private static final int[][] DIRECTIONS = new int[][]{
+			{ 1, 0},{-1, 0},{ 0, 1},{ 0,-1},
+			{ 1, 1},{-1,-1},{ 1,-1},{-1, 1},
+			{ 2, 1},{-2,-1},{ 2,-1},{-2, 1},{ 1, 2},{-1,-2},{ 1,-2},{-1, 2}};
+
+	// penalty for a change in disparity of one
+	int penaltySmall;
+	// penalty for a change in disparity larger than one
+	int penaltyLarge;
+	// number of paths which are considered
+	int pathsConsidered;
+
+	// shape of the cost volume
+	int width, height, rangeDisparity;
+	short[] costYXD;
+	short[] aggregatedYXD;
+
+	// the first pixel in each path for the current direction
+	GrowQueue_I32 pathStarts = new GrowQueue_I32();
+
+	// storage for the path costs of each thread
+	WorkerPool<PathWork> workers = new WorkerPool<PathWork>() {
+		@Override
+		protected PathWork createWorker() {
+			return new PathWork();
+		}
+	};
+
+	/**
+	 * Configures the aggregation
+	 *
+	 * @param penaltySmall Penalty for a change in disparity of one
+	 * @param penaltyLarge Penalty for a change in disparity larger than one. Must be &le; MAX_COST
+	 * @param pathsConsidered Number of paths. 1, 2, 4, 8, or 16
+	 */
+	public SgmCostAggregation( int penaltySmall , int penaltyLarge , int pathsConsidered ) {
+		setPenalties(penaltySmall, penaltyLarge);
+		setPathsConsidered(pathsConsidered);
+	}
+
+	/**
+	 * Computes the aggregated cost
+	 *
+	 * @param costYXD (Input) Cost volume
+	 * @param width Image width
+	 * @param height Image height
+	 * @param rangeDisparity Number of disparities in the cost volume
+	 * @param aggregatedYXD (Output) Aggregated cost volume. Values are unsigned.
+	 */
+	public void process( short[] costYXD , int width , int height , int rangeDisparity , short[] aggregatedYXD ) {
+		int N = width*height*rangeDisparity;
+		if( costYXD.length < N || aggregatedYXD.length < N )
+			throw new IllegalArgumentException("Cost volume is too small");
+
+		this.costYXD = costYXD;
+		this.aggregatedYXD = aggregatedYXD;
+		this.width = width;
+		this.height = height;
+		this.rangeDisparity = rangeDisparity;
+
+		Arrays.fill(aggregatedYXD, 0, N, (short)0);
+
+		for( int i = 0; i < pathsConsidered; i++ ) {
+			final int dx = DIRECTIONS[i][0];
+			final int dy = DIRECTIONS[i][1];
+
+			findPathStarts(dx, dy);
+
+			if( BoofConcurrency.isActive() ) {
+				BoofConcurrency.loopBlocks(0, pathStarts.size, 16, new IntRangeConsumer() {
+					@Override
+					public void accept(int i0, int i1) {
+						PathWork work = workers.acquire();
+						try {
+							processPaths(i0, i1, dx, dy, work);
+						} finally {
+							workers.release(work);
+						}
+					}
+				});
+			} else {
+				PathWork work = workers.acquire();
+				processPaths(0, pathStarts.size, dx, dy, work);
+				workers.release(work);
+			}
+		}
+	}
+
+	/**
+	 * Finds all the pixels where a path in the specified direction starts.  A path starts at a pixel when
+	 * the previous pixel along the path is outside the image.
+	 */
+	void findPathStarts( int dx , int dy ) {
+		pathStarts.reset();
+		for( int y = 0; y < height; y++ ) {
+			int prevY = y - dy;
+			boolean outsideY = prevY < 0 || prevY >= height;
+			for( int x = 0; x < width; x++ ) {
+				int prevX = x - dx;
+				if( outsideY || prevX < 0 || prevX >= width )
+					pathStarts.add(y*width + x);
+			}
+		}
+	}
+
+	/**
+	 * Computes the cost along the paths which start at the specified pixels
+	 */
+	void processPaths( int idx0 , int idx1 , int dx , int dy , PathWork work ) {
+		work.resize(rangeDisparity);
+
+		for( int i = idx0; i < idx1; i++ ) {
+			int start = pathStarts.data[i];
+			processPath(start % width, start / width, dx, dy, work);
+		}
+	}
+
+	/**
+	 * Computes the cost along a single path and adds it to the aggregated cost
+	 */
+	void processPath( int x , int y , int dx , int dy , PathWork work ) {
+		int[] previous = work.previous;
+		int[] current = work.current;
+
+		// The first pixel has no previous pixel so the cost is just the cost of the pixel
+		int index = (y*width + x)*rangeDisparity;
+		int minPrevious = Integer.MAX_VALUE;
+		for( int d = 0; d < rangeDisparity; d++ ) {
+			int cost = costYXD[index+d];
+			previous[d] = cost;
+			aggregatedYXD[index+d] = (short)((aggregatedYXD[index+d] & 0xFFFF) + cost);
+			if( cost < minPrevious )
+				minPrevious = cost;
+		}
+
+		final int lastD = rangeDisparity-1;
+		x += dx; y += dy;
+		while( x >= 0 && y >= 0 && x < width && y < height ) {
+			index = (y*width + x)*rangeDisparity;
+			int largeChange = minPrevious + penaltyLarge;
+			int minCurrent = Integer.MAX_VALUE;
+
+			for( int d = 0; d < rangeDisparity; d++ ) {
+				int best = previous[d];
+				if( d > 0 )
+					best = Math.min(best, previous[d-1] + penaltySmall);
+				if( d < lastD )
+					best = Math.min(best, previous[d+1] + penaltySmall);
+				best = Math.min(best, largeChange);
+
+				int cost = costYXD[index+d] + best - minPrevious;
+				current[d] = cost;
+				aggregatedYXD[index+d] = (short)((aggregatedYXD[index+d] & 0xFFFF) + cost);
+				if( cost < minCurrent )
+					minCurrent = cost;
+			}
+
+			int[] tmp = previous;
+			previous = current;
+			current = tmp;
+			minPrevious = minCurrent;
+
+			x += dx; y += dy;
+		}
+	}
+
+	public void setPenalties( int penaltySmall , int penaltyLarge ) {
+		if( penaltySmall < 0 || penaltySmall > penaltyLarge )
+			throw new IllegalArgumentException("Penalties must be 0 <= small <= large");
+		if( penaltyLarge > SgmDisparityCost.MAX_COST )
+			throw new IllegalArgumentException("The large penalty must be <= "+SgmDisparityCost.MAX_COST);
+		this.penaltySmall = penaltySmall;
+		this.penaltyLarge = penaltyLarge;
+	}
+
+	public void setPathsConsidered( int pathsConsidered ) {
+		if( pathsConsidered != 1 && pathsConsidered != 2 && pathsConsidered != 4 &&
+				pathsConsidered != 8 && pathsConsidered != 16 )
+			throw new IllegalArgumentException("Paths must be 1, 2, 4, 8, or 16");
+		this.pathsConsidered = pathsConsidered;
+	}
+
+	public int getPenaltySmall() {
+		return penaltySmall;
+	}
+
+	public int getPenaltyLarge() {
+		return penaltyLarge;
+	}
+
+	public int getPathsConsidered() {
+		return pathsConsidered;
+	}
+
+	/**
+	 * Storage for the path cost of the previous and current pixel
+	 */
+	static class PathWork {
+		int[] previous = new int[0];
+		int[] current = new int[0];
+
+		void resize( int length ) {
+			if( previous.length < length ) {
+				previous = new int[length];
+				current = new int[length];
+			}
+		}
+	}
+}
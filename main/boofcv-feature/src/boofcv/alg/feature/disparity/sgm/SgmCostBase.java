@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * Base class for {@link SgmDisparityCost} where the cost of each pixel can be computed independently.  Handles
+ * disparities which go outside the image and concurrency.  If {@link BoofConcurrency} is active then
+ * rows are processed in parallel.
+ *
+ * @author Peter Abeles
+ */
+public abstract class SgmCostBase<T extends ImageGray<T>> implements SgmDisparityCost<T> {
+
+	protected T left, right;
+	protected int minDisparity, rangeDisparity;
+	protected short[] costYXD;
+
+	@Override
+	public void process(T left, T right, int minDisparity, int rangeDisparity, short[] costYXD) {
+		InputSanityCheck.checkSameShape(left, right);
+		if( costYXD.length < left.width*left.height*rangeDisparity )
+			throw new IllegalArgumentException("Cost volume is too small");
+
+		this.left = left;
+		this.right = right;
+		this.minDisparity = minDisparity;
+		this.rangeDisparity = rangeDisparity;
+		this.costYXD = costYXD;
+
+		initialize();
+
+		if( BoofConcurrency.isActive() ) {
+			BoofConcurrency.loopBlocks(0, left.height, new IntRangeConsumer() {
+				@Override
+				public void accept(int y0, int y1) {
+					computeRows(y0, y1);
+				}
+			});
+		} else {
+			computeRows(0, left.height);
+		}
+	}
+
+	/**
+	 * Computes the cost for all the pixels in the specified rows
+	 */
+	protected void computeRows( int y0 , int y1 ) {
+		int width = left.width;
+		for( int y = y0; y < y1; y++ ) {
+			int index = y*width*rangeDisparity;
+			for( int x = 0; x < width; x++ , index += rangeDisparity ) {
+				// number of disparities which are inside the right image
+				int localRange = Math.min(rangeDisparity, x - minDisparity + 1);
+
+				if( localRange > 0 )
+					computeCosts(x, y, localRange, index);
+				else
+					localRange = 0;
+
+				for( int d = localRange; d < rangeDisparity; d++ ) {
+					costYXD[index + d] = MAX_COST;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Called before any costs are computed.  Used to precompute information across the entire image.
+	 */
+	protected abstract void initialize();
+
+	/**
+	 * Computes the cost of a pixel in the left image for disparities 0 to localRange-1, relative to minDisparity.
+	 *
+	 * @param x x-coordinate of left pixel
+	 * @param y y-coordinate of left pixel
+	 * @param localRange Number of disparities which are inside the right image
+	 * @param index Index of the cost for the first disparity in the cost volume
+	 */
+	protected abstract void computeCosts( int x , int y , int localRange , int index );
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * <p>
+ * Computes the cost using the Hamming distance between the census transform of each pixel.  The census
+ * transform compares each pixel against its neighbors in a 5x5 region and sets a bit if the neighbor has
+ * a larger value, producing a 24-bit descriptor.  Since only the ordering of pixel values is used it is
+ * insensitive to differences in gain and bias between the two cameras.  Pixels outside the image are
+ * handled by using the closest pixel inside the image.
+ * </p>
+ *
+ * <p>
+ * [1] Zabih, Ramin, and John Woodfill. "Non-parametric local transforms for computing visual correspondence."
+ * European conference on computer vision. 1994.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SgmCostCensus<T extends ImageGray<T>> extends SgmCostBase<T> {
+
+	/**
+	 * Radius of the region sampled by the census transform
+	 */
+	public static final int RADIUS = 2;
+	/**
+	 * Number of bits in the census descriptor
+	 */
+	public static final int BITS = (2*RADIUS+1)*(2*RADIUS+1)-1;
+	/**
+	 * Amount the Hamming distance is multiplied by to get the cost
+	 */
+	public static final int SCALE = MAX_COST/BITS;
+
+	Class<T> imageType;
+
+	// census transform of left and right images
+	GrayS32 censusLeft = new GrayS32(1,1);
+	GrayS32 censusRight = new GrayS32(1,1);
+
+	public SgmCostCensus( Class<T> imageType ) {
+		if( imageType != GrayU8.class && imageType != GrayF32.class )
+			throw new IllegalArgumentException("Unsupported image type "+imageType.getSimpleName());
+		this.imageType = imageType;
+	}
+
+	@Override
+	protected void initialize() {
+		if( left instanceof GrayU8 ) {
+			transform((GrayU8)left, censusLeft);
+			transform((GrayU8)right, censusRight);
+		} else {
+			transform((GrayF32)left, censusLeft);
+			transform((GrayF32)right, censusRight);
+		}
+	}
+
+	@Override
+	protected void computeCosts(int x, int y, int localRange, int index) {
+		int indexLeft = y*censusLeft.width + x;
+		int indexRight = indexLeft - minDisparity;
+
+		int descLeft = censusLeft.data[indexLeft];
+		for( int d = 0; d < localRange; d++ ) {
+			costYXD[index + d] = (short)(SCALE*Integer.bitCount(descLeft ^ censusRight.data[indexRight - d]));
+		}
+	}
+
+	/**
+	 * Computes the census transform of every pixel in the image
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Census descriptor for each pixel. Reshaped to be the same size as input.
+	 */
+	public static void transform( GrayU8 input , GrayS32 output ) {
+		output.reshape(input.width, input.height);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexOut = y*output.width;
+			for( int x = 0; x < input.width; x++ ) {
+				int center = input.data[input.startIndex + y*input.stride + x] & 0xFF;
+				int bits = 0;
+
+				for( int i = -RADIUS; i <= RADIUS; i++ ) {
+					int yy = Math.min(input.height-1, Math.max(0, y+i));
+					int indexRow = input.startIndex + yy*input.stride;
+					for( int j = -RADIUS; j <= RADIUS; j++ ) {
+						if( i == 0 && j == 0 )
+							continue;
+						int xx = Math.min(input.width-1, Math.max(0, x+j));
+						bits <<= 1;
+						if( (input.data[indexRow + xx] & 0xFF) > center )
+							bits |= 1;
+					}
+				}
+				output.data[indexOut++] = bits;
+			}
+		}
+	}
+
+	/**
+	 * Computes the census transform of every pixel in the image
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Census descriptor for each pixel. Reshaped to be the same size as input.
+	 */
+	public static void transform( GrayF32 input , GrayS32 output ) {
+		output.reshape(input.width, input.height);
+
+		for( int y = 0; y < input.height; y++ ) {
+			int indexOut = y*output.width;
+			for( int x = 0; x < input.width; x++ ) {
+				float center = input.data[input.startIndex + y*input.stride + x];
+				int bits = 0;
+
+				for( int i = -RADIUS; i <= RADIUS; i++ ) {
+					int yy = Math.min(input.height-1, Math.max(0, y+i));
+					int indexRow = input.startIndex + yy*input.stride;
+					for( int j = -RADIUS; j <= RADIUS; j++ ) {
+						if( i == 0 && j == 0 )
+							continue;
+						int xx = Math.min(input.width-1, Math.max(0, x+j));
+						bits <<= 1;
+						if( input.data[indexRow + xx] > center )
+							bits |= 1;
+					}
+				}
+				output.data[indexOut++] = bits;
+			}
+		}
+	}
+
+	@Override
+	public Class<T> getInputType() {
+		return imageType;
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.struct.image.ImageGray;
+
+/**
+ * <p>
+ * Computes the cost of matching every pixel in the left image to pixels in the right image across the range of
+ * disparities.  Costs are written into a cost volume of shorts with the layout [y][x][d], where d is the
+ * disparity minus the minimum disparity. The index of an element is (y*width + x)*rangeDisparity + d.  A
+ * pixel at x in the left image is matched to the pixel at x - (minDisparity+d) in the right image.  Storing
+ * all the disparities for a pixel next to each other allows the cost aggregation to stream through memory.
+ * </p>
+ *
+ * <p>
+ * Costs must be scaled to be from 0 to {@link #MAX_COST}, inclusive.  Disparities which would sample outside
+ * the right image are assigned {@link #MAX_COST}.  This limit ensures that the sum of all the aggregated path
+ * costs can be stored in 16-bits.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public interface SgmDisparityCost<T extends ImageGray<T>> {
+	/**
+	 * The largest possible cost for a single disparity
+	 */
+	int MAX_COST = 2047;
+
+	/**
+	 * Computes the cost volume
+	 *
+	 * @param left left rectified image. Not modified.
+	 * @param right right rectified image. Not modified.
+	 * @param minDisparity The minimum disparity which is considered
+	 * @param rangeDisparity Number of disparities which are considered
+	 * @param costYXD (Output) The cost volume. Must be at least width*height*rangeDisparity.
+	 */
+	public void process( T left , T right , int minDisparity , int rangeDisparity , short[] costYXD );
+
+	/**
+	 * Type of input image
+	 */
+	public Class<T> getInputType();
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * <p>
+ * Selects the disparity with the smallest aggregated cost for each pixel, winner takes all.  Matches can
+ * be validated by checking to see if the match from right to left has a similar disparity and by
+ * checking to see if the best match is sufficiently better than the other matches. Invalid pixels are
+ * assigned a value of rangeDisparity+1.  Optionally, sub-pixel accuracy is found by fitting a
+ * parabola to the costs around the best disparity.
+ * </p>
+ *
+ * <p>
+ * If {@link BoofConcurrency} is active then rows are processed in parallel.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SgmDisparitySelector {
+	// tolerance for right to left validation. if < 0 then it's disabled
+	int rightToLeftTolerance = 1;
+	// texture threshold, use an integer value for speed.
+	int textureThreshold = 0;
+	static final int discretizer = 10000;
+
+	// shape of the cost volume
+	int width, height;
+	int minDisparity, rangeDisparity;
+	int invalidDisparity;
+	short[] aggregatedYXD;
+
+	/**
+	 * Selects the best disparity at each pixel
+	 *
+	 * @param aggregatedYXD Aggregated cost volume
+	 * @param width Image width
+	 * @param height Image height
+	 * @param minDisparity Minimum disparity
+	 * @param rangeDisparity Number of disparities in the cost volume
+	 * @param disparity (Output) Disparity image relative to minDisparity
+	 */
+	public void select( short[] aggregatedYXD , int width , int height ,
+						int minDisparity , int rangeDisparity , final GrayU8 disparity ) {
+		if( rangeDisparity > 254 )
+			throw new IllegalArgumentException("(max - min) disparity must be <= 254");
+
+		configure(aggregatedYXD, width, height, minDisparity, rangeDisparity, disparity);
+
+		if( BoofConcurrency.isActive() ) {
+			BoofConcurrency.loopBlocks(0, height, new IntRangeConsumer() {
+				@Override
+				public void accept(int y0, int y1) {
+					selectRows(y0, y1, disparity);
+				}
+			});
+		} else {
+			selectRows(0, height, disparity);
+		}
+	}
+
+	/**
+	 * Selects the best disparity at each pixel with sub-pixel accuracy
+	 *
+	 * @param aggregatedYXD Aggregated cost volume
+	 * @param width Image width
+	 * @param height Image height
+	 * @param minDisparity Minimum disparity
+	 * @param rangeDisparity Number of disparities in the cost volume
+	 * @param disparity (Output) Disparity image relative to minDisparity
+	 */
+	public void selectSubpixel( short[] aggregatedYXD , int width , int height ,
+								int minDisparity , int rangeDisparity , final GrayF32 disparity ) {
+		configure(aggregatedYXD, width, height, minDisparity, rangeDisparity, disparity);
+
+		if( BoofConcurrency.isActive() ) {
+			BoofConcurrency.loopBlocks(0, height, new IntRangeConsumer() {
+				@Override
+				public void accept(int y0, int y1) {
+					selectRowsSubpixel(y0, y1, disparity);
+				}
+			});
+		} else {
+			selectRowsSubpixel(0, height, disparity);
+		}
+	}
+
+	private void configure( short[] aggregatedYXD , int width , int height ,
+							int minDisparity , int rangeDisparity , ImageGray disparity ) {
+		if( disparity.width != width || disparity.height != height )
+			throw new IllegalArgumentException("Disparity image has an unexpected shape");
+		if( aggregatedYXD.length < width*height*rangeDisparity )
+			throw new IllegalArgumentException("Cost volume is too small");
+
+		this.aggregatedYXD = aggregatedYXD;
+		this.width = width;
+		this.height = height;
+		this.minDisparity = minDisparity;
+		this.rangeDisparity = rangeDisparity;
+		this.invalidDisparity = rangeDisparity+1;
+	}
+
+	void selectRows( int y0 , int y1 , GrayU8 disparity ) {
+		for( int y = y0; y < y1; y++ ) {
+			int indexOut = disparity.startIndex + y*disparity.stride;
+			for( int x = 0; x < width; x++ ) {
+				disparity.data[indexOut++] = (byte)selectDisparity(x, y);
+			}
+		}
+	}
+
+	void selectRowsSubpixel( int y0 , int y1 , GrayF32 disparity ) {
+		for( int y = y0; y < y1; y++ ) {
+			int indexOut = disparity.startIndex + y*disparity.stride;
+			for( int x = 0; x < width; x++ ) {
+				int best = selectDisparity(x, y);
+
+				float value = best;
+				if( best != invalidDisparity && best > 0 && best < localRange(x)-1 ) {
+					// fit a parabola to the costs around the best disparity
+					int index = (y*width + x)*rangeDisparity + best;
+					int c0 = aggregatedYXD[index-1] & 0xFFFF;
+					int c1 = aggregatedYXD[index  ] & 0xFFFF;
+					int c2 = aggregatedYXD[index+1] & 0xFFFF;
+
+					int denominator = 2*(c0-2*c1+c2);
+					if( denominator != 0 )
+						value += (float)(c0-c2)/(float)denominator;
+				}
+				disparity.data[indexOut++] = value;
+			}
+		}
+	}
+
+	/**
+	 * Number of disparities which can be considered at the column
+	 */
+	private int localRange( int x ) {
+		return Math.min(rangeDisparity, x - minDisparity + 1);
+	}
+
+	/**
+	 * Selects the best disparity for the pixel in the left image
+	 *
+	 * @return The selected disparity or invalidDisparity if it failed validation
+	 */
+	int selectDisparity( int x , int y ) {
+		int localRange = localRange(x);
+		if( localRange <= 0 )
+			return invalidDisparity;
+
+		int index = (y*width + x)*rangeDisparity;
+
+		int bestDisparity = 0;
+		int scoreBest = aggregatedYXD[index] & 0xFFFF;
+		for( int d = 1; d < localRange; d++ ) {
+			int s = aggregatedYXD[index+d] & 0xFFFF;
+			if( s < scoreBest ) {
+				scoreBest = s;
+				bestDisparity = d;
+			}
+		}
+
+		if( rightToLeftTolerance >= 0 ) {
+			// if the associate is different going the other direction it is probably noise
+			int disparityRtoL = selectRightToLeft(x - minDisparity - bestDisparity, y);
+			if( Math.abs(disparityRtoL - bestDisparity) > rightToLeftTolerance )
+				return invalidDisparity;
+		}
+
+		// test to see if the region lacks sufficient texture
+		if( textureThreshold > 0 && localRange >= 3 ) {
+			// find the second best disparity value and exclude its neighbors
+			int secondBest = Integer.MAX_VALUE;
+			for( int d = 0; d < bestDisparity-1; d++ ) {
+				secondBest = Math.min(secondBest, aggregatedYXD[index+d] & 0xFFFF);
+			}
+			for( int d = bestDisparity+2; d < localRange; d++ ) {
+				secondBest = Math.min(secondBest, aggregatedYXD[index+d] & 0xFFFF);
+			}
+
+			// similar scores indicate lack of texture
+			// C = (C2-C1)/C1
+			if( secondBest != Integer.MAX_VALUE &&
+					discretizer*(long)(secondBest-scoreBest) <= textureThreshold*(long)scoreBest )
+				return invalidDisparity;
+		}
+
+		return bestDisparity;
+	}
+
+	/**
+	 * Finds the best disparity going from the right to the left image.
+	 *
+	 * @param xRight x-coordinate of the pixel in the right image
+	 */
+	int selectRightToLeft( int xRight , int y ) {
+		// see how far it can search
+		int localRange = Math.min(rangeDisparity, width - xRight - minDisparity);
+
+		int indexBest = 0;
+		int index = (y*width + xRight + minDisparity)*rangeDisparity;
+		int scoreBest = aggregatedYXD[index] & 0xFFFF;
+
+		for( int d = 1; d < localRange; d++ ) {
+			// the next pixel in the left image at the next disparity
+			index += rangeDisparity + 1;
+			int s = aggregatedYXD[index] & 0xFFFF;
+			if( s < scoreBest ) {
+				scoreBest = s;
+				indexBest = d;
+			}
+		}
+
+		return indexBest;
+	}
+
+	public int getRightToLeftTolerance() {
+		return rightToLeftTolerance;
+	}
+
+	/**
+	 * Tolerance for how difference the left to right associated values can be.  Set to &lt; 0 to disable
+	 */
+	public void setRightToLeftTolerance( int rightToLeftTolerance ) {
+		this.rightToLeftTolerance = rightToLeftTolerance;
+	}
+
+	/**
+	 * Tolerance for how similar optimal disparity is to other disparities.  Disable with a value &le; 0.
+	 * Closer to zero is more tolerant.
+	 */
+	public void setTexture( double threshold ) {
+		textureThreshold = (int)(discretizer*threshold);
+	}
+}
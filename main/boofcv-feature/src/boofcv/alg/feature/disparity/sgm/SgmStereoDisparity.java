@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+
+/**
+ * <p>
+ * Semi-Global Matching (SGM) dense stereo disparity [1].  The cost of each disparity at each pixel is computed
+ * using a {@link SgmDisparityCost} and saved in a cost volume.  Costs are then aggregated along multiple 1D paths
+ * through the image using {@link SgmCostAggregation}, which approximates a global smoothness constraint. Finally
+ * the disparity with the smallest aggregated cost is selected by {@link SgmDisparitySelector}.  Compared to
+ * block matching, e.g. {@link boofcv.alg.feature.disparity.DisparityScoreSadRect}, object borders are much
+ * sharper, but the full cost volume needs to be stored in memory.
+ * </p>
+ *
+ * <p>
+ * Both cost volumes are stored as 16-bit values with the layout [y][x][d], see {@link SgmDisparityCost}.
+ * Memory usage is 4*width*height*(maxDisparity-minDisparity) bytes.  Unlike block matching there is no
+ * image border which is skipped.  Pixels with x &lt; minDisparity are always invalid.
+ * </p>
+ *
+ * <p>
+ * [1] Hirschmuller, Heiko. "Stereo processing by semiglobal matching and mutual information."
+ * IEEE Transactions on pattern analysis and machine intelligence 30.2 (2007): 328-341.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SgmStereoDisparity<T extends ImageGray<T>> {
+
+	SgmDisparityCost<T> cost;
+	SgmCostAggregation aggregation;
+	SgmDisparitySelector selector;
+
+	// the minimum disparity that it will check
+	int minDisparity;
+	// maximum allowed image disparity, exclusive
+	int maxDisparity;
+	// difference between max and min
+	int rangeDisparity;
+
+	// cost and aggregated cost volumes
+	short[] costYXD = new short[0];
+	short[] aggregatedYXD = new short[0];
+
+	// shape of the most recently processed image
+	int width, height;
+
+	public SgmStereoDisparity( int minDisparity , int maxDisparity ,
+							   SgmDisparityCost<T> cost ,
+							   SgmCostAggregation aggregation ,
+							   SgmDisparitySelector selector ) {
+		if( maxDisparity <= 0 )
+			throw new IllegalArgumentException("Max disparity must be greater than zero");
+		if( minDisparity < 0 || minDisparity >= maxDisparity )
+			throw new IllegalArgumentException("Min disparity must be >= 0 and < maxDisparity");
+
+		this.minDisparity = minDisparity;
+		this.maxDisparity = maxDisparity;
+		this.rangeDisparity = maxDisparity - minDisparity;
+		this.cost = cost;
+		this.aggregation = aggregation;
+		this.selector = selector;
+	}
+
+	/**
+	 * Computes the aggregated cost.  Call {@link #select(GrayU8)} or {@link #selectSubpixel(GrayF32)} afterwards
+	 * to get the disparity.
+	 *
+	 * @param left Left rectified stereo image. Not modified.
+	 * @param right Right rectified stereo image. Not modified.
+	 */
+	public void process( T left , T right ) {
+		InputSanityCheck.checkSameShape(left, right);
+
+		width = left.width;
+		height = left.height;
+
+		int N = width*height*rangeDisparity;
+		if( costYXD.length < N ) {
+			costYXD = new short[N];
+			aggregatedYXD = new short[N];
+		}
+
+		cost.process(left, right, minDisparity, rangeDisparity, costYXD);
+		aggregation.process(costYXD, width, height, rangeDisparity, aggregatedYXD);
+	}
+
+	/**
+	 * Selects the disparity at each pixel to pixel precision
+	 *
+	 * @param disparity (Output) Disparity image.  Must be the same shape as the input.
+	 */
+	public void select( GrayU8 disparity ) {
+		selector.select(aggregatedYXD, width, height, minDisparity, rangeDisparity, disparity);
+	}
+
+	/**
+	 * Selects the disparity at each pixel to sub-pixel precision
+	 *
+	 * @param disparity (Output) Disparity image.  Must be the same shape as the input.
+	 */
+	public void selectSubpixel( GrayF32 disparity ) {
+		selector.selectSubpixel(aggregatedYXD, width, height, minDisparity, rangeDisparity, disparity);
+	}
+
+	public short[] getCostYXD() {
+		return costYXD;
+	}
+
+	public short[] getAggregatedYXD() {
+		return aggregatedYXD;
+	}
+
+	public SgmDisparityCost<T> getCost() {
+		return cost;
+	}
+
+	public SgmCostAggregation getAggregation() {
+		return aggregation;
+	}
+
+	public SgmDisparitySelector getSelector() {
+		return selector;
+	}
+
+	public int getMinDisparity() {
+		return minDisparity;
+	}
+
+	public int getMaxDisparity() {
+		return maxDisparity;
+	}
+
+	public Class<T> getInputType() {
+		return cost.getInputType();
+	}
+}
@@ -0,0 +1,493 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.segmentation.fh04;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntConsumer;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.concurrency.WorkerPool;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.ImageBase;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F32;
+import org.ddogleg.struct.GrowQueue_I32;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link SegmentFelzenszwalbHuttenlocher04}.  Edge weights are computed in parallel
+ * over bands of image rows, each with its own {@link FhEdgeWeights}, and saved in primitive arrays instead of
+ * {@link Edge} objects.  The edges are then sorted with a parallel and stable radix sort.  The sort key is the
+ * bit pattern of the weight, which has the same order as the weight since weights are never negative, or the bin
+ * when an approximate sort has been requested.  Regions are merged by a single thread in sorted order using the
+ * same disjoint-set forest as the single threaded algorithm.
+ * </p>
+ *
+ * <p>
+ * Band sizes are fixed and the sort is stable, so the results do not depend on the number of threads.  The
+ * results are identical to the single threaded algorithm when all the edge weights are unique.  If weights are
+ * identical then, just like in the single threaded algorithm, their order is arbitrary and the regions can differ.
+ * If {@link BoofConcurrency#isActive()} is false then the single threaded algorithm is used.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SegmentFelzenszwalbHuttenlocher04_MT<T extends ImageBase<T>>
+		extends SegmentFelzenszwalbHuttenlocher04<T>
+{
+	/**
+	 * Number of rows in each band which edge weights are computed in.
+	 */
+	private int bandHeight = 32;
+
+	/**
+	 * Minimum number of edges in a block which is sorted by a single thread
+	 */
+	private int minSortBlock = 50000;
+
+	// number of bits sorted in each pass of the radix sort
+	private static final int RADIX_BITS = 11;
+	private static final int RADIX_SIZE = 1 << RADIX_BITS;
+
+	// provides an edge weight algorithm for each thread
+	private WorkerPool<FhEdgeWeights<T>> weightsPool;
+	// storage for the edges computed by each thread
+	private WorkerPool<FastQueue<Edge>> edgesPool = new WorkerPool<FastQueue<Edge>>() {
+		@Override
+		protected FastQueue<Edge> createWorker() {
+			return new FastQueue<>(Edge.class, true);
+		}
+	};
+
+	// Number of bins used by the approximate sort.  If zero then the sort is exact
+	private int approximateBins = 0;
+
+	// storage for each band of rows
+	private FastQueue<Band> bands = new FastQueue<Band>((Class)Band.class,true) {
+		@Override
+		protected Band createInstance() {
+			return new Band();
+		}
+	};
+
+	// pixels connected by each edge and the edge's weight
+	private GrowQueue_I32 edgeA = new GrowQueue_I32();
+	private GrowQueue_I32 edgeB = new GrowQueue_I32();
+	private GrowQueue_F32 edgeWeight = new GrowQueue_F32();
+	// index of the edges in sorted order and their sort key.  The work arrays are used by the radix sort
+	private GrowQueue_I32 order = new GrowQueue_I32();
+	private GrowQueue_I32 orderWork = new GrowQueue_I32();
+	private GrowQueue_I32 keys = new GrowQueue_I32();
+	private GrowQueue_I32 keysWork = new GrowQueue_I32();
+	// histogram of digits in each block being sorted
+	private int[] histograms = new int[0];
+	// number of blocks the edges are split into when sorting
+	private int numSortBlocks;
+	// bits of the key which are being sorted in the current pass
+	private int shift;
+	// edges which did not merge two regions.  Used when merging small regions
+	private GrowQueue_I32 notMatched = new GrowQueue_I32();
+
+	// range of the weights and scale factor for computing the bin in an approximate sort
+	private float minWeight, binScale;
+
+	// the image being processed
+	private T input;
+
+	// computes the edges inside a band
+	private IntConsumer computeBand = new IntConsumer() {
+		@Override
+		public void accept(int index) {
+			bands.get(index).computeEdges();
+		}
+	};
+
+	// copies the edges from each band into the combined arrays
+	private IntConsumer copyBand = new IntConsumer() {
+		@Override
+		public void accept(int index) {
+			bands.get(index).copyEdges();
+		}
+	};
+
+	// initializes the graph, region size, and thresholds
+	private IntRangeConsumer initializeRange = new IntRangeConsumer() {
+		@Override
+		public void accept(int minInclusive, int maxExclusive) {
+			for (int i = minInclusive; i < maxExclusive; i++) {
+				regionSize.data[i] = 1;
+				threshold.data[i] = K;
+				graph.data[i] = i;
+			}
+		}
+	};
+
+	// computes the histogram of the current digit in a block
+	private IntConsumer histogramBlock = new IntConsumer() {
+		@Override
+		public void accept(int block) {
+			final int[] sortKeys = keys.data;
+			final int[] histogram = histograms;
+			final int offset = block*RADIX_SIZE;
+			final int shift = SegmentFelzenszwalbHuttenlocher04_MT.this.shift;
+
+			for (int i = 0; i < RADIX_SIZE; i++) {
+				histogram[offset+i] = 0;
+			}
+			int end = blockEnd(block);
+			for (int i = blockStart(block); i < end; i++) {
+				histogram[offset + ((sortKeys[i] >>> shift) & (RADIX_SIZE-1))]++;
+			}
+		}
+	};
+
+	// moves the edges in a block to their location after sorting by the current digit
+	private IntConsumer scatterBlock = new IntConsumer() {
+		@Override
+		public void accept(int block) {
+			final int[] keysSrc = keys.data, keysDst = keysWork.data;
+			final int[] orderSrc = order.data, orderDst = orderWork.data;
+			final int[] histogram = histograms;
+			final int offset = block*RADIX_SIZE;
+			final int shift = SegmentFelzenszwalbHuttenlocher04_MT.this.shift;
+
+			int end = blockEnd(block);
+			for (int i = blockStart(block); i < end; i++) {
+				int key = keysSrc[i];
+				int where = histogram[offset + ((key >>> shift) & (RADIX_SIZE-1))]++;
+				keysDst[where] = key;
+				orderDst[where] = orderSrc[i];
+			}
+		}
+	};
+
+	/**
+	 * Specifies tuning parameter
+	 *
+	 * @param k Tuning parameter.  Larger regions are preferred for larger values of K.  Try 300
+	 * @param minimumSize Regions smaller than this are merged into larger regions
+	 * @param weightsPool Creates the function used by each thread to compute edge weights.
+	 */
+	public SegmentFelzenszwalbHuttenlocher04_MT(float k, int minimumSize, WorkerPool<FhEdgeWeights<T>> weightsPool) {
+		this(k, minimumSize, weightsPool, weightsPool.acquire());
+	}
+
+	private SegmentFelzenszwalbHuttenlocher04_MT(float k, int minimumSize, WorkerPool<FhEdgeWeights<T>> weightsPool,
+												 FhEdgeWeights<T> prototype) {
+		super(k, minimumSize, prototype);
+		this.weightsPool = weightsPool;
+		weightsPool.release(prototype);
+	}
+
+	@Override
+	public void configureApproximateSort(int numBins) {
+		super.configureApproximateSort(numBins);
+		this.approximateBins = numBins;
+	}
+
+	@Override
+	public void process(T input, GrayS32 output) {
+		if( !BoofConcurrency.isActive() ) {
+			super.process(input, output);
+			return;
+		}
+
+		if( output.isSubimage() )
+			throw new IllegalArgumentException("Output can't be a sub-image");
+		InputSanityCheck.checkSameShape(input, output);
+
+		this.input = input;
+		initializeConcurrent(output);
+
+		computeEdges();
+		sortEdges();
+
+		mergeSortedEdges();
+		mergeSmallSortedRegions();
+
+		computeOutput();
+
+		this.input = null;
+	}
+
+	public int getBandHeight() {
+		return bandHeight;
+	}
+
+	public void setBandHeight(int bandHeight) {
+		if( bandHeight <= 0 )
+			throw new IllegalArgumentException("Must be greater than zero");
+		this.bandHeight = bandHeight;
+	}
+
+	public int getMinSortBlock() {
+		return minSortBlock;
+	}
+
+	public void setMinSortBlock(int minSortBlock) {
+		if( minSortBlock <= 0 )
+			throw new IllegalArgumentException("Must be greater than zero");
+		this.minSortBlock = minSortBlock;
+	}
+
+	/**
+	 * Same as {@link #initialize} but the arrays are filled in using multiple threads
+	 */
+	private void initializeConcurrent( GrayS32 output ) {
+		this.graph = output;
+		final int N = output.width*output.height;
+
+		regionSize.resize(N);
+		threshold.resize(N);
+		BoofConcurrency.loopBlocks(0, N, initializeRange);
+		notMatched.reset();
+	}
+
+	/**
+	 * Computes the edges in each band then combines them into a single list
+	 */
+	private void computeEdges() {
+		int numBands = (input.height + bandHeight - 1)/bandHeight;
+		bands.resize(numBands);
+		for (int i = 0; i < numBands; i++) {
+			Band band = bands.get(i);
+			band.y0 = i*bandHeight;
+			band.y1 = Math.min(input.height, band.y0 + bandHeight);
+		}
+		BoofConcurrency.loopFor(0, numBands, computeBand);
+
+		// location of each band's edges in the combined list
+		int total = 0;
+		float maxWeight = 0;
+		minWeight = Float.MAX_VALUE;
+		for (int i = 0; i < numBands; i++) {
+			Band band = bands.get(i);
+			band.offset = total;
+			total += band.indexA.size;
+			minWeight = Math.min(minWeight, band.minWeight);
+			maxWeight = Math.max(maxWeight, band.maxWeight);
+		}
+		if( maxWeight > minWeight )
+			binScale = approximateBins/(maxWeight - minWeight);
+		else
+			binScale = 0;
+
+		edgeA.resize(total);
+		edgeB.resize(total);
+		edgeWeight.resize(total);
+		keys.resize(total);
+		order.resize(total);
+		BoofConcurrency.loopFor(0, numBands, copyBand);
+	}
+
+	/**
+	 * Sorts the edges by their key using a least significant digit radix sort.  Each pass is done in parallel
+	 * by splitting the edges into blocks.  Passes where every key has the same digit are skipped.
+	 */
+	private void sortEdges() {
+		final int N = keys.size;
+		numSortBlocks = Math.max(1, Math.min(BoofConcurrency.getMaxThreads(), N/minSortBlock));
+		if( histograms.length < numSortBlocks*RADIX_SIZE )
+			histograms = new int[numSortBlocks*RADIX_SIZE];
+		keysWork.resize(N);
+		orderWork.resize(N);
+
+		for (shift = 0; shift < 32; shift += RADIX_BITS) {
+			BoofConcurrency.loopFor(0, numSortBlocks, histogramBlock);
+
+			// convert the counts into the location of the first element with each digit in each block
+			boolean skip = false;
+			int total = 0;
+			for (int digit = 0; digit < RADIX_SIZE && !skip; digit++) {
+				int count = 0;
+				for (int block = 0; block < numSortBlocks; block++) {
+					int index = block*RADIX_SIZE + digit;
+					int tmp = histograms[index];
+					histograms[index] = total;
+					total += tmp;
+					count += tmp;
+				}
+				skip = count == N;
+			}
+			if( skip )
+				continue;
+
+			BoofConcurrency.loopFor(0, numSortBlocks, scatterBlock);
+
+			GrowQueue_I32 tmp = keys; keys = keysWork; keysWork = tmp;
+			tmp = order; order = orderWork; orderWork = tmp;
+		}
+	}
+
+	private int blockStart( int block ) {
+		return (int)((long)keys.size*block/numSortBlocks);
+	}
+
+	private int blockEnd( int block ) {
+		return (int)((long)keys.size*(block+1)/numSortBlocks);
+	}
+
+	/**
+	 * Same as {@link #mergeRegions()} but for the sorted edges in primitive arrays
+	 */
+	private void mergeSortedEdges() {
+		final int[] order = this.order.data;
+		final int[] edgeA = this.edgeA.data;
+		final int[] edgeB = this.edgeB.data;
+		final float[] edgeWeight = this.edgeWeight.data;
+		final int N = this.order.size;
+
+		for( int i = 0; i < N; i++ ) {
+			int e = order[i];
+			int indexB = edgeB[e];
+
+			int rootA = find(edgeA[e]);
+			int rootB = find(indexB);
+
+			// see if they are already part of the same segment
+			if( rootA == rootB )
+				continue;
+
+			float weight = edgeWeight[e];
+			if( weight <= threshold.data[rootA] && weight <= threshold.data[rootB] )  {
+				int sizeA = regionSize.data[rootA];
+				int sizeB = regionSize.data[rootB];
+
+				// Everything is merged into region A, so update its threshold
+				threshold.data[rootA] = weight + K/(sizeA + sizeB);
+
+				// Point everything towards rootA
+				graph.data[indexB] = rootA;
+				graph.data[rootB] = rootA;
+
+				regionSize.data[rootA] = sizeA + sizeB;
+			} else {
+				notMatched.add(e);
+			}
+		}
+	}
+
+	/**
+	 * Same as {@link #mergeSmallRegions()} but for edges in primitive arrays
+	 */
+	private void mergeSmallSortedRegions() {
+		final int[] edgeA = this.edgeA.data;
+		final int[] edgeB = this.edgeB.data;
+
+		for( int i = 0; i < notMatched.size; i++ ) {
+			int e = notMatched.data[i];
+			int indexB = edgeB[e];
+
+			int rootA = find(edgeA[e]);
+			int rootB = find(indexB);
+
+			// see if they are already part of the same segment
+			if( rootA == rootB )
+				continue;
+
+			int sizeA = regionSize.data[rootA];
+			int sizeB = regionSize.data[rootB];
+
+			// merge if one of the regions is too small
+			if( sizeA < minimumSize || sizeB < minimumSize ) {
+				graph.data[indexB] = rootA;
+				graph.data[rootB] = rootA;
+
+				regionSize.data[rootA] = sizeA + sizeB;
+			}
+		}
+	}
+
+	/**
+	 * Edges for a band of rows.  The band is expanded by one row so that edges to the next band are included,
+	 * edges which start in the extra row are ignored since they belong to the next band.
+	 */
+	private class Band {
+		int y0, y1;
+		// index of the band's first edge in the combined list
+		int offset;
+		// the edges with pixel indexes in the full image
+		GrowQueue_I32 indexA = new GrowQueue_I32();
+		GrowQueue_I32 indexB = new GrowQueue_I32();
+		GrowQueue_F32 weight = new GrowQueue_F32();
+		float minWeight, maxWeight;
+		// sub-image of the input image
+		T subimage;
+
+		void computeEdges() {
+			indexA.reset();
+			indexB.reset();
+			weight.reset();
+			minWeight = Float.MAX_VALUE;
+			maxWeight = 0;
+
+			int width = input.width;
+			subimage = input.subimage(0, y0, width, Math.min(input.height, y1+1), subimage);
+
+			FhEdgeWeights<T> alg = weightsPool.acquire();
+			FastQueue<Edge> edges = edgesPool.acquire();
+			try {
+				edges.reset();
+				alg.process(subimage, edges);
+
+				int indexOffset = y0*width;
+				int indexLimit = (y1-y0)*width;
+				for (int i = 0; i < edges.size; i++) {
+					Edge e = edges.data[i];
+					if( e.indexA >= indexLimit )
+						continue;
+					float w = e.weight();
+					indexA.add(e.indexA + indexOffset);
+					indexB.add(e.indexB + indexOffset);
+					weight.add(w);
+					if( w < minWeight ) minWeight = w;
+					if( w > maxWeight ) maxWeight = w;
+				}
+			} finally {
+				edgesPool.release(edges);
+				weightsPool.release(alg);
+			}
+		}
+
+		void copyEdges() {
+			final int N = indexA.size;
+			System.arraycopy(indexA.data, 0, edgeA.data, offset, N);
+			System.arraycopy(indexB.data, 0, edgeB.data, offset, N);
+			System.arraycopy(weight.data, 0, edgeWeight.data, offset, N);
+
+			final int[] sortKeys = keys.data;
+			final int[] sortOrder = order.data;
+			final float[] weights = weight.data;
+			if( approximateBins > 0 ) {
+				final float minWeight = SegmentFelzenszwalbHuttenlocher04_MT.this.minWeight;
+				for (int i = 0; i < N; i++) {
+					int bin = (int)((weights[i] - minWeight)*binScale);
+					sortKeys[offset+i] = Math.min(bin, approximateBins-1);
+					sortOrder[offset+i] = offset+i;
+				}
+			} else {
+				// weights are never negative so the order of the bits as an int is the same as the float
+				for (int i = 0; i < N; i++) {
+					sortKeys[offset+i] = Float.floatToRawIntBits(weights[i]);
+					sortOrder[offset+i] = offset+i;
+				}
+			}
+		}
+	}
+}
@@ -18,6 +18,7 @@
 
 package boofcv.alg.segmentation.ms;
 
+import boofcv.struct.feature.ColorQueue_F32;
 import boofcv.struct.image.GrayS32;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
@@ -195,6 +196,56 @@ public abstract class SegmentMeanShiftSearch<T extends ImageBase<T>> {
 		return sample0*(1f-w) + sample1*w;
 	}
 
+	/**
+	 * Checks to see if a pixel has already been assigned a mode.  If it has then the location of the mode
+	 * is saved in (modeX,modeY).  Used by the fast approximation to stop searching early.
+	 *
+	 * @return true if the pixel's mode is already known
+	 */
+	protected boolean checkKnownMode( int px , int py ) {
+		int modeIndex = pixelToMode.unsafe_get(px,py);
+		if( modeIndex == -1 )
+			return false;
+
+		Point2D_I32 modeP = modeLocation.get(modeIndex);
+		this.modeX = modeP.x;
+		this.modeY = modeP.y;
+		return true;
+	}
+
+	/**
+	 * Used by concurrent implementations to combine the modes found in each band of rows.  Bands must be in
+	 * order and the modes in each band in the order they were found.  Modes are added in the same order as a raster
+	 * scan would find them.  When called, pixelToMode contains the pixel index of each pixel's mode, this is
+	 * then converted into the index of the mode and the number of members in each mode is computed.
+	 *
+	 * @param bands Modes found in each band of rows
+	 */
+	protected void mergeBandModes( FastQueue<BandModes> bands ) {
+		final int width = pixelToMode.width;
+		for (int bandIdx = 0; bandIdx < bands.size; bandIdx++) {
+			BandModes band = bands.get(bandIdx);
+			for (int i = 0; i < band.modes.size; i++) {
+				int modePixelIndex = band.modes.data[i];
+				if( quickMode.data[modePixelIndex] >= 0 )
+					continue;
+
+				quickMode.data[modePixelIndex] = modeLocation.size();
+				modeLocation.grow().set(modePixelIndex%width, modePixelIndex/width);
+				System.arraycopy(band.colors.get(i),0,modeColor.grow(),0,band.colors.get(i).length);
+				modeMemberCount.add(0);
+			}
+		}
+
+		// convert from the location of the mode to the index of the mode
+		final int N = pixelToMode.width*pixelToMode.height;
+		for (int i = 0; i < N; i++) {
+			int modeIndex = quickMode.data[pixelToMode.data[i]];
+			pixelToMode.data[i] = modeIndex;
+			modeMemberCount.data[modeIndex]++;
+		}
+	}
+
 	/**
 	 * From peak index to pixel index
 	 */
@@ -221,4 +272,35 @@ public abstract class SegmentMeanShiftSearch<T extends ImageBase<T>> {
 	}
 
 	public abstract ImageType<T> getImageType();
+
+	/**
+	 * Modes found inside a band of rows by a concurrent implementation
+	 */
+	protected static class BandModes {
+		// rows in the band.  y1 is exclusive
+		public int y0, y1;
+		// pixel index of each mode that was found, in the order they were found
+		public GrowQueue_I32 modes = new GrowQueue_I32();
+		// color of each mode
+		public FastQueue<float[]> colors;
+
+		public BandModes( int numBands ) {
+			colors = new ColorQueue_F32(numBands);
+		}
+
+		public void reset() {
+			modes.reset();
+			colors.reset();
+		}
+
+		/**
+		 * Saves a mode if it wasn't the previously found mode.  Neighboring pixels often have the same mode.
+		 */
+		public void add( int modePixelIndex , float[] color ) {
+			if( modes.size > 0 && modes.data[modes.size-1] == modePixelIndex )
+				return;
+			modes.add(modePixelIndex);
+			System.arraycopy(color,0,colors.grow(),0,color.length);
+		}
+	}
 }
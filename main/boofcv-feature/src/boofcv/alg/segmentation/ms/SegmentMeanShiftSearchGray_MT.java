@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.segmentation.ms;
+
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntConsumer;
+import boofcv.concurrency.WorkerPool;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.ImageGray;
+import georegression.struct.point.Point2D_F32;
+import org.ddogleg.struct.FastQueue;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link SegmentMeanShiftSearchGray}.  The image is split into bands of rows with
+ * a fixed height and the mean-shift search for each pixel in a band is performed by a worker which has its own
+ * interpolation, trajectory history, and lookup tables.  After all bands have been processed the modes are merged
+ * in the same order as a raster scan.
+ * </p>
+ *
+ * <p>
+ * If the fast approximation is turned off then the results are identical to the single threaded implementation.
+ * When it's on the trajectory of a search is only used to assign modes to pixels inside the same band.
+ * Results do not depend on the number of threads, but they will be slightly different from the single threaded
+ * version.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class SegmentMeanShiftSearchGray_MT<T extends ImageGray<T>> extends SegmentMeanShiftSearchGray<T> {
+
+	/**
+	 * Number of rows in each band
+	 */
+	private int bandHeight = 32;
+
+	// storage for modes found in each band
+	private FastQueue<BandModes> bands = new FastQueue<BandModes>(BandModes.class,true) {
+		@Override
+		protected BandModes createInstance() {
+			return new BandModes(1);
+		}
+	};
+
+	// workers which perform the search in each band
+	private WorkerPool<Worker<T>> workers;
+
+	/**
+	 * Configures the search.  See {@link SegmentMeanShiftSearchGray} for a description of parameters.
+	 *
+	 * @param interpolators Creates the interpolation used by each thread
+	 */
+	public SegmentMeanShiftSearchGray_MT(final int maxIterations, final float convergenceTol,
+										 final WorkerPool<InterpolatePixelS<T>> interpolators,
+										 final int radiusX , final int radiusY , final float maxColorDistance,
+										 final boolean fast ) {
+		super(maxIterations, convergenceTol, interpolators.acquire(), radiusX, radiusY, maxColorDistance, fast);
+		interpolators.release(interpolate);
+
+		workers = new WorkerPool<Worker<T>>() {
+			@Override
+			protected Worker<T> createWorker() {
+				return new Worker<>(maxIterations, convergenceTol, interpolators.acquire(),
+						radiusX, radiusY, maxColorDistance, fast);
+			}
+		};
+	}
+
+	@Override
+	public void process( final T image ) {
+		// initialize data structures
+		this.image = image;
+
+		modeLocation.reset();
+		modeColor.reset();
+		modeMemberCount.reset();
+
+		pixelToMode.reshape(image.width, image.height);
+		quickMode.reshape(image.width, image.height);
+		// mark as -1 so it knows which pixels have been assigned a mode already and can skip them
+		ImageMiscOps.fill(pixelToMode, -1);
+		// mark all pixels are not being a mode
+		ImageMiscOps.fill(quickMode,-1);
+
+		int numBands = (image.height + bandHeight - 1)/bandHeight;
+		bands.resize(numBands);
+		for (int i = 0; i < numBands; i++) {
+			BandModes b = bands.get(i);
+			b.y0 = i*bandHeight;
+			b.y1 = Math.min(image.height, b.y0 + bandHeight);
+		}
+
+		// pixelToMode will contain the pixel index of each pixel's mode
+		BoofConcurrency.loopFor(0, numBands, new IntConsumer() {
+			@Override
+			public void accept(int index) {
+				Worker<T> worker = workers.acquire();
+				try {
+					worker.process(image, pixelToMode, bands.get(index));
+				} finally {
+					workers.release(worker);
+				}
+			}
+		});
+
+		mergeBandModes(bands);
+	}
+
+	public int getBandHeight() {
+		return bandHeight;
+	}
+
+	public void setBandHeight(int bandHeight) {
+		if( bandHeight <= 0 )
+			throw new IllegalArgumentException("Must be greater than zero");
+		this.bandHeight = bandHeight;
+	}
+
+	/**
+	 * Performs mean-shift on each pixel inside a band of rows
+	 */
+	static class Worker<T extends ImageGray<T>> extends SegmentMeanShiftSearchGray<T> {
+		// the band being processed
+		BandModes band;
+		// true if the most recent search stopped at a pixel with a known mode
+		boolean foundKnown;
+		// storage for the color of a mode
+		float[] color = new float[1];
+
+		Worker(int maxIterations, float convergenceTol, InterpolatePixelS<T> interpolate,
+			   int radiusX, int radiusY, float maxColorDistance, boolean fast) {
+			super(maxIterations, convergenceTol, interpolate, radiusX, radiusY, maxColorDistance, fast);
+		}
+
+		/**
+		 * Finds the mode of each pixel in the band.  The pixel index of the mode is written to pixelToMode.
+		 */
+		void process( T image , GrayS32 pixelToMode , BandModes band ) {
+			this.image = image;
+			this.pixelToMode = pixelToMode;
+			this.band = band;
+			interpolate.setImage(image);
+			band.reset();
+
+			for( int y = band.y0; y < band.y1; y++ ) {
+				int indexImg = y*image.width;
+				for( int x = 0; x < image.width; x++ , indexImg++) {
+					if( pixelToMode.data[indexImg] != -1 )
+						continue;
+
+					foundKnown = false;
+					float meanColor = interpolate.get(x, y);
+					findPeak(x,y, meanColor);
+
+					// convert mean-shift location into pixel index
+					int modeX = (int)(this.modeX +0.5f);
+					int modeY = (int)(this.modeY +0.5f);
+
+					int modePixelIndex = modeY*image.width + modeX;
+
+					// if the search stopped early the mode has already been saved
+					if( !foundKnown ) {
+						color[0] = meanGray;
+						band.add(modePixelIndex, color);
+					}
+
+					// Assign the mode to pixels inside the band it traversed through
+					for( int i = 0; i < history.size; i++ ) {
+						Point2D_F32 p = history.get(i);
+						int px = (int)(p.x+0.5f);
+						int py = (int)(p.y+0.5f);
+
+						if( py < band.y0 || py >= band.y1 )
+							continue;
+
+						int index = py*image.width + px;
+						if( pixelToMode.data[index] == -1 ) {
+							pixelToMode.data[index] = modePixelIndex;
+						}
+					}
+				}
+			}
+		}
+
+		@Override
+		protected boolean checkKnownMode(int px, int py) {
+			// only pixels inside the band are known, the other bands are still being processed
+			if( py < band.y0 || py >= band.y1 )
+				return false;
+
+			int modePixelIndex = pixelToMode.data[py*image.width + px];
+			if( modePixelIndex == -1 )
+				return false;
+
+			this.modeX = modePixelIndex%image.width;
+			this.modeY = modePixelIndex/image.width;
+			foundKnown = true;
+			return true;
+		}
+	}
+}
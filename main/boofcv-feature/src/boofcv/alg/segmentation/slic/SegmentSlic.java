@@ -22,6 +22,8 @@ import boofcv.alg.InputSanityCheck;
 import boofcv.alg.segmentation.ComputeRegionMeanColor;
 import boofcv.alg.segmentation.ms.ClusterLabeledImage;
 import boofcv.alg.segmentation.ms.MergeSmallRegions;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntConsumer;
 import boofcv.factory.segmentation.FactorySegmentationAlg;
 import boofcv.struct.ConnectRule;
 import boofcv.struct.feature.ColorQueue_F32;
@@ -29,6 +31,7 @@ import boofcv.struct.image.GrayS32;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
 import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F32;
 import org.ddogleg.struct.GrowQueue_I32;
 
 import java.util.Arrays;
@@ -56,6 +59,16 @@ import java.util.Arrays;
  * </p>
  *
  * <p>
+ * The clusters near each pixel and their distances are stored in primitive arrays with a fixed number of elements
+ * for each pixel, which grows if a pixel is near more clusters.  Pixels are processed in bands of rows and
+ * each band has its own accumulators for updating the clusters.  When {@link BoofConcurrency#isActive()} the bands
+ * are processed in parallel.  Band sizes are fixed and the accumulators are always summed in the same order, so
+ * the results are identical with or without concurrency.  Compared to releases before 0.27, which summed every
+ * pixel directly into its cluster, the order of floating point additions is different.  The round off error is
+ * different too, which can occasionally move a few pixels into a different superpixel.
+ * </p>
+ *
+ * <p>
  * [1] Radhakrishna Achanta, Appu Shaji, Kevin Smith, Aurelien Lucchi, Pascal Fua, and Sabine Süsstrunk,
  * SLIC Superpixels, EPFL Technical Report no. 149300, June 2010.
  * </p>
@@ -67,6 +80,11 @@ public abstract class SegmentSlic<T extends ImageBase<T>> {
 	// which can be sampled when computing the gradient
 	public static final int BORDER = 2;
 
+	/**
+	 * Number of rows in each band of pixels.  Each band has accumulators for every cluster.
+	 */
+	private int bandHeight = 64;
+
 	// number of bands in the input image
 	private int numBands;
 
@@ -99,9 +117,52 @@ public abstract class SegmentSlic<T extends ImageBase<T>> {
 	// ensures that all pixels in segment are connected
 	protected ClusterLabeledImage segment;
 
-	// storage for clusters and pixel information
+	// storage for clusters
 	protected FastQueue<Cluster> clusters;
-	protected FastQueue<Pixel> pixels = new FastQueue<>(Pixel.class, true);
+
+	// Maximum number of clusters which can be saved for each pixel.  Increased if a pixel is near more clusters
+	protected int pixelCapacity = 9;
+	// Number of clusters near each pixel
+	protected GrowQueue_I32 pixelCount = new GrowQueue_I32();
+	// Index of the clusters near each pixel.  Clusters for pixel i start at i*pixelCapacity
+	protected GrowQueue_I32 pixelClusters = new GrowQueue_I32();
+	// Distance of the clusters from each pixel.  Converted into weights when clusters are updated
+	protected GrowQueue_F32 pixelDistances = new GrowQueue_F32();
+
+	// storage for each band of rows
+	protected FastQueue<Band> bands = new FastQueue<Band>(Band.class,true) {
+		@Override
+		protected Band createInstance() {
+			return new Band();
+		}
+	};
+
+	// image which labels are being assigned to
+	private GrayS32 pixelToRegions;
+
+	// computes the distance of clusters from the pixels in a band
+	private IntConsumer computeDistanceBand = new IntConsumer() {
+		@Override
+		public void accept(int index) {
+			computeClusterDistance(bands.get(index));
+		}
+	};
+
+	// accumulates weighted pixels for clusters in a band
+	private IntConsumer updateBand = new IntConsumer() {
+		@Override
+		public void accept(int index) {
+			updateClusters(bands.get(index));
+		}
+	};
+
+	// assigns a label to each pixel in a band
+	private IntConsumer assignBand = new IntConsumer() {
+		@Override
+		public void accept(int index) {
+			assignLabelsToPixels(bands.get(index));
+		}
+	};
 
 	// type of input image
 	protected ImageType<T> imageType;
@@ -168,7 +229,7 @@ public abstract class SegmentSlic<T extends ImageBase<T>> {
 	 */
 	protected void initalize(T input) {
 		this.input = input;
-		pixels.resize(input.width * input.height);
+		declarePixels(input.width * input.height);
 		initialSegments.reshape(input.width, input.height);
 
 		// number of usable pixels that cluster centers can be placed in
@@ -259,13 +320,76 @@ public abstract class SegmentSlic<T extends ImageBase<T>> {
 	 */
 	public abstract float getIntensity(int x, int y);
 
+	/**
+	 * Resizes the per pixel storage and sets the number of clusters near each pixel to zero
+	 */
+	protected void declarePixels( int numPixels ) {
+		pixelCount.resize(numPixels);
+		pixelCount.fill(0);
+		pixelClusters.resize(numPixels*pixelCapacity);
+		pixelDistances.resize(numPixels*pixelCapacity);
+	}
+
+	/**
+	 * Splits the image into bands of rows
+	 */
+	protected void declareBands( int height ) {
+		int numBands = (height + bandHeight - 1)/bandHeight;
+		bands.resize(numBands);
+		for (int i = 0; i < numBands; i++) {
+			Band b = bands.get(i);
+			b.y0 = i*bandHeight;
+			b.y1 = Math.min(height, b.y0 + bandHeight);
+		}
+	}
+
+	/**
+	 * Processes every band, using multiple threads if concurrency is active
+	 */
+	private void processBands( IntConsumer op ) {
+		if( BoofConcurrency.isActive() ) {
+			BoofConcurrency.loopFor(0, bands.size, op);
+		} else {
+			for (int i = 0; i < bands.size; i++) {
+				op.accept(i);
+			}
+		}
+	}
+
 	/**
 	 * Computes how far away each cluster is from each pixel.  Expectation step.
 	 */
 	protected void computeClusterDistance() {
-		for( int i = 0; i < pixels.size; i++ ) {
-			pixels.data[i].reset();
+		declareBands(input.height);
+
+		while( true ) {
+			processBands(computeDistanceBand);
+
+			int maxCount = 0;
+			for (int i = 0; i < bands.size; i++) {
+				maxCount = Math.max(maxCount, bands.get(i).maxCount);
+			}
+			if( maxCount <= pixelCapacity )
+				break;
+
+			// a pixel is near more clusters than can be saved.  Make room for them all and try again
+			pixelCapacity = maxCount;
+			declarePixels(input.width*input.height);
 		}
+	}
+
+	/**
+	 * Computes the distance of each cluster from each pixel in the band.  Clusters are saved in the same order
+	 * as they appear in the list of clusters.
+	 */
+	private void computeClusterDistance( Band band ) {
+		final int[] count = pixelCount.data;
+		final int[] ids = pixelClusters.data;
+		final float[] distances = pixelDistances.data;
+		final int capacity = pixelCapacity;
+
+		Arrays.fill(count, band.y0*input.width, band.y1*input.width, 0);
+		band.maxCount = 0;
 
 		for( int i = 0; i < clusters.size; i++ ) {
 			Cluster c = clusters.data[i];
@@ -278,9 +402,9 @@ public abstract class SegmentSlic<T extends ImageBase<T>> {
 			int y0 = centerY - gridInterval; int y1 = centerY + gridInterval + 1;
 
 			if( x0 < 0 ) x0 = 0;
-			if( y0 < 0 ) y0 = 0;
+			if( y0 < band.y0 ) y0 = band.y0;
 			if( x1 > input.width ) x1 = input.width;
-			if( y1 > input.height ) y1 = input.height;
+			if( y1 > band.y1 ) y1 = band.y1;
 
 			for( int y = y0; y < y1; y++ ) {
 				int indexPixel = y*input.width + x0;
@@ -288,12 +412,19 @@ public abstract class SegmentSlic<T extends ImageBase<T>> {
 
 				int dy = y-centerY;
 
-				for( int x = x0; x < x1; x++ ) {
+				for( int x = x0; x < x1; x++ , indexPixel++ ) {
 					int dx = x-centerX;
 
 					float distanceColor = colorDistance(c.color,indexInput++);
 					float distanceSpacial = dx*dx + dy*dy;
-					pixels.data[indexPixel++].add(c,distanceColor + adjustSpacial*distanceSpacial);
+
+					int n = count[indexPixel]++;
+					if( n < capacity ) {
+						ids[indexPixel*capacity + n] = i;
+						distances[indexPixel*capacity + n] = distanceColor + adjustSpacial*distanceSpacial;
+					}
+					if( n >= band.maxCount )
+						band.maxCount = n+1;
 				}
 			}
 		}
@@ -303,32 +434,93 @@ public abstract class SegmentSlic<T extends ImageBase<T>> {
 	 * Update the value of each cluster using  Maximization step.
 	 */
 	protected void updateClusters() {
+		declareBands(input.height);
+		processBands(updateBand);
+
 		for( int i = 0; i < clusters.size; i++ ) {
 			clusters.data[i].reset();
 		}
 
-		int indexPixel = 0;
-		for( int y = 0; y < input.height; y++ ) {
+		// sum the accumulators from each band in order
+		for (int bandIdx = 0; bandIdx < bands.size; bandIdx++) {
+			Band band = bands.get(bandIdx);
+			for (int i = band.minCluster; i <= band.maxCluster; i++) {
+				Cluster c = clusters.data[i];
+				c.x += band.sums[i*3];
+				c.y += band.sums[i*3+1];
+				c.totalWeight += band.sums[i*3+2];
+				float[] color = band.colors.data[i];
+				for (int j = 0; j < numBands; j++) {
+					c.color[j] += color[j];
+				}
+			}
+		}
+
+		// recompute the center of each cluster
+		for( int i = 0; i < clusters.size; i++ ) {
+			clusters.data[i].update();
+		}
+	}
+
+	/**
+	 * Adds the weighted location and color of each pixel in the band to the band's accumulator for each cluster
+	 */
+	private void updateClusters( Band band ) {
+		final int[] count = pixelCount.data;
+		final int[] ids = pixelClusters.data;
+		final float[] weights = pixelDistances.data;
+		final int capacity = pixelCapacity;
+
+		band.declareAccumulators(clusters.size, numBands);
+		final float[] sums = band.sums;
+		final float[][] colors = band.colors.data;
+		int minCluster = Integer.MAX_VALUE, maxCluster = -1;
+
+		for( int y = band.y0; y < band.y1; y++ ) {
+			int indexPixel = y*input.width;
 			int indexInput = input.startIndex + y*input.stride;
 			for( int x =0; x < input.width; x++ , indexPixel++ , indexInput++) {
-				Pixel p = pixels.get(indexPixel);
+				int offset = indexPixel*capacity;
+				int N = count[indexPixel];
 
 				// convert the distance each cluster is from the pixel into weights
-				p.computeWeights();
-
-				for( int i = 0; i < p.clusters.size; i++ ) {
-					ClusterDistance d = p.clusters.data[i];
-					d.cluster.x += x*d.distance;
-					d.cluster.y += y*d.distance;
-					d.cluster.totalWeight += d.distance;
-					addColor(d.cluster.color,indexInput,d.distance);
+				computeWeights(weights, offset, N);
+
+				for( int i = 0; i < N; i++ ) {
+					int id = ids[offset+i];
+					float w = weights[offset+i];
+					sums[id*3]   += x*w;
+					sums[id*3+1] += y*w;
+					sums[id*3+2] += w;
+					addColor(colors[id],indexInput,w);
+
+					if( id < minCluster ) minCluster = id;
+					if( id > maxCluster ) maxCluster = id;
 				}
 			}
 		}
+		band.minCluster = minCluster;
+		band.maxCluster = maxCluster;
+	}
 
-		// recompute the center of each cluster
-		for( int i = 0; i < clusters.size; i++ ) {
-			clusters.data[i].update();
+	/**
+	 * Converts the distance each cluster is from a pixel into a weight.
+	 *
+	 * @param distances Array containing the distances.  Modified.
+	 * @param offset Index of the first distance
+	 * @param length Number of distances
+	 */
+	protected static void computeWeights( float[] distances , int offset , int length ) {
+		if( length == 1 ) {
+			distances[offset] = 1;
+		} else {
+			float sum = 0;
+			for( int i = 0; i < length; i++ ) {
+				sum += distances[offset+i];
+			}
+			for( int i = 0; i < length; i++ ) {
+				distances[offset+i] = 1.0f - distances[offset+i]/sum;
+			}
 		}
 	}
 
@@ -348,35 +540,76 @@ public abstract class SegmentSlic<T extends ImageBase<T>> {
 			}
 		}
 
+		this.pixelToRegions = pixelToRegions;
+		declareBands(pixelToRegions.height);
+		processBands(assignBand);
+		this.pixelToRegions = null;
+
 		regionMemberCount.resize(clusters.size());
 		regionMemberCount.fill(0);
 
-		int indexPixel = 0;
-		for( int y = 0; y < pixelToRegions.height; y++ ) {
+		int totalUnassigned = 0;
+		for (int bandIdx = 0; bandIdx < bands.size; bandIdx++) {
+			Band band = bands.get(bandIdx);
+			for (int i = 0; i < clusters.size; i++) {
+				regionMemberCount.data[i] += band.memberCount.data[i];
+			}
+			totalUnassigned += band.unassigned;
+		}
+
+		// It is possible for a pixel to be unassigned if all the means move too far away from it
+		// Default to a non-existant cluster if that's the case
+		if( totalUnassigned > 0 ) {
+			for( int y = 0; y < pixelToRegions.height; y++ ) {
+				int indexOutput = pixelToRegions.startIndex + y*pixelToRegions.stride;
+				for( int x =0; x < pixelToRegions.width; x++ , indexOutput++) {
+					if( pixelToRegions.data[indexOutput] != -1 )
+						continue;
+					regionColor.grow();
+					int best = regionMemberCount.size();
+					regionMemberCount.add(1);
+					pixelToRegions.data[indexOutput] = best;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Assigns each pixel in the band to the cluster it is closest to.  Pixels without a cluster are assigned -1.
+	 */
+	private void assignLabelsToPixels( Band band ) {
+		final int[] count = pixelCount.data;
+		final int[] ids = pixelClusters.data;
+		final float[] distances = pixelDistances.data;
+		final int capacity = pixelCapacity;
+
+		band.memberCount.resize(clusters.size);
+		band.memberCount.fill(0);
+		band.unassigned = 0;
+
+		for( int y = band.y0; y < band.y1; y++ ) {
+			int indexPixel = y*pixelToRegions.width;
 			int indexOutput = pixelToRegions.startIndex + y*pixelToRegions.stride;
 			for( int x =0; x < pixelToRegions.width; x++ , indexPixel++ , indexOutput++) {
-				Pixel p = pixels.data[indexPixel];
+				int offset = indexPixel*capacity;
+				int N = count[indexPixel];
 
-				// It is possible for a pixel to be unassigned if all the means move too far away from it
-				// Default to a non-existant cluster if that's the case
 				int best = -1;
 				float bestDistance = Float.MAX_VALUE;
 				// find the region/cluster which it is closest to
-				for( int j = 0; j < p.clusters.size; j++ ) {
-					ClusterDistance d = p.clusters.data[j];
-					if( d.distance < bestDistance ) {
-						bestDistance = d.distance;
-						best = d.cluster.id;
+				for( int j = 0; j < N; j++ ) {
+					float d = distances[offset+j];
+					if( d < bestDistance ) {
+						bestDistance = d;
+						best = clusters.data[ids[offset+j]].id;
 					}
 				}
-				if( best == -1 ) {
-					regionColor.grow();
-					best = regionMemberCount.size();
-					regionMemberCount.add(0);
-				}
 
 				pixelToRegions.data[indexOutput] = best;
-				regionMemberCount.data[best]++;
+				if( best == -1 )
+					band.unassigned++;
+				else
+					band.memberCount.data[best]++;
 			}
 		}
 	}
@@ -389,50 +622,14 @@ public abstract class SegmentSlic<T extends ImageBase<T>> {
 		return clusters;
 	}
 
-	/**
-	 * K-means clustering information for each pixel.  Stores distance from each cluster mean.
-	 */
-	public static class Pixel
-	{
-		// list of clusters it is interacting with
-		public FastQueue<ClusterDistance> clusters = new FastQueue<>(12, ClusterDistance.class, true);
-
-		public void add( Cluster c , float distance ) {
-			// make sure it isn't already full.  THis should almost never happen
-			ClusterDistance d = clusters.grow();
-
-			d.cluster = c;
-			d.distance = distance;
-		}
-
-		public void computeWeights() {
-			if( clusters.size == 1 ) {
-				clusters.data[0].distance = 1;
-			} else {
-				float sum = 0;
-				for( int i = 0; i < clusters.size; i++ ) {
-					sum += clusters.data[i].distance;
-				}
-				for( int i = 0; i < clusters.size; i++ ) {
-					clusters.data[i].distance =  1.0f - clusters.data[i].distance/sum;
-				}
-			}
-		}
-
-		public void reset() {
-			clusters.reset();
-		}
+	public int getBandHeight() {
+		return bandHeight;
 	}
 
-	/**
-	 * Stores how far a cluster is from the specified pixel
-	 */
-	public static class ClusterDistance
-	{
-		// the cluster
-		public Cluster cluster;
-		// how far the pixel is from the cluster
-		public float distance;
+	public void setBandHeight(int bandHeight) {
+		if( bandHeight <= 0 )
+			throw new IllegalArgumentException("Must be greater than zero");
+		this.bandHeight = bandHeight;
 	}
 
 	/**
@@ -466,6 +663,46 @@ public abstract class SegmentSlic<T extends ImageBase<T>> {
 		}
 	}
 
+	/**
+	 * Storage for work done in a band of rows
+	 */
+	public static class Band
+	{
+		// rows in the band.  y1 is exclusive
+		public int y0, y1;
+		// maximum number of clusters near a single pixel
+		public int maxCount;
+
+		// weighted sum of x, y, and total weight for each cluster
+		public float[] sums = new float[0];
+		// weighted sum of color for each cluster
+		public FastQueue<float[]> colors;
+		// range of clusters which have non-zero sums
+		public int minCluster = Integer.MAX_VALUE, maxCluster = -1;
+
+		// number of pixels assigned to each cluster and the number which were not assigned to any
+		public GrowQueue_I32 memberCount = new GrowQueue_I32();
+		public int unassigned;
+
+		/**
+		 * Makes sure there is an accumulator for each cluster and that they are all zero
+		 */
+		public void declareAccumulators( int numClusters , int numBands ) {
+			if( colors == null || colors.size != numClusters || colors.data[0].length != numBands ) {
+				sums = new float[numClusters*3];
+				colors = new ColorQueue_F32(numBands);
+				colors.resize(numClusters);
+			} else {
+				for (int i = minCluster; i <= maxCluster; i++) {
+					sums[i*3] = sums[i*3+1] = sums[i*3+2] = 0;
+					Arrays.fill(colors.data[i],0);
+				}
+			}
+			minCluster = Integer.MAX_VALUE;
+			maxCluster = -1;
+		}
+	}
+
 	public ImageType<T> getImageType() {
 		return imageType;
 	}
@@ -0,0 +1,815 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.klt;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.alg.interpolate.InterpolateRectangle;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.concurrency.WorkerPool;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.pyramid.ImagePyramid;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Pyramid KLT tracker which tracks all of its features at once.  Produces the same results as
+ * {@link PyramidKltTracker}, but instead of each feature being an object with its own arrays, the templates,
+ * gradients, and positions of every feature are stored in a few large primitive arrays, i.e. structure of arrays.
+ * Features are tracked one pyramid layer at a time, starting at the lowest resolution layer, and within a
+ * layer the features are processed sequentially in memory.
+ * </p>
+ *
+ * <p>
+ * Features are referred to by their index.  The index of a dropped feature is recycled when the next
+ * feature is added.  After all the internal arrays have grown to their final size no new memory is declared
+ * by {@link #setImage}, {@link #trackAll}, {@link #updateDescriptions}, {@link #addFeature}, or
+ * {@link #dropFeature}.
+ * </p>
+ *
+ * <p>
+ * If {@link BoofConcurrency#USE_CONCURRENT} is true then features are split into blocks which are processed
+ * by different threads.  Each thread has its own interpolation and work space so the results are identical.
+ * Only the fork-join tasks are declared in that case.
+ * </p>
+ *
+ * <p>
+ * Typical usage: {@link #setImage}, {@link #trackAll}, {@link #updateDescriptions}, then drop the features whose
+ * {@link #getFault fault} isn't {@link KltTrackFault#SUCCESS}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+@SuppressWarnings({"SuspiciousNameCombination"})
+public class PyramidKltBatchTracker<I extends ImageGray<I>, D extends ImageGray<D>> {
+
+	// minimum number of features processed by a thread
+	private static final int MIN_BLOCK = 8;
+
+	// tracker configuration
+	protected KltConfig config;
+	// radius of the square template
+	protected int radius;
+	// width of the template
+	protected int widthFeature;
+	// number of pixels in the template
+	protected int lengthFeature;
+
+	// image pyramid for raw input image
+	protected ImagePyramid<I> image;
+	// image pyramid for image gradient
+	protected D[] derivX;
+	protected D[] derivY;
+
+	// number of layers the storage has been declared for.  -1 if not yet known
+	protected int numLayers = -1;
+
+	// number of features which are being tracked
+	protected int numActive;
+	// number of feature slots which have been used.  Some might be unused
+	protected int numSlots;
+	// maximum number of features before the arrays need to grow
+	protected int capacity;
+	// slots which have been dropped and can be reused
+	protected GrowQueue_I32 unused = new GrowQueue_I32();
+
+	//------------ Information for each feature
+	// true if the feature is being tracked
+	protected boolean[] active = new boolean[0];
+	// location in the input image
+	protected float[] x = new float[0], y = new float[0];
+	// results from the last time the feature was processed
+	protected KltTrackFault[] fault = new KltTrackFault[0];
+	protected float[] error = new float[0];
+	// location of the feature in the layer currently being tracked
+	protected float[] layerX = new float[0], layerY = new float[0];
+
+	//------------ Information for each feature and layer. index = feature*numLayers + layer
+	// spatial gradient matrix
+	protected float[] Gxx = new float[0], Gyy = new float[0], Gxy = new float[0];
+	// template and its gradient.  The template for each feature and layer is stored sequentially
+	protected float[] desc = new float[0];
+	protected float[] descX = new float[0];
+	protected float[] descY = new float[0];
+
+	// classes used to create interpolation for each thread
+	protected Class<I> imageType;
+	protected Class<D> derivType;
+
+	// recycled work space for each thread
+	protected WorkerPool<Worker> workers = new WorkerPool<Worker>() {
+		@Override
+		protected Worker createWorker() {
+			return new Worker();
+		}
+	};
+
+	// layer which is being processed by the tasks below
+	private int taskLayer;
+
+	// tracks features inside the current layer
+	private IntRangeConsumer trackTask = new IntRangeConsumer() {
+		@Override
+		public void accept(int min, int max) {
+			Worker worker = workers.acquire();
+			try {
+				worker.trackLayer(taskLayer, min, max);
+			} finally {
+				workers.release(worker);
+			}
+		}
+	};
+
+	// updates the description of features which were successfully tracked
+	private IntRangeConsumer describeTask = new IntRangeConsumer() {
+		@Override
+		public void accept(int min, int max) {
+			Worker worker = workers.acquire();
+			try {
+				for( int i = min; i < max; i++ ) {
+					if( active[i] && fault[i] == KltTrackFault.SUCCESS && !worker.describe(i) )
+						fault[i] = KltTrackFault.FAILED;
+				}
+			} finally {
+				workers.release(worker);
+			}
+		}
+	};
+
+	/**
+	 * Configures the tracker
+	 *
+	 * @param config KLT configuration
+	 * @param templateRadius Radius of square templates that are tracked
+	 * @param imageType Type of input image
+	 * @param derivType Type of image derivative
+	 */
+	public PyramidKltBatchTracker(KltConfig config, int templateRadius, Class<I> imageType , Class<D> derivType ) {
+		this.config = config;
+		this.radius = templateRadius;
+		this.widthFeature = templateRadius*2+1;
+		this.lengthFeature = widthFeature*widthFeature;
+		this.imageType = imageType;
+		this.derivType = derivType;
+	}
+
+	/**
+	 * Sets the current input images for the tracker to use.  The gradient is needed to add features and update
+	 * their descriptions, but not to track.  The first time this is called the number of layers is saved.  If the
+	 * number of layers changes later on then all the features are dropped.
+	 *
+	 * @param image Original image pyramid.
+	 * @param derivX Derivative along x-axis. Can be null if only tracking.
+	 * @param derivY Derivative along y-axis. Can be null if only tracking.
+	 */
+	public void setImage(ImagePyramid<I> image, D[] derivX, D[] derivY) {
+		if( derivX != null && (image.getNumLayers() != derivX.length || image.getNumLayers() != derivY.length) )
+			throw new IllegalArgumentException("Number of layers does not match.");
+
+		this.image = image;
+		this.derivX = derivX;
+		this.derivY = derivY;
+
+		if( numLayers != image.getNumLayers() ) {
+			numLayers = image.getNumLayers();
+			reset();
+			// the per-layer arrays need to be declared again but the number of features can stay the same
+			int previous = capacity;
+			capacity = 0;
+			growCapacity(Math.max(previous,10));
+		}
+	}
+
+	/**
+	 * Drops all features
+	 */
+	public void reset() {
+		numActive = 0;
+		numSlots = 0;
+		unused.reset();
+		Arrays.fill(active, false);
+	}
+
+	/**
+	 * Adds a new feature at the specified location in the input image and computes its description.
+	 * {@link #setImage} must have been called with the gradient.
+	 *
+	 * @param x x-coordinate in the input image
+	 * @param y y-coordinate in the input image
+	 * @return Index of the new feature or -1 if there isn't enough information to create it
+	 */
+	public int addFeature( float x , float y ) {
+		if( derivX == null )
+			throw new IllegalArgumentException("The image gradient must be set before a feature can be added");
+
+		int index;
+		if( unused.size > 0 ) {
+			index = unused.pop();
+		} else {
+			if( numSlots == capacity )
+				growCapacity(capacity*2);
+			index = numSlots++;
+		}
+
+		this.x[index] = x;
+		this.y[index] = y;
+
+		Worker worker = workers.acquire();
+		boolean success;
+		try {
+			success = worker.describe(index);
+		} finally {
+			workers.release(worker);
+		}
+
+		if( !success ) {
+			unused.add(index);
+			return -1;
+		}
+
+		active[index] = true;
+		fault[index] = KltTrackFault.SUCCESS;
+		error[index] = 0;
+		numActive++;
+		return index;
+	}
+
+	/**
+	 * Stops tracking the feature.  Its index can be reused by features which are added later.
+	 *
+	 * @param index Index of the feature
+	 * @return true if the feature was active
+	 */
+	public boolean dropFeature( int index ) {
+		if( index < 0 || index >= numSlots || !active[index] )
+			return false;
+		active[index] = false;
+		unused.add(index);
+		numActive--;
+		return true;
+	}
+
+	/**
+	 * Finds the new location of all the active features.  The fault for each feature can be found by calling
+	 * {@link #getFault(int)}.  A feature's location is only changed if it was successfully tracked.
+	 * Features are not dropped if tracking fails.
+	 */
+	public void trackAll() {
+		for( int i = 0; i < numSlots; i++ ) {
+			if( !active[i] )
+				continue;
+			fault[i] = KltTrackFault.SUCCESS;
+			layerX[i] = x[i];
+			layerY[i] = y[i];
+		}
+
+		// track from the top of the pyramid to the bottom
+		for (int layer = numLayers-1; layer >= 0; layer--) {
+			taskLayer = layer;
+			if( BoofConcurrency.isActive() ) {
+				BoofConcurrency.loopBlocks(0, numSlots, MIN_BLOCK, trackTask);
+			} else {
+				trackTask.accept(0, numSlots);
+			}
+		}
+
+		for( int i = 0; i < numSlots; i++ ) {
+			if( active[i] && fault[i] == KltTrackFault.SUCCESS ) {
+				x[i] = layerX[i];
+				y[i] = layerY[i];
+			}
+		}
+	}
+
+	/**
+	 * Updates the description of all active features which were successfully tracked using their current location.
+	 * If the description can't be updated then the feature's fault is set to {@link KltTrackFault#FAILED}.
+	 * {@link #setImage} must have been called with the gradient.
+	 */
+	public void updateDescriptions() {
+		if( derivX == null )
+			throw new IllegalArgumentException("The image gradient must be set to update descriptions");
+
+		if( BoofConcurrency.isActive() ) {
+			BoofConcurrency.loopBlocks(0, numSlots, MIN_BLOCK, describeTask);
+		} else {
+			describeTask.accept(0, numSlots);
+		}
+	}
+
+	private void growCapacity( int desired ) {
+		if( desired <= capacity )
+			return;
+
+		active = Arrays.copyOf(active, desired);
+		x = Arrays.copyOf(x, desired);
+		y = Arrays.copyOf(y, desired);
+		fault = Arrays.copyOf(fault, desired);
+		error = Arrays.copyOf(error, desired);
+		layerX = Arrays.copyOf(layerX, desired);
+		layerY = Arrays.copyOf(layerY, desired);
+
+		int N = desired*numLayers;
+		Gxx = Arrays.copyOf(Gxx, N);
+		Gyy = Arrays.copyOf(Gyy, N);
+		Gxy = Arrays.copyOf(Gxy, N);
+		desc = Arrays.copyOf(desc, N*lengthFeature);
+		descX = Arrays.copyOf(descX, N*lengthFeature);
+		descY = Arrays.copyOf(descY, N*lengthFeature);
+
+		capacity = desired;
+	}
+
+	/**
+	 * Returns true if the feature is being tracked
+	 */
+	public boolean isActive( int index ) {
+		return active[index];
+	}
+
+	/**
+	 * Changes the location of a feature without changing its description.  The next time it's tracked
+	 * the search will start from this location.
+	 */
+	public void setPosition( int index , float x , float y ) {
+		this.x[index] = x;
+		this.y[index] = y;
+	}
+
+	public float getX( int index ) {
+		return x[index];
+	}
+
+	public float getY( int index ) {
+		return y[index];
+	}
+
+	/**
+	 * Result from the last time the feature was tracked or its description updated
+	 */
+	public KltTrackFault getFault( int index ) {
+		return fault[index];
+	}
+
+	/**
+	 * Average error between the template and the image in the bottom layer after the feature was last tracked.
+	 *
+	 * @see KltTracker#getError()
+	 */
+	public float getError( int index ) {
+		return error[index];
+	}
+
+	/**
+	 * Number of features which are being tracked
+	 */
+	public int getNumActive() {
+		return numActive;
+	}
+
+	/**
+	 * All feature indexes are less than this number
+	 */
+	public int getNumSlots() {
+		return numSlots;
+	}
+
+	public int getTemplateRadius() {
+		return radius;
+	}
+
+	public KltConfig getConfig() {
+		return config;
+	}
+
+	/**
+	 * Work space and interpolation used by a single thread.  The math is the same as in {@link KltTracker},
+	 * except that the templates are read from the shared arrays.
+	 */
+	protected class Worker {
+		InterpolateRectangle<I> interpInput = FactoryInterpolation.bilinearRectangle(imageType);
+		InterpolateRectangle<D> interpDeriv = FactoryInterpolation.bilinearRectangle(derivType);
+
+		// image of the layer being processed
+		I layerImage;
+		D layerDerivX, layerDerivY;
+
+		// feature description curvature information
+		float Gxx, Gyy, Gxy;
+		// residual times the gradient
+		float Ex, Ey;
+
+		// the feature in the current image
+		GrayF32 currDesc = new GrayF32(widthFeature, widthFeature);
+		// image which references a template inside the shared arrays
+		GrayF32 view = new GrayF32();
+		// storage for sub-region used when computing interpolation
+		GrayF32 subimage = new GrayF32();
+
+		// destination image for current feature data in border case
+		int dstX0,dstY0,dstX1,dstY1;
+		// top-left corner of feature in input image for border case
+		float srcX0 , srcY0;
+
+		// allowed feature bounds
+		float allowedLeft, allowedRight, allowedTop, allowedBottom;
+		// bounds for checking to see if it is out of the image
+		float outsideLeft, outsideRight, outsideTop, outsideBottom;
+
+		// error between template and the current track position in the image
+		float error;
+
+		Worker() {
+			view.width = view.height = view.stride = widthFeature;
+			view.subImage = true;
+		}
+
+		void setLayer( int layer ) {
+			layerImage = image.getLayer(layer);
+			interpInput.setImage(layerImage);
+			if( derivX != null ) {
+				layerDerivX = derivX[layer];
+				layerDerivY = derivY[layer];
+				InputSanityCheck.checkSameShape(layerImage, layerDerivX, layerDerivY);
+			}
+			setAllowedBounds();
+		}
+
+		/**
+		 * Tracks all the features in the range which haven't failed yet inside the specified layer
+		 */
+		void trackLayer( int layer , int idx0 , int idx1 ) {
+			setLayer(layer);
+			float scale = (float)image.getScale(layer);
+
+			for( int i = idx0; i < idx1; i++ ) {
+				if( !active[i] || fault[i] != KltTrackFault.SUCCESS )
+					continue;
+
+				float fx = layerX[i] / scale;
+				float fy = layerY[i] / scale;
+
+				KltTrackFault ret = track(i*numLayers + layer, fx, fy);
+				if( ret != KltTrackFault.SUCCESS ) {
+					fault[i] = ret;
+					continue;
+				}
+
+				layerX[i] = trackedX*scale;
+				layerY[i] = trackedY*scale;
+				PyramidKltBatchTracker.this.error[i] = error;
+			}
+		}
+
+		/**
+		 * Sets the description of the feature in every layer
+		 */
+		boolean describe( int feature ) {
+			for (int layer = 0; layer < numLayers; layer++) {
+				setLayer(layer);
+				float scale = (float)image.getScale(layer);
+				if( !setDescription(feature*numLayers + layer, x[feature] / scale, y[feature] / scale) )
+					return false;
+			}
+			return true;
+		}
+
+		// location of the feature after tracking
+		float trackedX, trackedY;
+
+		boolean setDescription( int fl , float fx , float fy ) {
+			if (!isFullyInside(fx, fy)) {
+				if( isFullyOutside(fx,fy))
+					return false;
+				else
+					return setDescriptionBorder(fl, fx, fy);
+			}
+
+			int offset = fl*lengthFeature;
+			float tl_x = fx - radius;
+			float tl_y = fy - radius;
+
+			setView(desc, offset);
+			interpInput.region(tl_x, tl_y, view);
+			setView(descX, offset);
+			interpDeriv.setImage(layerDerivX);
+			interpDeriv.region(tl_x, tl_y, view);
+			setView(descY, offset);
+			interpDeriv.setImage(layerDerivY);
+			interpDeriv.region(tl_x, tl_y, view);
+
+			float Gxx = 0, Gyy = 0, Gxy = 0;
+			for (int i = 0; i < lengthFeature; i++) {
+				float dX = descX[offset+i];
+				float dY = descY[offset+i];
+
+				Gxx += dX * dX;
+				Gyy += dY * dY;
+				Gxy += dX * dY;
+			}
+
+			PyramidKltBatchTracker.this.Gxx[fl] = Gxx;
+			PyramidKltBatchTracker.this.Gyy[fl] = Gyy;
+			PyramidKltBatchTracker.this.Gxy[fl] = Gxy;
+
+			float det = Gxx * Gyy - Gxy * Gxy;
+
+			return (det >= config.minDeterminant*lengthFeature);
+		}
+
+		boolean setDescriptionBorder( int fl , float fx , float fy ) {
+			int offset = fl*lengthFeature;
+			computeSubImageBounds(fx, fy);
+
+			setView(desc, offset);
+			ImageMiscOps.fill(view, Float.NaN);
+			view.subimage(dstX0, dstY0, dstX1, dstY1, subimage);
+			interpInput.region(srcX0, srcY0, subimage);
+
+			setView(descX, offset);
+			view.subimage(dstX0, dstY0, dstX1, dstY1, subimage);
+			interpDeriv.setImage(layerDerivX);
+			interpDeriv.region(srcX0, srcY0, subimage);
+
+			setView(descY, offset);
+			view.subimage(dstX0, dstY0, dstX1, dstY1, subimage);
+			interpDeriv.setImage(layerDerivY);
+			interpDeriv.region(srcX0, srcY0, subimage);
+
+			int total= 0;
+
+			Gxx = Gyy = Gxy = 0;
+			for( int i = 0; i < lengthFeature; i++ ) {
+				if( Float.isNaN(desc[offset+i]))
+					continue;
+
+				total++;
+
+				float dX = descX[offset+i];
+				float dY = descY[offset+i];
+
+				Gxx += dX * dX;
+				Gyy += dY * dY;
+				Gxy += dX * dY;
+			}
+
+			PyramidKltBatchTracker.this.Gxx[fl] = Gxx;
+			PyramidKltBatchTracker.this.Gyy[fl] = Gyy;
+			PyramidKltBatchTracker.this.Gxy[fl] = Gxy;
+
+			float det = Gxx * Gyy - Gxy * Gxy;
+
+			return (det >= config.minDeterminant*total);
+		}
+
+		private void setView( float[] data , int offset ) {
+			view.data = data;
+			view.startIndex = offset;
+		}
+
+		/**
+		 * Same as {@link KltTracker#track}
+		 */
+		KltTrackFault track( int fl , float fx , float fy ) {
+			trackedX = fx;
+			trackedY = fy;
+
+			// sanity check to make sure it is actually inside the image
+			if ( isFullyOutside(trackedX, trackedY))
+				return KltTrackFault.OUT_OF_BOUNDS;
+
+			int offset = fl*lengthFeature;
+
+			// save the original location so that a drifting fault can be detected
+			float origX = trackedX, origY = trackedY;
+
+			// If the feature is complete then the fast code can be used when entirely inside
+			boolean complete = isDescriptionComplete(offset);
+
+			float det = 0;
+
+			// make sure its inside this image
+			if ( complete ) {
+				// see if the determinant is too small
+				Gxx = PyramidKltBatchTracker.this.Gxx[fl];
+				Gyy = PyramidKltBatchTracker.this.Gyy[fl];
+				Gxy = PyramidKltBatchTracker.this.Gxy[fl];
+				det = Gxx * Gyy - Gxy * Gxy;
+				if (det < config.minDeterminant*lengthFeature) {
+					return KltTrackFault.FAILED;
+				}
+			}
+
+			for (int iter = 0; iter < config.maxIterations; iter++) {
+				float dx,dy;
+				if( complete && isFullyInside(trackedX, trackedY) ) {
+					computeE(offset, trackedX, trackedY);
+				} else {
+					// once it goes outside it must remain outside.  If it starts outside
+					int length = computeGandE_border(offset, trackedX, trackedY);
+
+					det = Gxx * Gyy - Gxy * Gxy;
+					if (det <= config.minDeterminant*length) {
+						return KltTrackFault.FAILED;
+					}
+				}
+
+				// solve for D
+				dx = (Gyy * Ex - Gxy * Ey) / det;
+				dy = (Gxx * Ey - Gxy * Ex) / det;
+
+				trackedX += dx;
+				trackedY += dy;
+
+				// see if it moved outside of the image
+				if ( isFullyOutside(trackedX, trackedY))
+					return KltTrackFault.OUT_OF_BOUNDS;
+
+				// see if it has moved more than possible if it is really tracking a target
+				// this happens in regions with little texture
+				if (Math.abs(trackedX - origX) > widthFeature
+						|| Math.abs(trackedY - origY) > widthFeature)
+					return KltTrackFault.DRIFTED;
+
+				// see if it has converged to a solution
+				if (Math.abs(dx) < config.minPositionDelta && Math.abs(dy) < config.minPositionDelta) {
+					break;
+				}
+			}
+
+			if ( (error=computeError(offset)) > config.maxPerPixelError)
+				return KltTrackFault.LARGE_ERROR;
+
+			return KltTrackFault.SUCCESS;
+		}
+
+		void setAllowedBounds() {
+			allowedLeft = radius;
+			allowedTop = radius;
+			allowedRight = layerImage.width - radius-1;
+			allowedBottom = layerImage.height - radius-1;
+
+			outsideLeft = -radius;
+			outsideTop = -radius;
+			outsideRight = layerImage.width + radius-1;
+			outsideBottom = layerImage.height + radius-1;
+		}
+
+		private float computeError( int offset ) {
+			float error = 0;
+			int total = 0;
+			for (int i = 0; i < lengthFeature; i++) {
+				float template = desc[offset+i];
+				if( Float.isNaN(template) || Float.isNaN(currDesc.data[i]))
+					continue;
+
+				// compute the difference between the previous and the current image
+				error += Math.abs(template - currDesc.data[i]);
+				total++;
+			}
+			return error / total;
+		}
+
+		void computeE( int offset , float x, float y) {
+			// extract the region in the current image
+			interpInput.region(x - radius, y - radius, currDesc);
+
+			Ex = 0;
+			Ey = 0;
+			for (int i = 0; i < lengthFeature; i++) {
+				// compute the difference between the previous and the current image
+				float d = desc[offset+i] - currDesc.data[i];
+
+				Ex += d * descX[offset+i];
+				Ey += d * descY[offset+i];
+			}
+		}
+
+		int computeGandE_border( int offset , float cx, float cy) {
+
+			computeSubImageBounds(cx, cy);
+
+			ImageMiscOps.fill(currDesc, Float.NaN);
+			currDesc.subimage(dstX0, dstY0, dstX1, dstY1, subimage);
+			interpInput.region(srcX0, srcY0, subimage);
+
+			int total = 0;
+
+			Gxx = 0; Gyy = 0; Gxy = 0;
+			Ex = 0; Ey = 0;
+
+			for( int i = 0; i < lengthFeature; i++ ) {
+				float template = desc[offset+i];
+				float current = currDesc.data[i];
+
+				// if the description was outside of the image here skip it
+				if( Float.isNaN(template) || Float.isNaN(current))
+					continue;
+
+				// count total number of points inbounds
+				total++;
+
+				float dX = descX[offset+i];
+				float dY = descY[offset+i];
+
+				// compute the difference between the previous and the current image
+				float d = template - current;
+
+				Ex += d * dX;
+				Ey += d * dY;
+
+				Gxx += dX * dX;
+				Gyy += dY * dY;
+				Gxy += dX * dY;
+			}
+
+			return total;
+		}
+
+		private void computeSubImageBounds( float cx, float cy) {
+			// initially include the whole destination image
+			dstX0 = 0;
+			dstY0 = 0;
+			dstX1 = widthFeature;
+			dstY1 = widthFeature;
+
+			// location of upper left corner of feature in input image
+			srcX0 = cx - radius;
+			srcY0 = cy - radius;
+			float srxX1 = srcX0 + widthFeature;
+			float srxY1 = srcY0 + widthFeature;
+
+			// take in account the image border
+			if( srcX0 < 0 ) {
+				dstX0 = (int)-Math.floor(srcX0);
+				srcX0 += dstX0;
+			}
+			if( srxX1 > layerImage.width ) {
+				dstX1 -= (int)Math.ceil(srxX1-layerImage.width);
+				// rounding error
+				dstX1 -= (srcX0 + (dstX1-dstX0) > layerImage.width ? 1 : 0);
+			}
+			if( srcY0 < 0 ) {
+				dstY0 = (int)-Math.floor(srcY0);
+				srcY0 += dstY0;
+			}
+			if( srxY1 > layerImage.height ) {
+				dstY1 -= (int)Math.ceil(srxY1-layerImage.height);
+				// rounding error
+				dstY1 -= srcY0 + (dstY1-dstY0) > layerImage.height ? 1 : 0;
+			}
+
+			if( srcX0 < 0 || srcY0 < 0 || srcX0 + (dstX1-dstX0) > layerImage.width ||
+					srcY0 + (dstY1-dstY0) > layerImage.height ) {
+				throw new IllegalArgumentException("Region is outside of the image");
+			}
+		}
+
+		boolean isDescriptionComplete( int offset ) {
+			for( int i = 0; i < lengthFeature; i++ ) {
+				if( Float.isNaN(desc[offset+i]) )
+					return false;
+			}
+			return true;
+		}
+
+		boolean isFullyInside(float x, float y) {
+			if (x < allowedLeft || x > allowedRight)
+				return false;
+			if (y < allowedTop || y > allowedBottom)
+				return false;
+
+			return true;
+		}
+
+		boolean isFullyOutside(float x, float y) {
+			if (x < outsideLeft || x > outsideRight)
+				return true;
+			if (y < outsideTop || y > outsideBottom)
+				return true;
+
+			return false;
+		}
+	}
+}
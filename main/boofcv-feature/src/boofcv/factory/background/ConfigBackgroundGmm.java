@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.factory.background;
+
+import boofcv.alg.interpolate.InterpolationType;
+import boofcv.struct.Configuration;
+
+/**
+ * Configuration for {@link boofcv.alg.background.BackgroundAlgorithmGmm}.
+ *
+ * @author Peter Abeles
+ */
+public class ConfigBackgroundGmm implements Configuration {
+
+	/**
+	 * Specifies how fast it will adapt to changes in the background. The learning rate is 1/learningPeriod.
+	 * Must be &ge; 1.
+	 */
+	public float learningPeriod = 1000;
+
+	/**
+	 * Weight decay applied to every Gaussian each time the pixel is observed.  Gaussians which aren't observed
+	 * often enough are discarded.  0 &le; decay &lt; 1
+	 */
+	public float decay = 0.05f;
+
+	/**
+	 * Maximum number of Gaussians for each pixel.  Memory used by the model grows linearly with this value.
+	 */
+	public int maxGaussians = 5;
+
+	/**
+	 * A pixel is assumed to belong to a Gaussian if the Mahalanobis distance squared is &le; this value.
+	 */
+	public float maxDistance = 9;
+
+	/**
+	 * Gaussians with a weight &ge; this value are part of the background.  0 &lt; significantWeight &le; 1
+	 */
+	public float significantWeight = 0.1f;
+
+	/**
+	 * The variance assigned to a new Gaussian.  Larger values to reduce false positives due to
+	 * under sampling.  Must be larger than zero.
+	 */
+	public float initialVariance = 100;
+
+	/**
+	 * Minimum Euclidean distance between the mean background and observed pixel value for it to be considered moving.
+	 * This value is automatically scaled for the number of bands in the image.
+	 */
+	public float minimumDifference = 0;
+
+	/**
+	 * Specifies which interpolation it will use.  {@link InterpolationType#BILINEAR} or
+	 * {@link InterpolationType#NEAREST_NEIGHBOR} recommended.
+	 *
+	 * <p>ONLY USED FOR MOVING BACKGROUNDS!</p>
+	 */
+	public InterpolationType interpolation = InterpolationType.BILINEAR;
+
+	public ConfigBackgroundGmm() {
+	}
+
+	public ConfigBackgroundGmm(float learningPeriod) {
+		this.learningPeriod = learningPeriod;
+	}
+
+	@Override
+	public void checkValidity() {
+		if( learningPeriod < 1 )
+			throw new IllegalArgumentException("Learning period must be >= 1");
+		if( decay < 0 || decay >= 1 )
+			throw new IllegalArgumentException("Decay must be 0 <= decay < 1");
+		if( maxGaussians < 1 )
+			throw new IllegalArgumentException("Must have at least one Gaussian");
+		if( maxDistance <= 0 )
+			throw new IllegalArgumentException("maxDistance must be > 0");
+		if( significantWeight <= 0 || significantWeight > 1 )
+			throw new IllegalArgumentException("significantWeight must be 0 < weight <= 1");
+		if( initialVariance <= 0 )
+			throw new IllegalArgumentException("Variance must be set to a value larger than zero");
+		if( minimumDifference < 0 )
+			throw new IllegalArgumentException("minimumDifference must be >= 0");
+	}
+}
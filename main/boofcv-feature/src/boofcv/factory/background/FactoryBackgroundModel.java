@@ -18,6 +18,7 @@
 
 package boofcv.factory.background;
 
+import boofcv.alg.background.BackgroundAlgorithmGmm;
 import boofcv.alg.background.BackgroundModelStationary;
 import boofcv.alg.background.moving.*;
 import boofcv.alg.background.stationary.*;
@@ -168,4 +169,83 @@ public class FactoryBackgroundModel {
 
 		return ret;
 	}
+
+	/**
+	 * Creates an instance of {@link BackgroundStationaryGmm}.
+	 *
+	 * @param config Configures the background model
+	 * @param imageType Type of input image
+	 * @return new instance of the background model
+	 */
+	public static <T extends ImageBase<T>>
+	BackgroundStationaryGmm<T> stationaryGmm( ConfigBackgroundGmm config , ImageType<T> imageType ) {
+
+		config.checkValidity();
+
+		BackgroundStationaryGmm<T> ret;
+
+		switch( imageType.getFamily() ) {
+			case GRAY:
+				ret = new BackgroundStationaryGmm_SB(config.learningPeriod,config.decay,config.maxGaussians,
+						imageType.getImageClass());
+				break;
+
+			case PLANAR:
+			case INTERLEAVED:
+				ret = new BackgroundStationaryGmm_MB(config.learningPeriod,config.decay,config.maxGaussians,
+						imageType);
+				break;
+
+			default:
+				throw new IllegalArgumentException("Unknown image type");
+		}
+
+		configure(ret, config);
+
+		return ret;
+	}
+
+	/**
+	 * Creates an instance of {@link BackgroundMovingGmm}.
+	 *
+	 * @param config Configures the background model
+	 * @param imageType Type of input image
+	 * @return new instance of the background model
+	 */
+	public static <T extends ImageBase<T>,Motion extends InvertibleTransform<Motion>>
+	BackgroundMovingGmm<T,Motion> movingGmm( ConfigBackgroundGmm config ,
+											 Point2Transform2Model_F32<Motion> transform,
+											 ImageType<T> imageType ) {
+
+		config.checkValidity();
+
+		BackgroundMovingGmm<T,Motion> ret;
+
+		switch( imageType.getFamily() ) {
+			case GRAY:
+				ret = new BackgroundMovingGmm_SB(config.learningPeriod,config.decay,config.maxGaussians,
+						transform,config.interpolation,imageType.getImageClass());
+				break;
+
+			case PLANAR:
+			case INTERLEAVED:
+				ret = new BackgroundMovingGmm_MB(config.learningPeriod,config.decay,config.maxGaussians,
+						transform,config.interpolation,imageType);
+				break;
+
+			default:
+				throw new IllegalArgumentException("Unknown image type");
+		}
+
+		configure(ret, config);
+
+		return ret;
+	}
+
+	private static void configure( BackgroundAlgorithmGmm alg , ConfigBackgroundGmm config ) {
+		alg.setMaxDistance(config.maxDistance);
+		alg.setSignificantWeight(config.significantWeight);
+		alg.setInitialVariance(config.initialVariance);
+		alg.setMinimumDifference(config.minimumDifference);
+	}
 }
@@ -20,6 +20,8 @@ package boofcv.factory.feature.associate;
 
 import boofcv.abst.feature.associate.*;
 import boofcv.alg.feature.associate.AssociateGreedy;
+import boofcv.alg.feature.associate.KMeansTreeNearestNeighbor;
+import boofcv.alg.feature.associate.MultiIndexHashing_B;
 import boofcv.struct.feature.*;
 import org.ddogleg.nn.FactoryNearestNeighbor;
 import org.ddogleg.nn.NearestNeighbor;
@@ -99,6 +101,55 @@ public class FactoryAssociation {
 		return new AssociateNearestNeighbor<>(nn, dimension);
 	}
 
+	/**
+	 * Approximate association using a hierarchical k-means tree, FLANN style, for descriptors with a high
+	 * degree of freedom, e.g. SURF or SIFT.  Works with any descriptor type which is a vector of numbers,
+	 * e.g. {@link TupleDesc_F64} or {@link TupleDesc_F32}.  Recall and speed are traded off by changing the
+	 * number of points which are checked.
+	 *
+	 * @see AssociateNearestNeighbor
+	 * @see KMeansTreeNearestNeighbor
+	 *
+	 * @param dimension Number of elements in the feature vector
+	 * @param branchFactor Number of children each node in the tree has. Try 32
+	 * @param maxIterations Maximum number of k-means iterations when building the tree. Try 7
+	 * @param maxPointsChecked Maximum number of points checked when searching. Controls speed and accuracy.
+	 * @param randomSeed Seed used by random number generator
+	 * @return Association using approximate nearest neighbor
+	 */
+	public static <D extends TupleDesc> AssociateDescription<D> kMeansTree( int dimension,
+																		   int branchFactor ,
+																		   int maxIterations ,
+																		   int maxPointsChecked ,
+																		   long randomSeed ) {
+		NearestNeighbor<Integer> nn = new KMeansTreeNearestNeighbor<>(
+				branchFactor,maxIterations,maxPointsChecked,randomSeed);
+
+		return new AssociateNearestNeighbor<>(nn, dimension);
+	}
+
+	/**
+	 * Exact association of binary descriptors, e.g. BRIEF, using multi-index hashing.  Much faster than a brute
+	 * force search with {@link ScoreAssociateHamming_B} when there are many source features.  Source features
+	 * can be added incrementally.
+	 *
+	 * @see AssociateMultiIndexHashing_B
+	 * @see MultiIndexHashing_B
+	 *
+	 * @param numBits Number of bits in the descriptor
+	 * @param numTables Number of hash tables the descriptor is split across. If &le; 0 then ceil(numBits/16) is used.
+	 * @param maxDistance Maximum Hamming distance between two associated features.  To disable set to -1
+	 * @return Association using multi-index hashing
+	 */
+	public static AssociateMultiIndexHashing_B multiIndexHashing( int numBits , int numTables , int maxDistance ) {
+		if( numTables <= 0 )
+			numTables = (numBits + MultiIndexHashing_B.MAX_SUBSTRING_BITS - 1)/MultiIndexHashing_B.MAX_SUBSTRING_BITS;
+
+		AssociateMultiIndexHashing_B alg = new AssociateMultiIndexHashing_B(new MultiIndexHashing_B(numBits, numTables));
+		alg.setThreshold(maxDistance);
+		return alg;
+	}
+
 	/**
 	 * Given a feature descriptor type it returns a "reasonable" default {@link ScoreAssociation}.
 	 *
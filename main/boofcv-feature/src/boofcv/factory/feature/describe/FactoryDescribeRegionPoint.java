@@ -27,6 +27,8 @@ import boofcv.alg.feature.describe.brief.BinaryCompareDefinition_I32;
 import boofcv.alg.feature.describe.brief.FactoryBriefDefinition;
 import boofcv.alg.feature.detect.interest.SiftScaleSpace;
 import boofcv.alg.transform.ii.GIntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkerPool;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.struct.feature.*;
 import boofcv.struct.image.*;
@@ -235,4 +237,35 @@ public class FactoryDescribeRegionPoint {
 		return new WrapDescribePixelRegionNCC(
 				FactoryDescribePointAlgs.pixelRegionNCC(regionWidth,regionHeight,imageType),imageType);
 	}
+
+	/**
+	 * <p>
+	 * Creates a descriptor which describes a list of points all at once.  Descriptors have internal work space and
+	 * can't be shared between threads, so a {@link WorkerPool} is used to create a new descriptor for each thread.
+	 * If {@link BoofConcurrency#USE_CONCURRENT} is true then the points are described in parallel.
+	 * </p>
+	 *
+	 * <pre>
+	 * WorkerPool&lt;DescribeRegionPoint&lt;GrayF32,BrightFeature&gt;&gt; pool =
+	 *         new WorkerPool&lt;DescribeRegionPoint&lt;GrayF32,BrightFeature&gt;&gt;() {
+	 *     protected DescribeRegionPoint&lt;GrayF32,BrightFeature&gt; createWorker() {
+	 *         return FactoryDescribeRegionPoint.surfFast(null, GrayF32.class);
+	 *     }};
+	 * DescribeRegionPointBatch&lt;GrayF32,BrightFeature&gt; describe = FactoryDescribeRegionPoint.batch(pool);
+	 * </pre>
+	 *
+	 * @see DescribeRegionPointBatch
+	 * @see DescribeRegionPointBatch_MT
+	 *
+	 * @param descriptors Creates new instances of the descriptor.  All instances must have the same configuration.
+	 * @return Batch descriptor
+	 */
+	public static <T extends ImageBase<T>, D extends TupleDesc>
+	DescribeRegionPointBatch<T,D> batch( WorkerPool<DescribeRegionPoint<T,D>> descriptors ) {
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			return new DescribeRegionPointBatch_MT<>(descriptors);
+		} else {
+			return new DescribeRegionPointBatch<>(descriptors.acquire());
+		}
+	}
 }
@@ -34,11 +34,14 @@ import boofcv.alg.feature.describe.DescribePointSurf;
 import boofcv.alg.feature.describe.DescribePointSurfMod;
 import boofcv.alg.feature.describe.DescribePointSurfPlanar;
 import boofcv.alg.feature.detdesc.CompleteSift;
+import boofcv.alg.feature.detdesc.CompleteSift_MT;
 import boofcv.alg.feature.detdesc.DetectDescribeSurfPlanar;
 import boofcv.alg.feature.detect.interest.FastHessianFeatureDetector;
 import boofcv.alg.feature.detect.interest.SiftScaleSpace;
 import boofcv.alg.feature.orientation.OrientationHistogramSift;
 import boofcv.alg.transform.ii.GIntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkerPool;
 import boofcv.factory.feature.describe.FactoryDescribePointAlgs;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
 import boofcv.factory.feature.detect.interest.FactoryInterestPointAlgs;
@@ -58,7 +61,8 @@ import boofcv.struct.image.ImageType;
 public class FactoryDetectDescribe {
 
 	/**
-	 * Creates a new SIFT feature detector and describer.
+	 * Creates a new SIFT feature detector and describer.  If {@link BoofConcurrency#USE_CONCURRENT} is true
+	 * then {@link CompleteSift_MT} is used, which produces identical results.
 	 *
 	 * @see CompleteSift
 	 *
@@ -72,23 +76,55 @@ public class FactoryDetectDescribe {
 			config = new ConfigCompleteSift();
 
 		ConfigSiftScaleSpace configSS = config.scaleSpace;
-		ConfigSiftDetector configDetector = config.detector;
-		ConfigSiftOrientation configOri = config.orientation;
-		ConfigSiftDescribe configDesc = config.describe;
+		final ConfigSiftDetector configDetector = config.detector;
+		final ConfigSiftOrientation configOri = config.orientation;
+		final ConfigSiftDescribe configDesc = config.describe;
 
 		SiftScaleSpace scaleSpace = new SiftScaleSpace(
 				configSS.firstOctave,configSS.lastOctave,configSS.numScales,configSS.sigma0);
-		OrientationHistogramSift<GrayF32> orientation = new OrientationHistogramSift<>(
-				configOri.histogramSize,configOri.sigmaEnlarge,GrayF32.class);
-		DescribePointSift<GrayF32> describe = new DescribePointSift<>(
+
+		CompleteSift dds;
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			dds = new CompleteSift_MT(scaleSpace, configDetector.edgeR,
+					new WorkerPool<NonMaxLimiter>() {
+						@Override
+						protected NonMaxLimiter createWorker() {
+							return createSiftNonMax(configDetector);
+						}
+					},
+					new WorkerPool<OrientationHistogramSift<GrayF32>>() {
+						@Override
+						protected OrientationHistogramSift<GrayF32> createWorker() {
+							return createSiftOrientation(configOri);
+						}
+					},
+					new WorkerPool<DescribePointSift<GrayF32>>() {
+						@Override
+						protected DescribePointSift<GrayF32> createWorker() {
+							return createSiftDescribe(configDesc);
+						}
+					});
+		} else {
+			dds = new CompleteSift(scaleSpace,configDetector.edgeR,createSiftNonMax(configDetector),
+					createSiftOrientation(configOri),createSiftDescribe(configDesc));
+		}
+		return new DetectDescribe_CompleteSift<>(dds);
+	}
+
+	private static NonMaxLimiter createSiftNonMax( ConfigSiftDetector configDetector ) {
+		NonMaxSuppression nns = FactoryFeatureExtractor.nonmax(configDetector.extract);
+		return new NonMaxLimiter(nns,configDetector.maxFeaturesPerScale);
+	}
+
+	private static OrientationHistogramSift<GrayF32> createSiftOrientation( ConfigSiftOrientation configOri ) {
+		return new OrientationHistogramSift<>(configOri.histogramSize,configOri.sigmaEnlarge,GrayF32.class);
+	}
+
+	private static DescribePointSift<GrayF32> createSiftDescribe( ConfigSiftDescribe configDesc ) {
+		return new DescribePointSift<>(
 				configDesc.widthSubregion,configDesc.widthGrid, configDesc.numHistogramBins,
 				configDesc.sigmaToPixels, configDesc.weightingSigmaFraction,
 				configDesc.maxDescriptorElementValue,GrayF32.class);
-
-		NonMaxSuppression nns = FactoryFeatureExtractor.nonmax(configDetector.extract);
-		NonMaxLimiter nonMax = new NonMaxLimiter(nns,configDetector.maxFeaturesPerScale);
-		CompleteSift dds = new CompleteSift(scaleSpace,configDetector.edgeR,nonMax,orientation,describe);
-		return new DetectDescribe_CompleteSift<>(dds);
 	}
 
 	/**
@@ -22,6 +22,8 @@ import boofcv.abst.feature.detect.extract.*;
 import boofcv.abst.feature.detect.intensity.GeneralFeatureIntensity;
 import boofcv.alg.feature.detect.extract.*;
 import boofcv.alg.feature.detect.interest.GeneralFeatureDetector;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkerPool;
 import boofcv.struct.image.ImageGray;
 
 /**
@@ -52,17 +54,44 @@ public class FactoryFeatureExtractor {
 	}
 
 	/**
-	 * Standard non-max feature extractor.
+	 * Standard non-max feature extractor.  If {@link BoofConcurrency#USE_CONCURRENT} is true then
+	 * {@link WrapperNonMaximumBlock_MT} is returned.
 	 *
 	 * @param config Configuration for extractor
 	 * @return A feature extractor.
 	 */
 	public static NonMaxSuppression nonmax( ConfigExtract config ) {
+		return nonmax(config, BoofConcurrency.USE_CONCURRENT);
+	}
+
+	/**
+	 * Standard non-max feature extractor.
+	 *
+	 * @param config Configuration for extractor
+	 * @param concurrent If true then {@link WrapperNonMaximumBlock_MT} is returned, which processes the image
+	 *                   in bands using multiple threads.
+	 * @return A feature extractor.
+	 */
+	public static NonMaxSuppression nonmax( ConfigExtract config , boolean concurrent ) {
 
 		if( config == null )
 			config = new ConfigExtract();
 		config.checkValidity();
 
+		final ConfigExtract _config = config;
+		if( concurrent ) {
+			return new WrapperNonMaximumBlock_MT(new WorkerPool<NonMaxBlock>() {
+				@Override
+				protected NonMaxBlock createWorker() {
+					return createNonMaxBlock(_config);
+				}
+			});
+		}
+
+		return new WrapperNonMaximumBlock(createNonMaxBlock(config));
+	}
+
+	private static NonMaxBlock createNonMaxBlock( ConfigExtract config ) {
 		NonMaxBlock ret;
 		if (config.useStrictRule) {
 			if( config.detectMaximums)
@@ -87,11 +116,12 @@ public class FactoryFeatureExtractor {
 		ret.setThresholdMin(-config.threshold);
 		ret.setBorder(config.ignoreBorder);
 
-		return new WrapperNonMaximumBlock(ret);
+		return ret;
 	}
 
 	/**
-	 * Non-max feature extractor which saves a candidate list of all the found local maximums..
+	 * Non-max feature extractor which saves a candidate list of all the found local maximums..  If
+	 * {@link BoofConcurrency#USE_CONCURRENT} is true then {@link WrapperNonMaxCandidate_MT} is returned.
 	 *
 	 * @param config Configuration for extractor
 	 * @return A feature extractor.
@@ -102,17 +132,20 @@ public class FactoryFeatureExtractor {
 			config = new ConfigExtract();
 		config.checkValidity();
 
-		NonMaxCandidate alg;
+		final boolean strict = config.useStrictRule;
 
-		// no need to check the detection max/min since these algorithms can handle both
-		if (config.useStrictRule) {
-			alg = new NonMaxCandidateStrict();
+		WrapperNonMaxCandidate ret;
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			ret = new WrapperNonMaxCandidate_MT(new WorkerPool<NonMaxCandidate>() {
+				@Override
+				protected NonMaxCandidate createWorker() {
+					return createNonMaxCandidate(strict);
+				}
+			},false,true);
 		} else {
-			alg = new NonMaxCandidateRelaxed();
+			ret = new WrapperNonMaxCandidate(createNonMaxCandidate(strict),false,true);
 		}
 
-		WrapperNonMaxCandidate ret = new WrapperNonMaxCandidate(alg,false,true);
-
 		ret.setSearchRadius(config.radius);
 		ret.setIgnoreBorder(config.ignoreBorder);
 		ret.setThresholdMaximum(config.threshold);
@@ -120,6 +153,15 @@ public class FactoryFeatureExtractor {
 		return ret;
 	}
 
+	private static NonMaxCandidate createNonMaxCandidate( boolean strict ) {
+		// no need to check the detection max/min since these algorithms can handle both
+		if (strict) {
+			return new NonMaxCandidateStrict();
+		} else {
+			return new NonMaxCandidateRelaxed();
+		}
+	}
+
 	/**
 	 * Creates a non-maximum limiter using the specified configuration
 	 * @param config non-maxumum settings
@@ -24,6 +24,8 @@ import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
 import boofcv.alg.feature.detect.intensity.HarrisCornerIntensity;
 import boofcv.alg.feature.detect.intensity.HessianBlobIntensity;
 import boofcv.alg.feature.detect.intensity.ShiTomasiCornerIntensity;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkerPool;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
@@ -39,7 +41,8 @@ import boofcv.struct.image.ImageType;
 public class FactoryIntensityPoint {
 
 	/**
-	 * Feature intensity for Fast corner detector.  See {@link FastCornerIntensity} for more details.
+	 * Feature intensity for Fast corner detector.  See {@link FastCornerIntensity} for more details.  If
+	 * {@link BoofConcurrency#USE_CONCURRENT} is true then {@link WrapperFastCornerIntensity_MT} is returned.
 	 *
 	 * @param pixelTol How different pixels need to be to be considered part of a corner. Image dependent.  Try 20 to start.
 	 * @param minCont Minimum number of continue pixels in a circle for it ot be a corner.  Can be 9,10,11 or 12.
@@ -49,7 +52,15 @@ public class FactoryIntensityPoint {
 	 * @return Fast feature intensity
 	 */
 	public static <I extends ImageGray<I>, D extends ImageGray<D>>
-	GeneralFeatureIntensity<I,D>  fast( int pixelTol, int minCont, Class<I> imageType ) {
+	GeneralFeatureIntensity<I,D>  fast( final int pixelTol, final int minCont, final Class<I> imageType ) {
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			return new WrapperFastCornerIntensity_MT<>(new WorkerPool<FastCornerIntensity<I>>() {
+				@Override
+				protected FastCornerIntensity<I> createWorker() {
+					return FactoryIntensityPointAlg.fast(pixelTol, minCont, imageType);
+				}
+			});
+		}
 		FastCornerIntensity<I> alg =  FactoryIntensityPointAlg.fast(pixelTol, minCont, imageType);
 		return new WrapperFastCornerIntensity<>(alg);
 	}
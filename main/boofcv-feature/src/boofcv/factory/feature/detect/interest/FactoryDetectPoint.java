@@ -27,6 +27,9 @@ import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
 import boofcv.alg.feature.detect.intensity.GradientCornerIntensity;
 import boofcv.alg.feature.detect.intensity.HessianBlobIntensity;
 import boofcv.alg.feature.detect.interest.GeneralFeatureDetector;
+import boofcv.alg.feature.detect.interest.GeneralFeatureDetector_MT;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkerPool;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
 import boofcv.factory.feature.detect.intensity.FactoryIntensityPoint;
 import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
@@ -45,6 +48,10 @@ import boofcv.struct.image.ImageType;
  * computed along the image border then it will be full of zeros.  In that case the ignore border region
  * needs to be increased for non-max suppression or else it might generate a false positive.
  * </p>
+ * <p>
+ * If {@link BoofConcurrency#USE_CONCURRENT} and {@link ConfigGeneralDetector#concurrent} are both true then
+ * {@link GeneralFeatureDetector_MT} is returned.
+ * </p>
  *
  * @author Peter Abeles
  */
@@ -64,9 +71,19 @@ public class FactoryDetectPoint {
 		if( configDetector == null)
 			configDetector = new ConfigGeneralDetector();
 
-		GradientCornerIntensity<D> cornerIntensity =
-				FactoryIntensityPointAlg.harris(configDetector.radius, 0.04f, weighted, derivType);
-		return createGeneral(cornerIntensity, configDetector);
+		final int radius = configDetector.radius;
+		final boolean _weighted = weighted;
+		final Class<D> _derivType = derivType;
+		WorkerPool<GeneralFeatureIntensity<T,D>> pool = new WorkerPool<GeneralFeatureIntensity<T,D>>() {
+			@Override
+			protected GeneralFeatureIntensity<T, D> createWorker() {
+				GradientCornerIntensity<D> cornerIntensity =
+						FactoryIntensityPointAlg.harris(radius, 0.04f, _weighted, _derivType);
+				return new WrapperGradientCornerIntensity<>(cornerIntensity);
+			}
+		};
+		// the weighted intensity is computed along the image border, so bands are expanded by the radius
+		return createGeneral(pool, radius, configDetector);
 	}
 
 	/**
@@ -83,9 +100,18 @@ public class FactoryDetectPoint {
 		if( configDetector == null)
 			configDetector = new ConfigGeneralDetector();
 
-		GradientCornerIntensity<D> cornerIntensity =
-				FactoryIntensityPointAlg.shiTomasi(configDetector.radius, weighted, derivType);
-		return createGeneral(cornerIntensity, configDetector);
+		final int radius = configDetector.radius;
+		final boolean _weighted = weighted;
+		final Class<D> _derivType = derivType;
+		WorkerPool<GeneralFeatureIntensity<T,D>> pool = new WorkerPool<GeneralFeatureIntensity<T,D>>() {
+			@Override
+			protected GeneralFeatureIntensity<T, D> createWorker() {
+				GradientCornerIntensity<D> cornerIntensity =
+						FactoryIntensityPointAlg.shiTomasi(radius, _weighted, _derivType);
+				return new WrapperGradientCornerIntensity<>(cornerIntensity);
+			}
+		};
+		return createGeneral(pool, radius, configDetector);
 	}
 
 	/**
@@ -100,8 +126,14 @@ public class FactoryDetectPoint {
 		if( configDetector == null)
 			configDetector = new ConfigGeneralDetector();
 
-		GeneralFeatureIntensity<T, D> intensity = new WrapperKitRosCornerIntensity<>(derivType);
-		return createGeneral(intensity, configDetector);
+		final Class<D> _derivType = derivType;
+		WorkerPool<GeneralFeatureIntensity<T,D>> pool = new WorkerPool<GeneralFeatureIntensity<T,D>>() {
+			@Override
+			protected GeneralFeatureIntensity<T, D> createWorker() {
+				return new WrapperKitRosCornerIntensity<>(_derivType);
+			}
+		};
+		return createGeneral(pool, 0, configDetector);
 	}
 
 	/**
@@ -123,11 +155,20 @@ public class FactoryDetectPoint {
 
 		ConfigGeneralDetector d = configDetector;
 
-		FastCornerIntensity<T> alg = FactoryIntensityPointAlg.fast(configFast.pixelTol, configFast.minContinuous, imageType);
-		GeneralFeatureIntensity<T, D> intensity = new WrapperFastCornerIntensity<>(alg);
+		final ConfigFast _configFast = configFast;
+		final Class<T> _imageType = imageType;
+		WorkerPool<GeneralFeatureIntensity<T,D>> pool = new WorkerPool<GeneralFeatureIntensity<T,D>>() {
+			@Override
+			protected GeneralFeatureIntensity<T, D> createWorker() {
+				FastCornerIntensity<T> alg = FactoryIntensityPointAlg.fast(
+						_configFast.pixelTol, _configFast.minContinuous, _imageType);
+				return new WrapperFastCornerIntensity<>(alg);
+			}
+		};
 		ConfigGeneralDetector configExtract =
 				new ConfigGeneralDetector(d.maxFeatures,d.radius,d.threshold,0,true,false,true);
-		return createGeneral(intensity, configExtract);
+		configExtract.concurrent = d.concurrent;
+		return createGeneral(pool, 0, configExtract);
 	}
 
 	/**
@@ -143,9 +184,17 @@ public class FactoryDetectPoint {
 		if( configDetector == null)
 			configDetector = new ConfigGeneralDetector();
 
-		BlurStorageFilter<T> medianFilter = FactoryBlurFilter.median(ImageType.single(imageType), configDetector.radius);
-		GeneralFeatureIntensity<T, D> intensity = new WrapperMedianCornerIntensity<>(medianFilter, imageType);
-		return createGeneral(intensity, configDetector);
+		final int radius = configDetector.radius;
+		final Class<T> _imageType = imageType;
+		WorkerPool<GeneralFeatureIntensity<T,D>> pool = new WorkerPool<GeneralFeatureIntensity<T,D>>() {
+			@Override
+			protected GeneralFeatureIntensity<T, D> createWorker() {
+				BlurStorageFilter<T> medianFilter = FactoryBlurFilter.median(ImageType.single(_imageType), radius);
+				return new WrapperMedianCornerIntensity<>(medianFilter, _imageType);
+			}
+		};
+		// the median filter is computed along the image border, so the band needs to be expanded by its radius
+		return createGeneral(pool, radius, configDetector);
 	}
 
 	/**
@@ -162,8 +211,15 @@ public class FactoryDetectPoint {
 		if( configDetector == null)
 			configDetector = new ConfigGeneralDetector();
 
-		GeneralFeatureIntensity<T, D> intensity = FactoryIntensityPoint.hessian(type, derivType);
-		return createGeneral(intensity, configDetector);
+		final HessianBlobIntensity.Type _type = type;
+		final Class<D> _derivType = derivType;
+		WorkerPool<GeneralFeatureIntensity<T,D>> pool = new WorkerPool<GeneralFeatureIntensity<T,D>>() {
+			@Override
+			protected GeneralFeatureIntensity<T, D> createWorker() {
+				return FactoryIntensityPoint.hessian(_type, _derivType);
+			}
+		};
+		return createGeneral(pool, 0, configDetector);
 	}
 
 	public static <T extends ImageGray<T>, D extends ImageGray<D>>
@@ -177,10 +233,36 @@ public class FactoryDetectPoint {
 	GeneralFeatureDetector<T, D> createGeneral(GeneralFeatureIntensity<T, D> intensity,
 											   ConfigGeneralDetector config ) {
 		config.ignoreBorder += config.radius;
-		NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(config);
+		NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(config,
+				config.concurrent && BoofConcurrency.USE_CONCURRENT);
 		GeneralFeatureDetector<T, D> det = new GeneralFeatureDetector<>(intensity, extractor);
 		det.setMaxFeatures(config.maxFeatures);
 
 		return det;
 	}
+
+	/**
+	 * Creates a detector from a pool of feature intensity algorithms.  If concurrency is turned on
+	 * then {@link GeneralFeatureDetector_MT} is returned, which uses one intensity algorithm per thread,
+	 * otherwise a single intensity algorithm is taken from the pool.
+	 *
+	 * @param pool Creates feature intensity algorithms.
+	 * @param intensityRadius How far outside of a row band the intensity algorithm reads pixels, in addition
+	 *                        to its ignore border.
+	 * @param config Configuration for the detector
+	 */
+	public static <T extends ImageGray<T>, D extends ImageGray<D>>
+	GeneralFeatureDetector<T, D> createGeneral(WorkerPool<GeneralFeatureIntensity<T, D>> pool,
+											   int intensityRadius,
+											   ConfigGeneralDetector config ) {
+		if( !(config.concurrent && BoofConcurrency.USE_CONCURRENT) )
+			return createGeneral(pool.acquire(), config);
+
+		config.ignoreBorder += config.radius;
+		NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(config, true);
+		GeneralFeatureDetector<T, D> det = new GeneralFeatureDetector_MT<>(pool, intensityRadius, extractor);
+		det.setMaxFeatures(config.maxFeatures);
+
+		return det;
+	}
 }
@@ -118,7 +118,8 @@ public class FactoryInterestPoint {
 
 	/**
 	 * Creates a {@link FastHessianFeatureDetector} detector which is wrapped inside
-	 * an {@link InterestPointDetector}
+	 * an {@link InterestPointDetector}.  The concurrent implementation is used if
+	 * {@link boofcv.concurrency.BoofConcurrency#USE_CONCURRENT} is true.
 	 *
 	 * @param config Configuration for detector.  Pass in null for default options.
 	 * @return The interest point detector.
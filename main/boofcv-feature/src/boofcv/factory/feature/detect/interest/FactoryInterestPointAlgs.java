@@ -33,6 +33,8 @@ import boofcv.alg.feature.detect.intensity.GradientCornerIntensity;
 import boofcv.alg.feature.detect.intensity.HessianBlobIntensity;
 import boofcv.alg.feature.detect.interest.*;
 import boofcv.alg.filter.derivative.GImageDerivativeOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkerPool;
 import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
 import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
 import boofcv.factory.filter.derivative.FactoryDerivativeSparse;
@@ -159,7 +161,8 @@ public class FactoryInterestPointAlgs {
 	}
 
 	/**
-	 * Creates a Fast Hessian blob detector used by SURF.
+	 * Creates a Fast Hessian blob detector used by SURF.  If {@link BoofConcurrency#USE_CONCURRENT} is true
+	 * then {@link FastHessianFeatureDetector_MT} is returned, which processes the scale-space layers in parallel.
 	 *
 	 * @param config Configuration for detector. Pass in null for default options.
 	 * @param <II> Integral Image
@@ -173,15 +176,28 @@ public class FactoryInterestPointAlgs {
 		config.checkValidity();
 
 		// ignore border is overwritten by Fast Hessian at detection time
-		NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(
-				new ConfigExtract(config.extractRadius, config.detectThreshold, 0, true));
+		final ConfigExtract configExtract = new ConfigExtract(config.extractRadius, config.detectThreshold, 0, true);
+
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			return new FastHessianFeatureDetector_MT<>(new WorkerPool<NonMaxSuppression>() {
+				@Override
+				protected NonMaxSuppression createWorker() {
+					return FactoryFeatureExtractor.nonmax(configExtract);
+				}
+			}, config.maxFeaturesPerScale,
+					config.initialSampleSize, config.initialSize, config.numberScalesPerOctave,
+					config.numberOfOctaves, config.scaleStepSize);
+		}
+
+		NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(configExtract);
 		return new FastHessianFeatureDetector<>(extractor, config.maxFeaturesPerScale,
 				config.initialSampleSize, config.initialSize, config.numberScalesPerOctave,
 				config.numberOfOctaves, config.scaleStepSize);
 	}
 
 	/**
-	 * Creates a SIFT detector
+	 * Creates a SIFT detector.  If {@link BoofConcurrency#USE_CONCURRENT} is true then
+	 * {@link SiftDetector_MT} is returned.
 	 */
 	public static SiftDetector sift(ConfigSiftScaleSpace configSS , ConfigSiftDetector configDetector ) {
 
@@ -191,10 +207,22 @@ public class FactoryInterestPointAlgs {
 		if( configDetector == null )
 			configDetector = new ConfigSiftDetector();
 
-		NonMaxLimiter nonmax = FactoryFeatureExtractor.nonmaxLimiter(
-				configDetector.extract,configDetector.maxFeaturesPerScale);
+		final ConfigSiftDetector _configDetector = configDetector;
 		SiftScaleSpace ss = new SiftScaleSpace(configSS.firstOctave,configSS.lastOctave,
 				configSS.numScales,configSS.sigma0);
+
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			return new SiftDetector_MT(ss, configDetector.edgeR, new WorkerPool<NonMaxLimiter>() {
+				@Override
+				protected NonMaxLimiter createWorker() {
+					return FactoryFeatureExtractor.nonmaxLimiter(
+							_configDetector.extract,_configDetector.maxFeaturesPerScale);
+				}
+			});
+		}
+
+		NonMaxLimiter nonmax = FactoryFeatureExtractor.nonmaxLimiter(
+				configDetector.extract,configDetector.maxFeaturesPerScale);
 		return new SiftDetector(ss,configDetector.edgeR,nonmax);
 	}
 }
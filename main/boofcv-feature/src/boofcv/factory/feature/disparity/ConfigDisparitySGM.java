@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.factory.feature.disparity;
+
+import boofcv.alg.feature.disparity.sgm.SgmDisparityCost;
+import boofcv.struct.Configuration;
+
+/**
+ * Configuration for {@link boofcv.alg.feature.disparity.sgm.SgmStereoDisparity Semi-Global Matching}
+ *
+ * @author Peter Abeles
+ */
+public class ConfigDisparitySGM implements Configuration {
+
+	/**
+	 * Minimum disparity that it will check. Must be &ge; 0 and &lt; maxDisparity
+	 */
+	public int minDisparity = 0;
+
+	/**
+	 * Maximum disparity that it will calculate. Must be &gt; 0
+	 */
+	public int maxDisparity = 100;
+
+	/**
+	 * How the cost of matching two pixels is computed
+	 */
+	public ErrorType errorType = ErrorType.CENSUS;
+
+	/**
+	 * Number of paths the cost is aggregated along. Can be 1, 2, 4, 8, or 16.  More paths are
+	 * more accurate but slower.
+	 */
+	public int paths = 8;
+
+	/**
+	 * Penalty for a change in disparity of one.  Costs range from 0 to {@link SgmDisparityCost#MAX_COST}.
+	 */
+	public int penaltySmallChange = 200;
+
+	/**
+	 * Penalty for a change in disparity of more than one. Must be &le; {@link SgmDisparityCost#MAX_COST}.
+	 */
+	public int penaltyLargeChange = 2000;
+
+	/**
+	 * Tolerance for how difference the left to right associated values can be.  Set to &lt; 0 to disable.
+	 */
+	public int validateRtoL = 1;
+
+	/**
+	 * Tolerance for how similar optimal disparity is to other disparities.  Disable with a value &le; 0.
+	 * Closer to zero is more tolerant.
+	 */
+	public double texture = 0.05;
+
+	/**
+	 * If true the disparity is computed to sub-pixel accuracy and the output is a GrayF32
+	 */
+	public boolean subpixel = false;
+
+	public ConfigDisparitySGM(int minDisparity, int maxDisparity) {
+		this.minDisparity = minDisparity;
+		this.maxDisparity = maxDisparity;
+	}
+
+	public ConfigDisparitySGM() {
+	}
+
+	@Override
+	public void checkValidity() {
+		if( maxDisparity <= 0 )
+			throw new IllegalArgumentException("Max disparity must be greater than zero");
+		if( minDisparity < 0 || minDisparity >= maxDisparity )
+			throw new IllegalArgumentException("Min disparity must be >= 0 and < maxDisparity");
+		if( !subpixel && maxDisparity-minDisparity > 254 )
+			throw new IllegalArgumentException("(max - min) disparity must be <= 254");
+		if( paths != 1 && paths != 2 && paths != 4 && paths != 8 && paths != 16 )
+			throw new IllegalArgumentException("Paths must be 1, 2, 4, 8, or 16");
+		if( penaltySmallChange < 0 || penaltySmallChange > penaltyLargeChange )
+			throw new IllegalArgumentException("Penalties must be 0 <= small <= large");
+		if( penaltyLargeChange > SgmDisparityCost.MAX_COST )
+			throw new IllegalArgumentException("penaltyLargeChange must be <= "+SgmDisparityCost.MAX_COST);
+	}
+
+	/**
+	 * Approaches for computing the cost of matching two pixels
+	 */
+	public enum ErrorType {
+		/**
+		 * Hamming distance between the census transform of each pixel
+		 */
+		CENSUS,
+		/**
+		 * Absolute difference between pixel intensity values
+		 */
+		ABSOLUTE_DIFFERENCE
+	}
+}
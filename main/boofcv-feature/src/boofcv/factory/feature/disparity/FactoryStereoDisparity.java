@@ -21,11 +21,16 @@ package boofcv.factory.feature.disparity;
 import boofcv.abst.feature.disparity.StereoDisparity;
 import boofcv.abst.feature.disparity.StereoDisparitySparse;
 import boofcv.abst.feature.disparity.WrapDisparitySadRect;
+import boofcv.abst.feature.disparity.WrapDisparitySgm;
 import boofcv.abst.feature.disparity.WrapDisparitySparseSadRect;
 import boofcv.alg.feature.disparity.DisparityScoreRowFormat;
+import boofcv.alg.feature.disparity.DisparityScoreRowFormat_MT;
 import boofcv.alg.feature.disparity.DisparitySelect;
 import boofcv.alg.feature.disparity.DisparitySparseScoreSadRect;
 import boofcv.alg.feature.disparity.DisparitySparseSelect;
+import boofcv.alg.feature.disparity.sgm.*;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkerPool;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayS16;
 import boofcv.struct.image.GrayU8;
@@ -66,6 +71,11 @@ public class FactoryStereoDisparity {
 	 * NOTE: For RECT_FIVE the size of the sub-regions it uses is what is specified.
 	 * </p>
 	 *
+	 * <p>
+	 * If {@link BoofConcurrency#USE_CONCURRENT} is true when this function is called then a concurrent
+	 * implementation is returned which processes bands of rows in parallel.
+	 * </p>
+	 *
 	 * @param minDisparity Minimum disparity that it will check. Must be &ge; 0 and &lt; maxDisparity
 	 * @param maxDisparity Maximum disparity that it will calculate. Must be &gt; 0
 	 * @param regionRadiusX Radius of the rectangular region along x-axis.
@@ -86,56 +96,8 @@ public class FactoryStereoDisparity {
 			   double texture ,
 			   Class<T> imageType ) {
 
-		double maxError = (regionRadiusX*2+1)*(regionRadiusY*2+1)*maxPerPixelError;
-
-		// 3 regions are used not just one in this case
-		if( whichAlg == DisparityAlgorithms.RECT_FIVE )
-			maxError *= 3;
-
-		DisparitySelect select;
-		if( imageType == GrayU8.class || imageType == GrayS16.class ) {
-			select = selectDisparity_S32((int) maxError, validateRtoL, texture);
-		} else if( imageType == GrayF32.class ) {
-			select = selectDisparity_F32((int) maxError, validateRtoL, texture);
-		} else {
-			throw new IllegalArgumentException("Unknown image type");
-		}
-
-		DisparityScoreRowFormat<T,GrayU8> alg = null;
-
-		switch( whichAlg ) {
-			case RECT:
-				if( imageType == GrayU8.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRect_U8(minDisparity,
-							maxDisparity,regionRadiusX,regionRadiusY,select);
-				} else if( imageType == GrayS16.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRect_S16(minDisparity,
-							maxDisparity, regionRadiusX, regionRadiusY, select);
-				} else if( imageType == GrayF32.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRect_F32(minDisparity,
-							maxDisparity, regionRadiusX, regionRadiusY, select);
-				}
-				break;
-
-			case RECT_FIVE:
-				if( imageType == GrayU8.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRectFive_U8(minDisparity,
-							maxDisparity,regionRadiusX,regionRadiusY,select);
-				} else if( imageType == GrayS16.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRectFive_S16(minDisparity,
-							maxDisparity, regionRadiusX, regionRadiusY, select);
-				} else if( imageType == GrayF32.class ) {
-					alg = FactoryStereoDisparityAlgs.scoreDisparitySadRectFive_F32(minDisparity,
-							maxDisparity, regionRadiusX, regionRadiusY, select);
-				}
-				break;
-
-			default:
-				throw new IllegalArgumentException("Unknown algorithms "+whichAlg);
-
-		}
-		if( alg == null)
-			throw new RuntimeException("Image type not supported: "+imageType.getSimpleName() );
+		DisparityScoreRowFormat<T,GrayU8> alg = createRowFormat(whichAlg, minDisparity, maxDisparity,
+				regionRadiusX, regionRadiusY, maxPerPixelError, validateRtoL, texture, false, imageType);
 
 		return new WrapDisparitySadRect<>(alg);
 	}
@@ -149,6 +111,11 @@ public class FactoryStereoDisparity {
 	 * NOTE: For RECT_FIVE the size of the sub-regions it uses is what is specified.
 	 * </p>
 	 *
+	 * <p>
+	 * If {@link BoofConcurrency#USE_CONCURRENT} is true when this function is called then a concurrent
+	 * implementation is returned which processes bands of rows in parallel.
+	 * </p>
+	 *
 	 * @param minDisparity Minimum disparity that it will check. Must be &ge; 0 and &lt; maxDisparity
 	 * @param maxDisparity Maximum disparity that it will calculate. Must be &gt; 0
 	 * @param regionRadiusX Radius of the rectangular region along x-axis. Try 3.
@@ -169,6 +136,102 @@ public class FactoryStereoDisparity {
 					   double texture ,
 					   Class<T> imageType ) {
 
+		DisparityScoreRowFormat<T,GrayF32> alg = createRowFormat(whichAlg, minDisparity, maxDisparity,
+				regionRadiusX, regionRadiusY, maxPerPixelError, validateRtoL, texture, true, imageType);
+
+		return new WrapDisparitySadRect<>(alg);
+	}
+
+	/**
+	 * <p>
+	 * Creates a dense disparity algorithm based on Semi-Global Matching (SGM).  The matching cost is aggregated
+	 * along multiple paths through the image, which produces sharper object borders than region based
+	 * algorithms at the cost of more memory and computations. If {@link BoofConcurrency#USE_CONCURRENT}
+	 * is true then the cost, each aggregation direction, and the selection are computed in parallel.
+	 * </p>
+	 *
+	 * @see SgmStereoDisparity
+	 *
+	 * @param config Configuration. If null then the default is used.
+	 * @param imageType Type of input image. GrayU8 or GrayF32
+	 * @return SGM disparity algorithm. Disparity is GrayF32 if sub-pixel is enabled, GrayU8 otherwise.
+	 */
+	public static <T extends ImageGray<T>, D extends ImageGray<D>> StereoDisparity<T,D>
+	sgm( ConfigDisparitySGM config , Class<T> imageType ) {
+		if( config == null )
+			config = new ConfigDisparitySGM();
+		config.checkValidity();
+
+		SgmDisparityCost<T> cost;
+		switch( config.errorType ) {
+			case CENSUS:
+				cost = new SgmCostCensus<>(imageType);
+				break;
+
+			case ABSOLUTE_DIFFERENCE:
+				if( imageType == GrayU8.class )
+					cost = (SgmDisparityCost)new SgmCostAbsoluteDifference.U8();
+				else if( imageType == GrayF32.class )
+					cost = (SgmDisparityCost)new SgmCostAbsoluteDifference.F32();
+				else
+					throw new IllegalArgumentException("Image type not supported: "+imageType.getSimpleName());
+				break;
+
+			default:
+				throw new IllegalArgumentException("Unknown error type "+config.errorType);
+		}
+
+		SgmCostAggregation aggregation =
+				new SgmCostAggregation(config.penaltySmallChange, config.penaltyLargeChange, config.paths);
+
+		SgmDisparitySelector selector = new SgmDisparitySelector();
+		selector.setRightToLeftTolerance(config.validateRtoL);
+		selector.setTexture(config.texture);
+
+		SgmStereoDisparity<T> alg = new SgmStereoDisparity<>(config.minDisparity, config.maxDisparity,
+				cost, aggregation, selector);
+
+		Class disparityType = config.subpixel ? GrayF32.class : GrayU8.class;
+		return new WrapDisparitySgm<>(alg, disparityType);
+	}
+
+	/**
+	 * Creates the dense disparity algorithm.  If concurrency is turned on then each band of rows is processed
+	 * by its own instance of the single threaded algorithm.
+	 */
+	private static <T extends ImageGray<T>, D extends ImageGray<D>> DisparityScoreRowFormat<T,D>
+	createRowFormat( final DisparityAlgorithms whichAlg ,
+					 final int minDisparity , final int maxDisparity,
+					 final int regionRadiusX, final int regionRadiusY ,
+					 final double maxPerPixelError ,
+					 final int validateRtoL ,
+					 final double texture ,
+					 final boolean subpixel ,
+					 final Class<T> imageType ) {
+		if( BoofConcurrency.USE_CONCURRENT ) {
+			return new DisparityScoreRowFormat_MT<>(new WorkerPool<DisparityScoreRowFormat<T,D>>() {
+				@Override
+				protected DisparityScoreRowFormat<T,D> createWorker() {
+					return createRowFormatSingle(whichAlg, minDisparity, maxDisparity, regionRadiusX, regionRadiusY,
+							maxPerPixelError, validateRtoL, texture, subpixel, imageType);
+				}
+			});
+		} else {
+			return createRowFormatSingle(whichAlg, minDisparity, maxDisparity, regionRadiusX, regionRadiusY,
+					maxPerPixelError, validateRtoL, texture, subpixel, imageType);
+		}
+	}
+
+	private static <T extends ImageGray<T>, D extends ImageGray<D>> DisparityScoreRowFormat<T,D>
+	createRowFormatSingle( DisparityAlgorithms whichAlg ,
+						   int minDisparity , int maxDisparity,
+						   int regionRadiusX, int regionRadiusY ,
+						   double maxPerPixelError ,
+						   int validateRtoL ,
+						   double texture ,
+						   boolean subpixel ,
+						   Class<T> imageType ) {
+
 		double maxError = (regionRadiusX*2+1)*(regionRadiusY*2+1)*maxPerPixelError;
 
 		// 3 regions are used not just one in this case
@@ -177,14 +240,20 @@ public class FactoryStereoDisparity {
 
 		DisparitySelect select;
 		if( imageType == GrayU8.class || imageType == GrayS16.class ) {
-			select = selectDisparitySubpixel_S32((int) maxError, validateRtoL, texture);
+			if( subpixel )
+				select = selectDisparitySubpixel_S32((int) maxError, validateRtoL, texture);
+			else
+				select = selectDisparity_S32((int) maxError, validateRtoL, texture);
 		} else if( imageType == GrayF32.class ) {
-			select = selectDisparitySubpixel_F32((int) maxError, validateRtoL, texture);
+			if( subpixel )
+				select = selectDisparitySubpixel_F32((int) maxError, validateRtoL, texture);
+			else
+				select = selectDisparity_F32((int) maxError, validateRtoL, texture);
 		} else {
 			throw new IllegalArgumentException("Unknown image type");
 		}
 
-		DisparityScoreRowFormat<T,GrayF32> alg = null;
+		DisparityScoreRowFormat alg = null;
 
 		switch( whichAlg ) {
 			case RECT:
@@ -220,7 +289,7 @@ public class FactoryStereoDisparity {
 		if( alg == null)
 			throw new RuntimeException("Image type not supported: "+imageType.getSimpleName() );
 
-		return new WrapDisparitySadRect<>(alg);
+		return alg;
 	}
 
 	/**
@@ -45,6 +45,13 @@ public class ConfigFh04 {
 	 */
 	public int approximateSortBins = 0;
 
+	/**
+	 * If true and {@link boofcv.concurrency.BoofConcurrency#USE_CONCURRENT} is true then a concurrent implementation
+	 * is created.  Edge weights are computed in bands of rows, sorted using a radix sort, and stored in primitive
+	 * arrays.  Default is true.
+	 */
+	public boolean concurrent = true;
+
 	public ConfigFh04() {
 	}
 
@@ -47,6 +47,11 @@ public class ConfigSegmentMeanShift {
 	 * Connection rule when segmenting disconnected regions. Try FOUR
 	 */
 	public ConnectRule connectRule = ConnectRule.FOUR;
+	/**
+	 * If true and {@link boofcv.concurrency.BoofConcurrency#USE_CONCURRENT} is true then a concurrent implementation
+	 * is created.  The mean-shift search is done in bands of rows.  Default is true.
+	 */
+	public boolean concurrent = true;
 
 
 	public ConfigSegmentMeanShift() {
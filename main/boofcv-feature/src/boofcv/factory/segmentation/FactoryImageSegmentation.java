@@ -74,6 +74,8 @@ public class FactoryImageSegmentation {
 
 	/**
 	 * Creates a new instance of {@link SegmentFelzenszwalbHuttenlocher04} which is in a wrapper for {@link ImageSuperpixels}.
+	 * If concurrency is turned on in the config and globally then
+	 * {@link boofcv.alg.segmentation.fh04.SegmentFelzenszwalbHuttenlocher04_MT} is used.
 	 *
 	 * @see SegmentFelzenszwalbHuttenlocher04
 	 *
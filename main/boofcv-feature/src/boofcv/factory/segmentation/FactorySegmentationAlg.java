@@ -24,10 +24,13 @@ import boofcv.alg.interpolate.InterpolationType;
 import boofcv.alg.segmentation.ComputeRegionMeanColor;
 import boofcv.alg.segmentation.fh04.FhEdgeWeights;
 import boofcv.alg.segmentation.fh04.SegmentFelzenszwalbHuttenlocher04;
+import boofcv.alg.segmentation.fh04.SegmentFelzenszwalbHuttenlocher04_MT;
 import boofcv.alg.segmentation.fh04.impl.*;
 import boofcv.alg.segmentation.ms.*;
 import boofcv.alg.segmentation.slic.*;
 import boofcv.alg.segmentation.watershed.WatershedVincentSoille1991;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkerPool;
 import boofcv.core.image.border.BorderType;
 import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.struct.ConnectRule;
@@ -91,15 +94,41 @@ public class FactorySegmentationAlg {
 
 		SegmentMeanShiftSearch<T> search;
 
+		final ImageType _imageType = imageType;
+		boolean concurrent = config.concurrent && BoofConcurrency.USE_CONCURRENT;
+
 		if( imageType.getFamily() == ImageType.Family.GRAY) {
-			InterpolatePixelS interp = FactoryInterpolation.bilinearPixelS(imageType.getImageClass(), BorderType.EXTENDED);
-			search = new SegmentMeanShiftSearchGray(maxIterations,convergenceTol,interp,
-					spacialRadius,spacialRadius,colorRadius,config.fast);
+			if( concurrent ) {
+				WorkerPool<InterpolatePixelS> pool = new WorkerPool<InterpolatePixelS>() {
+					@Override
+					protected InterpolatePixelS createWorker() {
+						return FactoryInterpolation.bilinearPixelS(_imageType.getImageClass(), BorderType.EXTENDED);
+					}
+				};
+				search = new SegmentMeanShiftSearchGray_MT(maxIterations,convergenceTol,pool,
+						spacialRadius,spacialRadius,colorRadius,config.fast);
+			} else {
+				InterpolatePixelS interp = FactoryInterpolation.bilinearPixelS(imageType.getImageClass(), BorderType.EXTENDED);
+				search = new SegmentMeanShiftSearchGray(maxIterations,convergenceTol,interp,
+						spacialRadius,spacialRadius,colorRadius,config.fast);
+			}
 		} else {
-			InterpolatePixelMB interp = FactoryInterpolation.createPixelMB(0,255,
-					InterpolationType.BILINEAR, BorderType.EXTENDED,(ImageType)imageType);
-			search = new SegmentMeanShiftSearchColor(maxIterations,convergenceTol,interp,
-					spacialRadius,spacialRadius,colorRadius,config.fast,imageType);
+			if( concurrent ) {
+				WorkerPool<InterpolatePixelMB> pool = new WorkerPool<InterpolatePixelMB>() {
+					@Override
+					protected InterpolatePixelMB createWorker() {
+						return FactoryInterpolation.createPixelMB(0,255,
+								InterpolationType.BILINEAR, BorderType.EXTENDED,_imageType);
+					}
+				};
+				search = new SegmentMeanShiftSearchColor_MT(maxIterations,convergenceTol,pool,
+						spacialRadius,spacialRadius,colorRadius,config.fast,imageType);
+			} else {
+				InterpolatePixelMB interp = FactoryInterpolation.createPixelMB(0,255,
+						InterpolationType.BILINEAR, BorderType.EXTENDED,(ImageType)imageType);
+				search = new SegmentMeanShiftSearchColor(maxIterations,convergenceTol,interp,
+						spacialRadius,spacialRadius,colorRadius,config.fast,imageType);
+			}
 		}
 
 		ComputeRegionMeanColor<T> regionColor = regionMeanColor(imageType);
@@ -158,10 +187,21 @@ public class FactorySegmentationAlg {
 		if( config == null )
 			config = new ConfigFh04();
 
-		FhEdgeWeights<T> edgeWeights = weightsFelzenszwalb04(config.connectRule,imageType);
-
-		SegmentFelzenszwalbHuttenlocher04<T> alg =
-				new SegmentFelzenszwalbHuttenlocher04<>(config.K, config.minimumRegionSize, edgeWeights);
+		SegmentFelzenszwalbHuttenlocher04<T> alg;
+		if( config.concurrent && BoofConcurrency.USE_CONCURRENT ) {
+			final ConnectRule rule = config.connectRule;
+			final ImageType<T> _imageType = imageType;
+			WorkerPool<FhEdgeWeights<T>> pool = new WorkerPool<FhEdgeWeights<T>>() {
+				@Override
+				protected FhEdgeWeights<T> createWorker() {
+					return weightsFelzenszwalb04(rule, _imageType);
+				}
+			};
+			alg = new SegmentFelzenszwalbHuttenlocher04_MT<>(config.K, config.minimumRegionSize, pool);
+		} else {
+			FhEdgeWeights<T> edgeWeights = weightsFelzenszwalb04(config.connectRule,imageType);
+			alg = new SegmentFelzenszwalbHuttenlocher04<>(config.K, config.minimumRegionSize, edgeWeights);
+		}
 
 		if( config.approximateSortBins > 0 ) {
 			alg.configureApproximateSort(config.approximateSortBins);
@@ -27,6 +27,7 @@ import boofcv.alg.tracker.combined.PyramidKltForCombined;
 import boofcv.alg.tracker.klt.KltConfig;
 import boofcv.alg.tracker.klt.KltTracker;
 import boofcv.alg.tracker.klt.PkltConfig;
+import boofcv.alg.tracker.klt.PyramidKltBatchTracker;
 import boofcv.alg.tracker.klt.PyramidKltTracker;
 import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.struct.feature.TupleDesc;
@@ -94,6 +95,34 @@ public class FactoryTrackerAlg {
 		return new PyramidKltTracker<>(klt);
 	}
 
+	/**
+	 * Creates a {@link PyramidKltBatchTracker}, which tracks all of its features at once and stores them in
+	 * primitive arrays.
+	 *
+	 * NOTE: The pyramid's structure is determined by the input pyramid that is processed.
+	 *
+	 * @param config KLT configuration
+	 * @param templateRadius Radius of square templates that are tracked
+	 * @param imageType Type of input image
+	 * @param derivType Type of image derivative
+	 * @param <I> Input image type.
+	 * @param <D> Derivative image type.
+	 * @return Tracker
+	 */
+	public static <I extends ImageGray<I>, D extends ImageGray<D>>
+	PyramidKltBatchTracker<I, D> kltPyramidBatch( KltConfig config,
+												  int templateRadius ,
+												  Class<I> imageType ,
+												  Class<D> derivType )
+	{
+		if( config == null )
+			config = new KltConfig();
+		if( derivType == null )
+			derivType = GImageDerivativeOps.getDerivativeType(imageType);
+
+		return new PyramidKltBatchTracker<>(config, templateRadius, imageType, derivType);
+	}
+
 	/**
 	 * Creates a tracker that is a hybrid between KLT and Detect-Describe-Associate (DDA) trackers.
 	 *
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.associate;
+
+import boofcv.alg.feature.associate.AssociateGreedy;
+import boofcv.factory.feature.associate.FactoryAssociation;
+import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.MatchScoreType;
+import boofcv.struct.feature.TupleDesc_B;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The descriptors used here have integer distances, so {@link StandardAssociateDescriptionChecks} can't be used.
+ * Equivalent tests are done instead.
+ *
+ * @author Peter Abeles
+ */
+public class TestAssociateMultiIndexHashing_B {
+
+	Random rand = new Random(234);
+	int numBits = 128;
+
+	FastQueue<TupleDesc_B> listSrc = new FastQueue<>(TupleDesc_B.class, false);
+	FastQueue<TupleDesc_B> listDst = new FastQueue<>(TupleDesc_B.class, false);
+
+	@Test
+	public void checkScoreType() {
+		AssociateDescription<TupleDesc_B> alg = FactoryAssociation.multiIndexHashing(numBits, 0, -1);
+		assertTrue(MatchScoreType.NORM_ERROR == alg.getScoreType());
+		assertTrue(!alg.uniqueSource());
+		assertTrue(alg.uniqueDestination());
+	}
+
+	/**
+	 * Should produce the same distances as greedy association, which is a brute force search
+	 */
+	@Test
+	public void compareToGreedy() {
+		for( int i = 0; i < 300; i++ ) {
+			listSrc.add(random());
+		}
+		for( int i = 0; i < 200; i++ ) {
+			if( i % 2 == 0 )
+				listDst.add(flipBits(listSrc.get(rand.nextInt(listSrc.size)), rand.nextInt(20)));
+			else
+				listDst.add(random());
+		}
+
+		AssociateGreedy<TupleDesc_B> greedy = new AssociateGreedy<>(new ScoreAssociateHamming_B(), false);
+		greedy.setMaxFitError(40);
+		greedy.associate(listDst, listSrc);
+
+		AssociateDescription<TupleDesc_B> alg = FactoryAssociation.multiIndexHashing(numBits, 8, 40);
+		alg.setSource(listSrc);
+		alg.setDestination(listDst);
+		alg.associate();
+
+		int[] expected = greedy.getPairs();
+		double[] expectedScore = greedy.getFitQuality();
+		FastQueue<AssociatedIndex> matches = alg.getMatches();
+		int total = 0;
+		for( int i = 0; i < listDst.size; i++ ) {
+			if( expected[i] < 0 )
+				continue;
+			AssociatedIndex m = matches.get(total++);
+			assertEquals(i, m.dst);
+			assertEquals(expectedScore[i], m.fitScore, 1e-8);
+		}
+		assertEquals(total, matches.size);
+		assertTrue(total >= 100);
+	}
+
+	@Test
+	public void checkSetThreshold() {
+		TupleDesc_B a = random();
+		listSrc.add(a);
+		listDst.add(flipBits(a, 5));
+
+		AssociateDescription<TupleDesc_B> alg = FactoryAssociation.multiIndexHashing(numBits, 0, -1);
+		alg.setSource(listSrc);
+		alg.setDestination(listDst);
+
+		alg.setThreshold(4);
+		alg.associate();
+		assertEquals(0, alg.getMatches().size);
+
+		// edge case, exactly the distance
+		alg.setThreshold(5);
+		alg.associate();
+		assertEquals(1, alg.getMatches().size);
+
+		// no threshold
+		alg.setThreshold(Double.MAX_VALUE);
+		alg.associate();
+		assertEquals(1, alg.getMatches().size);
+		alg.setThreshold(-1);
+		alg.associate();
+		assertEquals(1, alg.getMatches().size);
+	}
+
+	@Test
+	public void checkUnassociatedLists() {
+		for( int i = 0; i < 3; i++ ) {
+			listSrc.add(random());
+			listDst.add(flipBits(listSrc.get(i), i == 0 ? 20 : 2));
+		}
+		listDst.add(random());
+
+		AssociateDescription<TupleDesc_B> alg = FactoryAssociation.multiIndexHashing(numBits, 0, 5);
+		alg.setSource(listSrc);
+		alg.setDestination(listDst);
+		alg.associate();
+
+		assertEquals(2, alg.getMatches().size);
+		assertEquals(1, alg.getUnassociatedSource().size);
+		assertEquals(0, alg.getUnassociatedSource().get(0));
+		assertEquals(2, alg.getUnassociatedDestination().size);
+	}
+
+	/**
+	 * Adding sources one at a time should produce the same results as adding them all at once
+	 */
+	@Test
+	public void addSource() {
+		for( int i = 0; i < 50; i++ ) {
+			listSrc.add(random());
+			listDst.add(flipBits(listSrc.get(i), 3));
+		}
+
+		AssociateMultiIndexHashing_B alg = FactoryAssociation.multiIndexHashing(numBits, 0, 10);
+		alg.setSource(new FastQueue<>(TupleDesc_B.class, false));
+		for( int i = 0; i < listSrc.size; i++ ) {
+			assertEquals(i, alg.addSource(listSrc.get(i)));
+		}
+		alg.setDestination(listDst);
+		alg.associate();
+
+		assertEquals(50, alg.getMatches().size);
+		for( int i = 0; i < 50; i++ ) {
+			AssociatedIndex m = alg.getMatches().get(i);
+			assertEquals(m.src, m.dst);
+			assertEquals(3, m.fitScore, 1e-8);
+		}
+	}
+
+	private TupleDesc_B random() {
+		TupleDesc_B desc = new TupleDesc_B(numBits);
+		for( int i = 0; i < desc.data.length; i++ ) {
+			desc.data[i] = rand.nextInt();
+		}
+		return desc;
+	}
+
+	private TupleDesc_B flipBits( TupleDesc_B original , int numFlipped ) {
+		TupleDesc_B desc = original.copy();
+		for( int i = 0; i < numFlipped; i++ ) {
+			desc.data[i/32] ^= 1 << (i%32);
+		}
+		return desc;
+	}
+}
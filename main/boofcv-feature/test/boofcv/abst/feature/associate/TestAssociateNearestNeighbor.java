@@ -19,6 +19,7 @@
 package boofcv.abst.feature.associate;
 
 import boofcv.struct.feature.AssociatedIndex;
+import boofcv.struct.feature.TupleDesc_F32;
 import boofcv.struct.feature.TupleDesc_F64;
 import org.ddogleg.nn.FactoryNearestNeighbor;
 import org.ddogleg.nn.NearestNeighbor;
@@ -28,6 +29,7 @@ import org.ddogleg.struct.GrowQueue_I32;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -107,6 +109,57 @@ public class TestAssociateNearestNeighbor extends StandardAssociateDescriptionCh
 		assertEquals(6,unassoc.get(2));
 	}
 
+	/**
+	 * Descriptors which are not TupleDesc_F64 are converted and should produce the same results
+	 */
+	@Test
+	public void otherDescriptorTypes() {
+		Random rand = new Random(234);
+
+		FastQueue<TupleDesc_F64> src64 = new FastQueue<>(10, TupleDesc_F64.class, false);
+		FastQueue<TupleDesc_F64> dst64 = new FastQueue<>(10, TupleDesc_F64.class, false);
+		FastQueue<TupleDesc_F32> src32 = new FastQueue<>(10, TupleDesc_F32.class, false);
+		FastQueue<TupleDesc_F32> dst32 = new FastQueue<>(10, TupleDesc_F32.class, false);
+
+		for( int i = 0; i < 20; i++ ) {
+			TupleDesc_F32 a = new TupleDesc_F32(4);
+			TupleDesc_F32 b = new TupleDesc_F32(4);
+			for( int j = 0; j < 4; j++ ) {
+				a.value[j] = (float)rand.nextGaussian();
+				b.value[j] = (float)rand.nextGaussian();
+			}
+			src32.add(a); dst32.add(b);
+			src64.add(convert(a)); dst64.add(convert(b));
+		}
+
+		AssociateNearestNeighbor<TupleDesc_F64> alg64 =
+				new AssociateNearestNeighbor<>(FactoryNearestNeighbor.<Integer>exhaustive(), 4);
+		AssociateNearestNeighbor<TupleDesc_F32> alg32 =
+				new AssociateNearestNeighbor<>(FactoryNearestNeighbor.<Integer>exhaustive(), 4);
+
+		// call it twice to make sure the converted arrays are recycled correctly
+		for( int trial = 0; trial < 2; trial++ ) {
+			alg64.setSource(src64); alg64.setDestination(dst64); alg64.associate();
+			alg32.setSource(src32); alg32.setDestination(dst32); alg32.associate();
+
+			assertEquals(alg64.getMatches().size, alg32.getMatches().size);
+			for( int i = 0; i < alg64.getMatches().size; i++ ) {
+				AssociatedIndex a = alg64.getMatches().get(i);
+				AssociatedIndex b = alg32.getMatches().get(i);
+				assertEquals(a.src, b.src);
+				assertEquals(a.dst, b.dst);
+				assertEquals(a.fitScore, b.fitScore, 1e-8);
+			}
+		}
+	}
+
+	private static TupleDesc_F64 convert( TupleDesc_F32 a ) {
+		TupleDesc_F64 b = new TupleDesc_F64(a.size());
+		for( int i = 0; i < a.size(); i++ )
+			b.value[i] = a.value[i];
+		return b;
+	}
+
 	public static class Dummy<D> implements NearestNeighbor<D> {
 
 		public int pointDimension;
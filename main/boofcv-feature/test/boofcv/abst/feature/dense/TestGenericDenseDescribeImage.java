@@ -28,6 +28,7 @@ import georegression.struct.point.Point2D_I32;
 import org.ddogleg.struct.FastQueue;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -114,6 +115,37 @@ public class TestGenericDenseDescribeImage {
 		assertTrue(found07b > found10);
 	}
 
+	/**
+	 * Descriptions written into an array should be the same as the ones written into a list
+	 */
+	@Test
+	public void outputArray() {
+		DummyFeature sparse = new DummyFeature();
+
+		GenericDenseDescribeImageDense alg = new GenericDenseDescribeImageDense(sparse,1,1.5,3,4);
+
+		GrayU8 image = new GrayU8(100,110);
+
+		alg.process(image);
+		List<TupleDesc_F64> expected = new ArrayList<>();
+		for( Object o : alg.getDescriptions() ) {
+			expected.add(((TupleDesc_F64)o).copy());
+		}
+		assertEquals(0,alg.getDescriptionsArray().size());
+
+		alg.setOutputArray(true);
+		alg.process(image);
+
+		assertEquals(0,alg.getDescriptions().size());
+		assertEquals(expected.size(),alg.getLocations().size());
+		assertEquals(expected.size()*10,alg.getDescriptionsArray().size());
+		for (int i = 0; i < expected.size(); i++) {
+			for (int j = 0; j < 10; j++) {
+				assertEquals((float)expected.get(i).value[j],alg.getDescriptionsArray().get(i*10+j),0.0f);
+			}
+		}
+	}
+
 	public static class DummyFeature implements DescribeRegionPoint {
 
 		ImageType type = ImageType.single(GrayU8.class);
@@ -132,6 +164,8 @@ public class TestGenericDenseDescribeImage {
 		public boolean process(double x, double y, double orientation, double radius, TupleDesc description) {
 			assertTrue(description!=null);
 			if( ++count != 20 ) {
+				((TupleDesc_F64)description).value[0] = x;
+				((TupleDesc_F64)description).value[1] = y;
 				points.grow().set((int) x, (int) y);
 				inputRadius = radius;
 				return true;
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.describe;
+
+import boofcv.struct.feature.TupleDesc;
+import boofcv.struct.feature.TupleDesc_F64;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.ImageType;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_F64;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDescribeRegionPointBatch {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Results should be the same as describing each point individually
+	 */
+	@Test
+	public void compareToSinglePoint() {
+		List<Point2D_F64> locations = new ArrayList<>();
+		GrowQueue_F64 orientations = new GrowQueue_F64();
+		GrowQueue_F64 radii = new GrowQueue_F64();
+		createPoints(30, 100, 90, rand, locations, orientations, radii);
+
+		DescribeRegionPoint<GrayF32,TupleDesc_F64> single = new Dummy();
+		DescribeRegionPointBatch<GrayF32,TupleDesc_F64> alg = new DescribeRegionPointBatch<>(new Dummy());
+		alg.setImage(new GrayF32(100,90));
+
+		FastQueue<TupleDesc_F64> output = createOutput(alg);
+		GrowQueue_B success = new GrowQueue_B();
+		alg.describe(locations, orientations, radii, output, success);
+
+		assertEquals(locations.size(), output.size);
+		assertEquals(locations.size(), success.size);
+
+		int numSuccess = 0;
+		TupleDesc_F64 expected = single.createDescription();
+		for (int i = 0; i < locations.size(); i++) {
+			Point2D_F64 p = locations.get(i);
+			boolean found = single.process(p.x, p.y, orientations.get(i), radii.get(i), expected);
+			assertEquals(found, success.get(i));
+			if( found ) {
+				numSuccess++;
+				checkEquals(expected, output.get(i));
+			}
+		}
+		// make sure both cases are tested
+		assertTrue(numSuccess > 0);
+		assertTrue(numSuccess < locations.size());
+	}
+
+	/**
+	 * Orientation and radius are optional
+	 */
+	@Test
+	public void describe_nullOrientationRadius() {
+		List<Point2D_F64> locations = new ArrayList<>();
+		locations.add(new Point2D_F64(60,40));
+		locations.add(new Point2D_F64(1,2));
+
+		DescribeRegionPointBatch<GrayF32,TupleDesc_F64> alg = new DescribeRegionPointBatch<>(new Dummy());
+		alg.setImage(new GrayF32(100,90));
+
+		FastQueue<TupleDesc_F64> output = createOutput(alg);
+		GrowQueue_B success = new GrowQueue_B();
+		alg.describe(locations, null, null, output, success);
+
+		assertEquals(2, output.size);
+		assertTrue(success.get(0));
+		assertFalse(success.get(1));
+		assertEquals(0, output.get(0).value[2], 0);
+		assertEquals(1, output.get(0).value[3], 0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void describe_sizeMismatch() {
+		List<Point2D_F64> locations = new ArrayList<>();
+		locations.add(new Point2D_F64(50,40));
+
+		DescribeRegionPointBatch<GrayF32,TupleDesc_F64> alg = new DescribeRegionPointBatch<>(new Dummy());
+		alg.setImage(new GrayF32(100,90));
+		alg.describe(locations, new GrowQueue_F64(), null, createOutput(alg), new GrowQueue_B());
+	}
+
+	/**
+	 * Saves the input into the descriptor.  Fails if x is less than 50
+	 */
+	static class Dummy implements DescribeRegionPoint<GrayF32,TupleDesc_F64> {
+		@Override
+		public void setImage(GrayF32 image) {}
+
+		@Override
+		public boolean process(double x, double y, double orientation, double radius, TupleDesc_F64 description) {
+			description.value[0] = x;
+			description.value[1] = y;
+			description.value[2] = orientation;
+			description.value[3] = radius;
+			return x >= 50;
+		}
+
+		@Override
+		public boolean requiresRadius() {return true;}
+
+		@Override
+		public boolean requiresOrientation() {return true;}
+
+		@Override
+		public ImageType<GrayF32> getImageType() {return ImageType.single(GrayF32.class);}
+
+		@Override
+		public double getCanonicalWidth() {return 1;}
+
+		@Override
+		public TupleDesc_F64 createDescription() {return new TupleDesc_F64(4);}
+
+		@Override
+		public Class<TupleDesc_F64> getDescriptionType() {return TupleDesc_F64.class;}
+	}
+
+	/**
+	 * Creates random points.  Some of them are close to the image border
+	 */
+	static void createPoints( int N , int width , int height , Random rand ,
+							  List<Point2D_F64> locations, GrowQueue_F64 orientations, GrowQueue_F64 radii ) {
+		for (int i = 0; i < N; i++) {
+			locations.add(new Point2D_F64(rand.nextDouble()*(width-1), rand.nextDouble()*(height-1)));
+			orientations.add((rand.nextDouble()-0.5)*2*Math.PI);
+			radii.add(1 + rand.nextDouble()*4);
+		}
+	}
+
+	static <Desc extends TupleDesc> FastQueue<Desc> createOutput( final DescriptorInfo<Desc> info ) {
+		return new FastQueue<Desc>(info.getDescriptionType(),true) {
+			@Override
+			protected Desc createInstance() {
+				return info.createDescription();
+			}
+		};
+	}
+
+	static void checkEquals( TupleDesc expected , TupleDesc found ) {
+		assertEquals(expected.size(), found.size());
+		for (int j = 0; j < expected.size(); j++) {
+			assertEquals(expected.getDouble(j), found.getDouble(j), 0);
+		}
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.describe;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkerPool;
+import boofcv.factory.feature.describe.FactoryDescribeRegionPoint;
+import boofcv.struct.feature.TupleDesc;
+import boofcv.struct.image.GrayF32;
+import georegression.struct.point.Point2D_F64;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_B;
+import org.ddogleg.struct.GrowQueue_F64;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static boofcv.abst.feature.describe.TestDescribeRegionPointBatch.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDescribeRegionPointBatch_MT {
+
+	Random rand = new Random(234);
+
+	int originalThreads;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	/**
+	 * Compare against the single threaded implementation for several different descriptors
+	 */
+	@Test
+	public void compareToSingleThread() {
+		for( String name : new String[]{"surf","brief","sift","pixel"}) {
+			compareToSingleThread(createPool(name));
+		}
+	}
+
+	private void compareToSingleThread( WorkerPool<DescribeRegionPoint<GrayF32,TupleDesc>> pool ) {
+		List<Point2D_F64> locations = new ArrayList<>();
+		GrowQueue_F64 orientations = new GrowQueue_F64();
+		GrowQueue_F64 radii = new GrowQueue_F64();
+
+		DescribeRegionPointBatch<GrayF32,TupleDesc> single = new DescribeRegionPointBatch<>(pool.acquire());
+		DescribeRegionPointBatch_MT<GrayF32,TupleDesc> multi = new DescribeRegionPointBatch_MT<>(pool);
+
+		FastQueue<TupleDesc> expected = createOutput(single);
+		FastQueue<TupleDesc> found = createOutput(multi);
+		GrowQueue_B expectedSuccess = new GrowQueue_B();
+		GrowQueue_B foundSuccess = new GrowQueue_B();
+
+		// process multiple images to make sure each thread switches to the new image
+		for (int trial = 0; trial < 2; trial++) {
+			GrayF32 image = new GrayF32(120,100);
+			GImageMiscOps.fillUniform(image,rand,0,200);
+
+			locations.clear(); orientations.reset(); radii.reset();
+			createPoints(300, image.width, image.height, rand, locations, orientations, radii);
+
+			single.setImage(image);
+			single.describe(locations, orientations, radii, expected, expectedSuccess);
+			multi.setImage(image);
+			multi.describe(locations, orientations, radii, found, foundSuccess);
+
+			assertEquals(expected.size, found.size);
+			assertEquals(expectedSuccess.size, foundSuccess.size);
+			int numSuccess = 0;
+			for (int i = 0; i < expected.size; i++) {
+				assertEquals(expectedSuccess.get(i), foundSuccess.get(i));
+				if( expectedSuccess.get(i) ) {
+					numSuccess++;
+					checkEquals(expected.get(i), found.get(i));
+				}
+			}
+			assertTrue(numSuccess > 0);
+		}
+	}
+
+	/**
+	 * The factory should return the concurrent implementation when concurrency is turned on
+	 */
+	@Test
+	public void factory() {
+		BoofConcurrency.USE_CONCURRENT = false;
+		assertEquals(DescribeRegionPointBatch.class, FactoryDescribeRegionPoint.batch(createPool("pixel")).getClass());
+		BoofConcurrency.USE_CONCURRENT = true;
+		assertEquals(DescribeRegionPointBatch_MT.class, FactoryDescribeRegionPoint.batch(createPool("pixel")).getClass());
+	}
+
+	private static WorkerPool<DescribeRegionPoint<GrayF32,TupleDesc>> createPool( final String name ) {
+		return new WorkerPool<DescribeRegionPoint<GrayF32,TupleDesc>>() {
+			@SuppressWarnings("unchecked")
+			@Override
+			protected DescribeRegionPoint<GrayF32,TupleDesc> createWorker() {
+				switch( name ) {
+					case "surf": return (DescribeRegionPoint)FactoryDescribeRegionPoint.surfStable(null, GrayF32.class);
+					case "brief": return (DescribeRegionPoint)FactoryDescribeRegionPoint.brief(null, GrayF32.class);
+					case "sift": return (DescribeRegionPoint)FactoryDescribeRegionPoint.sift(null, null, GrayF32.class);
+					case "pixel": return FactoryDescribeRegionPoint.pixel(5, 5, GrayF32.class);
+					default: throw new IllegalArgumentException("Unknown "+name);
+				}
+			}
+		};
+	}
+}
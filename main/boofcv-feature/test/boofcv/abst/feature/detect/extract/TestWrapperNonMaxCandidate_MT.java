@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.detect.extract;
+
+import boofcv.alg.feature.detect.extract.NonMaxCandidate;
+import boofcv.alg.feature.detect.extract.NonMaxCandidateRelaxed;
+import boofcv.alg.feature.detect.extract.NonMaxCandidateStrict;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkerPool;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.GrayF32;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestWrapperNonMaxCandidate_MT {
+
+	int originalThreads;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+		BoofConcurrency.USE_CONCURRENT = true;
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	@Test
+	public void checkStrict() {
+		GeneralNonMaxSuppressionChecks checks = new GeneralNonMaxSuppressionChecks() {
+			@Override
+			public NonMaxSuppression createAlg() {
+				return createSmallBlocks(true);
+			}
+		};
+		checks.testAll();
+	}
+
+	@Test
+	public void checkRelaxed() {
+		GeneralNonMaxSuppressionChecks checks = new GeneralNonMaxSuppressionChecks() {
+			@Override
+			public NonMaxSuppression createAlg() {
+				return createSmallBlocks(false);
+			}
+		};
+		checks.testAll();
+	}
+
+	/**
+	 * Found features should be identical to the single threaded algorithm, including their order
+	 */
+	@Test
+	public void compareToSingleThread() {
+		Random rand = new Random(234);
+		GrayF32 intensity = new GrayF32(123,201);
+		ImageMiscOps.fillUniform(intensity, rand, -10, 10);
+
+		QueueCorner candidatesMin = new QueueCorner(), candidatesMax = new QueueCorner();
+		for( int i = 0; i < 2000; i++ ) {
+			int x = rand.nextInt(intensity.width), y = rand.nextInt(intensity.height);
+			if( intensity.get(x,y) < 0 )
+				candidatesMin.add(x,y);
+			else
+				candidatesMax.add(x,y);
+		}
+
+		for( boolean strict : new boolean[]{true,false}) {
+			WrapperNonMaxCandidate single = new WrapperNonMaxCandidate(createPool(strict).acquire(),true,true);
+			WrapperNonMaxCandidate_MT multi = new WrapperNonMaxCandidate_MT(createPool(strict),true,true);
+			multi.setMinBlock(50);
+
+			for( NonMaxSuppression alg : new NonMaxSuppression[]{single,multi}) {
+				alg.setSearchRadius(2);
+				alg.setIgnoreBorder(1);
+				alg.setThresholdMinimum(-2);
+				alg.setThresholdMaximum(2);
+			}
+
+			QueueCorner expectedMin = new QueueCorner(), expectedMax = new QueueCorner();
+			QueueCorner foundMin = new QueueCorner(), foundMax = new QueueCorner();
+
+			single.process(intensity, candidatesMin, candidatesMax, expectedMin, expectedMax);
+			// process it twice to make sure the internal storage is correctly recycled
+			multi.process(intensity, candidatesMin, candidatesMax, foundMin, foundMax);
+			foundMin.reset(); foundMax.reset();
+			multi.process(intensity, candidatesMin, candidatesMax, foundMin, foundMax);
+
+			assertTrue(expectedMin.size > 0 && expectedMax.size > 0);
+			TestWrapperNonMaximumBlock_MT.compare(expectedMin, foundMin);
+			TestWrapperNonMaximumBlock_MT.compare(expectedMax, foundMax);
+		}
+	}
+
+	/**
+	 * Makes sure the small lists in the generic checks are split up too
+	 */
+	private static WrapperNonMaxCandidate_MT createSmallBlocks( boolean strict ) {
+		WrapperNonMaxCandidate_MT alg = new WrapperNonMaxCandidate_MT(createPool(strict),true,true);
+		alg.setMinBlock(2);
+		return alg;
+	}
+
+	private static WorkerPool<NonMaxCandidate> createPool( final boolean strict ) {
+		return new WorkerPool<NonMaxCandidate>() {
+			@Override
+			protected NonMaxCandidate createWorker() {
+				if( strict )
+					return new NonMaxCandidateStrict();
+				else
+					return new NonMaxCandidateRelaxed();
+			}
+		};
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.detect.extract;
+
+import boofcv.alg.feature.detect.extract.NonMaxBlock;
+import boofcv.alg.feature.detect.extract.NonMaxBlockRelaxed;
+import boofcv.alg.feature.detect.extract.NonMaxBlockStrict;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkerPool;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.GrayF32;
+import georegression.struct.point.Point2D_I16;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestWrapperNonMaximumBlock_MT {
+
+	int originalThreads;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+		BoofConcurrency.USE_CONCURRENT = true;
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	@Test
+	public void checkStrict() {
+		GeneralNonMaxSuppressionChecks checks = new GeneralNonMaxSuppressionChecks() {
+			@Override
+			public NonMaxSuppression createAlg() {
+				return new WrapperNonMaximumBlock_MT(createPool(true));
+			}
+		};
+		checks.testAll();
+	}
+
+	@Test
+	public void checkRelaxed() {
+		GeneralNonMaxSuppressionChecks checks = new GeneralNonMaxSuppressionChecks() {
+			@Override
+			public NonMaxSuppression createAlg() {
+				return new WrapperNonMaximumBlock_MT(createPool(false));
+			}
+		};
+		checks.testAll();
+	}
+
+	/**
+	 * Found features should be identical to the single threaded algorithm, including their order
+	 */
+	@Test
+	public void compareToSingleThread() {
+		GrayF32 intensity = new GrayF32(123,201);
+		ImageMiscOps.fillUniform(intensity, new Random(234), -10, 10);
+
+		for( boolean strict : new boolean[]{true,false}) {
+			for( int radius = 1; radius <= 3; radius++ ) {
+				WrapperNonMaximumBlock single = new WrapperNonMaximumBlock(createPool(strict).acquire());
+				WrapperNonMaximumBlock_MT multi = new WrapperNonMaximumBlock_MT(createPool(strict));
+
+				for( NonMaxSuppression alg : new NonMaxSuppression[]{single,multi}) {
+					alg.setSearchRadius(radius);
+					alg.setIgnoreBorder(2);
+					alg.setThresholdMinimum(-2);
+					alg.setThresholdMaximum(2);
+				}
+
+				QueueCorner expectedMin = new QueueCorner(), expectedMax = new QueueCorner();
+				QueueCorner foundMin = new QueueCorner(), foundMax = new QueueCorner();
+
+				single.process(intensity, null, null, expectedMin, expectedMax);
+				// process it twice to make sure the internal storage is correctly recycled
+				multi.process(intensity, null, null, foundMin, foundMax);
+				foundMin.reset(); foundMax.reset();
+				multi.process(intensity, null, null, foundMin, foundMax);
+
+				assertTrue(expectedMin.size > 0 && expectedMax.size > 0);
+				compare(expectedMin, foundMin);
+				compare(expectedMax, foundMax);
+			}
+		}
+	}
+
+	static void compare( QueueCorner expected , QueueCorner found ) {
+		assertEquals(expected.size, found.size);
+		for( int i = 0; i < expected.size; i++ ) {
+			Point2D_I16 a = expected.get(i);
+			Point2D_I16 b = found.get(i);
+			assertEquals(a.x, b.x);
+			assertEquals(a.y, b.y);
+		}
+	}
+
+	private static WorkerPool<NonMaxBlock> createPool( final boolean strict ) {
+		return new WorkerPool<NonMaxBlock>() {
+			@Override
+			protected NonMaxBlock createWorker() {
+				if( strict )
+					return new NonMaxBlockStrict.MinMax();
+				else
+					return new NonMaxBlockRelaxed.MinMax();
+			}
+		};
+	}
+}
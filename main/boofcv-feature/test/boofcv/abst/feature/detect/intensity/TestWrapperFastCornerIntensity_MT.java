@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.abst.feature.detect.intensity;
+
+import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkerPool;
+import boofcv.factory.feature.detect.intensity.FactoryIntensityPoint;
+import boofcv.factory.feature.detect.intensity.FactoryIntensityPointAlg;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS16;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import georegression.struct.point.Point2D_I16;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+@SuppressWarnings("unchecked")
+public class TestWrapperFastCornerIntensity_MT extends ChecksGeneralFeatureIntensity
+{
+	int originalThreads;
+
+	public TestWrapperFastCornerIntensity_MT() {
+		addTypes(GrayF32.class,GrayF32.class);
+		addTypes(GrayU8.class,GrayS16.class);
+	}
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+		BoofConcurrency.USE_CONCURRENT = true;
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	@Override
+	public GeneralFeatureIntensity createAlg(Class imageType, Class derivType) {
+		GeneralFeatureIntensity alg = FactoryIntensityPoint.fast(10, 11, imageType);
+		assertTrue(alg instanceof WrapperFastCornerIntensity_MT);
+		return alg;
+	}
+
+	/**
+	 * The intensity image and the candidates should be identical to the single threaded algorithm
+	 */
+	@Test
+	public void compareToSingleThread() {
+		GrayU8 noise = new GrayU8(150,130);
+		ImageMiscOps.fillUniform(noise, new Random(234), 0, 255);
+		GrayU8 input = BlurImageOps.gaussian(noise, null, -1, 1, null);
+
+		for( int minContinuous = 9; minContinuous <= 12; minContinuous++ ) {
+			WrapperFastCornerIntensity<GrayU8,GrayS16> single =
+					new WrapperFastCornerIntensity<>(FactoryIntensityPointAlg.fast(20, minContinuous, GrayU8.class));
+			WrapperFastCornerIntensity_MT<GrayU8,GrayS16> multi =
+					new WrapperFastCornerIntensity_MT<>(createPool(minContinuous));
+
+			single.process(input,null,null,null,null,null);
+			// process it twice to make sure the internal storage is correctly recycled
+			multi.process(input,null,null,null,null,null);
+			multi.process(input,null,null,null,null,null);
+
+			BoofTesting.assertEquals(single.getIntensity(), multi.getIntensity(), 0);
+
+			QueueCorner expected = single.getCandidatesMax();
+			QueueCorner found = multi.getCandidatesMax();
+			assertTrue(expected.size > 0);
+			assertEquals(expected.size, found.size);
+			for (int i = 0; i < expected.size; i++) {
+				Point2D_I16 a = expected.get(i);
+				Point2D_I16 b = found.get(i);
+				assertEquals(a.x, b.x);
+				assertEquals(a.y, b.y);
+			}
+		}
+	}
+
+	private static WorkerPool<FastCornerIntensity<GrayU8>> createPool( final int minContinuous ) {
+		return new WorkerPool<FastCornerIntensity<GrayU8>>() {
+			@Override
+			protected FastCornerIntensity<GrayU8> createWorker() {
+				return FactoryIntensityPointAlg.fast(20, minContinuous, GrayU8.class);
+			}
+		};
+	}
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBackgroundGmmCommon {
+
+	/**
+	 * Pixel with no Gaussians is observed for the first time
+	 */
+	@Test
+	public void updateMixture_first() {
+		BackgroundGmmCommon alg = new BackgroundGmmCommon(100,0.05f,3,1);
+		alg.setInitialVariance(12);
+
+		float[] data = new float[2+alg.modelStride];
+		alg.updateMixture(45,data,2);
+
+		assertEquals(0, data[0], 0);
+		assertEquals(0, data[1], 0);
+		checkGaussian(data,2,1,12,45);
+		assertEquals(0, data[2+3], 0);
+		assertEquals(0, data[2+6], 0);
+	}
+
+	/**
+	 * The observation matches the only Gaussian and its mean and variance should move towards the observation
+	 */
+	@Test
+	public void updateMixture_match() {
+		BackgroundGmmCommon alg = new BackgroundGmmCommon(10,0.05f,3,1);
+
+		float[] data = new float[alg.modelStride];
+		setGaussian(data,0,1,4,20);
+		alg.updateMixture(22,data,0);
+
+		float rho = 0.1f/(0.9f + 0.1f - 0.1f*0.05f);
+		checkGaussian(data,0,1,4,20 + rho*2);
+		assertEquals(0, data[3], 0);
+	}
+
+	/**
+	 * No match so a new Gaussian is added after the existing one
+	 */
+	@Test
+	public void updateMixture_new() {
+		BackgroundGmmCommon alg = new BackgroundGmmCommon(10,0.05f,3,1);
+		alg.setInitialVariance(12);
+
+		float[] data = new float[alg.modelStride];
+		setGaussian(data,0,1,4,20);
+		alg.updateMixture(80,data,0);
+
+		float w0 = 0.9f - 0.1f*0.05f;
+		float w1 = 0.1f;
+		checkGaussian(data,0,w0/(w0+w1),4,20);
+		checkGaussian(data,3,w1/(w0+w1),12,80);
+		assertEquals(0, data[6], 0);
+	}
+
+	/**
+	 * All the Gaussians are in use and there is no match.  The one with the smallest weight should be replaced
+	 */
+	@Test
+	public void updateMixture_replaceSmallest() {
+		BackgroundGmmCommon alg = new BackgroundGmmCommon(10,0.0f,2,1);
+		alg.setInitialVariance(12);
+
+		float[] data = new float[alg.modelStride];
+		setGaussian(data,0,0.8f,4,20);
+		setGaussian(data,3,0.2f,4,50);
+		alg.updateMixture(80,data,0);
+
+		float w0 = 0.9f*0.8f;
+		float w1 = 0.1f;
+		checkGaussian(data,0,w0/(w0+w1),4,20);
+		checkGaussian(data,3,w1/(w0+w1),12,80);
+	}
+
+	/**
+	 * The matched Gaussian's weight increases past the one in front of it and should be moved
+	 */
+	@Test
+	public void updateMixture_sorted() {
+		BackgroundGmmCommon alg = new BackgroundGmmCommon(10,0.05f,3,1);
+
+		float[] data = new float[alg.modelStride];
+		setGaussian(data,0,0.5f,4,20);
+		setGaussian(data,3,0.5f,4,50);
+		alg.updateMixture(50,data,0);
+
+		assertEquals(50, data[2], 1e-4f);
+		assertEquals(20, data[5], 1e-4f);
+		assertTrue(data[0] > data[3]);
+		assertEquals(1, data[0] + data[3], 1e-4f);
+	}
+
+	/**
+	 * Gaussians which decay to a weight of zero are discarded and their slot is reused
+	 */
+	@Test
+	public void updateMixture_discard() {
+		BackgroundGmmCommon alg = new BackgroundGmmCommon(10,0.5f,4,1);
+		alg.setInitialVariance(12);
+
+		float[] data = new float[alg.modelStride];
+		setGaussian(data,0,0.6f,4,20);
+		setGaussian(data,3,0.39f,4,50);
+		setGaussian(data,6,0.01f,4,80);
+		alg.updateMixture(200,data,0);
+
+		float w0 = 0.9f*0.6f - 0.05f;
+		float w1 = 0.9f*0.39f - 0.05f;
+		float w2 = 0.1f;
+		float total = w0+w1+w2;
+		checkGaussian(data,0,w0/total,4,20);
+		checkGaussian(data,3,w1/total,4,50);
+		checkGaussian(data,6,w2/total,12,200);
+		assertEquals(0, data[9], 0);
+	}
+
+	/**
+	 * The matched Gaussian comes after one which was discarded.  It should be moved in front of it
+	 */
+	@Test
+	public void updateMixture_discardBeforeMatch() {
+		BackgroundGmmCommon alg = new BackgroundGmmCommon(10,0.5f,4,1);
+
+		float[] data = new float[alg.modelStride];
+		setGaussian(data,0,0.6f,4,20);
+		setGaussian(data,3,0.35f,4,50);
+		setGaussian(data,6,0.03f,4,80);
+		setGaussian(data,9,0.02f,4,110);
+		alg.updateMixture(110,data,0);
+
+		float w0 = 0.9f*0.6f - 0.05f;
+		float w1 = 0.9f*0.35f - 0.05f;
+		float w3 = 0.9f*0.02f + 0.1f - 0.05f;
+		float total = w0+w1+w3;
+		assertEquals(w0/total, data[0], 1e-4f);
+		assertEquals(w1/total, data[3], 1e-4f);
+		assertEquals(w3/total, data[6], 1e-4f);
+		assertEquals(110, data[8], 1e-4f);
+		assertEquals(0, data[9], 0);
+	}
+
+	@Test
+	public void updateMixture_multiBand() {
+		BackgroundGmmCommon alg = new BackgroundGmmCommon(10,0.05f,3,2);
+		alg.setInitialVariance(12);
+
+		float[] data = new float[alg.modelStride];
+		alg.updateMixture(new float[]{10,20},data,0);
+		assertEquals(1, data[0], 1e-4f);
+		assertEquals(12, data[1], 1e-4f);
+		assertEquals(10, data[2], 1e-4f);
+		assertEquals(20, data[3], 1e-4f);
+
+		// match the first Gaussian
+		alg.updateMixture(new float[]{12,20},data,0);
+		assertEquals(1, data[0], 1e-4f);
+		float rho = 0.1f/(0.9f + 0.1f - 0.1f*0.05f);
+		assertEquals(12 + rho*(4.0f/2.0f - 12), data[1], 1e-4f);
+		assertEquals(10 + rho*2, data[2], 1e-4f);
+		assertEquals(20, data[3], 1e-4f);
+		assertEquals(0, data[4], 0);
+
+		// add a second Gaussian
+		alg.updateMixture(new float[]{100,20},data,0);
+		assertTrue(data[4] > 0);
+		assertEquals(100, data[6], 1e-4f);
+		assertEquals(20, data[7], 1e-4f);
+		assertEquals(1, data[0]+data[4], 1e-4f);
+	}
+
+	@Test
+	public void checkBackground() {
+		BackgroundGmmCommon alg = new BackgroundGmmCommon(10,0.05f,3,1);
+		alg.setMaxDistance(9);
+		alg.setSignificantWeight(0.2f);
+
+		float[] data = new float[alg.modelStride];
+		setGaussian(data,0,0.7f,4,20);
+		setGaussian(data,3,0.2f,4,50);
+		setGaussian(data,6,0.1f,4,80);
+
+		assertEquals(0, alg.checkBackground(20, data, 0));
+		assertEquals(0, alg.checkBackground(25.9f, data, 0));
+		assertEquals(1, alg.checkBackground(26.1f, data, 0));
+		assertEquals(0, alg.checkBackground(50, data, 0));
+		// not significant enough
+		assertEquals(1, alg.checkBackground(80, data, 0));
+
+		// close enough to the mean
+		alg.setMinimumDifference(7);
+		assertEquals(0, alg.checkBackground(26.1f, data, 0));
+		assertEquals(1, alg.checkBackground(27.1f, data, 0));
+	}
+
+	@Test
+	public void checkBackground_multiBand() {
+		BackgroundGmmCommon alg = new BackgroundGmmCommon(10,0.05f,3,2);
+		alg.setMaxDistance(9);
+		alg.setSignificantWeight(0.2f);
+
+		float[] data = new float[alg.modelStride];
+		data[0] = 0.8f; data[1] = 4; data[2] = 20; data[3] = 30;
+		data[4] = 0.2f; data[5] = 4; data[6] = 50; data[7] = 60;
+
+		assertEquals(0, alg.checkBackground(new float[]{20,30}, data, 0));
+		assertEquals(0, alg.checkBackground(new float[]{24,32}, data, 0));
+		assertEquals(1, alg.checkBackground(new float[]{24,35}, data, 0));
+		assertEquals(0, alg.checkBackground(new float[]{50,60}, data, 0));
+
+		// sum of absolute differences is compared against the scaled minimum difference
+		alg.setMinimumDifference(5);
+		assertEquals(0, alg.checkBackground(new float[]{24,35}, data, 0));
+		assertEquals(1, alg.checkBackground(new float[]{26,35}, data, 0));
+	}
+
+	/**
+	 * A pixel with no Gaussians is never background
+	 */
+	@Test
+	public void checkBackground_empty() {
+		BackgroundGmmCommon alg = new BackgroundGmmCommon(10,0.05f,3,1);
+		alg.setSignificantWeight(0);
+
+		float[] data = new float[alg.modelStride];
+		assertEquals(1, alg.checkBackground(0, data, 0));
+	}
+
+	private static void setGaussian( float[] data , int index , float weight , float variance , float mean ) {
+		data[index] = weight;
+		data[index+1] = variance;
+		data[index+2] = mean;
+	}
+
+	private static void checkGaussian( float[] data , int index , float weight , float variance , float mean ) {
+		assertEquals(weight, data[index], 1e-4f);
+		assertEquals(variance, data[index+1], 1e-4f);
+		assertEquals(mean, data[index+2], 1e-4f);
+	}
+}
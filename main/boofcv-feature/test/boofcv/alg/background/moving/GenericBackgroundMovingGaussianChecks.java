@@ -22,13 +22,18 @@ import boofcv.alg.background.BackgroundModelMoving;
 import boofcv.alg.background.BackgroundModelStationary;
 import boofcv.alg.background.stationary.BackgroundStationaryGaussian;
 import boofcv.alg.background.stationary.GenericBackgroundStationaryGaussianChecks;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
+import boofcv.testing.BoofTesting;
 import georegression.struct.InvertibleTransform;
 import georegression.struct.homography.Homography2D_F32;
 import org.junit.Test;
 
+import java.util.Random;
+
 /**
  * @author Peter Abeles
  */
@@ -50,6 +55,51 @@ public abstract class GenericBackgroundMovingGaussianChecks extends GenericBackg
 		stationary.checkBandsUsed();
 	}
 
+	/**
+	 * Processing blocks of rows in parallel should produce the same results as the single threaded code
+	 */
+	@Test
+	public void concurrent() {
+		boolean originalConcurrent = BoofConcurrency.USE_CONCURRENT;
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		try {
+			for( ImageType type : imageTypes ) {
+				BoofConcurrency.USE_CONCURRENT = false;
+				GrayU8 expected = concurrent_process(type);
+				BoofConcurrency.USE_CONCURRENT = true;
+				BoofConcurrency.setMaxThreads(4);
+				GrayU8 found = concurrent_process(type);
+				BoofTesting.assertEquals(expected,found,0);
+			}
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = originalConcurrent;
+			BoofConcurrency.setMaxThreads(originalThreads);
+		}
+	}
+
+	private <T extends ImageBase<T>> GrayU8 concurrent_process( ImageType<T> imageType ) {
+		Random rand = new Random(2345);
+
+		BackgroundModelMoving<T,Homography2D_F32> alg = create(imageType);
+		T frame = imageType.createImage(width,height);
+		GrayU8 segmented = new GrayU8(width,height);
+
+		Homography2D_F32 homeToWorld = new Homography2D_F32(1,0,width/2,0,1,height/2,0,0,1);
+		alg.initialize(width*2,height*2,homeToWorld);
+
+		// rotation and translation so that interpolation and the unknown region are both exercised
+		Homography2D_F32 homeToCurrent = new Homography2D_F32();
+		for (int i = 0; i < 5; i++) {
+			homeToCurrent.set(1.0f,0.1f*i,rand.nextFloat()*5-2.5f, -0.1f*i,1.0f,rand.nextFloat()*5-2.5f, 0,0,1);
+			GImageMiscOps.fillUniform(frame,rand,0,200);
+			alg.updateBackground(homeToCurrent,frame);
+		}
+
+		GImageMiscOps.fillUniform(frame,rand,0,200);
+		alg.segment(homeToCurrent,frame,segmented);
+		return segmented;
+	}
+
 	private class MovingToStationary extends BackgroundStationaryGaussian {
 
 		BackgroundMovingGaussian moving;
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background.moving;
+
+import boofcv.alg.background.BackgroundAlgorithmGmm;
+import boofcv.alg.background.BackgroundModelMoving;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageType;
+import boofcv.testing.BoofTesting;
+import georegression.struct.homography.Homography2D_F32;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public abstract class GenericBackgroundMovingGmmChecks extends GenericBackgroundModelMovingChecks {
+
+	/**
+	 * The background alternates between two values.  Both should be learned as background
+	 */
+	@Test
+	public void multiModal() {
+		for( ImageType type : imageTypes ) {
+			multiModal(type);
+		}
+	}
+
+	private <T extends ImageBase<T>> void multiModal( ImageType<T> imageType ) {
+		Random rand = new Random(234);
+
+		BackgroundModelMoving<T,Homography2D_F32> alg = create(imageType);
+		((BackgroundAlgorithmGmm)alg).setLearningPeriod(10);
+		alg.initialize(width,height,new Homography2D_F32());
+
+		Homography2D_F32 homeToCurrent = new Homography2D_F32();
+		T frame = imageType.createImage(width,height);
+		for (int i = 0; i < 40; i++) {
+			GImageMiscOps.fill(frame, i%2 == 0 ? 50 : 150);
+			GImageMiscOps.addUniform(frame,rand,-2,2);
+			alg.updateBackground(homeToCurrent,frame);
+		}
+
+		GrayU8 segmented = new GrayU8(width,height);
+
+		GImageMiscOps.fill(frame, 50);
+		alg.segment(homeToCurrent,frame, segmented);
+		checkAll(segmented, 0);
+
+		GImageMiscOps.fill(frame, 150);
+		alg.segment(homeToCurrent,frame, segmented);
+		checkAll(segmented, 0);
+
+		GImageMiscOps.fill(frame, 240);
+		alg.segment(homeToCurrent,frame, segmented);
+		checkAll(segmented, 1);
+	}
+
+	private void checkAll( GrayU8 segmented , int expected ) {
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				assertEquals(expected,segmented.get(x,y));
+			}
+		}
+	}
+
+	/**
+	 * Processing blocks of rows in parallel should produce the same results as the single threaded code
+	 */
+	@Test
+	public void concurrent() {
+		boolean originalConcurrent = BoofConcurrency.USE_CONCURRENT;
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		try {
+			for( ImageType type : imageTypes ) {
+				BoofConcurrency.USE_CONCURRENT = false;
+				GrayU8 expected = concurrent_process(type);
+				BoofConcurrency.USE_CONCURRENT = true;
+				BoofConcurrency.setMaxThreads(4);
+				GrayU8 found = concurrent_process(type);
+				BoofTesting.assertEquals(expected,found,0);
+			}
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = originalConcurrent;
+			BoofConcurrency.setMaxThreads(originalThreads);
+		}
+	}
+
+	private <T extends ImageBase<T>> GrayU8 concurrent_process( ImageType<T> imageType ) {
+		Random rand = new Random(2345);
+
+		BackgroundModelMoving<T,Homography2D_F32> alg = create(imageType);
+		((BackgroundAlgorithmGmm)alg).setLearningPeriod(10);
+		T frame = imageType.createImage(width,height);
+		GrayU8 segmented = new GrayU8(width,height);
+
+		Homography2D_F32 homeToWorld = new Homography2D_F32(1,0,width/2,0,1,height/2,0,0,1);
+		alg.initialize(width*2,height*2,homeToWorld);
+
+		// rotation and translation so that interpolation and the unknown region are both exercised
+		Homography2D_F32 homeToCurrent = new Homography2D_F32();
+		for (int i = 0; i < 5; i++) {
+			homeToCurrent.set(1.0f,0.1f*i,rand.nextFloat()*5-2.5f, -0.1f*i,1.0f,rand.nextFloat()*5-2.5f, 0,0,1);
+			GImageMiscOps.fillUniform(frame,rand,0,200);
+			alg.updateBackground(homeToCurrent,frame);
+		}
+
+		GImageMiscOps.fillUniform(frame,rand,0,200);
+		alg.segment(homeToCurrent,frame,segmented);
+		return segmented;
+	}
+}
@@ -18,8 +18,10 @@
 
 package boofcv.alg.background.stationary;
 
+import boofcv.alg.background.BackgroundModelStationary;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.GrayU8;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
@@ -27,6 +29,8 @@ import boofcv.testing.BoofTesting;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Random;
+
 /**
  * @author Peter Abeles
  */
@@ -187,4 +191,43 @@ public abstract class GenericBackgroundStationaryGaussianChecks extends GenericB
 		ImageMiscOps.fill(expected, 1);
 		BoofTesting.assertEquals(expected, segmented, 1e-5f);
 	}
+
+	/**
+	 * Processing blocks of rows in parallel should produce the same results as the single threaded code
+	 */
+	@Test
+	public void concurrent() {
+		boolean originalConcurrent = BoofConcurrency.USE_CONCURRENT;
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		try {
+			for( ImageType type : imageTypes ) {
+				BoofConcurrency.USE_CONCURRENT = false;
+				GrayU8 expected = concurrent_process(type);
+				BoofConcurrency.USE_CONCURRENT = true;
+				BoofConcurrency.setMaxThreads(4);
+				GrayU8 found = concurrent_process(type);
+				BoofTesting.assertEquals(expected,found,0);
+			}
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = originalConcurrent;
+			BoofConcurrency.setMaxThreads(originalThreads);
+		}
+	}
+
+	private <T extends ImageBase<T>> GrayU8 concurrent_process( ImageType<T> imageType ) {
+		Random rand = new Random(2345);
+
+		BackgroundModelStationary<T> alg = create(imageType);
+		T frame = imageType.createImage(width,height);
+		GrayU8 segmented = new GrayU8(width,height);
+
+		for (int i = 0; i < 5; i++) {
+			GImageMiscOps.fillUniform(frame,rand,0,200);
+			alg.updateBackground(frame);
+		}
+
+		GImageMiscOps.fillUniform(frame,rand,0,200);
+		alg.segment(frame,segmented);
+		return segmented;
+	}
 }
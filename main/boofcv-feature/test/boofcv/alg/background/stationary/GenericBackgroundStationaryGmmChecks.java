@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.background.stationary;
+
+import boofcv.alg.background.BackgroundAlgorithmGmm;
+import boofcv.alg.background.BackgroundModelStationary;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageType;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public abstract class GenericBackgroundStationaryGmmChecks extends GenericBackgroundModelStationaryChecks {
+
+	/**
+	 * The background alternates between two values.  Both should be learned as background
+	 */
+	@Test
+	public void multiModal() {
+		for( ImageType type : imageTypes ) {
+			multiModal(type);
+		}
+	}
+
+	private <T extends ImageBase<T>> void multiModal( ImageType<T> imageType ) {
+		BackgroundModelStationary<T> alg = create(imageType);
+		// with a fast learning rate the variance can become very small. noise would then be marked as moving
+		((BackgroundAlgorithmGmm)alg).setLearningPeriod(10);
+		((BackgroundAlgorithmGmm)alg).setMinimumDifference(5);
+
+		T frame = imageType.createImage(width,height);
+		for (int i = 0; i < 40; i++) {
+			noise(i%2 == 0 ? 50 : 150, 2, frame);
+			alg.updateBackground(frame);
+		}
+
+		GrayU8 segmented = new GrayU8(width,height);
+
+		noise(50, 2, frame);
+		alg.segment(frame, segmented);
+		checkAll(segmented, 0);
+
+		noise(150, 2, frame);
+		alg.segment(frame, segmented);
+		checkAll(segmented, 0);
+
+		noise(240, 2, frame);
+		alg.segment(frame, segmented);
+		checkAll(segmented, 1);
+	}
+
+	private void checkAll( GrayU8 segmented , int expected ) {
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				assertEquals(expected,segmented.get(x,y));
+			}
+		}
+	}
+
+	/**
+	 * Processing blocks of rows in parallel should produce the same results as the single threaded code
+	 */
+	@Test
+	public void concurrent() {
+		boolean originalConcurrent = BoofConcurrency.USE_CONCURRENT;
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		try {
+			for( ImageType type : imageTypes ) {
+				BoofConcurrency.USE_CONCURRENT = false;
+				GrayU8 expected = concurrent_process(type);
+				BoofConcurrency.USE_CONCURRENT = true;
+				BoofConcurrency.setMaxThreads(4);
+				GrayU8 found = concurrent_process(type);
+				BoofTesting.assertEquals(expected,found,0);
+			}
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = originalConcurrent;
+			BoofConcurrency.setMaxThreads(originalThreads);
+		}
+	}
+
+	private <T extends ImageBase<T>> GrayU8 concurrent_process( ImageType<T> imageType ) {
+		Random rand = new Random(2345);
+
+		BackgroundModelStationary<T> alg = create(imageType);
+		((BackgroundAlgorithmGmm)alg).setLearningPeriod(10);
+		T frame = imageType.createImage(width,height);
+		GrayU8 segmented = new GrayU8(width,height);
+
+		for (int i = 0; i < 5; i++) {
+			GImageMiscOps.fillUniform(frame,rand,0,200);
+			alg.updateBackground(frame);
+		}
+
+		GImageMiscOps.fillUniform(frame,rand,0,200);
+		alg.segment(frame,segmented);
+		return segmented;
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import org.ddogleg.nn.FactoryNearestNeighbor;
+import org.ddogleg.nn.NearestNeighbor;
+import org.ddogleg.nn.NnData;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestKMeansTreeNearestNeighbor {
+
+	Random rand = new Random(234);
+	int N = 5;
+
+	/**
+	 * If every point is checked then it should produce the exact same results as an exhaustive search
+	 */
+	@Test
+	public void compareToExhaustive() {
+		List<double[]> points = randomPoints(500);
+		List<Integer> data = indexes(points.size());
+
+		KMeansTreeNearestNeighbor<Integer> alg = new KMeansTreeNearestNeighbor<>(4, 7, points.size(), 234);
+		NearestNeighbor<Integer> exhaustive = FactoryNearestNeighbor.exhaustive();
+		alg.init(N);
+		exhaustive.init(N);
+		alg.setPoints(points, data);
+		exhaustive.setPoints(points, data);
+
+		NnData<Integer> found = new NnData<>();
+		NnData<Integer> expected = new NnData<>();
+		for( int trial = 0; trial < 50; trial++ ) {
+			double[] target = randomPoint();
+			assertTrue(alg.findNearest(target, -1, found));
+			assertTrue(exhaustive.findNearest(target, -1, expected));
+
+			assertEquals(expected.data, found.data);
+			assertEquals(expected.distance, found.distance, 1e-8);
+			assertTrue(found.point == points.get(found.data));
+		}
+	}
+
+	/**
+	 * Compare the N nearest neighbors against an exhaustive search
+	 */
+	@Test
+	public void findNearestN() {
+		List<double[]> points = randomPoints(300);
+		List<Integer> data = indexes(points.size());
+
+		KMeansTreeNearestNeighbor<Integer> alg = new KMeansTreeNearestNeighbor<>(5, 7, points.size(), 234);
+		alg.init(N);
+		alg.setPoints(points, data);
+
+		FastQueue<NnData<Integer>> results = new FastQueue(NnData.class, true);
+		for( int trial = 0; trial < 20; trial++ ) {
+			double[] target = randomPoint();
+			alg.findNearest(target, -1, 6, results);
+
+			assertEquals(6, results.size);
+
+			// brute force the expected distances
+			double[] distances = new double[points.size()];
+			for( int i = 0; i < points.size(); i++ ) {
+				distances[i] = distanceSq(target, points.get(i));
+			}
+			Arrays.sort(distances);
+
+			for( int i = 0; i < 6; i++ ) {
+				assertEquals(distances[i], results.get(i).distance, 1e-8);
+				assertEquals(distances[i], distanceSq(target, points.get(results.get(i).data)), 1e-8);
+			}
+		}
+	}
+
+	@Test
+	public void maxDistance() {
+		List<double[]> points = randomPoints(100);
+		List<Integer> data = indexes(points.size());
+
+		KMeansTreeNearestNeighbor<Integer> alg = new KMeansTreeNearestNeighbor<>(4, 7, points.size(), 234);
+		alg.init(N);
+		alg.setPoints(points, data);
+
+		double[] target = new double[N];
+		for( int i = 0; i < N; i++ )
+			target[i] = 100;
+
+		NnData<Integer> found = new NnData<>();
+		assertFalse(alg.findNearest(target, 10, found));
+		assertTrue(alg.findNearest(target, -1, found));
+
+		FastQueue<NnData<Integer>> results = new FastQueue(NnData.class, true);
+		alg.findNearest(target, 10, 5, results);
+		assertEquals(0, results.size);
+	}
+
+	/**
+	 * All the points are identical.  Should not get stuck trying to split them
+	 */
+	@Test
+	public void identicalPoints() {
+		List<double[]> points = new ArrayList<>();
+		for( int i = 0; i < 50; i++ )
+			points.add(new double[]{1,2,3,4,5});
+
+		KMeansTreeNearestNeighbor<Integer> alg = new KMeansTreeNearestNeighbor<>(4, 7, 10, 234);
+		alg.init(N);
+		alg.setPoints(points, indexes(points.size()));
+
+		NnData<Integer> found = new NnData<>();
+		assertTrue(alg.findNearest(new double[]{1,2,3,4,5}, -1, found));
+		assertEquals(0, found.distance, 1e-8);
+	}
+
+	/**
+	 * Calling set points multiple times should recycle memory and produce the correct results
+	 */
+	@Test
+	public void setPoints_multipleCalls() {
+		KMeansTreeNearestNeighbor<Integer> alg = new KMeansTreeNearestNeighbor<>(4, 7, 1000, 234);
+		alg.init(N);
+
+		NnData<Integer> found = new NnData<>();
+		for( int trial = 0; trial < 3; trial++ ) {
+			List<double[]> points = randomPoints(200 - trial*80);
+			alg.setPoints(points, indexes(points.size()));
+
+			for( int i = 0; i < points.size(); i++ ) {
+				assertTrue(alg.findNearest(points.get(i), -1, found));
+				assertEquals(0, found.distance, 1e-8);
+			}
+		}
+
+		// no points
+		alg.setPoints(new ArrayList<double[]>(), new ArrayList<Integer>());
+		assertFalse(alg.findNearest(randomPoint(), -1, found));
+	}
+
+	private List<double[]> randomPoints( int total ) {
+		List<double[]> points = new ArrayList<>();
+		for( int i = 0; i < total; i++ ) {
+			points.add(randomPoint());
+		}
+		return points;
+	}
+
+	private double[] randomPoint() {
+		double[] p = new double[N];
+		for( int i = 0; i < N; i++ ) {
+			p[i] = rand.nextGaussian();
+		}
+		return p;
+	}
+
+	private static List<Integer> indexes( int total ) {
+		List<Integer> data = new ArrayList<>();
+		for( int i = 0; i < total; i++ )
+			data.add(i);
+		return data;
+	}
+
+	private static double distanceSq( double[] a , double[] b ) {
+		double total = 0;
+		for( int i = 0; i < a.length; i++ ) {
+			total += (a[i]-b[i])*(a[i]-b[i]);
+		}
+		return total;
+	}
+}
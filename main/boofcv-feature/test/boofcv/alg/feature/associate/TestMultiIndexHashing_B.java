@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.associate;
+
+import boofcv.alg.descriptor.DescriptorDistance;
+import boofcv.struct.feature.TupleDesc_B;
+import org.ddogleg.struct.GrowQueue_I32;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestMultiIndexHashing_B {
+
+	Random rand = new Random(234);
+
+	/**
+	 * Compare against an exhaustive search for different descriptor sizes and number of tables, including
+	 * substrings which cross integer boundaries and have different lengths
+	 */
+	@Test
+	public void compareToExhaustive() {
+		compareToExhaustive(64, 4, 3000, 1);
+		compareToExhaustive(64, 4, 3000, 5);
+		compareToExhaustive(100, 7, 2000, 1);
+		compareToExhaustive(100, 7, 2000, 3);
+		compareToExhaustive(256, 16, 500, 2);
+		compareToExhaustive(20, 20, 100, 2);
+	}
+
+	private void compareToExhaustive( int numBits , int numTables , int numPoints , int k ) {
+		List<TupleDesc_B> points = new ArrayList<>();
+		MultiIndexHashing_B alg = new MultiIndexHashing_B(numBits, numTables);
+		for( int i = 0; i < numPoints; i++ ) {
+			TupleDesc_B p = random(numBits);
+			points.add(p);
+			assertEquals(i,alg.add(p));
+		}
+		assertEquals(numPoints,alg.size());
+
+		GrowQueue_I32 indexes = new GrowQueue_I32();
+		GrowQueue_I32 distances = new GrowQueue_I32();
+
+		for( int trial = 0; trial < 100; trial++ ) {
+			// close to an existing point or completely random
+			TupleDesc_B query;
+			if( trial % 2 == 0 ) {
+				query = flipBits(points.get(rand.nextInt(numPoints)), rand.nextInt(numBits/4+1));
+			} else {
+				query = random(numBits);
+			}
+			int maxDistance = trial % 3 == 0 ? numBits/3 : -1;
+
+			alg.searchNearest(query, maxDistance, k, indexes, distances);
+
+			int[] expected = exhaustive(points, query, maxDistance);
+			int expectedSize = Math.min(k, expected.length);
+			assertEquals(expectedSize, indexes.size);
+			assertEquals(expectedSize, distances.size);
+			for( int i = 0; i < indexes.size; i++ ) {
+				assertEquals(expected[i], distances.get(i));
+				assertEquals(expected[i], DescriptorDistance.hamming(query, points.get(indexes.get(i))));
+			}
+		}
+	}
+
+	/**
+	 * Exact matches should be found and the tables are updated incrementally
+	 */
+	@Test
+	public void incrementalAdd() {
+		MultiIndexHashing_B alg = new MultiIndexHashing_B(128, 8);
+		GrowQueue_I32 indexes = new GrowQueue_I32();
+		GrowQueue_I32 distances = new GrowQueue_I32();
+
+		List<TupleDesc_B> points = new ArrayList<>();
+		for( int i = 0; i < 200; i++ ) {
+			points.add(random(128));
+			alg.add(points.get(i));
+
+			// everything added so far should be found
+			for( int j = 0; j <= i; j += 7 ) {
+				alg.searchNearest(points.get(j), 0, 1, indexes, distances);
+				assertEquals(1, indexes.size);
+				assertEquals(j, indexes.get(0));
+				assertEquals(0, distances.get(0));
+			}
+		}
+
+		// internal copy should be the same
+		TupleDesc_B found = new TupleDesc_B(128);
+		alg.getDescriptor(100, found);
+		assertEquals(0, DescriptorDistance.hamming(found, points.get(100)));
+	}
+
+	@Test
+	public void reset() {
+		MultiIndexHashing_B alg = new MultiIndexHashing_B(64, 4);
+		GrowQueue_I32 indexes = new GrowQueue_I32();
+		GrowQueue_I32 distances = new GrowQueue_I32();
+
+		TupleDesc_B a = random(64);
+		TupleDesc_B b = random(64);
+		alg.add(a);
+		alg.reset();
+		assertEquals(0, alg.size());
+
+		alg.searchNearest(a, -1, 1, indexes, distances);
+		assertEquals(0, indexes.size);
+
+		assertEquals(0, alg.add(b));
+		alg.searchNearest(a, -1, 1, indexes, distances);
+		assertEquals(1, indexes.size);
+		assertEquals(0, indexes.get(0));
+		assertEquals(DescriptorDistance.hamming(a, b), distances.get(0));
+	}
+
+	/**
+	 * Nothing should be returned if it's farther than the maximum distance
+	 */
+	@Test
+	public void maxDistance() {
+		MultiIndexHashing_B alg = new MultiIndexHashing_B(64, 4);
+		GrowQueue_I32 indexes = new GrowQueue_I32();
+		GrowQueue_I32 distances = new GrowQueue_I32();
+
+		TupleDesc_B a = random(64);
+		alg.add(flipBits(a, 10));
+
+		alg.searchNearest(a, 9, 1, indexes, distances);
+		assertEquals(0, indexes.size);
+		alg.searchNearest(a, 10, 1, indexes, distances);
+		assertEquals(1, indexes.size);
+		assertEquals(10, distances.get(0));
+	}
+
+	@Test
+	public void badArguments() {
+		try {
+			new MultiIndexHashing_B(512, 8);
+			fail("Substrings are too long");
+		} catch( IllegalArgumentException ignore ) {}
+
+		MultiIndexHashing_B alg = new MultiIndexHashing_B(64, 4);
+		try {
+			alg.add(random(65));
+			fail("Wrong number of bits");
+		} catch( IllegalArgumentException ignore ) {}
+	}
+
+	/**
+	 * Sorted distances of all points which are within the maximum distance
+	 */
+	private static int[] exhaustive( List<TupleDesc_B> points , TupleDesc_B query , int maxDistance ) {
+		int[] distances = new int[points.size()];
+		int N = 0;
+		for( int i = 0; i < points.size(); i++ ) {
+			int d = DescriptorDistance.hamming(query, points.get(i));
+			if( maxDistance < 0 || d <= maxDistance )
+				distances[N++] = d;
+		}
+		distances = Arrays.copyOf(distances, N);
+		Arrays.sort(distances);
+		return distances;
+	}
+
+	private TupleDesc_B random( int numBits ) {
+		TupleDesc_B desc = new TupleDesc_B(numBits);
+		for( int i = 0; i < numBits; i++ ) {
+			if( rand.nextBoolean() )
+				desc.data[i/32] |= 1 << (i%32);
+		}
+		return desc;
+	}
+
+	/**
+	 * Creates a copy with the specified number of unique bits flipped
+	 */
+	private TupleDesc_B flipBits( TupleDesc_B original , int numFlipped ) {
+		TupleDesc_B desc = original.copy();
+		int[] order = new int[original.numBits];
+		for( int i = 0; i < order.length; i++ )
+			order[i] = i;
+		for( int i = 0; i < numFlipped; i++ ) {
+			int j = i + rand.nextInt(order.length-i);
+			int tmp = order[i]; order[i] = order[j]; order[j] = tmp;
+			desc.data[order[i]/32] ^= 1 << (order[i]%32);
+		}
+		return desc;
+	}
+}
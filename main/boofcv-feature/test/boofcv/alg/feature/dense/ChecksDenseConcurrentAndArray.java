@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.dense;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.feature.TupleDesc_F64;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F32;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that descriptors computed concurrently and/or written into an array are identical to the single
+ * threaded results written into a list.  Used by all the dense descriptors.
+ *
+ * @author Peter Abeles
+ */
+public abstract class ChecksDenseConcurrentAndArray {
+
+	/**
+	 * Computes the descriptors for the same input image every time it's called
+	 */
+	public abstract void process();
+
+	public abstract void setOutputArray( boolean outputArray );
+
+	public abstract FastQueue<TupleDesc_F64> getDescriptions();
+
+	public abstract GrowQueue_F32 getDescriptionsArray();
+
+	public abstract FastQueue<Point2D_I32> getLocations();
+
+	public void check() {
+		BoofConcurrency.USE_CONCURRENT = false;
+		setOutputArray(false);
+		process();
+		List<TupleDesc_F64> expected = new ArrayList<>();
+		List<Point2D_I32> expectedLocations = new ArrayList<>();
+		for (int i = 0; i < getDescriptions().size(); i++) {
+			expected.add(getDescriptions().get(i).copy());
+			expectedLocations.add(getLocations().get(i).copy());
+		}
+		assertTrue(expected.size() > 4);
+		int N = expected.get(0).size();
+
+		int original = BoofConcurrency.getMaxThreads();
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			for( boolean concurrent : new boolean[]{false,true}) {
+				for( boolean array : new boolean[]{false,true}) {
+					BoofConcurrency.USE_CONCURRENT = concurrent;
+					setOutputArray(array);
+					// process twice to make sure storage is correctly recycled
+					for (int trial = 0; trial < 2; trial++) {
+						process();
+						assertEquals(expectedLocations.size(),getLocations().size());
+						for (int i = 0; i < expectedLocations.size(); i++) {
+							Point2D_I32 e = expectedLocations.get(i);
+							Point2D_I32 f = getLocations().get(i);
+							assertEquals(e.x,f.x);
+							assertEquals(e.y,f.y);
+						}
+
+						if( array ) {
+							assertEquals(0,getDescriptions().size());
+							assertEquals(expected.size()*N,getDescriptionsArray().size());
+							for (int i = 0; i < expected.size(); i++) {
+								for (int k = 0; k < N; k++) {
+									assertEquals((float)expected.get(i).value[k],getDescriptionsArray().get(i*N+k),0.0f);
+								}
+							}
+						} else {
+							assertEquals(0,getDescriptionsArray().size());
+							assertEquals(expected.size(),getDescriptions().size());
+							for (int i = 0; i < expected.size(); i++) {
+								assertArrayEquals(expected.get(i).value,getDescriptions().get(i).value,0.0);
+							}
+						}
+					}
+				}
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(original);
+			BoofConcurrency.USE_CONCURRENT = false;
+		}
+	}
+}
@@ -19,10 +19,16 @@
 package boofcv.alg.feature.dense;
 
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.feature.TupleDesc_F64;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.ImageType;
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F32;
 import org.junit.Test;
 
+import java.util.Random;
+
 import static org.junit.Assert.*;
 
 /**
@@ -156,4 +162,45 @@ public class TestDescribeDenseHogAlg {
 		}
 		return -1;
 	}
+
+	/**
+	 * Descriptors computed concurrently and/or written into an array should be identical to the single threaded
+	 * results written into a list
+	 */
+	@Test
+	public void concurrentAndArray() {
+		final GrayF32 input = new GrayF32(imgWidth+3,imgHeight+5);
+		ImageMiscOps.fillUniform(input,new Random(234),0,200);
+
+		// step of 2 so that the number of blocks is found by rounding up
+		final DescribeDenseHogAlg<GrayF32> alg = new DescribeDenseHogAlg<>(10,pixelsPerCell,2,3,2,imageType);
+
+		new ChecksDenseConcurrentAndArray() {
+			@Override
+			public void process() {
+				alg.setInput(input);
+				alg.process();
+			}
+
+			@Override
+			public void setOutputArray(boolean outputArray) {
+				alg.setOutputArray(outputArray);
+			}
+
+			@Override
+			public FastQueue<TupleDesc_F64> getDescriptions() {
+				return alg.getDescriptions();
+			}
+
+			@Override
+			public GrowQueue_F32 getDescriptionsArray() {
+				return alg.getDescriptionsArray();
+			}
+
+			@Override
+			public FastQueue<Point2D_I32> getLocations() {
+				return alg.getLocations();
+			}
+		}.check();
+	}
 }
@@ -25,6 +25,8 @@ import boofcv.struct.image.GrayF32;
 import boofcv.testing.BoofTesting;
 import georegression.metric.UtilAngle;
 import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_F32;
 import org.junit.Test;
 
 import java.util.ArrayList;
@@ -156,4 +158,47 @@ public class TestDescribeDenseSiftAlg {
 		}
 
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Descriptors computed concurrently and/or written into an array should be identical to the single threaded
+	 * results written into a list
+	 */
+	@Test
+	public void concurrentAndArray() {
+		final GrayF32 derivX = new GrayF32(100,102);
+		final GrayF32 derivY = new GrayF32(100,102);
+
+		GImageMiscOps.fillUniform(derivX,rand,0,200);
+		GImageMiscOps.fillUniform(derivY,rand,0,200);
+
+		final DescribeDenseSiftAlg<GrayF32> alg = new DescribeDenseSiftAlg<>(4,4,8,0.5,0.2,10,10,GrayF32.class);
+
+		new ChecksDenseConcurrentAndArray() {
+			@Override
+			public void process() {
+				alg.setImageGradient(derivX,derivY);
+				alg.process();
+			}
+
+			@Override
+			public void setOutputArray(boolean outputArray) {
+				alg.setOutputArray(outputArray);
+			}
+
+			@Override
+			public FastQueue<TupleDesc_F64> getDescriptions() {
+				return alg.getDescriptors();
+			}
+
+			@Override
+			public GrowQueue_F32 getDescriptionsArray() {
+				return alg.getDescriptorsArray();
+			}
+
+			@Override
+			public FastQueue<Point2D_I32> getLocations() {
+				return alg.getLocations();
+			}
+		}.check();
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detdesc;
+
+import boofcv.abst.feature.detect.extract.ConfigExtract;
+import boofcv.abst.feature.detect.extract.NonMaxLimiter;
+import boofcv.alg.feature.describe.DescribePointSift;
+import boofcv.alg.feature.detect.interest.SiftScaleSpace;
+import boofcv.alg.feature.orientation.OrientationHistogramSift;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkerPool;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.struct.feature.BrightFeature;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.GrayF32;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestCompleteSift_MT {
+
+	Random rand = new Random(234);
+
+	int originalThreads;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	/**
+	 * Results should be identical to the single threaded algorithm
+	 */
+	@Test
+	public void compareToSingleThread() {
+		GrayF32 image = new GrayF32(300,290);
+		GImageMiscOps.fillUniform(image,rand,0,200);
+
+		CompleteSift single = new CompleteSift(new SiftScaleSpace(-1,4,3,1.6),10,
+				createNonMax(),createOrientation(),createDescribe());
+		single.process(image);
+
+		BoofConcurrency.USE_CONCURRENT = true;
+		CompleteSift_MT multi = new CompleteSift_MT(new SiftScaleSpace(-1,4,3,1.6),10,
+				new WorkerPool<NonMaxLimiter>() {
+					@Override
+					protected NonMaxLimiter createWorker() {
+						return createNonMax();
+					}
+				},
+				new WorkerPool<OrientationHistogramSift<GrayF32>>() {
+					@Override
+					protected OrientationHistogramSift<GrayF32> createWorker() {
+						return createOrientation();
+					}
+				},
+				new WorkerPool<DescribePointSift<GrayF32>>() {
+					@Override
+					protected DescribePointSift<GrayF32> createWorker() {
+						return createDescribe();
+					}
+				});
+
+		// process it twice to make sure internal storage is correctly recycled
+		multi.process(image);
+		multi.process(image);
+
+		assertEquals(single.getDescriptorLength(), multi.getDescriptorLength());
+		int N = single.getOrientations().size;
+		assertTrue(N > 10);
+		assertEquals(N, multi.getOrientations().size);
+		assertEquals(N, multi.getLocations().size);
+		assertEquals(N, multi.getDescriptions().size);
+
+		for (int i = 0; i < N; i++) {
+			assertEquals(single.getOrientations().get(i), multi.getOrientations().get(i), 0);
+
+			ScalePoint a = single.getLocations().get(i);
+			ScalePoint b = multi.getLocations().get(i);
+			assertEquals(a.x, b.x, 0);
+			assertEquals(a.y, b.y, 0);
+			assertEquals(a.scale, b.scale, 0);
+			assertEquals(a.white, b.white);
+
+			BrightFeature descA = single.getDescriptions().get(i);
+			BrightFeature descB = multi.getDescriptions().get(i);
+			assertEquals(descA.white, descB.white);
+			for (int j = 0; j < descA.size(); j++) {
+				assertEquals(descA.value[j], descB.value[j], 0);
+			}
+		}
+	}
+
+	private static NonMaxLimiter createNonMax() {
+		return new NonMaxLimiter(FactoryFeatureExtractor.nonmax(new ConfigExtract(1,0,1,true,true,true)),300);
+	}
+
+	private static OrientationHistogramSift<GrayF32> createOrientation() {
+		return new OrientationHistogramSift<>(36,1.5,GrayF32.class);
+	}
+
+	private static DescribePointSift<GrayF32> createDescribe() {
+		return new DescribePointSift<>(4,4,8,1.5,0.5,0.2,GrayF32.class);
+	}
+}
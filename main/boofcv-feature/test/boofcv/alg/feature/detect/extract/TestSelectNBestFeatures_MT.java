@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.extract;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.GrayF32;
+import georegression.struct.point.Point2D_I16;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSelectNBestFeatures_MT {
+
+	int originalThreads;
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	Random rand = new Random(234);
+	GrayF32 intensity = new GrayF32(100,120);
+	QueueCorner corners = new QueueCorner();
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+		BoofConcurrency.USE_CONCURRENT = true;
+
+		// unique values so that there are no ties
+		for( int i = 0; i < intensity.data.length; i++ ) {
+			intensity.data[i] = i - intensity.data.length/2;
+		}
+		ImageMiscOps.addUniform(intensity, rand, 0, 0.5f);
+
+		for( int i = 0; i < 1000; i++ ) {
+			corners.add(rand.nextInt(intensity.width), rand.nextInt(intensity.height));
+		}
+	}
+
+	/**
+	 * The same set of features should be selected as the single threaded algorithm
+	 */
+	@Test
+	public void compareToSingleThread() {
+
+		for( int N : new int[]{1,20,999,1000,1200} ) {
+			for( boolean positive : new boolean[]{true,false}) {
+				SelectNBestFeatures single = new SelectNBestFeatures(10);
+				SelectNBestFeatures_MT multi = new SelectNBestFeatures_MT(10);
+				multi.setMinBlock(50);
+				single.setN(N);
+				multi.setN(N);
+
+				single.process(intensity, corners, positive);
+				// process it twice to make sure the internal storage is correctly recycled
+				multi.process(intensity, corners, positive);
+				multi.process(intensity, corners, positive);
+
+				QueueCorner expected = single.getBestCorners();
+				QueueCorner found = multi.getBestCorners();
+
+				assertEquals(Math.min(N, corners.size), found.size);
+				assertEquals(expected.size, found.size);
+				for( int i = 0; i < expected.size; i++ ) {
+					Point2D_I16 a = expected.get(i);
+					boolean matched = false;
+					for( int j = 0; j < found.size && !matched; j++ ) {
+						Point2D_I16 b = found.get(j);
+						matched = a.x == b.x && a.y == b.y;
+					}
+					assertTrue(matched);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Features should be in the same order as the input list, no matter if the concurrent or the single
+	 * threaded algorithm is used internally
+	 */
+	@Test
+	public void inputOrder() {
+		for( int N : new int[]{1,20,999} ) {
+			for( boolean positive : new boolean[]{true,false}) {
+				SelectNBestFeatures_MT alg = new SelectNBestFeatures_MT(N);
+				alg.setMinBlock(50);
+
+				BoofConcurrency.USE_CONCURRENT = true;
+				alg.process(intensity, corners, positive);
+				QueueCorner concurrent = new QueueCorner();
+				for( int i = 0; i < alg.getBestCorners().size; i++ ) {
+					Point2D_I16 p = alg.getBestCorners().get(i);
+					concurrent.add(p.x, p.y);
+				}
+
+				BoofConcurrency.USE_CONCURRENT = false;
+				alg.process(intensity, corners, positive);
+				QueueCorner serial = alg.getBestCorners();
+
+				assertEquals(N, serial.size);
+				assertEquals(N, concurrent.size);
+				int previous = -1;
+				for( int i = 0; i < N; i++ ) {
+					Point2D_I16 a = serial.get(i);
+					Point2D_I16 b = concurrent.get(i);
+					assertTrue(a.x == b.x && a.y == b.y);
+
+					// index in the input list must be increasing
+					int index = previous+1;
+					while( corners.get(index).x != a.x || corners.get(index).y != a.y )
+						index++;
+					previous = index;
+				}
+			}
+		}
+	}
+}
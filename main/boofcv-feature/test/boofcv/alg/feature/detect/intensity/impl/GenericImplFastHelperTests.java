@@ -24,6 +24,8 @@ import boofcv.misc.DiscretizedCircle;
 import boofcv.struct.image.ImageGray;
 import org.junit.Test;
 
+import java.util.Random;
+
 import static org.junit.Assert.*;
 
 /**
@@ -127,6 +129,47 @@ public abstract class GenericImplFastHelperTests<T extends ImageGray<T>> {
 		assertFalse(alg.checkPixelUpper(image.getIndex(10,14)));
 	}
 
+	/**
+	 * Compare the early reject test against a brute force implementation
+	 */
+	@Test
+	public void selectCandidates() {
+		GImageMiscOps.fillUniform(image, new Random(234), 0, 100);
+		alg.setImage(image,offsets);
+
+		int candidates[] = new int[image.width];
+
+		for( int minCount = 1; minCount <= 4; minCount++ ) {
+			int total = 0;
+			for( int y = 3; y < image.height-3; y++ ) {
+				int index0 = image.getIndex(3,y);
+				int length = image.width-6;
+				int found = alg.selectCandidates(index0, length, minCount, candidates);
+
+				int count = 0;
+				for( int i = 0; i < length; i++ ) {
+					int index = index0+i;
+					alg.setThresholds(index);
+					int lower = 0, upper = 0;
+					for( int j = 0; j < 16; j += 4 ) {
+						if( alg.checkPixelLower(index+offsets[j]) ) lower++;
+						if( alg.checkPixelUpper(index+offsets[j]) ) upper++;
+					}
+					if( lower >= minCount || upper >= minCount ) {
+						assertTrue(count < found);
+						assertEquals(i, candidates[count++]);
+					}
+				}
+				assertEquals(count, found);
+				total += found;
+			}
+			// sanity check to make sure some pixels were rejected and others not
+			assertTrue(total > 0);
+			if( minCount > 1 )
+				assertTrue(total < (image.width-6)*(image.height-6));
+		}
+	}
+
 	private void setCircle( int x , int y , int value ) {
 		for( int i = 0; i < offsets.length; i++ ) {
 			int offY = offsets[i] / image.stride;
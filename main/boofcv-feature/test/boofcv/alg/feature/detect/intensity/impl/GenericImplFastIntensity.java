@@ -20,10 +20,13 @@ package boofcv.alg.feature.detect.intensity.impl;
 
 import boofcv.alg.feature.detect.intensity.DetectorFastNaive;
 import boofcv.alg.feature.detect.intensity.FastCornerIntensity;
+import boofcv.alg.filter.blur.BlurImageOps;
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.misc.DiscretizedCircle;
+import boofcv.struct.QueueCorner;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
 import georegression.struct.point.Point2D_I16;
 import org.junit.Test;
 
@@ -86,6 +89,72 @@ public abstract class GenericImplFastIntensity {
 		assertTrue(intensity.get(4,5) < intensity.get(12,20));
 	}
 
+	/**
+	 * The early reject test should not change the results
+	 */
+	@Test
+	public void earlyReject() {
+		GrayU8 noise = new GrayU8(60,70);
+		GImageMiscOps.fillUniform(noise, rand, 0, 255);
+		GrayU8 input = BlurImageOps.gaussian(noise, null, -1, 1, null);
+		// make sure the border is handled correctly with a sub-image
+		input = BoofTesting.createSubImageOf(input);
+
+		GrayF32 expected = new GrayF32(input.width,input.height);
+		GrayF32 found = new GrayF32(input.width,input.height);
+
+		alg.setEarlyReject(false);
+		alg.process(input,expected);
+		QueueCorner expectedCorners = new QueueCorner();
+		for (int i = 0; i < alg.getCandidates().size; i++) {
+			expectedCorners.add(alg.getCandidates().get(i));
+		}
+
+		alg.setEarlyReject(true);
+		alg.process(input,found);
+
+		assertTrue(expectedCorners.size > 0);
+		assertEquals(expectedCorners.size,alg.getCandidates().size);
+		for( int i = 0; i < expectedCorners.size(); i++ ) {
+			Point2D_I16 e = expectedCorners.get(i);
+			Point2D_I16 a = alg.getCandidates().get(i);
+
+			assertEquals(e.x,a.x);
+			assertEquals(e.y,a.y);
+		}
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
+	/**
+	 * Process the image in bands and see if it produces the same results as processing the whole image
+	 */
+	@Test
+	public void processBand() {
+		GrayU8 input = new GrayU8(40,50);
+		GImageMiscOps.fillUniform(input, rand, 0, 50);
+		GrayF32 expected = new GrayF32(input.width,input.height);
+		GrayF32 found = new GrayF32(input.width,input.height);
+
+		alg.process(input,expected);
+		QueueCorner expectedCorners = new QueueCorner();
+		for (int i = 0; i < alg.getCandidates().size; i++) {
+			expectedCorners.add(alg.getCandidates().get(i));
+		}
+
+		int total = 0;
+		for( int y0 = 0; y0 < input.height; y0 += 12 ) {
+			alg.process(input,found,y0,y0+12);
+			for (int i = 0; i < alg.getCandidates().size; i++) {
+				Point2D_I16 e = expectedCorners.get(total++);
+				Point2D_I16 a = alg.getCandidates().get(i);
+				assertEquals(e.x,a.x);
+				assertEquals(e.y,a.y);
+			}
+		}
+		assertEquals(expectedCorners.size,total);
+		BoofTesting.assertEquals(expected,found,0);
+	}
+
 	private void createCircle( int x , int y , int offsets[] , int n , int b ,
 							   GrayU8 image ) {
 
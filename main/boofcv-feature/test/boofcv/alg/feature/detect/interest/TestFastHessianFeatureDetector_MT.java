@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.extract.ConfigExtract;
+import boofcv.abst.feature.detect.extract.NonMaxSuppression;
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.transform.ii.IntegralImageOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkerPool;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestFastHessianFeatureDetector_MT extends GenericFeatureDetectorTests {
+
+	int originalThreads;
+
+	public TestFastHessianFeatureDetector_MT() {
+		this.scaleTolerance = 0.3;
+	}
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+
+	@Override
+	protected Object createDetector( int maxFeatures ) {
+		return new FastHessianFeatureDetector_MT(createPool(new ConfigExtract(1, 1, 5, true)),maxFeatures, 1, 9,4,4, 6);
+	}
+
+	@SuppressWarnings({"unchecked"})
+	@Override
+	protected int detectFeature(GrayF32 input, Object detector) {
+		FastHessianFeatureDetector<GrayF32> alg = (FastHessianFeatureDetector<GrayF32>)detector;
+		GrayF32 integral = IntegralImageOps.transform(input,null);
+		alg.detect(integral);
+
+		return alg.getFoundPoints().size();
+	}
+
+	/**
+	 * The found features should be identical to the single threaded algorithm, including their order
+	 */
+	@Test
+	public void compareToSingleThread() {
+		GrayU8 noise = new GrayU8(320,240);
+		ImageMiscOps.fillUniform(noise, new Random(234), 0, 255);
+		GrayU8 input = BlurImageOps.gaussian(noise, null, -1, 3, null);
+
+		GrayS32 integralS32 = IntegralImageOps.transform(input,null);
+		GrayF32 inputF32 = new GrayF32(input.width,input.height);
+		for( int i = 0; i < input.data.length; i++ ) {
+			inputF32.data[i] = input.data[i] & 0xFF;
+		}
+		GrayF32 integralF32 = IntegralImageOps.transform(inputF32,null);
+
+		ConfigExtract config = new ConfigExtract(2, 0, 0, true);
+
+		for( int maxFeatures : new int[]{-1,20} ) {
+			for( int sampleRate : new int[]{1,2} ) {
+				NonMaxSuppression extractor = FactoryFeatureExtractor.nonmax(config);
+				FastHessianFeatureDetector<GrayS32> single =
+						new FastHessianFeatureDetector<>(extractor, maxFeatures, sampleRate, 9, 4, 4, 6);
+				FastHessianFeatureDetector_MT<GrayS32> multi =
+						new FastHessianFeatureDetector_MT<>(createPool(config), maxFeatures, sampleRate, 9, 4, 4, 6);
+
+				single.detect(integralS32);
+				// process it twice to make sure the internal storage is correctly recycled
+				multi.detect(integralS32);
+				multi.detect(integralS32);
+				compare(single.getFoundPoints(), multi.getFoundPoints());
+
+				FastHessianFeatureDetector<GrayF32> singleF32 =
+						new FastHessianFeatureDetector<>(extractor, maxFeatures, sampleRate, 9, 4, 4, 6);
+				FastHessianFeatureDetector_MT<GrayF32> multiF32 =
+						new FastHessianFeatureDetector_MT<>(createPool(config), maxFeatures, sampleRate, 9, 4, 4, 6);
+				singleF32.detect(integralF32);
+				multiF32.detect(integralF32);
+				compare(singleF32.getFoundPoints(), multiF32.getFoundPoints());
+			}
+		}
+	}
+
+	private static void compare( List<ScalePoint> expected , List<ScalePoint> found ) {
+		assertTrue(expected.size() > 0);
+		assertEquals(expected.size(), found.size());
+		for( int i = 0; i < expected.size(); i++ ) {
+			ScalePoint a = expected.get(i);
+			ScalePoint b = found.get(i);
+			assertEquals(a.x, b.x, 0);
+			assertEquals(a.y, b.y, 0);
+			assertEquals(a.scale, b.scale, 0);
+		}
+	}
+
+	private static WorkerPool<NonMaxSuppression> createPool( final ConfigExtract config ) {
+		return new WorkerPool<NonMaxSuppression>() {
+			@Override
+			protected NonMaxSuppression createWorker() {
+				return FactoryFeatureExtractor.nonmax(config);
+			}
+		};
+	}
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.interest.ConfigFast;
+import boofcv.abst.feature.detect.interest.ConfigGeneralDetector;
+import boofcv.alg.feature.detect.intensity.HessianBlobIntensity;
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.detect.interest.FactoryDetectPoint;
+import boofcv.struct.QueueCorner;
+import boofcv.struct.image.GrayS16;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import georegression.struct.point.Point2D_I16;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestGeneralFeatureDetector_MT {
+
+	int originalThreads;
+
+	GrayU8 input;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+
+		GrayU8 noise = new GrayU8(200,170);
+		ImageMiscOps.fillUniform(noise, new Random(234), 0, 255);
+		input = BlurImageOps.gaussian(noise, null, -1, 2, null);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	@Test
+	public void harris() {
+		compareToSingleThread(new Factory() {
+			@Override
+			public GeneralFeatureDetector<GrayU8, GrayS16> create(ConfigGeneralDetector config) {
+				return FactoryDetectPoint.createHarris(config, false, GrayS16.class);
+			}
+		});
+		compareToSingleThread(new Factory() {
+			@Override
+			public GeneralFeatureDetector<GrayU8, GrayS16> create(ConfigGeneralDetector config) {
+				return FactoryDetectPoint.createHarris(config, true, GrayS16.class);
+			}
+		});
+	}
+
+	@Test
+	public void shiTomasi() {
+		compareToSingleThread(new Factory() {
+			@Override
+			public GeneralFeatureDetector<GrayU8, GrayS16> create(ConfigGeneralDetector config) {
+				return FactoryDetectPoint.createShiTomasi(config, false, GrayS16.class);
+			}
+		});
+		compareToSingleThread(new Factory() {
+			@Override
+			public GeneralFeatureDetector<GrayU8, GrayS16> create(ConfigGeneralDetector config) {
+				return FactoryDetectPoint.createShiTomasi(config, true, GrayS16.class);
+			}
+		});
+	}
+
+	@Test
+	public void kitRos() {
+		compareToSingleThread(new Factory() {
+			@Override
+			public GeneralFeatureDetector<GrayU8, GrayS16> create(ConfigGeneralDetector config) {
+				return FactoryDetectPoint.createKitRos(config, GrayS16.class);
+			}
+		});
+	}
+
+	@Test
+	public void fast() {
+		compareToSingleThread(new Factory() {
+			@Override
+			public GeneralFeatureDetector<GrayU8, GrayS16> create(ConfigGeneralDetector config) {
+				return FactoryDetectPoint.createFast(new ConfigFast(15,9), config, GrayU8.class);
+			}
+		});
+	}
+
+	@Test
+	public void median() {
+		compareToSingleThread(new Factory() {
+			@Override
+			public GeneralFeatureDetector<GrayU8, GrayS16> create(ConfigGeneralDetector config) {
+				return FactoryDetectPoint.createMedian(config, GrayU8.class);
+			}
+		});
+	}
+
+	@Test
+	public void hessian() {
+		compareToSingleThread(new Factory() {
+			@Override
+			public GeneralFeatureDetector<GrayU8, GrayS16> create(ConfigGeneralDetector config) {
+				return FactoryDetectPoint.createHessian(HessianBlobIntensity.Type.DETERMINANT, config, GrayS16.class);
+			}
+		});
+	}
+
+	/**
+	 * The concurrent detector should be selected when requested through the configuration
+	 */
+	@Test
+	public void factoryConfiguration() {
+		BoofConcurrency.USE_CONCURRENT = true;
+		ConfigGeneralDetector config = new ConfigGeneralDetector(-1,2,1);
+		assertTrue(FactoryDetectPoint.createHarris(config,false,GrayS16.class) instanceof GeneralFeatureDetector_MT);
+
+		config = new ConfigGeneralDetector(-1,2,1);
+		config.concurrent = false;
+		assertFalse(FactoryDetectPoint.createHarris(config,false,GrayS16.class) instanceof GeneralFeatureDetector_MT);
+
+		BoofConcurrency.USE_CONCURRENT = false;
+		config = new ConfigGeneralDetector(-1,2,1);
+		assertFalse(FactoryDetectPoint.createHarris(config,false,GrayS16.class) instanceof GeneralFeatureDetector_MT);
+	}
+
+	/**
+	 * The intensity image and detected features should be identical to the single threaded algorithm.  When all
+	 * the features are returned their order should be the same too.
+	 */
+	private void compareToSingleThread( Factory factory ) {
+		for( int maxFeatures : new int[]{-1,30} ) {
+			BoofConcurrency.USE_CONCURRENT = false;
+			EasyGeneralFeatureDetector<GrayU8, GrayS16> single = new EasyGeneralFeatureDetector<>(
+					factory.create(createConfig(maxFeatures)), GrayU8.class, GrayS16.class);
+			single.detect(input, null);
+
+			BoofConcurrency.USE_CONCURRENT = true;
+			GeneralFeatureDetector<GrayU8, GrayS16> detector = factory.create(createConfig(maxFeatures));
+			assertTrue(detector instanceof GeneralFeatureDetector_MT);
+			EasyGeneralFeatureDetector<GrayU8, GrayS16> multi = new EasyGeneralFeatureDetector<>(
+					detector, GrayU8.class, GrayS16.class);
+			// process it twice to make sure the internal storage is correctly recycled
+			multi.detect(input, null);
+			multi.detect(input, null);
+
+			BoofTesting.assertEquals(single.getDetector().getIntensity(), multi.getDetector().getIntensity(), 0);
+
+			assertTrue(single.getMaximums().size > 0);
+			compare(single.getMaximums(), multi.getMaximums(), maxFeatures <= 0);
+			compare(single.getMinimums(), multi.getMinimums(), maxFeatures <= 0);
+		}
+	}
+
+	private static ConfigGeneralDetector createConfig( int maxFeatures ) {
+		return new ConfigGeneralDetector(maxFeatures,2,1,0,true,false,true);
+	}
+
+	private static void compare( QueueCorner expected , QueueCorner found , boolean sameOrder ) {
+		assertEquals(expected.size, found.size);
+
+		for( int i = 0; i < expected.size; i++ ) {
+			Point2D_I16 a = expected.get(i);
+			if( sameOrder ) {
+				Point2D_I16 b = found.get(i);
+				assertEquals(a.x, b.x);
+				assertEquals(a.y, b.y);
+			} else {
+				boolean matched = false;
+				for( int j = 0; j < found.size && !matched; j++ ) {
+					Point2D_I16 b = found.get(j);
+					matched = a.x == b.x && a.y == b.y;
+				}
+				assertTrue(matched);
+			}
+		}
+	}
+
+	private interface Factory {
+		GeneralFeatureDetector<GrayU8, GrayS16> create( ConfigGeneralDetector config );
+	}
+}
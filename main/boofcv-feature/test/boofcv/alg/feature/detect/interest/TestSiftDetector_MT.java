@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.detect.interest;
+
+import boofcv.abst.feature.detect.extract.ConfigExtract;
+import boofcv.abst.feature.detect.extract.NonMaxLimiter;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkerPool;
+import boofcv.factory.feature.detect.extract.FactoryFeatureExtractor;
+import boofcv.struct.feature.ScalePoint;
+import boofcv.struct.image.GrayF32;
+import org.ddogleg.struct.FastQueue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSiftDetector_MT {
+
+	int originalThreads;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	/**
+	 * Detections should be identical to the single threaded algorithm, including their order
+	 */
+	@Test
+	public void compareToSingleThread() {
+		GrayF32 input = new GrayF32(200,180);
+		GImageMiscOps.fillUniform(input, new Random(234), 0, 200);
+
+		SiftDetector single = new SiftDetector(new SiftScaleSpace(-1,5,3,1.6),10,createNonMax());
+		single.process(input);
+
+		BoofConcurrency.USE_CONCURRENT = true;
+		SiftDetector_MT multi = new SiftDetector_MT(new SiftScaleSpace(-1,5,3,1.6),10,
+				new WorkerPool<NonMaxLimiter>() {
+					@Override
+					protected NonMaxLimiter createWorker() {
+						return createNonMax();
+					}
+				});
+		multi.process(input);
+		multi.process(input);
+
+		FastQueue<ScalePoint> expected = single.getDetections();
+		FastQueue<ScalePoint> found = multi.getDetections();
+
+		assertTrue(expected.size > 10);
+		assertEquals(expected.size, found.size);
+		for (int i = 0; i < expected.size; i++) {
+			ScalePoint a = expected.get(i);
+			ScalePoint b = found.get(i);
+			assertEquals(a.x, b.x, 0);
+			assertEquals(a.y, b.y, 0);
+			assertEquals(a.scale, b.scale, 0);
+			assertEquals(a.white, b.white);
+		}
+	}
+
+	private static NonMaxLimiter createNonMax() {
+		return new NonMaxLimiter(FactoryFeatureExtractor.nonmax(new ConfigExtract(1,0,1,true,true,true)),1000);
+	}
+}
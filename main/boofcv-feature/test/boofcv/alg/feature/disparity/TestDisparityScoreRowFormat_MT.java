@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity;
+
+import boofcv.abst.feature.disparity.StereoDisparity;
+import boofcv.abst.feature.disparity.WrapDisparitySadRect;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.factory.feature.disparity.DisparityAlgorithms;
+import boofcv.factory.feature.disparity.FactoryStereoDisparity;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS16;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import boofcv.testing.BoofTesting;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestDisparityScoreRowFormat_MT {
+
+	Random rand = new Random(234);
+
+	int width = 80, height = 67;
+
+	@Before
+	public void before() {
+		// force it to split the image into bands even on a single core machine
+		BoofConcurrency.setMaxThreads(4);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.USE_CONCURRENT = false;
+		BoofConcurrency.setMaxThreads(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * The concurrent algorithm should produce the same output as the single threaded algorithm
+	 */
+	@Test
+	public void compareToSingleThread() {
+		Class types[] = new Class[]{GrayU8.class, GrayS16.class, GrayF32.class};
+
+		for( Class type : types ) {
+			for( DisparityAlgorithms which : DisparityAlgorithms.values() ) {
+				compareToSingleThread(which, type, 0, 20, 2, 3, -1, -1, -1, false);
+				compareToSingleThread(which, type, 5, 20, 3, 1, 10, 2, 0.1, false);
+				compareToSingleThread(which, type, 0, 15, 2, 2, 15, 1, 0.15, true);
+			}
+		}
+	}
+
+	private <T extends ImageGray<T>>
+	void compareToSingleThread( DisparityAlgorithms which , Class<T> type ,
+								int minDisparity, int maxDisparity, int radiusX, int radiusY,
+								double maxPerPixelError, int validateRtoL, double texture, boolean subpixel) {
+		T left = GeneralizedImageOps.createSingleBand(type, width, height);
+		T right = GeneralizedImageOps.createSingleBand(type, width, height);
+
+		GImageMiscOps.fillUniform(left, rand, 0, 30);
+		GImageMiscOps.fillUniform(right, rand, 0, 30);
+
+		BoofConcurrency.USE_CONCURRENT = false;
+		StereoDisparity<T,?> expected = create(which, type, minDisparity, maxDisparity, radiusX, radiusY,
+				maxPerPixelError, validateRtoL, texture, subpixel);
+		BoofConcurrency.USE_CONCURRENT = true;
+		StereoDisparity<T,?> found = create(which, type, minDisparity, maxDisparity, radiusX, radiusY,
+				maxPerPixelError, validateRtoL, texture, subpixel);
+		BoofConcurrency.USE_CONCURRENT = false;
+
+		assertTrue(getAlg(found) instanceof DisparityScoreRowFormat_MT);
+		assertTrue(!(getAlg(expected) instanceof DisparityScoreRowFormat_MT));
+		assertEquals(expected.getBorderX(), found.getBorderX());
+		assertEquals(expected.getBorderY(), found.getBorderY());
+
+		// sub-images should be handled the same
+		left = BoofTesting.createSubImageOf(left);
+		right = BoofTesting.createSubImageOf(right);
+
+		// integer images produce identical scores.  With floating point images the vertical running sum starts
+		// over at each band, so the scores are only the same up to round off
+		double tol = type == GrayF32.class ? 1e-4 : 0;
+
+		expected.process(left, right);
+		found.process(left, right);
+
+		BoofTesting.assertEquals(expected.getDisparity(), found.getDisparity(), tol);
+
+		// process it again to make sure the recycled workers are handled correctly
+		found.process(right, left);
+		expected.process(right, left);
+		BoofTesting.assertEquals(expected.getDisparity(), found.getDisparity(), tol);
+	}
+
+	private static DisparityScoreRowFormat getAlg( StereoDisparity alg ) {
+		return ((WrapDisparitySadRect)alg).getAlg();
+	}
+
+	private static <T extends ImageGray<T>> StereoDisparity<T,?>
+	create( DisparityAlgorithms which , Class<T> type ,
+			int minDisparity, int maxDisparity, int radiusX, int radiusY,
+			double maxPerPixelError, int validateRtoL, double texture, boolean subpixel ) {
+		if( subpixel )
+			return FactoryStereoDisparity.regionSubpixelWta(which, minDisparity, maxDisparity, radiusX, radiusY,
+					maxPerPixelError, validateRtoL, texture, type);
+		else
+			return FactoryStereoDisparity.regionWta(which, minDisparity, maxDisparity, radiusX, radiusY,
+					maxPerPixelError, validateRtoL, texture, type);
+	}
+}
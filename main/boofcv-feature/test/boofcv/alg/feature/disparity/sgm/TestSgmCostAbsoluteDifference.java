@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageGray;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSgmCostAbsoluteDifference {
+
+	Random rand = new Random(234);
+	int width = 30, height = 25;
+
+	@Test
+	public void process_U8() {
+		check(new SgmCostAbsoluteDifference.U8(), GrayU8.class);
+	}
+
+	@Test
+	public void process_F32() {
+		check(new SgmCostAbsoluteDifference.F32(), GrayF32.class);
+	}
+
+	private <T extends ImageGray<T>> void check( SgmDisparityCost<T> alg , Class<T> type ) {
+		T left = GeneralizedImageOps.createSingleBand(type, width, height);
+		T right = GeneralizedImageOps.createSingleBand(type, width, height);
+		GImageMiscOps.fillUniform(left, rand, 0, 255);
+		GImageMiscOps.fillUniform(right, rand, 0, 255);
+
+		int minDisparity = 2, rangeDisparity = 10;
+		short[] cost = new short[width*height*rangeDisparity];
+
+		alg.process(BoofTesting.createSubImageOf(left), BoofTesting.createSubImageOf(right),
+				minDisparity, rangeDisparity, cost);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				for( int d = 0; d < rangeDisparity; d++ ) {
+					int xr = x - minDisparity - d;
+					int expected = SgmDisparityCost.MAX_COST;
+					if( xr >= 0 ) {
+						double diff = GeneralizedImageOps.get(left, x, y) - GeneralizedImageOps.get(right, xr, y);
+						expected = Math.min(SgmDisparityCost.MAX_COST, (int)(8*Math.abs(diff)));
+					}
+					assertEquals(expected, cost[(y*width+x)*rangeDisparity+d], 1);
+				}
+			}
+		}
+	}
+}
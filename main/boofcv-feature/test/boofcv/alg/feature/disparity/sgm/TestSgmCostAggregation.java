@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.concurrency.BoofConcurrency;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSgmCostAggregation {
+
+	Random rand = new Random(234);
+	int width = 20, height = 15, rangeDisparity = 7;
+
+	int penaltySmall = 200, penaltyLarge = 2000;
+
+	/**
+	 * Compare against a brute force implementation of each path for all the different number of paths
+	 */
+	@Test
+	public void compareToNaive() {
+		short[] cost = randomCost();
+
+		int[] numPaths = new int[]{1,2,4,8,16};
+		for( int paths : numPaths ) {
+			SgmCostAggregation alg = new SgmCostAggregation(penaltySmall, penaltyLarge, paths);
+			short[] found = new short[cost.length];
+			alg.process(cost, width, height, rangeDisparity, found);
+
+			int[] expected = naive(cost, paths);
+			for( int i = 0; i < expected.length; i++ ) {
+				assertEquals(expected[i], found[i] & 0xFFFF);
+			}
+		}
+	}
+
+	/**
+	 * All costs are the maximum value, make sure it doesn't overflow
+	 */
+	@Test
+	public void noOverflow() {
+		short[] cost = new short[width*height*rangeDisparity];
+		for( int i = 0; i < cost.length; i++ ) {
+			cost[i] = (short)(i%3 == 0 ? 0 : SgmDisparityCost.MAX_COST);
+		}
+
+		penaltyLarge = SgmDisparityCost.MAX_COST;
+		SgmCostAggregation alg = new SgmCostAggregation(penaltySmall, penaltyLarge, 16);
+		short[] found = new short[cost.length];
+		alg.process(cost, width, height, rangeDisparity, found);
+
+		int[] expected = naive(cost, 16);
+		for( int i = 0; i < expected.length; i++ ) {
+			assertTrue(expected[i] <= 0xFFFF);
+			assertEquals(expected[i], found[i] & 0xFFFF);
+		}
+	}
+
+	/**
+	 * The concurrent implementation should produce identical results
+	 */
+	@Test
+	public void concurrent() {
+		short[] cost = randomCost();
+
+		SgmCostAggregation alg = new SgmCostAggregation(penaltySmall, penaltyLarge, 8);
+		short[] expected = new short[cost.length];
+		short[] found = new short[cost.length];
+		alg.process(cost, width, height, rangeDisparity, expected);
+
+		BoofConcurrency.setMaxThreads(4);
+		BoofConcurrency.USE_CONCURRENT = true;
+		try {
+			alg.process(cost, width, height, rangeDisparity, found);
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = false;
+			BoofConcurrency.setMaxThreads(Runtime.getRuntime().availableProcessors());
+		}
+
+		for( int i = 0; i < expected.length; i++ ) {
+			assertEquals(expected[i], found[i]);
+		}
+	}
+
+	private short[] randomCost() {
+		short[] cost = new short[width*height*rangeDisparity];
+		for( int i = 0; i < cost.length; i++ ) {
+			cost[i] = (short)rand.nextInt(SgmDisparityCost.MAX_COST+1);
+		}
+		return cost;
+	}
+
+	/**
+	 * Computes the path cost for every pixel using recursion directly from the equation
+	 */
+	private int[] naive( short[] cost , int paths ) {
+		int[][] directions = new int[][]{
+				{ 1, 0},{-1, 0},{ 0, 1},{ 0,-1},
+				{ 1, 1},{-1,-1},{ 1,-1},{-1, 1},
+				{ 2, 1},{-2,-1},{ 2,-1},{-2, 1},{ 1, 2},{-1,-2},{ 1,-2},{-1, 2}};
+
+		int[] total = new int[cost.length];
+		for( int i = 0; i < paths; i++ ) {
+			int[][][] memory = new int[height][width][];
+			for( int y = 0; y < height; y++ ) {
+				for( int x = 0; x < width; x++ ) {
+					int[] L = pathCost(cost, x, y, directions[i][0], directions[i][1], memory);
+					for( int d = 0; d < rangeDisparity; d++ ) {
+						total[(y*width+x)*rangeDisparity+d] += L[d];
+					}
+				}
+			}
+		}
+		return total;
+	}
+
+	private int[] pathCost( short[] cost , int x , int y , int dx , int dy , int[][][] memory ) {
+		if( memory[y][x] != null )
+			return memory[y][x];
+
+		int[] L = new int[rangeDisparity];
+		int index = (y*width+x)*rangeDisparity;
+		int px = x-dx, py = y-dy;
+
+		if( px < 0 || py < 0 || px >= width || py >= height ) {
+			for( int d = 0; d < rangeDisparity; d++ )
+				L[d] = cost[index+d];
+		} else {
+			int[] prev = pathCost(cost, px, py, dx, dy, memory);
+			int minPrev = Integer.MAX_VALUE;
+			for( int d = 0; d < rangeDisparity; d++ )
+				minPrev = Math.min(minPrev, prev[d]);
+
+			for( int d = 0; d < rangeDisparity; d++ ) {
+				int best = prev[d];
+				if( d > 0 ) best = Math.min(best, prev[d-1]+penaltySmall);
+				if( d+1 < rangeDisparity ) best = Math.min(best, prev[d+1]+penaltySmall);
+				best = Math.min(best, minPrev+penaltyLarge);
+				L[d] = cost[index+d] + best - minPrev;
+			}
+		}
+		memory[y][x] = L;
+		return L;
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.core.image.ConvertImage;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSgmCostCensus {
+
+	Random rand = new Random(234);
+	int width = 30, height = 25;
+
+	@Test
+	public void transform_U8() {
+		GrayU8 input = new GrayU8(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 20);
+		GrayS32 found = new GrayS32(1,1);
+
+		SgmCostCensus.transform(input, found);
+
+		assertEquals(width, found.width);
+		assertEquals(height, found.height);
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				assertEquals(naive(input, x, y), found.get(x, y));
+			}
+		}
+
+		// sub-images should produce the same results
+		GrayS32 foundSub = new GrayS32(1,1);
+		SgmCostCensus.transform(BoofTesting.createSubImageOf(input), foundSub);
+		BoofTesting.assertEquals(found, foundSub, 0);
+	}
+
+	@Test
+	public void transform_F32() {
+		GrayU8 input = new GrayU8(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 20);
+		GrayF32 inputF = ConvertImage.convert(input, (GrayF32)null);
+
+		GrayS32 expected = new GrayS32(1,1);
+		GrayS32 found = new GrayS32(1,1);
+		SgmCostCensus.transform(input, expected);
+		SgmCostCensus.transform(BoofTesting.createSubImageOf(inputF), found);
+
+		BoofTesting.assertEquals(expected, found, 0);
+	}
+
+	/**
+	 * Compare the cost to the hamming distance between census descriptors
+	 */
+	@Test
+	public void process() {
+		GrayU8 left = new GrayU8(width,height);
+		GrayU8 right = new GrayU8(width,height);
+		ImageMiscOps.fillUniform(left, rand, 0, 50);
+		ImageMiscOps.fillUniform(right, rand, 0, 50);
+
+		int minDisparity = 3, rangeDisparity = 8;
+		short[] cost = new short[width*height*rangeDisparity];
+
+		SgmCostCensus<GrayU8> alg = new SgmCostCensus<>(GrayU8.class);
+		alg.process(left, right, minDisparity, rangeDisparity, cost);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				for( int d = 0; d < rangeDisparity; d++ ) {
+					int xr = x - minDisparity - d;
+					int expected = SgmDisparityCost.MAX_COST;
+					if( xr >= 0 )
+						expected = SgmCostCensus.SCALE*Integer.bitCount(naive(left, x, y) ^ naive(right, xr, y));
+					assertEquals(expected, cost[(y*width+x)*rangeDisparity+d]);
+				}
+			}
+		}
+	}
+
+	private static int naive( GrayU8 input , int x , int y ) {
+		int center = input.get(x,y);
+		int bits = 0;
+		for( int i = -2; i <= 2; i++ ) {
+			for( int j = -2; j <= 2; j++ ) {
+				if( i == 0 && j == 0 )
+					continue;
+				int xx = Math.min(input.width-1,Math.max(0,x+j));
+				int yy = Math.min(input.height-1,Math.max(0,y+i));
+				bits = (bits << 1) | (input.get(xx,yy) > center ? 1 : 0);
+			}
+		}
+		return bits;
+	}
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSgmDisparitySelector {
+
+	int width = 20, height = 10;
+	int minDisparity = 2, rangeDisparity = 6;
+
+	/**
+	 * Every pixel has an obvious best disparity
+	 */
+	@Test
+	public void select_simple() {
+		short[] cost = createCost(3);
+
+		SgmDisparitySelector alg = new SgmDisparitySelector();
+		alg.setRightToLeftTolerance(-1);
+		GrayU8 disparity = new GrayU8(width,height);
+		alg.select(cost, width, height, minDisparity, rangeDisparity, disparity);
+
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				int localRange = Math.min(rangeDisparity, x-minDisparity+1);
+				int expected;
+				if( localRange <= 0 )
+					expected = rangeDisparity+1;
+				else
+					expected = Math.min(3, localRange-1);
+				assertEquals(expected, disparity.get(x,y));
+			}
+		}
+	}
+
+	/**
+	 * Make a pixel inconsistent when going from right to left
+	 */
+	@Test
+	public void select_rightToLeft() {
+		short[] cost = createCost(3);
+
+		// pixel (10,5) matches right pixel 10-2-3 = 5.  Make left pixel 9 at d=2 a better match for right pixel 5
+		cost[(5*width+9)*rangeDisparity+2] = 1;
+
+		SgmDisparitySelector alg = new SgmDisparitySelector();
+		alg.setRightToLeftTolerance(0);
+		GrayU8 disparity = new GrayU8(width,height);
+		alg.select(cost, width, height, minDisparity, rangeDisparity, disparity);
+
+		assertEquals(rangeDisparity+1, disparity.get(10,5));
+		assertEquals(3, disparity.get(11,5));
+
+		// it should pass with a larger tolerance
+		alg.setRightToLeftTolerance(1);
+		alg.select(cost, width, height, minDisparity, rangeDisparity, disparity);
+		assertEquals(3, disparity.get(10,5));
+	}
+
+	/**
+	 * Two disparities which are far apart have similar scores
+	 */
+	@Test
+	public void select_texture() {
+		short[] cost = createCost(3);
+		cost[(5*width+10)*rangeDisparity] = 101;
+
+		SgmDisparitySelector alg = new SgmDisparitySelector();
+		alg.setRightToLeftTolerance(-1);
+		alg.setTexture(0.1);
+		GrayU8 disparity = new GrayU8(width,height);
+		alg.select(cost, width, height, minDisparity, rangeDisparity, disparity);
+
+		assertEquals(rangeDisparity+1, disparity.get(10,5));
+		assertEquals(3, disparity.get(11,5));
+	}
+
+	@Test
+	public void selectSubpixel() {
+		short[] cost = createCost(3);
+		int index = (5*width+10)*rangeDisparity;
+		cost[index+2] = 150;
+		cost[index+3] = 100;
+		cost[index+4] = 250;
+
+		SgmDisparitySelector alg = new SgmDisparitySelector();
+		alg.setRightToLeftTolerance(-1);
+		GrayF32 disparity = new GrayF32(width,height);
+		alg.selectSubpixel(cost, width, height, minDisparity, rangeDisparity, disparity);
+
+		float expected = 3 + (150f-250f)/(2f*(150-200+250));
+		assertEquals(expected, disparity.get(10,5), 1e-4f);
+		assertEquals(rangeDisparity+1, disparity.get(0,5), 1e-4f);
+	}
+
+	/**
+	 * Creates a cost volume where the best disparity is always the same
+	 */
+	private short[] createCost( int best ) {
+		short[] cost = new short[width*height*rangeDisparity];
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				for( int d = 0; d < rangeDisparity; d++ ) {
+					cost[(y*width+x)*rangeDisparity+d] = (short)(100 + 200*Math.abs(d-best));
+				}
+			}
+		}
+		return cost;
+	}
+}
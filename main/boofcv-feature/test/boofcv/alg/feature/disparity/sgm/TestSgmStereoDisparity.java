@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.feature.disparity.sgm;
+
+import boofcv.abst.feature.disparity.StereoDisparity;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.feature.disparity.ConfigDisparitySGM;
+import boofcv.factory.feature.disparity.FactoryStereoDisparity;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSgmStereoDisparity {
+
+	Random rand = new Random(234);
+	int width = 60, height = 40;
+	int disparity = 7;
+
+	/**
+	 * The right image is the left image shifted by a constant disparity
+	 */
+	@Test
+	public void constantDisparity() {
+		GrayU8 left = new GrayU8(width,height);
+		GrayU8 right = new GrayU8(width,height);
+		createShifted(left, right);
+
+		for( ConfigDisparitySGM.ErrorType error : ConfigDisparitySGM.ErrorType.values() ) {
+			ConfigDisparitySGM config = new ConfigDisparitySGM(2,20);
+			config.errorType = error;
+
+			StereoDisparity<GrayU8,GrayU8> alg = FactoryStereoDisparity.sgm(config, GrayU8.class);
+			alg.process(left, right);
+			GrayU8 found = alg.getDisparity();
+
+			int total = 0;
+			for( int y = 0; y < height; y++ ) {
+				for( int x = 0; x < config.minDisparity; x++ ) {
+					assertEquals(18+1, found.get(x, y));
+				}
+				for( int x = disparity; x < width; x++ ) {
+					if( found.get(x, y) == disparity - config.minDisparity )
+						total++;
+				}
+			}
+			// nearly all the pixels should be correct
+			assertTrue(total >= 0.95*height*(width-disparity));
+		}
+	}
+
+	@Test
+	public void subpixel() {
+		GrayU8 left = new GrayU8(width,height);
+		GrayU8 right = new GrayU8(width,height);
+		createShifted(left, right);
+
+		ConfigDisparitySGM config = new ConfigDisparitySGM(0,20);
+		config.subpixel = true;
+
+		StereoDisparity<GrayU8,GrayF32> alg = FactoryStereoDisparity.sgm(config, GrayU8.class);
+		alg.process(left, right);
+		GrayF32 found = alg.getDisparity();
+
+		int total = 0;
+		for( int y = 0; y < height; y++ ) {
+			for( int x = disparity; x < width; x++ ) {
+				if( Math.abs(found.get(x, y) - disparity) < 0.5f )
+					total++;
+			}
+		}
+		assertTrue(total >= 0.95*height*(width-disparity));
+	}
+
+	/**
+	 * Concurrent and single threaded should produce identical results
+	 */
+	@Test
+	public void concurrent() {
+		GrayU8 left = new GrayU8(width,height);
+		GrayU8 right = new GrayU8(width,height);
+		ImageMiscOps.fillUniform(left, rand, 0, 255);
+		ImageMiscOps.fillUniform(right, rand, 0, 255);
+
+		ConfigDisparitySGM config = new ConfigDisparitySGM(2,20);
+		StereoDisparity<GrayU8,GrayU8> alg = FactoryStereoDisparity.sgm(config, GrayU8.class);
+
+		alg.process(left, right);
+		GrayU8 expected = alg.getDisparity().clone();
+
+		BoofConcurrency.setMaxThreads(4);
+		BoofConcurrency.USE_CONCURRENT = true;
+		try {
+			alg.process(left, right);
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = false;
+			BoofConcurrency.setMaxThreads(Runtime.getRuntime().availableProcessors());
+		}
+
+		BoofTesting.assertEquals(expected, alg.getDisparity(), 0);
+	}
+
+	private void createShifted( GrayU8 left , GrayU8 right ) {
+		ImageMiscOps.fillUniform(right, rand, 0, 255);
+		for( int y = 0; y < height; y++ ) {
+			for( int x = 0; x < width; x++ ) {
+				int xr = x - disparity;
+				left.set(x, y, xr >= 0 ? right.get(xr, y) : rand.nextInt(256));
+			}
+		}
+	}
+}
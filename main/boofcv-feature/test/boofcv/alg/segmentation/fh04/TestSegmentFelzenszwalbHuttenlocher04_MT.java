@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.segmentation.fh04;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.segmentation.ConfigFh04;
+import boofcv.factory.segmentation.FactorySegmentationAlg;
+import boofcv.struct.ConnectRule;
+import boofcv.struct.image.*;
+import boofcv.testing.BoofTesting;
+import org.ddogleg.struct.GrowQueue_I32;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSegmentFelzenszwalbHuttenlocher04_MT {
+
+	Random rand = new Random(234);
+
+	int originalThreads;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+		BoofConcurrency.USE_CONCURRENT = true;
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	/**
+	 * Floating point images with random noise will have unique edge weights, so the results should be
+	 * identical to the single threaded algorithm
+	 */
+	@Test
+	public void compareToSingleThread() {
+		for( ConnectRule rule : new ConnectRule[]{ConnectRule.FOUR,ConnectRule.EIGHT}) {
+			compareToSingleThread(ImageType.single(GrayF32.class), rule, 90, 110, 32, 50000);
+			compareToSingleThread(ImageType.pl(3,GrayF32.class), rule, 71, 65, 32, 50000);
+		}
+	}
+
+	private void compareToSingleThread( ImageType<?> imageType , ConnectRule rule , int width , int height ,
+										int bandHeight , int minSortBlock ) {
+		ImageBase input = imageType.createImage(width, height);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ConfigFh04 config = new ConfigFh04(100, 20, rule, 0);
+		config.concurrent = false;
+		SegmentFelzenszwalbHuttenlocher04 single = FactorySegmentationAlg.fh04(config, imageType);
+		config.concurrent = true;
+		SegmentFelzenszwalbHuttenlocher04 multi = FactorySegmentationAlg.fh04(config, imageType);
+		assertTrue(multi instanceof SegmentFelzenszwalbHuttenlocher04_MT);
+		((SegmentFelzenszwalbHuttenlocher04_MT)multi).setBandHeight(bandHeight);
+		((SegmentFelzenszwalbHuttenlocher04_MT)multi).setMinSortBlock(minSortBlock);
+
+		GrayS32 expected = new GrayS32(width, height);
+		GrayS32 found = new GrayS32(width, height);
+
+		single.process(input, expected);
+		// process it twice to make sure it's reset correctly
+		multi.process(input, found);
+		multi.process(BoofTesting.createSubImageOf(input), found);
+
+		BoofTesting.assertEquals(expected, found, 0);
+		compare(single.getRegionId(), multi.getRegionId());
+		compare(single.getRegionSizes(), multi.getRegionSizes());
+		// sanity check
+		assertTrue(single.getRegionId().size > 1);
+	}
+
+	/**
+	 * Edge weights in U8 images have lots of ties, but the results should still not depend on the
+	 * number of threads.  Also checks the approximate sort
+	 */
+	@Test
+	public void independentOfThreads() {
+		GrayU8 input = new GrayU8(120,100);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		for( int bins : new int[]{0,2000}) {
+			ConfigFh04 config = new ConfigFh04(100, 20, ConnectRule.EIGHT, bins);
+			SegmentFelzenszwalbHuttenlocher04<GrayU8> alg =
+					FactorySegmentationAlg.fh04(config, ImageType.single(GrayU8.class));
+
+			GrayS32 expected = new GrayS32(input.width, input.height);
+			GrayS32 found = new GrayS32(input.width, input.height);
+
+			BoofConcurrency.setMaxThreads(1);
+			alg.process(input, expected);
+			BoofConcurrency.setMaxThreads(4);
+			alg.process(input, found);
+
+			BoofTesting.assertEquals(expected, found, 0);
+
+			// every pixel should be assigned to a region
+			GrowQueue_I32 sizes = alg.getRegionSizes();
+			int total = 0;
+			for (int i = 0; i < sizes.size; i++) {
+				assertTrue(sizes.get(i) >= 20);
+				total += sizes.get(i);
+			}
+			assertEquals(input.width*input.height, total);
+		}
+	}
+
+	/**
+	 * Makes sure bands which are split across the image are handled correctly
+	 */
+	@Test
+	public void smallBands() {
+		for( ConnectRule rule : new ConnectRule[]{ConnectRule.FOUR,ConnectRule.EIGHT}) {
+			compareToSingleThread(ImageType.single(GrayF32.class), rule, 40, 33, 1, 10);
+		}
+	}
+
+	/**
+	 * The concurrent algorithm should be selected when requested through the configuration
+	 */
+	@Test
+	public void factoryConfiguration() {
+		ImageType<GrayU8> imageType = ImageType.single(GrayU8.class);
+		assertTrue(FactorySegmentationAlg.fh04(new ConfigFh04(), imageType) instanceof SegmentFelzenszwalbHuttenlocher04_MT);
+
+		ConfigFh04 config = new ConfigFh04();
+		config.concurrent = false;
+		assertFalse(FactorySegmentationAlg.fh04(config, imageType) instanceof SegmentFelzenszwalbHuttenlocher04_MT);
+
+		BoofConcurrency.USE_CONCURRENT = false;
+		assertFalse(FactorySegmentationAlg.fh04(new ConfigFh04(), imageType) instanceof SegmentFelzenszwalbHuttenlocher04_MT);
+	}
+
+	private static void compare( GrowQueue_I32 expected , GrowQueue_I32 found ) {
+		assertEquals(expected.size, found.size);
+		for (int i = 0; i < expected.size; i++) {
+			assertEquals(expected.get(i), found.get(i));
+		}
+	}
+}
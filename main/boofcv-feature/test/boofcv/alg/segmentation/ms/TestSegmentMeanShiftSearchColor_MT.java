@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.segmentation.ms;
+
+import boofcv.alg.interpolate.InterpolatePixelMB;
+import boofcv.alg.interpolate.InterpolationType;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkerPool;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.factory.segmentation.FactorySegmentationAlg;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.Planar;
+import boofcv.testing.BoofTesting;
+import georegression.struct.point.Point2D_I32;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSegmentMeanShiftSearchColor_MT {
+
+	Random rand = new Random(234);
+
+	int originalThreads;
+
+	final ImageType<Planar<GrayF32>> imageType = ImageType.pl(2,GrayF32.class);
+	WorkerPool<InterpolatePixelMB<Planar<GrayF32>>> interpolators = new WorkerPool<InterpolatePixelMB<Planar<GrayF32>>>() {
+		@Override
+		protected InterpolatePixelMB<Planar<GrayF32>> createWorker() {
+			return createInterpolate();
+		}
+	};
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+		BoofConcurrency.USE_CONCURRENT = true;
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	/**
+	 * Without the fast approximation the results should be identical to the single threaded implementation
+	 */
+	@Test
+	public void compareToSingleThread() {
+		Planar<GrayF32> image = createImage(31,42);
+
+		SegmentMeanShiftSearchColor<Planar<GrayF32>> expected = new SegmentMeanShiftSearchColor<>(30,0.05f,
+				createInterpolate(),3,3,60, false, imageType);
+		SegmentMeanShiftSearchColor_MT<Planar<GrayF32>> found = new SegmentMeanShiftSearchColor_MT<>(30,0.05f,
+				interpolators,3,3,60, false, imageType);
+		// small bands so that there are several bands for each thread
+		found.setBandHeight(5);
+
+		// process twice to make sure it's reset correctly
+		for (int trial = 0; trial < 2; trial++) {
+			expected.process(image);
+			found.process(image);
+
+			compare(expected, found);
+		}
+	}
+
+	/**
+	 * With the fast approximation the results should not depend on the number of threads
+	 */
+	@Test
+	public void fast_independentOfThreads() {
+		Planar<GrayF32> image = createImage(31,42);
+
+		SegmentMeanShiftSearchColor_MT<Planar<GrayF32>> expected = new SegmentMeanShiftSearchColor_MT<>(30,0.05f,
+				interpolators,3,3,60, true, imageType);
+		expected.setBandHeight(5);
+		SegmentMeanShiftSearchColor_MT<Planar<GrayF32>> found = new SegmentMeanShiftSearchColor_MT<>(30,0.05f,
+				interpolators,3,3,60, true, imageType);
+		found.setBandHeight(5);
+
+		BoofConcurrency.setMaxThreads(1);
+		expected.process(image);
+		BoofConcurrency.setMaxThreads(4);
+		found.process(image);
+
+		compare(expected, found);
+		checkMembers(found);
+	}
+
+	@Test
+	public void factoryConfiguration() {
+		ImageType<Planar<GrayU8>> imageType = ImageType.pl(3,GrayU8.class);
+		assertTrue(FactorySegmentationAlg.meanShift(null, imageType).search instanceof SegmentMeanShiftSearchColor_MT);
+	}
+
+	/**
+	 * Checks to see if two searches produced identical results
+	 */
+	static void compare( SegmentMeanShiftSearch expected , SegmentMeanShiftSearch found ) {
+		// sanity check to make sure the test isn't trivial
+		assertTrue(expected.getModeLocation().size > 5);
+		BoofTesting.assertEquals(expected.getPixelToRegion(), found.getPixelToRegion(), 0);
+
+		assertEquals(expected.getModeLocation().size, found.getModeLocation().size);
+		assertEquals(expected.getModeColor().size, found.getModeLocation().size);
+		assertEquals(expected.getRegionMemberCount().size, found.getRegionMemberCount().size);
+		for (int i = 0; i < expected.getModeLocation().size; i++) {
+			Point2D_I32 pa = (Point2D_I32)expected.getModeLocation().get(i);
+			Point2D_I32 pb = (Point2D_I32)found.getModeLocation().get(i);
+			assertEquals(pa.x, pb.x);
+			assertEquals(pa.y, pb.y);
+			assertEquals(expected.getRegionMemberCount().get(i), found.getRegionMemberCount().get(i));
+
+			float[] a = (float[])expected.getModeColor().get(i);
+			float[] b = (float[])found.getModeColor().get(i);
+			for (int j = 0; j < a.length; j++) {
+				assertEquals(a[j], b[j], 0);
+			}
+		}
+	}
+
+	/**
+	 * Sanity check the member count
+	 */
+	static void checkMembers( SegmentMeanShiftSearch alg ) {
+		int total = 0;
+		for (int i = 0; i < alg.getRegionMemberCount().size; i++) {
+			assertTrue(alg.getRegionMemberCount().get(i) > 0);
+			total += alg.getRegionMemberCount().get(i);
+		}
+		assertEquals(alg.getPixelToRegion().width*alg.getPixelToRegion().height, total);
+	}
+
+	private InterpolatePixelMB<Planar<GrayF32>> createInterpolate() {
+		return FactoryInterpolation.createPixelMB(0,255, InterpolationType.BILINEAR, BorderType.EXTENDED,imageType);
+	}
+
+	private Planar<GrayF32> createImage( int width , int height ) {
+		// smooth regions with noise so that there are regions of different sizes
+		Planar<GrayF32> image = imageType.createImage(width,height);
+		GImageMiscOps.fillRectangle(image,100,5,0,12,height);
+		GImageMiscOps.fillRectangle(image,200,0,20,width,10);
+		GImageMiscOps.addUniform(image,rand,-20,20);
+		return image;
+	}
+}
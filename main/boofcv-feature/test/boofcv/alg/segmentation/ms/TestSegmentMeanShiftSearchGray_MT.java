@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.segmentation.ms;
+
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.WorkerPool;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.factory.segmentation.ConfigSegmentMeanShift;
+import boofcv.factory.segmentation.FactorySegmentationAlg;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageType;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestSegmentMeanShiftSearchGray_MT {
+
+	Random rand = new Random(234);
+
+	int originalThreads;
+
+	WorkerPool<InterpolatePixelS<GrayF32>> interpolators = new WorkerPool<InterpolatePixelS<GrayF32>>() {
+		@Override
+		protected InterpolatePixelS<GrayF32> createWorker() {
+			return FactoryInterpolation.bilinearPixelS(GrayF32.class, BorderType.EXTENDED);
+		}
+	};
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+		BoofConcurrency.USE_CONCURRENT = true;
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	/**
+	 * Without the fast approximation the results should be identical to the single threaded implementation
+	 */
+	@Test
+	public void compareToSingleThread() {
+		GrayF32 image = createImage(31,42);
+
+		SegmentMeanShiftSearchGray<GrayF32> expected = new SegmentMeanShiftSearchGray<>(30,0.05f,
+				FactoryInterpolation.bilinearPixelS(GrayF32.class, BorderType.EXTENDED),3,3,40, false);
+		SegmentMeanShiftSearchGray_MT<GrayF32> found = new SegmentMeanShiftSearchGray_MT<>(30,0.05f,
+				interpolators,3,3,40, false);
+		// small bands so that there are several bands for each thread
+		found.setBandHeight(5);
+
+		// process twice to make sure it's reset correctly
+		for (int trial = 0; trial < 2; trial++) {
+			expected.process(image);
+			found.process(image);
+
+			TestSegmentMeanShiftSearchColor_MT.compare(expected, found);
+		}
+	}
+
+	/**
+	 * With the fast approximation the results should not depend on the number of threads
+	 */
+	@Test
+	public void fast_independentOfThreads() {
+		GrayF32 image = createImage(31,42);
+
+		SegmentMeanShiftSearchGray_MT<GrayF32> expected = new SegmentMeanShiftSearchGray_MT<>(30,0.05f,
+				interpolators,3,3,40, true);
+		expected.setBandHeight(5);
+		SegmentMeanShiftSearchGray_MT<GrayF32> found = new SegmentMeanShiftSearchGray_MT<>(30,0.05f,
+				interpolators,3,3,40, true);
+		found.setBandHeight(5);
+
+		BoofConcurrency.setMaxThreads(1);
+		expected.process(image);
+		BoofConcurrency.setMaxThreads(4);
+		found.process(image);
+
+		TestSegmentMeanShiftSearchColor_MT.compare(expected, found);
+		TestSegmentMeanShiftSearchColor_MT.checkMembers(found);
+	}
+
+	@Test
+	public void factoryConfiguration() {
+		ImageType<GrayU8> imageType = ImageType.single(GrayU8.class);
+		assertTrue(FactorySegmentationAlg.meanShift(null, imageType).search instanceof SegmentMeanShiftSearchGray_MT);
+
+		ConfigSegmentMeanShift config = new ConfigSegmentMeanShift();
+		config.concurrent = false;
+		assertFalse(FactorySegmentationAlg.meanShift(config, imageType).search instanceof SegmentMeanShiftSearchGray_MT);
+
+		BoofConcurrency.USE_CONCURRENT = false;
+		assertFalse(FactorySegmentationAlg.meanShift(null, imageType).search instanceof SegmentMeanShiftSearchGray_MT);
+	}
+
+	private GrayF32 createImage( int width , int height ) {
+		// smooth regions with noise so that there are regions of different sizes
+		GrayF32 image = new GrayF32(width,height);
+		ImageMiscOps.fillRectangle(image,100,5,0,12,height);
+		ImageMiscOps.fillRectangle(image,200,0,20,width,10);
+		ImageMiscOps.addUniform(image,rand,-20,20);
+		return image;
+	}
+}
@@ -20,12 +20,14 @@ package boofcv.alg.segmentation.slic;
 
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.segmentation.ImageSegmentationOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.ConnectRule;
 import boofcv.struct.feature.ColorQueue_F32;
 import boofcv.struct.image.GrayS32;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
+import boofcv.testing.BoofTesting;
 import org.ddogleg.struct.FastQueue;
 import org.ddogleg.struct.GrowQueue_I32;
 import org.junit.Test;
@@ -75,6 +77,45 @@ public abstract class GeneralSegmentSlicColorChecks<T extends ImageBase<T>> {
 		}
 	}
 
+	/**
+	 * Results with and without concurrency should be identical
+	 */
+	@Test
+	public void concurrent() {
+		T input = imageType.createImage(70,95);
+		GImageMiscOps.fillUniform(input, rand, 0, 200);
+
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		boolean originalConcurrent = BoofConcurrency.USE_CONCURRENT;
+		try {
+			BoofConcurrency.setMaxThreads(4);
+
+			SegmentSlic<T> alg = createAlg(30,200,10, ConnectRule.EIGHT );
+			// small bands so that there are several bands for each thread
+			alg.setBandHeight(7);
+
+			BoofConcurrency.USE_CONCURRENT = false;
+			GrayS32 expected = new GrayS32(input.width,input.height);
+			alg.process(input,expected);
+			GrowQueue_I32 expectedCount = new GrowQueue_I32();
+			expectedCount.setTo(alg.getRegionMemberCount());
+
+			BoofConcurrency.USE_CONCURRENT = true;
+			GrayS32 found = new GrayS32(input.width,input.height);
+			alg.process(input,found);
+			GrowQueue_I32 foundCount = alg.getRegionMemberCount();
+
+			BoofTesting.assertEquals(expected, found, 0);
+			assertEquals(expectedCount.size, foundCount.size);
+			for (int i = 0; i < expectedCount.size; i++) {
+				assertEquals(expectedCount.get(i), foundCount.get(i));
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(originalThreads);
+			BoofConcurrency.USE_CONCURRENT = originalConcurrent;
+		}
+	}
+
 	@Test
 	public void setColor() {
 		T input = imageType.createImage(30,40);
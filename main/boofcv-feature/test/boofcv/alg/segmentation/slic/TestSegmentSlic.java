@@ -101,11 +101,11 @@ public class TestSegmentSlic {
 		for( int y = y0; y < y1; y++ ) {
 			for( int x = x0; x < x1; x++ ) {
 				int index = y*alg.input.width + x;
-				SegmentSlic.Pixel p = alg.pixels.get(index);
 
 				boolean contains = false;
-				for( int i = 0; i < p.clusters.size; i++ ) {
-					if( p.clusters.data[i].cluster == c )
+				for( int i = 0; i < alg.pixelCount.get(index); i++ ) {
+					int id = alg.pixelClusters.get(index*alg.pixelCapacity + i);
+					if( alg.clusters.get(id) == c )
 						contains = true;
 				}
 				assertTrue(contains);
@@ -113,6 +113,38 @@ public class TestSegmentSlic {
 		}
 	}
 
+	/**
+	 * Every pixel is near more clusters than there is room for.  The storage should grow so that none are lost
+	 */
+	@Test
+	public void computeClusterDistance_growCapacity() {
+		DummySlic alg = new DummySlic(4,1,10);
+
+		GrayU8 input = new GrayU8(7,9);
+		alg.pixelCapacity = 2;
+		alg.initalize(input);
+
+		for (int i = 0; i < 5; i++) {
+			SegmentSlic.Cluster c = alg.clusters.grow();
+			c.x = 3; c.y = 4;
+		}
+
+		alg.gridInterval = 10;
+		alg.computeClusterDistance();
+
+		assertEquals(5,alg.pixelCapacity);
+		for (int i = 0; i < 5; i++) {
+			checkPixelContains(0,7,0,9,alg.clusters.get(i),alg);
+		}
+		for (int index = 0; index < input.width*input.height; index++) {
+			assertEquals(5,alg.pixelCount.get(index));
+			// clusters should be in the same order as they are in the list
+			for (int i = 0; i < 5; i++) {
+				assertEquals(i,alg.pixelClusters.get(index*alg.pixelCapacity+i));
+			}
+		}
+	}
+
 	@Test
 	public void updateClusters() {
 		DummySlic alg = new DummySlic(4,1,10);
@@ -121,15 +153,15 @@ public class TestSegmentSlic {
 		SegmentSlic.Cluster c1 = alg.clusters.grow();
 		SegmentSlic.Cluster c2 = alg.clusters.grow();
 
-		alg.pixels.resize(6);
-		alg.pixels.get(0).add(c0,2); // 0.666666
-		alg.pixels.get(0).add(c1,4); // 0.333333
+		alg.declarePixels(6);
+		add(alg,0,0,2); // 0.666666
+		add(alg,0,1,4); // 0.333333
 
-		alg.pixels.get(1).add(c1,1); // 0.75
-		alg.pixels.get(1).add(c0,3); // 0.25
+		add(alg,1,1,1); // 0.75
+		add(alg,1,0,3); // 0.25
 
 		for( int i = 2; i < 6; i++ ) {
-			alg.pixels.get(i).add(c2,0.2f);
+			add(alg,i,2,0.2f);
 		}
 
 		alg.input = new GrayU8(2,3);
@@ -156,17 +188,17 @@ public class TestSegmentSlic {
 		SegmentSlic.Cluster c2 = alg.clusters.grow();
 		c0.id = 0; c1.id = 1; c2.id = 2;
 
-		alg.pixels.resize(6);
-		alg.pixels.get(0).add(c0,2);
-		alg.pixels.get(0).add(c1,4);
-		alg.pixels.get(0).add(c2,0.1f);
+		alg.declarePixels(6);
+		add(alg,0,0,2);
+		add(alg,0,1,4);
+		add(alg,0,2,0.1f);
 
-		alg.pixels.get(1).add(c1,1);
-		alg.pixels.get(1).add(c0,2);
+		add(alg,1,1,1);
+		add(alg,1,0,2);
 
 		for( int i = 2; i < 6; i++ ) {
-			alg.pixels.get(i).add(c1,0);
-			alg.pixels.get(i).add(c2,0.2f);
+			add(alg,i,1,0);
+			add(alg,i,2,0.2f);
 		}
 
 		GrayS32 image = new GrayS32(2,3);
@@ -190,47 +222,54 @@ public class TestSegmentSlic {
 
 	}
 
+	/**
+	 * A pixel which isn't near any cluster is assigned to a new region
+	 */
 	@Test
-	public void Pixel_add()
-	{
-		SegmentSlic.Cluster c0 = new SegmentSlic.Cluster();
-		SegmentSlic.Cluster c1 = new SegmentSlic.Cluster();
+	public void assignLabelsToPixels_unassigned() {
+		DummySlic alg = new DummySlic(4,1,10);
 
-		SegmentSlic.Pixel p = new SegmentSlic.Pixel();
+		SegmentSlic.Cluster c0 = alg.clusters.grow();
+		c0.id = 0;
 
-		assertEquals(0,p.clusters.size);
+		alg.declarePixels(6);
+		for( int i = 0; i < 6; i++ ) {
+			if( i != 1 && i != 4 )
+				add(alg,i,0,1);
+		}
 
-		p.add(c0, 2.2f);
-		assertEquals(1, p.clusters.size);
-		assertEquals(2.2f, p.clusters.data[0].distance, 1e-4f);
-		assertTrue(c0 == p.clusters.data[0].cluster);
+		GrayS32 image = new GrayS32(2,3);
+		GrowQueue_I32 regionMemberCount = new GrowQueue_I32();
+		FastQueue<float[]> regionColor = new ColorQueue_F32(1);
 
-		p.add(c1, 1.2f);
-		assertEquals(2, p.clusters.size);
-		assertEquals(1.2f, p.clusters.data[1].distance, 1e-4f);
-		assertTrue(c1 == p.clusters.data[1].cluster);
-	}
+		alg.assignLabelsToPixels(image,regionMemberCount,regionColor);
 
+		assertEquals(3,regionMemberCount.size);
+		assertEquals(3,regionColor.size);
+		assertEquals(4,regionMemberCount.get(0));
+		assertEquals(1,regionMemberCount.get(1));
+		assertEquals(1,regionMemberCount.get(2));
 
-	@Test
-	public void Pixel_computeWeights() {
-		SegmentSlic.Pixel p = new SegmentSlic.Pixel();
+		assertEquals(1,image.data[1]);
+		assertEquals(2,image.data[4]);
+	}
 
-		p.clusters.grow().distance = 2;
-		p.clusters.grow().distance = 0.3f;
+	@Test
+	public void computeWeights() {
+		float[] distances = new float[]{5,2,0.3f};
 
-		p.computeWeights();
+		SegmentSlic.computeWeights(distances,1,2);
 
-		assertEquals(1.0f - 2f/2.3f,p.clusters.data[0].distance,1e-4f);
-		assertEquals(1.0f - 0.3f/2.3f,p.clusters.data[1].distance,1e-4f);
+		assertEquals(5f,distances[0],1e-4f);
+		assertEquals(1.0f - 2f/2.3f,distances[1],1e-4f);
+		assertEquals(1.0f - 0.3f/2.3f,distances[2],1e-4f);
 
 		// check special case of 1 item.  The weight will be 1 since it is the only one
-		p.clusters.size = 1;
-		p.clusters.data[0].distance = 2;
+		distances[1] = 2;
 
-		p.computeWeights();
+		SegmentSlic.computeWeights(distances,1,1);
 
-		assertEquals(1.0f,p.clusters.data[0].distance,1e-4f);
+		assertEquals(1.0f,distances[1],1e-4f);
 	}
 
 	@Test
@@ -256,6 +295,15 @@ public class TestSegmentSlic {
 		assertEquals(56.8f,c.color[1],1e-4f);
 	}
 
+	/**
+	 * Adds a cluster to the list of clusters which are near the pixel
+	 */
+	private static void add( DummySlic alg , int pixel , int cluster , float distance ) {
+		int n = alg.pixelCount.data[pixel]++;
+		alg.pixelClusters.data[pixel*alg.pixelCapacity + n] = cluster;
+		alg.pixelDistances.data[pixel*alg.pixelCapacity + n] = distance;
+	}
+
 	public static class DummySlic extends SegmentSlic<GrayU8> {
 
 		public DummySlic(int numberOfRegions, float m, int totalIterations) {
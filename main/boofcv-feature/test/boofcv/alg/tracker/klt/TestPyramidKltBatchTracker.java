@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.tracker.klt;
+
+import boofcv.abst.filter.derivative.ImageGradient;
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.transform.pyramid.PyramidOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.filter.derivative.FactoryDerivative;
+import boofcv.struct.image.GrayF32;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPyramidKltBatchTracker extends PyramidKltTestBase {
+
+	ImageGradient<GrayF32,GrayF32> gradient = FactoryDerivative.sobel(GrayF32.class,GrayF32.class);
+
+	GrayF32 frame0 = new GrayF32(width,height);
+	GrayF32 frame1 = new GrayF32(width,height);
+
+	@Before
+	public void setup() {
+		super.setup();
+
+		// textured image and the same image shifted by a couple of pixels
+		GrayF32 noise = new GrayF32(width,height);
+		ImageMiscOps.fillUniform(noise,rand,0,100);
+		BlurImageOps.gaussian(noise,frame0,-1,2,null);
+		ImageMiscOps.fill(frame1,50);
+		frame1.subimage(2,1,width,height,null).setTo(frame0.subimage(0,0,width-2,height-1,null));
+	}
+
+	private void processFrame( GrayF32 frame ) {
+		pyramid.process(frame);
+		PyramidOps.gradient(pyramid,gradient,derivX,derivY);
+	}
+
+	private PyramidKltBatchTracker<GrayF32,GrayF32> createBatch() {
+		return new PyramidKltBatchTracker<>(tracker.tracker.config,featureReadius,GrayF32.class,GrayF32.class);
+	}
+
+	/**
+	 * Should produce identical results to the feature at a time tracker, including features along the border
+	 * and ones which fail
+	 */
+	@Test
+	public void compareToPyramidKlt() {
+		PyramidKltBatchTracker<GrayF32,GrayF32> alg = createBatch();
+
+		processFrame(frame0);
+		tracker.setImage(pyramid,derivX,derivY);
+		alg.setImage(pyramid,derivX,derivY);
+
+		int N = 0;
+		PyramidKltFeature[] features = new PyramidKltFeature[200];
+		int[] indexes = new int[features.length];
+		for( int y = -4; y < height+4; y += 5 ) {
+			for( int x = -4; x < width+4; x += 5 ) {
+				PyramidKltFeature f = new PyramidKltFeature(pyramid.getNumLayers(),featureReadius);
+				f.setPosition(x+0.3f,y+0.6f);
+				boolean expected = tracker.setDescription(f);
+				int index = alg.addFeature(x+0.3f,y+0.6f);
+				assertEquals(expected, index >= 0);
+				if( expected ) {
+					features[N] = f;
+					indexes[N++] = index;
+				}
+			}
+		}
+		assertTrue(N > 50);
+		assertEquals(N,alg.getNumActive());
+
+		processFrame(frame1);
+		tracker.setImage(pyramid,derivX,derivY);
+		alg.setImage(pyramid,derivX,derivY);
+		alg.trackAll();
+
+		int numSuccess = 0;
+		for( int i = 0; i < N; i++ ) {
+			PyramidKltFeature f = features[i];
+			float origX = f.x, origY = f.y;
+			KltTrackFault expected = tracker.track(f);
+			assertEquals(expected, alg.getFault(indexes[i]));
+			if( expected == KltTrackFault.SUCCESS ) {
+				numSuccess++;
+				assertEquals(f.x, alg.getX(indexes[i]), 0);
+				assertEquals(f.y, alg.getY(indexes[i]), 0);
+				assertEquals(tracker.tracker.getError(), alg.getError(indexes[i]), 0);
+			} else {
+				assertEquals(origX, alg.getX(indexes[i]), 0);
+				assertEquals(origY, alg.getY(indexes[i]), 0);
+			}
+		}
+		assertTrue(numSuccess > N/2);
+	}
+
+	/**
+	 * Tracks a feature which needs the pyramid to be found
+	 */
+	@Test
+	public void track_largeOffset() {
+		PyramidKltBatchTracker<GrayF32,GrayF32> alg = createBatch();
+		alg.setImage(pyramid,derivX,derivY);
+
+		int index = alg.addFeature(cornerX,cornerY);
+		assertTrue(index >= 0);
+
+		alg.setPosition(index,cornerX-5.4f,cornerY+5.3f);
+		alg.trackAll();
+		assertEquals(KltTrackFault.SUCCESS, alg.getFault(index));
+		assertEquals(cornerX,alg.getX(index),0.2);
+		assertEquals(cornerY,alg.getY(index),0.2);
+	}
+
+	@Test
+	public void concurrent() {
+		PyramidKltBatchTracker<GrayF32,GrayF32> serial = createBatch();
+		PyramidKltBatchTracker<GrayF32,GrayF32> concurrent = createBatch();
+
+		for( int trial = 0; trial < 2; trial++ ) {
+			processFrame(frame0);
+			serial.setImage(pyramid, derivX, derivY);
+			concurrent.setImage(pyramid, derivX, derivY);
+			for (int i = 0; i < 300; i++) {
+				float x = rand.nextFloat()*width;
+				float y = rand.nextFloat()*height;
+				assertEquals(serial.addFeature(x, y), concurrent.addFeature(x, y));
+			}
+
+			processFrame(frame1);
+			serial.setImage(pyramid, derivX, derivY);
+			concurrent.setImage(pyramid, derivX, derivY);
+			serial.trackAll();
+			serial.updateDescriptions();
+			try {
+				BoofConcurrency.setMaxThreads(4);
+				BoofConcurrency.USE_CONCURRENT = true;
+				concurrent.trackAll();
+				concurrent.updateDescriptions();
+			} finally {
+				BoofConcurrency.USE_CONCURRENT = false;
+				BoofConcurrency.setMaxThreads(Runtime.getRuntime().availableProcessors());
+			}
+
+			assertEquals(serial.getNumSlots(), concurrent.getNumSlots());
+			for (int i = 0; i < serial.getNumSlots(); i++) {
+				assertEquals(serial.isActive(i), concurrent.isActive(i));
+				if( !serial.isActive(i) )
+					continue;
+				assertEquals(serial.getFault(i), concurrent.getFault(i));
+				assertEquals(serial.getX(i), concurrent.getX(i), 0);
+				assertEquals(serial.getY(i), concurrent.getY(i), 0);
+				assertEquals(serial.getError(i), concurrent.getError(i), 0);
+			}
+
+			// drop half the features so that their slots are recycled in the next trial
+			for (int i = 0; i < serial.getNumSlots(); i += 2) {
+				assertEquals(serial.dropFeature(i), concurrent.dropFeature(i));
+			}
+		}
+	}
+
+	@Test
+	public void dropFeature() {
+		PyramidKltBatchTracker<GrayF32,GrayF32> alg = createBatch();
+		alg.setImage(pyramid,derivX,derivY);
+
+		int a = alg.addFeature(cornerX,cornerY);
+		int b = alg.addFeature(cornerX+20,cornerY);
+		assertEquals(2,alg.getNumActive());
+
+		assertTrue(alg.dropFeature(a));
+		assertFalse(alg.dropFeature(a));
+		assertFalse(alg.isActive(a));
+		assertEquals(1,alg.getNumActive());
+
+		// the slot should be reused
+		assertEquals(a,alg.addFeature(cornerX,cornerY+10));
+		assertEquals(2,alg.getNumSlots());
+		assertTrue(alg.isActive(b));
+	}
+
+	/**
+	 * After the first frame no memory should be declared when processing a new frame
+	 */
+	@Test
+	public void zeroAllocation() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if( !(bean instanceof com.sun.management.ThreadMXBean) )
+			return;
+		com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean)bean;
+		if( !sunBean.isThreadAllocatedMemorySupported() || !sunBean.isThreadAllocatedMemoryEnabled() )
+			return;
+
+		PyramidKltBatchTracker<GrayF32,GrayF32> alg = createBatch();
+		processFrame(frame0);
+		alg.setImage(pyramid,derivX,derivY);
+		for( int y = 5; y < height-5; y += 4 ) {
+			for( int x = 5; x < width-5; x += 4 ) {
+				alg.addFeature(x,y);
+			}
+		}
+
+		// warm up
+		for (int i = 0; i < 20; i++) {
+			alg.setImage(pyramid,derivX,derivY);
+			alg.trackAll();
+			alg.updateDescriptions();
+		}
+
+		// The JVM can occasionally declare memory on its own, e.g. while compiling, so several attempts are made.
+		// If the tracker declared memory then every attempt would fail
+		long threadId = Thread.currentThread().getId();
+		long smallest = Long.MAX_VALUE;
+		for (int trial = 0; trial < 5 && smallest != 0; trial++) {
+			long before = sunBean.getThreadAllocatedBytes(threadId);
+			for (int i = 0; i < 20; i++) {
+				alg.setImage(pyramid, derivX, derivY);
+				alg.trackAll();
+				alg.updateDescriptions();
+				alg.dropFeature(0);
+				alg.addFeature(5, 5);
+			}
+			smallest = Math.min(smallest, sunBean.getThreadAllocatedBytes(threadId) - before);
+		}
+
+		assertEquals(0, smallest);
+	}
+}
@@ -19,23 +19,67 @@
 package boofcv.io.video;
 
 import boofcv.io.image.SimpleImageSequence;
-import boofcv.io.wrapper.images.MjpegStreamSequence;
+import boofcv.io.wrapper.images.MjpegDecodeAheadSequence;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
 
-import java.io.FileNotFoundException;
+import java.io.IOException;
 
 /**
+ * Built in reader for MJPEG files.  Frames are decoded ahead of time by background threads, see
+ * {@link MjpegDecodeAheadSequence}.  The returned sequence can be cast into {@link MjpegDecodeAheadSequence}
+ * to see how long it takes to decode a frame and how many decoded frames are waiting.
+ *
  * @author Peter Abeles
  */
 public class BoofMjpegVideo implements VideoInterface {
+
+	// number of frames in the ring buffer
+	int bufferSize;
+	// number of threads which decode frames
+	int numDecoders;
+
+	/**
+	 * Specifies how frames are decoded
+	 *
+	 * @param bufferSize Number of frames which are stored in memory.  Must be at least 2.
+	 * @param numDecoders Number of threads which decode frames.
+	 */
+	public BoofMjpegVideo( int bufferSize , int numDecoders ) {
+		this.bufferSize = bufferSize;
+		this.numDecoders = numDecoders;
+	}
+
+	/**
+	 * Uses a buffer of 8 frames and up to 4 decoding threads
+	 */
+	public BoofMjpegVideo() {
+		this(8, Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()-1)));
+	}
+
 	@Override
 	public <T extends ImageBase<T>> SimpleImageSequence<T> load(String fileName, ImageType<T> imageType) {
 
 		try {
-			return new MjpegStreamSequence(fileName,imageType);
-		} catch (FileNotFoundException e) {
+			return new MjpegDecodeAheadSequence<>(fileName, imageType, bufferSize, numDecoders);
+		} catch (IOException e) {
 			return null;
 		}
 	}
+
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	public void setBufferSize(int bufferSize) {
+		this.bufferSize = bufferSize;
+	}
+
+	public int getNumDecoders() {
+		return numDecoders;
+	}
+
+	public void setNumDecoders(int numDecoders) {
+		this.numDecoders = numDecoders;
+	}
 }
@@ -20,13 +20,10 @@ package boofcv.io.video;
 
 import boofcv.io.image.SimpleImageSequence;
 import boofcv.io.wrapper.images.ImageStreamSequence;
-import boofcv.io.wrapper.images.JpegByteImageSequence;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
 
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.util.List;
 
 /**
  * This video interface attempts to load a native reader.  If that fails, jcodec, if that fails it just
@@ -61,13 +58,10 @@ public class DynamicVideoInterface implements VideoInterface {
 		// Use built in movie readers for these file types
 		if( fileName.endsWith("mjpeg") || fileName.endsWith("MJPEG") ||
 				fileName.endsWith("mjpg") || fileName.endsWith("MJPG") ) {
-			try {
-				VideoMjpegCodec codec = new VideoMjpegCodec();
-				List<byte[]> data = codec.read(new FileInputStream(fileName));
-				return new JpegByteImageSequence<>(imageType, data, false);
-			} catch (FileNotFoundException e) {
-				throw new RuntimeException(e);
-			}
+			SimpleImageSequence<T> sequence = mjpeg.load(fileName, imageType);
+			if( sequence == null )
+				throw new RuntimeException("Can't open "+fileName);
+			return sequence;
 		} else if( fileName.endsWith("mpng") || fileName.endsWith("MPNG")) {
 			try {
 				return new ImageStreamSequence<>(fileName, true, imageType);
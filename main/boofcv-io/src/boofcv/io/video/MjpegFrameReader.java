@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.video;
+
+import org.ddogleg.struct.GrowQueue_I8;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * <p>
+ * Splits a MJPEG stream into the compressed data of each frame using NIO.  Files are memory mapped, if they are
+ * small enough, and the frame boundaries are found by scanning the mapped memory directly.  Other
+ * sources are read in blocks into a buffer which grows as needed to hold a complete frame.
+ * </p>
+ *
+ * <p>
+ * A frame starts with the start of image (SOI) marker and ends with the end of image (EOI) marker.  Both markers
+ * are included in the returned data, unlike {@link VideoMjpegCodec}.  Data after the last complete frame is ignored.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class MjpegFrameReader implements Closeable {
+
+	// initial size of the buffer when reading from a stream
+	private static final int INITIAL_BUFFER = 1024*200;
+
+	// source of the data.  null if the whole file is memory mapped
+	private ReadableByteChannel channel;
+	// channel for the file which has been memory mapped
+	private FileChannel file;
+	// Data which has been read but not yet returned starts at position and ends at limit
+	private ByteBuffer buffer;
+	// true if there is no more data to read from the channel
+	private boolean endOfChannel;
+
+	/**
+	 * Opens a file.  If the file can be memory mapped it will be.
+	 *
+	 * @param fileName Path to the MJPEG file
+	 */
+	public MjpegFrameReader( String fileName ) throws IOException {
+		file = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ);
+		long size = file.size();
+		if( size <= Integer.MAX_VALUE ) {
+			buffer = file.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		} else {
+			// too large to be memory mapped with a single buffer
+			channel = file;
+			createStreamBuffer();
+		}
+	}
+
+	/**
+	 * Reads from a stream, e.g. a network camera.
+	 *
+	 * @param in Input stream
+	 */
+	public MjpegFrameReader( InputStream in ) {
+		channel = Channels.newChannel(in);
+		createStreamBuffer();
+	}
+
+	private void createStreamBuffer() {
+		buffer = ByteBuffer.allocate(INITIAL_BUFFER);
+		buffer.limit(0);
+	}
+
+	/**
+	 * Reads the next frame.
+	 *
+	 * @param output (Output) Storage for the compressed frame.  Resized to the frame's length.
+	 * @return true if a frame was read or false if the end of the data has been reached
+	 */
+	public boolean readFrame( GrowQueue_I8 output ) throws IOException {
+		if( channel != null ) {
+			// discard the data which has already been read so that indexes start at zero
+			buffer.compact();
+			buffer.flip();
+		}
+
+		int start = findMarker(buffer.position(), VideoMjpegCodec.SOI);
+		if( start < 0 ) {
+			buffer.position(buffer.limit());
+			return false;
+		}
+		int end = findMarker(start+2, VideoMjpegCodec.EOI);
+		if( end < 0 ) {
+			buffer.position(buffer.limit());
+			return false;
+		}
+
+		int length = end+2-start;
+		output.resize(length);
+		buffer.position(start);
+		buffer.get(output.data, 0, length);
+		return true;
+	}
+
+	/**
+	 * Finds the index of the 0xFF which precedes the marker.
+	 *
+	 * @return index of the marker or -1 if the marker was not found
+	 */
+	private int findMarker( int index , byte marker ) throws IOException {
+		while( true ) {
+			int limit = buffer.limit()-1;
+			for( ; index < limit; index++ ) {
+				if( buffer.get(index) == (byte)0xFF && buffer.get(index+1) == marker )
+					return index;
+			}
+			if( !fill() )
+				return -1;
+		}
+	}
+
+	/**
+	 * Reads more data from the channel into the end of the buffer.  If the buffer is full its size is doubled.
+	 *
+	 * @return true if more data was read
+	 */
+	private boolean fill() throws IOException {
+		if( channel == null || endOfChannel )
+			return false;
+
+		if( buffer.limit() == buffer.capacity() ) {
+			ByteBuffer larger = ByteBuffer.allocate(buffer.capacity()*2);
+			buffer.position(0);
+			larger.put(buffer);
+			larger.flip();
+			buffer = larger;
+		}
+
+		int position = buffer.position();
+		int limit = buffer.limit();
+		buffer.position(limit);
+		buffer.limit(buffer.capacity());
+		int found;
+		do {
+			found = channel.read(buffer);
+		} while( found == 0 );
+		buffer.limit(buffer.position());
+		buffer.position(position);
+
+		if( found < 0 ) {
+			endOfChannel = true;
+			return false;
+		}
+		return true;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if( channel != null )
+			channel.close();
+		if( file != null )
+			file.close();
+		channel = null;
+		file = null;
+	}
+}
@@ -0,0 +1,495 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.wrapper.images;
+
+import boofcv.io.image.ConvertBufferedImage;
+import boofcv.io.image.SimpleImageSequence;
+import boofcv.io.video.MjpegFrameReader;
+import boofcv.struct.image.ImageBase;
+import boofcv.struct.image.ImageType;
+import org.ddogleg.struct.GrowQueue_I8;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * <p>
+ * Reads a MJPEG stream and decodes the frames ahead of when they are requested.  A background thread finds
+ * the frames using {@link MjpegFrameReader} and passes them to a pool of threads which decode them.
+ * Decoded frames are stored in a ring buffer with a fixed number of frames.  The images in the ring buffer are
+ * recycled, so the image returned by {@link #next()} is only valid until the next call to {@link #next()}.
+ * Frames are always returned in the order they appear in the stream.  When reading from a file and looping is
+ * turned on, the file is read again from the beginning once the end has been reached.
+ * </p>
+ *
+ * <p>
+ * The time it takes to decode a frame and the number of decoded frames waiting in the buffer can be used
+ * to see if decoding is keeping up with processing.  See {@link #getDecodeLatency()} and {@link #getQueueDepth()}.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class MjpegDecodeAheadSequence<T extends ImageBase<T>>
+		implements SimpleImageSequence<T>
+{
+	// states of a frame in the ring buffer
+	private static final int FREE = 0;
+	private static final int DECODING = 1;
+	private static final int READY = 2;
+
+	// name of the file being read.  null if it's a stream and can't be reset
+	String fileName;
+	MjpegFrameReader reader;
+	ImageType<T> imageType;
+
+	// ring buffer of frames.  Frame i is stored in ring[i % ring.length]
+	Frame[] ring;
+	// decodes the frames
+	ExecutorService decoders;
+	// reads the compressed frames
+	Thread readerThread;
+
+	//------------- The fields below are only accessed while synchronized
+	// index of the next frame which will be returned
+	int nextFrame;
+	// total number of frames in the stream.  -1 if the end hasn't been reached yet
+	int totalFrames = -1;
+	// error encountered while reading the stream
+	IOException readError;
+	// frame which was last returned by next()
+	Frame current;
+	boolean closed;
+	// if true the file is read again when the end is reached
+	boolean loop;
+
+	// statistics on decoding
+	long lastDecodeNano;
+	long totalDecodeNano;
+	int totalDecoded;
+
+	/**
+	 * Reads from a file, which will be memory mapped.
+	 *
+	 * @param fileName Path to the MJPEG file
+	 * @param imageType Type of output image
+	 * @param bufferSize Number of frames in the ring buffer.  Must be at least 2.
+	 * @param numDecoders Number of threads which decode frames
+	 */
+	public MjpegDecodeAheadSequence( String fileName , ImageType<T> imageType ,
+									 int bufferSize , int numDecoders ) throws IOException {
+		this(new MjpegFrameReader(fileName), imageType, bufferSize, numDecoders);
+		this.fileName = fileName;
+	}
+
+	/**
+	 * Reads from a stream.  {@link #reset()} is not supported.
+	 *
+	 * @param in Stream containing MJPEG data
+	 * @param imageType Type of output image
+	 * @param bufferSize Number of frames in the ring buffer.  Must be at least 2.
+	 * @param numDecoders Number of threads which decode frames
+	 */
+	public MjpegDecodeAheadSequence( InputStream in , ImageType<T> imageType ,
+									 int bufferSize , int numDecoders ) {
+		this(new MjpegFrameReader(in), imageType, bufferSize, numDecoders);
+	}
+
+	@SuppressWarnings("unchecked")
+	private MjpegDecodeAheadSequence( MjpegFrameReader reader , ImageType<T> imageType ,
+									  int bufferSize , int numDecoders ) {
+		if( bufferSize < 2 )
+			throw new IllegalArgumentException("The buffer must contain at least two frames");
+		if( numDecoders < 1 )
+			throw new IllegalArgumentException("There must be at least one decoding thread");
+
+		this.reader = reader;
+		this.imageType = imageType;
+
+		ring = new MjpegDecodeAheadSequence.Frame[bufferSize];
+		for (int i = 0; i < bufferSize; i++) {
+			ring[i] = new Frame();
+		}
+
+		decoders = Executors.newFixedThreadPool(numDecoders, new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable r) {
+				Thread t = new Thread(r, "MJPEG Decoder");
+				t.setDaemon(true);
+				return t;
+			}
+		});
+
+		startReading(0);
+	}
+
+	private void startReading( final int startIndex ) {
+		readerThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				readFrames(startIndex);
+			}
+		}, "MJPEG Reader");
+		readerThread.setDaemon(true);
+		readerThread.start();
+	}
+
+	/**
+	 * Reads the compressed frames and passes them to the decoders until the end of the stream is reached,
+	 * or the sequence is closed.  If looping, the file is opened again when the end is reached.
+	 *
+	 * @param index Index of the first frame which will be read
+	 */
+	private void readFrames( int index ) {
+		MjpegFrameReader reader = this.reader;
+		// index of the first frame read from the current pass through the file
+		int passStart = index;
+		// frame which is being read but hasn't been passed to a decoder yet
+		Frame reading = null;
+		try {
+			while( true ) {
+				Frame frame = ring[index % ring.length];
+				synchronized( this ) {
+					while( frame.state != FREE && !closed )
+						wait();
+					if( closed )
+						return;
+					frame.state = DECODING;
+					frame.index = index;
+					frame.number = index - passStart;
+				}
+
+				reading = frame;
+				if( !reader.readFrame(frame.data) ) {
+					synchronized( this ) {
+						frame.state = FREE;
+						// don't loop forever over a file with no frames
+						if( !loop || index == passStart ) {
+							totalFrames = index;
+							notifyAll();
+							return;
+						}
+					}
+					reading = null;
+					reader.close();
+					reader = this.reader = new MjpegFrameReader(fileName);
+					passStart = index;
+					continue;
+				}
+
+				decoders.execute(frame);
+				reading = null;
+				index++;
+			}
+		} catch( IOException e ) {
+			synchronized( this ) {
+				if( reading != null )
+					reading.state = FREE;
+				readError = e;
+				totalFrames = index;
+				notifyAll();
+			}
+		} catch( InterruptedException ignore ) {
+		}
+	}
+
+	/**
+	 * Blocks until the next frame has been decoded.
+	 *
+	 * @return The next frame or null if there are no more frames
+	 */
+	private synchronized Frame waitForNext() {
+		Frame frame = ring[nextFrame % ring.length];
+		while( true ) {
+			if( closed )
+				return null;
+			if( frame.state == READY && frame.index == nextFrame )
+				return frame;
+			if( totalFrames >= 0 && nextFrame >= totalFrames )
+				return null;
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			}
+		}
+	}
+
+	@Override
+	public int getNextWidth() {
+		return waitForNext().output.getWidth();
+	}
+
+	@Override
+	public int getNextHeight() {
+		return waitForNext().output.getHeight();
+	}
+
+	@Override
+	public boolean hasNext() {
+		return waitForNext() != null;
+	}
+
+	@Override
+	public T next() {
+		Frame frame = waitForNext();
+		if( frame == null )
+			throw new RuntimeException("No more frames");
+
+		synchronized( this ) {
+			// the previous frame can now be recycled
+			if( current != null ) {
+				current.state = FREE;
+				notifyAll();
+			}
+			current = frame;
+			nextFrame++;
+
+			lastDecodeNano = frame.decodeNano;
+			totalDecodeNano += frame.decodeNano;
+			totalDecoded++;
+		}
+
+		if( frame.error instanceof Error )
+			throw (Error)frame.error;
+		else if( frame.error != null )
+			throw new RuntimeException(frame.error);
+
+		return frame.output;
+	}
+
+	@Override
+	public BufferedImage getGuiImage() {
+		return current == null ? null : current.image;
+	}
+
+	@Override
+	public void close() {
+		synchronized( this ) {
+			closed = true;
+			notifyAll();
+		}
+		// interrupting will also unblock a read from a stream
+		readerThread.interrupt();
+		try {
+			readerThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		decoders.shutdownNow();
+		try {
+			reader.close();
+		} catch (IOException ignore) {
+		}
+	}
+
+	@Override
+	public int getFrameNumber() {
+		return current == null ? -1 : current.number;
+	}
+
+	/**
+	 * Specifies if the file should be read again from the beginning after the last frame.  Looping is not
+	 * supported for streams.
+	 */
+	@Override
+	public void setLoop(boolean loop) {
+		if( !loop ) {
+			synchronized( this ) {
+				this.loop = false;
+			}
+			return;
+		}
+		if( fileName == null )
+			throw new RuntimeException("Can't loop a stream");
+
+		int startIndex;
+		synchronized( this ) {
+			this.loop = true;
+			// if the reader is still running it will see the flag when it reaches the end
+			if( totalFrames < 0 || readError != null || closed )
+				return;
+			startIndex = totalFrames;
+		}
+
+		// the end of the file has already been reached.  Start reading it again
+		try {
+			readerThread.join();
+			reader.close();
+			reader = new MjpegFrameReader(fileName);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		synchronized( this ) {
+			totalFrames = -1;
+		}
+		startReading(startIndex);
+	}
+
+	@Override
+	public ImageType<T> getImageType() {
+		return imageType;
+	}
+
+	/**
+	 * Starts reading the file from the beginning.  Not supported for streams.
+	 */
+	@Override
+	public void reset() {
+		if( fileName == null )
+			throw new RuntimeException("Reset not supported for streams");
+
+		// stop reading and wait for the frames being decoded to finish
+		synchronized( this ) {
+			closed = true;
+			notifyAll();
+		}
+		try {
+			readerThread.join();
+			synchronized( this ) {
+				for( Frame f : ring ) {
+					while( f.state == DECODING )
+						wait();
+				}
+			}
+			reader.close();
+			reader = new MjpegFrameReader(fileName);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+
+		synchronized( this ) {
+			for( Frame f : ring ) {
+				f.state = FREE;
+			}
+			closed = false;
+			current = null;
+			nextFrame = 0;
+			totalFrames = -1;
+			readError = null;
+		}
+		startReading(0);
+	}
+
+	/**
+	 * Time it took to decode the frame which was last returned by {@link #next()}, in milliseconds
+	 */
+	public synchronized double getDecodeLatency() {
+		return lastDecodeNano*1e-6;
+	}
+
+	/**
+	 * Average time it took to decode the frames which have been returned by {@link #next()}, in milliseconds
+	 */
+	public synchronized double getAverageDecodeLatency() {
+		return totalDecoded == 0 ? 0 : (totalDecodeNano/(double)totalDecoded)*1e-6;
+	}
+
+	/**
+	 * Number of frames which have been decoded and are waiting to be returned by {@link #next()}
+	 */
+	public synchronized int getQueueDepth() {
+		int total = 0;
+		for( Frame f : ring ) {
+			if( f.state == READY && f != current )
+				total++;
+		}
+		return total;
+	}
+
+	/**
+	 * Number of frames in the ring buffer
+	 */
+	public int getBufferSize() {
+		return ring.length;
+	}
+
+	/**
+	 * If an error was encountered while reading the stream it's returned here.  The sequence ends when an
+	 * error is encountered.
+	 */
+	public synchronized IOException getReadError() {
+		return readError;
+	}
+
+	/**
+	 * Decodes a compressed frame.  Called from the decoding threads.
+	 *
+	 * @return The decoded image or null if it couldn't be decoded
+	 */
+	BufferedImage decode( GrowQueue_I8 data ) throws IOException {
+		return ImageIO.read(new ByteArrayInputStream(data.data, 0, data.size));
+	}
+
+	/**
+	 * Storage for a single frame in the ring buffer.  Decodes its compressed data when run.
+	 */
+	class Frame implements Runnable {
+		// compressed frame
+		GrowQueue_I8 data = new GrowQueue_I8();
+		// decoded frames
+		BufferedImage image;
+		T output = imageType.createImage(1,1);
+		// index of the frame in the stream
+		int index;
+		// index of the frame in the file.  Differs from index after looping
+		int number;
+		int state = FREE;
+		// how long it took to decode the frame
+		long decodeNano;
+		// error encountered while decoding.  Errors are caught too so that a frame is never stuck decoding
+		Throwable error;
+
+		@Override
+		public void run() {
+			long before = System.nanoTime();
+			error = null;
+			try {
+				image = decode(data);
+				if( image == null ) {
+					error = new IOException("Failed to decode frame "+index);
+				} else {
+					output.reshape(image.getWidth(), image.getHeight());
+					ConvertBufferedImage.convertFrom(image, output, true);
+				}
+			} catch( Throwable e ) {
+				error = e;
+			} finally {
+				decodeNano = System.nanoTime()-before;
+
+				synchronized( MjpegDecodeAheadSequence.this ) {
+					state = READY;
+					MjpegDecodeAheadSequence.this.notifyAll();
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.video;
+
+import org.ddogleg.struct.GrowQueue_I8;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestMjpegFrameReader {
+
+	/**
+	 * Creates a list of JPEG images with a different value in each one
+	 */
+	public static List<byte[]> createFrames( int total , int width , int height ) throws IOException {
+		return createFrames(total, width, height, null);
+	}
+
+	/**
+	 * Creates a list of JPEG images with a different value in each one.  If rand isn't null then noise is
+	 * added to make the compressed images larger
+	 */
+	public static List<byte[]> createFrames( int total , int width , int height , Random rand ) throws IOException {
+		List<byte[]> frames = new ArrayList<>();
+		for (int i = 0; i < total; i++) {
+			BufferedImage image = new BufferedImage(width,height,BufferedImage.TYPE_INT_RGB);
+			for (int y = 0; y < height; y++) {
+				for (int x = 0; x < width; x++) {
+					int v = (i*20 + x) % 256;
+					if( rand == null )
+						image.setRGB(x,y,(v << 16) | (v << 8) | v);
+					else
+						image.setRGB(x,y,rand.nextInt(1 << 24));
+				}
+			}
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			ImageIO.write(image,"jpg",out);
+			frames.add(out.toByteArray());
+		}
+		return frames;
+	}
+
+	public static byte[] concat( List<byte[]> frames ) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for( byte[] f : frames ) {
+			out.write(f,0,f.length);
+		}
+		return out.toByteArray();
+	}
+
+	public static File createFile( List<byte[]> frames ) throws IOException {
+		File file = File.createTempFile("mjpeg", ".mjpeg");
+		file.deleteOnExit();
+		FileOutputStream out = new FileOutputStream(file);
+		out.write(concat(frames));
+		out.close();
+		return file;
+	}
+
+	@Test
+	public void file() throws IOException {
+		List<byte[]> frames = createFrames(5,40,30);
+		File file = createFile(frames);
+
+		MjpegFrameReader alg = new MjpegFrameReader(file.getPath());
+		checkFrames(frames, alg);
+		alg.close();
+	}
+
+	@Test
+	public void stream() throws IOException {
+		// large enough that the internal buffer needs to grow
+		List<byte[]> frames = createFrames(3,1000,800,new Random(234));
+		byte[] data = concat(frames);
+		assertTrue(frames.get(0).length > 1024*200);
+
+		MjpegFrameReader alg = new MjpegFrameReader(new ByteArrayInputStream(data));
+		checkFrames(frames, alg);
+		alg.close();
+	}
+
+	/**
+	 * Incomplete frame at the end should be ignored
+	 */
+	@Test
+	public void truncated() throws IOException {
+		List<byte[]> frames = createFrames(3,40,30);
+		byte[] data = concat(frames);
+		data = Arrays.copyOf(data,data.length-10);
+
+		MjpegFrameReader alg = new MjpegFrameReader(new ByteArrayInputStream(data));
+		checkFrames(frames.subList(0,2), alg);
+	}
+
+	private void checkFrames(List<byte[]> frames, MjpegFrameReader alg) throws IOException {
+		GrowQueue_I8 found = new GrowQueue_I8();
+		for( byte[] expected : frames ) {
+			assertTrue(alg.readFrame(found));
+			assertEquals(expected.length, found.size);
+			for (int i = 0; i < expected.length; i++) {
+				assertEquals(expected[i], found.data[i]);
+			}
+		}
+		assertFalse(alg.readFrame(found));
+	}
+}
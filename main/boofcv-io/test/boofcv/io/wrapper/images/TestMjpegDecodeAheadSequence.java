@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.io.wrapper.images;
+
+import boofcv.io.image.SimpleImageSequence;
+import boofcv.io.video.TestMjpegFrameReader;
+import boofcv.io.wrapper.DefaultMediaManager;
+import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageType;
+import org.ddogleg.struct.GrowQueue_I8;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestMjpegDecodeAheadSequence {
+
+	int width = 40, height = 30;
+
+	/**
+	 * Frames should be returned in order, even when there are more frames than can fit in the buffer
+	 */
+	@Test
+	public void file() throws IOException {
+		List<byte[]> frames = TestMjpegFrameReader.createFrames(12,width,height);
+		File file = TestMjpegFrameReader.createFile(frames);
+
+		for( int numDecoders : new int[]{1,3} ) {
+			MjpegDecodeAheadSequence<GrayU8> alg = new MjpegDecodeAheadSequence<>(file.getPath(),
+					ImageType.single(GrayU8.class),3,numDecoders);
+			checkSequence(alg, frames.size());
+			alg.close();
+		}
+	}
+
+	@Test
+	public void stream() throws IOException {
+		List<byte[]> frames = TestMjpegFrameReader.createFrames(7,width,height);
+		byte[] data = TestMjpegFrameReader.concat(frames);
+
+		MjpegDecodeAheadSequence<GrayU8> alg = new MjpegDecodeAheadSequence<>(new ByteArrayInputStream(data),
+				ImageType.single(GrayU8.class),2,2);
+		checkSequence(alg, frames.size());
+		alg.close();
+
+		try {
+			alg.reset();
+			fail("Exception expected");
+		} catch( RuntimeException ignore ) {}
+	}
+
+	@Test
+	public void reset() throws IOException {
+		List<byte[]> frames = TestMjpegFrameReader.createFrames(6,width,height);
+		File file = TestMjpegFrameReader.createFile(frames);
+
+		MjpegDecodeAheadSequence<GrayU8> alg = new MjpegDecodeAheadSequence<>(file.getPath(),
+				ImageType.single(GrayU8.class),3,2);
+		alg.next();
+		alg.next();
+		alg.reset();
+		checkSequence(alg, frames.size());
+		alg.close();
+	}
+
+	/**
+	 * After the last frame it should start over from the first frame.  There are more frames than can fit in
+	 * the buffer so the reader is still running when looping is turned on
+	 */
+	@Test
+	public void loop() throws IOException {
+		List<byte[]> frames = TestMjpegFrameReader.createFrames(5,width,height);
+		File file = TestMjpegFrameReader.createFile(frames);
+
+		MjpegDecodeAheadSequence<GrayU8> alg = new MjpegDecodeAheadSequence<>(file.getPath(),
+				ImageType.single(GrayU8.class),3,2);
+		alg.setLoop(true);
+		checkLoop(alg, frames.size(), 13);
+
+		// turning looping off should end the sequence at the end of the file
+		alg.setLoop(false);
+		int count = 0;
+		while( alg.hasNext() ) {
+			alg.next();
+			count++;
+		}
+		assertTrue(count <= frames.size());
+		assertEquals(frames.size()-1, alg.getFrameNumber());
+		alg.close();
+	}
+
+	/**
+	 * Looping is turned on after the whole file has been read into the buffer
+	 */
+	@Test
+	public void loop_afterEnd() throws Exception {
+		List<byte[]> frames = TestMjpegFrameReader.createFrames(4,width,height);
+		File file = TestMjpegFrameReader.createFile(frames);
+
+		MjpegDecodeAheadSequence<GrayU8> alg = new MjpegDecodeAheadSequence<>(file.getPath(),
+				ImageType.single(GrayU8.class),8,2);
+		while( true ) {
+			synchronized( alg ) {
+				if( alg.totalFrames >= 0 )
+					break;
+			}
+			Thread.sleep(1);
+		}
+		alg.setLoop(true);
+		checkLoop(alg, frames.size(), 10);
+		alg.close();
+	}
+
+	/**
+	 * Files opened through the media manager should support looping
+	 */
+	@Test
+	public void loop_mediaManager() throws IOException {
+		List<byte[]> frames = TestMjpegFrameReader.createFrames(3,width,height);
+		File file = TestMjpegFrameReader.createFile(frames);
+
+		SimpleImageSequence<GrayU8> alg = DefaultMediaManager.INSTANCE.openVideo(file.getPath(),
+				ImageType.single(GrayU8.class));
+		alg.setLoop(false);
+		alg.setLoop(true);
+		checkLoop(alg, frames.size(), 8);
+		alg.close();
+	}
+
+	/**
+	 * Looping a stream isn't possible, but turning it off should do nothing
+	 */
+	@Test
+	public void loop_stream() throws IOException {
+		List<byte[]> frames = TestMjpegFrameReader.createFrames(3,width,height);
+		byte[] data = TestMjpegFrameReader.concat(frames);
+
+		MjpegDecodeAheadSequence<GrayU8> alg = new MjpegDecodeAheadSequence<>(new ByteArrayInputStream(data),
+				ImageType.single(GrayU8.class),2,2);
+		alg.setLoop(false);
+		try {
+			alg.setLoop(true);
+			fail("Exception expected");
+		} catch( RuntimeException ignore ) {}
+		checkSequence(alg, frames.size());
+		alg.close();
+	}
+
+	private void checkLoop( SimpleImageSequence<GrayU8> alg , int numFrames , int total ) {
+		for (int i = 0; i < total; i++) {
+			assertTrue(alg.hasNext());
+			GrayU8 image = alg.next();
+			int number = i % numFrames;
+			assertEquals(number, alg.getFrameNumber());
+			assertEquals((number*20 + 10) % 256, image.get(10,height/2), 3);
+		}
+	}
+
+	/**
+	 * Closing before all the frames have been read should not block
+	 */
+	@Test
+	public void close_early() throws IOException {
+		List<byte[]> frames = TestMjpegFrameReader.createFrames(10,width,height);
+		File file = TestMjpegFrameReader.createFile(frames);
+
+		MjpegDecodeAheadSequence<GrayU8> alg = new MjpegDecodeAheadSequence<>(file.getPath(),
+				ImageType.single(GrayU8.class),2,2);
+		alg.next();
+		alg.close();
+		assertFalse(alg.hasNext());
+	}
+
+	/**
+	 * If decoding a frame throws an Error then next() should throw it instead of blocking forever
+	 */
+	@Test(timeout = 10000)
+	public void decodeError() throws IOException {
+		List<byte[]> frames = TestMjpegFrameReader.createFrames(5,width,height);
+		File file = TestMjpegFrameReader.createFile(frames);
+
+		MjpegDecodeAheadSequence<GrayU8> alg = new MjpegDecodeAheadSequence<GrayU8>(file.getPath(),
+				ImageType.single(GrayU8.class),2,2) {
+			@Override
+			BufferedImage decode(GrowQueue_I8 data) throws IOException {
+				throw new OutOfMemoryError("Dummy");
+			}
+		};
+
+		assertTrue(alg.hasNext());
+		try {
+			alg.next();
+			fail("Error expected");
+		} catch( OutOfMemoryError e ) {
+			assertEquals("Dummy", e.getMessage());
+		}
+		alg.close();
+	}
+
+	private void checkSequence(MjpegDecodeAheadSequence<GrayU8> alg, int total) {
+		int count = 0;
+		while( alg.hasNext() ) {
+			assertEquals(width, alg.getNextWidth());
+			assertEquals(height, alg.getNextHeight());
+			GrayU8 image = alg.next();
+			assertEquals(count, alg.getFrameNumber());
+			assertEquals(width, image.width);
+			assertEquals(height, image.height);
+			assertEquals(width, alg.getGuiImage().getWidth());
+
+			// each frame has a different offset which identifies it
+			assertEquals((count*20 + 10) % 256, image.get(10,height/2), 3);
+
+			assertTrue(alg.getDecodeLatency() > 0);
+			assertTrue(alg.getQueueDepth() >= 0 && alg.getQueueDepth() < alg.getBufferSize());
+			count++;
+		}
+		assertEquals(total, count);
+		assertTrue(alg.getAverageDecodeLatency() > 0);
+		assertNull(alg.getReadError());
+	}
+}
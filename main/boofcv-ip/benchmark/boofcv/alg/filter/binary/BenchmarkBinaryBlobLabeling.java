@@ -22,6 +22,7 @@ import boofcv.alg.misc.ImageMiscOps;
 import boofcv.misc.PerformerBase;
 import boofcv.misc.ProfileOperation;
 import boofcv.struct.ConnectRule;
+import boofcv.struct.image.BinaryRLE;
 import boofcv.struct.image.GrayS32;
 import boofcv.struct.image.GrayU8;
 
@@ -53,6 +54,28 @@ public class BenchmarkBinaryBlobLabeling {
 		}
 	}
 
+	public static class NewAlg8_MT extends PerformerBase {
+
+		LinearContourLabelChang2004 alg = new LinearContourLabelChang2004_MT(ConnectRule.EIGHT);
+
+		@Override
+		public void process() {
+			alg.process(input,output);
+		}
+	}
+
+	public static class NewAlg8_RLE extends PerformerBase {
+
+		LinearContourLabelChang2004 alg = new LinearContourLabelChang2004(ConnectRule.EIGHT);
+		BinaryRLE rle = new BinaryRLE();
+
+		@Override
+		public void process() {
+			BinaryRLEOps.convert(input,rle);
+			alg.process(rle,output);
+		}
+	}
+
 	public static class NewAlg4 extends PerformerBase {
 
 		LinearContourLabelChang2004 alg = new LinearContourLabelChang2004(ConnectRule.FOUR);
@@ -80,6 +103,8 @@ public class BenchmarkBinaryBlobLabeling {
 		input.setTo(original);
 
 		ProfileOperation.printOpsPerSec(new NewAlg8(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new NewAlg8_MT(), TEST_TIME);
+		ProfileOperation.printOpsPerSec(new NewAlg8_RLE(), TEST_TIME);
 		ProfileOperation.printOpsPerSec(new NewAlg4(), TEST_TIME);
 
 	}
@@ -21,6 +21,7 @@ package boofcv.alg.filter.binary;
 import boofcv.alg.filter.binary.impl.ImplBinaryInnerOps;
 import boofcv.alg.filter.binary.impl.ImplBinaryNaiveOps;
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.struct.image.GrayBinary;
 import boofcv.struct.image.GrayU8;
 
 import java.util.Random;
@@ -36,6 +37,8 @@ public class BenchmarkBinaryOps  {
 
 	static GrayU8 input = new GrayU8(imgWidth, imgHeight);
 	static GrayU8 output = new GrayU8(imgWidth, imgHeight);
+	static GrayBinary packedInput = new GrayBinary(imgWidth, imgHeight);
+	static GrayBinary packedOutput = new GrayBinary(imgWidth, imgHeight);
 
 	public BenchmarkBinaryOps() {
 		Random rand = new Random(234);
@@ -43,6 +46,7 @@ public class BenchmarkBinaryOps  {
 		// naive is some times faster in unstructured because it can escape earlier
 		ImageMiscOps.fillUniform(input, rand, 0, 1);
 //		ImageMiscOps.fillRectangle(input,1,100,200,150,100);
+		GrayBinaryOps.convert(input, packedInput);
 	}
 
 	public int timeNaiveErode4(int reps) {
@@ -171,6 +175,48 @@ public class BenchmarkBinaryOps  {
 		return 0;
 	}
 
+	public int timeLogicAnd(int reps) {
+		for( int i = 0; i < reps; i++ )
+			BinaryImageOps.logicAnd(input, output, output);
+		return 0;
+	}
+
+	public int timePackedErode4(int reps) {
+		for( int i = 0; i < reps; i++ )
+			GrayBinaryOps.erode4(packedInput, 1, packedOutput);
+		return 0;
+	}
+
+	public int timePackedErode8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			GrayBinaryOps.erode8(packedInput, 1, packedOutput);
+		return 0;
+	}
+
+	public int timePackedDilate4(int reps) {
+		for( int i = 0; i < reps; i++ )
+			GrayBinaryOps.dilate4(packedInput, 1, packedOutput);
+		return 0;
+	}
+
+	public int timePackedDilate8(int reps) {
+		for( int i = 0; i < reps; i++ )
+			GrayBinaryOps.dilate8(packedInput, 1, packedOutput);
+		return 0;
+	}
+
+	public int timePackedLogicAnd(int reps) {
+		for( int i = 0; i < reps; i++ )
+			GrayBinaryOps.logicAnd(packedInput, packedOutput, packedOutput);
+		return 0;
+	}
+
+	public int timePackedConvert(int reps) {
+		for( int i = 0; i < reps; i++ )
+			GrayBinaryOps.convert(input, packedOutput);
+		return 0;
+	}
+
 	public static void main(String args[]) {
 		System.out.println("=========  Profile Image Size " + imgWidth + " x " + imgHeight + " ==========");
 
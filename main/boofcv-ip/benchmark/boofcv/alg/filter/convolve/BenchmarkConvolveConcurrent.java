@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.factory.filter.kernel.FactoryKernelGaussian;
+import boofcv.misc.PerformerBase;
+import boofcv.misc.ProfileOperation;
+import boofcv.struct.convolve.Kernel1D_F32;
+import boofcv.struct.convolve.Kernel1D_S32;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS16;
+import boofcv.struct.image.GrayU8;
+
+import java.util.Random;
+
+/**
+ * Measures how well the concurrent convolution and blur operations scale with the number of threads.
+ * Each operation is run with 1 thread then the number of threads is doubled until all the cores are used.
+ *
+ * @author Peter Abeles
+ */
+public class BenchmarkConvolveConcurrent {
+	static int imgWidth = 3840;
+	static int imgHeight = 2160;
+	static long TEST_TIME = 2000;
+	static int radius = 5;
+
+	static Kernel1D_F32 kernelF32 = FactoryKernelGaussian.gaussian(Kernel1D_F32.class,-1,radius);
+	static Kernel1D_S32 kernelI32 = FactoryKernelGaussian.gaussian(Kernel1D_S32.class,-1,radius);
+
+	static GrayF32 input_F32 = new GrayF32(imgWidth,imgHeight);
+	static GrayF32 out_F32 = new GrayF32(imgWidth,imgHeight);
+	static GrayF32 storage_F32 = new GrayF32(imgWidth,imgHeight);
+	static GrayU8 input_U8 = new GrayU8(imgWidth,imgHeight);
+	static GrayS16 out_S16 = new GrayS16(imgWidth,imgHeight);
+	static GrayU8 out_U8 = new GrayU8(imgWidth,imgHeight);
+	static GrayU8 storage_U8 = new GrayU8(imgWidth,imgHeight);
+
+	public static class Horizontal_F32 extends PerformerBase {
+		@Override
+		public void process() {
+			ConvolveImageNoBorder.horizontal(kernelF32, input_F32, out_F32);
+		}
+	}
+
+	public static class Vertical_F32 extends PerformerBase {
+		@Override
+		public void process() {
+			ConvolveImageNoBorder.vertical(kernelF32, input_F32, out_F32);
+		}
+	}
+
+	public static class Vertical_U8_S16 extends PerformerBase {
+		@Override
+		public void process() {
+			ConvolveImageNoBorder.vertical(kernelI32, input_U8, out_S16);
+		}
+	}
+
+	public static class Gaussian_F32 extends PerformerBase {
+		@Override
+		public void process() {
+			BlurImageOps.gaussian(input_F32, out_F32, -1, radius, storage_F32);
+		}
+	}
+
+	public static class Gaussian_U8 extends PerformerBase {
+		@Override
+		public void process() {
+			BlurImageOps.gaussian(input_U8, out_U8, -1, radius, storage_U8);
+		}
+	}
+
+	public static class Median_U8 extends PerformerBase {
+		@Override
+		public void process() {
+			BlurImageOps.median(input_U8, out_U8, 2);
+		}
+	}
+
+	private static void profile( PerformerBase performer ) {
+		BoofConcurrency.USE_CONCURRENT = false;
+		double single = ProfileOperation.profileOpsPerSec(performer, TEST_TIME, true);
+		System.out.printf("%20s  single threaded  ops/sec = %7.3f\n", performer.getName(), single);
+
+		BoofConcurrency.USE_CONCURRENT = true;
+		int maxThreads = Runtime.getRuntime().availableProcessors();
+		for( int threads = 1; ; threads = Math.min(maxThreads,threads*2) ) {
+			BoofConcurrency.setMaxThreads(threads);
+			double ops = ProfileOperation.profileOpsPerSec(performer, TEST_TIME, true);
+			System.out.printf("%20s  threads = %3d   ops/sec = %7.3f  speed up = %5.2f\n",
+					performer.getName(), threads, ops, ops/single);
+			if( threads == maxThreads )
+				break;
+		}
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	public static void main( String args[] ) {
+		Random rand = new Random(234);
+		ImageMiscOps.fillUniform(input_F32, rand, 0, 200);
+		ImageMiscOps.fillUniform(input_U8, rand, 0, 200);
+
+		System.out.println("=========  Profile Image Size "+imgWidth+" x "+imgHeight+" ==========");
+		System.out.println("  available cores = "+Runtime.getRuntime().availableProcessors());
+		System.out.println();
+
+		profile(new Horizontal_F32());
+		profile(new Vertical_F32());
+		profile(new Vertical_U8_S16());
+		profile(new Gaussian_F32());
+		profile(new Gaussian_U8());
+		profile(new Median_U8());
+	}
+}
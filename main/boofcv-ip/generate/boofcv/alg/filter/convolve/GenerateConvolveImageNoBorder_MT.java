@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.misc.AutoTypeImage;
+import boofcv.misc.CodeGeneratorBase;
+
+/**
+ * Generates the concurrent version of {@link ConvolveImageNoBorder}.  Each function is split into bands of
+ * rows which are processed by the single threaded code using sub-images.
+ *
+ * @author Peter Abeles
+ */
+public class GenerateConvolveImageNoBorder_MT extends CodeGeneratorBase {
+
+	String kernelType;
+	String inputName, outputName;
+	String inputCast, outputCast;
+
+	int totalFunctions = 0;
+
+	@Override
+	public void generate() {
+		printPreamble();
+		printAllOps(AutoTypeImage.F32, AutoTypeImage.F32, false, false);
+		printAllOps(AutoTypeImage.F64, AutoTypeImage.F64, false, false);
+		printAllOps(AutoTypeImage.U8,  AutoTypeImage.I16, false, false);
+		printAllOps(AutoTypeImage.U8,  AutoTypeImage.S32, false, false);
+		printAllOps(AutoTypeImage.U16, AutoTypeImage.I8,  true,  true);
+		printAllOps(AutoTypeImage.S16, AutoTypeImage.I16, false, false);
+		printAllOps(AutoTypeImage.U8,  AutoTypeImage.I8,  true,  false);
+		printAllOps(AutoTypeImage.S16, AutoTypeImage.I16, true,  false);
+		printAllOps(AutoTypeImage.S32, AutoTypeImage.I16, true,  true);
+		printAllOps(AutoTypeImage.S32, AutoTypeImage.S32, false, false);
+		printAllOps(AutoTypeImage.S32, AutoTypeImage.S32, true,  false);
+
+		out.println("}");
+
+		System.out.println("Total functions generated "+totalFunctions);
+	}
+
+	private void printPreamble() {
+		out.print(
+				"import boofcv.alg.InputSanityCheck;\n" +
+				"import boofcv.concurrency.BoofConcurrency;\n" +
+				"import boofcv.concurrency.IntRangeConsumer;\n" +
+				"import boofcv.struct.convolve.*;\n" +
+				"import boofcv.struct.image.*;\n");
+		out.println();
+		out.print("/**\n" +
+				" * <p>\n" +
+				" * Concurrent implementation of {@link ConvolveImageNoBorder}.  The image is split into horizontal bands\n" +
+				" * which are processed in parallel by {@link ConvolveImageNoBorder} using sub-images.  Bands for vertical\n" +
+				" * and 2D kernels are expanded by the kernel's extent so that only the rows inside the band are written to.\n" +
+				" * Output is identical to the single threaded version.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * <p>Automatically generated by "+getClass().getSimpleName()+" DO NOT MODIFY</p>\n" +
+				" *\n" +
+				" * @author Peter Abeles\n" +
+				" */\n" +
+				"public class "+className+" {\n\n");
+	}
+
+	private void printAllOps(AutoTypeImage input, AutoTypeImage output, boolean hasDivide,
+							 boolean justVertical )
+	{
+		kernelType = input.getKernelType();
+
+		inputName = input.getSingleBandName();
+		outputName = output.getSingleBandName();
+		inputCast = castFor(input,inputName);
+		outputCast = castFor(output,outputName);
+
+		if( justVertical ) {
+			printFunction("vertical", hasDivide);
+			inputName = input.getInterleavedName();
+			outputName = output.getInterleavedName();
+			inputCast = castFor(input,inputName);
+			outputCast = castFor(output,outputName);
+			printFunction("vertical", hasDivide);
+		} else {
+			printFunction("horizontal", hasDivide);
+			printFunction("vertical", hasDivide);
+			printFunction("convolve", hasDivide);
+
+			inputName = input.getInterleavedName();
+			outputName = output.getInterleavedName();
+			inputCast = castFor(input,inputName);
+			outputCast = castFor(output,outputName);
+			printFunction("horizontal", hasDivide);
+			printFunction("vertical", hasDivide);
+			printFunction("convolve", hasDivide);
+		}
+	}
+
+	/**
+	 * Abstract image types have a generic type parameter and need a cast when a sub-image is created
+	 */
+	private static String castFor( AutoTypeImage type , String name ) {
+		if( type == AutoTypeImage.I8 || type == AutoTypeImage.I16 )
+			return "("+name+")";
+		return "";
+	}
+
+	private void printFunction( String name , boolean hasDivide ) {
+
+		totalFunctions++;
+
+		String divideArg = hasDivide ? ", final int divisor" : "";
+		String divideInput = hasDivide ? ", divisor" : "";
+
+		String dimen = name.equals("convolve") ? "2D" : "1D";
+
+		out.print("\tpublic static void "+name+"(final Kernel"+dimen+"_"+kernelType+" kernel,\n" +
+				"\t\t\t\t\t\t\t\t  final "+inputName+" input, final "+outputName+" output"+divideArg+") {\n" +
+				"\t\tInputSanityCheck.checkSameShape(input, output);\n" +
+				"\n");
+		if( name.equals("horizontal") ) {
+			out.print(
+					"\t\tBoofConcurrency.loopBlocks(0, input.height, new IntRangeConsumer() {\n" +
+					"\t\t\t@Override\n" +
+					"\t\t\tpublic void accept(int y0, int y1) {\n" +
+					"\t\t\t\tConvolveImageNoBorder."+name+"(kernel,\n" +
+					"\t\t\t\t\t\t"+inputCast+"input.subimage(0, y0, input.width, y1),\n" +
+					"\t\t\t\t\t\t"+outputCast+"output.subimage(0, y0, output.width, y1)"+divideInput+");\n" +
+					"\t\t\t}\n" +
+					"\t\t});\n");
+		} else {
+			out.print(
+					"\t\tfinal int offset = kernel.getOffset();\n" +
+					"\t\tfinal int extent = kernel.getWidth()-offset-1;\n" +
+					"\t\tBoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {\n" +
+					"\t\t\t@Override\n" +
+					"\t\t\tpublic void accept(int y0, int y1) {\n" +
+					"\t\t\t\tConvolveImageNoBorder."+name+"(kernel,\n" +
+					"\t\t\t\t\t\t"+inputCast+"input.subimage(0, y0-offset, input.width, y1+extent),\n" +
+					"\t\t\t\t\t\t"+outputCast+"output.subimage(0, y0-offset, output.width, y1+extent)"+divideInput+");\n" +
+					"\t\t\t}\n" +
+					"\t\t});\n");
+		}
+		out.print("\t}\n\n");
+	}
+
+	public static void main(String[] args) {
+		GenerateConvolveImageNoBorder_MT gen = new GenerateConvolveImageNoBorder_MT();
+		gen.generate();
+	}
+}
@@ -21,6 +21,8 @@ package boofcv.alg.filter.convolve;
 import boofcv.misc.AutoTypeImage;
 import boofcv.misc.CodeGeneratorBase;
 
+import java.io.FileNotFoundException;
+
 /**
  * NOTE: There is a tinny bit of manual work required.  need to comment out a few lines to unroll
  *
@@ -35,6 +37,17 @@ public class GenerateConvolveNormalized extends CodeGeneratorBase {
 
 	int totalFunctions = 0;
 
+	// if true then the concurrent version of the class is generated
+	boolean concurrent;
+	String noBorderName;
+
+	public GenerateConvolveNormalized( boolean concurrent ) throws FileNotFoundException {
+		super(false);
+		this.concurrent = concurrent;
+		this.noBorderName = concurrent ? "ConvolveImageNoBorder_MT" : "ConvolveImageNoBorder";
+		setOutputFile(concurrent ? "ConvolveNormalized_MT" : "ConvolveNormalized");
+	}
+
 	@Override
 	public void generate() {
 		printPreamble();
@@ -62,6 +75,11 @@ public class GenerateConvolveNormalized extends CodeGeneratorBase {
 				" * Convolves a kernel across an image and scales the kernel such that the sum of the portion inside\n" +
 				" * the image sums up to one.\n" +
 				" * </p>\n" +
+				(concurrent ?
+				" * <p>\n" +
+				" * Concurrent implementation of {@link ConvolveNormalized}.  The image interior is processed in parallel by\n" +
+				" * {@link ConvolveImageNoBorder_MT} and the border by the single threaded code.\n" +
+				" * </p>\n" : "") +
 				" * <p>Automatically generated by "+getClass().getSimpleName()+". DO NOT MODIFY</p>\n" +
 				" *\n" +
 				" * @author Peter Abeles\n" +
@@ -133,7 +151,7 @@ public class GenerateConvolveNormalized extends CodeGeneratorBase {
 			out.print("\t\tif( "+insideTest+" ) {\n" +
 					"\t\t\tConvolveNormalizedNaive_"+suffice+"."+name+"(kernel, src, dst);\n" +
 					"\t\t} else {\n" +
-					"\t\t\tConvolveImageNoBorder."+name+"(kernel, src, dst, kernel.computeSum());\n" +
+					"\t\t\t"+noBorderName+"."+name+"(kernel, src, dst, kernel.computeSum());\n" +
 					"\t\t\tConvolveNormalized_JustBorder_"+suffice+"."+name+"(kernel, src, dst);\n" +
 					"\t\t}\n");
 		} else {
@@ -145,15 +163,15 @@ public class GenerateConvolveNormalized extends CodeGeneratorBase {
 					"\t\t\t\tKernelMath.normalizeSumToOne(k);\n" +
 					"\t\t\t\tkernel = k;\n" +
 					"\t\t\t}\n" +
-					"\t\t\tConvolveImageNoBorder."+name+"(kernel,src,dst);\n" +
+					"\t\t\t"+noBorderName+"."+name+"(kernel,src,dst);\n" +
 					"\t\t\tConvolveNormalized_JustBorder_"+suffice+"."+name+"(kernel,src,dst);\n" +
 					"\t\t}\n");
 		}
 		out.print("\t}\n\n");
 	}
 
-	public static void main(String[] args) {
-		GenerateConvolveNormalized gen = new GenerateConvolveNormalized();
-		gen.generate();
+	public static void main(String[] args) throws FileNotFoundException {
+		new GenerateConvolveNormalized(false).generate();
+		new GenerateConvolveNormalized(true).generate();
 	}
 }
@@ -21,6 +21,8 @@ package boofcv.alg.filter.convolve;
 import boofcv.misc.AutoTypeImage;
 import boofcv.misc.CodeGeneratorBase;
 
+import java.io.FileNotFoundException;
+
 /**
  * NOTE: There is a tinny bit of manual work required.  need to comment out a few lines to unroll
  *
@@ -34,6 +36,17 @@ public class GenerateConvolveWithBorder extends CodeGeneratorBase {
 
 	int totalFunctions = 0;
 
+	// if true then the concurrent version of the class is generated
+	boolean concurrent;
+	String noBorderName;
+
+	public GenerateConvolveWithBorder( boolean concurrent ) throws FileNotFoundException {
+		super(false);
+		this.concurrent = concurrent;
+		this.noBorderName = concurrent ? "ConvolveImageNoBorder_MT" : "ConvolveImageNoBorder";
+		setOutputFile(concurrent ? "ConvolveWithBorder_MT" : "ConvolveWithBorder");
+	}
+
 	@Override
 	public void generate() {
 		printPreamble();
@@ -61,6 +74,11 @@ public class GenerateConvolveWithBorder extends CodeGeneratorBase {
 				" * <p>\n" +
 				" * Convolves a kernel across an image and handles the image border using the specified method.\n" +
 				" * </p>\n" +
+				(concurrent ?
+				" * <p>\n" +
+				" * Concurrent implementation of {@link ConvolveWithBorder}.  The image interior is processed in parallel by\n" +
+				" * {@link ConvolveImageNoBorder_MT} and the border by the single threaded code.\n" +
+				" * </p>\n" : "") +
 				" * <p>Automatically generated by "+getClass().getSimpleName()+". DO NOT MODIFY</p>\n" +
 				" *\n" +
 				" * @author Peter Abeles\n" +
@@ -126,14 +144,14 @@ public class GenerateConvolveWithBorder extends CodeGeneratorBase {
 				"\t\tInputSanityCheck.checkSameShape"+suffice2+"(input, output);\n" +
 				"\n" +
 				"\t\tborder.setImage(input);\n" +
-				"\t\tConvolveImageNoBorder."+name+"(kernel,input,output);\n" +
+				"\t\t"+noBorderName+"."+name+"(kernel,input,output);\n" +
 				"\t\tConvolveJustBorder_General_"+suffice+"."+name+"(kernel, border,output);\n" +
 				"\t}\n\n"
 		);
 	}
 
-	public static void main(String[] args) {
-		GenerateConvolveWithBorder gen = new GenerateConvolveWithBorder();
-		gen.generate();
+	public static void main(String[] args) throws FileNotFoundException {
+		new GenerateConvolveWithBorder(false).generate();
+		new GenerateConvolveWithBorder(true).generate();
 	}
 }
@@ -44,7 +44,7 @@ public class GenerateImplBilinearPixel extends CodeGeneratorBase {
 	}
 
 	private void createType( AutoTypeImage type ) throws FileNotFoundException {
-		className = "ImplBilinearPixel_"+type.name();
+		className = null;
 		image = type;
 
 		createFile();
@@ -62,7 +62,7 @@ public class GenerateImplBilinearPixel extends CodeGeneratorBase {
 	}
 
 	private void printPreamble() throws FileNotFoundException {
-		setOutputFile(className);
+		setOutputFile("ImplBilinearPixel_"+image.name());
 		out.print("import boofcv.alg.interpolate.BilinearPixelS;\n" +
 				"import boofcv.struct.image.ImageType;\n" +
 				"import boofcv.struct.image." + image.getSingleBandName() + ";\n" +
@@ -99,11 +99,12 @@ public class GenerateImplBilinearPixel extends CodeGeneratorBase {
 				"\tpublic float get_fast(float x, float y) {\n" +
 				"\t\tint xt = (int) x;\n" +
 				"\t\tint yt = (int) y;\n" +
-				"\t\t"+floatType+" ax = x - xt;\n" +
-				"\t\t"+floatType+" ay = y - yt;\n" +
 				"\n" +
-				"\t\tint index = orig.startIndex + yt * stride + xt;\n" +
+				"\t\treturn get_fast(orig.startIndex + yt * stride + xt, x - xt, y - yt);\n" +
+				"\t}\n" +
 				"\n" +
+				"\t@Override\n" +
+				"\tpublic float get_fast(int index, float ax, float ay) {\n" +
 				"\t\t"+image.getDataType()+"[] data = orig.data;\n" +
 				"\n" +
 				"\t\t"+floatType+" val = (1.0"+f+" - ax) * (1.0"+f+" - ay) * (data[index] "+bitWise+"); // (x,y)\n" +
@@ -111,7 +112,7 @@ public class GenerateImplBilinearPixel extends CodeGeneratorBase {
 				"\t\tval += ax * ay * (data[index + 1 + stride] "+bitWise+"); // (x+1,y+1)\n" +
 				"\t\tval += (1.0"+f+" - ax) * ay * (data[index + stride] "+bitWise+"); // (x,y+1)\n" +
 				"\n" +
-				"\t\treturn val;\n" +
+				"\t\treturn "+(floatType.equals("float") ? "" : "(float)")+"val;\n" +
 				"\t}\n" +
 				"\n" +
 				"\tpublic float get_border(float x, float y) {\n" +
@@ -129,7 +130,7 @@ public class GenerateImplBilinearPixel extends CodeGeneratorBase {
 				"\t\tval += ax * ay *  border.get(xt + 1, yt + 1);; // (x+1,y+1)\n" +
 				"\t\tval += (1.0f - ax) * ay *  border.get(xt,yt+1);; // (x,y+1)\n" +
 				"\n" +
-				"\t\treturn val;\n" +
+				"\t\treturn "+(floatType.equals("float") ? "" : "(float)")+"val;\n" +
 				"\t}\n"+
 				"\n" +
 				"\t@Override\n" +
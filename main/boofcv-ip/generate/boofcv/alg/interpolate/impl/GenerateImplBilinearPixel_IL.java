@@ -46,7 +46,7 @@ public class GenerateImplBilinearPixel_IL extends CodeGeneratorBase {
 	}
 
 	private void createType( AutoTypeImage type ) throws FileNotFoundException {
-		className = "ImplBilinearPixel_IL_"+type.name();
+		className = null;
 		image = type;
 
 		imageName = type.getInterleavedName();
@@ -73,7 +73,7 @@ public class GenerateImplBilinearPixel_IL extends CodeGeneratorBase {
 	}
 
 	private void printPreamble() throws FileNotFoundException {
-		setOutputFile(className);
+		setOutputFile("ImplBilinearPixel_IL_"+image.name());
 
 		String sumType = image.getSumType();
 
@@ -127,12 +127,13 @@ public class GenerateImplBilinearPixel_IL extends CodeGeneratorBase {
 				"\tpublic void get_fast(float x, float y, float[] values) {\n" +
 				"\t\tint xt = (int) x;\n" +
 				"\t\tint yt = (int) y;\n" +
-				"\t\t" + floatType + " ax = x - xt;\n" +
-				"\t\t" + floatType + " ay = y - yt;\n" +
 				"\n" +
-				"\t\tfinal int numBands = orig.numBands;\n" +
-				"\t\tint index = orig.startIndex + yt * stride + xt*numBands;\n" +
+				"\t\tget_fast(orig.startIndex + yt * stride + xt*orig.numBands, x - xt, y - yt, values);\n" +
+				"\t}\n" +
 				"\n" +
+				"\t@Override\n" +
+				"\tpublic void get_fast(int index, float ax, float ay, float[] values) {\n" +
+				"\t\tfinal int numBands = orig.numBands;\n" +
 				"\t\t" + image.getDataType() + "[] data = orig.data;\n" +
 				"\n" +
 				"\t\t// computing this just once doesn't seem to change speed very much.  Keeping it here to avoid trying\n" +
@@ -90,6 +90,7 @@ public class GenerateImplIntegralImageOps extends CodeGeneratorBase {
 		printConvolveBorder(image,image);
 		printConvolveSparse(image);
 		printBlockUnsafe(image);
+		printBlockUnsafeBatch(image);
 		printBlockZero(image);
 	}
 
@@ -223,6 +224,35 @@ public class GenerateImplIntegralImageOps extends CodeGeneratorBase {
 				"\t}\n\n");
 	}
 
+	private void printBlockUnsafeBatch( AutoTypeImage image ) {
+		String sumType = image.getSumType();
+		String bitWise = image.getBitWise();
+
+		out.print("\tpublic static void block_unsafe( " + image.getSingleBandName() + " integral , int[] blocks , int numBlocks , " + sumType + "[] output )\n" +
+				"\t{\n" +
+				"\t\tfinal " + image.getDataType() + "[] data = integral.data;\n" +
+				"\t\tfinal int startIndex = integral.startIndex;\n" +
+				"\t\tfinal int stride = integral.stride;\n" +
+				"\n" +
+				"\t\tfor( int i = 0, j = 0; i < numBlocks; i++ ) {\n" +
+				"\t\t\tint x0 = blocks[j++];\n" +
+				"\t\t\tint y0 = blocks[j++];\n" +
+				"\t\t\tint x1 = blocks[j++];\n" +
+				"\t\t\tint y1 = blocks[j++];\n" +
+				"\n" +
+				"\t\t\tint indexTop = startIndex + y0*stride;\n" +
+				"\t\t\tint indexBottom = startIndex + y1*stride;\n" +
+				"\n" +
+				"\t\t\t" + sumType + " br = data[ indexBottom + x1 ]" + bitWise + ";\n" +
+				"\t\t\t" + sumType + " tr = data[ indexTop + x1 ]" + bitWise + ";\n" +
+				"\t\t\t" + sumType + " bl = data[ indexBottom + x0 ]" + bitWise + ";\n" +
+				"\t\t\t" + sumType + " tl = data[ indexTop + x0 ]" + bitWise + ";\n" +
+				"\n" +
+				"\t\t\toutput[i] = br-tr-bl+tl;\n" +
+				"\t\t}\n" +
+				"\t}\n\n");
+	}
+
 	private void printBlockZero( AutoTypeImage image ) {
 		String sumType = image.getSumType();
 		String bitWise = image.getBitWise();
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.ii.impl;
+
+import boofcv.misc.AutoTypeImage;
+import boofcv.misc.CodeGeneratorBase;
+
+/**
+ * Generates the concurrent version of {@link ImplIntegralImageOps}.
+ *
+ * @author Peter Abeles
+ */
+public class GenerateImplIntegralImageOps_MT extends CodeGeneratorBase {
+
+	@Override
+	public void generate() {
+		printPreamble();
+
+		printTransform(AutoTypeImage.F32, AutoTypeImage.F32);
+		printTransform(AutoTypeImage.F64, AutoTypeImage.F64);
+		printTransform(AutoTypeImage.U8, AutoTypeImage.S32);
+		printTransform(AutoTypeImage.S32, AutoTypeImage.S32);
+		printTransform(AutoTypeImage.S64, AutoTypeImage.S64);
+
+		out.println("}");
+	}
+
+	private void printPreamble() {
+		out.print(
+				"import boofcv.concurrency.BoofConcurrency;\n" +
+				"import boofcv.concurrency.IntRangeConsumer;\n" +
+				"import boofcv.struct.image.*;\n");
+		out.println();
+		out.print("/**\n" +
+				" * <p>\n" +
+				" * Concurrent implementation of {@link ImplIntegralImageOps}.  The integral image is computed in two passes.\n" +
+				" * First each row is summed, with bands of rows processed in parallel.  Then the previous row is added to\n" +
+				" * each row, with bands of columns processed in parallel.  The additions are the same as in the single threaded\n" +
+				" * code, so the output is identical, including floating point images.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * <p>\n" +
+				" * DO NOT MODIFY: Generated by {@link "+getClass().getSimpleName()+"}.\n" +
+				" * </p>\n" +
+				" *\n" +
+				" * @author Peter Abeles\n" +
+				" */\n" +
+				"public class "+className+" {\n\n" +
+				"\t// minimum number of columns in a band.  Avoids threads writing to the same cache line\n" +
+				"\tprivate static final int MIN_COLUMNS = 32;\n\n");
+	}
+
+	private void printTransform( AutoTypeImage imageIn , AutoTypeImage imageOut ) {
+
+		String sumType = imageOut.getSumType();
+		String bitWise = imageIn.getBitWise();
+		String typeCast = imageOut.getTypeCastFromSum();
+
+		out.print("\tpublic static void transform( final "+imageIn.getSingleBandName()+" input , final "+imageOut.getSingleBandName()+" transformed )\n" +
+				"\t{\n" +
+				"\t\t// sum along each row\n" +
+				"\t\tBoofConcurrency.loopBlocks(0, input.height, new IntRangeConsumer() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void accept(int y0, int y1) {\n" +
+				"\t\t\t\tfor( int y = y0; y < y1; y++ ) {\n" +
+				"\t\t\t\t\tint indexSrc = input.startIndex + input.stride*y;\n" +
+				"\t\t\t\t\tint indexDst = transformed.startIndex + transformed.stride*y;\n" +
+				"\t\t\t\t\tint end = indexSrc + input.width;\n" +
+				"\n" +
+				"\t\t\t\t\t"+sumType+" total = 0;\n" +
+				"\t\t\t\t\tfor( ; indexSrc < end; indexSrc++ ) {\n" +
+				"\t\t\t\t\t\ttransformed.data[indexDst++] = "+typeCast+"total += input.data[indexSrc]"+bitWise+";\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t});\n" +
+				"\n" +
+				"\t\t// add the sum of all the rows above, one row at a time\n" +
+				"\t\tBoofConcurrency.loopBlocks(0, input.width, MIN_COLUMNS, new IntRangeConsumer() {\n" +
+				"\t\t\t@Override\n" +
+				"\t\t\tpublic void accept(int x0, int x1) {\n" +
+				"\t\t\t\tfor( int y = 1; y < input.height; y++ ) {\n" +
+				"\t\t\t\t\tint indexDst = transformed.startIndex + transformed.stride*y + x0;\n" +
+				"\t\t\t\t\tint indexPrev = indexDst - transformed.stride;\n" +
+				"\t\t\t\t\tint end = indexDst + x1 - x0;\n" +
+				"\n" +
+				"\t\t\t\t\tfor( ; indexDst < end; indexDst++ ) {\n" +
+				"\t\t\t\t\t\ttransformed.data[indexDst] = transformed.data[indexPrev++] + transformed.data[indexDst];\n" +
+				"\t\t\t\t\t}\n" +
+				"\t\t\t\t}\n" +
+				"\t\t\t}\n" +
+				"\t\t});\n" +
+				"\t}\n\n");
+	}
+
+	public static void main( String args[] ) {
+		GenerateImplIntegralImageOps_MT app = new GenerateImplIntegralImageOps_MT();
+		app.generate();
+	}
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.alg.interpolate.InterpolatePixel;
+import boofcv.struct.distort.PixelTransform2_F32;
+import boofcv.struct.image.ImageBase;
+
+/**
+ * <p>
+ * Except for very simple functions, computing the per pixel distortion is an expensive operation.
+ * To overcome this problem the distortion is computed once and cached.  Then when the image is distorted
+ * again the save results are simply recalled and not computed again.
+ * </p>
+ *
+ * <p>
+ * The cache is stored in primitive arrays with one entry for each pixel in the output image, rows are stored
+ * sequentially.  If bilinear interpolation is used then the index of the source pixel and the interpolation
+ * weights can also be precomputed. In that mode, for each output pixel which maps inside the interpolation's fast
+ * bounds {@link #mapIndex} contains the index of the top-left source pixel, relative to the source image's
+ * startIndex, and {@link #map} contains the fractional part of the coordinate. For all other pixels mapIndex
+ * is -1 and map contains the source coordinate.  Since the index depends on the source image's shape the
+ * cache is recomputed if the source image's shape changes.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class ImageDistortCache
+		<Input extends ImageBase<Input>,Output extends ImageBase<Output>,Interpolate extends InterpolatePixel<Input>>
+		implements ImageDistort<Input,Output> {
+
+	// size of output image
+	protected int width=-1,height=-1;
+	// shape of the input image which the bilinear index was computed for
+	private int srcWidth=-1,srcHeight=-1,srcStride=-1;
+
+	// interleaved (x,y) source coordinate or bilinear weights for each output pixel
+	protected float map[] = new float[0];
+	// index of the top-left source pixel used by bilinear interpolation.  -1 if outside the fast bounds
+	protected int mapIndex[] = new int[0];
+
+	// sub pixel interpolation
+	protected Interpolate interp;
+
+	// transform
+	private PixelTransform2_F32 dstToSrc;
+
+	// crop boundary
+	protected int x0,y0,x1,y1;
+
+	// should it render all pixels in the destination, even ones outside the input image
+	protected boolean renderAll = true;
+	protected Input srcImg;
+	protected Output dstImg;
+
+	protected boolean dirty;
+
+	// true if the interpolation is bilinear and the weights can be precomputed
+	private boolean bilinear;
+	// if true the bilinear index and weights are precomputed
+	protected boolean precomputeBilinear;
+
+	/**
+	 * Specifies configuration parameters
+	 *
+	 * @param interp Interpolation algorithm
+	 * @param bilinear true if the interpolation is bilinear.  If true weights will be precomputed by default.
+	 */
+	protected ImageDistortCache(Interpolate interp, boolean bilinear) {
+		this.interp = interp;
+		this.bilinear = bilinear;
+		this.precomputeBilinear = bilinear;
+	}
+
+	@Override
+	public void setModel(PixelTransform2_F32 dstToSrc) {
+		this.dirty = true;
+		this.dstToSrc = dstToSrc;
+	}
+
+	@Override
+	public void apply(Input srcImg, Output dstImg) {
+		init(srcImg, dstImg);
+
+		x0 = 0;y0 = 0;x1 = dstImg.width;y1 = dstImg.height;
+
+		if( renderAll )
+			renderAll();
+		else
+			applyOnlyInside();
+	}
+
+	@Override
+	public void apply(Input srcImg, Output dstImg, int dstX0, int dstY0, int dstX1, int dstY1) {
+		init(srcImg, dstImg);
+
+		x0 = dstX0;y0 = dstY0;x1 = dstX1;y1 = dstY1;
+
+		if( renderAll )
+			renderAll();
+		else
+			applyOnlyInside();
+	}
+
+	protected void init(Input srcImg, Output dstImg) {
+		boolean srcChanged = precomputeBilinear &&
+				(srcImg.width != srcWidth || srcImg.height != srcHeight || srcImg.stride != srcStride);
+
+		if( dirty || srcChanged || width != dstImg.width || height != dstImg.height) {
+			width = dstImg.width;
+			height = dstImg.height;
+
+			int N = width*height;
+			if( map.length != N*2 )
+				map = new float[N*2];
+
+			int index = 0;
+			for( int y = 0; y < height; y++ ) {
+				for( int x = 0; x < width; x++ ) {
+					dstToSrc.compute(x,y);
+					map[index++] = dstToSrc.distX;
+					map[index++] = dstToSrc.distY;
+				}
+			}
+
+			if( precomputeBilinear ) {
+				computeBilinear(srcImg);
+			} else {
+				mapIndex = new int[0];
+			}
+			dirty = false;
+		}
+
+		this.srcImg = srcImg;
+		this.dstImg = dstImg;
+		interp.setImage(srcImg);
+	}
+
+	/**
+	 * Converts coordinates which are inside the bilinear fast bounds into an index and fractional weights
+	 */
+	private void computeBilinear( Input srcImg ) {
+		srcWidth = srcImg.width;
+		srcHeight = srcImg.height;
+		srcStride = srcImg.stride;
+
+		int N = width*height;
+		if( mapIndex.length != N )
+			mapIndex = new int[N];
+
+		int numBands = srcImg.getImageType().getNumBands();
+		float maxX = srcWidth-2;
+		float maxY = srcHeight-2;
+
+		for( int i = 0, j = 0; i < N; i++, j += 2 ) {
+			float x = map[j];
+			float y = map[j+1];
+
+			// same test as used by bilinear get() to decide if get_fast() can be used
+			if( x < 0 || y < 0 || x > maxX || y > maxY ) {
+				mapIndex[i] = -1;
+			} else {
+				int xt = (int)x;
+				int yt = (int)y;
+				mapIndex[i] = yt*srcStride + xt*numBands;
+				map[j] = x - xt;
+				map[j+1] = y - yt;
+			}
+		}
+	}
+
+	/**
+	 * Renders all the pixels inside the crop region
+	 */
+	protected abstract void renderAll();
+
+	/**
+	 * Renders pixels inside the crop region which map to a pixel inside the source image
+	 */
+	protected abstract void applyOnlyInside();
+
+	/**
+	 * Specifies if bilinear interpolation weights should be precomputed.  This is on by default if the
+	 * interpolation is bilinear.  When off only the source coordinates are cached, which uses less memory.
+	 *
+	 * @param precompute true to precompute the weights
+	 */
+	public void setPrecomputeBilinear( boolean precompute ) {
+		if( precompute && !bilinear )
+			throw new IllegalArgumentException("Interpolation isn't bilinear");
+		if( precompute != precomputeBilinear ) {
+			precomputeBilinear = precompute;
+			dirty = true;
+		}
+	}
+
+	public boolean isPrecomputeBilinear() {
+		return precomputeBilinear;
+	}
+
+	@Override
+	public void setRenderAll(boolean renderAll) {
+		this.renderAll = renderAll;
+	}
+
+	@Override
+	public boolean getRenderAll() {
+		return renderAll;
+	}
+}
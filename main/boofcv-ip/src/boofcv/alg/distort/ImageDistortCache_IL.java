@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort;
+
+import boofcv.alg.interpolate.BilinearPixelMB;
+import boofcv.alg.interpolate.InterpolatePixelMB;
+import boofcv.struct.image.ImageInterleaved;
+
+/**
+ * Implementation of {@link ImageDistortCache} for {@link ImageInterleaved}.
+ *
+ * @author Peter Abeles
+ */
+public abstract class ImageDistortCache_IL<Input extends ImageInterleaved<Input>,Output extends ImageInterleaved<Output>>
+		extends ImageDistortCache<Input,Output,InterpolatePixelMB<Input>> {
+
+	// storage for interpolated pixel values
+	float values[] = new float[0];
+
+	/**
+	 * Specifies configuration parameters
+	 *
+	 * @param interp Interpolation algorithm
+	 */
+	public ImageDistortCache_IL(InterpolatePixelMB<Input> interp) {
+		super(interp, interp instanceof BilinearPixelMB);
+	}
+
+	@Override
+	protected void init(Input srcImg, Output dstImg) {
+		super.init(srcImg, dstImg);
+		if( values.length != srcImg.getNumBands() ) {
+			values = new float[ srcImg.getNumBands() ];
+		}
+	}
+
+	@Override
+	public void renderAll() {
+		BilinearPixelMB<Input> bilinear = precomputeBilinear ? (BilinearPixelMB<Input>)interp : null;
+		int srcStart = srcImg.startIndex;
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0*dstImg.numBands;
+			int indexPixel = y*width + x0;
+			for( int x = x0; x < x1; x++ , indexDst += dstImg.numBands , indexPixel++ ) {
+				float a = map[indexPixel*2];
+				float b = map[indexPixel*2+1];
+
+				if( bilinear != null && mapIndex[indexPixel] >= 0 )
+					bilinear.get_fast(srcStart+mapIndex[indexPixel], a, b, values);
+				else
+					interp.get(a, b, values);
+				assign(indexDst,values);
+			}
+		}
+	}
+
+	@Override
+	public void applyOnlyInside() {
+		float maxWidth = srcImg.getWidth()-1;
+		float maxHeight = srcImg.getHeight()-1;
+
+		BilinearPixelMB<Input> bilinear = precomputeBilinear ? (BilinearPixelMB<Input>)interp : null;
+		int srcStart = srcImg.startIndex;
+
+		for( int y = y0; y < y1; y++ ) {
+			int indexDst = dstImg.startIndex + dstImg.stride*y + x0*dstImg.numBands;
+			int indexPixel = y*width + x0;
+			for( int x = x0; x < x1; x++ , indexDst += dstImg.numBands , indexPixel++ ) {
+				float a = map[indexPixel*2];
+				float b = map[indexPixel*2+1];
+
+				if( bilinear != null && mapIndex[indexPixel] >= 0 ) {
+					bilinear.get_fast(srcStart+mapIndex[indexPixel], a, b, values);
+					assign(indexDst,values);
+				} else if( a >= 0 && a <= maxWidth && b >= 0 && b <= maxHeight ) {
+					interp.get(a, b, values);
+					assign(indexDst,values);
+				}
+			}
+		}
+	}
+
+	protected abstract void assign( int indexDst , float[] value );
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort.impl;
+
+import boofcv.alg.distort.ImageDistortCache_IL;
+import boofcv.alg.interpolate.InterpolatePixelMB;
+import boofcv.struct.image.InterleavedF32;
+
+/**
+ * <p>Implementation of {@link ImageDistortCache_IL}.</p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplImageDistortCache_IL_F32 extends ImageDistortCache_IL<InterleavedF32,InterleavedF32> {
+
+	public ImplImageDistortCache_IL_F32(InterpolatePixelMB<InterleavedF32> interp) {
+		super(interp);
+	}
+
+	@Override
+	protected void assign(int indexDst, float[] value) {
+		for( int i = 0; i < dstImg.numBands; i++ ) {
+			dstImg.data[indexDst+i] = value[i];
+		}
+	}
+}
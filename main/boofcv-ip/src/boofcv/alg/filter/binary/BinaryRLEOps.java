@@ -0,0 +1,641 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.struct.ConnectRule;
+import boofcv.struct.image.BinaryRLE;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>
+ * Operations on run-length encoded binary images, {@link BinaryRLE}.  Operations are performed on runs of pixels
+ * instead of individual pixels, so their cost depends on the number of runs and not the size of the image.
+ * Results are the same as the equivalent functions for {@link GrayU8} images in {@link BinaryImageOps} and
+ * {@link ThresholdImageOps}, including how pixels along the image border are handled.
+ * </p>
+ *
+ * <p>
+ * Unless stated otherwise the output image can't be the same instance as the input image.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BinaryRLEOps {
+
+	private static final int AND = 0;
+	private static final int OR = 1;
+	private static final int XOR = 2;
+
+	/**
+	 * Converts a binary {@link GrayU8} image into a run-length encoded image.  Pixels with a value
+	 * of one are in a run.
+	 *
+	 * @param input Input binary image. Not modified.
+	 * @param output (Optional) Output run-length encoded image. If null a new instance will be declared. Modified.
+	 * @return The run-length encoded image
+	 */
+	public static BinaryRLE convert( GrayU8 input , BinaryRLE output ) {
+		output = checkDeclare(input.width, input.height, output);
+		output.reset();
+
+		for (int y = 0; y < input.height; y++) {
+			int index = input.startIndex + y*input.stride;
+			int end = index + input.width;
+			int x0 = -1;
+			for (int i = index; i < end; i++) {
+				if( input.data[i] == 1 ) {
+					if( x0 < 0 )
+						x0 = i-index;
+				} else if( x0 >= 0 ) {
+					output.addRun(x0, i-index);
+					x0 = -1;
+				}
+			}
+			if( x0 >= 0 )
+				output.addRun(x0, input.width);
+			output.finishRow();
+		}
+		return output;
+	}
+
+	/**
+	 * Converts a run-length encoded image into a binary {@link GrayU8} image.
+	 *
+	 * @param input Input run-length encoded image. Not modified.
+	 * @param output (Optional) Output binary image. If null a new instance will be declared. Modified.
+	 * @return The binary image
+	 */
+	public static GrayU8 convert( BinaryRLE input , GrayU8 output ) {
+		if( output == null ) {
+			output = new GrayU8(input.width, input.height);
+		} else if( output.width != input.width || output.height != input.height ) {
+			throw new IllegalArgumentException("Output image must be the same shape as the input image");
+		}
+
+		for (int y = 0; y < input.height; y++) {
+			int index = output.startIndex + y*output.stride;
+			Arrays.fill(output.data, index, index + output.width, (byte)0);
+			int end = input.rowStart[y+1]*2;
+			for (int i = input.rowStart[y]*2; i < end; i += 2) {
+				Arrays.fill(output.data, index + input.runs.data[i], index + input.runs.data[i+1], (byte)1);
+			}
+		}
+		return output;
+	}
+
+	/**
+	 * Applies a global threshold across the whole image and saves the results directly into a run-length
+	 * encoded image.  Same behavior as {@link ThresholdImageOps#threshold(GrayU8, GrayU8, int, boolean)}.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output (Optional) Output run-length encoded image. If null a new instance will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality &lt;= is used, otherwise if false then &gt; is used.
+	 * @return The run-length encoded image
+	 */
+	public static BinaryRLE threshold( GrayU8 input , BinaryRLE output , int threshold , boolean down ) {
+		output = checkDeclare(input.width, input.height, output);
+		output.reset();
+
+		for (int y = 0; y < input.height; y++) {
+			int index = input.startIndex + y*input.stride;
+			int end = index + input.width;
+			int x0 = -1;
+			for (int i = index; i < end; i++) {
+				boolean inside = ((input.data[i] & 0xFF) <= threshold) == down;
+				if( inside ) {
+					if( x0 < 0 )
+						x0 = i-index;
+				} else if( x0 >= 0 ) {
+					output.addRun(x0, i-index);
+					x0 = -1;
+				}
+			}
+			if( x0 >= 0 )
+				output.addRun(x0, input.width);
+			output.finishRow();
+		}
+		return output;
+	}
+
+	/**
+	 * Applies a global threshold across the whole image and saves the results directly into a run-length
+	 * encoded image.  Same behavior as {@link ThresholdImageOps#threshold(GrayF32, GrayU8, float, boolean)}.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output (Optional) Output run-length encoded image. If null a new instance will be declared. Modified.
+	 * @param threshold threshold value.
+	 * @param down If true then the inequality &lt;= is used, otherwise if false then &gt; is used.
+	 * @return The run-length encoded image
+	 */
+	public static BinaryRLE threshold( GrayF32 input , BinaryRLE output , float threshold , boolean down ) {
+		output = checkDeclare(input.width, input.height, output);
+		output.reset();
+
+		for (int y = 0; y < input.height; y++) {
+			int index = input.startIndex + y*input.stride;
+			int end = index + input.width;
+			int x0 = -1;
+			for (int i = index; i < end; i++) {
+				boolean inside = down ? input.data[i] <= threshold : input.data[i] > threshold;
+				if( inside ) {
+					if( x0 < 0 )
+						x0 = i-index;
+				} else if( x0 >= 0 ) {
+					output.addRun(x0, i-index);
+					x0 = -1;
+				}
+			}
+			if( x0 >= 0 )
+				output.addRun(x0, input.width);
+			output.finishRow();
+		}
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'and' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output Output image. If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static BinaryRLE logicAnd( BinaryRLE inputA , BinaryRLE inputB , BinaryRLE output ) {
+		return logic(inputA, inputB, output, AND);
+	}
+
+	/**
+	 * For each pixel it applies the logical 'or' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output Output image. If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static BinaryRLE logicOr( BinaryRLE inputA , BinaryRLE inputB , BinaryRLE output ) {
+		return logic(inputA, inputB, output, OR);
+	}
+
+	/**
+	 * For each pixel it applies the logical 'xor' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output Output image. If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static BinaryRLE logicXor( BinaryRLE inputA , BinaryRLE inputB , BinaryRLE output ) {
+		return logic(inputA, inputB, output, XOR);
+	}
+
+	private static BinaryRLE logic( BinaryRLE inputA , BinaryRLE inputB , BinaryRLE output , int op ) {
+		if( inputA.width != inputB.width || inputA.height != inputB.height )
+			throw new IllegalArgumentException("Input images must be the same shape");
+		output = checkDeclare(inputA, output);
+		if( output == inputB )
+			throw new IllegalArgumentException("Output can't be the same as the input");
+
+		GrowQueue_I32 row = new GrowQueue_I32();
+		int[] dataA = inputA.runs.data;
+		int[] dataB = inputB.runs.data;
+
+		output.reset();
+		for (int y = 0; y < inputA.height; y++) {
+			row.reset();
+			combine(dataA, inputA.rowStart[y]*2, inputA.rowStart[y+1]*2,
+					dataB, inputB.rowStart[y]*2, inputB.rowStart[y+1]*2, op, row);
+			addRow(row, output);
+		}
+		return output;
+	}
+
+	/**
+	 * Inverts each pixel from true to false and vis-versa.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static BinaryRLE invert( BinaryRLE input , BinaryRLE output ) {
+		output = checkDeclare(input, output);
+
+		output.reset();
+		for (int y = 0; y < input.height; y++) {
+			int x = 0;
+			int end = input.rowStart[y+1]*2;
+			for (int i = input.rowStart[y]*2; i < end; i += 2) {
+				if( input.runs.data[i] > x )
+					output.addRun(x, input.runs.data[i]);
+				x = input.runs.data[i+1];
+			}
+			if( x < input.width )
+				output.addRun(x, input.width);
+			output.finishRow();
+		}
+		return output;
+	}
+
+	/**
+	 * <p>
+	 * Erodes an image according to a 4-neighborhood.  Unless a pixel is connected to all its neighbors its value
+	 * is set to zero.  Pixels outside the image are ignored, except that the four corner pixels are always set
+	 * to zero, which is the same as {@link BinaryImageOps#erode4(GrayU8, int, GrayU8)}.
+	 * </p>
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static BinaryRLE erode4( BinaryRLE input , int numTimes , BinaryRLE output ) {
+		return morph(input, numTimes, output, true, false);
+	}
+
+	/**
+	 * <p>
+	 * Dilates an image according to a 4-neighborhood.  If a pixel is connected to any other pixel then its output
+	 * value will be one.
+	 * </p>
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static BinaryRLE dilate4( BinaryRLE input , int numTimes , BinaryRLE output ) {
+		return morph(input, numTimes, output, false, false);
+	}
+
+	/**
+	 * <p>
+	 * Erodes an image according to a 8-neighborhood.  Unless a pixel is connected to all its neighbors its value
+	 * is set to zero.  Pixels outside the image are ignored, the same as {@link BinaryImageOps#erode8(GrayU8, int, GrayU8)}.
+	 * </p>
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static BinaryRLE erode8( BinaryRLE input , int numTimes , BinaryRLE output ) {
+		return morph(input, numTimes, output, true, true);
+	}
+
+	/**
+	 * <p>
+	 * Dilates an image according to a 8-neighborhood.  If a pixel is connected to any other pixel then its output
+	 * value will be one.
+	 * </p>
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static BinaryRLE dilate8( BinaryRLE input , int numTimes , BinaryRLE output ) {
+		return morph(input, numTimes, output, false, true);
+	}
+
+	/**
+	 * Applies erode or dilate multiple times, switching between two images
+	 */
+	private static BinaryRLE morph( BinaryRLE input , int numTimes , BinaryRLE output ,
+									boolean erode , boolean eight ) {
+		if( numTimes <= 0 )
+			throw new IllegalArgumentException("numTimes must be >= 1");
+		output = checkDeclare(input, output);
+
+		Storage storage = new Storage();
+		morph(input, output, erode, eight, storage);
+
+		if( numTimes > 1 ) {
+			BinaryRLE tmp1 = new BinaryRLE(input.width, input.height);
+			BinaryRLE tmp2 = output;
+
+			for (int i = 1; i < numTimes; i++) {
+				morph(tmp2, tmp1, erode, eight, storage);
+
+				BinaryRLE a = tmp1;
+				tmp1 = tmp2;
+				tmp2 = a;
+			}
+
+			if( tmp2 != output ) {
+				output.setTo(tmp2);
+			}
+		}
+		return output;
+	}
+
+	/**
+	 * Erode is computed by shrinking runs and finding the intersection with the rows above and below.  Dilate
+	 * is computed by growing runs and finding the union with the rows above and below.  For an 8-neighborhood
+	 * the rows above and below are also shrunk or grown.  Rows outside the image are skipped, which is the
+	 * same as treating pixels outside the image as one when eroding and zero when dilating.  To match
+	 * {@link BinaryImageOps}, a 4-neighborhood erode then removes the corner pixels, or every pixel when the
+	 * image is only one pixel wide or tall.
+	 */
+	private static void morph( BinaryRLE input , BinaryRLE output ,
+							   boolean erode , boolean eight , Storage s ) {
+		final int op = erode ? AND : OR;
+		final int delta = erode ? -1 : 1;
+		final int[] data = input.runs.data;
+
+		final boolean clearCorners = erode && !eight;
+
+		if( clearCorners && (input.width == 1 || input.height == 1) ) {
+			output.setToZero();
+			return;
+		}
+
+		output.reset();
+		for (int y = 0; y < input.height; y++) {
+			s.row.reset();
+			adjust(data, input.rowStart[y]*2, input.rowStart[y+1]*2, delta, input.width, s.row);
+
+			GrowQueue_I32 current = s.row;
+			for (int i = -1; i <= 1; i += 2) {
+				int yy = y + i;
+				if( yy < 0 || yy >= input.height )
+					continue;
+				int start = input.rowStart[yy]*2;
+				int end = input.rowStart[yy+1]*2;
+				int[] neighbor = data;
+				if( eight ) {
+					s.neighbor.reset();
+					adjust(data, start, end, delta, input.width, s.neighbor);
+					neighbor = s.neighbor.data;
+					start = 0;
+					end = s.neighbor.size;
+				}
+
+				GrowQueue_I32 next = current == s.row ? s.combined : s.row;
+				next.reset();
+				combine(current.data, 0, current.size, neighbor, start, end, op, next);
+				current = next;
+			}
+			if( clearCorners && (y == 0 || y == input.height-1) )
+				removeEnds(current, input.width);
+			addRow(current, output);
+		}
+	}
+
+	/**
+	 * Grows or shrinks each run by one pixel on each side.  Runs which become empty are removed
+	 * and runs which overlap are merged.  Pixels outside the image are treated as one, so runs are not
+	 * shrunk at the image border.
+	 */
+	private static void adjust( int[] runs , int start , int end , int delta , int width , GrowQueue_I32 output ) {
+		for (int i = start; i < end; i += 2) {
+			int x0 = runs[i] == 0 ? 0 : Math.max(0, runs[i] - delta);
+			int x1 = runs[i+1] == width ? width : Math.min(width, runs[i+1] + delta);
+			if( x0 >= x1 )
+				continue;
+			addRun(x0, x1, output);
+		}
+	}
+
+	/**
+	 * Removes the first and last pixel in the row from the runs, if they are set
+	 */
+	private static void removeEnds( GrowQueue_I32 row , int width ) {
+		if( row.size > 0 && row.data[row.size-1] == width ) {
+			if( --row.data[row.size-1] == row.data[row.size-2] )
+				row.size -= 2;
+		}
+		if( row.size > 0 && row.data[0] == 0 ) {
+			if( ++row.data[0] == row.data[1] )
+				row.removeHead(2);
+		}
+	}
+
+	/**
+	 * Combines two sorted lists of runs using a logical operation.  The boundaries of both lists are
+	 * traversed in order and a run is created for each span where the operation is true.
+	 *
+	 * @param a Runs in the first list
+	 * @param a0 Index of the first element in 'a'
+	 * @param a1 Index after the last element in 'a'
+	 * @param b Runs in the second list
+	 * @param b0 Index of the first element in 'b'
+	 * @param b1 Index after the last element in 'b'
+	 * @param op The logical operation
+	 * @param output Runs are added to this list
+	 */
+	private static void combine( int[] a , int a0 , int a1 , int[] b , int b0 , int b1 ,
+								 int op , GrowQueue_I32 output ) {
+		// indexes of the next boundary in each list.  Even is a start and odd is an end
+		int i = a0, j = b0;
+		int x = 0;
+		while( i < a1 || j < b1 ) {
+			int nextA = i < a1 ? a[i] : Integer.MAX_VALUE;
+			int nextB = j < b1 ? b[j] : Integer.MAX_VALUE;
+			int next = Math.min(nextA, nextB);
+
+			// the state is constant from x to next
+			boolean insideA = ((i-a0) & 1) == 1;
+			boolean insideB = ((j-b0) & 1) == 1;
+			boolean value;
+			switch( op ) {
+				case AND: value = insideA && insideB; break;
+				case OR: value = insideA || insideB; break;
+				default: value = insideA != insideB; break;
+			}
+			if( value && x < next )
+				addRun(x, next, output);
+
+			x = next;
+			if( nextA == next ) i++;
+			if( nextB == next ) j++;
+		}
+	}
+
+	/**
+	 * Adds a run to the end of the list.  If it overlaps or touches the last run then they are merged.
+	 */
+	private static void addRun( int x0 , int x1 , GrowQueue_I32 output ) {
+		if( output.size > 0 && x0 <= output.data[output.size-1] ) {
+			output.data[output.size-1] = Math.max(x1, output.data[output.size-1]);
+		} else {
+			output.add(x0);
+			output.add(x1);
+		}
+	}
+
+	private static void addRow( GrowQueue_I32 row , BinaryRLE output ) {
+		for (int i = 0; i < row.size; i += 2) {
+			output.addRun(row.data[i], row.data[i+1]);
+		}
+		output.finishRow();
+	}
+
+	/**
+	 * <p>
+	 * Finds the connected components in the image and assigns a label to each run.  Runs in the same blob have
+	 * the same label.  Labels start at 1 and are assigned in the order the blobs are first encountered in a raster
+	 * scan, which is the same order as {@link LinearContourLabelChang2004}.
+	 * </p>
+	 *
+	 * <p>
+	 * Runs which overlap in adjacent rows are merged using union-find.  With an 8-neighborhood runs
+	 * which touch diagonally are also merged.
+	 * </p>
+	 *
+	 * @param input Input image. Not modified.
+	 * @param rule Connectivity rule.  Can be 4 or 8.
+	 * @param labels (Output) Label of each run.  Modified.
+	 * @return Number of blobs found.
+	 */
+	public static int labelRuns( BinaryRLE input , ConnectRule rule , GrowQueue_I32 labels ) {
+		final int numRuns = input.getNumRuns();
+		final int[] runs = input.runs.data;
+		// a run touches another run diagonally if its start is at the other's end
+		final int touch = rule == ConnectRule.EIGHT ? 1 : 0;
+
+		// union-find forest with the root having the smallest index
+		int[] parent = new int[numRuns];
+		for (int i = 0; i < numRuns; i++) {
+			parent[i] = i;
+		}
+
+		for (int y = 1; y < input.height; y++) {
+			int i = input.rowStart[y-1], endPrev = input.rowStart[y];
+			int j = input.rowStart[y], endCurr = input.rowStart[y+1];
+
+			while( i < endPrev && j < endCurr ) {
+				int prevX1 = runs[i*2+1];
+				int currX1 = runs[j*2+1];
+				if( runs[i*2] < currX1 + touch && runs[j*2] < prevX1 + touch ) {
+					union(parent, i, j);
+				}
+				if( prevX1 < currX1 )
+					i++;
+				else
+					j++;
+			}
+		}
+
+		// roots are the first run in each blob so labels can be assigned in order
+		labels.resize(numRuns);
+		int numBlobs = 0;
+		for (int i = 0; i < numRuns; i++) {
+			int root = find(parent, i);
+			if( root == i )
+				labels.data[i] = ++numBlobs;
+			else
+				labels.data[i] = labels.data[root];
+		}
+		return numBlobs;
+	}
+
+	private static void union( int[] parent , int a , int b ) {
+		int rootA = find(parent, a);
+		int rootB = find(parent, b);
+		if( rootA < rootB )
+			parent[rootB] = rootA;
+		else if( rootB < rootA )
+			parent[rootA] = rootB;
+	}
+
+	private static int find( int[] parent , int index ) {
+		while( parent[index] != index ) {
+			parent[index] = parent[parent[index]];
+			index = parent[index];
+		}
+		return index;
+	}
+
+	/**
+	 * Renders the label of each run into a labeled image.  Pixels outside of runs are set to zero.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param labels Label of each run, see {@link #labelRuns}.
+	 * @param output (Optional) Output labeled image. If null a new instance will be declared. Modified.
+	 * @return Labeled image
+	 */
+	public static GrayS32 labelToImage( BinaryRLE input , GrowQueue_I32 labels , GrayS32 output ) {
+		if( output == null ) {
+			output = new GrayS32(input.width, input.height);
+		} else if( output.width != input.width || output.height != input.height ) {
+			throw new IllegalArgumentException("Output image must be the same shape as the input image");
+		}
+
+		for (int y = 0; y < input.height; y++) {
+			int index = output.startIndex + y*output.stride;
+			Arrays.fill(output.data, index, index + output.width, 0);
+			for (int run = input.rowStart[y]; run < input.rowStart[y+1]; run++) {
+				Arrays.fill(output.data, index + input.runs.data[run*2], index + input.runs.data[run*2+1],
+						labels.data[run]);
+			}
+		}
+		return output;
+	}
+
+	/**
+	 * Finds the contours of each blob in a run-length encoded image.  See
+	 * {@link BinaryImageOps#contour(GrayU8, ConnectRule, GrayS32)}.  Only pixels in runs are examined
+	 * so the cost of the initial scan depends on the number of pixels which are one.
+	 *
+	 * @see LinearContourLabelChang2004#process(BinaryRLE, GrayS32)
+	 *
+	 * @param input Input binary image.  Not modified.
+	 * @param rule Connectivity rule.  Can be 4 or 8.  8 is more commonly used.
+	 * @param output (Optional) Output labeled image. If null, an image will be declared internally.  Modified.
+	 * @return List of found contours for each blob.
+	 */
+	public static List<Contour> contour( BinaryRLE input , ConnectRule rule , GrayS32 output ) {
+		if( output == null ) {
+			output = new GrayS32(input.width, input.height);
+		}
+
+		LinearContourLabelChang2004 alg = new LinearContourLabelChang2004(rule);
+		alg.process(input, output);
+		return alg.getContours().toList();
+	}
+
+	private static BinaryRLE checkDeclare( BinaryRLE input , BinaryRLE output ) {
+		if( output == input )
+			throw new IllegalArgumentException("Output can't be the same as the input");
+		return checkDeclare(input.width, input.height, output);
+	}
+
+	private static BinaryRLE checkDeclare( int width , int height , BinaryRLE output ) {
+		if( output == null )
+			return new BinaryRLE(width, height);
+		if( output.width != width || output.height != height )
+			output.reshape(width, height);
+		return output;
+	}
+
+	/**
+	 * Storage for rows of runs
+	 */
+	private static class Storage {
+		GrowQueue_I32 row = new GrowQueue_I32();
+		GrowQueue_I32 neighbor = new GrowQueue_I32();
+		GrowQueue_I32 combined = new GrowQueue_I32();
+	}
+}
@@ -19,10 +19,12 @@
 package boofcv.alg.filter.binary;
 
 import boofcv.struct.ConnectRule;
+import boofcv.struct.PackedSetsPoint2D_I32;
 import boofcv.struct.image.GrayS32;
 import boofcv.struct.image.GrayU8;
 import georegression.struct.point.Point2D_I32;
 import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_I32;
 
 import java.util.List;
 
@@ -41,9 +43,15 @@ public class ContourTracer {
 
 	// storage for contour points.
 	private FastQueue<Point2D_I32> storagePoints;
+	// storage for contour points when packed.  If not null then points are saved here
+	private PackedSetsPoint2D_I32 storagePacked;
 
 	// binary image being traced
 	private GrayU8 binary;
+	// image which white pixels are marked in.  Typically the same as binary
+	private GrayU8 marks;
+	// if not null, the index of every marked pixel is saved here
+	private GrowQueue_I32 markedIndexes;
 	// label image being marked
 	private GrayS32 labeled;
 
@@ -101,9 +109,30 @@ public class ContourTracer {
 	 * @param storagePoints
 	 */
 	public void setInputs(GrayU8 binary , GrayS32 labeled , FastQueue<Point2D_I32> storagePoints ) {
+		this.storagePoints = storagePoints;
+		this.storagePacked = null;
+		setInputs(binary, labeled);
+	}
+
+	/**
+	 * Same as {@link #setInputs(GrayU8, GrayS32, FastQueue)} but contours are saved as new sets in packed storage.
+	 * Use {@link #trace(int, int, int, boolean)} with this function.
+	 *
+	 * @param binary Binary image with a border of zeros added to the outside.
+	 * @param labeled Labeled image.  Size is the same as the original binary image without border.
+	 * @param storage Storage for the contours.
+	 */
+	public void setInputs(GrayU8 binary , GrayS32 labeled , PackedSetsPoint2D_I32 storage ) {
+		this.storagePoints = null;
+		this.storagePacked = storage;
+		setInputs(binary, labeled);
+	}
+
+	private void setInputs(GrayU8 binary , GrayS32 labeled ) {
 		this.binary = binary;
 		this.labeled = labeled;
-		this.storagePoints = storagePoints;
+		this.marks = binary;
+		this.markedIndexes = null;
 
 		if( rule == ConnectRule.EIGHT ) {
 			setOffsets8(offsetsBinary,binary.stride);
@@ -114,6 +143,20 @@ public class ContourTracer {
 		}
 	}
 
+	/**
+	 * Instead of marking white pixels which have been examined in the binary image, mark them in a different image.
+	 * Allows the binary image to be shared between threads.  Must be called after setInputs().
+	 *
+	 * @param marks Image that marks are written to.  Same shape as the binary image.
+	 * @param markedIndexes If not null the index of every marked pixel is added to it, so that the marks can be undone.
+	 */
+	public void setMarks( GrayU8 marks , GrowQueue_I32 markedIndexes ) {
+		if( marks.stride != binary.stride || marks.startIndex != binary.startIndex )
+			throw new IllegalArgumentException("Marks must have the same shape as the binary image");
+		this.marks = marks;
+		this.markedIndexes = markedIndexes;
+	}
+
 	private void setOffsets8( int offsets[] , int stride ) {
 		int s = stride;
 		offsets[0] =  1;   // x =  1 y =  0
@@ -143,6 +186,28 @@ public class ContourTracer {
 	 * @param contour
 	 */
 	public void trace( int label , int initialX , int initialY , boolean external , List<Point2D_I32> contour )
+	{
+		this.contour = contour;
+		trace(label, initialX, initialY, external);
+	}
+
+	/**
+	 * Traces a contour and saves it as a new set in the packed storage.  See
+	 * {@link #setInputs(GrayU8, GrayS32, PackedSetsPoint2D_I32)}.
+	 *
+	 * @param label ID of the object being traced
+	 * @param initialX x-coordinate of the first pixel, in the bordered binary image
+	 * @param initialY y-coordinate of the first pixel, in the bordered binary image
+	 * @param external True for tracing an external contour or false for internal..
+	 */
+	public void trace( int label , int initialX , int initialY , boolean external )
+	{
+		if( storagePacked != null )
+			storagePacked.grow();
+		traceContour(label, initialX, initialY, external);
+	}
+
+	private void traceContour( int label , int initialX , int initialY , boolean external )
 	{
 		int initialDir;
 		if( rule == ConnectRule.EIGHT )
@@ -151,7 +216,6 @@ public class ContourTracer {
 			initialDir = external ? 0 : 2;
 
 		this.label = label;
-		this.contour = contour;
 		this.dir = initialDir;
 		x = initialX;
 		y = initialY;
@@ -206,7 +270,9 @@ public class ContourTracer {
 			return true;
 		} else {
 			// mark white pixels as negative numbers to avoid retracing this contour in the future
-			binary.data[index] = -1;
+			if( markedIndexes != null && marks.data[index] == 0 )
+				markedIndexes.add(index);
+			marks.data[index] = -1;
 			return false;
 		}
 	}
@@ -225,10 +291,14 @@ public class ContourTracer {
 	 * Adds a point to the contour list
 	 */
 	private void add( int x , int y ) {
-		Point2D_I32 p = storagePoints.grow();
 		// compensate for the border added to binary image
-		p.set(x-1, y-1);
-		contour.add(p);
+		if( storagePacked != null ) {
+			storagePacked.addPointToTail(x-1, y-1);
+		} else {
+			Point2D_I32 p = storagePoints.grow();
+			p.set(x-1, y-1);
+			contour.add(p);
+		}
 		labeled.data[indexLabel] = label;
 	}
 }
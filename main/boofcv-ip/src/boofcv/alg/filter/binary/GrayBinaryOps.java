@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.struct.image.GrayBinary;
+import boofcv.struct.image.GrayU8;
+
+/**
+ * <p>
+ * Operations on bit-packed binary images, {@link GrayBinary}.  Each operation processes 64 pixels at once using
+ * bitwise operations on longs.  Results are the same as the equivalent functions for {@link GrayU8} images
+ * in {@link BinaryImageOps}, including how pixels along the image border are handled.
+ * </p>
+ *
+ * <p>
+ * Morphological operations are computed by shifting the bits in a row by one pixel to the left and right, with bits
+ * carried over between words, and combining them with the rows above and below.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class GrayBinaryOps {
+
+	/**
+	 * Converts a binary {@link GrayU8} image into a bit-packed image.
+	 *
+	 * @param input Input binary image.  Values must be 0 or 1. Not modified.
+	 * @param output (Optional) Output bit-packed image. If null a new instance will be declared. Modified.
+	 * @return The bit-packed image
+	 */
+	public static GrayBinary convert( GrayU8 input , GrayBinary output ) {
+		output = checkDeclare(input.width, input.height, output);
+
+		for (int y = 0; y < input.height; y++) {
+			int indexIn = input.startIndex + y*input.stride;
+			int indexOut = y*output.stride;
+
+			for (int x = 0; x < input.width; x += 64, indexOut++) {
+				int length = Math.min(64, input.width - x);
+				long word = 0;
+				for (int bit = 0; bit < length; bit++) {
+					word |= (long)input.data[indexIn++] << bit;
+				}
+				output.data[indexOut] = word;
+			}
+		}
+		return output;
+	}
+
+	/**
+	 * Converts a bit-packed image into a binary {@link GrayU8} image.
+	 *
+	 * @param input Input bit-packed image. Not modified.
+	 * @param output (Optional) Output binary image. If null a new instance will be declared. Modified.
+	 * @return The binary image
+	 */
+	public static GrayU8 convert( GrayBinary input , GrayU8 output ) {
+		if( output == null ) {
+			output = new GrayU8(input.width, input.height);
+		} else if( output.width != input.width || output.height != input.height ) {
+			throw new IllegalArgumentException("Output image must be the same shape as the input image");
+		}
+
+		for (int y = 0; y < input.height; y++) {
+			int indexIn = y*input.stride;
+			int indexOut = output.startIndex + y*output.stride;
+
+			for (int x = 0; x < input.width; x += 64, indexIn++) {
+				int length = Math.min(64, input.width - x);
+				long word = input.data[indexIn];
+				for (int bit = 0; bit < length; bit++) {
+					output.data[indexOut++] = (byte)((word >>> bit) & 1);
+				}
+			}
+		}
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'and' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output Output image. Can be same as either input.  If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static GrayBinary logicAnd( GrayBinary inputA , GrayBinary inputB , GrayBinary output ) {
+		output = checkDeclare(inputA, inputB, output);
+
+		int N = inputA.stride*inputA.height;
+		for (int i = 0; i < N; i++) {
+			output.data[i] = inputA.data[i] & inputB.data[i];
+		}
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'or' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output Output image. Can be same as either input.  If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static GrayBinary logicOr( GrayBinary inputA , GrayBinary inputB , GrayBinary output ) {
+		output = checkDeclare(inputA, inputB, output);
+
+		int N = inputA.stride*inputA.height;
+		for (int i = 0; i < N; i++) {
+			output.data[i] = inputA.data[i] | inputB.data[i];
+		}
+		return output;
+	}
+
+	/**
+	 * For each pixel it applies the logical 'xor' operator between two images.
+	 *
+	 * @param inputA First input image. Not modified.
+	 * @param inputB Second input image. Not modified.
+	 * @param output Output image. Can be same as either input.  If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static GrayBinary logicXor( GrayBinary inputA , GrayBinary inputB , GrayBinary output ) {
+		output = checkDeclare(inputA, inputB, output);
+
+		int N = inputA.stride*inputA.height;
+		for (int i = 0; i < N; i++) {
+			output.data[i] = inputA.data[i] ^ inputB.data[i];
+		}
+		return output;
+	}
+
+	/**
+	 * Inverts each pixel from true to false and vis-versa.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Output image. Can be same as input.  If null a new instance will be declared, Modified.
+	 * @return Output of logical operation.
+	 */
+	public static GrayBinary invert( GrayBinary input , GrayBinary output ) {
+		output = checkDeclare(input.width, input.height, output);
+
+		long mask = input.getLastWordMask();
+		for (int y = 0; y < input.height; y++) {
+			int index = y*input.stride;
+			int end = index + input.stride - 1;
+			for (; index < end; index++) {
+				output.data[index] = ~input.data[index];
+			}
+			output.data[end] = ~input.data[end] & mask;
+		}
+		return output;
+	}
+
+	/**
+	 * <p>
+	 * Erodes an image according to a 4-neighborhood.  Unless a pixel is connected to all its neighbors its value
+	 * is set to zero.  Pixels outside the image are ignored, except that the four corner pixels are always set
+	 * to zero, which is the same as {@link BinaryImageOps#erode4(GrayU8, int, GrayU8)}.
+	 * </p>
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static GrayBinary erode4( GrayBinary input , int numTimes , GrayBinary output ) {
+		return morph(input, numTimes, output, true, false);
+	}
+
+	/**
+	 * <p>
+	 * Dilates an image according to a 4-neighborhood.  If a pixel is connected to any other pixel then its output
+	 * value will be one.
+	 * </p>
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static GrayBinary dilate4( GrayBinary input , int numTimes , GrayBinary output ) {
+		return morph(input, numTimes, output, false, false);
+	}
+
+	/**
+	 * <p>
+	 * Erodes an image according to a 8-neighborhood.  Unless a pixel is connected to all its neighbors its value
+	 * is set to zero.  Pixels outside the image are ignored, the same as {@link BinaryImageOps#erode8(GrayU8, int, GrayU8)}.
+	 * </p>
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static GrayBinary erode8( GrayBinary input , int numTimes , GrayBinary output ) {
+		return morph(input, numTimes, output, true, true);
+	}
+
+	/**
+	 * <p>
+	 * Dilates an image according to a 8-neighborhood.  If a pixel is connected to any other pixel then its output
+	 * value will be one.
+	 * </p>
+	 *
+	 * @param input  Input image. Not modified.
+	 * @param numTimes How many times the operation will be applied to the image.
+	 * @param output If not null, the output image.  If null a new image is declared and returned.  Modified.
+	 * @return Output image.
+	 */
+	public static GrayBinary dilate8( GrayBinary input , int numTimes , GrayBinary output ) {
+		return morph(input, numTimes, output, false, true);
+	}
+
+	/**
+	 * Applies erode or dilate multiple times, switching between two images
+	 */
+	private static GrayBinary morph( GrayBinary input , int numTimes , GrayBinary output ,
+									 boolean erode , boolean eight ) {
+		if( numTimes <= 0 )
+			throw new IllegalArgumentException("numTimes must be >= 1");
+		if( input == output )
+			throw new IllegalArgumentException("Output can't be the same as the input");
+		output = checkDeclare(input.width, input.height, output);
+
+		long[] work = new long[input.stride];
+		morph(input, output, erode, eight, work);
+
+		if( numTimes > 1 ) {
+			GrayBinary tmp1 = new GrayBinary(input.width, input.height);
+			GrayBinary tmp2 = output;
+
+			for (int i = 1; i < numTimes; i++) {
+				morph(tmp2, tmp1, erode, eight, work);
+
+				GrayBinary a = tmp1;
+				tmp1 = tmp2;
+				tmp2 = a;
+			}
+
+			if( tmp2 != output ) {
+				output.setTo(tmp2);
+			}
+		}
+		return output;
+	}
+
+	/**
+	 * <p>
+	 * For erode the pixels in a row are combined with the pixels to their left and right using 'and', dilate
+	 * uses 'or'.  With a 4-neighborhood the row is first combined horizontally and then with the rows above
+	 * and below.  With an 8-neighborhood the three rows are first combined vertically and the result is
+	 * then combined horizontally.
+	 * </p>
+	 *
+	 * <p>
+	 * Pixels outside the image are treated as one when eroding and zero when dilating, which means they
+	 * have no influence on the result.  To match {@link BinaryImageOps}, a 4-neighborhood erode then sets
+	 * the corner pixels to zero, or the entire image when it is only one pixel wide or tall.
+	 * </p>
+	 */
+	private static void morph( GrayBinary input , GrayBinary output , boolean erode , boolean eight ,
+							   long[] work ) {
+		final int stride = input.stride;
+		final long[] data = input.data;
+		final long mask = input.getLastWordMask();
+		// value of bits outside the image
+		final long pad = erode ? -1L : 0L;
+
+		for (int y = 0; y < input.height; y++) {
+			int indexC = y*stride;
+			int indexU = indexC - stride;
+			int indexD = indexC + stride;
+			boolean hasUp = y > 0;
+			boolean hasDown = y+1 < input.height;
+
+			if( eight ) {
+				// combine vertically first
+				for (int i = 0; i < stride; i++) {
+					long up = hasUp ? data[indexU+i] : pad;
+					long down = hasDown ? data[indexD+i] : pad;
+					long v = data[indexC+i];
+					work[i] = erode ? up & v & down : up | v | down;
+				}
+			} else {
+				System.arraycopy(data, indexC, work, 0, stride);
+			}
+			// bits after the last pixel are set to the pad value so that they don't influence the result
+			work[stride-1] = (work[stride-1] & mask) | (pad & ~mask);
+
+			// combine horizontally
+			long prev = pad;
+			for (int i = 0; i < stride; i++) {
+				long v = work[i];
+				long next = i+1 < stride ? work[i+1] : pad;
+				long left = (v << 1) | (prev >>> 63);
+				long right = (v >>> 1) | (next << 63);
+				long h = erode ? v & left & right : v | left | right;
+
+				if( !eight ) {
+					long up = hasUp ? data[indexU+i] : pad;
+					long down = hasDown ? data[indexD+i] : pad;
+					h = erode ? h & up & down : h | up | down;
+				}
+				output.data[indexC+i] = h;
+				prev = v;
+			}
+			output.data[indexC+stride-1] &= mask;
+		}
+
+		if( erode && !eight ) {
+			if( input.width == 1 || input.height == 1 ) {
+				output.fill(0);
+			} else {
+				int w = input.width-1, h = input.height-1;
+				output.unsafe_set(0, 0, 0);
+				output.unsafe_set(w, 0, 0);
+				output.unsafe_set(0, h, 0);
+				output.unsafe_set(w, h, 0);
+			}
+		}
+	}
+
+	private static GrayBinary checkDeclare( GrayBinary inputA , GrayBinary inputB , GrayBinary output ) {
+		if( inputA.width != inputB.width || inputA.height != inputB.height )
+			throw new IllegalArgumentException("Input images must be the same shape");
+		return checkDeclare(inputA.width, inputA.height, output);
+	}
+
+	private static GrayBinary checkDeclare( int width , int height , GrayBinary output ) {
+		if( output == null )
+			return new GrayBinary(width, height);
+		if( output.width != width || output.height != height )
+			output.reshape(width, height);
+		return output;
+	}
+}
@@ -20,12 +20,15 @@ package boofcv.alg.filter.binary;
 
 import boofcv.alg.misc.ImageMiscOps;
 import boofcv.struct.ConnectRule;
+import boofcv.struct.PackedSetsPoint2D_I32;
+import boofcv.struct.image.BinaryRLE;
 import boofcv.struct.image.GrayS32;
 import boofcv.struct.image.GrayU8;
 import georegression.struct.point.Point2D_I32;
 import org.ddogleg.struct.FastQueue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -48,6 +51,17 @@ import java.util.List;
  * </p>
  *
  * <p>
+ * Contour points are stored in a {@link PackedSetsPoint2D_I32}, see {@link #getPackedContours()} and
+ * {@link #getPackedPoints()}. That avoids declaring one object for every point.  {@link #getContours()}
+ * provides the same contours as lists of points and is only computed when requested.
+ * </p>
+ *
+ * <p>
+ * Run-length encoded images, {@link BinaryRLE}, can be processed directly.  Only pixels inside of runs are
+ * scanned, which is much faster for sparse images.
+ * </p>
+ *
+ * <p>
  * [1] Fu Chang and Chun-jen Chen and Chi-jen Lu, "A linear-time component-labeling algorithm using contour
  * tracing technique" Computer Vision and Image Understanding, 2004
  * </p>
@@ -60,12 +74,18 @@ public class LinearContourLabelChang2004 {
 	private ContourTracer tracer;
 
 	// binary image with a border of zero.
-	private GrayU8 border = new GrayU8(1,1);
+	protected GrayU8 border = new GrayU8(1,1);
+
+	// storage for the points in all the contours
+	protected PackedSetsPoint2D_I32 packedPoints = new PackedSetsPoint2D_I32();
+	protected FastQueue<ContourPacked> packedContours = new FastQueue<>(ContourPacked.class, true);
 
 	// predeclared/recycled data structures
 	private FastQueue<Point2D_I32> storagePoints = new FastQueue<>(Point2D_I32.class, true);
 	private FastQueue<List<Point2D_I32>> storageLists = new FastQueue<>((Class) ArrayList.class, true);
 	private FastQueue<Contour> contours = new FastQueue<>(Contour.class, true);
+	// true if contours needs to be updated from the packed contours
+	protected boolean contoursDirty = false;
 
 	// internal book keeping variables
 	private int x,y,indexIn,indexOut;
@@ -79,6 +99,37 @@ public class LinearContourLabelChang2004 {
 		tracer = new ContourTracer(rule);
 	}
 
+	/**
+	 * Copies the binary image into an image which has a border of zeros around it
+	 */
+	protected void copyIntoBorder( GrayU8 binary ) {
+		reshapeBorder(binary.width, binary.height);
+		border.subimage(1,1,border.width-1,border.height-1, null).setTo(binary);
+	}
+
+	/**
+	 * Renders the run-length encoded image into an image which has a border of zeros around it
+	 */
+	protected void copyIntoBorder( BinaryRLE binary ) {
+		reshapeBorder(binary.width, binary.height);
+		final int[] runs = binary.runs.data;
+		for (int y = 0; y < binary.height; y++) {
+			int index = border.startIndex + (y+1)*border.stride + 1;
+			Arrays.fill(border.data, index, index + binary.width, (byte)0);
+			for (int run = binary.rowStart[y]; run < binary.rowStart[y+1]; run++) {
+				Arrays.fill(border.data, index + runs[run*2], index + runs[run*2+1], (byte)1);
+			}
+		}
+	}
+
+	private void reshapeBorder( int width , int height ) {
+		// ensure that the image border pixels are filled with zero by enlarging the image
+		if( border.width != width+2 || border.height != height+2)  {
+			border.reshape(width + 2, height + 2);
+			ImageMiscOps.fillBorder(border, 0, 1);
+		}
+	}
+
 	/**
 	 * Processes the binary image to find the contour of and label blobs.
 	 *
@@ -88,68 +139,146 @@ public class LinearContourLabelChang2004 {
 	public void process(GrayU8 binary , GrayS32 labeled ) {
 		// initialize data structures
 
-		// ensure that the image border pixels are filled with zero by enlarging the image
-		if( border.width != binary.width+2 || border.height != binary.height+2)  {
-			border.reshape(binary.width + 2, binary.height + 2);
-			ImageMiscOps.fillBorder(border, 0, 1);
-		}
-		border.subimage(1,1,border.width-1,border.height-1, null).setTo(binary);
-
-		// labeled image must initially be filled with zeros
-		ImageMiscOps.fill(labeled,0);
-
-		binary = border;
-		storagePoints.reset();
-		storageLists.reset();
-		contours.reset();
-		tracer.setInputs(binary,labeled,storagePoints);
+		copyIntoBorder(binary);
+		initialize(labeled);
 
 		// Outside border is all zeros so it can be ignored
-		for( y = 1; y < binary.height-1; y++ ) {
-			indexIn = binary.startIndex + y*binary.stride+1;
+		for( y = 1; y < border.height-1; y++ ) {
+			indexIn = border.startIndex + y*border.stride+1;
 			indexOut = labeled.startIndex + (y-1)*labeled.stride;
 
-			for( x = 1; x < binary.width-1; x++ , indexIn++ , indexOut++) {
-				int bit = binary.data[indexIn];
+			for( x = 1; x < border.width-1; x++ , indexIn++ , indexOut++) {
+				int bit = border.data[indexIn];
 
 				// white pixels are ignored
 				if( !(bit == 1) )
 					continue;
 
-				int label = labeled.data[indexOut];
+				handlePixel(labeled);
+			}
+		}
+	}
 
-//				long startTraceTime = System.currentTimeMillis();
-				boolean handled = false;
-				if( label == 0 && binary.data[indexIn - binary.stride ] != 1 ) {
-					handleStep1();
-					handled = true;
-					label = contours.size;
-				}
-				// could be an external and internal contour
-				if( binary.data[indexIn + binary.stride ] == 0 ) {
-					handleStep2(labeled, label);
-					handled = true;
-				}
-				if( !handled ) {
-					handleStep3(labeled);
+	/**
+	 * Processes a run-length encoded binary image to find the contour of and label blobs.  Produces the
+	 * same output as {@link #process(GrayU8, GrayS32)} but only the pixels inside of runs are scanned.
+	 *
+	 * @param binary Input binary image. Not modified.
+	 * @param labeled Output. Labeled image.  Modified.
+	 */
+	public void process(BinaryRLE binary , GrayS32 labeled ) {
+		if( labeled.width != binary.width || labeled.height != binary.height )
+			throw new IllegalArgumentException("Labeled image must be the same shape as the binary image");
+
+		copyIntoBorder(binary);
+		initialize(labeled);
+
+		final int[] runs = binary.runs.data;
+		for( int row = 0; row < binary.height; row++ ) {
+			y = row+1;
+			for( int run = binary.rowStart[row]; run < binary.rowStart[row+1]; run++ ) {
+				int x0 = runs[run*2]+1;
+				int x1 = runs[run*2+1]+1;
+
+				indexIn = border.startIndex + y*border.stride + x0;
+				indexOut = labeled.startIndex + row*labeled.stride + x0-1;
+
+				for( x = x0; x < x1; x++ , indexIn++ , indexOut++) {
+					handlePixel(labeled);
 				}
 			}
 		}
 	}
 
+	/**
+	 * Prepares the output and the tracer after the input has been copied into the border image
+	 */
+	private void initialize( GrayS32 labeled ) {
+		// labeled image must initially be filled with zeros
+		ImageMiscOps.fill(labeled,0);
+
+		packedPoints.reset();
+		packedContours.reset();
+		contoursDirty = true;
+		tracer.setInputs(border,labeled,packedPoints);
+	}
+
+	/**
+	 * Handles a pixel in the binary image which has a value of 1.  x, y, indexIn, and indexOut must
+	 * refer to the pixel.
+	 */
+	private void handlePixel( GrayS32 labeled ) {
+		final GrayU8 binary = border;
+		int label = labeled.data[indexOut];
+
+		boolean handled = false;
+		if( label == 0 && binary.data[indexIn - binary.stride ] != 1 ) {
+			handleStep1();
+			handled = true;
+			label = packedContours.size;
+		}
+		// could be an external and internal contour
+		if( binary.data[indexIn + binary.stride ] == 0 ) {
+			handleStep2(labeled, label);
+			handled = true;
+		}
+		if( !handled ) {
+			handleStep3(labeled);
+		}
+	}
+
+	/**
+	 * Returns the found contours with points stored in lists.  The lists are created from the packed contours
+	 * the first time this function is called after an image has been processed.
+	 */
 	public FastQueue<Contour> getContours() {
+		if( contoursDirty ) {
+			contoursDirty = false;
+			storagePoints.reset();
+			storageLists.reset();
+			contours.reset();
+
+			for (int i = 0; i < packedContours.size; i++) {
+				ContourPacked p = packedContours.get(i);
+				Contour c = contours.grow();
+				c.reset();
+				c.id = p.id;
+				packedPoints.getSet(p.externalIndex, storagePoints, c.external);
+				for (int j = 0; j < p.internalIndexes.size; j++) {
+					List<Point2D_I32> inner = storageLists.grow();
+					inner.clear();
+					packedPoints.getSet(p.internalIndexes.get(j), storagePoints, inner);
+					c.internal.add(inner);
+				}
+			}
+		}
 		return contours;
 	}
 
+	/**
+	 * Returns the found contours.  Points in each contour are stored in {@link #getPackedPoints()}.
+	 */
+	public FastQueue<ContourPacked> getPackedContours() {
+		return packedContours;
+	}
+
+	/**
+	 * Storage for the points in all the contours
+	 */
+	public PackedSetsPoint2D_I32 getPackedPoints() {
+		return packedPoints;
+	}
+
 	/**
 	 *  Step 1: If the pixel is unlabeled and the pixel above is white, then it
 	 *          must be an external contour of a newly encountered blob.
 	 */
 	private void handleStep1() {
-		Contour c = contours.grow();
+		ContourPacked c = packedContours.grow();
 		c.reset();
-		c.id = contours.size();
-		tracer.trace(contours.size(),x,y,true,c.external);
+		c.id = packedContours.size();
+		c.externalIndex = packedPoints.size();
+		tracer.trace(c.id,x,y,true);
 	}
 
 	/**
@@ -161,11 +290,9 @@ public class LinearContourLabelChang2004 {
 		if( label == 0 )
 			label = labeled.data[indexOut-1];
 
-		Contour c = contours.get(label-1);
-		List<Point2D_I32> inner = storageLists.grow();
-		inner.clear();
-		c.internal.add(inner);
-		tracer.trace(label,x,y,false,inner);
+		ContourPacked c = packedContours.get(label-1);
+		c.internalIndexes.add(packedPoints.size());
+		tracer.trace(label,x,y,false);
 	}
 
 	/**
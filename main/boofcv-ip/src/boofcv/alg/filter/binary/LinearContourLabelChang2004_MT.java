@@ -0,0 +1,595 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntConsumer;
+import boofcv.concurrency.WorkerPool;
+import boofcv.struct.ConnectRule;
+import boofcv.struct.PackedSetsPoint2D_I32;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_I32;
+import org.ddogleg.struct.GrowQueue_I64;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link LinearContourLabelChang2004}.  Output is identical to the single threaded
+ * version, including the order of blobs, contours, and contour points.  Instead of labeling pixels as contours
+ * are traced the image is labeled and then contours are traced.
+ * </p>
+ *
+ * <ol>
+ * <li>The image is split into strips of rows and each strip is labeled independently using union-find.  The
+ * labeled image is used as the union-find forest, the value of a pixel is one plus the index of its parent.</li>
+ * <li>Labels on each side of the seams between strips are merged.  The root of each blob is always its pixel
+ * with the smallest index, which is the first pixel encountered in a raster scan.</li>
+ * <li>Blobs are assigned IDs in the order of their root pixels, the same order they are found in by the
+ * single threaded algorithm.</li>
+ * <li>Contours are traced for blocks of blobs in parallel and saved into packed storage for each block.  Each
+ * thread marks the pixels it has examined in its own image, which is cleared after each blob, so that blobs
+ * don't influence each other.</li>
+ * <li>The contours from each block are copied into the output in order.</li>
+ * </ol>
+ *
+ * <p>
+ * If {@link BoofConcurrency#isActive()} is false then the single threaded algorithm is used.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class LinearContourLabelChang2004_MT extends LinearContourLabelChang2004 {
+
+	/**
+	 * Minimum number of rows in a strip
+	 */
+	private int minStripHeight = 20;
+
+	/**
+	 * Number of blocks of blobs contours are traced in for each thread.  More than one helps balance the load
+	 * when blobs have very different sizes.
+	 */
+	private int blocksPerThread = 4;
+
+	private boolean eightConnect;
+
+	// reference to the output image
+	private GrayS32 labeled;
+
+	// storage for each strip of rows which is labeled
+	private FastQueue<Strip> strips = new FastQueue<Strip>((Class)Strip.class,true) {
+		@Override
+		protected Strip createInstance() {
+			return new Strip();
+		}
+	};
+
+	// storage for each block of blobs which contours are traced for
+	private FastQueue<Block> blocks = new FastQueue<Block>((Class)Block.class,true) {
+		@Override
+		protected Block createInstance() {
+			return new Block();
+		}
+	};
+
+	// provides tracers and marks for each thread
+	private WorkerPool<Worker> workers = new WorkerPool<Worker>() {
+		@Override
+		protected Worker createWorker() {
+			return new Worker();
+		}
+	};
+
+	// (x,y) of the root pixel in each blob
+	private GrowQueue_I32 rootPixels = new GrowQueue_I32();
+	// index of the first pixel in candidatePixels for each blob.  Has one more element than the number of blobs
+	private GrowQueue_I32 candidateStart = new GrowQueue_I32();
+	// (x,y) of pixels in each blob which have a white pixel below them.  Ordered by blob then raster order.
+	private GrowQueue_I32 candidatePixels = new GrowQueue_I32();
+
+	private int numBlobs;
+
+	// (key << 32 | set) for every set of contour points.  Used to put the sets into the single threaded order
+	private GrowQueue_I64 sortedSets = new GrowQueue_I64();
+	// index of each set after sorting
+	private GrowQueue_I32 setToIndex = new GrowQueue_I32();
+	// block which each set came from
+	private GrowQueue_I32 setToBlock = new GrowQueue_I32();
+	// index of the first set in each block
+	private GrowQueue_I32 blockFirstSet = new GrowQueue_I32();
+
+	// Labels each strip of rows
+	private IntConsumer labelStrip = new IntConsumer() {
+		@Override
+		public void accept(int index) {
+			Strip s = strips.get(index);
+			for (int y = s.y0; y < s.y1; y++) {
+				labelRow(y, y > s.y0);
+			}
+		}
+	};
+
+	// finds the roots of all pixels in a strip
+	private IntConsumer findRoots = new IntConsumer() {
+		@Override
+		public void accept(int index) {
+			Strip s = strips.get(index);
+			s.roots.reset();
+			final int[] data = labeled.data;
+			for (int y = s.y0; y < s.y1; y++) {
+				int indexL = labeled.startIndex + y*labeled.stride;
+				for (int x = 0; x < labeled.width; x++, indexL++) {
+					if( data[indexL] == 0 )
+						continue;
+					int root = findNoCompress(indexL);
+					if( root == indexL ) {
+						s.roots.add(x);
+						s.roots.add(y);
+					} else {
+						data[indexL] = root+1;
+					}
+				}
+			}
+		}
+	};
+
+	// labels the root pixels in a strip with the negative of their final ID
+	private IntConsumer labelRoots = new IntConsumer() {
+		@Override
+		public void accept(int index) {
+			Strip s = strips.get(index);
+			for (int i = 0, label = s.firstLabel; i < s.roots.size; i += 2, label++) {
+				labeled.data[labeled.getIndex(s.roots.data[i], s.roots.data[i+1])] = -label;
+			}
+		}
+	};
+
+	// assigns the ID of each pixel's root to the pixel and finds candidate pixels for inner contours
+	private IntConsumer labelPixels = new IntConsumer() {
+		@Override
+		public void accept(int index) {
+			Strip s = strips.get(index);
+			s.candidates.reset();
+			final int[] data = labeled.data;
+			final byte[] bits = border.data;
+			for (int y = s.y0; y < s.y1; y++) {
+				int indexL = labeled.startIndex + y*labeled.stride;
+				// index of the pixel below in the binary image
+				int indexB = border.startIndex + (y+2)*border.stride + 1;
+				for (int x = 0; x < labeled.width; x++, indexL++, indexB++) {
+					int value = data[indexL];
+					if( value == 0 )
+						continue;
+					int label;
+					if( value < 0 ) {
+						label = -value;
+					} else {
+						label = -data[value-1];
+						data[indexL] = label;
+					}
+					if( bits[indexB] == 0 ) {
+						s.candidates.add(label);
+						s.candidates.add(x);
+						s.candidates.add(y);
+					}
+				}
+			}
+		}
+	};
+
+	// changes the label of root pixels back to positive values
+	private IntConsumer finishRoots = new IntConsumer() {
+		@Override
+		public void accept(int index) {
+			Strip s = strips.get(index);
+			for (int i = 0; i < s.roots.size; i += 2) {
+				int indexL = labeled.getIndex(s.roots.data[i], s.roots.data[i+1]);
+				labeled.data[indexL] = -labeled.data[indexL];
+			}
+		}
+	};
+
+	// traces the contours for a block of blobs
+	private IntConsumer traceBlock = new IntConsumer() {
+		@Override
+		public void accept(int index) {
+			int numBlocks = blocks.size;
+			int label0 = 1 + numBlobs*index/numBlocks;
+			int label1 = 1 + numBlobs*(index+1)/numBlocks;
+
+			Block block = blocks.get(index);
+			block.points.reset();
+			block.keys.reset();
+			block.contours.reset();
+
+			Worker worker = workers.acquire();
+			try {
+				worker.init(border, labeled, block.points);
+				for (int label = label0; label < label1; label++) {
+					traceBlob(label, worker, block);
+				}
+			} finally {
+				workers.release(worker);
+			}
+		}
+	};
+
+	/**
+	 * Configures the algorithm.
+	 *
+	 * @param rule Connectivity rule.  4 or 8
+	 */
+	public LinearContourLabelChang2004_MT(ConnectRule rule) {
+		super(rule);
+		this.eightConnect = rule == ConnectRule.EIGHT;
+	}
+
+	@Override
+	public void process(GrayU8 binary, GrayS32 labeled) {
+		int numStrips = Math.min(BoofConcurrency.getMaxThreads(), binary.height/minStripHeight);
+
+		if( !BoofConcurrency.isActive() || numStrips <= 1 ) {
+			super.process(binary, labeled);
+			return;
+		}
+
+		if( labeled.width != binary.width || labeled.height != binary.height )
+			throw new IllegalArgumentException("Labeled image must be the same shape as the binary image");
+
+		copyIntoBorder(binary);
+		this.labeled = labeled;
+
+		strips.resize(numStrips);
+		for (int i = 0; i < numStrips; i++) {
+			Strip s = strips.get(i);
+			s.y0 = binary.height*i/numStrips;
+			s.y1 = binary.height*(i+1)/numStrips;
+		}
+
+		// label each strip independently then merge labels along the seams
+		BoofConcurrency.loopFor(0, numStrips, labelStrip);
+		for (int i = 1; i < numStrips; i++) {
+			connectRowAbove(strips.get(i).y0);
+		}
+
+		// assign IDs to each blob in the same order as the single threaded algorithm would find them
+		BoofConcurrency.loopFor(0, numStrips, findRoots);
+		numBlobs = 0;
+		rootPixels.reset();
+		for (int i = 0; i < numStrips; i++) {
+			Strip s = strips.get(i);
+			s.firstLabel = numBlobs + 1;
+			numBlobs += s.roots.size/2;
+			rootPixels.addAll(s.roots);
+		}
+		BoofConcurrency.loopFor(0, numStrips, labelRoots);
+		BoofConcurrency.loopFor(0, numStrips, labelPixels);
+		BoofConcurrency.loopFor(0, numStrips, finishRoots);
+
+		sortCandidates(numStrips);
+
+		// trace the contours
+		int numBlocks = Math.min(numBlobs, BoofConcurrency.getMaxThreads()*blocksPerThread);
+		blocks.resize(numBlocks);
+		if( numBlocks > 0 )
+			BoofConcurrency.loopFor(0, numBlocks, traceBlock);
+
+		mergeContours(numBlocks);
+		contoursDirty = true;
+
+		this.labeled = null;
+	}
+
+	/**
+	 * Combines the contours found in each block.  The single threaded algorithm saves contours in the order
+	 * it encounters their first pixel, so the sets of points are sorted by their key to match.
+	 */
+	private void mergeContours( int numBlocks ) {
+		int totalSets = 0;
+		for (int i = 0; i < numBlocks; i++) {
+			totalSets += blocks.get(i).points.size();
+		}
+
+		// sort the (key,set) pairs and record the new index of each set
+		sortedSets.resize(totalSets);
+		setToIndex.resize(totalSets);
+		for (int i = 0, set = 0; i < numBlocks; i++) {
+			GrowQueue_I32 keys = blocks.get(i).keys;
+			for (int j = 0; j < keys.size; j++, set++) {
+				sortedSets.data[set] = ((long)keys.data[j] << 32) | set;
+			}
+		}
+		Arrays.sort(sortedSets.data, 0, totalSets);
+		for (int i = 0; i < totalSets; i++) {
+			setToIndex.data[(int)sortedSets.data[i]] = i;
+		}
+
+		// block which each set belongs to and the index of the block's first set
+		setToBlock.resize(totalSets);
+		blockFirstSet.resize(numBlocks);
+		for (int i = 0, set = 0; i < numBlocks; i++) {
+			blockFirstSet.data[i] = set;
+			int N = blocks.get(i).points.size();
+			for (int j = 0; j < N; j++, set++) {
+				setToBlock.data[set] = i;
+			}
+		}
+
+		packedPoints.reset();
+		for (int i = 0; i < totalSets; i++) {
+			int set = (int)sortedSets.data[i];
+			int block = setToBlock.data[set];
+			packedPoints.append(blocks.get(block).points, set - blockFirstSet.data[block]);
+		}
+
+		packedContours.reset();
+		for (int i = 0; i < numBlocks; i++) {
+			Block block = blocks.get(i);
+			int offset = blockFirstSet.data[i];
+			for (int j = 0; j < block.contours.size; j++) {
+				ContourPacked src = block.contours.get(j);
+				ContourPacked dst = packedContours.grow();
+				dst.reset();
+				dst.id = src.id;
+				dst.externalIndex = setToIndex.data[src.externalIndex + offset];
+				for (int k = 0; k < src.internalIndexes.size; k++) {
+					dst.internalIndexes.add(setToIndex.data[src.internalIndexes.get(k) + offset]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Puts pixels with a white pixel below them into lists for each blob, in raster order
+	 */
+	private void sortCandidates( int numStrips ) {
+		candidateStart.resize(numBlobs+1);
+		for (int i = 0; i < candidateStart.size; i++) {
+			candidateStart.data[i] = 0;
+		}
+		int total = 0;
+		for (int i = 0; i < numStrips; i++) {
+			GrowQueue_I32 candidates = strips.get(i).candidates;
+			for (int j = 0; j < candidates.size; j += 3) {
+				candidateStart.data[candidates.data[j]]++;
+			}
+			total += candidates.size/3;
+		}
+		// convert counts into the index of the first pixel, shifted by one blob
+		int sum = 0;
+		for (int label = 1; label <= numBlobs; label++) {
+			int count = candidateStart.data[label];
+			candidateStart.data[label] = sum;
+			sum += count;
+		}
+		candidatePixels.resize(total*2);
+		for (int i = 0; i < numStrips; i++) {
+			GrowQueue_I32 candidates = strips.get(i).candidates;
+			for (int j = 0; j < candidates.size; j += 3) {
+				int where = candidateStart.data[candidates.data[j]]++;
+				candidatePixels.data[where*2] = candidates.data[j+1];
+				candidatePixels.data[where*2+1] = candidates.data[j+2];
+			}
+		}
+		// each element now points to the start of the next blob, which is the start of the blob after shifting
+		candidateStart.data[0] = 0;
+	}
+
+	/**
+	 * Traces the external and internal contours of a blob
+	 */
+	private void traceBlob( int label , Worker worker , Block block ) {
+		ContourPacked c = block.contours.grow();
+		c.reset();
+		c.id = label;
+		c.externalIndex = block.points.size();
+
+		int x = rootPixels.data[(label-1)*2];
+		int y = rootPixels.data[(label-1)*2+1];
+		block.keys.add(contourKey(x, y, true));
+		worker.tracer.trace(label, x+1, y+1, true);
+
+		// internal contours start at pixels with an unmarked white pixel below them
+		final byte[] marks = worker.marks.data;
+		int end = candidateStart.data[label];
+		for (int i = candidateStart.data[label-1]; i < end; i++) {
+			x = candidatePixels.data[i*2];
+			y = candidatePixels.data[i*2+1];
+			if( marks[worker.marks.getIndex(x+1,y+2)] == 0 ) {
+				c.internalIndexes.add(block.points.size());
+				block.keys.add(contourKey(x, y, false));
+				worker.tracer.trace(label, x+1, y+1, false);
+			}
+		}
+
+		// remove the marks so that they don't influence other blobs
+		GrowQueue_I32 marked = worker.marked;
+		for (int i = 0; i < marked.size; i++) {
+			marks[marked.data[i]] = 0;
+		}
+		marked.reset();
+	}
+
+	/**
+	 * Key which sorts contours into the order the single threaded algorithm finds them in.  Contours are
+	 * found in raster order of their first pixel and the external contour is found before an internal one.
+	 */
+	private int contourKey( int x , int y , boolean external ) {
+		return 2*(y*labeled.width + x) + (external ? 0 : 1);
+	}
+
+	/**
+	 * Labels all the pixels in a row with union-find.  The parent of a pixel is stored in the labeled image
+	 * as one plus the parent's index.
+	 *
+	 * @param y The row
+	 * @param connectAbove If true pixels will be connected to the row above.
+	 */
+	private void labelRow( int y , boolean connectAbove ) {
+		final byte[] bits = border.data;
+		final int[] data = labeled.data;
+
+		int indexB = border.startIndex + (y+1)*border.stride + 1;
+		int indexL = labeled.startIndex + y*labeled.stride;
+
+		for (int x = 0; x < labeled.width; x++, indexB++, indexL++) {
+			if( bits[indexB] != 1 ) {
+				data[indexL] = 0;
+				continue;
+			}
+			data[indexL] = indexL+1;
+
+			// the image border is zero so bounds don't need to be checked
+			if( bits[indexB-1] == 1 )
+				union(indexL, indexL-1);
+		}
+		if( connectAbove )
+			connectRowAbove(y);
+	}
+
+	/**
+	 * Connects pixels in a row which has already been labeled to pixels in the row above it
+	 */
+	private void connectRowAbove( int y ) {
+		final byte[] bits = border.data;
+		final int strideB = border.stride;
+		final int strideL = labeled.stride;
+
+		int indexB = border.startIndex + (y+1)*strideB + 1;
+		int indexL = labeled.startIndex + y*strideL;
+
+		for (int x = 0; x < labeled.width; x++, indexB++, indexL++) {
+			if( bits[indexB] != 1 )
+				continue;
+			if( bits[indexB-strideB] == 1 )
+				union(indexL, indexL-strideL);
+			if( eightConnect ) {
+				if( bits[indexB-strideB-1] == 1 )
+					union(indexL, indexL-strideL-1);
+				if( bits[indexB-strideB+1] == 1 )
+					union(indexL, indexL-strideL+1);
+			}
+		}
+	}
+
+	/**
+	 * Merges the two sets.  The root with the smaller index becomes the root of the other.
+	 */
+	private void union( int a , int b ) {
+		int rootA = find(a);
+		int rootB = find(b);
+		if( rootA < rootB )
+			labeled.data[rootB] = rootA+1;
+		else if( rootB < rootA )
+			labeled.data[rootA] = rootB+1;
+	}
+
+	/**
+	 * Finds the root of a pixel while halving the length of the path
+	 */
+	private int find( int index ) {
+		final int[] data = labeled.data;
+		while( data[index] != index+1 ) {
+			int parent = data[index]-1;
+			data[index] = data[parent];
+			index = parent;
+		}
+		return index;
+	}
+
+	/**
+	 * Finds the root of a pixel without modifying the image.  Used when other threads might be reading the
+	 * same pixels.
+	 */
+	private int findNoCompress( int index ) {
+		final int[] data = labeled.data;
+		while( data[index] != index+1 ) {
+			index = data[index]-1;
+		}
+		return index;
+	}
+
+	public int getMinStripHeight() {
+		return minStripHeight;
+	}
+
+	public void setMinStripHeight(int minStripHeight) {
+		if( minStripHeight <= 0 )
+			throw new IllegalArgumentException("Must be greater than zero");
+		this.minStripHeight = minStripHeight;
+	}
+
+	public int getBlocksPerThread() {
+		return blocksPerThread;
+	}
+
+	public void setBlocksPerThread(int blocksPerThread) {
+		if( blocksPerThread <= 0 )
+			throw new IllegalArgumentException("Must be greater than zero");
+		this.blocksPerThread = blocksPerThread;
+	}
+
+	/**
+	 * Storage for a strip of rows which are labeled by a single thread
+	 */
+	class Strip {
+		int y0, y1;
+		// ID of the first blob whose root is inside this strip
+		int firstLabel;
+		// (x,y) of root pixels in raster order
+		GrowQueue_I32 roots = new GrowQueue_I32();
+		// (label,x,y) of pixels with a white pixel below them
+		GrowQueue_I32 candidates = new GrowQueue_I32();
+	}
+
+	/**
+	 * Storage for the contours of a block of blobs
+	 */
+	class Block {
+		PackedSetsPoint2D_I32 points = new PackedSetsPoint2D_I32();
+		// key of each set of points.  See contourKey()
+		GrowQueue_I32 keys = new GrowQueue_I32();
+		FastQueue<ContourPacked> contours = new FastQueue<>(ContourPacked.class,true);
+	}
+
+	/**
+	 * Tracer and marks used by a single thread
+	 */
+	class Worker {
+		ContourTracer tracer = new ContourTracer(eightConnect ? ConnectRule.EIGHT : ConnectRule.FOUR);
+		// white pixels which have been examined by the tracer
+		GrayU8 marks = new GrayU8(1,1);
+		// index of all the pixels in marks which are not zero
+		GrowQueue_I32 marked = new GrowQueue_I32();
+
+		void init( GrayU8 binary , GrayS32 labeled , PackedSetsPoint2D_I32 storage ) {
+			if( marks.width != binary.width || marks.height != binary.height ) {
+				marks.reshape(binary.width, binary.height);
+				ImageMiscOps.fill(marks, 0);
+			}
+			marked.reset();
+			tracer.setInputs(binary, labeled, storage);
+			tracer.setMarks(marks, marked);
+		}
+	}
+}
@@ -20,10 +20,12 @@ package boofcv.alg.filter.blur;
 
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.filter.blur.impl.ImplMedianHistogramInner;
+import boofcv.alg.filter.blur.impl.ImplMedianHistogramInner_MT;
 import boofcv.alg.filter.blur.impl.ImplMedianSortEdgeNaive;
 import boofcv.alg.filter.blur.impl.ImplMedianSortNaive;
 import boofcv.alg.filter.convolve.ConvolveImageMean;
 import boofcv.alg.filter.convolve.ConvolveNormalized;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.factory.filter.kernel.FactoryKernelGaussian;
 import boofcv.struct.convolve.Kernel1D_F32;
@@ -35,6 +37,11 @@ import boofcv.struct.image.*;
  * Catch all class for function which "blur" an image, typically used to "reduce" the amount
  * of noise in the image.
  *
+ * <p>
+ * If {@link BoofConcurrency#USE_CONCURRENT} is true then Gaussian blur and the median filter for {@link GrayU8}
+ * will split the image into bands of rows and process them in parallel.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class BlurImageOps {
@@ -78,9 +85,13 @@ public class BlurImageOps {
 
 		int w = radius*2+1;
 		int offset[] = new int[ w*w ];
-		int histogram[] = new int[ 256 ];
 
-		ImplMedianHistogramInner.process(input, output, radius, offset, histogram);
+		if( BoofConcurrency.isActive() ) {
+			ImplMedianHistogramInner_MT.process(input, output, radius);
+		} else {
+			int histogram[] = new int[ 256 ];
+			ImplMedianHistogramInner.process(input, output, radius, offset, histogram);
+		}
 		ImplMedianSortEdgeNaive.process(input, output, radius, offset);
 
 		return output;
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.blur.impl;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.struct.image.GrayU8;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link ImplMedianHistogramInner}.  The image is split into bands of rows
+ * which are then filtered in parallel.  Each band is expanded by the radius so that its sub-image contains
+ * all the pixels it needs and each band has its own histogram.  Output is identical to the single threaded version.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class ImplMedianHistogramInner_MT {
+
+	/**
+	 * Applies a median image filter.
+	 *
+	 * @param input Input image. Not modified.
+	 * @param output Filtered output image. Modified.
+	 * @param radius Size of the filter region.
+	 */
+	public static void process(final GrayU8 input, final GrayU8 output , final int radius ) {
+		final int w = 2*radius+1;
+
+		BoofConcurrency.loopBlocks(radius, input.height-radius, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				GrayU8 subInput = input.subimage(0, y0-radius, input.width, y1+radius);
+				GrayU8 subOutput = output.subimage(0, y0-radius, output.width, y1+radius);
+
+				ImplMedianHistogramInner.process(subInput, subOutput, radius, new int[w*w], new int[256]);
+			}
+		});
+	}
+}
@@ -20,6 +20,7 @@ package boofcv.alg.filter.convolve;
 
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.filter.convolve.noborder.*;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.convolve.*;
 import boofcv.struct.image.*;
 
@@ -39,6 +40,10 @@ import boofcv.struct.image.*;
  * the whole kernel can be convolved image borders are skipped.  In special cases where there is a clear way to
  * handle image edges specialized functions are provided.
  * </p>
+ * <p>
+ * Concurrency: If {@link BoofConcurrency#USE_CONCURRENT} is true then the image is processed by
+ * {@link ConvolveImageNoBorder_MT}.
+ * </p>
  * <p>Automatically generated by GenerateConvolveImageNoBorder DO NOT MODIFY</p>
  *
  * @author Peter Abeles
@@ -50,6 +55,11 @@ public class ConvolveImageNoBorder {
 								  GrayF32 input, GrayF32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_F32_F32.horizontal(kernel, input, output))
 			ConvolveImageStandard_SB.horizontal(kernel, input, output);
 	}
@@ -58,6 +68,11 @@ public class ConvolveImageNoBorder {
 								  GrayF32 input, GrayF32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_F32_F32.vertical(kernel, input, output))
 			ConvolveImageStandard_SB.vertical(kernel, input, output);
 	}
@@ -66,6 +81,11 @@ public class ConvolveImageNoBorder {
 								  GrayF32 input, GrayF32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_F32_F32.convolve(kernel, input, output))
 			ConvolveImageStandard_SB.convolve(kernel, input, output);
 	}
@@ -74,6 +94,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedF32 input, InterleavedF32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+			return;
+		}
+
 		ConvolveImageStandard_IL.horizontal(kernel, input, output);
 	}
 
@@ -81,6 +106,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedF32 input, InterleavedF32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+			return;
+		}
+
 		ConvolveImageStandard_IL.vertical(kernel, input, output);
 	}
 
@@ -88,6 +118,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedF32 input, InterleavedF32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+			return;
+		}
+
 		ConvolveImageStandard_IL.convolve(kernel, input, output);
 	}
 
@@ -95,6 +130,11 @@ public class ConvolveImageNoBorder {
 								  GrayF64 input, GrayF64 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_F64_F64.horizontal(kernel, input, output))
 			ConvolveImageStandard_SB.horizontal(kernel, input, output);
 	}
@@ -103,6 +143,11 @@ public class ConvolveImageNoBorder {
 								  GrayF64 input, GrayF64 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_F64_F64.vertical(kernel, input, output))
 			ConvolveImageStandard_SB.vertical(kernel, input, output);
 	}
@@ -111,6 +156,11 @@ public class ConvolveImageNoBorder {
 								  GrayF64 input, GrayF64 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_F64_F64.convolve(kernel, input, output))
 			ConvolveImageStandard_SB.convolve(kernel, input, output);
 	}
@@ -119,6 +169,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedF64 input, InterleavedF64 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+			return;
+		}
+
 		ConvolveImageStandard_IL.horizontal(kernel, input, output);
 	}
 
@@ -126,6 +181,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedF64 input, InterleavedF64 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+			return;
+		}
+
 		ConvolveImageStandard_IL.vertical(kernel, input, output);
 	}
 
@@ -133,6 +193,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedF64 input, InterleavedF64 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+			return;
+		}
+
 		ConvolveImageStandard_IL.convolve(kernel, input, output);
 	}
 
@@ -140,6 +205,11 @@ public class ConvolveImageNoBorder {
 								  GrayU8 input, GrayI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_U8_I16.horizontal(kernel, input, output))
 			ConvolveImageStandard_SB.horizontal(kernel, input, output);
 	}
@@ -148,6 +218,11 @@ public class ConvolveImageNoBorder {
 								  GrayU8 input, GrayI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_U8_I16.vertical(kernel, input, output))
 			ConvolveImageStandard_SB.vertical(kernel, input, output);
 	}
@@ -156,6 +231,11 @@ public class ConvolveImageNoBorder {
 								  GrayU8 input, GrayI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_U8_I16.convolve(kernel, input, output))
 			ConvolveImageStandard_SB.convolve(kernel, input, output);
 	}
@@ -164,6 +244,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedU8 input, InterleavedI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+			return;
+		}
+
 		ConvolveImageStandard_IL.horizontal(kernel, input, output);
 	}
 
@@ -171,6 +256,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedU8 input, InterleavedI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+			return;
+		}
+
 		ConvolveImageStandard_IL.vertical(kernel, input, output);
 	}
 
@@ -178,6 +268,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedU8 input, InterleavedI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+			return;
+		}
+
 		ConvolveImageStandard_IL.convolve(kernel, input, output);
 	}
 
@@ -185,6 +280,11 @@ public class ConvolveImageNoBorder {
 								  GrayU8 input, GrayS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+			return;
+		}
+
 //		if (!ConvolveImageUnrolled_U8_S32.horizontal(kernel, input, output))
 			ConvolveImageStandard_SB.horizontal(kernel, input, output);
 	}
@@ -193,6 +293,11 @@ public class ConvolveImageNoBorder {
 								  GrayU8 input, GrayS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+			return;
+		}
+
 //		if (!ConvolveImageUnrolled_U8_S32.vertical(kernel, input, output))
 			ConvolveImageStandard_SB.vertical(kernel, input, output);
 	}
@@ -201,6 +306,11 @@ public class ConvolveImageNoBorder {
 								  GrayU8 input, GrayS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+			return;
+		}
+
 //		if (!ConvolveImageUnrolled_U8_S32.convolve(kernel, input, output))
 			ConvolveImageStandard_SB.convolve(kernel, input, output);
 	}
@@ -209,6 +319,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedU8 input, InterleavedS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+			return;
+		}
+
 		ConvolveImageStandard_IL.horizontal(kernel, input, output);
 	}
 
@@ -216,6 +331,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedU8 input, InterleavedS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+			return;
+		}
+
 		ConvolveImageStandard_IL.vertical(kernel, input, output);
 	}
 
@@ -223,6 +343,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedU8 input, InterleavedS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+			return;
+		}
+
 		ConvolveImageStandard_IL.convolve(kernel, input, output);
 	}
 
@@ -230,6 +355,11 @@ public class ConvolveImageNoBorder {
 								  GrayU16 input, GrayI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor);
+			return;
+		}
+
 //		if (!ConvolveImageUnrolled_U16_I8_Div.vertical(kernel, input, output, divisor))
 			ConvolveImageStandard_SB.vertical(kernel, input, output, divisor);
 	}
@@ -238,6 +368,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedU16 input, InterleavedI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor);
+			return;
+		}
+
 		ConvolveImageStandard_IL.vertical(kernel, input, output, divisor);
 	}
 
@@ -245,6 +380,11 @@ public class ConvolveImageNoBorder {
 								  GrayS16 input, GrayI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_S16_I16.horizontal(kernel, input, output))
 			ConvolveImageStandard_SB.horizontal(kernel, input, output);
 	}
@@ -253,6 +393,11 @@ public class ConvolveImageNoBorder {
 								  GrayS16 input, GrayI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_S16_I16.vertical(kernel, input, output))
 			ConvolveImageStandard_SB.vertical(kernel, input, output);
 	}
@@ -261,6 +406,11 @@ public class ConvolveImageNoBorder {
 								  GrayS16 input, GrayI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_S16_I16.convolve(kernel, input, output))
 			ConvolveImageStandard_SB.convolve(kernel, input, output);
 	}
@@ -269,6 +419,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedS16 input, InterleavedI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+			return;
+		}
+
 		ConvolveImageStandard_IL.horizontal(kernel, input, output);
 	}
 
@@ -276,6 +431,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedS16 input, InterleavedI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+			return;
+		}
+
 		ConvolveImageStandard_IL.vertical(kernel, input, output);
 	}
 
@@ -283,6 +443,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedS16 input, InterleavedI16 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+			return;
+		}
+
 		ConvolveImageStandard_IL.convolve(kernel, input, output);
 	}
 
@@ -290,6 +455,11 @@ public class ConvolveImageNoBorder {
 								  GrayU8 input, GrayI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output, divisor);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_U8_I8_Div.horizontal(kernel, input, output, divisor))
 			ConvolveImageStandard_SB.horizontal(kernel, input, output, divisor);
 	}
@@ -298,6 +468,11 @@ public class ConvolveImageNoBorder {
 								  GrayU8 input, GrayI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_U8_I8_Div.vertical(kernel, input, output, divisor))
 			ConvolveImageStandard_SB.vertical(kernel, input, output, divisor);
 	}
@@ -306,6 +481,11 @@ public class ConvolveImageNoBorder {
 								  GrayU8 input, GrayI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output, divisor);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_U8_I8_Div.convolve(kernel, input, output, divisor))
 			ConvolveImageStandard_SB.convolve(kernel, input, output, divisor);
 	}
@@ -314,6 +494,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedU8 input, InterleavedI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output, divisor);
+			return;
+		}
+
 		ConvolveImageStandard_IL.horizontal(kernel, input, output, divisor);
 	}
 
@@ -321,6 +506,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedU8 input, InterleavedI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor);
+			return;
+		}
+
 		ConvolveImageStandard_IL.vertical(kernel, input, output, divisor);
 	}
 
@@ -328,6 +518,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedU8 input, InterleavedI8 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output, divisor);
+			return;
+		}
+
 		ConvolveImageStandard_IL.convolve(kernel, input, output, divisor);
 	}
 
@@ -335,6 +530,11 @@ public class ConvolveImageNoBorder {
 								  GrayS16 input, GrayI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output, divisor);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_S16_I16_Div.horizontal(kernel, input, output, divisor))
 			ConvolveImageStandard_SB.horizontal(kernel, input, output, divisor);
 	}
@@ -343,6 +543,11 @@ public class ConvolveImageNoBorder {
 								  GrayS16 input, GrayI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_S16_I16_Div.vertical(kernel, input, output, divisor))
 			ConvolveImageStandard_SB.vertical(kernel, input, output, divisor);
 	}
@@ -351,6 +556,11 @@ public class ConvolveImageNoBorder {
 								  GrayS16 input, GrayI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output, divisor);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_S16_I16_Div.convolve(kernel, input, output, divisor))
 			ConvolveImageStandard_SB.convolve(kernel, input, output, divisor);
 	}
@@ -359,6 +569,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedS16 input, InterleavedI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output, divisor);
+			return;
+		}
+
 		ConvolveImageStandard_IL.horizontal(kernel, input, output, divisor);
 	}
 
@@ -366,6 +581,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedS16 input, InterleavedI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor);
+			return;
+		}
+
 		ConvolveImageStandard_IL.vertical(kernel, input, output, divisor);
 	}
 
@@ -373,6 +593,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedS16 input, InterleavedI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output, divisor);
+			return;
+		}
+
 		ConvolveImageStandard_IL.convolve(kernel, input, output, divisor);
 	}
 
@@ -380,6 +605,11 @@ public class ConvolveImageNoBorder {
 								  GrayS32 input, GrayI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor);
+			return;
+		}
+
 //		if (!ConvolveImageUnrolled_S32_I16_Div.vertical(kernel, input, output, divisor))
 			ConvolveImageStandard_SB.vertical(kernel, input, output, divisor);
 	}
@@ -388,6 +618,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedS32 input, InterleavedI16 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor);
+			return;
+		}
+
 		ConvolveImageStandard_IL.vertical(kernel, input, output, divisor);
 	}
 
@@ -395,6 +630,11 @@ public class ConvolveImageNoBorder {
 								  GrayS32 input, GrayS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_S32_S32.horizontal(kernel, input, output))
 			ConvolveImageStandard_SB.horizontal(kernel, input, output);
 	}
@@ -403,6 +643,11 @@ public class ConvolveImageNoBorder {
 								  GrayS32 input, GrayS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_S32_S32.vertical(kernel, input, output))
 			ConvolveImageStandard_SB.vertical(kernel, input, output);
 	}
@@ -411,6 +656,11 @@ public class ConvolveImageNoBorder {
 								  GrayS32 input, GrayS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_S32_S32.convolve(kernel, input, output))
 			ConvolveImageStandard_SB.convolve(kernel, input, output);
 	}
@@ -419,6 +669,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedS32 input, InterleavedS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output);
+			return;
+		}
+
 		ConvolveImageStandard_IL.horizontal(kernel, input, output);
 	}
 
@@ -426,6 +681,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedS32 input, InterleavedS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output);
+			return;
+		}
+
 		ConvolveImageStandard_IL.vertical(kernel, input, output);
 	}
 
@@ -433,6 +693,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedS32 input, InterleavedS32 output) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output);
+			return;
+		}
+
 		ConvolveImageStandard_IL.convolve(kernel, input, output);
 	}
 
@@ -440,6 +705,11 @@ public class ConvolveImageNoBorder {
 								  GrayS32 input, GrayS32 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output, divisor);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_S32_S32_Div.horizontal(kernel, input, output, divisor))
 			ConvolveImageStandard_SB.horizontal(kernel, input, output, divisor);
 	}
@@ -448,6 +718,11 @@ public class ConvolveImageNoBorder {
 								  GrayS32 input, GrayS32 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_S32_S32_Div.vertical(kernel, input, output, divisor))
 			ConvolveImageStandard_SB.vertical(kernel, input, output, divisor);
 	}
@@ -456,6 +731,11 @@ public class ConvolveImageNoBorder {
 								  GrayS32 input, GrayS32 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output, divisor);
+			return;
+		}
+
 		if (!ConvolveImageUnrolled_SB_S32_S32_Div.convolve(kernel, input, output, divisor))
 			ConvolveImageStandard_SB.convolve(kernel, input, output, divisor);
 	}
@@ -464,6 +744,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedS32 input, InterleavedS32 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.horizontal(kernel, input, output, divisor);
+			return;
+		}
+
 		ConvolveImageStandard_IL.horizontal(kernel, input, output, divisor);
 	}
 
@@ -471,6 +756,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedS32 input, InterleavedS32 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.vertical(kernel, input, output, divisor);
+			return;
+		}
+
 		ConvolveImageStandard_IL.vertical(kernel, input, output, divisor);
 	}
 
@@ -478,6 +768,11 @@ public class ConvolveImageNoBorder {
 								  InterleavedS32 input, InterleavedS32 output, int divisor) {
 		InputSanityCheck.checkSameShape(input, output);
 
+		if( BoofConcurrency.isActive() ) {
+			ConvolveImageNoBorder_MT.convolve(kernel, input, output, divisor);
+			return;
+		}
+
 		ConvolveImageStandard_IL.convolve(kernel, input, output, divisor);
 	}
 
@@ -0,0 +1,932 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.InputSanityCheck;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.struct.convolve.*;
+import boofcv.struct.image.*;
+
+/**
+ * <p>
+ * Concurrent implementation of {@link ConvolveImageNoBorder}.  The image is split into horizontal bands
+ * which are processed in parallel by {@link ConvolveImageNoBorder} using sub-images.  Bands for vertical
+ * and 2D kernels are expanded by the kernel's extent so that only the rows inside the band are written to.
+ * Output is identical to the single threaded version.
+ * </p>
+ *
+ * <p>Automatically generated by GenerateConvolveImageNoBorder_MT DO NOT MODIFY</p>
+ *
+ * @author Peter Abeles
+ */
+public class ConvolveImageNoBorder_MT {
+
+	public static void horizontal(final Kernel1D_F32 kernel,
+								  final GrayF32 input, final GrayF32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.horizontal(kernel,
+						input.subimage(0, y0, input.width, y1),
+						output.subimage(0, y0, output.width, y1));
+			}
+		});
+	}
+
+	public static void vertical(final Kernel1D_F32 kernel,
+								  final GrayF32 input, final GrayF32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.vertical(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void convolve(final Kernel2D_F32 kernel,
+								  final GrayF32 input, final GrayF32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.convolve(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void horizontal(final Kernel1D_F32 kernel,
+								  final InterleavedF32 input, final InterleavedF32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.horizontal(kernel,
+						input.subimage(0, y0, input.width, y1),
+						output.subimage(0, y0, output.width, y1));
+			}
+		});
+	}
+
+	public static void vertical(final Kernel1D_F32 kernel,
+								  final InterleavedF32 input, final InterleavedF32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.vertical(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void convolve(final Kernel2D_F32 kernel,
+								  final InterleavedF32 input, final InterleavedF32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.convolve(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void horizontal(final Kernel1D_F64 kernel,
+								  final GrayF64 input, final GrayF64 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.horizontal(kernel,
+						input.subimage(0, y0, input.width, y1),
+						output.subimage(0, y0, output.width, y1));
+			}
+		});
+	}
+
+	public static void vertical(final Kernel1D_F64 kernel,
+								  final GrayF64 input, final GrayF64 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.vertical(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void convolve(final Kernel2D_F64 kernel,
+								  final GrayF64 input, final GrayF64 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.convolve(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void horizontal(final Kernel1D_F64 kernel,
+								  final InterleavedF64 input, final InterleavedF64 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.horizontal(kernel,
+						input.subimage(0, y0, input.width, y1),
+						output.subimage(0, y0, output.width, y1));
+			}
+		});
+	}
+
+	public static void vertical(final Kernel1D_F64 kernel,
+								  final InterleavedF64 input, final InterleavedF64 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.vertical(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void convolve(final Kernel2D_F64 kernel,
+								  final InterleavedF64 input, final InterleavedF64 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.convolve(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void horizontal(final Kernel1D_S32 kernel,
+								  final GrayU8 input, final GrayI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.horizontal(kernel,
+						input.subimage(0, y0, input.width, y1),
+						(GrayI16)output.subimage(0, y0, output.width, y1));
+			}
+		});
+	}
+
+	public static void vertical(final Kernel1D_S32 kernel,
+								  final GrayU8 input, final GrayI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.vertical(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						(GrayI16)output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void convolve(final Kernel2D_S32 kernel,
+								  final GrayU8 input, final GrayI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.convolve(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						(GrayI16)output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void horizontal(final Kernel1D_S32 kernel,
+								  final InterleavedU8 input, final InterleavedI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.horizontal(kernel,
+						input.subimage(0, y0, input.width, y1),
+						(InterleavedI16)output.subimage(0, y0, output.width, y1));
+			}
+		});
+	}
+
+	public static void vertical(final Kernel1D_S32 kernel,
+								  final InterleavedU8 input, final InterleavedI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.vertical(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						(InterleavedI16)output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void convolve(final Kernel2D_S32 kernel,
+								  final InterleavedU8 input, final InterleavedI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.convolve(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						(InterleavedI16)output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void horizontal(final Kernel1D_S32 kernel,
+								  final GrayU8 input, final GrayS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.horizontal(kernel,
+						input.subimage(0, y0, input.width, y1),
+						output.subimage(0, y0, output.width, y1));
+			}
+		});
+	}
+
+	public static void vertical(final Kernel1D_S32 kernel,
+								  final GrayU8 input, final GrayS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.vertical(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void convolve(final Kernel2D_S32 kernel,
+								  final GrayU8 input, final GrayS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.convolve(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void horizontal(final Kernel1D_S32 kernel,
+								  final InterleavedU8 input, final InterleavedS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.horizontal(kernel,
+						input.subimage(0, y0, input.width, y1),
+						output.subimage(0, y0, output.width, y1));
+			}
+		});
+	}
+
+	public static void vertical(final Kernel1D_S32 kernel,
+								  final InterleavedU8 input, final InterleavedS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.vertical(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void convolve(final Kernel2D_S32 kernel,
+								  final InterleavedU8 input, final InterleavedS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.convolve(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void vertical(final Kernel1D_S32 kernel,
+								  final GrayU16 input, final GrayI8 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.vertical(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						(GrayI8)output.subimage(0, y0-offset, output.width, y1+extent), divisor);
+			}
+		});
+	}
+
+	public static void vertical(final Kernel1D_S32 kernel,
+								  final InterleavedU16 input, final InterleavedI8 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.vertical(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						(InterleavedI8)output.subimage(0, y0-offset, output.width, y1+extent), divisor);
+			}
+		});
+	}
+
+	public static void horizontal(final Kernel1D_S32 kernel,
+								  final GrayS16 input, final GrayI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.horizontal(kernel,
+						input.subimage(0, y0, input.width, y1),
+						(GrayI16)output.subimage(0, y0, output.width, y1));
+			}
+		});
+	}
+
+	public static void vertical(final Kernel1D_S32 kernel,
+								  final GrayS16 input, final GrayI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.vertical(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						(GrayI16)output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void convolve(final Kernel2D_S32 kernel,
+								  final GrayS16 input, final GrayI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.convolve(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						(GrayI16)output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void horizontal(final Kernel1D_S32 kernel,
+								  final InterleavedS16 input, final InterleavedI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.horizontal(kernel,
+						input.subimage(0, y0, input.width, y1),
+						(InterleavedI16)output.subimage(0, y0, output.width, y1));
+			}
+		});
+	}
+
+	public static void vertical(final Kernel1D_S32 kernel,
+								  final InterleavedS16 input, final InterleavedI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.vertical(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						(InterleavedI16)output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void convolve(final Kernel2D_S32 kernel,
+								  final InterleavedS16 input, final InterleavedI16 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.convolve(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						(InterleavedI16)output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void horizontal(final Kernel1D_S32 kernel,
+								  final GrayU8 input, final GrayI8 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.horizontal(kernel,
+						input.subimage(0, y0, input.width, y1),
+						(GrayI8)output.subimage(0, y0, output.width, y1), divisor);
+			}
+		});
+	}
+
+	public static void vertical(final Kernel1D_S32 kernel,
+								  final GrayU8 input, final GrayI8 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.vertical(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						(GrayI8)output.subimage(0, y0-offset, output.width, y1+extent), divisor);
+			}
+		});
+	}
+
+	public static void convolve(final Kernel2D_S32 kernel,
+								  final GrayU8 input, final GrayI8 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.convolve(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						(GrayI8)output.subimage(0, y0-offset, output.width, y1+extent), divisor);
+			}
+		});
+	}
+
+	public static void horizontal(final Kernel1D_S32 kernel,
+								  final InterleavedU8 input, final InterleavedI8 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.horizontal(kernel,
+						input.subimage(0, y0, input.width, y1),
+						(InterleavedI8)output.subimage(0, y0, output.width, y1), divisor);
+			}
+		});
+	}
+
+	public static void vertical(final Kernel1D_S32 kernel,
+								  final InterleavedU8 input, final InterleavedI8 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.vertical(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						(InterleavedI8)output.subimage(0, y0-offset, output.width, y1+extent), divisor);
+			}
+		});
+	}
+
+	public static void convolve(final Kernel2D_S32 kernel,
+								  final InterleavedU8 input, final InterleavedI8 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.convolve(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						(InterleavedI8)output.subimage(0, y0-offset, output.width, y1+extent), divisor);
+			}
+		});
+	}
+
+	public static void horizontal(final Kernel1D_S32 kernel,
+								  final GrayS16 input, final GrayI16 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.horizontal(kernel,
+						input.subimage(0, y0, input.width, y1),
+						(GrayI16)output.subimage(0, y0, output.width, y1), divisor);
+			}
+		});
+	}
+
+	public static void vertical(final Kernel1D_S32 kernel,
+								  final GrayS16 input, final GrayI16 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.vertical(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						(GrayI16)output.subimage(0, y0-offset, output.width, y1+extent), divisor);
+			}
+		});
+	}
+
+	public static void convolve(final Kernel2D_S32 kernel,
+								  final GrayS16 input, final GrayI16 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.convolve(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						(GrayI16)output.subimage(0, y0-offset, output.width, y1+extent), divisor);
+			}
+		});
+	}
+
+	public static void horizontal(final Kernel1D_S32 kernel,
+								  final InterleavedS16 input, final InterleavedI16 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.horizontal(kernel,
+						input.subimage(0, y0, input.width, y1),
+						(InterleavedI16)output.subimage(0, y0, output.width, y1), divisor);
+			}
+		});
+	}
+
+	public static void vertical(final Kernel1D_S32 kernel,
+								  final InterleavedS16 input, final InterleavedI16 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.vertical(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						(InterleavedI16)output.subimage(0, y0-offset, output.width, y1+extent), divisor);
+			}
+		});
+	}
+
+	public static void convolve(final Kernel2D_S32 kernel,
+								  final InterleavedS16 input, final InterleavedI16 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.convolve(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						(InterleavedI16)output.subimage(0, y0-offset, output.width, y1+extent), divisor);
+			}
+		});
+	}
+
+	public static void vertical(final Kernel1D_S32 kernel,
+								  final GrayS32 input, final GrayI16 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.vertical(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						(GrayI16)output.subimage(0, y0-offset, output.width, y1+extent), divisor);
+			}
+		});
+	}
+
+	public static void vertical(final Kernel1D_S32 kernel,
+								  final InterleavedS32 input, final InterleavedI16 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.vertical(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						(InterleavedI16)output.subimage(0, y0-offset, output.width, y1+extent), divisor);
+			}
+		});
+	}
+
+	public static void horizontal(final Kernel1D_S32 kernel,
+								  final GrayS32 input, final GrayS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.horizontal(kernel,
+						input.subimage(0, y0, input.width, y1),
+						output.subimage(0, y0, output.width, y1));
+			}
+		});
+	}
+
+	public static void vertical(final Kernel1D_S32 kernel,
+								  final GrayS32 input, final GrayS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.vertical(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void convolve(final Kernel2D_S32 kernel,
+								  final GrayS32 input, final GrayS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.convolve(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void horizontal(final Kernel1D_S32 kernel,
+								  final InterleavedS32 input, final InterleavedS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.horizontal(kernel,
+						input.subimage(0, y0, input.width, y1),
+						output.subimage(0, y0, output.width, y1));
+			}
+		});
+	}
+
+	public static void vertical(final Kernel1D_S32 kernel,
+								  final InterleavedS32 input, final InterleavedS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.vertical(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void convolve(final Kernel2D_S32 kernel,
+								  final InterleavedS32 input, final InterleavedS32 output) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.convolve(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						output.subimage(0, y0-offset, output.width, y1+extent));
+			}
+		});
+	}
+
+	public static void horizontal(final Kernel1D_S32 kernel,
+								  final GrayS32 input, final GrayS32 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.horizontal(kernel,
+						input.subimage(0, y0, input.width, y1),
+						output.subimage(0, y0, output.width, y1), divisor);
+			}
+		});
+	}
+
+	public static void vertical(final Kernel1D_S32 kernel,
+								  final GrayS32 input, final GrayS32 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.vertical(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						output.subimage(0, y0-offset, output.width, y1+extent), divisor);
+			}
+		});
+	}
+
+	public static void convolve(final Kernel2D_S32 kernel,
+								  final GrayS32 input, final GrayS32 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.convolve(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						output.subimage(0, y0-offset, output.width, y1+extent), divisor);
+			}
+		});
+	}
+
+	public static void horizontal(final Kernel1D_S32 kernel,
+								  final InterleavedS32 input, final InterleavedS32 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		BoofConcurrency.loopBlocks(0, input.height, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.horizontal(kernel,
+						input.subimage(0, y0, input.width, y1),
+						output.subimage(0, y0, output.width, y1), divisor);
+			}
+		});
+	}
+
+	public static void vertical(final Kernel1D_S32 kernel,
+								  final InterleavedS32 input, final InterleavedS32 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.vertical(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						output.subimage(0, y0-offset, output.width, y1+extent), divisor);
+			}
+		});
+	}
+
+	public static void convolve(final Kernel2D_S32 kernel,
+								  final InterleavedS32 input, final InterleavedS32 output, final int divisor) {
+		InputSanityCheck.checkSameShape(input, output);
+
+		final int offset = kernel.getOffset();
+		final int extent = kernel.getWidth()-offset-1;
+		BoofConcurrency.loopBlocks(offset, input.height-extent, new IntRangeConsumer() {
+			@Override
+			public void accept(int y0, int y1) {
+				ConvolveImageNoBorder.convolve(kernel,
+						input.subimage(0, y0-offset, input.width, y1+extent),
+						output.subimage(0, y0-offset, output.width, y1+extent), divisor);
+			}
+		});
+	}
+
+}
@@ -57,6 +57,18 @@ public abstract class BilinearPixelS<T extends ImageGray<T>> implements Interpol
 		return orig;
 	}
 
+	/**
+	 * Bilinear interpolation from precomputed coordinates.  Equivalent to {@link #get_fast(float, float)}
+	 * for a point with an integer top-left corner at data[index] and fractional part (ax,ay).  Used when the
+	 * same coordinates are sampled many times, e.g. a cached distortion map.
+	 *
+	 * @param index Index of the top-left pixel in the image's data array.  Includes startIndex and stride.
+	 * @param ax Fractional x-coordinate. 0 &le; ax &lt; 1
+	 * @param ay Fractional y-coordinate. 0 &le; ay &lt; 1
+	 * @return Interpolated value
+	 */
+	public abstract float get_fast( int index , float ax , float ay );
+
 	@Override
 	public boolean isInFastBounds(float x, float y) {
 		return !(x < 0 || y < 0 || x > width-2 || y > height-2);
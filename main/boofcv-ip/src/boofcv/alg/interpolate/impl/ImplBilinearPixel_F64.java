@@ -48,11 +48,12 @@ public class ImplBilinearPixel_F64 extends BilinearPixelS<GrayF64> {
 	public float get_fast(float x, float y) {
 		int xt = (int) x;
 		int yt = (int) y;
-		double ax = x - xt;
-		double ay = y - yt;
 
-		int index = orig.startIndex + yt * stride + xt;
+		return get_fast(orig.startIndex + yt * stride + xt, x - xt, y - yt);
+	}
 
+	@Override
+	public float get_fast(int index, float ax, float ay) {
 		double[] data = orig.data;
 
 		double val = (1.0 - ax) * (1.0 - ay) * (data[index] ); // (x,y)
@@ -62,12 +62,13 @@ public class ImplBilinearPixel_IL_U8 extends BilinearPixelMB<InterleavedU8> {
 	public void get_fast(float x, float y, float[] values) {
 		int xt = (int) x;
 		int yt = (int) y;
-		float ax = x - xt;
-		float ay = y - yt;
 
-		final int numBands = orig.numBands;
-		int index = orig.startIndex + yt * stride + xt*numBands;
+		get_fast(orig.startIndex + yt * stride + xt*orig.numBands, x - xt, y - yt, values);
+	}
 
+	@Override
+	public void get_fast(int index, float ax, float ay, float[] values) {
+		final int numBands = orig.numBands;
 		byte[] data = orig.data;
 
 		// computing this just once doesn't seem to change speed very much.  Keeping it here to avoid trying
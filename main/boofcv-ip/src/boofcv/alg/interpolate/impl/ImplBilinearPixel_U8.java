@@ -48,11 +48,12 @@ public class ImplBilinearPixel_U8 extends BilinearPixelS<GrayU8> {
 	public float get_fast(float x, float y) {
 		int xt = (int) x;
 		int yt = (int) y;
-		float ax = x - xt;
-		float ay = y - yt;
 
-		int index = orig.startIndex + yt * stride + xt;
+		return get_fast(orig.startIndex + yt * stride + xt, x - xt, y - yt);
+	}
 
+	@Override
+	public float get_fast(int index, float ax, float ay) {
 		byte[] data = orig.data;
 
 		float val = (1.0f - ax) * (1.0f - ay) * (data[index] & 0xFF); // (x,y)
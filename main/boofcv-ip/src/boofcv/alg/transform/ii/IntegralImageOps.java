@@ -20,6 +20,8 @@ package boofcv.alg.transform.ii;
 
 import boofcv.alg.InputSanityCheck;
 import boofcv.alg.transform.ii.impl.ImplIntegralImageOps;
+import boofcv.alg.transform.ii.impl.ImplIntegralImageOps_MT;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.ImageRectangle;
 import boofcv.struct.image.*;
 
@@ -29,6 +31,11 @@ import boofcv.struct.image.*;
  * Common operations for dealing with integral images.
  * </p>
  *
+ * <p>
+ * Concurrency: If {@link BoofConcurrency#USE_CONCURRENT} is true then the integral image is computed by
+ * {@link ImplIntegralImageOps_MT}.
+ * </p>
+ *
  * @author Peter Abeles
  */
 public class IntegralImageOps {
@@ -43,7 +50,11 @@ public class IntegralImageOps {
 	public static GrayF32 transform(GrayF32 input , GrayF32 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed);
 
-		ImplIntegralImageOps.transform(input,transformed);
+		if( BoofConcurrency.isActive() ) {
+			ImplIntegralImageOps_MT.transform(input,transformed);
+		} else {
+			ImplIntegralImageOps.transform(input,transformed);
+		}
 
 		return transformed;
 	}
@@ -58,7 +69,11 @@ public class IntegralImageOps {
 	public static GrayF64 transform(GrayF64 input , GrayF64 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed);
 
-		ImplIntegralImageOps.transform(input,transformed);
+		if( BoofConcurrency.isActive() ) {
+			ImplIntegralImageOps_MT.transform(input,transformed);
+		} else {
+			ImplIntegralImageOps.transform(input,transformed);
+		}
 
 		return transformed;
 	}
@@ -73,7 +88,11 @@ public class IntegralImageOps {
 	public static GrayS32 transform(GrayU8 input , GrayS32 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed,GrayS32.class);
 
-		ImplIntegralImageOps.transform(input,transformed);
+		if( BoofConcurrency.isActive() ) {
+			ImplIntegralImageOps_MT.transform(input,transformed);
+		} else {
+			ImplIntegralImageOps.transform(input,transformed);
+		}
 
 		return transformed;
 	}
@@ -88,7 +107,11 @@ public class IntegralImageOps {
 	public static GrayS32 transform(GrayS32 input , GrayS32 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed,GrayS32.class);
 
-		ImplIntegralImageOps.transform(input, transformed);
+		if( BoofConcurrency.isActive() ) {
+			ImplIntegralImageOps_MT.transform(input, transformed);
+		} else {
+			ImplIntegralImageOps.transform(input, transformed);
+		}
 
 		return transformed;
 	}
@@ -103,7 +126,11 @@ public class IntegralImageOps {
 	public static GrayS64 transform(GrayS64 input , GrayS64 transformed ) {
 		transformed = InputSanityCheck.checkDeclare(input,transformed,GrayS64.class);
 
-		ImplIntegralImageOps.transform(input, transformed);
+		if( BoofConcurrency.isActive() ) {
+			ImplIntegralImageOps_MT.transform(input, transformed);
+		} else {
+			ImplIntegralImageOps.transform(input, transformed);
+		}
 
 		return transformed;
 	}
@@ -338,6 +365,26 @@ public class IntegralImageOps {
 		return ImplIntegralImageOps.block_unsafe(integral,x0,y0,x1,y1);
 	}
 
+	/**
+	 * <p>
+	 * Computes the value of many blocks inside an integral image without bounds checking.  Faster than
+	 * calling {@link #block_unsafe(GrayF64, int, int, int, int)} for each block.  Block 'i' is defined by
+	 * elements 4*i to 4*i+3 in the blocks array, which are x0, y0, x1, y1.  See
+	 * {@link #block_unsafe(GrayF64, int, int, int, int)} for how a block is defined.
+	 * </p>
+	 *
+	 * @param integral Integral image.
+	 * @param blocks Coordinates of each block.  Must have at least numBlocks*4 elements.
+	 * @param numBlocks Number of blocks
+	 * @param output (Output) Value inside of each block.  Must have at least numBlocks elements.
+	 */
+	public static void block_unsafe(GrayF64 integral , int[] blocks , int numBlocks , double[] output )
+	{
+		if( blocks.length < numBlocks*4 || output.length < numBlocks )
+			throw new IllegalArgumentException("Arrays are too small for the number of blocks");
+		ImplIntegralImageOps.block_unsafe(integral, blocks, numBlocks, output);
+	}
+
 	/**
 	 * <p>
 	 * Computes the value of a block inside an integral image without bounds checking.  The block is
@@ -356,6 +403,26 @@ public class IntegralImageOps {
 		return ImplIntegralImageOps.block_unsafe(integral,x0,y0,x1,y1);
 	}
 
+	/**
+	 * <p>
+	 * Computes the value of many blocks inside an integral image without bounds checking.  Faster than
+	 * calling {@link #block_unsafe(GrayF32, int, int, int, int)} for each block.  Block 'i' is defined by
+	 * elements 4*i to 4*i+3 in the blocks array, which are x0, y0, x1, y1.  See
+	 * {@link #block_unsafe(GrayF32, int, int, int, int)} for how a block is defined.
+	 * </p>
+	 *
+	 * @param integral Integral image.
+	 * @param blocks Coordinates of each block.  Must have at least numBlocks*4 elements.
+	 * @param numBlocks Number of blocks
+	 * @param output (Output) Value inside of each block.  Must have at least numBlocks elements.
+	 */
+	public static void block_unsafe(GrayF32 integral , int[] blocks , int numBlocks , float[] output )
+	{
+		if( blocks.length < numBlocks*4 || output.length < numBlocks )
+			throw new IllegalArgumentException("Arrays are too small for the number of blocks");
+		ImplIntegralImageOps.block_unsafe(integral, blocks, numBlocks, output);
+	}
+
 	/**
 	 * <p>
 	 * Computes the value of a block inside an integral image without bounds checking.  The block is
@@ -374,6 +441,26 @@ public class IntegralImageOps {
 		return ImplIntegralImageOps.block_unsafe(integral, x0, y0, x1, y1);
 	}
 
+	/**
+	 * <p>
+	 * Computes the value of many blocks inside an integral image without bounds checking.  Faster than
+	 * calling {@link #block_unsafe(GrayS32, int, int, int, int)} for each block.  Block 'i' is defined by
+	 * elements 4*i to 4*i+3 in the blocks array, which are x0, y0, x1, y1.  See
+	 * {@link #block_unsafe(GrayS32, int, int, int, int)} for how a block is defined.
+	 * </p>
+	 *
+	 * @param integral Integral image.
+	 * @param blocks Coordinates of each block.  Must have at least numBlocks*4 elements.
+	 * @param numBlocks Number of blocks
+	 * @param output (Output) Value inside of each block.  Must have at least numBlocks elements.
+	 */
+	public static void block_unsafe(GrayS32 integral , int[] blocks , int numBlocks , int[] output )
+	{
+		if( blocks.length < numBlocks*4 || output.length < numBlocks )
+			throw new IllegalArgumentException("Arrays are too small for the number of blocks");
+		ImplIntegralImageOps.block_unsafe(integral, blocks, numBlocks, output);
+	}
+
 	/**
 	 * <p>
 	 * Computes the value of a block inside an integral image without bounds checking.  The block is
@@ -392,6 +479,26 @@ public class IntegralImageOps {
 		return ImplIntegralImageOps.block_unsafe(integral, x0, y0, x1, y1);
 	}
 
+	/**
+	 * <p>
+	 * Computes the value of many blocks inside an integral image without bounds checking.  Faster than
+	 * calling {@link #block_unsafe(GrayS64, int, int, int, int)} for each block.  Block 'i' is defined by
+	 * elements 4*i to 4*i+3 in the blocks array, which are x0, y0, x1, y1.  See
+	 * {@link #block_unsafe(GrayS64, int, int, int, int)} for how a block is defined.
+	 * </p>
+	 *
+	 * @param integral Integral image.
+	 * @param blocks Coordinates of each block.  Must have at least numBlocks*4 elements.
+	 * @param numBlocks Number of blocks
+	 * @param output (Output) Value inside of each block.  Must have at least numBlocks elements.
+	 */
+	public static void block_unsafe(GrayS64 integral , int[] blocks , int numBlocks , long[] output )
+	{
+		if( blocks.length < numBlocks*4 || output.length < numBlocks )
+			throw new IllegalArgumentException("Arrays are too small for the number of blocks");
+		ImplIntegralImageOps.block_unsafe(integral, blocks, numBlocks, output);
+	}
+
 	/**
 	 * <p>
 	 * Computes the value of a block inside an integral image and treats pixels outside of the
@@ -249,6 +249,30 @@ public class ImplIntegralImageOps {
 		return br-tr-bl+tl;
 	}
 
+	public static void block_unsafe(GrayF32 integral , int[] blocks , int numBlocks , float[] output )
+	{
+		final float[] data = integral.data;
+		final int startIndex = integral.startIndex;
+		final int stride = integral.stride;
+
+		for( int i = 0, j = 0; i < numBlocks; i++ ) {
+			int x0 = blocks[j++];
+			int y0 = blocks[j++];
+			int x1 = blocks[j++];
+			int y1 = blocks[j++];
+
+			int indexTop = startIndex + y0*stride;
+			int indexBottom = startIndex + y1*stride;
+
+			float br = data[ indexBottom + x1 ];
+			float tr = data[ indexTop + x1 ];
+			float bl = data[ indexBottom + x0 ];
+			float tl = data[ indexTop + x0 ];
+
+			output[i] = br-tr-bl+tl;
+		}
+	}
+
 	public static float block_zero(GrayF32 integral , int x0 , int y0 , int x1 , int y1 )
 	{
 		x0 = Math.min(x0,integral.width-1);
@@ -353,6 +377,30 @@ public class ImplIntegralImageOps {
 		return br-tr-bl+tl;
 	}
 
+	public static void block_unsafe(GrayS32 integral , int[] blocks , int numBlocks , int[] output )
+	{
+		final int[] data = integral.data;
+		final int startIndex = integral.startIndex;
+		final int stride = integral.stride;
+
+		for( int i = 0, j = 0; i < numBlocks; i++ ) {
+			int x0 = blocks[j++];
+			int y0 = blocks[j++];
+			int x1 = blocks[j++];
+			int y1 = blocks[j++];
+
+			int indexTop = startIndex + y0*stride;
+			int indexBottom = startIndex + y1*stride;
+
+			int br = data[ indexBottom + x1 ];
+			int tr = data[ indexTop + x1 ];
+			int bl = data[ indexBottom + x0 ];
+			int tl = data[ indexTop + x0 ];
+
+			output[i] = br-tr-bl+tl;
+		}
+	}
+
 	public static int block_zero(GrayS32 integral , int x0 , int y0 , int x1 , int y1 )
 	{
 		x0 = Math.min(x0,integral.width-1);
@@ -457,6 +505,30 @@ public class ImplIntegralImageOps {
 		return br-tr-bl+tl;
 	}
 
+	public static void block_unsafe(GrayF64 integral , int[] blocks , int numBlocks , double[] output )
+	{
+		final double[] data = integral.data;
+		final int startIndex = integral.startIndex;
+		final int stride = integral.stride;
+
+		for( int i = 0, j = 0; i < numBlocks; i++ ) {
+			int x0 = blocks[j++];
+			int y0 = blocks[j++];
+			int x1 = blocks[j++];
+			int y1 = blocks[j++];
+
+			int indexTop = startIndex + y0*stride;
+			int indexBottom = startIndex + y1*stride;
+
+			double br = data[ indexBottom + x1 ];
+			double tr = data[ indexTop + x1 ];
+			double bl = data[ indexBottom + x0 ];
+			double tl = data[ indexTop + x0 ];
+
+			output[i] = br-tr-bl+tl;
+		}
+	}
+
 	public static double block_zero(GrayF64 integral , int x0 , int y0 , int x1 , int y1 )
 	{
 		x0 = Math.min(x0,integral.width-1);
@@ -561,6 +633,30 @@ public class ImplIntegralImageOps {
 		return br-tr-bl+tl;
 	}
 
+	public static void block_unsafe(GrayS64 integral , int[] blocks , int numBlocks , long[] output )
+	{
+		final long[] data = integral.data;
+		final int startIndex = integral.startIndex;
+		final int stride = integral.stride;
+
+		for( int i = 0, j = 0; i < numBlocks; i++ ) {
+			int x0 = blocks[j++];
+			int y0 = blocks[j++];
+			int x1 = blocks[j++];
+			int y1 = blocks[j++];
+
+			int indexTop = startIndex + y0*stride;
+			int indexBottom = startIndex + y1*stride;
+
+			long br = data[ indexBottom + x1 ];
+			long tr = data[ indexTop + x1 ];
+			long bl = data[ indexBottom + x0 ];
+			long tl = data[ indexTop + x0 ];
+
+			output[i] = br-tr-bl+tl;
+		}
+	}
+
 	public static long block_zero(GrayS64 integral , int x0 , int y0 , int x1 , int y1 )
 	{
 		x0 = Math.min(x0,integral.width-1);
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.concurrency.WorkerPool;
+import boofcv.struct.image.ImageBase;
+
+/**
+ * Sub-image views of the input and output images used by a thread while it processes a band.  Views are
+ * recycled through a {@link WorkerPool} so that no memory is declared after the first call.
+ *
+ * @author Peter Abeles
+ */
+class BandViews<T extends ImageBase<T>> {
+	T input;
+	T output;
+
+	/**
+	 * Creates a pool of views which are recycled between calls
+	 */
+	static <T extends ImageBase<T>> WorkerPool<BandViews<T>> createPool() {
+		return new WorkerPool<BandViews<T>>() {
+			@Override
+			protected BandViews<T> createWorker() {
+				return new BandViews<>();
+			}
+		};
+	}
+}
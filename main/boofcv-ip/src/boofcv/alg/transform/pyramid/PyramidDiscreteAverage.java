@@ -19,18 +19,45 @@
 package boofcv.alg.transform.pyramid;
 
 import boofcv.alg.filter.misc.AverageDownSampleOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.concurrency.WorkerPool;
 import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageType;
 import boofcv.struct.pyramid.PyramidDiscrete;
 
 /**
- * Creates an image pyramid by down sampling square regions using {@link AverageDownSampleOps}.
+ * Creates an image pyramid by down sampling square regions using {@link AverageDownSampleOps}.  If
+ * {@link BoofConcurrency#USE_CONCURRENT} is true then each layer is computed in bands of rows using multiple threads.
  *
  * @author Peter Abeles
  */
 @SuppressWarnings({"unchecked"})
 public class PyramidDiscreteAverage<T extends ImageBase<T>> extends PyramidDiscrete<T> {
 
+	// views of the input and output images for each thread
+	private WorkerPool<BandViews<T>> views = BandViews.createPool();
+
+	// images and sample width for the layer being computed concurrently
+	private T input, output;
+	private int width;
+
+	// each band of output rows is computed from its own band of input rows
+	private IntRangeConsumer downSampleBand = new IntRangeConsumer() {
+		@Override
+		public void accept(int y0, int y1) {
+			BandViews<T> v = views.acquire();
+			try {
+				int inputY1 = Math.min(input.height, y1*width);
+				v.input = input.subimage(0,y0*width,input.width,inputY1,v.input);
+				v.output = output.subimage(0,y0,output.width,y1,v.output);
+				AverageDownSampleOps.down(v.input,width,v.output);
+			} finally {
+				views.release(v);
+			}
+		}
+	};
+
 	/**
 	 *
 	 * @param imageType Type of image processed
@@ -55,15 +82,29 @@ public class PyramidDiscreteAverage<T extends ImageBase<T>> extends PyramidDiscr
 				getLayer(0).setTo(input);
 			}
 		} else {
-			AverageDownSampleOps.down(input, scale[0], getLayer(0));
+			downSample(input, scale[0], getLayer(0));
 		}
 
 		for (int index = 1; index < getNumLayers(); index++) {
 			int width = scale[index]/scale[index-1];
-			AverageDownSampleOps.down(getLayer(index-1),width,getLayer(index));
+			downSample(getLayer(index-1),width,getLayer(index));
 		}
 	}
 
+	private void downSample( T input , int width , T output ) {
+		if( !BoofConcurrency.isActive() ) {
+			AverageDownSampleOps.down(input, width, output);
+			return;
+		}
+
+		this.input = input;
+		this.output = output;
+		this.width = width;
+		BoofConcurrency.loopBlocks(0, output.height, downSampleBand);
+		this.input = null;
+		this.output = null;
+	}
+
 	/**
 	 * The center of the sampling kernel is 1/2 the square region's width
 	 *
@@ -19,6 +19,9 @@
 package boofcv.alg.transform.pyramid;
 
 import boofcv.abst.filter.convolve.ConvolveDown;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.concurrency.WorkerPool;
 import boofcv.core.image.border.BorderType;
 import boofcv.factory.filter.convolve.FactoryConvolveDown;
 import boofcv.struct.convolve.Kernel1D;
@@ -42,6 +45,12 @@ import boofcv.struct.pyramid.PyramidDiscrete;
  * have it dependent on each level's scale factor.
  * </p>
  *
+ * <p>
+ * If {@link BoofConcurrency#USE_CONCURRENT} is true then each layer is computed using multiple threads.  The
+ * horizontal convolution is split into bands of rows and the vertical convolution into bands of columns, so that
+ * each band has the same border as the whole image and the results are identical to the single threaded code.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"unchecked"})
@@ -55,6 +64,43 @@ public class PyramidDiscreteSampleBlur<T extends ImageBase<T>> extends PyramidDi
 	// amount of blur applied to each layer
 	double sigmas[];
 
+	// width of the blur kernel.  Column bands must be wider than this to use the same border code
+	private int kernelWidth;
+
+	// views of the images for each thread
+	private WorkerPool<BandViews<T>> views = BandViews.createPool();
+
+	// images for the layer being computed concurrently
+	private T input, output;
+
+	private IntRangeConsumer horizontalBand = new IntRangeConsumer() {
+		@Override
+		public void accept(int y0, int y1) {
+			BandViews<T> v = views.acquire();
+			try {
+				v.input = input.subimage(0,y0,input.width,y1,v.input);
+				v.output = temp.subimage(0,y0,temp.width,y1,v.output);
+				horizontal.process(v.input,v.output);
+			} finally {
+				views.release(v);
+			}
+		}
+	};
+
+	private IntRangeConsumer verticalBand = new IntRangeConsumer() {
+		@Override
+		public void accept(int x0, int x1) {
+			BandViews<T> v = views.acquire();
+			try {
+				v.input = temp.subimage(x0,0,x1,temp.height,v.input);
+				v.output = output.subimage(x0,0,x1,output.height,v.output);
+				vertical.process(v.input,v.output);
+			} finally {
+				views.release(v);
+			}
+		}
+	};
+
 	/**
 	 *
 	 * @param kernel A blur kernel
@@ -71,6 +117,7 @@ public class PyramidDiscreteSampleBlur<T extends ImageBase<T>> extends PyramidDi
 
 		horizontal = FactoryConvolveDown.convolve(kernel, BorderType.NORMALIZED, true, 1, imageType,imageType);
 		vertical = FactoryConvolveDown.convolve(kernel, BorderType.NORMALIZED, false, 1, imageType,imageType);
+		kernelWidth = kernel.getWidth();
 
 		sigmas = new double[ scaleFactors.length ];
 		sigmas[0] = 0;
@@ -100,29 +147,43 @@ public class PyramidDiscreteSampleBlur<T extends ImageBase<T>> extends PyramidDi
 				getLayer(0).setTo(input);
 			}
 		} else {
-			int skip = scale[0];
-
-			horizontal.setSkip(skip);
-			vertical.setSkip(skip);
-
-			temp.reshape(input.width/skip,input.height);
-			horizontal.process(input,temp);
-			vertical.process(temp,getLayer(0));
+			downSample(input, scale[0], getLayer(0));
 		}
 
 		for (int index = 1; index < getNumLayers(); index++) {
 			int skip = scale[index]/scale[index-1];
-			T prev = getLayer(index-1);
-			temp.reshape(prev.width/skip,prev.height);
+			downSample(getLayer(index-1), skip, getLayer(index));
+		}
+	}
+
+	/**
+	 * Blurs then down samples the input image by first convolving horizontally then vertically.
+	 */
+	private void downSample( T input , int skip , T output ) {
+		temp.reshape(input.width/skip,input.height);
 
-			horizontal.setSkip(skip);
-			vertical.setSkip(skip);
+		horizontal.setSkip(skip);
+		vertical.setSkip(skip);
 
-			horizontal.process(prev,temp);
-			vertical.process(temp,getLayer(index));
+		if( BoofConcurrency.isActive() ) {
+			downSampleConcurrent(input, output);
+		} else {
+			horizontal.process(input,temp);
+			vertical.process(temp,output);
 		}
 	}
 
+	private void downSampleConcurrent( T input , T output ) {
+		this.input = input;
+		this.output = output;
+		// rows are independent when convolving horizontally
+		BoofConcurrency.loopBlocks(0, input.height, horizontalBand);
+		// columns are independent when convolving vertically
+		BoofConcurrency.loopBlocks(0, temp.width, kernelWidth+1, verticalBand);
+		this.input = null;
+		this.output = null;
+	}
+
 	/**
 	 * There is no offset since a symmetric kernel is applied starting at pixel (0,0)
 	 *
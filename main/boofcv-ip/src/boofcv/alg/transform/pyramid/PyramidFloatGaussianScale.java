@@ -19,10 +19,8 @@
 package boofcv.alg.transform.pyramid;
 
 import boofcv.abst.filter.blur.BlurStorageFilter;
-import boofcv.alg.distort.DistortImageOps;
-import boofcv.alg.distort.PixelTransformAffine_F32;
-import boofcv.alg.distort.impl.DistortSupport;
 import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
@@ -42,6 +40,11 @@ import boofcv.struct.pyramid.PyramidFloat;
  * with no sacrifices to improve speed.
  * </p>
  *
+ * <p>
+ * If {@link BoofConcurrency#USE_CONCURRENT} is true then the blur and re-sampling of each layer are done using
+ * multiple threads.  The blur filters are created once when the pyramid is constructed.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"unchecked"})
@@ -50,9 +53,15 @@ public class PyramidFloatGaussianScale< T extends ImageGray<T>> extends PyramidF
 	// interpolation algorithm
 	protected InterpolatePixelS<T> interpolate;
 
+	// rescales the blurred previous layer to create the next layer
+	protected RescalePyramidLayer<T> rescale;
+
 	// used to store the blurred image
 	protected T tempImage;
 
+	// blur applied to each layer
+	protected BlurStorageFilter<T> blurs[];
+
 	// how much each layer is blurred before sub-sampling
 	protected float[] sigmaLayers;
 
@@ -78,6 +87,11 @@ public class PyramidFloatGaussianScale< T extends ImageGray<T>> extends PyramidF
 		for( int i = 0; i < sigmaLayers.length; i++ )
 			this.sigmaLayers[i] = (float) sigmaLayers[i];
 
+		rescale = new RescalePyramidLayer<>(interpolate, imageType);
+		blurs = new BlurStorageFilter[ sigmaLayers.length ];
+		for( int i = 0; i < sigmaLayers.length; i++ )
+			blurs[i] = FactoryBlurFilter.gaussian(ImageType.single(imageType), this.sigmaLayers[i], -1);
+
 		sigma = new double[ sigmaLayers.length ];
 		sigma[0] = sigmaLayers[0];
 		for( int i = 1; i < scales.length; i++ ) {
@@ -104,16 +118,14 @@ public class PyramidFloatGaussianScale< T extends ImageGray<T>> extends PyramidF
 			T layer = getLayer(i);
 
 			// Apply the requested blur to the previous layer
-			BlurStorageFilter<T> blur = (BlurStorageFilter<T>) FactoryBlurFilter.gaussian(layer.getImageType(), sigmaLayers[i],-1);
 			tempImage.reshape(prev.width,prev.height);
-			blur.process(prev,tempImage);
+			blurs[i].process(prev,tempImage);
 
 			// Resample the blurred image
 			if( scale[i] == 1 ) {
 				layer.setTo(tempImage);
 			} else {
-				PixelTransformAffine_F32 model = DistortSupport.transformScale(layer,tempImage, null);
-				DistortImageOps.distortSingle(tempImage,layer, true, model,interpolate);
+				rescale.process(tempImage,layer);
 			}
 		}
 	}
@@ -124,6 +136,7 @@ public class PyramidFloatGaussianScale< T extends ImageGray<T>> extends PyramidF
 
 	public void setInterpolate(InterpolatePixelS<T> interpolate) {
 		this.interpolate = interpolate;
+		this.rescale.setInterpolate(interpolate);
 	}
 
 	@Override
@@ -18,10 +18,8 @@
 
 package boofcv.alg.transform.pyramid;
 
-import boofcv.alg.distort.DistortImageOps;
-import boofcv.alg.distort.PixelTransformAffine_F32;
-import boofcv.alg.distort.impl.DistortSupport;
 import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageType;
 import boofcv.struct.pyramid.PyramidFloat;
@@ -33,6 +31,11 @@ import boofcv.struct.pyramid.PyramidFloat;
  * Unlike {@link PyramidFloatGaussianScale}, no additional blurring is done between layers.
  * </p>
  *
+ * <p>
+ * Each layer is rendered using multiple threads if {@link BoofConcurrency#USE_CONCURRENT} is true.
+ * See {@link RescalePyramidLayer}.
+ * </p>
+ *
  * @author Peter Abeles
  */
 @SuppressWarnings({"unchecked"})
@@ -42,9 +45,13 @@ public class PyramidFloatScale< T extends ImageGray<T>>
 	// interpolation algorithm
 	protected InterpolatePixelS<T> interpolate;
 
+	// rescales the previous layer to create the next layer
+	protected RescalePyramidLayer<T> rescale;
+
 	public PyramidFloatScale(InterpolatePixelS<T> interpolate, double scaleFactors[] , Class<T> imageType) {
 		super(ImageType.single(imageType),scaleFactors);
 		this.interpolate = interpolate;
+		this.rescale = new RescalePyramidLayer<>(interpolate, imageType);
 	}
 
 	@Override
@@ -58,8 +65,7 @@ public class PyramidFloatScale< T extends ImageGray<T>>
 			T prev = i == 0 ? input : getLayer(i-1);
 			T layer = getLayer(i);
 
-			PixelTransformAffine_F32 model = DistortSupport.transformScale(layer,prev, null);
-			DistortImageOps.distortSingle(prev,layer, true, model,interpolate);
+			rescale.process(prev,layer);
 		}
 	}
 
@@ -23,13 +23,17 @@ import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.abst.filter.derivative.ImageHessian;
 import boofcv.alg.interpolate.InterpolatePixelS;
 import boofcv.alg.transform.pyramid.impl.ImplPyramidOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.GrayU8;
+import boofcv.struct.image.ImageBase;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.pyramid.ImagePyramid;
 
 import java.lang.reflect.Array;
+import java.util.List;
 
 
 /**
@@ -39,6 +43,43 @@ import java.lang.reflect.Array;
  */
 public class PyramidOps {
 
+	/**
+	 * <p>
+	 * Updates a set of pyramids, e.g. one for each camera in a multi-camera system.  Each pyramid must be a
+	 * different instance.  Layers are only declared the first time a pyramid sees an image of a new size,
+	 * so when called in a loop no new memory is declared.
+	 * </p>
+	 *
+	 * <p>
+	 * If {@link BoofConcurrency#USE_CONCURRENT} is true and there are at least as many images as threads, then
+	 * each pyramid is processed in its own thread.  Otherwise the pyramids are processed one at a time and each
+	 * layer is split between the threads.
+	 * </p>
+	 *
+	 * @param images (Input) The images which are to be processed
+	 * @param pyramids (Output) The pyramid for each image
+	 */
+	public static <T extends ImageBase<T>>
+	void process( final List<T> images , final List<? extends ImagePyramid<T>> pyramids ) {
+		if( images.size() != pyramids.size() )
+			throw new IllegalArgumentException("Number of images and pyramids must be the same");
+
+		if( BoofConcurrency.isActive() && images.size() >= BoofConcurrency.getMaxThreads() ) {
+			BoofConcurrency.loopBlocks(0, images.size(), new IntRangeConsumer() {
+				@Override
+				public void accept(int i0, int i1) {
+					for( int i = i0; i < i1; i++ ) {
+						pyramids.get(i).process(images.get(i));
+					}
+				}
+			});
+		} else {
+			for( int i = 0; i < images.size(); i++ ) {
+				pyramids.get(i).process(images.get(i));
+			}
+		}
+	}
+
 	/**
 	 * Creates an array of single band images for each layer in the provided pyramid.  Each image will
 	 * be the same size as the corresponding layer in the pyramid.
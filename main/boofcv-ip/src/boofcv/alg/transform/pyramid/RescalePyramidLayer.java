@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.pyramid;
+
+import boofcv.alg.distort.ImageDistort;
+import boofcv.alg.distort.PixelTransformAffine_F32;
+import boofcv.alg.distort.impl.DistortSupport;
+import boofcv.alg.interpolate.BilinearPixelS;
+import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.interpolate.NearestNeighborPixelS;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.concurrency.IntRangeConsumer;
+import boofcv.concurrency.WorkerPool;
+import boofcv.core.image.border.ImageBorder;
+import boofcv.factory.distort.FactoryDistort;
+import boofcv.struct.image.ImageGray;
+import boofcv.struct.image.ImageType;
+
+/**
+ * <p>
+ * Rescales one image so that it fills another image using interpolation.  Used by {@link PyramidFloatScale} and
+ * {@link PyramidFloatGaussianScale} to sample each layer from the previous one.  The distortion and its model are
+ * saved so that no memory is declared after the first call.
+ * </p>
+ *
+ * <p>
+ * If {@link BoofConcurrency#USE_CONCURRENT} is true then the output image is rendered in bands of rows using
+ * multiple threads, each with its own distortion model.  The interpolation algorithm is shared between threads.
+ * Its image is set once before the threads start and after that it's only read from, so this is only done for
+ * interpolation which has no internal work space, i.e. bilinear and nearest-neighbor.  The output is identical
+ * to the single threaded output.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class RescalePyramidLayer<T extends ImageGray<T>> {
+
+	// interpolation algorithm
+	private InterpolatePixelS<T> interpolate;
+	private Class<T> imageType;
+
+	// used when only a single thread is used
+	private Worker single;
+	// used when the image is processed in bands
+	private WorkerPool<Worker> workers;
+
+	// images being rendered concurrently
+	private T input, output;
+
+	// renders a band of rows in the output image
+	private IntRangeConsumer renderBand = new IntRangeConsumer() {
+		@Override
+		public void accept(int y0, int y1) {
+			Worker worker = workers.acquire();
+			try {
+				worker.process(input,output,y0,y1);
+			} finally {
+				workers.release(worker);
+			}
+		}
+	};
+
+	public RescalePyramidLayer( InterpolatePixelS<T> interpolate , Class<T> imageType ) {
+		this.imageType = imageType;
+		setInterpolate(interpolate);
+	}
+
+	/**
+	 * Rescales the input image so that it's the same shape as the output image.
+	 *
+	 * @param input (Input) Image that's sampled
+	 * @param output (Output) Rescaled image
+	 */
+	public void process( final T input , final T output ) {
+		if( !BoofConcurrency.isActive() || !isReadOnly(interpolate) ) {
+			single.process(input,output,0,output.height);
+			return;
+		}
+
+		// the image is only set here.  The threads access the interpolation through a read only view
+		interpolate.setImage(input);
+		this.input = input;
+		this.output = output;
+		BoofConcurrency.loopBlocks(0, output.height, renderBand);
+		this.input = null;
+		this.output = null;
+	}
+
+	/**
+	 * Returns true if the interpolation algorithm doesn't modify its internal state when interpolating
+	 */
+	private static boolean isReadOnly( InterpolatePixelS interpolate ) {
+		return interpolate instanceof BilinearPixelS || interpolate instanceof NearestNeighborPixelS;
+	}
+
+	public InterpolatePixelS<T> getInterpolate() {
+		return interpolate;
+	}
+
+	/**
+	 * Changes the interpolation algorithm.  Any saved distortions are discarded.
+	 */
+	public void setInterpolate(InterpolatePixelS<T> interpolate) {
+		this.interpolate = interpolate;
+		this.single = new Worker(interpolate);
+		final ReadOnlyInterpolate readOnly = new ReadOnlyInterpolate();
+		this.workers = new WorkerPool<Worker>() {
+			@Override
+			protected Worker createWorker() {
+				return new Worker(readOnly);
+			}
+		};
+	}
+
+	/**
+	 * Distortion and model used to render the image
+	 */
+	private class Worker {
+		PixelTransformAffine_F32 model = new PixelTransformAffine_F32();
+		ImageDistort<T,T> distort;
+
+		Worker( InterpolatePixelS<T> interpolate ) {
+			distort = FactoryDistort.distortSB(false, interpolate, imageType);
+			distort.setRenderAll(true);
+			distort.setModel(model);
+		}
+
+		void process( T input , T output , int y0 , int y1 ) {
+			DistortSupport.transformScale(output, input, model);
+			distort.apply(input, output, 0, y0, output.width, y1);
+		}
+	}
+
+	/**
+	 * Gives threads access to the shared interpolation algorithm.  Setting the image does nothing, since it has
+	 * already been set before the threads were started, which means the shared interpolation is never modified.
+	 */
+	private class ReadOnlyInterpolate implements InterpolatePixelS<T> {
+		@Override
+		public float get(float x, float y) {
+			return interpolate.get(x, y);
+		}
+
+		@Override
+		public float get_fast(float x, float y) {
+			return interpolate.get_fast(x, y);
+		}
+
+		@Override
+		public void setBorder(ImageBorder<T> border) {
+			throw new IllegalArgumentException("Can't modify the shared interpolation");
+		}
+
+		@Override
+		public ImageBorder<T> getBorder() {
+			return interpolate.getBorder();
+		}
+
+		@Override
+		public void setImage(T image) {
+			if( image != interpolate.getImage() )
+				throw new IllegalArgumentException("Image must be set on the shared interpolation first");
+		}
+
+		@Override
+		public T getImage() {
+			return interpolate.getImage();
+		}
+
+		@Override
+		public boolean isInFastBounds(float x, float y) {
+			return interpolate.isInFastBounds(x, y);
+		}
+
+		@Override
+		public int getFastBorderX() {
+			return interpolate.getFastBorderX();
+		}
+
+		@Override
+		public int getFastBorderY() {
+			return interpolate.getFastBorderY();
+		}
+
+		@Override
+		public ImageType<T> getImageType() {
+			return interpolate.getImageType();
+		}
+	}
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <p>
+ * Central location for controlling how BoofCV makes use of multiple threads.  Concurrent implementations
+ * split their work into blocks, e.g. horizontal bands of rows in an image, which are then processed inside
+ * of a shared {@link ForkJoinPool}.  Concurrent code is written so that it produces output which is
+ * identical to the single threaded code.
+ * </p>
+ *
+ * <p>
+ * Concurrency can be turned on globally by setting {@link #USE_CONCURRENT} to true.  Operations which
+ * support concurrency will then internally dispatch to their concurrent implementation, these are
+ * classes with the _MT suffix.  Concurrency can also be selected on a per call basis by invoking the
+ * _MT class directly, independent of the global setting.
+ * </p>
+ *
+ * <p>
+ * Work which is already being done inside of the thread pool is never split again by the global setting,
+ * this way a concurrent algorithm can safely call functions which would otherwise also be concurrent.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BoofConcurrency {
+
+	/**
+	 * If true then operations which have a concurrent implementation will use it by default.
+	 */
+	public static boolean USE_CONCURRENT = false;
+
+	// pool which all concurrent tasks are run inside of
+	private static volatile ForkJoinPool pool = new ForkJoinPool();
+
+	/**
+	 * Changes the maximum number of threads which will be used by concurrent operations.
+	 *
+	 * @param threads Number of threads. Must be &ge; 1
+	 */
+	public static synchronized void setMaxThreads( int threads ) {
+		if( threads < 1 )
+			throw new IllegalArgumentException("Number of threads must be at least one");
+		if( threads == pool.getParallelism() )
+			return;
+		ForkJoinPool old = pool;
+		pool = new ForkJoinPool(threads);
+		old.shutdown();
+	}
+
+	/**
+	 * Returns the maximum number of threads which will be used by concurrent operations.
+	 */
+	public static int getMaxThreads() {
+		return pool.getParallelism();
+	}
+
+	/**
+	 * Returns true if operations should dispatch to their concurrent implementation.  This is the case when
+	 * concurrency has been globally turned on and the caller isn't already inside the thread pool.
+	 */
+	public static boolean isActive() {
+		return USE_CONCURRENT && !isInsidePool();
+	}
+
+	/**
+	 * Returns true if the calling thread is one of the threads which process concurrent tasks
+	 */
+	public static boolean isInsidePool() {
+		return ForkJoinTask.getPool() == pool;
+	}
+
+	/**
+	 * Splits the range into one contiguous block for each thread and processes the blocks concurrently.
+	 * Returns once all the blocks have been processed.
+	 *
+	 * @param start First index in the range, inclusive
+	 * @param end Last index in the range, exclusive
+	 * @param consumer Processes a block of indexes
+	 */
+	public static void loopBlocks( int start , int end , IntRangeConsumer consumer ) {
+		loopBlocks(start, end, 1, consumer);
+	}
+
+	/**
+	 * Splits the range into one contiguous block for each thread and processes the blocks concurrently.
+	 * Returns once all the blocks have been processed. If the range is too small to give every thread
+	 * at least minBlock indexes then fewer blocks are used.
+	 *
+	 * @param start First index in the range, inclusive
+	 * @param end Last index in the range, exclusive
+	 * @param minBlock The minimum number of indexes in a block
+	 * @param consumer Processes a block of indexes
+	 */
+	public static void loopBlocks( int start , int end , int minBlock , IntRangeConsumer consumer ) {
+		if( end <= start )
+			return;
+
+		ForkJoinPool pool = BoofConcurrency.pool;
+		int numBlocks = Math.min(pool.getParallelism(), (end-start)/Math.max(1,minBlock));
+		BlockTask task = new BlockTask(start,end,Math.max(1,numBlocks),consumer);
+
+		if( ForkJoinTask.getPool() == pool ) {
+			task.invoke();
+		} else {
+			pool.invoke(task);
+		}
+	}
+
+	/**
+	 * Processes every index in the range as its own task.  Idle threads will take the next index which hasn't
+	 * been processed yet, which balances the load when the amount of work for each index varies a lot.
+	 * For a large number of indexes with a similar amount of work use {@link #loopBlocks} instead.
+	 * Returns once all the indexes have been processed.
+	 *
+	 * @param start First index in the range, inclusive
+	 * @param end Last index in the range, exclusive
+	 * @param consumer Processes a single index
+	 */
+	public static void loopFor( int start , int end , final IntConsumer consumer ) {
+		if( end <= start )
+			return;
+
+		ForkJoinPool pool = BoofConcurrency.pool;
+		BlockTask task = new BlockTask(start, end, end - start, new IntRangeConsumer() {
+			@Override
+			public void accept(int minInclusive, int maxExclusive) {
+				for (int i = minInclusive; i < maxExclusive; i++) {
+					consumer.accept(i);
+				}
+			}
+		});
+
+		if( ForkJoinTask.getPool() == pool ) {
+			task.invoke();
+		} else {
+			pool.invoke(task);
+		}
+	}
+
+	/**
+	 * Recursively splits the set of blocks in half until there is only one left, which is then processed
+	 */
+	private static class BlockTask extends RecursiveAction {
+		int start, end;
+		int numBlocks;
+		int block0, block1;
+		IntRangeConsumer consumer;
+
+		BlockTask( int start, int end, int numBlocks, IntRangeConsumer consumer ) {
+			this(start,end,numBlocks,0,numBlocks,consumer);
+		}
+
+		BlockTask( int start, int end, int numBlocks, int block0 , int block1 , IntRangeConsumer consumer ) {
+			this.start = start;
+			this.end = end;
+			this.numBlocks = numBlocks;
+			this.block0 = block0;
+			this.block1 = block1;
+			this.consumer = consumer;
+		}
+
+		@Override
+		protected void compute() {
+			if( block1-block0 == 1 ) {
+				long length = end-start;
+				int i0 = start + (int)(length*block0/numBlocks);
+				int i1 = start + (int)(length*block1/numBlocks);
+				consumer.accept(i0,i1);
+			} else {
+				int middle = (block0+block1)/2;
+				invokeAll(new BlockTask(start,end,numBlocks,block0,middle,consumer),
+						new BlockTask(start,end,numBlocks,middle,block1,consumer));
+			}
+		}
+	}
+}
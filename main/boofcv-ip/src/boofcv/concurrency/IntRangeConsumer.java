@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+/**
+ * Processes a contiguous range of integer indexes, e.g. a band of rows in an image.  Used to pass the body
+ * of a loop to {@link BoofConcurrency}.
+ *
+ * @author Peter Abeles
+ */
+public interface IntRangeConsumer {
+	/**
+	 * Processes every index in the range
+	 *
+	 * @param minInclusive first index in the range
+	 * @param maxExclusive one past the last index in the range
+	 */
+	void accept( int minInclusive , int maxExclusive );
+}
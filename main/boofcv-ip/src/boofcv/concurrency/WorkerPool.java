@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Pool of workers which have their own internal state and can't be shared between threads, e.g. an algorithm
+ * with work arrays.  A block of work acquires a worker, processes the block, then releases the worker so
+ * that it can be recycled.  New workers are only created when all the existing ones are in use, so after the
+ * first call no new memory is declared.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public abstract class WorkerPool<T> {
+
+	// workers which are not currently in use
+	private final List<T> available = new ArrayList<>();
+	// all the workers which have been created
+	private final List<T> all = new ArrayList<>();
+
+	/**
+	 * Returns a worker which isn't being used by any other thread.  Must be returned with {@link #release}.
+	 */
+	public T acquire() {
+		synchronized( available ) {
+			if( available.size() > 0 )
+				return available.remove(available.size()-1);
+		}
+		T worker = createWorker();
+		synchronized( available ) {
+			all.add(worker);
+		}
+		return worker;
+	}
+
+	/**
+	 * Returns the worker to the pool so that it can be used again.
+	 */
+	public void release( T worker ) {
+		synchronized( available ) {
+			available.add(worker);
+		}
+	}
+
+	/**
+	 * Returns a list of all the workers which have been created.  Useful for changing their configuration.
+	 * Should not be called while the workers are in use.
+	 */
+	public List<T> getAllWorkers() {
+		return all;
+	}
+
+	/**
+	 * Creates a new worker
+	 */
+	protected abstract T createWorker();
+}
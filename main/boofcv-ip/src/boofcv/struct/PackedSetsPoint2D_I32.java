@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct;
+
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.FastQueue;
+import org.ddogleg.struct.GrowQueue_I32;
+
+import java.util.List;
+
+/**
+ * Compact storage for a set of sets of 2D integer points, e.g. contours.  All the points are stored in a single
+ * int array as interleaved (x,y) pairs and each set is defined by its start and length.  Compared to storing
+ * each point in its own {@link Point2D_I32} this avoids creating and garbage collecting a very large number of
+ * small objects and has better memory locality.  Points can only be added to the last set.
+ *
+ * @author Peter Abeles
+ */
+public class PackedSetsPoint2D_I32 {
+	// interleaved (x,y) coordinate for all the points
+	private GrowQueue_I32 points = new GrowQueue_I32();
+	// index of the first point in each set
+	private GrowQueue_I32 setStart = new GrowQueue_I32();
+	// number of points in each set
+	private GrowQueue_I32 setSize = new GrowQueue_I32();
+
+	/**
+	 * Discards all previous sets
+	 */
+	public void reset() {
+		points.reset();
+		setStart.reset();
+		setSize.reset();
+	}
+
+	/**
+	 * Adds a new empty set to the end.  Points added by {@link #addPointToTail} will go into this set.
+	 */
+	public void grow() {
+		setStart.add(points.size/2);
+		setSize.add(0);
+	}
+
+	/**
+	 * Removes the last set and all of its points
+	 */
+	public void removeTail() {
+		points.size = setStart.get(setStart.size-1)*2;
+		setStart.size--;
+		setSize.size--;
+	}
+
+	/**
+	 * Adds a point to the last set
+	 */
+	public void addPointToTail( int x , int y ) {
+		points.add(x);
+		points.add(y);
+		setSize.data[setSize.size-1]++;
+	}
+
+	/**
+	 * Adds a copy of a set from another instance as a new set
+	 *
+	 * @param src Source of the set
+	 * @param which Index of the set in src
+	 */
+	public void append( PackedSetsPoint2D_I32 src , int which ) {
+		int start = src.setStart.get(which)*2;
+		int length = src.setSize.get(which);
+
+		setStart.add(points.size/2);
+		setSize.add(length);
+
+		points.addAll(src.points.data, start, start + length*2);
+	}
+
+	/**
+	 * Number of sets
+	 */
+	public int size() {
+		return setStart.size;
+	}
+
+	/**
+	 * Number of points in the specified set
+	 */
+	public int sizeOfSet( int which ) {
+		return setSize.get(which);
+	}
+
+	/**
+	 * Total number of points in all the sets
+	 */
+	public int totalPoints() {
+		return points.size/2;
+	}
+
+	public int getX( int which , int index ) {
+		return points.data[(setStart.data[which]+index)*2];
+	}
+
+	public int getY( int which , int index ) {
+		return points.data[(setStart.data[which]+index)*2+1];
+	}
+
+	/**
+	 * Copies the points in a set into the provided storage.
+	 *
+	 * @param which Index of the set
+	 * @param output (Output) Storage for the points.  Reset before points are added.
+	 */
+	public void getSet( int which , FastQueue<Point2D_I32> output ) {
+		output.reset();
+		int index = setStart.get(which)*2;
+		int length = setSize.get(which);
+		for (int i = 0; i < length; i++, index += 2) {
+			output.grow().set(points.data[index], points.data[index+1]);
+		}
+	}
+
+	/**
+	 * Copies the points in a set into a list using points from the provided storage.
+	 *
+	 * @param which Index of the set
+	 * @param storage Points are taken from here by calling grow()
+	 * @param output (Output) The points are added to this list.  Not cleared.
+	 */
+	public void getSet( int which , FastQueue<Point2D_I32> storage , List<Point2D_I32> output ) {
+		int index = setStart.get(which)*2;
+		int length = setSize.get(which);
+		for (int i = 0; i < length; i++, index += 2) {
+			Point2D_I32 p = storage.grow();
+			p.set(points.data[index], points.data[index+1]);
+			output.add(p);
+		}
+	}
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import org.ddogleg.struct.GrowQueue_I32;
+
+/**
+ * <p>
+ * Binary image which is stored using run-length encoding.  Each row is a sequence of runs, where a run is
+ * a set of consecutive pixels with a value of one.  Pixels which are not in a run have a value of zero.  For images
+ * which are mostly empty, e.g. the output of thresholding, this requires much less memory than {@link GrayU8}
+ * and operations only need to process the runs instead of every pixel.
+ * </p>
+ *
+ * <p>
+ * Runs are stored in raster order.  Each run is specified by the x-coordinate of its first pixel, inclusive, and
+ * last pixel, exclusive.  Runs in the same row are sorted and are separated by at least one pixel.
+ * </p>
+ *
+ * <p>
+ * The image is filled in one row at a time.  After calling {@link #reset()}, {@link #addRun(int, int)} is called
+ * for every run in the current row then {@link #finishRow()} moves on to the next row.  This is repeated for
+ * every row in the image.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class BinaryRLE {
+	/**
+	 * Number of columns in the image
+	 */
+	public int width;
+	/**
+	 * Number of rows in the image
+	 */
+	public int height;
+
+	/**
+	 * Start and end x-coordinate of each run.  Run 'i' is stored at elements 2*i and 2*i+1.
+	 */
+	public GrowQueue_I32 runs = new GrowQueue_I32();
+
+	/**
+	 * Index of the first run in each row.  The last element is the total number of runs, so the runs in row
+	 * 'y' are from rowStart[y] to rowStart[y+1], exclusive.
+	 */
+	public int rowStart[] = new int[1];
+
+	// the row which runs are being added to
+	private int row;
+
+	/**
+	 * Creates an image with no pixels set
+	 *
+	 * @param width Number of columns
+	 * @param height Number of rows
+	 */
+	public BinaryRLE(int width, int height) {
+		reshape(width, height);
+	}
+
+	public BinaryRLE() {
+	}
+
+	/**
+	 * Changes the image's shape and sets all the pixels to zero
+	 */
+	public void reshape( int width , int height ) {
+		this.width = width;
+		this.height = height;
+		if( rowStart.length < height+1 )
+			rowStart = new int[height+1];
+		setToZero();
+	}
+
+	/**
+	 * Sets all the pixels to zero
+	 */
+	public void setToZero() {
+		runs.reset();
+		for (int i = 0; i <= height; i++) {
+			rowStart[i] = 0;
+		}
+		row = height;
+	}
+
+	/**
+	 * Removes all the runs and prepares the image to be filled in starting at the first row.
+	 */
+	public void reset() {
+		runs.reset();
+		rowStart[0] = 0;
+		row = 0;
+	}
+
+	/**
+	 * Adds a run to the current row.  Runs must be added in order.  If the run starts where the previous one
+	 * ended then they are merged.
+	 *
+	 * @param x0 x-coordinate of the first pixel in the run, inclusive.
+	 * @param x1 x-coordinate of the last pixel in the run, exclusive.
+	 */
+	public void addRun( int x0 , int x1 ) {
+		int size = runs.size;
+		if( size > rowStart[row]*2 ) {
+			int prevX1 = runs.data[size-1];
+			if( x0 == prevX1 ) {
+				runs.data[size-1] = x1;
+				return;
+			} else if( x0 < prevX1 ) {
+				throw new IllegalArgumentException("Runs must be added in order");
+			}
+		}
+		runs.add(x0);
+		runs.add(x1);
+	}
+
+	/**
+	 * Finishes the current row.  Runs added after this will be in the next row.
+	 */
+	public void finishRow() {
+		if( row >= height )
+			throw new IllegalArgumentException("All the rows have already been finished");
+		rowStart[++row] = runs.size/2;
+	}
+
+	/**
+	 * Returns true if all the rows have been filled in
+	 */
+	public boolean isComplete() {
+		return row == height;
+	}
+
+	/**
+	 * Total number of runs in the image
+	 */
+	public int getNumRuns() {
+		return runs.size/2;
+	}
+
+	/**
+	 * Index of the first run in the row
+	 */
+	public int getRowStart( int y ) {
+		return rowStart[y];
+	}
+
+	/**
+	 * Index of the run after the last run in the row
+	 */
+	public int getRowEnd( int y ) {
+		return rowStart[y+1];
+	}
+
+	/**
+	 * x-coordinate of the first pixel in the run
+	 */
+	public int getRunX0( int run ) {
+		return runs.data[run*2];
+	}
+
+	/**
+	 * x-coordinate after the last pixel in the run
+	 */
+	public int getRunX1( int run ) {
+		return runs.data[run*2+1];
+	}
+
+	/**
+	 * Returns the value of a pixel.  Runs in the row are searched using a binary search.
+	 *
+	 * @return 1 if the pixel is inside a run or 0 if not
+	 */
+	public int get( int x , int y ) {
+		if( x < 0 || x >= width || y < 0 || y >= height )
+			throw new ImageAccessException("Requested pixel is out of bounds: "+x+" "+y);
+
+		int low = rowStart[y];
+		int high = rowStart[y+1]-1;
+
+		while( low <= high ) {
+			int middle = (low+high) >>> 1;
+			if( x < runs.data[middle*2] )
+				high = middle-1;
+			else if( x >= runs.data[middle*2+1] )
+				low = middle+1;
+			else
+				return 1;
+		}
+		return 0;
+	}
+
+	/**
+	 * Number of pixels with a value of one
+	 */
+	public int countPixels() {
+		int total = 0;
+		for (int i = 0; i < runs.size; i += 2) {
+			total += runs.data[i+1] - runs.data[i];
+		}
+		return total;
+	}
+
+	/**
+	 * Makes this image a copy of the original
+	 */
+	public void setTo( BinaryRLE orig ) {
+		this.width = orig.width;
+		this.height = orig.height;
+		if( rowStart.length < height+1 )
+			rowStart = new int[height+1];
+		System.arraycopy(orig.rowStart, 0, rowStart, 0, height+1);
+		runs.resize(orig.runs.size);
+		System.arraycopy(orig.runs.data, 0, runs.data, 0, runs.size);
+		row = orig.row;
+	}
+
+	/**
+	 * Creates a new image with the same shape and all the pixels set to zero
+	 */
+	public BinaryRLE createSameShape() {
+		return new BinaryRLE(width, height);
+	}
+}
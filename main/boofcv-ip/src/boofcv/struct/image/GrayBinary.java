@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+/**
+ * <p>
+ * Binary image where each pixel is stored in a single bit.  Each row is stored in {@link #stride} longs, with
+ * 64 pixels packed into each long.  Pixel 'x' is stored in bit (x % 64) of word (x / 64), where bit 0 is the least
+ * significant bit.  Bits after the last pixel in a row are always zero.
+ * </p>
+ *
+ * <p>
+ * Compared to a binary {@link GrayU8} image this uses 8x less memory and logical operations can be
+ * applied to 64 pixels at once.
+ * </p>
+ *
+ * @author Peter Abeles
+ */
+public class GrayBinary {
+	/**
+	 * Number of columns in the image
+	 */
+	public int width;
+	/**
+	 * Number of rows in the image
+	 */
+	public int height;
+	/**
+	 * Number of longs in each row
+	 */
+	public int stride;
+
+	/**
+	 * Packed pixels in row-major order.  Row 'y' starts at y*stride.
+	 */
+	public long data[] = new long[0];
+
+	/**
+	 * Creates an image with all pixels set to zero
+	 *
+	 * @param width Number of columns
+	 * @param height Number of rows
+	 */
+	public GrayBinary(int width, int height) {
+		reshape(width, height);
+	}
+
+	public GrayBinary() {
+	}
+
+	/**
+	 * Changes the image's shape.  If the data array needs to grow a new one is declared.  The value of pixels
+	 * after this is called is undefined.
+	 */
+	public void reshape( int width , int height ) {
+		this.width = width;
+		this.height = height;
+		this.stride = (width+63)/64;
+		if( data.length < stride*height )
+			data = new long[stride*height];
+	}
+
+	/**
+	 * Mask for the bits which are inside the image in the last word of each row
+	 */
+	public long getLastWordMask() {
+		int bits = width % 64;
+		return bits == 0 ? -1L : (1L << bits) - 1;
+	}
+
+	/**
+	 * Returns the value of a pixel
+	 *
+	 * @return 0 or 1
+	 */
+	public int get( int x , int y ) {
+		if( !isInBounds(x, y) )
+			throw new ImageAccessException("Requested pixel is out of bounds: "+x+" "+y);
+		return unsafe_get(x, y);
+	}
+
+	public int unsafe_get( int x , int y ) {
+		return (int)((data[y*stride + (x >> 6)] >>> x) & 1);
+	}
+
+	/**
+	 * Sets the value of a pixel
+	 *
+	 * @param value 0 or 1
+	 */
+	public void set( int x , int y , int value ) {
+		if( !isInBounds(x, y) )
+			throw new ImageAccessException("Requested pixel is out of bounds: "+x+" "+y);
+		unsafe_set(x, y, value);
+	}
+
+	public void unsafe_set( int x , int y , int value ) {
+		int index = y*stride + (x >> 6);
+		if( value == 0 )
+			data[index] &= ~(1L << x);
+		else
+			data[index] |= 1L << x;
+	}
+
+	public boolean isInBounds( int x , int y ) {
+		return x >= 0 && x < width && y >= 0 && y < height;
+	}
+
+	/**
+	 * Sets every pixel to the specified value
+	 *
+	 * @param value 0 or 1
+	 */
+	public void fill( int value ) {
+		long mask = getLastWordMask();
+		long word = value == 0 ? 0 : -1L;
+		for (int y = 0; y < height; y++) {
+			int index = y*stride;
+			int end = index + stride - 1;
+			while( index < end )
+				data[index++] = word;
+			data[index] = word & mask;
+		}
+	}
+
+	/**
+	 * Number of pixels with a value of one
+	 */
+	public int countPixels() {
+		int total = 0;
+		int N = stride*height;
+		for (int i = 0; i < N; i++) {
+			total += Long.bitCount(data[i]);
+		}
+		return total;
+	}
+
+	/**
+	 * Makes this image a copy of the original
+	 */
+	public void setTo( GrayBinary orig ) {
+		reshape(orig.width, orig.height);
+		System.arraycopy(orig.data, 0, data, 0, stride*height);
+	}
+
+	/**
+	 * Creates a new image with the same shape and all the pixels set to zero
+	 */
+	public GrayBinary createSameShape() {
+		return new GrayBinary(width, height);
+	}
+}
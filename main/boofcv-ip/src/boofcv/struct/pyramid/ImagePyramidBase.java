@@ -65,7 +65,9 @@ public abstract class ImagePyramidBase<T extends ImageBase<T>>
 
 	/**
 	 * Initializes internal data structures based on the input image's size.  Should be called each time a new image
-	 * is processed.
+	 * is processed.  If the shape changes then the previously declared layers are reshaped, which only declares
+	 * new memory when a layer is larger than it has ever been before.
+	 *
 	 * @param width Image width
 	 * @param height Image height
 	 */
@@ -77,21 +79,36 @@ public abstract class ImagePyramidBase<T extends ImageBase<T>>
 
 		this.bottomWidth = width;
 		this.bottomHeight = height;
-		layers = imageType.createArray(getNumLayers());
+		if( layers == null || layers.length != getNumLayers() )
+			layers = imageType.createArray(getNumLayers());
 		double scaleFactor = getScale(0);
 
 		if (scaleFactor == 1) {
 			if (!saveOriginalReference) {
-				layers[0] = imageType.createImage(bottomWidth, bottomHeight);
+				layers[0] = declareLayer(layers[0], bottomWidth, bottomHeight);
+			} else {
+				// a reference to the input image is saved later on
+				layers[0] = null;
 			}
 		} else {
-			layers[0] = imageType.createImage((int)Math.ceil(bottomWidth / scaleFactor), (int)Math.ceil(bottomHeight / scaleFactor));
+			layers[0] = declareLayer(layers[0], (int)Math.ceil(bottomWidth / scaleFactor), (int)Math.ceil(bottomHeight / scaleFactor));
 		}
 
 		for (int i = 1; i < layers.length; i++) {
 			scaleFactor = getScale(i);
-			layers[i] = imageType.createImage((int)Math.ceil(bottomWidth / scaleFactor), (int)Math.ceil(bottomHeight / scaleFactor));
+			layers[i] = declareLayer(layers[i], (int)Math.ceil(bottomWidth / scaleFactor), (int)Math.ceil(bottomHeight / scaleFactor));
+		}
+	}
+
+	/**
+	 * Reshapes the previous layer if possible, otherwise a new one is declared
+	 */
+	private T declareLayer( T previous , int width , int height ) {
+		if( previous == null || previous.isSubimage() ) {
+			return imageType.createImage(width, height);
 		}
+		previous.reshape(width, height);
+		return previous;
 	}
 
 	/**
@@ -35,6 +35,8 @@ import org.junit.Test;
 
 import java.util.Random;
 
+import static org.junit.Assert.assertTrue;
+
 /**
  * @author Peter Abeles
  */
@@ -95,6 +97,82 @@ public abstract class CommonImageDistortCacheTests<T extends ImageGray<T>> {
 		BoofTesting.assertEquals(dst0, dst1, 1e-4);
 	}
 	
+	/**
+	 * Compare results with and without precomputed bilinear weights.  Rendering all and only inside pixels
+	 */
+	@Test
+	public void comparePrecomputeBilinear() {
+		for( boolean renderAll : new boolean[]{true,false}) {
+			ImageDistort<T,T> standard = FactoryDistort.distortSB(false, interp, imageType);
+			ImageDistortCache_SB<T,T> alg = create(interp,imageType);
+			ImageDistortCache_SB<T,T> algNoWeights = create(interp,imageType);
+			algNoWeights.setPrecomputeBilinear(false);
+
+			assertTrue(alg.isPrecomputeBilinear());
+
+			standard.setRenderAll(renderAll);
+			alg.setRenderAll(renderAll);
+			algNoWeights.setRenderAll(renderAll);
+
+			standard.setModel(tran);
+			alg.setModel(tran);
+			algNoWeights.setModel(tran);
+
+			GImageMiscOps.fill(dst0, 2);
+			GImageMiscOps.fill(dst1, 2);
+			standard.apply(src, dst0);
+			alg.apply(src, dst1);
+			BoofTesting.assertEquals(dst0, dst1, 0);
+
+			GImageMiscOps.fill(dst1, 2);
+			algNoWeights.apply(src, dst1);
+			BoofTesting.assertEquals(dst0, dst1, 0);
+		}
+	}
+
+	/**
+	 * The precomputed index depends on the input image.  See if it's recomputed when the input changes
+	 */
+	@Test
+	public void changeInputShape() {
+		ImageDistort<T,T> standard = FactoryDistort.distortSB(false, interp, imageType);
+		ImageDistortCache_SB<T,T> alg = create(interp,imageType);
+
+		standard.setModel(tran);
+		alg.setModel(tran);
+
+		alg.apply(src,dst1);
+
+		T src2 = GeneralizedImageOps.createSingleBand(imageType,150,220);
+		GImageMiscOps.fillUniform(src2, rand, 0, 200);
+		src2 = BoofTesting.createSubImageOf(src2);
+
+		standard.apply(src2,dst0);
+		alg.apply(src2,dst1);
+
+		BoofTesting.assertEquals(dst0, dst1, 0);
+	}
+
+	/**
+	 * Both the input and output are sub-images
+	 */
+	@Test
+	public void subimage() {
+		ImageDistort<T,T> standard = FactoryDistort.distortSB(false, interp, imageType);
+		ImageDistortCache_SB<T,T> alg = create(interp,imageType);
+
+		standard.setModel(tran);
+		alg.setModel(tran);
+
+		T srcSub = BoofTesting.createSubImageOf(src);
+		T dstSub = BoofTesting.createSubImageOf(dst1);
+
+		standard.apply(src,dst0,10,30,80,60);
+		alg.apply(srcSub,dstSub,10,30,80,60);
+
+		BoofTesting.assertEquals(dst0, dstSub, 0);
+	}
+
 	public abstract ImageDistortCache_SB<T,T>
 	create(InterpolatePixelS<T> interp, Class<T> imageType );
 }
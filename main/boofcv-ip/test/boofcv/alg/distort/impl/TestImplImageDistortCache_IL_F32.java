@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.distort.impl;
+
+import boofcv.alg.distort.ImageDistort;
+import boofcv.alg.distort.ImageDistortCache_IL;
+import boofcv.alg.distort.PixelTransformAffine_F32;
+import boofcv.alg.interpolate.InterpolatePixel;
+import boofcv.alg.interpolate.InterpolatePixelMB;
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.core.image.border.BorderType;
+import boofcv.factory.interpolate.FactoryInterpolation;
+import boofcv.struct.distort.PixelTransform2_F32;
+import boofcv.struct.image.ImageType;
+import boofcv.struct.image.InterleavedF32;
+import boofcv.testing.BoofTesting;
+import georegression.struct.affine.Affine2D_F32;
+import org.junit.Test;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplImageDistortCache_IL_F32 extends GeneralImageDistortTests<InterleavedF32>{
+
+	public TestImplImageDistortCache_IL_F32() {
+		super(ImageType.il(2,InterleavedF32.class));
+	}
+
+	@Override
+	public ImageDistort<InterleavedF32, InterleavedF32>
+	createDistort(PixelTransform2_F32 dstToSrc, InterpolatePixel<InterleavedF32> interp) {
+		ImageDistort<InterleavedF32,InterleavedF32> ret = new ImplImageDistortCache_IL_F32((InterpolatePixelMB)interp);
+		ret.setModel(dstToSrc);
+		return ret;
+	}
+
+	/**
+	 * Compare against the uncached implementation using bilinear interpolation, with and without precomputed
+	 * weights
+	 */
+	@Test
+	public void compareToUncached_bilinear() {
+		InterleavedF32 src = new InterleavedF32(200,300,2);
+		InterleavedF32 dst0 = new InterleavedF32(200,300,2);
+		InterleavedF32 dst1 = new InterleavedF32(200,300,2);
+		GImageMiscOps.fillUniform(src, rand, 0, 200);
+
+		PixelTransformAffine_F32 tran = new PixelTransformAffine_F32(new Affine2D_F32(1.1f,0.2f,-0.1f,0.9f,5,-6));
+
+		for( boolean precompute : new boolean[]{true,false} ) {
+			for( boolean renderAll : new boolean[]{true,false} ) {
+				InterpolatePixelMB<InterleavedF32> bilinear =
+						FactoryInterpolation.bilinearPixelMB(imageType, BorderType.EXTENDED);
+
+				ImageDistort<InterleavedF32,InterleavedF32> standard = new ImplImageDistort_IL_F32(bilinear);
+				ImageDistortCache_IL<InterleavedF32,InterleavedF32> alg = new ImplImageDistortCache_IL_F32(bilinear);
+				alg.setPrecomputeBilinear(precompute);
+
+				standard.setModel(tran);
+				alg.setModel(tran);
+				standard.setRenderAll(renderAll);
+				alg.setRenderAll(renderAll);
+
+				GImageMiscOps.fill(dst0, 1);
+				GImageMiscOps.fill(dst1, 1);
+				standard.apply(src, dst0);
+				alg.apply(src, dst1);
+				BoofTesting.assertEquals(dst0, dst1, 0);
+
+				// apply it again with a sub-image now that the cache has been computed
+				GImageMiscOps.fill(dst1, 1);
+				alg.apply(BoofTesting.createSubImageOf(src), dst1);
+				BoofTesting.assertEquals(dst0, dst1, 0);
+			}
+		}
+	}
+}
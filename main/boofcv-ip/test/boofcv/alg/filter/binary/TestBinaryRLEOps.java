@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.misc.ImageStatistics;
+import boofcv.struct.ConnectRule;
+import boofcv.struct.image.BinaryRLE;
+import boofcv.struct.image.GrayF32;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import org.ddogleg.struct.GrowQueue_I32;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the results against the equivalent functions for {@link GrayU8} images
+ *
+ * @author Peter Abeles
+ */
+public class TestBinaryRLEOps {
+
+	Random rand = new Random(234);
+
+	int width = 35;
+	int height = 28;
+
+	@Test
+	public void convert() {
+		for (int i = 0; i < 5; i++) {
+			GrayU8 input = createBinary();
+			BinaryRLE rle = BinaryRLEOps.convert(input, null);
+			assertEquals(rle.countPixels(), ImageStatistics.sum(input));
+
+			GrayU8 found = BinaryRLEOps.convert(rle, null);
+			BoofTesting.assertEquals(input, found, 0);
+
+			// sub-images
+			rle = BinaryRLEOps.convert(BoofTesting.createSubImageOf(input), rle);
+			found = BoofTesting.createSubImageOf(found);
+			ImageMiscOps.fill(found, 3);
+			BinaryRLEOps.convert(rle, found);
+			BoofTesting.assertEquals(input, found, 0);
+		}
+	}
+
+	@Test
+	public void threshold_U8() {
+		GrayU8 input = new GrayU8(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 255);
+
+		for( boolean down : new boolean[]{true,false}) {
+			GrayU8 expected = ThresholdImageOps.threshold(input, null, 100, down);
+			BinaryRLE found = BinaryRLEOps.threshold(input, null, 100, down);
+			BoofTesting.assertEquals(expected, BinaryRLEOps.convert(found, null), 0);
+		}
+	}
+
+	@Test
+	public void threshold_F32() {
+		GrayF32 input = new GrayF32(width,height);
+		ImageMiscOps.fillUniform(input, rand, 0, 255);
+
+		for( boolean down : new boolean[]{true,false}) {
+			GrayU8 expected = ThresholdImageOps.threshold(input, null, 100, down);
+			BinaryRLE found = BinaryRLEOps.threshold(input, null, 100, down);
+			BoofTesting.assertEquals(expected, BinaryRLEOps.convert(found, null), 0);
+		}
+	}
+
+	@Test
+	public void logic() {
+		for (int i = 0; i < 5; i++) {
+			GrayU8 a = createBinary();
+			GrayU8 b = createBinary();
+			BinaryRLE rleA = BinaryRLEOps.convert(a, null);
+			BinaryRLE rleB = BinaryRLEOps.convert(b, null);
+
+			check(BinaryImageOps.logicAnd(a, b, null), BinaryRLEOps.logicAnd(rleA, rleB, null));
+			check(BinaryImageOps.logicOr(a, b, null), BinaryRLEOps.logicOr(rleA, rleB, null));
+			check(BinaryImageOps.logicXor(a, b, null), BinaryRLEOps.logicXor(rleA, rleB, null));
+			check(BinaryImageOps.invert(a, null), BinaryRLEOps.invert(rleA, null));
+		}
+	}
+
+	/**
+	 * Compares against {@link BinaryImageOps}, including along the image border
+	 */
+	@Test
+	public void erode_dilate() {
+		for (int i = 0; i < 5; i++) {
+			GrayU8 input = createBinary();
+			BinaryRLE rle = BinaryRLEOps.convert(input, null);
+
+			for (int numTimes = 1; numTimes <= 3; numTimes++) {
+				check(BinaryImageOps.erode4(input, numTimes, null), BinaryRLEOps.erode4(rle, numTimes, null));
+				check(BinaryImageOps.dilate4(input, numTimes, null), BinaryRLEOps.dilate4(rle, numTimes, null));
+				check(BinaryImageOps.erode8(input, numTimes, null), BinaryRLEOps.erode8(rle, numTimes, null));
+				check(BinaryImageOps.dilate8(input, numTimes, null), BinaryRLEOps.dilate8(rle, numTimes, null));
+			}
+		}
+	}
+
+	/**
+	 * Erode with all pixels set should only clear the corners with a 4-neighborhood and do nothing
+	 * with an 8-neighborhood
+	 */
+	@Test
+	public void erode_filled() {
+		GrayU8 input = new GrayU8(width,height);
+		ImageMiscOps.fill(input, 1);
+		BinaryRLE rle = BinaryRLEOps.convert(input, null);
+
+		GrayU8 expected = input.clone();
+		expected.set(0, 0, 0);
+		expected.set(width-1, 0, 0);
+		expected.set(0, height-1, 0);
+		expected.set(width-1, height-1, 0);
+		BinaryRLE found = BinaryRLEOps.erode4(rle, 1, null);
+		check(expected, found);
+		check(BinaryImageOps.erode4(input, 1, null), found);
+		check(BinaryImageOps.erode4(input, 2, null), BinaryRLEOps.erode4(rle, 2, null));
+
+		found = BinaryRLEOps.erode8(rle, 2, null);
+		check(input, found);
+		check(BinaryImageOps.erode8(input, 2, null), found);
+	}
+
+	/**
+	 * Images which are only one or two pixels wide or tall
+	 */
+	@Test
+	public void erode_dilate_thin() {
+		int shapes[][] = new int[][]{{1,1},{1,10},{12,1},{2,2},{2,9}};
+		for( int[] shape : shapes ) {
+			GrayU8 input = new GrayU8(shape[0], shape[1]);
+			ImageMiscOps.fill(input, 1);
+			BinaryRLE rle = BinaryRLEOps.convert(input, null);
+
+			check(BinaryImageOps.erode4(input, 1, null), BinaryRLEOps.erode4(rle, 1, null));
+			check(BinaryImageOps.erode8(input, 1, null), BinaryRLEOps.erode8(rle, 1, null));
+			check(BinaryImageOps.dilate4(input, 1, null), BinaryRLEOps.dilate4(rle, 1, null));
+			check(BinaryImageOps.dilate8(input, 1, null), BinaryRLEOps.dilate8(rle, 1, null));
+		}
+	}
+
+	/**
+	 * Labels should be the same as the labeled image created by contour finding
+	 */
+	@Test
+	public void labelRuns() {
+		for( ConnectRule rule : new ConnectRule[]{ConnectRule.FOUR,ConnectRule.EIGHT}) {
+			for (int i = 0; i < 5; i++) {
+				GrayU8 input = createBinary();
+				BinaryRLE rle = BinaryRLEOps.convert(input, null);
+
+				GrayS32 expected = new GrayS32(width,height);
+				List<Contour> contours = BinaryImageOps.contour(input, rule, expected);
+
+				GrowQueue_I32 labels = new GrowQueue_I32();
+				int numBlobs = BinaryRLEOps.labelRuns(rle, rule, labels);
+				assertEquals(contours.size(), numBlobs);
+				assertEquals(rle.getNumRuns(), labels.size);
+
+				GrayS32 found = BinaryRLEOps.labelToImage(rle, labels, null);
+				BoofTesting.assertEquals(expected, found, 0);
+			}
+		}
+	}
+
+	@Test
+	public void contour() {
+		GrayU8 input = createBinary();
+		BinaryRLE rle = BinaryRLEOps.convert(input, null);
+
+		for( ConnectRule rule : new ConnectRule[]{ConnectRule.FOUR,ConnectRule.EIGHT}) {
+			GrayS32 labeledExpected = new GrayS32(width,height);
+			GrayS32 labeledFound = new GrayS32(width,height);
+			List<Contour> expected = BinaryImageOps.contour(input, rule, labeledExpected);
+			List<Contour> found = BinaryRLEOps.contour(rle, rule, labeledFound);
+
+			assertTrue(expected.size() > 0);
+			assertEquals(expected.size(), found.size());
+			BoofTesting.assertEquals(labeledExpected, labeledFound, 0);
+			for (int i = 0; i < expected.size(); i++) {
+				assertEquals(expected.get(i).external.size(), found.get(i).external.size());
+				assertEquals(expected.get(i).internal.size(), found.get(i).internal.size());
+			}
+		}
+	}
+
+	private void check( GrayU8 expected , BinaryRLE found ) {
+		assertTrue(found.isComplete());
+		// runs should be separated
+		for (int y = 0; y < found.height; y++) {
+			for (int run = found.getRowStart(y); run < found.getRowEnd(y); run++) {
+				assertTrue(found.getRunX0(run) < found.getRunX1(run));
+				if( run > found.getRowStart(y) )
+					assertTrue(found.getRunX1(run-1) < found.getRunX0(run));
+			}
+		}
+		BoofTesting.assertEquals(expected, BinaryRLEOps.convert(found, null), 0);
+	}
+
+	/**
+	 * Creates a binary image with blobs of different sizes and holes
+	 */
+	private GrayU8 createBinary() {
+		GrayU8 image = new GrayU8(width,height);
+		ImageMiscOps.fillUniform(image, rand, 0, 2);
+		for (int i = 0; i < 4; i++) {
+			int x0 = rand.nextInt(width-5);
+			int y0 = rand.nextInt(height-5);
+			ImageMiscOps.fillRectangle(image, rand.nextInt(2), x0, y0, 3+rand.nextInt(10), 3+rand.nextInt(10));
+		}
+		return image;
+	}
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.alg.misc.ImageStatistics;
+import boofcv.struct.image.GrayBinary;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the results against the equivalent functions for {@link GrayU8} images
+ *
+ * @author Peter Abeles
+ */
+public class TestGrayBinaryOps {
+
+	Random rand = new Random(234);
+
+	// widths which are less than, equal to, and more than a multiple of 64
+	int widths[] = new int[]{7,64,65,150};
+	int height = 20;
+
+	@Test
+	public void convert() {
+		for( int width : widths ) {
+			GrayU8 input = createBinary(width);
+			GrayBinary packed = GrayBinaryOps.convert(input, null);
+			check(input, packed);
+
+			GrayU8 found = GrayBinaryOps.convert(packed, null);
+			BoofTesting.assertEquals(input, found, 0);
+
+			// sub-images
+			packed = GrayBinaryOps.convert(BoofTesting.createSubImageOf(input), packed);
+			found = BoofTesting.createSubImageOf(found);
+			ImageMiscOps.fill(found, 3);
+			GrayBinaryOps.convert(packed, found);
+			BoofTesting.assertEquals(input, found, 0);
+		}
+	}
+
+	@Test
+	public void logic() {
+		for( int width : widths ) {
+			GrayU8 a = createBinary(width);
+			GrayU8 b = createBinary(width);
+			GrayBinary packedA = GrayBinaryOps.convert(a, null);
+			GrayBinary packedB = GrayBinaryOps.convert(b, null);
+
+			check(BinaryImageOps.logicAnd(a, b, null), GrayBinaryOps.logicAnd(packedA, packedB, null));
+			check(BinaryImageOps.logicOr(a, b, null), GrayBinaryOps.logicOr(packedA, packedB, null));
+			check(BinaryImageOps.logicXor(a, b, null), GrayBinaryOps.logicXor(packedA, packedB, null));
+			check(BinaryImageOps.invert(a, null), GrayBinaryOps.invert(packedA, null));
+
+			// output is the same as the input
+			GrayBinaryOps.logicAnd(packedA, packedB, packedA);
+			check(BinaryImageOps.logicAnd(a, b, null), packedA);
+		}
+	}
+
+	/**
+	 * Compares against {@link BinaryImageOps}, including along the image border
+	 */
+	@Test
+	public void erode_dilate() {
+		for( int width : widths ) {
+			GrayU8 input = createBinary(width);
+			GrayBinary packed = GrayBinaryOps.convert(input, null);
+
+			for (int numTimes = 1; numTimes <= 3; numTimes++) {
+				check(BinaryImageOps.erode4(input, numTimes, null), GrayBinaryOps.erode4(packed, numTimes, null));
+				check(BinaryImageOps.dilate4(input, numTimes, null), GrayBinaryOps.dilate4(packed, numTimes, null));
+				check(BinaryImageOps.erode8(input, numTimes, null), GrayBinaryOps.erode8(packed, numTimes, null));
+				check(BinaryImageOps.dilate8(input, numTimes, null), GrayBinaryOps.dilate8(packed, numTimes, null));
+			}
+		}
+	}
+
+	/**
+	 * Erode with all pixels set should only clear the corners with a 4-neighborhood and do nothing
+	 * with an 8-neighborhood
+	 */
+	@Test
+	public void erode_filled() {
+		for( int width : widths ) {
+			GrayU8 input = new GrayU8(width, height);
+			ImageMiscOps.fill(input, 1);
+			GrayBinary packed = GrayBinaryOps.convert(input, null);
+
+			GrayU8 expected = input.clone();
+			expected.set(0, 0, 0);
+			expected.set(width-1, 0, 0);
+			expected.set(0, height-1, 0);
+			expected.set(width-1, height-1, 0);
+			GrayBinary found = GrayBinaryOps.erode4(packed, 1, null);
+			check(expected, found);
+			check(BinaryImageOps.erode4(input, 1, null), found);
+			check(BinaryImageOps.erode4(input, 2, null), GrayBinaryOps.erode4(packed, 2, null));
+
+			found = GrayBinaryOps.erode8(packed, 2, null);
+			check(input, found);
+			check(BinaryImageOps.erode8(input, 2, null), found);
+		}
+	}
+
+	/**
+	 * Images which are only one pixel wide or tall
+	 */
+	@Test
+	public void erode_dilate_thin() {
+		int shapes[][] = new int[][]{{1,1},{1,10},{70,1},{2,2}};
+		for( int[] shape : shapes ) {
+			GrayU8 input = new GrayU8(shape[0], shape[1]);
+			ImageMiscOps.fill(input, 1);
+			GrayBinary packed = GrayBinaryOps.convert(input, null);
+
+			check(BinaryImageOps.erode4(input, 1, null), GrayBinaryOps.erode4(packed, 1, null));
+			check(BinaryImageOps.erode8(input, 1, null), GrayBinaryOps.erode8(packed, 1, null));
+			check(BinaryImageOps.dilate4(input, 1, null), GrayBinaryOps.dilate4(packed, 1, null));
+			check(BinaryImageOps.dilate8(input, 1, null), GrayBinaryOps.dilate8(packed, 1, null));
+		}
+	}
+
+	private void check( GrayU8 expected , GrayBinary found ) {
+		// bits outside the image must be zero
+		long mask = found.getLastWordMask();
+		for (int y = 0; y < found.height; y++) {
+			assertEquals(0, found.data[y*found.stride + found.stride-1] & ~mask);
+		}
+		assertEquals(ImageStatistics.sum(expected), found.countPixels());
+		BoofTesting.assertEquals(expected, GrayBinaryOps.convert(found, null), 0);
+	}
+
+	/**
+	 * Creates a binary image with random noise and solid rectangles
+	 */
+	private GrayU8 createBinary( int width ) {
+		GrayU8 image = new GrayU8(width,height);
+		ImageMiscOps.fillUniform(image, rand, 0, 2);
+		for (int i = 0; i < 4; i++) {
+			int x0 = rand.nextInt(width);
+			int y0 = rand.nextInt(height);
+			ImageMiscOps.fillRectangle(image, rand.nextInt(2), x0, y0, 3+rand.nextInt(10), 3+rand.nextInt(10));
+		}
+		return image;
+	}
+}
@@ -18,17 +18,22 @@
 
 package boofcv.alg.filter.binary;
 
+import boofcv.alg.misc.ImageMiscOps;
 import boofcv.core.image.border.FactoryImageBorder;
 import boofcv.core.image.border.ImageBorder;
 import boofcv.struct.ConnectRule;
+import boofcv.struct.PackedSetsPoint2D_I32;
+import boofcv.struct.image.BinaryRLE;
 import boofcv.struct.image.GrayS32;
 import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
 import georegression.struct.point.Point2D_I32;
 import org.ddogleg.struct.FastQueue;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -192,6 +197,42 @@ public class TestLinearContourLabelChang2004 {
 		assertEquals(4, c.internal.get(0).size());
 	}
 
+	/**
+	 * Run-length encoded images should produce the same results as GrayU8 images
+	 */
+	@Test
+	public void process_rle() {
+		Random rand = new Random(234);
+		GrayU8 input = new GrayU8(45,38);
+		ImageMiscOps.fillUniform(input, rand, 0, 2);
+		BinaryRLE rle = BinaryRLEOps.convert(input, null);
+
+		for( ConnectRule rule : new ConnectRule[]{ConnectRule.FOUR,ConnectRule.EIGHT}) {
+			LinearContourLabelChang2004 expected = new LinearContourLabelChang2004(rule);
+			LinearContourLabelChang2004 found = new LinearContourLabelChang2004(rule);
+
+			GrayS32 labeledExpected = new GrayS32(input.width,input.height);
+			GrayS32 labeledFound = new GrayS32(input.width,input.height);
+			ImageMiscOps.fill(labeledFound, 5);
+
+			expected.process(input, labeledExpected);
+			found.process(rle, labeledFound);
+
+			BoofTesting.assertEquals(labeledExpected, labeledFound, 0);
+			PackedSetsPoint2D_I32 pointsA = expected.getPackedPoints();
+			PackedSetsPoint2D_I32 pointsB = found.getPackedPoints();
+			assertEquals(expected.getPackedContours().size, found.getPackedContours().size);
+			assertEquals(pointsA.size(), pointsB.size());
+			for (int i = 0; i < pointsA.size(); i++) {
+				assertEquals(pointsA.sizeOfSet(i), pointsB.sizeOfSet(i));
+				for (int j = 0; j < pointsA.sizeOfSet(i); j++) {
+					assertEquals(pointsA.getX(i,j), pointsB.getX(i,j));
+					assertEquals(pointsA.getY(i,j), pointsB.getY(i,j));
+				}
+			}
+		}
+	}
+
 	/**
 	 * Creates a list of every pixel with the specified label that is on the contour.  Removes duplicate points
 	 * in the found contour.  Sees if the two lists are equivalent.
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.binary;
+
+import boofcv.alg.filter.blur.BlurImageOps;
+import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.ConnectRule;
+import boofcv.struct.PackedSetsPoint2D_I32;
+import boofcv.struct.image.GrayS32;
+import boofcv.struct.image.GrayU8;
+import boofcv.testing.BoofTesting;
+import org.ddogleg.struct.FastQueue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestLinearContourLabelChang2004_MT {
+
+	Random rand = new Random(234);
+
+	int originalThreads;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+		BoofConcurrency.USE_CONCURRENT = true;
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	/**
+	 * Random noise creates lots of small blobs which cross the seams between strips
+	 */
+	@Test
+	public void compare_noise() {
+		for( ConnectRule rule : new ConnectRule[]{ConnectRule.FOUR,ConnectRule.EIGHT}) {
+			compare(createNoise(120,100), rule);
+			compare(createNoise(57,211), rule);
+			compare(createNoise(200,45), rule);
+		}
+	}
+
+	/**
+	 * Blurred noise creates larger blobs with holes and blobs inside of holes
+	 */
+	@Test
+	public void compare_blobs() {
+		for( ConnectRule rule : new ConnectRule[]{ConnectRule.FOUR,ConnectRule.EIGHT}) {
+			compare(createBlobs(150,130), rule);
+			compare(createBlobs(91,240), rule);
+		}
+	}
+
+	/**
+	 * Single blob which covers the entire image and crosses every seam
+	 */
+	@Test
+	public void compare_filled() {
+		GrayU8 binary = new GrayU8(80,100);
+		ImageMiscOps.fill(binary,1);
+		ImageMiscOps.fillRectangle(binary,0,20,30,10,50);
+		for( ConnectRule rule : new ConnectRule[]{ConnectRule.FOUR,ConnectRule.EIGHT}) {
+			compare(binary, rule);
+		}
+	}
+
+	@Test
+	public void compare_subimage() {
+		GrayU8 binary = createNoise(100,120);
+		for( ConnectRule rule : new ConnectRule[]{ConnectRule.FOUR,ConnectRule.EIGHT}) {
+			LinearContourLabelChang2004 expected = new LinearContourLabelChang2004(rule);
+			LinearContourLabelChang2004_MT found = new LinearContourLabelChang2004_MT(rule);
+
+			GrayS32 labeledExpected = new GrayS32(binary.width,binary.height);
+			GrayS32 labeledFound = BoofTesting.createSubImageOf(labeledExpected);
+
+			expected.process(BoofTesting.createSubImageOf(binary), labeledExpected);
+			found.process(BoofTesting.createSubImageOf(binary), labeledFound);
+
+			BoofTesting.assertEquals(labeledExpected, labeledFound, 0);
+			compare(expected, found);
+		}
+	}
+
+	/**
+	 * When concurrency is disabled it should produce the same results as the single threaded code
+	 */
+	@Test
+	public void notActive() {
+		BoofConcurrency.USE_CONCURRENT = false;
+		compare(createBlobs(100,100), ConnectRule.EIGHT);
+	}
+
+	private void compare( GrayU8 binary , ConnectRule rule ) {
+		LinearContourLabelChang2004 expected = new LinearContourLabelChang2004(rule);
+		LinearContourLabelChang2004_MT found = new LinearContourLabelChang2004_MT(rule);
+
+		GrayS32 labeledExpected = new GrayS32(binary.width,binary.height);
+		GrayS32 labeledFound = new GrayS32(binary.width,binary.height);
+
+		// process twice to make sure it's reset correctly
+		for (int trial = 0; trial < 2; trial++) {
+			expected.process(binary, labeledExpected);
+			found.process(binary, labeledFound);
+
+			BoofTesting.assertEquals(labeledExpected, labeledFound, 0);
+			compare(expected, found);
+		}
+		// sanity check
+		assertTrue(expected.getContours().size() > 0 );
+	}
+
+	private void compare( LinearContourLabelChang2004 expected , LinearContourLabelChang2004 found ) {
+		FastQueue<ContourPacked> contoursA = expected.getPackedContours();
+		FastQueue<ContourPacked> contoursB = found.getPackedContours();
+		PackedSetsPoint2D_I32 pointsA = expected.getPackedPoints();
+		PackedSetsPoint2D_I32 pointsB = found.getPackedPoints();
+
+		assertEquals(contoursA.size, contoursB.size);
+		assertEquals(pointsA.size(), pointsB.size());
+		for (int i = 0; i < contoursA.size; i++) {
+			ContourPacked a = contoursA.get(i);
+			ContourPacked b = contoursB.get(i);
+
+			assertEquals(a.id, b.id);
+			assertEquals(a.externalIndex, b.externalIndex);
+			assertEquals(a.internalIndexes.size, b.internalIndexes.size);
+			for (int j = 0; j < a.internalIndexes.size; j++) {
+				assertEquals(a.internalIndexes.get(j), b.internalIndexes.get(j));
+			}
+		}
+		for (int i = 0; i < pointsA.size(); i++) {
+			assertEquals(pointsA.sizeOfSet(i), pointsB.sizeOfSet(i));
+			for (int j = 0; j < pointsA.sizeOfSet(i); j++) {
+				assertEquals(pointsA.getX(i,j), pointsB.getX(i,j));
+				assertEquals(pointsA.getY(i,j), pointsB.getY(i,j));
+			}
+		}
+
+		// the list based contours should be the same too
+		FastQueue<Contour> listA = expected.getContours();
+		FastQueue<Contour> listB = found.getContours();
+		assertEquals(listA.size, listB.size);
+		for (int i = 0; i < listA.size; i++) {
+			assertEquals(listA.get(i).external.size(), listB.get(i).external.size());
+			assertEquals(listA.get(i).internal.size(), listB.get(i).internal.size());
+		}
+	}
+
+	private GrayU8 createNoise( int width , int height ) {
+		GrayU8 binary = new GrayU8(width,height);
+		ImageMiscOps.fillUniform(binary, rand, 0, 2);
+		return binary;
+	}
+
+	private GrayU8 createBlobs( int width , int height ) {
+		GrayU8 noise = new GrayU8(width,height);
+		ImageMiscOps.fillUniform(noise, rand, 0, 255);
+		GrayU8 blurred = BlurImageOps.gaussian(noise, null, -1, 3, null);
+		GrayU8 binary = new GrayU8(width,height);
+		ThresholdImageOps.threshold(blurred, binary, 127, false);
+		return binary;
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.struct.image.ImageBase;
+import boofcv.testing.BoofTesting;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvolveImageNoBorder_MT {
+
+	int originalThreads;
+
+	@Before
+	public void before() {
+		// force the image to be split into multiple bands even on a single core machine
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+	}
+
+	@Test
+	public void compareToSingleThread_symmetric() {
+		Compare a = new Compare();
+		a.setKernelWidth(5);
+		a.setOffset(2);
+		a.performTests(58);
+	}
+
+	@Test
+	public void compareToSingleThread_UNsymmetric() {
+		Compare a = new Compare();
+		a.setKernelWidth(5);
+		a.setOffset(1);
+		a.performTests(58);
+	}
+
+	@Test
+	public void compareToSingleThread_even() {
+		Compare a = new Compare();
+		a.setKernelWidth(4);
+		a.setOffset(3);
+		a.performTests(58);
+	}
+
+	/**
+	 * The output must be exactly the same as the single threaded code
+	 */
+	private static class Compare extends CompareToStandardConvolution {
+		public Compare() {
+			super(ConvolveImageNoBorder_MT.class, ConvolveImageNoBorder.class);
+			height = 41;
+		}
+
+		@Override
+		protected void compareResults(Object targetResult, Object[] targetParam,
+									  Object validationResult, Object[] validationParam) {
+			for( int i = 0; i < targetParam.length; i++ ) {
+				if( !ImageBase.class.isAssignableFrom(targetParam[i].getClass()) )
+					continue;
+
+				BoofTesting.assertEquals((ImageBase)validationParam[i], (ImageBase)targetParam[i], 0);
+			}
+		}
+	}
+}
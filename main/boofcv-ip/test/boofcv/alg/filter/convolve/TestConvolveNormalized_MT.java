@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.filter.convolve;
+
+import boofcv.alg.filter.convolve.normalized.CompareToStandardConvolutionNormalized;
+import boofcv.concurrency.BoofConcurrency;
+import org.junit.Test;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestConvolveNormalized_MT {
+	@Test
+	public void compareToNaive() {
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+
+		try {
+			int numFunctions = 30;
+			CompareToStandardConvolutionNormalized test = new CompareToStandardConvolutionNormalized(ConvolveNormalized_MT.class);
+
+			for( int i = 0; i < 2; i++ ) {
+				test.setImageDimension(15+i,20+i);
+				test.setKernelRadius(1,1);
+				test.performTests(numFunctions);
+				test.setKernelRadius(3,3);
+				test.performTests(numFunctions);
+
+				// non-symmetric
+				test.setKernelRadius(3,1);
+				test.performTests(numFunctions);
+
+				// kernel is larger than the image
+				test.setKernelRadius(8,8);
+				test.performTests(numFunctions);
+			}
+		} finally {
+			BoofConcurrency.setMaxThreads(originalThreads);
+		}
+	}
+}
@@ -50,6 +50,10 @@ public class TestConvolveWithBorder extends CompareImageBorder {
 		super(ConvolveWithBorder.class);
 	}
 
+	protected TestConvolveWithBorder( Class<?> testClass ) {
+		super(testClass);
+	}
+
 	@Override
 	protected boolean isTestMethod(Method m) {
 		Class<?> e[] = m.getParameterTypes();
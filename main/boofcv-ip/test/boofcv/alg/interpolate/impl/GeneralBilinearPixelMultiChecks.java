@@ -18,8 +18,10 @@
 
 package boofcv.alg.interpolate.impl;
 
+import boofcv.alg.interpolate.BilinearPixelMB;
 import boofcv.alg.interpolate.InterpolatePixelMB;
 import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.misc.GImageMiscOps;
 import boofcv.core.image.FactoryGImageMultiBand;
 import boofcv.core.image.GImageMultiBand;
 import boofcv.core.image.border.BorderType;
@@ -28,6 +30,10 @@ import boofcv.core.image.border.ImageBorder;
 import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.image.ImageInterleaved;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
 
 
 /**
@@ -47,6 +53,34 @@ public abstract class GeneralBilinearPixelMultiChecks<T extends ImageInterleaved
 		return FactoryInterpolation.bilinearPixelS(image, null);
 	}
 
+	/**
+	 * get_fast() with a precomputed index and weights should produce identical results
+	 */
+	@Test
+	public void get_fast_index() {
+		T img = createImage(width, height, numBands);
+		GImageMiscOps.fillUniform(img, rand, 0, 100);
+
+		BoofTesting.checkSubImage(this, "get_fast_index", false, img);
+	}
+
+	public void get_fast_index(T img) {
+		BilinearPixelMB<T> interp = (BilinearPixelMB<T>)wrap(img, 0, 100);
+
+		float[] expected = new float[numBands];
+		float[] found = new float[numBands];
+
+		float[] points = new float[]{10,10 , 10.1f,10 , 10,10.6f , 10.8f,10.6f , 0,0 , width-2,height-2};
+		for (int i = 0; i < points.length; i += 2) {
+			float x = points[i], y = points[i+1];
+			int xt = (int)x, yt = (int)y;
+			int index = img.startIndex + yt*img.stride + xt*numBands;
+			interp.get_fast(x, y, expected);
+			interp.get_fast(index, x - xt, y - yt, found);
+			assertArrayEquals(expected, found, 0);
+		}
+	}
+
 	@Override
 	protected void compute(T _img, float x, float y, float pixel[] ) {
 		ImageBorder<T> imgB = FactoryImageBorder.wrap(BorderType.EXTENDED, _img);
@@ -18,7 +18,9 @@
 
 package boofcv.alg.interpolate.impl;
 
+import boofcv.alg.interpolate.BilinearPixelS;
 import boofcv.alg.interpolate.InterpolatePixelS;
+import boofcv.alg.misc.GImageMiscOps;
 import boofcv.core.image.FactoryGImageGray;
 import boofcv.core.image.GImageGray;
 import boofcv.core.image.border.BorderType;
@@ -26,6 +28,10 @@ import boofcv.core.image.border.FactoryImageBorder;
 import boofcv.core.image.border.ImageBorder;
 import boofcv.factory.interpolate.FactoryInterpolation;
 import boofcv.struct.image.ImageGray;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
 
 
 /**
@@ -40,6 +46,29 @@ public abstract class GeneralBilinearPixelSingleChecks<T extends ImageGray<T>> e
 		return FactoryInterpolation.bilinearPixelS(image,null);
 	}
 
+	/**
+	 * get_fast() with a precomputed index and weights should produce identical results
+	 */
+	@Test
+	public void get_fast_index() {
+		T img = createImage(width, height);
+		GImageMiscOps.fillUniform(img, rand, 0, 100);
+
+		BoofTesting.checkSubImage(this, "get_fast_index", false, img);
+	}
+
+	public void get_fast_index(T img) {
+		BilinearPixelS<T> interp = (BilinearPixelS<T>)wrap(img, 0, 100);
+
+		float[] points = new float[]{10,10 , 10.1f,10 , 10,10.6f , 10.8f,10.6f , 0,0 , width-2,height-2};
+		for (int i = 0; i < points.length; i += 2) {
+			float x = points[i], y = points[i+1];
+			int xt = (int)x, yt = (int)y;
+			int index = img.startIndex + yt*img.stride + xt;
+			assertEquals(interp.get_fast(x, y), interp.get_fast(index, x - xt, y - yt), 0);
+		}
+	}
+
 	@Override
 	protected float compute(T _img, float x, float y) {
 		ImageBorder<?> imgB = FactoryImageBorder.wrap(BorderType.EXTENDED, _img);
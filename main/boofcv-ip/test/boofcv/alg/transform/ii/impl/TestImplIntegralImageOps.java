@@ -37,6 +37,7 @@ import boofcv.testing.BoofTesting;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.lang.reflect.Array;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Random;
@@ -208,11 +209,15 @@ public class TestImplIntegralImageOps {
 	@Test
 	public void block_unsafe() {
 		int numFound = BoofTesting.findMethodThenCall(this,"block_unsafe",ImplIntegralImageOps.class,"block_unsafe");
-		assertEquals(4,numFound);
+		assertEquals(8,numFound);
 	}
 
 	public void block_unsafe( Method m ) throws InvocationTargetException, IllegalAccessException {
 		Class paramType[] = m.getParameterTypes();
+		if( paramType.length == 4 ) {
+			block_unsafe_batch(m);
+			return;
+		}
 		Class inputType = paramType[0];
 		Class origType = inputType == GrayS32.class ? GrayU8.class : inputType;
 
@@ -227,6 +232,51 @@ public class TestImplIntegralImageOps {
 		assertEquals(12, found0, 1e-4f);
 	}
 
+	/**
+	 * Compare the batch version against computing each block individually
+	 */
+	public void block_unsafe_batch( Method m ) throws InvocationTargetException, IllegalAccessException {
+		Class paramType[] = m.getParameterTypes();
+		Class inputType = paramType[0];
+		Class origType = inputType == GrayS32.class ? GrayU8.class : inputType;
+
+		ImageGray input = GeneralizedImageOps.createSingleBand(origType, width, height);
+		ImageGray integral = GeneralizedImageOps.createSingleBand(inputType, width, height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+		GIntegralImageOps.transform(input,integral);
+
+		Method single;
+		try {
+			single = ImplIntegralImageOps.class.getMethod("block_unsafe",inputType,int.class,int.class,int.class,int.class);
+		} catch (NoSuchMethodException e) {
+			throw new RuntimeException(e);
+		}
+
+		int numBlocks = 50;
+		int[] blocks = new int[numBlocks*4+3];
+		for (int i = 0; i < numBlocks; i++) {
+			int x0 = rand.nextInt(width-1);
+			int y0 = rand.nextInt(height-1);
+			blocks[i*4  ] = x0;
+			blocks[i*4+1] = y0;
+			blocks[i*4+2] = x0 + 1 + rand.nextInt(width-x0-1);
+			blocks[i*4+3] = y0 + 1 + rand.nextInt(height-y0-1);
+		}
+		// output is larger than needed to make sure only numBlocks are processed
+		Object output = Array.newInstance(paramType[3].getComponentType(), numBlocks+2);
+
+		m.invoke(null,integral,blocks,numBlocks,output);
+
+		for (int i = 0; i < numBlocks; i++) {
+			double expected = ((Number)single.invoke(null,integral,
+					blocks[i*4],blocks[i*4+1],blocks[i*4+2],blocks[i*4+3])).doubleValue();
+			double found = ((Number)Array.get(output,i)).doubleValue();
+			assertEquals(expected, found, 0);
+		}
+		assertEquals(0, ((Number)Array.get(output,numBlocks)).doubleValue(), 0);
+	}
+
 	@Test
 	public void block_zero() {
 		int numFound = BoofTesting.findMethodThenCall(this,"block_zero",ImplIntegralImageOps.class,"block_zero");
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.alg.transform.ii.impl;
+
+import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
+import boofcv.core.image.GeneralizedImageOps;
+import boofcv.struct.image.ImageGray;
+import boofcv.testing.BoofTesting;
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestImplIntegralImageOps_MT {
+
+	Random rand = new Random(234);
+	// wide enough that there are several bands of columns
+	int width = 173;
+	int height = 141;
+
+	/**
+	 * Output should be identical to the single threaded version, including floating point images
+	 */
+	@Test
+	public void transform() {
+		int originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+		try {
+			int numFound = BoofTesting.findMethodThenCall(this, "transform", ImplIntegralImageOps_MT.class, "transform");
+			assertEquals(5, numFound);
+		} finally {
+			BoofConcurrency.setMaxThreads(originalThreads);
+		}
+	}
+
+	public void transform( Method m ) throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+		Class paramType[] = m.getParameterTypes();
+		Method single = ImplIntegralImageOps.class.getMethod("transform", paramType);
+
+		ImageGray input = GeneralizedImageOps.createSingleBand(paramType[0], width, height);
+		ImageGray expected = GeneralizedImageOps.createSingleBand(paramType[1], width, height);
+		ImageGray found = GeneralizedImageOps.createSingleBand(paramType[1], width, height);
+
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		single.invoke(null, input, expected);
+		m.invoke(null, input, found);
+		BoofTesting.assertEquals(expected, found, 0);
+
+		// sub-images
+		ImageGray subInput = BoofTesting.createSubImageOf(input);
+		ImageGray subFound = BoofTesting.createSubImageOf(found);
+		GImageMiscOps.fill(subFound, 0);
+		m.invoke(null, subInput, subFound);
+		BoofTesting.assertEquals(expected, subFound, 0);
+	}
+}
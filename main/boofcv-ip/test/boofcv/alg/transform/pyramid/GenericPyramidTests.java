@@ -20,9 +20,11 @@ package boofcv.alg.transform.pyramid;
 
 import boofcv.alg.misc.GImageMiscOps;
 import boofcv.alg.misc.GImageStatistics;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.core.image.GeneralizedImageOps;
 import boofcv.struct.image.ImageGray;
 import boofcv.struct.pyramid.ImagePyramid;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.util.Random;
@@ -64,5 +66,32 @@ public abstract class GenericPyramidTests<T extends ImageGray<T>> {
 		}
 	}
 
+	/**
+	 * The concurrent implementation should produce identical results.  The image has an odd shape so that
+	 * bands don't evenly divide the image.
+	 */
+	@Test
+	public void concurrent() {
+		T input = GeneralizedImageOps.createSingleBand(imageType, 173, 141);
+		GImageMiscOps.fillUniform(input, rand, 0, 100);
+
+		ImagePyramid<T> expected = createPyramid(1,2,4);
+		ImagePyramid<T> found = createPyramid(1,2,4);
+
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			expected.process(input);
+			BoofConcurrency.USE_CONCURRENT = true;
+			found.process(input);
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = false;
+			BoofConcurrency.setMaxThreads(Runtime.getRuntime().availableProcessors());
+		}
+
+		for( int i = 0; i < expected.getNumLayers(); i++ ) {
+			BoofTesting.assertEquals(expected.getLayer(i), found.getLayer(i), 0);
+		}
+	}
+
 	protected abstract ImagePyramid<T> createPyramid( int... scales);
 }
@@ -19,8 +19,10 @@
 package boofcv.alg.transform.pyramid;
 
 import boofcv.alg.misc.ImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.struct.image.GrayF32;
 import boofcv.struct.image.ImageType;
+import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
 import java.util.Random;
@@ -58,4 +60,34 @@ public class TestPyramidDiscreteAverage {
 		assertEquals(expected,alg.getLayer(2).get(0,0),1e-4);
 	}
 
+	/**
+	 * The concurrent implementation should produce identical results.  Includes partial squares along the border
+	 */
+	@Test
+	public void concurrent() {
+		GrayF32 input = new GrayF32(173,141);
+		ImageMiscOps.fillUniform(input, rand, -20, 50);
+
+		concurrent(input, 1, 2, 4);
+		concurrent(input, 3, 6, 12);
+	}
+
+	private void concurrent( GrayF32 input , int... scales ) {
+		PyramidDiscreteAverage<GrayF32> expected = new PyramidDiscreteAverage<>(ImageType.single(GrayF32.class),false,scales);
+		PyramidDiscreteAverage<GrayF32> found = new PyramidDiscreteAverage<>(ImageType.single(GrayF32.class),false,scales);
+
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			expected.process(input);
+			BoofConcurrency.USE_CONCURRENT = true;
+			found.process(input);
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = false;
+			BoofConcurrency.setMaxThreads(Runtime.getRuntime().availableProcessors());
+		}
+
+		for( int i = 0; i < scales.length; i++ ) {
+			BoofTesting.assertEquals(expected.getLayer(i), found.getLayer(i), 0);
+		}
+	}
 }
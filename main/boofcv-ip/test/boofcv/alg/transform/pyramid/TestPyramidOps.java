@@ -22,6 +22,7 @@ import boofcv.abst.filter.FilterImageInterface;
 import boofcv.abst.filter.derivative.ImageGradient;
 import boofcv.abst.filter.derivative.ImageHessian;
 import boofcv.alg.misc.GImageMiscOps;
+import boofcv.concurrency.BoofConcurrency;
 import boofcv.factory.filter.blur.FactoryBlurFilter;
 import boofcv.factory.filter.derivative.FactoryDerivative;
 import boofcv.struct.image.GrayF32;
@@ -32,6 +33,8 @@ import boofcv.struct.pyramid.PyramidDiscrete;
 import boofcv.testing.BoofTesting;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
@@ -156,6 +159,44 @@ public class TestPyramidOps {
 		}
 	}
 
+	/**
+	 * Process several images at once, both when each pyramid gets its own thread and when they don't
+	 */
+	@Test
+	public void process_list() {
+		process_list(2);
+		process_list(6);
+	}
+
+	private void process_list( int numImages ) {
+		List<GrayF32> images = new ArrayList<>();
+		List<PyramidDiscrete<GrayF32>> expected = new ArrayList<>();
+		List<PyramidDiscrete<GrayF32>> found = new ArrayList<>();
+		for( int i = 0; i < numImages; i++ ) {
+			GrayF32 image = new GrayF32(width+i,height);
+			GImageMiscOps.fillUniform(image, rand, 0, 100);
+			images.add(image);
+			expected.add(new PyramidDiscreteAverage<>(ImageType.single(GrayF32.class),false,scales));
+			found.add(new PyramidDiscreteAverage<>(ImageType.single(GrayF32.class),false,scales));
+			expected.get(i).process(image);
+		}
+
+		try {
+			BoofConcurrency.setMaxThreads(4);
+			BoofConcurrency.USE_CONCURRENT = true;
+			PyramidOps.process(images, found);
+		} finally {
+			BoofConcurrency.USE_CONCURRENT = false;
+			BoofConcurrency.setMaxThreads(Runtime.getRuntime().availableProcessors());
+		}
+
+		for( int i = 0; i < numImages; i++ ) {
+			for( int layer = 0; layer < scales.length; layer++ ) {
+				BoofTesting.assertEquals(expected.get(i).getLayer(layer), found.get(i).getLayer(layer), 0);
+			}
+		}
+	}
+
 	private static class DummyDiscrete<T extends ImageGray<T>> extends PyramidDiscrete<T> {
 
 		public DummyDiscrete(Class<T> imageType, boolean saveOriginalReference, int scales[] ) {
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.concurrency;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBoofConcurrency {
+
+	int originalThreads;
+
+	@Before
+	public void before() {
+		originalThreads = BoofConcurrency.getMaxThreads();
+		BoofConcurrency.setMaxThreads(4);
+	}
+
+	@After
+	public void after() {
+		BoofConcurrency.setMaxThreads(originalThreads);
+		BoofConcurrency.USE_CONCURRENT = false;
+	}
+
+	/**
+	 * Every index should be processed exactly once
+	 */
+	@Test
+	public void loopBlocks_coverage() {
+		for( int length : new int[]{1,3,4,5,100} ) {
+			final AtomicIntegerArray counts = new AtomicIntegerArray(length+10);
+			final AtomicInteger numBlocks = new AtomicInteger();
+
+			BoofConcurrency.loopBlocks(10, 10+length, new IntRangeConsumer() {
+				@Override
+				public void accept(int minInclusive, int maxExclusive) {
+					assertTrue(minInclusive < maxExclusive);
+					numBlocks.incrementAndGet();
+					for( int i = minInclusive; i < maxExclusive; i++ ) {
+						counts.incrementAndGet(i);
+					}
+				}
+			});
+
+			assertEquals(Math.min(4,length), numBlocks.get());
+			for( int i = 0; i < counts.length(); i++ ) {
+				assertEquals(i >= 10 ? 1 : 0, counts.get(i));
+			}
+		}
+	}
+
+	@Test
+	public void loopBlocks_minBlock() {
+		final AtomicInteger numBlocks = new AtomicInteger();
+
+		BoofConcurrency.loopBlocks(0, 25, 10, new IntRangeConsumer() {
+			@Override
+			public void accept(int minInclusive, int maxExclusive) {
+				assertTrue(maxExclusive-minInclusive >= 10);
+				numBlocks.incrementAndGet();
+			}
+		});
+		assertEquals(2, numBlocks.get());
+	}
+
+	@Test
+	public void loopBlocks_empty() {
+		BoofConcurrency.loopBlocks(5, 5, new IntRangeConsumer() {
+			@Override
+			public void accept(int minInclusive, int maxExclusive) {
+				fail("Should not be called");
+			}
+		});
+	}
+
+	/**
+	 * Every index should be processed exactly once
+	 */
+	@Test
+	public void loopFor_coverage() {
+		for( int length : new int[]{0,1,3,4,5,100} ) {
+			final AtomicIntegerArray counts = new AtomicIntegerArray(length+10);
+
+			BoofConcurrency.loopFor(10, 10+length, new IntConsumer() {
+				@Override
+				public void accept(int index) {
+					counts.incrementAndGet(index);
+				}
+			});
+
+			for( int i = 0; i < counts.length(); i++ ) {
+				assertEquals(i >= 10 ? 1 : 0, counts.get(i));
+			}
+		}
+	}
+
+	/**
+	 * Inside the pool the global setting should be ignored so that work isn't split again
+	 */
+	@Test
+	public void isActive() {
+		assertFalse(BoofConcurrency.isActive());
+		BoofConcurrency.USE_CONCURRENT = true;
+		assertTrue(BoofConcurrency.isActive());
+
+		final AtomicInteger active = new AtomicInteger();
+		BoofConcurrency.loopBlocks(0, 4, new IntRangeConsumer() {
+			@Override
+			public void accept(int minInclusive, int maxExclusive) {
+				assertTrue(BoofConcurrency.isInsidePool());
+				if( BoofConcurrency.isActive() )
+					active.incrementAndGet();
+			}
+		});
+		assertEquals(0, active.get());
+	}
+
+	/**
+	 * Concurrent loops inside of concurrent loops should work
+	 */
+	@Test
+	public void loopBlocks_nested() {
+		final AtomicInteger total = new AtomicInteger();
+		BoofConcurrency.loopBlocks(0, 4, new IntRangeConsumer() {
+			@Override
+			public void accept(int minInclusive, int maxExclusive) {
+				BoofConcurrency.loopBlocks(0, 10, new IntRangeConsumer() {
+					@Override
+					public void accept(int minInclusive, int maxExclusive) {
+						total.addAndGet(maxExclusive-minInclusive);
+					}
+				});
+			}
+		});
+		assertEquals(40, total.get());
+	}
+
+	@Test(expected=IllegalArgumentException.class)
+	public void loopBlocks_exception() {
+		BoofConcurrency.loopBlocks(0, 10, new IntRangeConsumer() {
+			@Override
+			public void accept(int minInclusive, int maxExclusive) {
+				if( minInclusive == 0 )
+					throw new IllegalArgumentException("Test");
+			}
+		});
+	}
+
+	@Test
+	public void setMaxThreads() {
+		BoofConcurrency.setMaxThreads(2);
+		assertEquals(2, BoofConcurrency.getMaxThreads());
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct;
+
+import georegression.struct.point.Point2D_I32;
+import org.ddogleg.struct.FastQueue;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestPackedSetsPoint2D_I32 {
+
+	@Test
+	public void grow_addPointToTail() {
+		PackedSetsPoint2D_I32 alg = createSets();
+
+		assertEquals(3, alg.size());
+		assertEquals(6, alg.totalPoints());
+		assertEquals(2, alg.sizeOfSet(0));
+		assertEquals(0, alg.sizeOfSet(1));
+		assertEquals(4, alg.sizeOfSet(2));
+
+		assertEquals(1, alg.getX(0,0));
+		assertEquals(4, alg.getY(0,1));
+		assertEquals(12, alg.getX(2,1));
+		assertEquals(17, alg.getY(2,3));
+	}
+
+	@Test
+	public void reset() {
+		PackedSetsPoint2D_I32 alg = createSets();
+		alg.reset();
+		assertEquals(0, alg.size());
+		assertEquals(0, alg.totalPoints());
+	}
+
+	@Test
+	public void removeTail() {
+		PackedSetsPoint2D_I32 alg = createSets();
+		alg.removeTail();
+		assertEquals(2, alg.size());
+		assertEquals(2, alg.totalPoints());
+
+		// points should go into the new set
+		alg.grow();
+		alg.addPointToTail(5,6);
+		assertEquals(1, alg.sizeOfSet(2));
+		assertEquals(5, alg.getX(2,0));
+		assertEquals(6, alg.getY(2,0));
+	}
+
+	@Test
+	public void append() {
+		PackedSetsPoint2D_I32 src = createSets();
+		PackedSetsPoint2D_I32 alg = new PackedSetsPoint2D_I32();
+		alg.grow();
+		alg.addPointToTail(-1,-2);
+
+		alg.append(src, 2);
+		alg.append(src, 1);
+		assertEquals(3, alg.size());
+		assertEquals(5, alg.totalPoints());
+		assertEquals(4, alg.sizeOfSet(1));
+		assertEquals(0, alg.sizeOfSet(2));
+		for (int i = 0; i < 4; i++) {
+			assertEquals(src.getX(2,i), alg.getX(1,i));
+			assertEquals(src.getY(2,i), alg.getY(1,i));
+		}
+
+		// the internal array will need to grow.  make sure the previous points are not lost
+		for (int i = 0; i < 20; i++) {
+			alg.append(src, 2);
+		}
+		assertEquals(23, alg.size());
+		assertEquals(-1, alg.getX(0,0));
+		assertEquals(-2, alg.getY(0,0));
+		for (int i = 0; i < 4; i++) {
+			assertEquals(src.getX(2,i), alg.getX(1,i));
+			assertEquals(src.getX(2,i), alg.getX(22,i));
+		}
+	}
+
+	@Test
+	public void getSet() {
+		PackedSetsPoint2D_I32 alg = createSets();
+
+		FastQueue<Point2D_I32> output = new FastQueue<>(Point2D_I32.class,true);
+		alg.getSet(2, output);
+		assertEquals(4, output.size);
+		for (int i = 0; i < 4; i++) {
+			assertEquals(10+i*2, output.get(i).x);
+			assertEquals(11+i*2, output.get(i).y);
+		}
+
+		FastQueue<Point2D_I32> storage = new FastQueue<>(Point2D_I32.class,true);
+		List<Point2D_I32> list = new ArrayList<>();
+		alg.getSet(0, storage, list);
+		alg.getSet(2, storage, list);
+		assertEquals(6, list.size());
+		assertEquals(6, storage.size);
+		assertEquals(1, list.get(0).x);
+		assertEquals(17, list.get(5).y);
+	}
+
+	private PackedSetsPoint2D_I32 createSets() {
+		PackedSetsPoint2D_I32 alg = new PackedSetsPoint2D_I32();
+		alg.grow();
+		alg.addPointToTail(1,2);
+		alg.addPointToTail(3,4);
+		alg.grow();
+		alg.grow();
+		for (int i = 0; i < 4; i++) {
+			alg.addPointToTail(10+i*2,11+i*2);
+		}
+		return alg;
+	}
+}
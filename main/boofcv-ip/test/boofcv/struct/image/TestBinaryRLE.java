@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestBinaryRLE {
+
+	@Test
+	public void reshape() {
+		BinaryRLE alg = createImage();
+		alg.reshape(20,30);
+		assertEquals(20, alg.width);
+		assertEquals(30, alg.height);
+		assertEquals(0, alg.getNumRuns());
+		assertTrue(alg.isComplete());
+		for (int y = 0; y < alg.height; y++) {
+			assertEquals(alg.getRowStart(y), alg.getRowEnd(y));
+		}
+	}
+
+	@Test
+	public void addRun_finishRow() {
+		BinaryRLE alg = createImage();
+
+		assertTrue(alg.isComplete());
+		assertEquals(4, alg.getNumRuns());
+		assertEquals(0, alg.getRowStart(0));
+		assertEquals(2, alg.getRowEnd(0));
+		assertEquals(2, alg.getRowStart(1));
+		assertEquals(2, alg.getRowEnd(1));
+		assertEquals(4, alg.getRowEnd(2));
+
+		assertEquals(1, alg.getRunX0(0));
+		assertEquals(3, alg.getRunX1(0));
+		assertEquals(8, alg.getRunX0(3));
+		assertEquals(10, alg.getRunX1(3));
+	}
+
+	@Test
+	public void addRun_merge() {
+		BinaryRLE alg = new BinaryRLE(10,1);
+		alg.reset();
+		alg.addRun(1,3);
+		alg.addRun(3,5);
+		alg.finishRow();
+		assertEquals(1, alg.getNumRuns());
+		assertEquals(1, alg.getRunX0(0));
+		assertEquals(5, alg.getRunX1(0));
+	}
+
+	@Test
+	public void addRun_outOfOrder() {
+		BinaryRLE alg = new BinaryRLE(10,1);
+		alg.reset();
+		alg.addRun(4,6);
+		try {
+			alg.addRun(1,3);
+			fail("Exception expected");
+		} catch( IllegalArgumentException ignore ){}
+	}
+
+	@Test
+	public void finishRow_tooMany() {
+		BinaryRLE alg = createImage();
+		try {
+			alg.finishRow();
+			fail("Exception expected");
+		} catch( IllegalArgumentException ignore ){}
+	}
+
+	@Test
+	public void get() {
+		BinaryRLE alg = createImage();
+
+		int expected[][] = new int[][]{
+				{0,1,1,0,1,0,0,0,0,0},
+				{0,0,0,0,0,0,0,0,0,0},
+				{1,0,0,0,0,0,0,0,1,1}};
+
+		for (int y = 0; y < alg.height; y++) {
+			for (int x = 0; x < alg.width; x++) {
+				assertEquals(expected[y][x], alg.get(x,y));
+			}
+		}
+	}
+
+	@Test
+	public void countPixels() {
+		assertEquals(6, createImage().countPixels());
+	}
+
+	@Test
+	public void setTo() {
+		BinaryRLE orig = createImage();
+		BinaryRLE alg = new BinaryRLE(2,3);
+		alg.setTo(orig);
+
+		assertEquals(orig.width, alg.width);
+		assertEquals(orig.height, alg.height);
+		assertEquals(orig.getNumRuns(), alg.getNumRuns());
+		for (int y = 0; y < orig.height; y++) {
+			for (int x = 0; x < orig.width; x++) {
+				assertEquals(orig.get(x,y), alg.get(x,y));
+			}
+		}
+	}
+
+	private BinaryRLE createImage() {
+		BinaryRLE alg = new BinaryRLE(10,3);
+		alg.reset();
+		alg.addRun(1,3);
+		alg.addRun(4,5);
+		alg.finishRow();
+		alg.finishRow();
+		alg.addRun(0,1);
+		alg.addRun(8,10);
+		alg.finishRow();
+		return alg;
+	}
+}
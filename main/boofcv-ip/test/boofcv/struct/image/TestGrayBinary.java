@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2011-2017, Peter Abeles. All Rights Reserved.
+ *
+ * This file is part of BoofCV (http://boofcv.org).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package boofcv.struct.image;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author Peter Abeles
+ */
+public class TestGrayBinary {
+
+	Random rand = new Random(234);
+
+	@Test
+	public void reshape() {
+		GrayBinary alg = new GrayBinary(10,20);
+		assertEquals(1, alg.stride);
+		assertEquals(20, alg.data.length);
+
+		alg.reshape(64,5);
+		assertEquals(1, alg.stride);
+		alg.reshape(65,5);
+		assertEquals(2, alg.stride);
+		assertEquals(65, alg.width);
+		assertEquals(5, alg.height);
+		// it shouldn't grow when it doesn't need to
+		long[] data = alg.data;
+		alg.reshape(2,3);
+		assertSame(data, alg.data);
+	}
+
+	@Test
+	public void getLastWordMask() {
+		assertEquals(0x1FL, new GrayBinary(5,2).getLastWordMask());
+		assertEquals(-1L, new GrayBinary(64,2).getLastWordMask());
+		assertEquals(0x3L, new GrayBinary(130,2).getLastWordMask());
+	}
+
+	@Test
+	public void get_set() {
+		GrayBinary alg = new GrayBinary(130,4);
+		int expected[][] = new int[alg.height][alg.width];
+
+		for (int i = 0; i < 500; i++) {
+			int x = rand.nextInt(alg.width);
+			int y = rand.nextInt(alg.height);
+			int value = rand.nextInt(2);
+			alg.set(x, y, value);
+			expected[y][x] = value;
+		}
+
+		for (int y = 0; y < alg.height; y++) {
+			for (int x = 0; x < alg.width; x++) {
+				assertEquals(expected[y][x], alg.get(x, y));
+			}
+		}
+
+		try {
+			alg.get(130,0);
+			fail("Exception expected");
+		} catch( ImageAccessException ignore ){}
+	}
+
+	@Test
+	public void fill_countPixels() {
+		GrayBinary alg = new GrayBinary(70,3);
+		alg.fill(1);
+		assertEquals(70*3, alg.countPixels());
+		assertEquals(alg.getLastWordMask(), alg.data[1]);
+		alg.set(5,1,0);
+		assertEquals(70*3-1, alg.countPixels());
+		alg.fill(0);
+		assertEquals(0, alg.countPixels());
+	}
+
+	@Test
+	public void setTo() {
+		GrayBinary orig = new GrayBinary(70,3);
+		orig.set(2,1,1);
+		orig.set(67,2,1);
+
+		GrayBinary alg = new GrayBinary(5,6);
+		alg.setTo(orig);
+		assertEquals(orig.width, alg.width);
+		assertEquals(orig.height, alg.height);
+		assertEquals(2, alg.countPixels());
+		assertEquals(1, alg.get(2,1));
+		assertEquals(1, alg.get(67,2));
+	}
+}
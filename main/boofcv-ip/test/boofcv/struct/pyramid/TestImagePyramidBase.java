@@ -104,6 +104,45 @@ public class TestImagePyramidBase {
 		assertTrue(pyramid.layers[0] != null);
 	}
 
+	/**
+	 * When the input shape changes the layers should be reshaped instead of declared again, if possible
+	 */
+	@Test
+	public void initialize_reuseLayers() {
+		Dummy pyramid = new Dummy(GrayU8.class,false);
+		pyramid.setScaleFactors(1,2,4);
+		pyramid.initialize(100,120);
+
+		ImageBase[] original = pyramid.layers.clone();
+
+		// smaller image, the same data arrays should be used
+		pyramid.initialize(60,50);
+		for( int i = 0; i < 3; i++ ) {
+			assertTrue(original[i] == pyramid.layers[i]);
+			assertTrue(((GrayU8)original[i]).data == ((GrayU8)pyramid.layers[i]).data);
+		}
+		assertEquals(60,pyramid.getWidth(0));
+		assertEquals(50,pyramid.getHeight(0));
+		assertEquals(15,pyramid.getWidth(2));
+		assertEquals(13,pyramid.getHeight(2));
+
+		// back to the original size
+		pyramid.initialize(100,120);
+		for( int i = 0; i < 3; i++ ) {
+			assertTrue(((GrayU8)original[i]).data == ((GrayU8)pyramid.layers[i]).data);
+		}
+
+		// the reference to the original image should never be reshaped
+		pyramid = new Dummy(GrayU8.class,true);
+		pyramid.setScaleFactors(1,2,4);
+		pyramid.initialize(100,120);
+		GrayU8 input = new GrayU8(100,120);
+		pyramid.setFirstLayer(input);
+		pyramid.initialize(60,50);
+		assertTrue(pyramid.layers[0] == null);
+		assertEquals(100,input.width);
+	}
+
 	@Test
 	public void getWidth_Height() {
 		Dummy pyramid = new Dummy(GrayU8.class,false);